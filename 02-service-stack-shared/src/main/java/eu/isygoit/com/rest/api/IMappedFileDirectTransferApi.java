@@ -0,0 +1,135 @@
+package eu.isygoit.com.rest.api;
+
+import eu.isygoit.constants.RestApiConstants;
+import eu.isygoit.dto.IFileUploadDto;
+import eu.isygoit.dto.common.PresignedTransferDto;
+import eu.isygoit.dto.extendable.IdAssignableDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.Serializable;
+
+/**
+ * The interface Mapped file direct transfer api.
+ * <p>
+ * Presigned urls to transfer files straight between clients and the object storage. When the storage offers no
+ * direct transfer, the url endpoints answer 204 and clients use the regular upload and download endpoints.
+ *
+ * @param <I> the type parameter
+ * @param <D> the type parameter
+ */
+public interface IMappedFileDirectTransferApi<I extends Serializable, D extends IFileUploadDto> {
+
+    /**
+     * Gets download url.
+     *
+     * @param id      the id
+     * @param version the version
+     * @return the response entity
+     */
+    @Operation(summary = "Get a presigned url to download a file by object id",
+            description = "Get a presigned url to download a file by object id, straight from the object storage")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Presigned url successfully created",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PresignedTransferDto.class))}),
+            @ApiResponse(responseCode = "204",
+                    description = "No direct transfer available, use the download endpoint",
+                    content = @Content),
+            @ApiResponse(responseCode = "404",
+                    description = "Object not found",
+                    content = @Content)
+    })
+    @GetMapping(path = "/file/download/url/{id}")
+    ResponseEntity<PresignedTransferDto> getDownloadUrl(
+            @PathVariable(name = RestApiConstants.ID) I id,
+            @RequestParam(name = RestApiConstants.VERSION, required = false) Long version);
+
+    /**
+     * Download file direct response entity.
+     *
+     * @param id      the id
+     * @param version the version
+     * @return the response entity
+     */
+    @Operation(summary = "Download a file by object id, redirected to the object storage",
+            description = "Redirect to a presigned url of the file, or download it through the application when no direct transfer is available")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "302",
+                    description = "Redirect to the presigned url",
+                    content = @Content),
+            @ApiResponse(responseCode = "200",
+                    description = "File successfully downloaded",
+                    content = {@Content(mediaType = "application/octet-stream",
+                            schema = @Schema(implementation = Resource.class))}),
+            @ApiResponse(responseCode = "404",
+                    description = "File or object not found",
+                    content = @Content)
+    })
+    @GetMapping(path = "/file/download/direct/{id}")
+    ResponseEntity<Resource> downloadFileDirect(
+            @PathVariable(name = RestApiConstants.ID) I id,
+            @RequestParam(name = RestApiConstants.VERSION, required = false) Long version);
+
+    /**
+     * Gets upload url.
+     *
+     * @param id               the id
+     * @param originalFileName the original file name
+     * @return the response entity
+     */
+    @Operation(summary = "Get a presigned url to upload a file by object id",
+            description = "Get a presigned url to upload a file straight to the object storage, to complete once uploaded")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Presigned url successfully created",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PresignedTransferDto.class))}),
+            @ApiResponse(responseCode = "204",
+                    description = "No direct transfer available, use the upload endpoint",
+                    content = @Content),
+            @ApiResponse(responseCode = "404",
+                    description = "Object not found",
+                    content = @Content)
+    })
+    @PostMapping(path = "/file/upload/url/{id}")
+    ResponseEntity<PresignedTransferDto> getUploadUrl(
+            @PathVariable(name = RestApiConstants.ID) I id,
+            @RequestParam(name = RestApiConstants.ORIGINAL_FILE_NAME) String originalFileName);
+
+    /**
+     * Complete upload response entity.
+     *
+     * @param id               the id
+     * @param originalFileName the original file name
+     * @return the response entity
+     */
+    @Operation(summary = "Complete a file upload made through a presigned url",
+            description = "Attach the file uploaded through a presigned url to the object")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "File successfully attached",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = IdAssignableDto.class))}),
+            @ApiResponse(responseCode = "400",
+                    description = "No upload prepared or nothing uploaded",
+                    content = @Content),
+            @ApiResponse(responseCode = "404",
+                    description = "Object not found",
+                    content = @Content)
+    })
+    @PostMapping(path = "/file/upload/complete/{id}")
+    ResponseEntity<D> completeUpload(
+            @PathVariable(name = RestApiConstants.ID) I id,
+            @RequestParam(name = RestApiConstants.ORIGINAL_FILE_NAME) String originalFileName);
+}
@@ -55,4 +55,40 @@ public interface IMappedImageDownloadApi<I extends Serializable, D extends IIdAs
     @GetMapping(path = "/image/download/{id}")
     ResponseEntity<Resource> downloadImage(
             @PathVariable(name = RestApiConstants.ID) I id) throws IOException;
+
+    /**
+     * Download a derivative of the image (thumbnail, small...), generated on first request.
+     *
+     * @param id      the id
+     * @param variant the variant
+     * @return the response entity
+     * @throws IOException the io exception
+     */
+    @Operation(summary = "Download a scaled variant of the image by linked object identifier",
+            description = "Download a scaled variant of the image by linked object identifier")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "Image variant successfully downloaded",
+                    content = {@Content(mediaType = "application/octet-stream",
+                            schema = @Schema(implementation = Resource.class))}),
+            @ApiResponse(responseCode = "400",
+                    description = "Unknown image variant",
+                    content = @Content),
+            @ApiResponse(responseCode = "401",
+                    description = "Unauthorized - Invalid or missing JWT token",
+                    content = @Content),
+            @ApiResponse(responseCode = "403",
+                    description = "Forbidden - Insufficient permissions",
+                    content = @Content),
+            @ApiResponse(responseCode = "404",
+                    description = "Image or object not found",
+                    content = @Content),
+            @ApiResponse(responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content)
+    })
+    @GetMapping(path = "/image/download/{id}/{variant}")
+    ResponseEntity<Resource> downloadImageVariant(
+            @PathVariable(name = RestApiConstants.ID) I id,
+            @PathVariable(name = RestApiConstants.VARIANT) String variant) throws IOException;
 }
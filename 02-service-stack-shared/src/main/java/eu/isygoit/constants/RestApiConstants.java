@@ -149,6 +149,10 @@ public interface RestApiConstants {
      * The constant VERSION_ID.
      */
     String VERSION_ID = "versionID";
+    /**
+     * The constant VARIANT.
+     */
+    String VARIANT = "variant";
     /**
      * The constant APPLICATION.
      */
@@ -0,0 +1,29 @@
+package eu.isygoit.dto.common;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.util.Map;
+
+/**
+ * The type Presigned transfer dto.
+ * <p>
+ * A short-lived url the client uses to transfer a file straight from or to the object storage.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+public class PresignedTransferDto {
+
+    private String code;                //Code of the stored file
+    private String method;              //GET to download, PUT to upload
+    private String url;
+    private Map<String, String> headers; //Headers the client must send with the request
+    private Long expiresAt;             //Epoch millis
+}
@@ -26,4 +26,9 @@ public class ResourceDto {
     private String fileType;
 
     private Resource resource;
+
+    // Validators of file-backed resources, used for conditional and range requests
+    private String eTag;
+    private Long lastModified;
+    private Long contentLength;
 }
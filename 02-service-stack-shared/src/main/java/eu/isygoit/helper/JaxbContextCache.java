@@ -0,0 +1,155 @@
+package eu.isygoit.helper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Utility class to cache a {@link JAXBContext} per bound class and pool its marshallers and unmarshallers.
+ * Creating a context introspects the whole class graph and is by far the most expensive JAXB operation, while the
+ * context itself is thread-safe; marshallers and unmarshallers are cheap but not thread-safe, so they are borrowed
+ * from a bounded pool for the duration of a single call. Contexts are softly referenced, so that the classes of an
+ * undeployed application can be unloaded once memory is needed.
+ */
+@Slf4j
+public class JaxbContextCache {
+
+    /**
+     * The constant MAX_IDLE, the maximum number of idle marshallers and unmarshallers kept per class.
+     */
+    public static final int MAX_IDLE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    // A context references its bound class: weak keys alone would never be cleared, soft values let the JVM drop the
+    // context of a class no longer used, and with it the entry, under memory pressure
+    private static final Cache<Class<?>, Entry> CACHE = Caffeine.newBuilder()
+            .weakKeys()
+            .softValues()
+            .build();
+
+    /**
+     * Gets the JAXB context of a class, created once.
+     *
+     * @param type the bound class
+     * @return the JAXB context
+     * @throws JAXBException if the class cannot be bound
+     */
+    public static JAXBContext getContext(Class<?> type) throws JAXBException {
+        return entry(type).context;
+    }
+
+    /**
+     * Run a function with a pooled marshaller of a class. The marshaller must not escape the function.
+     *
+     * @param <R>      the result type
+     * @param type     the bound class
+     * @param function the function
+     * @return the result
+     * @throws JAXBException if marshalling fails
+     */
+    public static <R> R withMarshaller(Class<?> type, JaxbFunction<Marshaller, R> function) throws JAXBException {
+        Entry entry = entry(type);
+        Marshaller marshaller = entry.marshallers.poll();
+        if (marshaller == null) {
+            marshaller = entry.context.createMarshaller();
+        }
+        try {
+            return function.apply(marshaller);
+        } finally {
+            // Callers set their own output properties, restore the defaults before the next borrower
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.FALSE);
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.FALSE);
+            entry.marshallers.offer(marshaller);
+        }
+    }
+
+    /**
+     * Run a function with a pooled unmarshaller of a class. The unmarshaller must not escape the function.
+     *
+     * @param <R>      the result type
+     * @param type     the bound class
+     * @param function the function
+     * @return the result
+     * @throws JAXBException if unmarshalling fails
+     */
+    public static <R> R withUnmarshaller(Class<?> type, JaxbFunction<Unmarshaller, R> function) throws JAXBException {
+        Entry entry = entry(type);
+        Unmarshaller unmarshaller = entry.unmarshallers.poll();
+        if (unmarshaller == null) {
+            unmarshaller = entry.context.createUnmarshaller();
+        }
+        try {
+            return function.apply(unmarshaller);
+        } finally {
+            unmarshaller.setSchema(null);
+            unmarshaller.setEventHandler(null);
+            entry.unmarshallers.offer(unmarshaller);
+        }
+    }
+
+    /**
+     * Clear the cache.
+     */
+    public static void clear() {
+        CACHE.invalidateAll();
+    }
+
+    private static Entry entry(Class<?> type) throws JAXBException {
+        Entry entry = CACHE.getIfPresent(type);
+        if (entry != null) {
+            return entry;
+        }
+        try {
+            return CACHE.get(type, key -> {
+                try {
+                    log.debug("Creating JAXB context for class {}", key.getName());
+                    return new Entry(JAXBContext.newInstance(key));
+                } catch (JAXBException e) {
+                    throw new ContextCreationException(e);
+                }
+            });
+        } catch (ContextCreationException e) {
+            throw (JAXBException) e.getCause();
+        }
+    }
+
+    /**
+     * A function over a marshaller or an unmarshaller.
+     *
+     * @param <T> the argument type
+     * @param <R> the result type
+     */
+    @FunctionalInterface
+    public interface JaxbFunction<T, R> {
+        /**
+         * Apply the function.
+         *
+         * @param argument the argument
+         * @return the result
+         * @throws JAXBException if the JAXB operation fails
+         */
+        R apply(T argument) throws JAXBException;
+    }
+
+    private static final class Entry {
+        private final JAXBContext context;
+        private final BlockingQueue<Marshaller> marshallers = new ArrayBlockingQueue<>(MAX_IDLE);
+        private final BlockingQueue<Unmarshaller> unmarshallers = new ArrayBlockingQueue<>(MAX_IDLE);
+
+        private Entry(JAXBContext context) {
+            this.context = context;
+        }
+    }
+
+    private static final class ContextCreationException extends RuntimeException {
+        private ContextCreationException(JAXBException cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package eu.isygoit.helper;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import eu.isygoit.exception.BadArgumentException;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * The type Json diff, computing and applying RFC 6902 JSON Patch documents directly on {@link JsonNode} trees.
+ * <p>
+ * Both trees are walked once, without converting them to maps: a subtree that is the same instance on both sides is
+ * skipped, and only the nodes that differ produce operations. Array elements are matched by the first identity key
+ * held by every element of both arrays with unique values, so an insertion or a reordering yields {@code add} and
+ * {@code move} operations instead of a replacement of every following element; arrays without such a key are compared
+ * by position. The values of the emitted operations share their nodes with the target tree.
+ */
+@Getter
+@Builder
+public class JsonDiff {
+
+    /**
+     * The constant DEFAULT, matching array elements by id.
+     */
+    public static final JsonDiff DEFAULT = JsonDiff.builder().build();
+
+    /**
+     * The identity keys array elements are matched by, in order of preference.
+     */
+    @Builder.Default
+    private final List<String> identityKeys = List.of("id");
+
+    /**
+     * The fields of the root object that are not compared.
+     */
+    @Builder.Default
+    private final Set<String> ignoredKeys = Set.of();
+
+    /**
+     * Compute the patch turning a source tree into a target tree. A null tree is handled as a JSON null.
+     *
+     * @param source the source tree
+     * @param target the target tree
+     * @return the JSON patch, an array of operations
+     */
+    public ArrayNode diff(JsonNode source, JsonNode target) {
+        ArrayNode patch = JsonNodeFactory.instance.arrayNode();
+        diff(source == null ? NullNode.getInstance() : source, target == null ? NullNode.getInstance() : target,
+                new StringBuilder(), patch, true);
+        return patch;
+    }
+
+    /**
+     * Apply a patch to a tree, which is left unchanged. Supports the add, remove, replace, move, copy and test
+     * operations.
+     *
+     * @param document the tree, null as a JSON null
+     * @param patch    the JSON patch
+     * @return the patched copy of the tree
+     * @throws BadArgumentException if the patch is malformed, a path does not exist or a test fails
+     */
+    public static JsonNode apply(JsonNode document, JsonNode patch) {
+        if (patch == null || !patch.isArray()) {
+            throw new BadArgumentException("A JSON patch must be an array of operations");
+        }
+        JsonNode result = document == null ? NullNode.getInstance() : document.deepCopy();
+        for (JsonNode operation : patch) {
+            String op = operation.path("op").asText();
+            JsonPointer path = pointer(operation, "path");
+            result = switch (op) {
+                case "add" -> add(result, path, value(operation).deepCopy());
+                case "remove" -> {
+                    remove(result, path);
+                    yield result;
+                }
+                case "replace" -> {
+                    JsonNode value = value(operation).deepCopy();
+                    if (path.matches()) {
+                        yield value;
+                    }
+                    remove(result, path);
+                    yield add(result, path, value);
+                }
+                case "move" -> {
+                    JsonPointer from = pointer(operation, "from");
+                    if (path.toString().startsWith(from + "/")) {
+                        throw new BadArgumentException("Cannot move " + from + " into its own child " + path);
+                    }
+                    yield add(result, path, remove(result, from));
+                }
+                case "copy" -> add(result, path, existing(result, pointer(operation, "from")).deepCopy());
+                case "test" -> {
+                    if (!existing(result, path).equals(value(operation))) {
+                        throw new BadArgumentException("JSON patch test failed at " + path);
+                    }
+                    yield result;
+                }
+                default -> throw new BadArgumentException("Unknown JSON patch operation: " + op);
+            };
+        }
+        return result;
+    }
+
+    private void diff(JsonNode source, JsonNode target, StringBuilder path, ArrayNode patch, boolean root) {
+        if (source == target) {
+            return;
+        }
+        if (source.isObject() && target.isObject()) {
+            diffObjects(source, target, path, patch, root);
+        } else if (source.isArray() && target.isArray()) {
+            diffArrays((ArrayNode) source, (ArrayNode) target, path, patch);
+        } else if (!source.equals(target)) {
+            operation(patch, "replace", path).set("value", target);
+        }
+    }
+
+    private void diffObjects(JsonNode source, JsonNode target, StringBuilder path, ArrayNode patch, boolean root) {
+        int length = path.length();
+        Iterator<Map.Entry<String, JsonNode>> fields = source.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (root && ignoredKeys.contains(field.getKey())) {
+                continue;
+            }
+            JsonNode targetValue = target.get(field.getKey());
+            appendToken(path, field.getKey());
+            if (targetValue == null) {
+                operation(patch, "remove", path);
+            } else {
+                diff(field.getValue(), targetValue, path, patch, false);
+            }
+            path.setLength(length);
+        }
+        fields = target.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if ((root && ignoredKeys.contains(field.getKey())) || source.has(field.getKey())) {
+                continue;
+            }
+            appendToken(path, field.getKey());
+            operation(patch, "add", path).set("value", field.getValue());
+            path.setLength(length);
+        }
+    }
+
+    private void diffArrays(ArrayNode source, ArrayNode target, StringBuilder path, ArrayNode patch) {
+        String key = identityKey(source, target);
+        if (key == null) {
+            diffByPosition(source, target, path, patch);
+        } else {
+            diffByIdentity(source, target, key, path, patch);
+        }
+    }
+
+    private void diffByPosition(ArrayNode source, ArrayNode target, StringBuilder path, ArrayNode patch) {
+        int length = path.length();
+        int common = Math.min(source.size(), target.size());
+        for (int i = 0; i < common; i++) {
+            diff(source.get(i), target.get(i), path.append('/').append(i), patch, false);
+            path.setLength(length);
+        }
+        // Remove from the end so that the indexes of the remaining elements hold
+        for (int i = source.size() - 1; i >= common; i--) {
+            operation(patch, "remove", path.append('/').append(i));
+            path.setLength(length);
+        }
+        for (int i = common; i < target.size(); i++) {
+            operation(patch, "add", path.append('/').append(i)).set("value", target.get(i));
+            path.setLength(length);
+        }
+    }
+
+    private void diffByIdentity(ArrayNode source, ArrayNode target, String key, StringBuilder path, ArrayNode patch) {
+        int length = path.length();
+        Map<JsonNode, JsonNode> sourceByKey = new HashMap<>();
+        Set<JsonNode> targetKeys = new HashSet<>();
+        for (JsonNode element : source) {
+            sourceByKey.put(element.get(key), element);
+        }
+        for (JsonNode element : target) {
+            targetKeys.add(element.get(key));
+        }
+
+        // The keys in the order of the array as patched so far
+        List<JsonNode> keys = new ArrayList<>(source.size());
+        for (JsonNode element : source) {
+            keys.add(element.get(key));
+        }
+        for (int i = source.size() - 1; i >= 0; i--) {
+            if (!targetKeys.contains(keys.get(i))) {
+                operation(patch, "remove", path.append('/').append(i));
+                path.setLength(length);
+                keys.remove(i);
+            }
+        }
+
+        // Elements before i are in place, bring the target element i to i then diff it
+        for (int i = 0; i < target.size(); i++) {
+            JsonNode element = target.get(i);
+            JsonNode id = element.get(key);
+            if (i < keys.size() && keys.get(i).equals(id)) {
+                diff(sourceByKey.get(id), element, path.append('/').append(i), patch, false);
+            } else if (sourceByKey.containsKey(id)) {
+                int from = keys.indexOf(id);
+                ObjectNode move = operation(patch, "move", path.append('/').append(i));
+                path.setLength(length);
+                move.put("from", path.append('/').append(from).toString());
+                path.setLength(length);
+                keys.remove(from);
+                keys.add(i, id);
+                diff(sourceByKey.get(id), element, path.append('/').append(i), patch, false);
+            } else {
+                operation(patch, "add", path.append('/').append(i)).set("value", element);
+                keys.add(i, id);
+            }
+            path.setLength(length);
+        }
+    }
+
+    /**
+     * Gets the first identity key held by every element of both arrays, with unique values in each array.
+     */
+    private String identityKey(ArrayNode source, ArrayNode target) {
+        if (source.isEmpty() || target.isEmpty()) {
+            return null;
+        }
+        for (String key : identityKeys) {
+            if (isIdentity(source, key) && isIdentity(target, key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isIdentity(ArrayNode array, String key) {
+        Set<JsonNode> values = new HashSet<>();
+        for (JsonNode element : array) {
+            JsonNode value = element.get(key);
+            if (!element.isObject() || value == null || !value.isValueNode() || value.isNull() || !values.add(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ObjectNode operation(ArrayNode patch, String op, StringBuilder path) {
+        ObjectNode operation = patch.addObject();
+        operation.put("op", op);
+        operation.put("path", path.toString());
+        return operation;
+    }
+
+    private static void appendToken(StringBuilder path, String name) {
+        path.append('/');
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '~') {
+                path.append("~0");
+            } else if (c == '/') {
+                path.append("~1");
+            } else {
+                path.append(c);
+            }
+        }
+    }
+
+    private static JsonPointer pointer(JsonNode operation, String field) {
+        JsonNode value = operation.get(field);
+        if (value == null || !value.isTextual()) {
+            throw new BadArgumentException("JSON patch operation without " + field + ": " + operation);
+        }
+        try {
+            return JsonPointer.compile(value.asText());
+        } catch (IllegalArgumentException e) {
+            throw new BadArgumentException("Invalid JSON pointer " + value.asText(), e);
+        }
+    }
+
+    private static JsonNode value(JsonNode operation) {
+        JsonNode value = operation.get("value");
+        if (value == null) {
+            throw new BadArgumentException("JSON patch operation without value: " + operation);
+        }
+        return value;
+    }
+
+    private static JsonNode existing(JsonNode document, JsonPointer path) {
+        JsonNode node = document.at(path);
+        if (node.isMissingNode()) {
+            throw new BadArgumentException("JSON patch path not found: " + path);
+        }
+        return node;
+    }
+
+    private static JsonNode add(JsonNode document, JsonPointer path, JsonNode value) {
+        if (path.matches()) {
+            return value;
+        }
+        JsonNode parent = existing(document, path.head());
+        String token = path.last().getMatchingProperty();
+        if (parent instanceof ObjectNode object) {
+            object.set(token, value);
+        } else if (parent instanceof ArrayNode array) {
+            if ("-".equals(token)) {
+                array.add(value);
+            } else {
+                array.insert(index(token, array.size() + 1, path), value);
+            }
+        } else {
+            throw new BadArgumentException("JSON patch path not found: " + path);
+        }
+        return document;
+    }
+
+    private static JsonNode remove(JsonNode document, JsonPointer path) {
+        if (path.matches()) {
+            throw new BadArgumentException("Cannot remove the root of a JSON document");
+        }
+        JsonNode parent = existing(document, path.head());
+        String token = path.last().getMatchingProperty();
+        if (parent instanceof ObjectNode object && object.has(token)) {
+            return object.remove(token);
+        }
+        if (parent instanceof ArrayNode array) {
+            return array.remove(index(token, array.size(), path));
+        }
+        throw new BadArgumentException("JSON patch path not found: " + path);
+    }
+
+    private static int index(String token, int bound, JsonPointer path) {
+        try {
+            int index = Integer.parseInt(token);
+            if (index >= 0 && index < bound && (token.length() == 1 || token.charAt(0) != '0')) {
+                return index;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new BadArgumentException("Invalid JSON patch array index: " + path);
+    }
+}
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
@@ -176,6 +177,39 @@ public interface JsonHelper {
         return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(jsonNode);
     }
 
+    // --- Streaming Conversion Methods ---
+
+    /**
+     * Converts a record stream between formats, record by record, without building the document in memory.
+     * Neither stream is closed. See {@link JsonStreamConverter} for the records of each format.
+     *
+     * @param input        the input stream
+     * @param inputFormat  the input format
+     * @param output       the output stream
+     * @param outputFormat the output format
+     * @return the number of records converted
+     * @throws IOException if the input cannot be read or the output cannot be written
+     */
+    public static long convert(InputStream input, Format inputFormat, OutputStream output, Format outputFormat) throws IOException {
+        return JsonStreamConverter.convert(input, inputFormat, output, outputFormat, JsonStreamConverter.DEFAULT_CSV_SAMPLE_SIZE);
+    }
+
+    /**
+     * Converts a record stream between formats, inferring a CSV header from the given number of first records.
+     *
+     * @param input         the input stream
+     * @param inputFormat   the input format
+     * @param output        the output stream
+     * @param outputFormat  the output format
+     * @param csvSampleSize the number of records a CSV header is inferred from
+     * @return the number of records converted
+     * @throws IOException if the input cannot be read or the output cannot be written
+     */
+    public static long convert(InputStream input, Format inputFormat, OutputStream output, Format outputFormat,
+                               int csvSampleSize) throws IOException {
+        return JsonStreamConverter.convert(input, inputFormat, output, outputFormat, csvSampleSize);
+    }
+
     // --- Reverse Methods for Converting Other Formats Back to JSON ---
 
     /**
@@ -383,11 +417,12 @@ public interface JsonHelper {
     /**
      * Computes the difference between two object states, returning an ObjectNode
      * containing only the changed fields with their new values.
+     * States are compared as JsonNode trees, JsonNode states are used as is.
      *
      * @param previousState The previous state object
      * @param currentState  The current state object
      * @return ObjectNode containing the differences
-     * @throws IllegalArgumentException if conversion to Map fails
+     * @throws BadArgumentException if a state is not an object
      */
     public static ObjectNode computeDiff(Object previousState, Object currentState) {
         // Handle null cases efficiently
@@ -396,71 +431,93 @@ public interface JsonHelper {
         }
         if (previousState == null) {
             // If no previous state, return all fields from current state
-            return objectMapper.valueToTree(convertToMap(currentState));
+            return toObjectNode(currentState).deepCopy();
         }
         if (currentState == null) {
             // If no current state, return empty node (no fields to report)
             return objectMapper.createObjectNode();
         }
 
-        try {
-            // Convert objects to maps with type safety
-            Map<String, Object> prevMap = convertToMap(previousState);
-            Map<String, Object> currMap = convertToMap(currentState);
-
-            ObjectNode diff = objectMapper.createObjectNode();
-
-            // Process fields in current state (for changes and additions)
-            for (Map.Entry<String, Object> entry : currMap.entrySet()) {
-                String key = entry.getKey();
-                if (EXCLUDED_KEYS.contains(key)) {
-                    continue;
-                }
-
-                Object currValue = entry.getValue();
-                Object prevValue = prevMap.get(key);
-
-                if (REQUIRED_KEYS.contains(key)) {
-                    diff.putPOJO(key, currValue);
-                } else if (!prevMap.containsKey(key) && currValue != null) {
-                    diff.putPOJO(key, currValue);
-                } else if (!deepEquals(prevValue, currValue)) {
-                    // Field changed
-                    diff.putPOJO(key, currValue);
-                }
+        ObjectNode prevNode = toObjectNode(previousState);
+        ObjectNode currNode = toObjectNode(currentState);
+        ObjectNode diff = objectMapper.createObjectNode();
+
+        // Process fields in current state (for changes and additions)
+        currNode.fields().forEachRemaining(entry -> {
+            String key = entry.getKey();
+            if (EXCLUDED_KEYS.contains(key)) {
+                return;
+            }
+
+            JsonNode currValue = entry.getValue();
+            JsonNode prevValue = prevNode.get(key);
+
+            if (REQUIRED_KEYS.contains(key)) {
+                diff.set(key, currValue.deepCopy());
+            } else if (prevValue == null ? !currValue.isNull() : !prevValue.equals(currValue)) {
+                // Field added or changed, equals short-circuits on identical subtrees
+                diff.set(key, currValue.deepCopy());
             }
+        });
 
-            // Process fields in previous state that were removed
-            for (String key : prevMap.keySet()) {
-                if (EXCLUDED_KEYS.contains(key)) {
-                    continue;
-                }
-                if (!currMap.containsKey(key)) {
-                    // Field removed, add null to indicate removal
-                    diff.putNull(key);
-                }
+        // Process fields in previous state that were removed
+        prevNode.fieldNames().forEachRemaining(key -> {
+            if (!EXCLUDED_KEYS.contains(key) && !currNode.has(key)) {
+                // Field removed, add null to indicate removal
+                diff.putNull(key);
             }
+        });
 
-            return diff;
-        } catch (Exception e) {
-            throw new BadArgumentException("Failed to compute diff: " + e.getMessage(), e);
-        }
+        return diff;
     }
 
     /**
-     * Converts an object to a Map with proper error handling.
+     * Computes the RFC 6902 JSON Patch turning the previous state into the current state, matching array elements
+     * by id. See {@link JsonDiff} for other identity keys.
+     *
+     * @param previousState the previous state object, null as a JSON null
+     * @param currentState  the current state object, null as a JSON null
+     * @return the JSON patch
      */
-    private static Map<String, Object> convertToMap(Object obj) {
-        if (obj instanceof Map) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> map = (Map<String, Object>) obj;
-            return map;
+    public static ArrayNode computePatch(Object previousState, Object currentState) {
+        return JsonDiff.DEFAULT.diff(previousState == null ? null : toJsonNode(previousState),
+                currentState == null ? null : toJsonNode(currentState));
+    }
+
+    /**
+     * Applies an RFC 6902 JSON Patch to a copy of a state.
+     *
+     * @param state the state
+     * @param patch the JSON patch
+     * @return the patched state
+     * @throws BadArgumentException if the patch cannot be applied
+     */
+    public static JsonNode applyPatch(JsonNode state, JsonNode patch) {
+        return JsonDiff.apply(state, patch);
+    }
+
+    /**
+     * Converts an object to a JsonNode with proper error handling.
+     */
+    private static JsonNode toJsonNode(Object obj) {
+        if (obj instanceof JsonNode node) {
+            return node;
         }
         try {
-            return objectMapper.convertValue(obj, Map.class);
+            return objectMapper.valueToTree(obj);
         } catch (IllegalArgumentException e) {
-            throw new BadArgumentException("Failed to convert object to Map: " + e.getMessage(), e);
+            throw new BadArgumentException("Failed to convert object to JsonNode: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Converts an object to an ObjectNode, failing if it is not an object.
+     */
+    private static ObjectNode toObjectNode(Object obj) {
+        if (toJsonNode(obj) instanceof ObjectNode node) {
+            return node;
         }
+        throw new BadArgumentException("Failed to compute diff: " + obj.getClass().getSimpleName() + " is not an object");
     }
 
     /**
@@ -476,48 +533,24 @@ public interface JsonHelper {
     }
 
     /**
-     * Performs a deep comparison of two objects, handling collections and nested objects.
+     * The enum Format, the formats of the streaming conversion.
      */
-    private static boolean deepEquals(Object a, Object b) {
-        if (a == b) {
-            return true;
-        }
-        if (a == null || b == null) {
-            return false;
-        }
-        if (a.getClass() != b.getClass()) {
-            return false;
-        }
-
-        if (a instanceof Map) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> mapA = (Map<String, Object>) a;
-            @SuppressWarnings("unchecked")
-            Map<String, Object> mapB = (Map<String, Object>) b;
-            if (!mapA.keySet().equals(mapB.keySet())) {
-                return false;
-            }
-            for (String key : mapA.keySet()) {
-                if (!deepEquals(mapA.get(key), mapB.get(key))) {
-                    return false;
-                }
-            }
-            return true;
-        }
-
-        if (a instanceof Iterable) {
-            Iterable<?> iterA = (Iterable<?>) a;
-            Iterable<?> iterB = (Iterable<?>) b;
-            java.util.Iterator<?> itA = iterA.iterator();
-            java.util.Iterator<?> itB = iterB.iterator();
-            while (itA.hasNext() && itB.hasNext()) {
-                if (!deepEquals(itA.next(), itB.next())) {
-                    return false;
-                }
-            }
-            return !itA.hasNext() && !itB.hasNext();
-        }
-
-        return Objects.equals(a, b);
+    enum Format {
+        /**
+         * Json format.
+         */
+        JSON,
+        /**
+         * Csv format.
+         */
+        CSV,
+        /**
+         * Yaml format.
+         */
+        YAML,
+        /**
+         * Xml format.
+         */
+        XML
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,350 @@
+package eu.isygoit.helper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.xml.namespace.QName;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.*;
+
+/**
+ * Utility class to convert record streams between the JSON, CSV, YAML and XML formats without building the document
+ * in memory. The source is read record by record with the {@link JsonParser} of its format and each record is copied
+ * token by token to the {@link JsonGenerator} of the target format, so the heap holds a single record at a time.
+ * <p>
+ * The records of a source are:
+ * <ul>
+ *     <li>JSON and YAML: the elements of a root array, else each root value (JSON lines, YAML documents)</li>
+ *     <li>CSV: each row, keyed by the header line</li>
+ *     <li>XML: each child element of the root element</li>
+ * </ul>
+ * The target is a JSON array, a YAML sequence, a {@code <records>} element of {@code <record>} elements, or CSV rows.
+ * CSV has no nesting: objects are flattened to dotted column names and arrays are written as JSON text. Its header is
+ * inferred from the first records, which are the only ones buffered; later columns missing from the header are dropped.
+ */
+@Slf4j
+public class JsonStreamConverter {
+
+    /**
+     * The constant DEFAULT_CSV_SAMPLE_SIZE, the number of records a CSV header is inferred from.
+     */
+    public static final int DEFAULT_CSV_SAMPLE_SIZE = 100;
+
+    /**
+     * The constant XML_ROOT_NAME.
+     */
+    public static final String XML_ROOT_NAME = "records";
+
+    /**
+     * The constant XML_RECORD_NAME.
+     */
+    public static final String XML_RECORD_NAME = "record";
+
+    /**
+     * Convert a record stream. Neither stream is closed.
+     *
+     * @param input         the input stream
+     * @param inputFormat   the input format
+     * @param output        the output stream
+     * @param outputFormat  the output format
+     * @param csvSampleSize the number of records a CSV header is inferred from
+     * @return the number of records converted
+     * @throws IOException if the input cannot be read or the output cannot be written
+     */
+    public static long convert(InputStream input, JsonHelper.Format inputFormat,
+                               OutputStream output, JsonHelper.Format outputFormat, int csvSampleSize) throws IOException {
+        long records = 0;
+        try (RecordReader reader = new RecordReader(createParser(input, inputFormat), inputFormat == JsonHelper.Format.XML);
+             RecordWriter writer = createWriter(output, outputFormat, Math.max(1, csvSampleSize))) {
+            while (reader.next()) {
+                writer.write(reader);
+                records++;
+            }
+            writer.finish();
+        }
+        log.debug("Converted {} records from {} to {}", records, inputFormat, outputFormat);
+        return records;
+    }
+
+    /**
+     * Infer a CSV schema with a header from sample rows. Columns are ordered by first appearance, typed as numbers or
+     * booleans when every non null value of the column is, else as strings.
+     *
+     * @param rows the flattened sample rows
+     * @return the csv schema
+     */
+    static CsvSchema inferCsvSchema(List<Map<String, Object>> rows) {
+        Map<String, CsvSchema.ColumnType> columns = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            row.forEach((name, value) -> {
+                CsvSchema.ColumnType type = value instanceof Number ? CsvSchema.ColumnType.NUMBER
+                        : value instanceof Boolean ? CsvSchema.ColumnType.BOOLEAN
+                        : value == null ? null : CsvSchema.ColumnType.STRING;
+                CsvSchema.ColumnType current = columns.get(name);
+                if (current == null) {
+                    columns.put(name, type);
+                } else if (type != null && type != current) {
+                    columns.put(name, CsvSchema.ColumnType.STRING);
+                }
+            });
+        }
+        CsvSchema.Builder builder = CsvSchema.builder();
+        columns.forEach((name, type) -> builder.addColumn(name, type == null ? CsvSchema.ColumnType.STRING : type));
+        return builder.setUseHeader(true).build();
+    }
+
+    /**
+     * Flatten a record to a CSV row: nested fields get dotted names, arrays are kept as JSON text.
+     *
+     * @param record the record
+     * @return the row
+     */
+    static Map<String, Object> flatten(JsonNode record) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        if (record.isObject()) {
+            flatten(record, "", row);
+        } else {
+            row.put("value", scalar(record));
+        }
+        return row;
+    }
+
+    private static void flatten(JsonNode node, String prefix, Map<String, Object> row) {
+        if (node.isObject()) {
+            node.fields().forEachRemaining(entry -> flatten(entry.getValue(),
+                    prefix.isEmpty() ? entry.getKey() : prefix + "." + entry.getKey(), row));
+        } else if (node.isArray()) {
+            row.put(prefix, node.toString());
+        } else {
+            row.put(prefix, scalar(node));
+        }
+    }
+
+    private static Object scalar(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return null;
+        }
+        if (node.isNumber()) {
+            return node.numberValue();
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        return node.asText();
+    }
+
+    private static ObjectMapper mapper(JsonHelper.Format format) {
+        return switch (format) {
+            case JSON -> JsonHelper.objectMapper;
+            case CSV -> JsonHelper.csvMapper;
+            case YAML -> JsonHelper.yamlMapper;
+            case XML -> JsonHelper.xmlMapper;
+        };
+    }
+
+    private static JsonParser createParser(InputStream input, JsonHelper.Format format) throws IOException {
+        JsonParser parser = mapper(format).createParser(input);
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        if (format == JsonHelper.Format.CSV) {
+            parser.setSchema(CsvSchema.emptySchema().withHeader());
+        }
+        return parser;
+    }
+
+    private static RecordWriter createWriter(OutputStream output, JsonHelper.Format format, int csvSampleSize)
+            throws IOException {
+        if (format == JsonHelper.Format.CSV) {
+            return new CsvRecordWriter(output, csvSampleSize);
+        }
+        JsonGenerator generator = mapper(format).createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return new TokenRecordWriter(generator, format == JsonHelper.Format.XML);
+    }
+
+    /**
+     * Positions a parser on the first token of each record in turn.
+     */
+    private static final class RecordReader implements Closeable {
+
+        private final JsonParser parser;
+        private final boolean xml;
+        private Layout layout;
+
+        private RecordReader(JsonParser parser, boolean xml) {
+            this.parser = parser;
+            this.xml = xml;
+        }
+
+        private boolean next() throws IOException {
+            if (layout == null) {
+                JsonToken token = parser.nextToken();
+                if (token == null) {
+                    return false;
+                }
+                if (token == (xml ? JsonToken.START_OBJECT : JsonToken.START_ARRAY)) {
+                    layout = xml ? Layout.CHILD_ELEMENTS : Layout.ARRAY_ELEMENTS;
+                } else {
+                    // The first root value is the first record
+                    layout = Layout.ROOT_VALUES;
+                    return true;
+                }
+            }
+            return switch (layout) {
+                case ARRAY_ELEMENTS -> {
+                    JsonToken token = parser.nextToken();
+                    yield token != null && token != JsonToken.END_ARRAY;
+                }
+                case CHILD_ELEMENTS -> parser.nextToken() == JsonToken.FIELD_NAME && parser.nextToken() != null;
+                case ROOT_VALUES -> parser.nextToken() != null;
+            };
+        }
+
+        private void copyTo(JsonGenerator generator) throws IOException {
+            generator.copyCurrentStructure(parser);
+        }
+
+        private JsonNode readTree() throws IOException {
+            return parser.readValueAsTree();
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+
+        private enum Layout {
+            ARRAY_ELEMENTS, CHILD_ELEMENTS, ROOT_VALUES
+        }
+    }
+
+    private interface RecordWriter extends Closeable {
+
+        void write(RecordReader reader) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * Copies each record token by token under a root array, or a root element for XML.
+     */
+    private static final class TokenRecordWriter implements RecordWriter {
+
+        private final JsonGenerator generator;
+        private final boolean xml;
+
+        private TokenRecordWriter(JsonGenerator generator, boolean xml) throws IOException {
+            this.generator = generator;
+            this.xml = xml;
+            if (xml) {
+                ((ToXmlGenerator) generator).setNextName(new QName(XML_ROOT_NAME));
+                generator.writeStartObject();
+            } else {
+                generator.writeStartArray();
+            }
+        }
+
+        @Override
+        public void write(RecordReader reader) throws IOException {
+            if (xml) {
+                generator.writeFieldName(XML_RECORD_NAME);
+            }
+            reader.copyTo(generator);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (xml) {
+                generator.writeEndObject();
+            } else {
+                generator.writeEndArray();
+            }
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * Buffers the first records to infer the header, then writes each record as a flattened row.
+     */
+    private static final class CsvRecordWriter implements RecordWriter {
+
+        private final OutputStream output;
+        private final int sampleSize;
+        private final List<Map<String, Object>> sample = new ArrayList<>();
+        private final Set<String> droppedColumns = new HashSet<>();
+        private Set<String> columns;
+        private SequenceWriter rows;
+
+        private CsvRecordWriter(OutputStream output, int sampleSize) {
+            this.output = output;
+            this.sampleSize = sampleSize;
+        }
+
+        @Override
+        public void write(RecordReader reader) throws IOException {
+            Map<String, Object> row = flatten(reader.readTree());
+            if (rows != null) {
+                writeRow(row);
+                return;
+            }
+            sample.add(row);
+            if (sample.size() >= sampleSize) {
+                start();
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (rows == null && !sample.isEmpty()) {
+                start();
+            }
+            if (rows != null) {
+                rows.flush();
+            }
+        }
+
+        private void start() throws IOException {
+            CsvSchema schema = inferCsvSchema(sample);
+            columns = new HashSet<>(schema.getColumnNames());
+            rows = JsonHelper.csvMapper.writer(schema)
+                    .with(JsonGenerator.Feature.IGNORE_UNKNOWN)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValues(output);
+            for (Map<String, Object> row : sample) {
+                rows.write(row);
+            }
+            sample.clear();
+        }
+
+        private void writeRow(Map<String, Object> row) throws IOException {
+            for (String name : row.keySet()) {
+                if (!columns.contains(name) && droppedColumns.add(name)) {
+                    log.warn("CSV column {} is not in the header inferred from the first {} records, dropped",
+                            name, sampleSize);
+                }
+            }
+            rows.write(row);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (rows != null) {
+                rows.close();
+            }
+        }
+    }
+}
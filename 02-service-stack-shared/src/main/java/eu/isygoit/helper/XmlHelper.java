@@ -1,6 +1,6 @@
 package eu.isygoit.helper;
 
-import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
 import org.slf4j.Logger;
@@ -8,17 +8,29 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.ResourceUtils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
 
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.SchemaFactory;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * The interface XmlHelper provides utility methods to convert between XML and objects,
@@ -42,9 +54,8 @@ public interface XmlHelper {
      */
     public static <E> E convertXmlToObject(String xmlContent, Class<E> targetClass) throws JAXBException {
         logger.debug("Converting XML string to object of class {}", targetClass.getName());
-        var jaxbContext = JAXBContext.newInstance(targetClass);
-        var jaxbUnmarshaller = jaxbContext.createUnmarshaller();
-        return (E) jaxbUnmarshaller.unmarshal(new StringReader(xmlContent));
+        return JaxbContextCache.withUnmarshaller(targetClass,
+                jaxbUnmarshaller -> (E) jaxbUnmarshaller.unmarshal(new StringReader(xmlContent)));
     }
 
     /**
@@ -58,9 +69,7 @@ public interface XmlHelper {
      */
     public static <E> E convertXmlFileToObject(InputStream xmlFile, Class<E> targetClass) throws JAXBException {
         logger.debug("Converting XML file to object of class {}", targetClass.getName());
-        var jaxbContext = JAXBContext.newInstance(targetClass);
-        var jaxbUnmarshaller = jaxbContext.createUnmarshaller();
-        return (E) jaxbUnmarshaller.unmarshal(xmlFile);
+        return JaxbContextCache.withUnmarshaller(targetClass, jaxbUnmarshaller -> (E) jaxbUnmarshaller.unmarshal(xmlFile));
     }
 
     /**
@@ -75,11 +84,12 @@ public interface XmlHelper {
      */
     public static <E> String convertObjectToXmlString(E object, Class<E> targetClass) throws JAXBException, IOException {
         logger.debug("Converting object of class {} to XML string", targetClass.getName());
-        var jaxbContext = JAXBContext.newInstance(targetClass);
-        var jaxbMarshaller = jaxbContext.createMarshaller();
-        jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
         try (var stringWriter = new StringWriter()) {
-            jaxbMarshaller.marshal(object, stringWriter);
+            JaxbContextCache.withMarshaller(targetClass, jaxbMarshaller -> {
+                jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+                jaxbMarshaller.marshal(object, stringWriter);
+                return null;
+            });
             return stringWriter.toString();
         }
     }
@@ -105,12 +115,11 @@ public interface XmlHelper {
                 }
             }
 
-            // Create JAXB context and marshaller
-            var jaxbContext = JAXBContext.newInstance(targetClass);
-            var jaxbMarshaller = jaxbContext.createMarshaller();
-
-            // Marshal the object to the file
-            jaxbMarshaller.marshal(object, file);
+            // Marshal the object to the file with a pooled marshaller of the cached context
+            JaxbContextCache.withMarshaller(targetClass, jaxbMarshaller -> {
+                jaxbMarshaller.marshal(object, file);
+                return null;
+            });
             logger.debug("Object successfully marshaled to XML file: {}", file.getAbsolutePath());
 
             return file;
@@ -120,6 +129,203 @@ public interface XmlHelper {
         }
     }
 
+    /**
+     * Creates a streaming reader over an XML input, rejecting DTDs and external entities.
+     *
+     * @param xmlInput the XML input.
+     * @return the XML stream reader, to close after use; closing it does not close the input.
+     * @throws XMLStreamException if the reader cannot be created.
+     */
+    public static XMLStreamReader createXmlStreamReader(InputStream xmlInput) throws XMLStreamException {
+        return XmlStreamFactories.INPUT_FACTORY.createXMLStreamReader(xmlInput);
+    }
+
+    /**
+     * Creates a streaming UTF-8 writer over an XML output.
+     *
+     * @param xmlOutput the XML output.
+     * @return the XML stream writer, to close after use; closing it does not close the output.
+     * @throws XMLStreamException if the writer cannot be created.
+     */
+    public static XMLStreamWriter createXmlStreamWriter(OutputStream xmlOutput) throws XMLStreamException {
+        return XmlStreamFactories.OUTPUT_FACTORY.createXMLStreamWriter(xmlOutput, StandardCharsets.UTF_8.name());
+    }
+
+    /**
+     * Unmarshals the repeated elements of an XML input one by one, without loading the whole document: only the
+     * element being unmarshalled is held in memory.
+     *
+     * @param <E>         the type of the elements.
+     * @param xmlInput    the XML input.
+     * @param elementName the local name of the repeated element.
+     * @param targetClass the class of the elements.
+     * @param consumer    the consumer of each element, in document order.
+     * @return the number of elements unmarshalled.
+     * @throws JAXBException      if an element cannot be unmarshalled or the input is not well-formed.
+     * @throws XMLStreamException if the reader cannot be created.
+     */
+    public static <E> long unmarshalElements(InputStream xmlInput, String elementName, Class<E> targetClass,
+                                             Consumer<? super E> consumer) throws JAXBException, XMLStreamException {
+        logger.debug("Unmarshalling {} elements as {}", elementName, targetClass.getName());
+        var reader = createXmlStreamReader(xmlInput);
+        try {
+            return JaxbContextCache.withUnmarshaller(targetClass, jaxbUnmarshaller -> {
+                long count = 0;
+                try {
+                    while (reader.getEventType() != XMLStreamConstants.END_DOCUMENT) {
+                        if (reader.isStartElement() && elementName.equals(reader.getLocalName())) {
+                            // Leaves the reader on the event following the element, which may be the next one
+                            consumer.accept(jaxbUnmarshaller.unmarshal(reader, targetClass).getValue());
+                            count++;
+                        } else {
+                            reader.next();
+                        }
+                    }
+                } catch (XMLStreamException e) {
+                    throw new JAXBException("Malformed XML input: " + e.getMessage(), e);
+                }
+                return count;
+            });
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Marshals elements one by one under a root element, without building the whole document: the elements are
+     * pulled from the iterable as they are written.
+     *
+     * @param <E>         the type of the elements.
+     * @param xmlOutput   the XML output.
+     * @param rootName    the name of the root element.
+     * @param elementName the name of each element.
+     * @param elements    the elements.
+     * @param targetClass the class of the elements.
+     * @return the number of elements marshalled.
+     * @throws JAXBException      if an element cannot be marshalled.
+     * @throws XMLStreamException if writing fails.
+     */
+    public static <E> long marshalElements(OutputStream xmlOutput, String rootName, String elementName,
+                                           Iterable<? extends E> elements, Class<E> targetClass) throws JAXBException, XMLStreamException {
+        logger.debug("Marshalling {} elements of class {} under {}", elementName, targetClass.getName(), rootName);
+        var writer = createXmlStreamWriter(xmlOutput);
+        try {
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeStartElement(rootName);
+            long count = JaxbContextCache.withMarshaller(targetClass, jaxbMarshaller -> {
+                jaxbMarshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+                var name = new QName(elementName);
+                long written = 0;
+                for (E element : elements) {
+                    jaxbMarshaller.marshal(new JAXBElement<>(name, targetClass, element), writer);
+                    written++;
+                }
+                return written;
+            });
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+            return count;
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Evaluates an XPath expression against each repeated element of an XML input. The input is streamed and only
+     * the current element is turned into a DOM tree, the expression being relative to that element; a document-wide
+     * XPath would need the whole document in memory.
+     *
+     * @param xmlInput    the XML input.
+     * @param elementName the local name of the repeated element.
+     * @param expression  the XPath expression, evaluated to a string with the element as context node.
+     * @param consumer    the consumer of each result, in document order.
+     * @return the number of elements evaluated.
+     * @throws XMLStreamException       if the input is not well-formed.
+     * @throws XPathExpressionException if the expression is invalid.
+     */
+    public static long evaluateXPathPerElement(InputStream xmlInput, String elementName, String expression,
+                                               Consumer<String> consumer) throws XMLStreamException, XPathExpressionException {
+        logger.debug("Evaluating XPath {} on {} elements", expression, elementName);
+        var compiled = XPathFactory.newInstance().newXPath().compile(expression);
+        DocumentBuilder documentBuilder;
+        try {
+            var documentBuilderFactory = DocumentBuilderFactory.newInstance();
+            documentBuilderFactory.setNamespaceAware(true);
+            documentBuilder = documentBuilderFactory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("No DOM implementation available", e);
+        }
+
+        var reader = createXmlStreamReader(xmlInput);
+        try {
+            long count = 0;
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && elementName.equals(reader.getLocalName())) {
+                    var document = documentBuilder.newDocument();
+                    document.appendChild(readElement(reader, document));
+                    consumer.accept(compiled.evaluate(document.getDocumentElement()));
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Builds the DOM element of the current element of a reader, leaving the reader on its end tag.
+     *
+     * @param reader   the reader, on a start tag.
+     * @param document the owner document.
+     * @return the element.
+     * @throws XMLStreamException if the input is not well-formed.
+     */
+    private static Element readElement(XMLStreamReader reader, Document document) throws XMLStreamException {
+        var element = createElement(reader, document);
+        Node current = element;
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    var child = createElement(reader, document);
+                    current.appendChild(child);
+                    current = child;
+                    depth++;
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    current = current.getParentNode();
+                    depth--;
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                        current.appendChild(document.createTextNode(reader.getText()));
+                default -> {
+                    // Comments and processing instructions are not needed for XPath evaluation
+                }
+            }
+        }
+        return element;
+    }
+
+    private static Element createElement(XMLStreamReader reader, Document document) {
+        var prefix = reader.getPrefix();
+        var qualifiedName = prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+        var element = document.createElementNS(emptyToNull(reader.getNamespaceURI()), qualifiedName);
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            var attributePrefix = reader.getAttributePrefix(i);
+            var attributeName = attributePrefix == null || attributePrefix.isEmpty()
+                    ? reader.getAttributeLocalName(i)
+                    : attributePrefix + ":" + reader.getAttributeLocalName(i);
+            element.setAttributeNS(emptyToNull(reader.getAttributeNamespace(i)), attributeName, reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
     /**
      * Validates an XML string against the provided XSD model.
      *
@@ -0,0 +1,32 @@
+package eu.isygoit.helper;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+
+/**
+ * Shared StAX factories. Creating a factory goes through the service lookup, while a configured factory is safe to
+ * share between threads. The input factory rejects DTDs and external entities.
+ */
+final class XmlStreamFactories {
+
+    /**
+     * The constant INPUT_FACTORY.
+     */
+    static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    /**
+     * The constant OUTPUT_FACTORY.
+     */
+    static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private XmlStreamFactories() {
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        return factory;
+    }
+}
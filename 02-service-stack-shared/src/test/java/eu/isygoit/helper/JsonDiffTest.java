@@ -0,0 +1,161 @@
+package eu.isygoit.helper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import eu.isygoit.exception.BadArgumentException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JsonDiff: RFC 6902 patches computed on JsonNode trees, identity matching of array elements and
+ * patch application.
+ */
+class JsonDiffTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JsonNode json(String json) throws Exception {
+        return objectMapper.readTree(json.replace('\'', '"'));
+    }
+
+    private void assertRoundTrip(JsonDiff jsonDiff, JsonNode source, JsonNode target) {
+        ArrayNode patch = jsonDiff.diff(source, target);
+        assertEquals(target, JsonDiff.apply(source, patch), () -> "Patch " + patch + " does not rebuild the target");
+    }
+
+    /**
+     * The type Diff tests.
+     */
+    @Nested
+    @DisplayName("Diff Tests")
+    class DiffTests {
+
+        @Test
+        @DisplayName("Identical trees produce an empty patch")
+        void diff_shouldBeEmptyForIdenticalTrees() throws Exception {
+            JsonNode document = json("{'name':'John','tags':['a','b'],'address':{'city':'Paris'}}");
+
+            assertTrue(JsonDiff.DEFAULT.diff(document, document).isEmpty());
+            assertTrue(JsonDiff.DEFAULT.diff(document, document.deepCopy()).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Object fields produce add, remove and replace operations")
+        void diff_shouldEmitFieldOperations() throws Exception {
+            JsonNode source = json("{'name':'John','age':30,'address':{'city':'Paris','zip':'75001'},'a/b':1}");
+            JsonNode target = json("{'name':'John','age':31,'address':{'city':'Paris'},'a/b':2,'email':'j@x.eu'}");
+
+            ArrayNode patch = JsonDiff.DEFAULT.diff(source, target);
+
+            assertEquals(json("[{'op':'replace','path':'/age','value':31},"
+                    + "{'op':'remove','path':'/address/zip'},"
+                    + "{'op':'replace','path':'/a~1b','value':2},"
+                    + "{'op':'add','path':'/email','value':'j@x.eu'}]"), patch);
+        }
+
+        @Test
+        @DisplayName("Array elements are matched by identity key")
+        void diff_shouldMatchArrayElementsById() throws Exception {
+            JsonNode source = json("{'items':[{'id':1,'qty':1},{'id':2,'qty':2},{'id':3,'qty':3}]}");
+            JsonNode target = json("{'items':[{'id':0,'qty':0},{'id':1,'qty':1},{'id':2,'qty':5},{'id':3,'qty':3}]}");
+
+            ArrayNode patch = JsonDiff.DEFAULT.diff(source, target);
+
+            assertEquals(json("[{'op':'add','path':'/items/0','value':{'id':0,'qty':0}},"
+                    + "{'op':'replace','path':'/items/2/qty','value':5}]"), patch);
+        }
+
+        @Test
+        @DisplayName("Reordered elements produce move operations")
+        void diff_shouldMoveReorderedElements() throws Exception {
+            JsonNode source = json("[{'code':'a'},{'code':'b'},{'code':'c'},{'code':'d'}]");
+            JsonNode target = json("[{'code':'c'},{'code':'a'},{'code':'e'},{'code':'b'}]");
+            JsonDiff jsonDiff = JsonDiff.builder().identityKeys(List.of("id", "code")).build();
+
+            ArrayNode patch = jsonDiff.diff(source, target);
+
+            assertEquals(json("{'op':'remove','path':'/3'}"), patch.get(0));
+            assertEquals(json("{'op':'move','path':'/0','from':'/2'}"), patch.get(1));
+            assertRoundTrip(jsonDiff, source, target);
+        }
+
+        @Test
+        @DisplayName("Arrays without identity key are compared by position")
+        void diff_shouldCompareArraysByPosition() throws Exception {
+            JsonNode source = json("{'tags':['a','b','c'],'items':[{'id':1},{'qty':2}]}");
+            JsonNode target = json("{'tags':['a','x'],'items':[{'id':1},{'qty':3},{'qty':4}]}");
+
+            ArrayNode patch = JsonDiff.DEFAULT.diff(source, target);
+
+            assertEquals(json("[{'op':'replace','path':'/tags/1','value':'x'},"
+                    + "{'op':'remove','path':'/tags/2'},"
+                    + "{'op':'replace','path':'/items/1/qty','value':3},"
+                    + "{'op':'add','path':'/items/2','value':{'qty':4}}]"), patch);
+        }
+
+        @Test
+        @DisplayName("Ignored keys of the root object are not compared")
+        void diff_shouldSkipIgnoredKeys() throws Exception {
+            JsonDiff jsonDiff = JsonDiff.builder().ignoredKeys(Set.of("version")).build();
+
+            ArrayNode patch = jsonDiff.diff(json("{'version':1,'name':'a','child':{'version':1}}"),
+                    json("{'version':2,'name':'b','child':{'version':2}}"));
+
+            assertEquals(json("[{'op':'replace','path':'/name','value':'b'},"
+                    + "{'op':'replace','path':'/child/version','value':2}]"), patch);
+        }
+
+        @Test
+        @DisplayName("Patches rebuild the target")
+        void diff_shouldRoundTrip() throws Exception {
+            assertRoundTrip(JsonDiff.DEFAULT, json("{'a':[1,2,3],'b':{'c':null}}"), json("{'a':[3],'b':{'c':[{'id':1}]}}"));
+            assertRoundTrip(JsonDiff.DEFAULT, json("[{'id':1},{'id':2},{'id':3}]"), json("[{'id':3,'v':1},{'id':4},{'id':1}]"));
+            assertRoundTrip(JsonDiff.DEFAULT, json("{'a':1}"), json("[1,2]"));
+            assertRoundTrip(JsonDiff.DEFAULT, null, json("{'a':1}"));
+        }
+    }
+
+    /**
+     * The type Apply tests.
+     */
+    @Nested
+    @DisplayName("Apply Tests")
+    class ApplyTests {
+
+        @Test
+        @DisplayName("Apply all operations on a copy")
+        void apply_shouldApplyOperationsOnACopy() throws Exception {
+            JsonNode document = json("{'a':{'b':1},'list':[1,2]}");
+            JsonNode patch = json("[{'op':'test','path':'/a/b','value':1},"
+                    + "{'op':'copy','from':'/a','path':'/c'},"
+                    + "{'op':'move','from':'/a/b','path':'/list/-'},"
+                    + "{'op':'add','path':'/list/0','value':0},"
+                    + "{'op':'remove','path':'/c/b'},"
+                    + "{'op':'replace','path':'/a','value':'x'}]");
+
+            JsonNode result = JsonDiff.apply(document, patch);
+
+            assertEquals(json("{'a':'x','list':[0,1,2,1],'c':{}}"), result);
+            assertEquals(json("{'a':{'b':1},'list':[1,2]}"), document, "The document is left unchanged");
+        }
+
+        @Test
+        @DisplayName("Invalid patches are rejected")
+        void apply_shouldRejectInvalidPatches() throws Exception {
+            JsonNode document = json("{'a':1,'list':[1]}");
+
+            assertThrows(BadArgumentException.class, () -> JsonDiff.apply(document, json("{'op':'add'}")));
+            assertThrows(BadArgumentException.class, () -> JsonDiff.apply(document, json("[{'op':'test','path':'/a','value':2}]")));
+            assertThrows(BadArgumentException.class, () -> JsonDiff.apply(document, json("[{'op':'remove','path':'/b'}]")));
+            assertThrows(BadArgumentException.class, () -> JsonDiff.apply(document, json("[{'op':'add','path':'/list/2','value':2}]")));
+            assertThrows(BadArgumentException.class, () -> JsonDiff.apply(document, json("[{'op':'merge','path':'/a'}]")));
+        }
+    }
+}
@@ -2,9 +2,12 @@ package eu.isygoit.helper;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import eu.isygoit.helper.bo.Author;
@@ -12,9 +15,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -297,6 +301,20 @@ class JsonHelperTestPart1 {
             assertEquals("New", diff.get("name").asText());
         }
 
+        @Test
+        @DisplayName("Compute Diff - Independent Of The Current State")
+        void computeDiff_shouldNotShareNodesWithCurrentState() {
+            ObjectNode prev = JsonHelper.objectMapper.createObjectNode();
+            prev.putObject("address").put("city", "Paris");
+            ObjectNode curr = JsonHelper.objectMapper.createObjectNode();
+            curr.putObject("address").put("city", "Lyon");
+
+            ObjectNode diff = JsonHelper.computeDiff(prev, curr);
+            ((ObjectNode) curr.get("address")).put("city", "Nice");
+
+            assertEquals("Lyon", diff.get("address").get("city").asText());
+        }
+
         @Test
         @DisplayName("Deep Equals - Complex Objects")
         void computeDiff_deepEquals_shouldHandleComplexObjects() {
@@ -323,6 +341,34 @@ class JsonHelperTestPart1 {
             assertEquals("v2", nestedNode.get("k").asText());
         }
 
+        @Test
+        @DisplayName("Compute Diff - JsonNode States")
+        void computeDiff_shouldCompareJsonNodeStates() throws Exception {
+            JsonNode prev = objectMapper.readTree("{\"id\":1,\"name\":\"Old\",\"tags\":[\"a\"],\"city\":\"Paris\"}");
+            JsonNode curr = objectMapper.readTree("{\"id\":2,\"name\":\"New\",\"tags\":[\"a\"]}");
+
+            ObjectNode diff = JsonHelper.computeDiff(prev, curr);
+
+            assertEquals(objectMapper.readTree("{\"name\":\"New\",\"city\":null}"), diff);
+        }
+
+        @Test
+        @DisplayName("Compute Patch - Rebuilds Current State")
+        void computePatch_shouldRebuildCurrentState() {
+            Map<String, Object> prev = new HashMap<>();
+            prev.put("name", "Old");
+            prev.put("items", List.of(Map.of("id", 1, "qty", 1), Map.of("id", 2, "qty", 2)));
+
+            Map<String, Object> curr = new HashMap<>();
+            curr.put("name", "Old");
+            curr.put("items", List.of(Map.of("id", 2, "qty", 3)));
+
+            ArrayNode patch = JsonHelper.computePatch(prev, curr);
+
+            assertEquals(2, patch.size());
+            assertEquals(objectMapper.valueToTree(curr), JsonHelper.applyPatch(objectMapper.valueToTree(prev), patch));
+        }
+
         @Test
         @DisplayName("Create Full Diff")
         void createFullDiff_shouldReturnOldAndNewStates() {
@@ -345,6 +391,112 @@ class JsonHelperTestPart1 {
         }
     }
 
+    /**
+     * The type Streaming conversion tests.
+     */
+    @Nested
+    @DisplayName("Streaming Conversion Tests")
+    class StreamingConversionTests {
+
+        private static final String RECORDS = "[{\"name\":\"John\",\"age\":30,\"address\":{\"city\":\"Paris\"},\"tags\":[\"a\",\"b\"]},"
+                + "{\"name\":\"Jane\",\"age\":25,\"address\":{\"city\":\"Rome\"},\"tags\":[]}]";
+
+        private String convert(String input, JsonHelper.Format from, JsonHelper.Format to, int csvSampleSize) throws Exception {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            JsonHelper.convert(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), from, output, to, csvSampleSize);
+            return output.toString(StandardCharsets.UTF_8);
+        }
+
+        private List<Map<String, String>> readCsv(String csv) throws Exception {
+            MappingIterator<Map<String, String>> rows = csvMapper.readerFor(Map.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(csv);
+            return rows.readAll();
+        }
+
+        /**
+         * Convert should flatten records to csv with an inferred header.
+         *
+         * @throws Exception the exception
+         */
+        @Test
+        @DisplayName("Stream JSON records to CSV")
+        void convert_shouldFlattenRecordsToCsv() throws Exception {
+            String csv = convert(RECORDS, JsonHelper.Format.JSON, JsonHelper.Format.CSV, 10);
+
+            assertTrue(csv.startsWith("name,age,address.city,tags\n"), "The header is inferred from the records");
+            List<Map<String, String>> rows = readCsv(csv);
+            assertEquals(2, rows.size());
+            assertEquals("Paris", rows.get(0).get("address.city"));
+            assertEquals("[\"a\",\"b\"]", rows.get(0).get("tags"));
+            assertEquals("25", rows.get(1).get("age"));
+        }
+
+        /**
+         * Convert should infer csv header from the sample only.
+         *
+         * @throws Exception the exception
+         */
+        @Test
+        @DisplayName("Infer the CSV header from the first records")
+        void convert_shouldInferCsvHeaderFromSample() throws Exception {
+            String json = "{\"id\":1}\n{\"id\":2,\"name\":\"b\"}\n{\"id\":3,\"name\":\"c\",\"late\":true}";
+
+            List<Map<String, String>> rows = readCsv(convert(json, JsonHelper.Format.JSON, JsonHelper.Format.CSV, 2));
+
+            assertEquals(3, rows.size());
+            assertEquals(Set.of("id", "name"), rows.get(2).keySet(), "Columns after the sample are dropped");
+            assertEquals("", rows.get(0).get("name"));
+            assertEquals("c", rows.get(2).get("name"));
+        }
+
+        /**
+         * Convert should read csv rows as records.
+         *
+         * @throws Exception the exception
+         */
+        @Test
+        @DisplayName("Stream CSV rows to JSON")
+        void convert_shouldReadCsvRows() throws Exception {
+            JsonNode result = objectMapper.readTree(convert("name,age\nJohn,30\nJane,25\n",
+                    JsonHelper.Format.CSV, JsonHelper.Format.JSON, 10));
+
+            assertEquals(objectMapper.readTree("[{\"name\":\"John\",\"age\":\"30\"},{\"name\":\"Jane\",\"age\":\"25\"}]"), result);
+        }
+
+        /**
+         * Convert should round trip through yaml.
+         *
+         * @throws Exception the exception
+         */
+        @Test
+        @DisplayName("Round trip JSON through YAML")
+        void convert_shouldRoundTripThroughYaml() throws Exception {
+            String yaml = convert(RECORDS, JsonHelper.Format.JSON, JsonHelper.Format.YAML, 10);
+            String json = convert(yaml, JsonHelper.Format.YAML, JsonHelper.Format.JSON, 10);
+
+            assertEquals(objectMapper.readTree(RECORDS), objectMapper.readTree(json));
+        }
+
+        /**
+         * Convert should round trip through xml.
+         *
+         * @throws Exception the exception
+         */
+        @Test
+        @DisplayName("Round trip JSON through XML")
+        void convert_shouldRoundTripThroughXml() throws Exception {
+            String xml = convert("[{\"name\":\"John\",\"address\":{\"city\":\"Paris\"}},{\"name\":\"Jane\"}]",
+                    JsonHelper.Format.JSON, JsonHelper.Format.XML, 10);
+
+            assertTrue(xml.startsWith("<records><record><name>John</name>"), xml);
+            JsonNode result = objectMapper.readTree(convert(xml, JsonHelper.Format.XML, JsonHelper.Format.JSON, 10));
+            assertEquals(2, result.size());
+            assertEquals("Paris", result.get(0).path("address").path("city").asText());
+            assertEquals("Jane", result.get(1).path("name").asText());
+        }
+    }
+
     @Nested
     @DisplayName("Error Handling Tests")
     class ErrorHandlingTests {
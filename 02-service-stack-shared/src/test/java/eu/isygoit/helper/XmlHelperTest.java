@@ -9,13 +9,18 @@ import org.junit.jupiter.api.io.TempDir;
 import org.w3c.dom.Document;
 import org.w3c.dom.NodeList;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -500,4 +505,97 @@ class XmlHelperTest {
             assertEquals(originalBookCount + 1, updatedDoc.getElementsByTagName("book").getLength());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The type Xml streaming tests.
+     */
+    @Nested
+    @DisplayName("XML Streaming Tests")
+    class XmlStreamingTests {
+
+        /**
+         * Unmarshal book elements one by one.
+         *
+         * @throws Exception the exception
+         */
+        @Test
+        @DisplayName("Should unmarshal repeated book elements one by one")
+        void unmarshalBookElements() throws Exception {
+            List<Book> books = new ArrayList<>();
+
+            long count;
+            try (var input = Files.newInputStream(xmlFile.toPath())) {
+                count = XmlHelper.unmarshalElements(input, "book", Book.class, books::add);
+            }
+
+            assertEquals(2, count);
+            assertEquals(List.of("B001", "B002"), books.stream().map(Book::getId).toList());
+            assertEquals("Fitzgerald", books.get(0).getAuthor().getLastName());
+        }
+
+        /**
+         * Marshal book elements and read them back.
+         *
+         * @throws Exception the exception
+         */
+        @Test
+        @DisplayName("Should marshal book elements under a root element")
+        void marshalBookElements() throws Exception {
+            List<Book> books = new ArrayList<>();
+            try (var input = Files.newInputStream(xmlFile.toPath())) {
+                XmlHelper.unmarshalElements(input, "book", Book.class, books::add);
+            }
+
+            var output = new ByteArrayOutputStream();
+            long count = XmlHelper.marshalElements(output, "bookstore", "book", books, Book.class);
+
+            assertEquals(2, count);
+            List<Book> reread = new ArrayList<>();
+            XmlHelper.unmarshalElements(new ByteArrayInputStream(output.toByteArray()), "book", Book.class, reread::add);
+            assertEquals(List.of("The Great Gatsby", "A Brief History of Time"), reread.stream().map(Book::getTitle).toList());
+        }
+
+        /**
+         * Evaluate XPath on each book element.
+         *
+         * @throws Exception the exception
+         */
+        @Test
+        @DisplayName("Should evaluate XPath on each streamed book element")
+        void evaluateXPathPerBook() throws Exception {
+            List<String> results = new ArrayList<>();
+
+            try (var input = Files.newInputStream(xmlFile.toPath())) {
+                XmlHelper.evaluateXPathPerElement(input, "book",
+                        "concat(@id, ':', count(reviews/review), ':', price/@currency)", results::add);
+            }
+
+            assertEquals(List.of("B001:3:USD", "B002:1:EUR"), results);
+        }
+
+        /**
+         * Reject external entities.
+         */
+        @Test
+        @DisplayName("Should not resolve external entities")
+        void rejectExternalEntities() {
+            String xxe = "<?xml version=\"1.0\"?><!DOCTYPE book [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]>"
+                    + "<book id=\"B001\" category=\"fiction\"><title>&xxe;</title></book>";
+
+            assertThrows(Exception.class, () -> XmlHelper.unmarshalElements(
+                    new ByteArrayInputStream(xxe.getBytes(StandardCharsets.UTF_8)), "book", Book.class, book -> {
+                    }));
+        }
+
+        /**
+         * Reuse the cached JAXB context.
+         *
+         * @throws Exception the exception
+         */
+        @Test
+        @DisplayName("Should create the JAXB context of a class once")
+        void reuseCachedContext() throws Exception {
+            assertSame(JaxbContextCache.getContext(Bookstore.class), JaxbContextCache.getContext(Bookstore.class));
+        }
+    }
+}
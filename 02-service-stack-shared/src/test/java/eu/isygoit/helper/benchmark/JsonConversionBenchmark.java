@@ -0,0 +1,124 @@
+package eu.isygoit.helper.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import eu.isygoit.helper.JsonHelper;
+import eu.isygoit.helper.JsonStreamConverter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the streaming conversion against the String path (read the document, build its tree, write it to
+ * a String) for large JSON exports.
+ * <p>
+ * Each invocation converts a whole generated file, so the mode is single shot. The String path holds the document
+ * several times in heap, hence the large heap of the fork; add {@code -prof gc} to compare allocation rates. Run with
+ * {@code main} from the test classpath, the {@code sizeMb} parameter can be overridden with {@code -p sizeMb=...}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class JsonConversionBenchmark {
+
+    @Param({"500"})
+    private int sizeMb;
+
+    @Param({"CSV", "YAML", "XML"})
+    private JsonHelper.Format target;
+
+    private Path input;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonConversionBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        input = Files.createTempFile("conversion-benchmark", ".json");
+        long size = sizeMb * 1024L * 1024L;
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(input));
+             JsonGenerator generator = JsonHelper.objectMapper.createGenerator(output)) {
+            generator.writeStartArray();
+            long written = 0;
+            for (long i = 0; written < size; i++) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", i);
+                generator.writeStringField("code", "REC-" + i);
+                generator.writeStringField("name", "Record number " + i);
+                generator.writeNumberField("amount", i * 0.25);
+                generator.writeBooleanField("active", i % 2 == 0);
+                generator.writeObjectFieldStart("address");
+                generator.writeStringField("city", "City " + (i % 100));
+                generator.writeStringField("country", "FR");
+                generator.writeEndObject();
+                generator.writeEndObject();
+                if (i % 10_000 == 0) {
+                    generator.flush();
+                    written = Files.size(input);
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+    }
+
+    @Benchmark
+    public long streaming() throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(input));
+             CountingOutputStream out = new CountingOutputStream()) {
+            JsonHelper.convert(in, JsonHelper.Format.JSON, out, target);
+            return out.count;
+        }
+    }
+
+    @Benchmark
+    public long stringPath() throws IOException {
+        JsonNode document = JsonHelper.jsonToJsonNode(Files.readString(input, StandardCharsets.UTF_8));
+        String result = switch (target) {
+            case CSV -> JsonHelper.jsonToCsv(document);
+            case YAML -> JsonHelper.jsonToYaml(document);
+            // XML has a single root: the records are wrapped as the streaming conversion does
+            case XML -> JsonHelper.xmlMapper.writer().withRootName(JsonStreamConverter.XML_ROOT_NAME)
+                    .writeValueAsString(JsonHelper.objectMapper.createObjectNode()
+                            .set(JsonStreamConverter.XML_RECORD_NAME, document));
+            case JSON -> JsonHelper.toJson(document);
+        };
+        try (CountingOutputStream out = new CountingOutputStream()) {
+            out.write(result.getBytes(StandardCharsets.UTF_8));
+            return out.count;
+        }
+    }
+
+    /**
+     * Discards the output, counting its bytes.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
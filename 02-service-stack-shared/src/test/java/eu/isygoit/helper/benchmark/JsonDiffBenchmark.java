@@ -0,0 +1,85 @@
+package eu.isygoit.helper.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import eu.isygoit.helper.JsonDiff;
+import eu.isygoit.helper.JsonHelper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of state diffs on 1 KB and 100 KB documents: the map comparison the timeline diff used to run
+ * ({@code convertValue} to maps, then a recursive comparison), the JsonNode diff, the JSON Patch diff and its
+ * application. The current state changes one field and one array element of the previous state.
+ * Run with {@code main} from the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonDiffBenchmark {
+
+    @Param({"1", "100"})
+    private int sizeKb;
+
+    private JsonNode previous;
+    private JsonNode current;
+    private ArrayNode patch;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonDiffBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        ObjectNode document = JsonHelper.objectMapper.createObjectNode();
+        document.put("code", "DOC-1");
+        document.put("name", "Benchmark document");
+        document.put("updatedBy", "benchmark");
+        ArrayNode items = document.putArray("items");
+        for (int i = 0; document.toString().length() < sizeKb * 1024; i++) {
+            ObjectNode item = items.addObject();
+            item.put("id", i);
+            item.put("label", "Item number " + i);
+            item.put("quantity", i % 7);
+            item.putObject("price").put("amount", i * 1.5).put("currency", "EUR");
+        }
+        previous = document;
+
+        ObjectNode changed = document.deepCopy();
+        changed.put("name", "Changed document");
+        ((ObjectNode) changed.get("items").get(items.size() / 2)).put("quantity", 42);
+        current = changed;
+        patch = JsonDiff.DEFAULT.diff(previous, current);
+    }
+
+    @Benchmark
+    public boolean mapComparison() {
+        Map<?, ?> previousMap = JsonHelper.objectMapper.convertValue(previous, Map.class);
+        Map<?, ?> currentMap = JsonHelper.objectMapper.convertValue(current, Map.class);
+        return previousMap.equals(currentMap);
+    }
+
+    @Benchmark
+    public ObjectNode computeDiff() {
+        return JsonHelper.computeDiff(previous, current);
+    }
+
+    @Benchmark
+    public ArrayNode jsonPatchDiff() {
+        return JsonDiff.DEFAULT.diff(previous, current);
+    }
+
+    @Benchmark
+    public JsonNode jsonPatchApply() {
+        return JsonDiff.apply(previous, patch);
+    }
+}
@@ -1,5 +1,9 @@
 package eu.isygoit.audit;
 
+import eu.isygoit.converter.encrypt.ColumnCipherEngine;
+import eu.isygoit.converter.encrypt.IEncryptionKeyProvider;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,6 +13,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 /**
  * The type Jpa config.
  */
+@Slf4j
 @Configuration
 @EnableJpaAuditing(auditorAwareRef = "jpa_auditorAware")
 public class JpaConfig {
@@ -16,6 +21,22 @@ public class JpaConfig {
     @Autowired
     private IAuditorAwareService<String> auditorAwareService;
 
+    @Autowired(required = false)
+    private IEncryptionKeyProvider encryptionKeyProvider;
+
+    /**
+     * Registers the application's column encryption key provider with the encryption converters. Without one,
+     * encrypted columns can still be read with the legacy key but writing them fails.
+     */
+    @PostConstruct
+    public void init() {
+        if (encryptionKeyProvider != null) {
+            ColumnCipherEngine.setKeyProvider(encryptionKeyProvider);
+        } else {
+            log.warn("No IEncryptionKeyProvider bean configured: encrypted columns are read-only until one is declared");
+        }
+    }
+
     /**
      * Auditor aware auditor aware.
      *
@@ -0,0 +1,29 @@
+package eu.isygoit.converter;
+
+import eu.isygoit.converter.encrypt.ColumnCipherEngine;
+import eu.isygoit.converter.encrypt.DecryptedValueCache;
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * The type Deterministic encryptor converter.
+ * <p>
+ * Same as {@link EncryptorConverter} but equal values always produce equal ciphertexts under the active key,
+ * so JPQL/criteria equality predicates on the column keep working. It leaks equality between rows:
+ * only use it on columns that are actually searched by value. Values written under a previous key must be
+ * re-encrypted after a rotation to remain searchable.
+ */
+public class DeterministicEncryptorConverter implements AttributeConverter<String, String> {
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return ColumnCipherEngine.encryptDeterministic(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        return DecryptedValueCache.get(dbData, ColumnCipherEngine::decrypt);
+    }
+}
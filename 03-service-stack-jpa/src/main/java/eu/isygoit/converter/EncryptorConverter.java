@@ -1,60 +1,36 @@
 package eu.isygoit.converter;
 
-import eu.isygoit.exception.EncryptionException;
+import eu.isygoit.converter.encrypt.ColumnCipherEngine;
+import eu.isygoit.converter.encrypt.DecryptedValueCache;
 import jakarta.persistence.AttributeConverter;
 
-import javax.crypto.BadPaddingException;
-import javax.crypto.Cipher;
-import javax.crypto.IllegalBlockSizeException;
-import javax.crypto.spec.SecretKeySpec;
-import java.security.InvalidKeyException;
-import java.security.Key;
-import java.util.Base64;
-
 
 /**
  * The type Encryptor converter.
+ * <p>
+ * Encrypts the column with AES-GCM and a random nonce, using the key resolved by the configured
+ * {@link eu.isygoit.converter.encrypt.IEncryptionKeyProvider}. The converter is stateless and thread-safe;
+ * values written by the former AES/ECB implementation are still readable.
+ * Use {@link DeterministicEncryptorConverter} for columns that must support equality lookups.
  */
 //@Component
 public class EncryptorConverter implements AttributeConverter<String, String> {
 
     /*
      Can be used on entity column :
-     //@Convert(converter = EncryptorHelper.class)
-     */
-    private static final String AES = "AES";
-    private static final String SECRET = "secret-key-12345";
-
-    private final Key key;
-    private final Cipher cipher;
-
-    /**
-     * Instantiates a new Encryptor converter.
-     *
-     * @throws Exception the exception
+     //@Convert(converter = EncryptorConverter.class)
      */
-    public EncryptorConverter() throws Exception {
-        key = new SecretKeySpec(SECRET.getBytes(), AES);
-        cipher = Cipher.getInstance(AES);
-    }
 
     @Override
     public String convertToDatabaseColumn(String attribute) {
-        try {
-            cipher.init(Cipher.ENCRYPT_MODE, key);
-            return Base64.getEncoder().encodeToString(cipher.doFinal(attribute.getBytes()));
-        } catch (IllegalBlockSizeException | BadPaddingException | InvalidKeyException e) {
-            throw new EncryptionException("Encryption failed", e);
-        }
+        return ColumnCipherEngine.encrypt(attribute);
     }
 
     @Override
     public String convertToEntityAttribute(String dbData) {
-        try {
-            cipher.init(Cipher.DECRYPT_MODE, key);
-            return new String(cipher.doFinal(Base64.getDecoder().decode(dbData)));
-        } catch (InvalidKeyException | BadPaddingException | IllegalBlockSizeException e) {
-            throw new EncryptionException("Decryption failed", e);
+        if (dbData == null) {
+            return null;
         }
+        return DecryptedValueCache.get(dbData, ColumnCipherEngine::decrypt);
     }
 }
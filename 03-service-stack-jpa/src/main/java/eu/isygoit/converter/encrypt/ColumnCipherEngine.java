@@ -0,0 +1,285 @@
+package eu.isygoit.converter.encrypt;
+
+import eu.isygoit.exception.EncryptionException;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type Column cipher engine.
+ * <p>
+ * AES-GCM column encryption shared by the JPA encryption converters. {@link Cipher} and {@link Mac} instances are
+ * kept per thread, so converters can be used concurrently without locking and without calling
+ * {@code getInstance} per value.
+ * <p>
+ * Stored format: {@code {g1}} followed by Base64 of {@code [keyIdLength][keyId][nonce(12)][ciphertext+tag]}.
+ * Values without a known prefix are treated as legacy AES/ECB ciphertexts and decrypted with the legacy key.
+ * <p>
+ * Encryption requires a key provider registered with {@link #setKeyProvider(IEncryptionKeyProvider)}, there is no
+ * built-in encryption key. The legacy key is only used to decrypt legacy AES/ECB values.
+ * <p>
+ * Deterministic mode ({@code {d1}} prefix) uses a synthetic IV: an HMAC of the plaintext serves both as the AES/CTR IV
+ * and as the authentication tag, so equal plaintexts encrypted with the same key produce equal ciphertexts and the
+ * column can serve equality lookups (see {@link #encryptDeterministic(String)}).
+ */
+@Slf4j
+public final class ColumnCipherEngine {
+
+    /**
+     * The constant PREFIX.
+     */
+    public static final String PREFIX = "{g1}";
+
+    /**
+     * The constant DETERMINISTIC_PREFIX.
+     */
+    public static final String DETERMINISTIC_PREFIX = "{d1}";
+
+    private static final String AES = "AES";
+    private static final String AES_GCM = "AES/GCM/NoPadding";
+    private static final String AES_ECB = "AES";
+    private static final String AES_CTR = "AES/CTR/NoPadding";
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final int NONCE_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+    private static final int SIV_LENGTH = 16;
+    private static final byte[] LEGACY_SECRET = "secret-key-12345".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SIV_KEY_LABEL = "isygoit-deterministic-siv".getBytes(StandardCharsets.UTF_8);
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final ThreadLocal<Cipher> GCM_CIPHER = ThreadLocal.withInitial(() -> newCipher(AES_GCM));
+    private static final ThreadLocal<Cipher> CTR_CIPHER = ThreadLocal.withInitial(() -> newCipher(AES_CTR));
+    private static final ThreadLocal<Cipher> ECB_CIPHER = ThreadLocal.withInitial(() -> newCipher(AES_ECB));
+    private static final ThreadLocal<Mac> HMAC = ThreadLocal.withInitial(ColumnCipherEngine::newMac);
+
+    private static final Map<String, SecretKey> sivKeys = new ConcurrentHashMap<>();
+    private static final SecretKey legacyKey = new SecretKeySpec(LEGACY_SECRET, AES);
+    private static volatile IEncryptionKeyProvider keyProvider;
+
+    private ColumnCipherEngine() {
+    }
+
+    /**
+     * Sets key provider.
+     *
+     * @param provider the provider
+     */
+    public static void setKeyProvider(IEncryptionKeyProvider provider) {
+        keyProvider = Objects.requireNonNull(provider, "Encryption key provider must not be null");
+        sivKeys.clear();
+        log.info("Column encryption key provider set to {} (active key id: {})",
+                provider.getClass().getSimpleName(), provider.getActiveKeyId());
+    }
+
+    /**
+     * Gets key provider.
+     *
+     * @return the key provider, null when none is configured
+     */
+    public static IEncryptionKeyProvider getKeyProvider() {
+        return keyProvider;
+    }
+
+    /**
+     * Remove the key provider: values can still be decrypted with the legacy key, no value can be encrypted.
+     */
+    static void clearKeyProvider() {
+        keyProvider = null;
+        sivKeys.clear();
+    }
+
+    /**
+     * Encrypt with a random nonce.
+     *
+     * @param plainText the plain text
+     * @return the encrypted value, or null if the plain text is null
+     */
+    public static String encrypt(String plainText) {
+        if (plainText == null) {
+            return null;
+        }
+        byte[] nonce = new byte[NONCE_LENGTH];
+        SECURE_RANDOM.nextBytes(nonce);
+        return encrypt(plainText, nonce, activeKeyId());
+    }
+
+    /**
+     * Encrypt deterministically: the same plain text always maps to the same ciphertext under the active key.
+     * Use it for values that are compared with equality in queries.
+     *
+     * @param plainText the plain text
+     * @return the encrypted value, or null if the plain text is null
+     */
+    public static String encryptDeterministic(String plainText) {
+        if (plainText == null) {
+            return null;
+        }
+        String keyId = activeKeyId();
+        try {
+            byte[] keyIdBytes = keyId.getBytes(StandardCharsets.UTF_8);
+            byte[] plain = plainText.getBytes(StandardCharsets.UTF_8);
+            SecretKey key = encryptionKey(keyId);
+            byte[] siv = syntheticIv(keyId, plain);
+            Cipher cipher = CTR_CIPHER.get();
+            cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(siv));
+            ByteBuffer buffer = ByteBuffer.allocate(1 + keyIdBytes.length + SIV_LENGTH + cipher.getOutputSize(plain.length));
+            buffer.put((byte) keyIdBytes.length).put(keyIdBytes).put(siv);
+            cipher.doFinal(ByteBuffer.wrap(plain), buffer);
+            return DETERMINISTIC_PREFIX + Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), buffer.position()));
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Encryption failed", e);
+        }
+    }
+
+    /**
+     * Decrypt a value produced by this engine or by the legacy AES/ECB converter.
+     *
+     * @param dbData the db data
+     * @return the plain text, or null if the db data is null
+     */
+    public static String decrypt(String dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        if (dbData.startsWith(DETERMINISTIC_PREFIX)) {
+            return decryptDeterministic(dbData);
+        }
+        if (!dbData.startsWith(PREFIX)) {
+            return decryptLegacy(dbData);
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(dbData.substring(PREFIX.length())));
+            byte[] keyIdBytes = new byte[buffer.get()];
+            buffer.get(keyIdBytes);
+            String keyId = new String(keyIdBytes, StandardCharsets.UTF_8);
+            byte[] nonce = new byte[NONCE_LENGTH];
+            buffer.get(nonce);
+
+            Cipher cipher = GCM_CIPHER.get();
+            cipher.init(Cipher.DECRYPT_MODE, resolveKey(keyId), new GCMParameterSpec(TAG_LENGTH_BITS, nonce));
+            byte[] plain = cipher.doFinal(buffer.array(), buffer.position(), buffer.remaining());
+            return new String(plain, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            throw new EncryptionException("Decryption failed", e);
+        }
+    }
+
+    private static String decryptDeterministic(String dbData) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(dbData.substring(DETERMINISTIC_PREFIX.length())));
+            byte[] keyIdBytes = new byte[buffer.get()];
+            buffer.get(keyIdBytes);
+            String keyId = new String(keyIdBytes, StandardCharsets.UTF_8);
+            byte[] siv = new byte[SIV_LENGTH];
+            buffer.get(siv);
+
+            Cipher cipher = CTR_CIPHER.get();
+            cipher.init(Cipher.DECRYPT_MODE, resolveKey(keyId), new IvParameterSpec(siv));
+            byte[] plain = cipher.doFinal(buffer.array(), buffer.position(), buffer.remaining());
+            if (!MessageDigest.isEqual(siv, syntheticIv(keyId, plain))) {
+                throw new EncryptionException("Decryption failed: authentication tag mismatch");
+            }
+            return new String(plain, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            throw e instanceof EncryptionException ee ? ee : new EncryptionException("Decryption failed", e);
+        }
+    }
+
+    private static byte[] syntheticIv(String keyId, byte[] plain) throws GeneralSecurityException {
+        Mac mac = HMAC.get();
+        mac.init(sivKeys.computeIfAbsent(keyId, ColumnCipherEngine::deriveSivKey));
+        return Arrays.copyOf(mac.doFinal(plain), SIV_LENGTH);
+    }
+
+    private static String encrypt(String plainText, byte[] nonce, String keyId) {
+        try {
+            byte[] keyIdBytes = keyId.getBytes(StandardCharsets.UTF_8);
+            Cipher cipher = GCM_CIPHER.get();
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey(keyId), new GCMParameterSpec(TAG_LENGTH_BITS, nonce));
+            byte[] plain = plainText.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocate(1 + keyIdBytes.length + NONCE_LENGTH + cipher.getOutputSize(plain.length));
+            buffer.put((byte) keyIdBytes.length).put(keyIdBytes).put(nonce);
+            cipher.doFinal(ByteBuffer.wrap(plain), buffer);
+            return PREFIX + Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), buffer.position()));
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Encryption failed", e);
+        }
+    }
+
+    private static String decryptLegacy(String dbData) {
+        try {
+            Cipher cipher = ECB_CIPHER.get();
+            cipher.init(Cipher.DECRYPT_MODE, legacyKey);
+            return new String(cipher.doFinal(Base64.getDecoder().decode(dbData)), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new EncryptionException("Decryption failed", e);
+        }
+    }
+
+    private static String activeKeyId() {
+        IEncryptionKeyProvider provider = keyProvider;
+        if (provider == null) {
+            throw new EncryptionException("No column encryption key provider configured, "
+                    + "declare an IEncryptionKeyProvider bean to encrypt values");
+        }
+        return provider.getActiveKeyId();
+    }
+
+    private static SecretKey encryptionKey(String keyId) {
+        SecretKey key = keyProvider != null ? keyProvider.getKey(keyId) : null;
+        if (key == null) {
+            throw new EncryptionException("Unknown encryption key id: " + keyId);
+        }
+        return key;
+    }
+
+    private static SecretKey resolveKey(String keyId) {
+        IEncryptionKeyProvider provider = keyProvider;
+        SecretKey key = provider != null ? provider.getKey(keyId) : null;
+        if (key == null) {
+            throw new EncryptionException("Unknown encryption key id: " + keyId);
+        }
+        return key;
+    }
+
+    private static SecretKey deriveSivKey(String keyId) {
+        try {
+            Mac mac = newMac();
+            mac.init(new SecretKeySpec(resolveKey(keyId).getEncoded(), HMAC_SHA256));
+            return new SecretKeySpec(mac.doFinal(SIV_KEY_LABEL), HMAC_SHA256);
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("SIV key derivation failed", e);
+        }
+    }
+
+    private static Cipher newCipher(String transformation) {
+        try {
+            return Cipher.getInstance(transformation);
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Cipher not available: " + transformation, e);
+        }
+    }
+
+    private static Mac newMac() {
+        try {
+            return Mac.getInstance(HMAC_SHA256);
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Mac not available: " + HMAC_SHA256, e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package eu.isygoit.converter.encrypt;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * The type Decrypted value cache.
+ * <p>
+ * Caches decrypted column values for the lifetime of the current transaction, which is the scope of the
+ * transaction-bound persistence context. Loading pages of entities that repeat the same encrypted values
+ * (or reloading them within the same transaction) then decrypts each distinct value once.
+ * Outside a transaction values are decrypted on every call.
+ */
+public final class DecryptedValueCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private DecryptedValueCache() {
+    }
+
+    /**
+     * Get the decrypted value, computing it on a cache miss.
+     *
+     * @param dbData    the db data
+     * @param decryptor the decryptor
+     * @return the decrypted value
+     */
+    public static String get(String dbData, UnaryOperator<String> decryptor) {
+        Map<String, String> cache = currentCache();
+        if (cache == null) {
+            return decryptor.apply(dbData);
+        }
+        String value = cache.get(dbData);
+        if (value == null) {
+            value = decryptor.apply(dbData);
+            if (cache.size() < MAX_ENTRIES) {
+                cache.put(dbData, value);
+            }
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> currentCache() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<String, String> cache = (Map<String, String>) TransactionSynchronizationManager.getResource(DecryptedValueCache.class);
+        if (cache == null) {
+            cache = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(DecryptedValueCache.class, cache);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DecryptedValueCache.class);
+                }
+            });
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,27 @@
+package eu.isygoit.converter.encrypt;
+
+import javax.crypto.SecretKey;
+
+/**
+ * The interface Encryption key provider.
+ * <p>
+ * Resolves the column encryption keys by identifier. The active key id is written alongside every
+ * ciphertext, so previously written values stay readable after a rotation as long as their key is still provided.
+ */
+public interface IEncryptionKeyProvider {
+
+    /**
+     * Gets the key id used to encrypt new values.
+     *
+     * @return the active key id
+     */
+    String getActiveKeyId();
+
+    /**
+     * Gets key by id.
+     *
+     * @param keyId the key id
+     * @return the key, or null if unknown
+     */
+    SecretKey getKey(String keyId);
+}
@@ -0,0 +1,84 @@
+package eu.isygoit.converter.encrypt;
+
+import eu.isygoit.exception.EncryptionException;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type Static encryption key provider.
+ * <p>
+ * In-memory key ring supporting rotation: register the new key with {@link #addKey(String, byte[])}, then
+ * switch writes to it with {@link #setActiveKeyId(String)}. Old keys remain available for decryption until removed.
+ */
+public class StaticEncryptionKeyProvider implements IEncryptionKeyProvider {
+
+    private static final String AES = "AES";
+
+    private final Map<String, SecretKey> keys = new ConcurrentHashMap<>();
+    private volatile String activeKeyId;
+
+    /**
+     * Instantiates a new Static encryption key provider.
+     *
+     * @param activeKeyId the active key id
+     * @param keyBytes    the active key bytes (16, 24 or 32 bytes)
+     */
+    public StaticEncryptionKeyProvider(String activeKeyId, byte[] keyBytes) {
+        addKey(activeKeyId, keyBytes);
+        this.activeKeyId = activeKeyId;
+    }
+
+    /**
+     * Add key.
+     *
+     * @param keyId    the key id
+     * @param keyBytes the key bytes (16, 24 or 32 bytes)
+     */
+    public void addKey(String keyId, byte[] keyBytes) {
+        if (!StringUtils.hasText(keyId) || keyId.length() > Byte.MAX_VALUE) {
+            throw new EncryptionException("Invalid encryption key id: " + keyId);
+        }
+        if (keyBytes == null || (keyBytes.length != 16 && keyBytes.length != 24 && keyBytes.length != 32)) {
+            throw new EncryptionException("Invalid AES key length for key id: " + keyId);
+        }
+        keys.put(keyId, new SecretKeySpec(keyBytes, AES));
+    }
+
+    /**
+     * Remove key.
+     *
+     * @param keyId the key id
+     */
+    public void removeKey(String keyId) {
+        if (keyId.equals(activeKeyId)) {
+            throw new EncryptionException("Cannot remove the active encryption key: " + keyId);
+        }
+        keys.remove(keyId);
+    }
+
+    /**
+     * Sets active key id.
+     *
+     * @param keyId the key id
+     */
+    public void setActiveKeyId(String keyId) {
+        if (!keys.containsKey(keyId)) {
+            throw new EncryptionException("Unknown encryption key id: " + keyId);
+        }
+        this.activeKeyId = keyId;
+    }
+
+    @Override
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    @Override
+    public SecretKey getKey(String keyId) {
+        return keys.get(keyId);
+    }
+}
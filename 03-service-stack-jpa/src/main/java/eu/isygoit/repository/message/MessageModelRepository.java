@@ -7,6 +7,7 @@ import eu.isygoit.repository.JpaPagingAndSortingRepository;
 import org.springframework.data.repository.NoRepositoryBean;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -28,4 +29,12 @@ public interface MessageModelRepository<T extends LocaleMessageModel<I> & IIdAss
      * @return the optional
      */
     Optional<LocaleMessageModel> findByCodeIgnoreCaseAndLocale(String code, String locale);
+
+    /**
+     * Find all the messages of a locale, in one query.
+     *
+     * @param locale the locale
+     * @return the list
+     */
+    List<LocaleMessageModel> findByLocale(String locale);
 }
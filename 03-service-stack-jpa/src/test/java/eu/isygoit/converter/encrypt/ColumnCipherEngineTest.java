@@ -0,0 +1,130 @@
+package eu.isygoit.converter.encrypt;
+
+import eu.isygoit.exception.EncryptionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ColumnCipherEngine Test Suite")
+class ColumnCipherEngineTest {
+
+    private static final byte[] LEGACY_SECRET = "secret-key-12345".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TEST_SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    @BeforeEach
+    void setUp() {
+        ColumnCipherEngine.setKeyProvider(new StaticEncryptionKeyProvider("test", TEST_SECRET));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ColumnCipherEngine.clearKeyProvider();
+    }
+
+    @Test
+    @DisplayName("Randomized encryption produces distinct ciphertexts that decrypt to the same value")
+    void testEncryptRoundTrip() {
+        String first = ColumnCipherEngine.encrypt("john.doe@isygoit.eu");
+        String second = ColumnCipherEngine.encrypt("john.doe@isygoit.eu");
+
+        assertTrue(first.startsWith(ColumnCipherEngine.PREFIX));
+        assertNotEquals(first, second);
+        assertEquals("john.doe@isygoit.eu", ColumnCipherEngine.decrypt(first));
+        assertEquals("john.doe@isygoit.eu", ColumnCipherEngine.decrypt(second));
+    }
+
+    @Test
+    @DisplayName("Deterministic encryption produces equal ciphertexts for equal values")
+    void testEncryptDeterministic() {
+        String first = ColumnCipherEngine.encryptDeterministic("FR7630006000011234567890189");
+        String second = ColumnCipherEngine.encryptDeterministic("FR7630006000011234567890189");
+
+        assertTrue(first.startsWith(ColumnCipherEngine.DETERMINISTIC_PREFIX));
+        assertEquals(first, second);
+        assertNotEquals(first, ColumnCipherEngine.encryptDeterministic("FR7630006000011234567890190"));
+        assertEquals("FR7630006000011234567890189", ColumnCipherEngine.decrypt(first));
+    }
+
+    @Test
+    @DisplayName("Tampered ciphertexts are rejected")
+    void testTamperedValueRejected() {
+        String encrypted = ColumnCipherEngine.encryptDeterministic("value");
+        byte[] raw = Base64.getDecoder().decode(encrypted.substring(ColumnCipherEngine.DETERMINISTIC_PREFIX.length()));
+        raw[raw.length - 1] ^= 1;
+        String tampered = ColumnCipherEngine.DETERMINISTIC_PREFIX + Base64.getEncoder().encodeToString(raw);
+
+        assertThrows(EncryptionException.class, () -> ColumnCipherEngine.decrypt(tampered));
+    }
+
+    @Test
+    @DisplayName("Values written by the legacy AES/ECB converter remain readable")
+    void testDecryptLegacy() throws Exception {
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(LEGACY_SECRET, "AES"));
+        String legacy = Base64.getEncoder().encodeToString(cipher.doFinal("legacy".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("legacy", ColumnCipherEngine.decrypt(legacy));
+    }
+
+    @Test
+    @DisplayName("Without a key provider values cannot be encrypted")
+    void testEncryptWithoutKeyProviderRejected() {
+        ColumnCipherEngine.clearKeyProvider();
+
+        assertThrows(EncryptionException.class, () -> ColumnCipherEngine.encrypt("value"));
+        assertThrows(EncryptionException.class, () -> ColumnCipherEngine.encryptDeterministic("value"));
+    }
+
+    @Test
+    @DisplayName("Values written before a key rotation remain readable")
+    void testKeyRotation() {
+        String beforeRotation = ColumnCipherEngine.encrypt("before");
+
+        StaticEncryptionKeyProvider provider = new StaticEncryptionKeyProvider("test", TEST_SECRET);
+        provider.addKey("2026-10", new byte[32]);
+        provider.setActiveKeyId("2026-10");
+        ColumnCipherEngine.setKeyProvider(provider);
+
+        String afterRotation = ColumnCipherEngine.encrypt("after");
+        assertEquals("before", ColumnCipherEngine.decrypt(beforeRotation));
+        assertEquals("after", ColumnCipherEngine.decrypt(afterRotation));
+
+        provider.setActiveKeyId("test");
+        provider.removeKey("2026-10");
+        assertThrows(EncryptionException.class, () -> ColumnCipherEngine.decrypt(afterRotation));
+    }
+
+    @Test
+    @DisplayName("Concurrent encryption and decryption is thread-safe")
+    void testConcurrentUse() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> tasks = IntStream.range(0, 2_000)
+                    .<Callable<Boolean>>mapToObj(i -> () -> {
+                        String value = "value-" + i;
+                        return value.equals(ColumnCipherEngine.decrypt(ColumnCipherEngine.encrypt(value)))
+                                && value.equals(ColumnCipherEngine.decrypt(ColumnCipherEngine.encryptDeterministic(value)));
+                    })
+                    .toList();
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
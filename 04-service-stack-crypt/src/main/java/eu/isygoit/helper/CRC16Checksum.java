@@ -0,0 +1,65 @@
+package eu.isygoit.helper;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Checksum;
+
+/**
+ * Table-driven CRC-16-CCITT checksum (polynomial 0x1021, initial value 0x0000, no reflection).
+ * <p>
+ * Produces the same values as {@link CRC16Helper#calculate(byte[])} and can be fed incrementally, so it works
+ * with {@link java.util.zip.CheckedInputStream} and {@link ChecksumHelper}. Not thread-safe.
+ */
+public class CRC16Checksum implements Checksum {
+
+    private static final int[] TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i << 8;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ CRC16Helper.POLYNOMIAL : crc << 1;
+            }
+            TABLE[i] = crc & 0xFFFF;
+        }
+    }
+
+    private int crc = CRC16Helper.INITIAL_VALUE;
+
+    @Override
+    public void update(int b) {
+        crc = ((crc << 8) ^ TABLE[((crc >>> 8) ^ b) & 0xFF]) & 0xFFFF;
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        int c = crc;
+        for (int i = off, end = off + len; i < end; i++) {
+            c = ((c << 8) ^ TABLE[((c >>> 8) ^ b[i]) & 0xFF]) & 0xFFFF;
+        }
+        crc = c;
+    }
+
+    @Override
+    public void update(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+        } else {
+            int c = crc;
+            while (buffer.hasRemaining()) {
+                c = ((c << 8) ^ TABLE[((c >>> 8) ^ buffer.get()) & 0xFF]) & 0xFFFF;
+            }
+            crc = c;
+        }
+    }
+
+    @Override
+    public long getValue() {
+        return crc;
+    }
+
+    @Override
+    public void reset() {
+        crc = CRC16Helper.INITIAL_VALUE;
+    }
+}
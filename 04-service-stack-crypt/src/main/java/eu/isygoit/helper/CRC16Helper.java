@@ -5,10 +5,11 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.HexFormat;
 import java.util.Optional;
-import java.util.stream.IntStream;
 
 /**
  * Utility class for calculating CRC-16 checksums.
@@ -31,22 +32,14 @@ public interface CRC16Helper {
      * @return The computed CRC-16 checksum.
      */
     public static long calculate(byte[] bytes) {
-        logger.info("Calculating CRC-16 for {} bytes", bytes.length);
-
-        // Initialize CRC value
-        var crc = INITIAL_VALUE;
-
-        // Process each byte in the input array
-        for (var b : bytes) {
-            // Process each bit (8 bits per byte)
-            crc = IntStream.range(0, 8).reduce(crc, (c, i) -> {
-                var bit = ((b >> (7 - i)) & 1) == 1;  // Extract the current bit
-                var c15 = ((c >> 15) & 1) == 1;      // Extract the MSB of CRC
-                return ((c << 1) ^ (c15 ^ bit ? POLYNOMIAL : 0)) & 0xFFFF;
-            });
-        }
+        logger.debug("Calculating CRC-16 for {} bytes", bytes.length);
+
+        // Table-driven computation, one lookup per byte
+        var checksum = new CRC16Checksum();
+        checksum.update(bytes, 0, bytes.length);
 
-        logger.info("CRC-16 calculation complete: {}", toHex(crc));
+        var crc = checksum.getValue();
+        logger.debug("CRC-16 calculation complete: {}", toHex(crc));
         return crc;
     }
 
@@ -63,19 +56,39 @@ public interface CRC16Helper {
             return Optional.empty();
         }
 
-        logger.info("Reading file: {}", inputFile.getAbsolutePath());
-
-        return Optional.ofNullable(inputFile)
-                .map(file -> {
-                    try {
-                        var bytes = Files.readAllBytes(file.toPath());
-                        logger.info("File read successfully ({} bytes)", bytes.length);
-                        return calculate(bytes);
-                    } catch (IOException e) {
-                        logger.error("Failed to read file: {}", file.getAbsolutePath(), e);
-                        return null;
-                    }
-                });
+        logger.debug("Reading file: {}", inputFile.getAbsolutePath());
+
+        // Streamed through a FileChannel: the file is never fully loaded in memory
+        try (var channel = FileChannel.open(inputFile.toPath(), StandardOpenOption.READ)) {
+            return Optional.of(calculate(channel));
+        } catch (IOException e) {
+            logger.error("Failed to read file: {}", inputFile.getAbsolutePath(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Computes the CRC-16 checksum of the remaining content of an input stream.
+     * The stream is not closed.
+     *
+     * @param inputStream The input stream.
+     * @return The computed CRC-16 checksum.
+     * @throws IOException if the stream cannot be read.
+     */
+    public static long calculate(InputStream inputStream) throws IOException {
+        return ChecksumHelper.update(new CRC16Checksum(), inputStream);
+    }
+
+    /**
+     * Computes the CRC-16 checksum of a channel, from its current position to the end.
+     * The channel is not closed.
+     *
+     * @param channel The file channel.
+     * @return The computed CRC-16 checksum.
+     * @throws IOException if the channel cannot be read.
+     */
+    public static long calculate(FileChannel channel) throws IOException {
+        return ChecksumHelper.update(new CRC16Checksum(), channel);
     }
 
     /**
@@ -0,0 +1,121 @@
+package eu.isygoit.helper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Utility class for calculating CRC-32C (Castagnoli) checksums.
+ * Uses Java's built-in CRC32C implementation, which the JIT maps to hardware CRC instructions where available.
+ * Prefer it over CRC-32 for new integrity checks on large payloads.
+ */
+public interface CRC32CHelper {
+
+    Logger logger = LoggerFactory.getLogger(CRC32CHelper.class);
+
+    /**
+     * Computes the CRC-32C checksum of a byte array.
+     *
+     * @param bytes The input byte array.
+     * @return The computed CRC-32C checksum.
+     */
+    public static long calculate(byte[] bytes) {
+        logger.debug("Calculating CRC-32C for {} bytes", bytes.length);
+
+        var crc32 = new CRC32C();
+        crc32.update(bytes);
+
+        var crc = crc32.getValue();
+        logger.debug("CRC-32C calculation complete: {}", toHex(crc));
+
+        return crc;
+    }
+
+    /**
+     * Computes the CRC-32C checksum of a file.
+     * Uses a file channel to efficiently read large files.
+     *
+     * @param inputFile The file to process.
+     * @return Optional containing the CRC-32C checksum, or empty if an error occurs.
+     */
+    public static Optional<Long> calculate(File inputFile) {
+        if (inputFile == null || !inputFile.exists()) {
+            logger.error("File not found: {}", inputFile);
+            return Optional.empty();
+        }
+
+        logger.debug("Reading file: {}", inputFile.getAbsolutePath());
+
+        try (var channel = FileChannel.open(inputFile.toPath(), StandardOpenOption.READ)) {
+            var crc = calculate(channel);
+            logger.debug("File CRC-32C calculation complete: {}", toHex(crc));
+            return Optional.of(crc);
+
+        } catch (IOException e) {
+            logger.error("Failed to read file: {}", inputFile.getAbsolutePath(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Computes the CRC-32C checksum of the remaining content of an input stream.
+     * The stream is not closed.
+     *
+     * @param inputStream The input stream.
+     * @return The computed CRC-32C checksum.
+     * @throws IOException if the stream cannot be read.
+     */
+    public static long calculate(InputStream inputStream) throws IOException {
+        return ChecksumHelper.update(new CRC32C(), inputStream);
+    }
+
+    /**
+     * Computes the CRC-32C checksum of a channel, from its current position to the end.
+     * The channel is not closed.
+     *
+     * @param channel The file channel.
+     * @return The computed CRC-32C checksum.
+     * @throws IOException if the channel cannot be read.
+     */
+    public static long calculate(FileChannel channel) throws IOException {
+        return ChecksumHelper.update(new CRC32C(), channel);
+    }
+
+    /**
+     * Converts the CRC-32C checksum to a hexadecimal string.
+     *
+     * @param crc The computed CRC-32C checksum.
+     * @return The hexadecimal representation of the checksum.
+     */
+    public static String toHex(long crc) {
+        return HexFormat.of().toHexDigits(crc);
+    }
+
+    /**
+     * Computes CRC-32C checksum and returns an object containing both decimal and hexadecimal values.
+     *
+     * @param bytes The byte array to compute.
+     * @return A CRC32CResult object containing both integer and hex representation.
+     */
+    public static CRC32CResult compute(byte[] bytes) {
+        var crc = calculate(bytes);
+        return new CRC32CResult(crc, toHex(crc));
+    }
+
+    /**
+     * Represents a CRC-32C result containing both decimal and hexadecimal values.
+     *
+     * @param crc The CRC-32C checksum as a long integer.
+     * @param hex The CRC-32C checksum as a hexadecimal string.
+     */
+    public record CRC32CResult(long crc, String hex) {
+    }
+}
\ No newline at end of file
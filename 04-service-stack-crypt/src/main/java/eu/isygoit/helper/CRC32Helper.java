@@ -4,12 +4,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.HexFormat;
 import java.util.Optional;
 import java.util.zip.CRC32;
-import java.util.zip.CheckedInputStream;
 
 /**
  * Utility class for calculating CRC-32 checksums.
@@ -26,20 +27,20 @@ public interface CRC32Helper {
      * @return The computed CRC-32 checksum.
      */
     public static long calculate(byte[] bytes) {
-        logger.info("Calculating CRC-32 for {} bytes", bytes.length);
+        logger.debug("Calculating CRC-32 for {} bytes", bytes.length);
 
         var crc32 = new CRC32();
         crc32.update(bytes);
 
         var crc = crc32.getValue();
-        logger.info("CRC-32 calculation complete: {}", toHex(crc));
+        logger.debug("CRC-32 calculation complete: {}", toHex(crc));
 
         return crc;
     }
 
     /**
      * Computes the CRC-32 checksum of a file.
-     * Uses a stream to efficiently read large files.
+     * Uses a file channel to efficiently read large files.
      *
      * @param inputFile The file to process.
      * @return Optional containing the CRC-32 checksum, or empty if an error occurs.
@@ -50,18 +51,11 @@ public interface CRC32Helper {
             return Optional.empty();
         }
 
-        logger.info("Reading file: {}", inputFile.getAbsolutePath());
+        logger.debug("Reading file: {}", inputFile.getAbsolutePath());
 
-        try (var fis = new FileInputStream(inputFile);
-             var cis = new CheckedInputStream(fis, new CRC32())) {
-
-            var buffer = new byte[8192]; // Efficient buffer size
-            while (cis.read(buffer) != -1) {
-                // Stream automatically updates checksum
-            }
-
-            var crc = cis.getChecksum().getValue();
-            logger.info("File CRC-32 calculation complete: {}", toHex(crc));
+        try (var channel = FileChannel.open(inputFile.toPath(), StandardOpenOption.READ)) {
+            var crc = calculate(channel);
+            logger.debug("File CRC-32 calculation complete: {}", toHex(crc));
             return Optional.of(crc);
 
         } catch (IOException e) {
@@ -70,6 +64,30 @@ public interface CRC32Helper {
         }
     }
 
+    /**
+     * Computes the CRC-32 checksum of the remaining content of an input stream.
+     * The stream is not closed.
+     *
+     * @param inputStream The input stream.
+     * @return The computed CRC-32 checksum.
+     * @throws IOException if the stream cannot be read.
+     */
+    public static long calculate(InputStream inputStream) throws IOException {
+        return ChecksumHelper.update(new CRC32(), inputStream);
+    }
+
+    /**
+     * Computes the CRC-32 checksum of a channel, from its current position to the end.
+     * The channel is not closed.
+     *
+     * @param channel The file channel.
+     * @return The computed CRC-32 checksum.
+     * @throws IOException if the channel cannot be read.
+     */
+    public static long calculate(FileChannel channel) throws IOException {
+        return ChecksumHelper.update(new CRC32(), channel);
+    }
+
     /**
      * Converts the CRC-32 checksum to a hexadecimal string.
      *
@@ -0,0 +1,105 @@
+package eu.isygoit.helper;
+
+import javax.crypto.Mac;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.Checksum;
+
+/**
+ * Streaming helpers feeding {@link Checksum} and {@link Mac} instances from streams and channels.
+ * <p>
+ * Read buffers are reused per thread: a heap buffer for {@link InputStream}s and a direct buffer for
+ * {@link FileChannel}s, so large inputs are processed in constant memory and without per-call allocation.
+ */
+public interface ChecksumHelper {
+
+    /**
+     * The constant BUFFER_SIZE.
+     */
+    int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Feed the checksum with the remaining content of the input stream. The stream is not closed.
+     *
+     * @param checksum    the checksum
+     * @param inputStream the input stream
+     * @return the checksum value
+     * @throws IOException the io exception
+     */
+    static long update(Checksum checksum, InputStream inputStream) throws IOException {
+        var buffer = Buffers.HEAP.get();
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            checksum.update(buffer, 0, read);
+        }
+        return checksum.getValue();
+    }
+
+    /**
+     * Feed the checksum with the channel content from its current position to the end. The channel is not closed.
+     *
+     * @param checksum the checksum
+     * @param channel  the channel
+     * @return the checksum value
+     * @throws IOException the io exception
+     */
+    static long update(Checksum checksum, FileChannel channel) throws IOException {
+        var buffer = Buffers.DIRECT.get();
+        buffer.clear();
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            checksum.update(buffer);
+            buffer.clear();
+        }
+        return checksum.getValue();
+    }
+
+    /**
+     * Feed the mac with the remaining content of the input stream. The stream is not closed.
+     *
+     * @param mac         the mac
+     * @param inputStream the input stream
+     * @return the mac result
+     * @throws IOException the io exception
+     */
+    static byte[] update(Mac mac, InputStream inputStream) throws IOException {
+        var buffer = Buffers.HEAP.get();
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            mac.update(buffer, 0, read);
+        }
+        return mac.doFinal();
+    }
+
+    /**
+     * Feed the mac with the channel content from its current position to the end. The channel is not closed.
+     *
+     * @param mac     the mac
+     * @param channel the channel
+     * @return the mac result
+     * @throws IOException the io exception
+     */
+    static byte[] update(Mac mac, FileChannel channel) throws IOException {
+        var buffer = Buffers.DIRECT.get();
+        buffer.clear();
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            mac.update(buffer);
+            buffer.clear();
+        }
+        return mac.doFinal();
+    }
+
+    /**
+     * Per-thread read buffers.
+     */
+    final class Buffers {
+        private static final ThreadLocal<byte[]> HEAP = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+        private static final ThreadLocal<ByteBuffer> DIRECT = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+        private Buffers() {
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package eu.isygoit.helper;
 
+import eu.isygoit.exception.EncryptionException;
 import lombok.extern.slf4j.Slf4j;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
+import java.security.MessageDigest;
 import java.util.Base64;
 
 /**
  * Utility class for HMAC (Hash-based Message Authentication Code) operations.
+ * <p>
+ * Mac instances are taken from {@link MacPool}, so repeated calls on the same thread neither look up the provider
+ * nor rebuild the key spec.
  */
 @Slf4j
 public class HmacHelper {
@@ -26,12 +31,9 @@ public class HmacHelper {
      */
     public static String generateHmac(String message, String secret) {
         try {
-            Mac sha256Hmac = Mac.getInstance(HMAC_SHA256);
-            SecretKeySpec secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_SHA256);
-            sha256Hmac.init(secretKey);
-            byte[] hash = sha256Hmac.doFinal(message.getBytes(StandardCharsets.UTF_8));
+            byte[] hash = MacPool.forSecret(HMAC_SHA256, secret).doFinal(message.getBytes(StandardCharsets.UTF_8));
             return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+        } catch (EncryptionException e) {
             log.error("Error generating HMAC signature", e);
             return null;
         }
@@ -50,6 +52,50 @@ public class HmacHelper {
             return false;
         }
         String generated = generateHmac(message, secret);
-        return signature.equals(generated);
+        // Constant-time comparison to avoid leaking the signature through timing
+        return generated != null && MessageDigest.isEqual(
+                signature.getBytes(StandardCharsets.UTF_8), generated.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Generates an HMAC for a byte buffer with a key registered in {@link MacPool}.
+     *
+     * @param algorithm the algorithm (e.g. HmacSHA256)
+     * @param keyId     the key id
+     * @param buffer    the buffer, consumed up to its limit
+     * @return the raw signature
+     */
+    public static byte[] generateHmac(String algorithm, String keyId, ByteBuffer buffer) {
+        var mac = MacPool.get(algorithm, keyId);
+        mac.update(buffer);
+        return mac.doFinal();
+    }
+
+    /**
+     * Generates an HMAC for the remaining content of an input stream with a key registered in {@link MacPool}.
+     * The stream is not closed.
+     *
+     * @param algorithm   the algorithm (e.g. HmacSHA256)
+     * @param keyId       the key id
+     * @param inputStream the input stream
+     * @return the raw signature
+     * @throws IOException the io exception
+     */
+    public static byte[] generateHmac(String algorithm, String keyId, InputStream inputStream) throws IOException {
+        return ChecksumHelper.update(MacPool.get(algorithm, keyId), inputStream);
+    }
+
+    /**
+     * Generates an HMAC for a file channel, from its current position to the end, with a key registered in
+     * {@link MacPool}. The channel is not closed.
+     *
+     * @param algorithm the algorithm (e.g. HmacSHA256)
+     * @param keyId     the key id
+     * @param channel   the channel
+     * @return the raw signature
+     * @throws IOException the io exception
+     */
+    public static byte[] generateHmac(String algorithm, String keyId, FileChannel channel) throws IOException {
+        return ChecksumHelper.update(MacPool.get(algorithm, keyId), channel);
     }
 }
@@ -0,0 +1,134 @@
+package eu.isygoit.helper;
+
+import eu.isygoit.exception.EncryptionException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-local pool of initialized {@link Mac} instances.
+ * <p>
+ * {@code Mac.getInstance} and {@code Mac.init} are done once per thread and per (algorithm, key id); callers get back a
+ * reset, ready-to-use instance. Re-registering a key id (rotation) is picked up on the next {@link #get} call.
+ * Instances must not escape the calling thread.
+ */
+public final class MacPool {
+
+    private static final int MAX_SECRETS_PER_THREAD = 32;
+
+    private static final Map<String, byte[]> keys = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<Map<PoolKey, PooledMac>> byKeyId = ThreadLocal.withInitial(HashMap::new);
+
+    private static final ThreadLocal<Map<PoolKey, Mac>> bySecret = ThreadLocal.withInitial(() ->
+            new LinkedHashMap<>(MAX_SECRETS_PER_THREAD, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<PoolKey, Mac> eldest) {
+                    return size() > MAX_SECRETS_PER_THREAD;
+                }
+            });
+
+    private MacPool() {
+    }
+
+    /**
+     * Register (or replace) the secret behind a key id.
+     *
+     * @param keyId  the key id
+     * @param secret the secret
+     */
+    public static void registerKey(String keyId, byte[] secret) {
+        Objects.requireNonNull(keyId, "keyId must not be null");
+        Objects.requireNonNull(secret, "secret must not be null");
+        keys.put(keyId, secret.clone());
+    }
+
+    /**
+     * Remove key.
+     *
+     * @param keyId the key id
+     */
+    public static void removeKey(String keyId) {
+        keys.remove(keyId);
+    }
+
+    /**
+     * Is key registered.
+     *
+     * @param keyId the key id
+     * @return true if the key id is registered
+     */
+    public static boolean hasKey(String keyId) {
+        return keys.containsKey(keyId);
+    }
+
+    /**
+     * Get an initialized, reset Mac for a registered key id.
+     *
+     * @param algorithm the algorithm (e.g. HmacSHA256)
+     * @param keyId     the key id
+     * @return the mac
+     */
+    public static Mac get(String algorithm, String keyId) {
+        byte[] secret = keys.get(keyId);
+        if (secret == null) {
+            throw new EncryptionException("Unknown MAC key id: " + keyId);
+        }
+        PoolKey poolKey = new PoolKey(algorithm, keyId);
+        Map<PoolKey, PooledMac> pool = byKeyId.get();
+        PooledMac pooled = pool.get(poolKey);
+        // Identity check: a re-registered key id holds a new array and must re-initialize the Mac
+        if (pooled == null || pooled.secret() != secret) {
+            pooled = new PooledMac(newMac(algorithm, secret), secret);
+            pool.put(poolKey, pooled);
+        } else {
+            pooled.mac().reset();
+        }
+        return pooled.mac();
+    }
+
+    /**
+     * Get an initialized, reset Mac for an ad-hoc secret. The most recently used secrets are kept per thread,
+     * so repeated calls with the same secret avoid re-initialization.
+     *
+     * @param algorithm the algorithm (e.g. HmacSHA256)
+     * @param secret    the secret
+     * @return the mac
+     */
+    public static Mac forSecret(String algorithm, String secret) {
+        Objects.requireNonNull(secret, "secret must not be null");
+        Map<PoolKey, Mac> pool = bySecret.get();
+        PoolKey poolKey = new PoolKey(algorithm, secret);
+        Mac mac = pool.get(poolKey);
+        if (mac == null) {
+            mac = newMac(algorithm, secret.getBytes(StandardCharsets.UTF_8));
+            pool.put(poolKey, mac);
+        } else {
+            mac.reset();
+        }
+        return mac;
+    }
+
+    private static Mac newMac(String algorithm, byte[] secret) {
+        try {
+            Mac mac = Mac.getInstance(algorithm);
+            mac.init(new SecretKeySpec(secret, algorithm));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Unable to initialize " + algorithm, e);
+        }
+    }
+
+    private record PoolKey(String algorithm, String key) {
+    }
+
+    private record PooledMac(Mac mac, byte[] secret) {
+    }
+}
@@ -0,0 +1,74 @@
+package eu.isygoit.helper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The type Crc 32 c test.
+ */
+class CRC32CTest {
+
+    /**
+     * Test calculate byte array.
+     */
+    @Test
+    void testCalculateByteArray() {
+        // Standard CRC-32C check value for "123456789"
+        assertEquals(0xE3069283L, CRC32CHelper.calculate("123456789".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * Streamed checksums must match the byte array ones, including inputs larger than the read buffer.
+     *
+     * @param tempDir the temp dir
+     * @throws IOException the io exception
+     */
+    @Test
+    void testStreamingMatchesByteArray(@TempDir File tempDir) throws IOException {
+        var data = new byte[ChecksumHelper.BUFFER_SIZE * 3 + 17];
+        new Random(42).nextBytes(data);
+        var file = new File(tempDir, "data.bin");
+        Files.write(file.toPath(), data);
+
+        assertEquals(CRC32CHelper.calculate(data), CRC32CHelper.calculate(new ByteArrayInputStream(data)));
+        assertEquals(CRC32Helper.calculate(data), CRC32Helper.calculate(new ByteArrayInputStream(data)));
+        assertEquals(CRC16Helper.calculate(data), CRC16Helper.calculate(new ByteArrayInputStream(data)));
+        try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            assertEquals(CRC32CHelper.calculate(data), CRC32CHelper.calculate(channel));
+        }
+        assertEquals(CRC16Helper.calculate(data), CRC16Helper.calculate(file).get());
+    }
+
+    /**
+     * Pooled HMAC over a stream must match the String based HMAC.
+     *
+     * @throws IOException the io exception
+     */
+    @Test
+    void testStreamingHmac() throws IOException {
+        MacPool.registerKey("test-key", "secret".getBytes(StandardCharsets.UTF_8));
+        var expected = HmacHelper.generateHmac("message", "secret");
+
+        var streamed = HmacHelper.generateHmac("HmacSHA256", "test-key",
+                new ByteArrayInputStream("message".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(expected, Base64.getEncoder().encodeToString(streamed));
+
+        // Rotating the key id must be picked up by the pooled instance
+        MacPool.registerKey("test-key", "other".getBytes(StandardCharsets.UTF_8));
+        var rotated = HmacHelper.generateHmac("HmacSHA256", "test-key",
+                new ByteArrayInputStream("message".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(HmacHelper.generateHmac("message", "other"), Base64.getEncoder().encodeToString(rotated));
+    }
+}
@@ -1,16 +1,19 @@
 package eu.isygoit.com.rest.controller.impl.media;
 
 import eu.isygoit.com.rest.api.IMappedFileApi;
+import eu.isygoit.com.rest.api.IMappedFileDirectTransferApi;
 import eu.isygoit.com.rest.controller.ResponseFactory;
 import eu.isygoit.com.rest.controller.impl.CrudControllerOperations;
 import eu.isygoit.com.rest.service.ICrudServiceHooks;
 import eu.isygoit.com.rest.service.ICrudServiceOperations;
 import eu.isygoit.com.rest.service.ICrudServiceUtils;
+import eu.isygoit.com.rest.service.media.FileServingEngine;
 import eu.isygoit.com.rest.service.media.IFileServiceOperations;
 import eu.isygoit.dto.IDto;
 import eu.isygoit.dto.IFileUploadDto;
 import eu.isygoit.dto.IIdAssignableDto;
 import eu.isygoit.dto.ITenantAssignableDto;
+import eu.isygoit.dto.common.PresignedTransferDto;
 import eu.isygoit.model.IFileEntity;
 import eu.isygoit.model.IIdAssignable;
 import jakarta.validation.Valid;
@@ -23,6 +26,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.net.URI;
 import java.nio.file.Files;
 
 /**
@@ -40,7 +44,7 @@ public abstract class MappedFileController<
                 & ICrudServiceHooks<I, T>
                 & ICrudServiceUtils<I, T>>
         extends CrudControllerOperations<I, T, M, F, S>
-        implements IMappedFileApi<I, F> {
+        implements IMappedFileApi<I, F>, IMappedFileDirectTransferApi<I, F> {
 
 
     @Override
@@ -64,6 +68,11 @@ public abstract class MappedFileController<
         log.debug("Downloading file for entityId: {}, version: {} for tenant {}", id, version, senderTenant);
         try {
             var resource = crudService().downloadFile(senderTenant, id, version);
+            if (FileServingEngine.serveCurrentRequest(resource)) {
+                // Written with range and conditional request support
+                log.info("Successfully served file: {} for entityId: {}, version: {}", resource.getOriginalFileName(), id, version);
+                return null;
+            }
             if (resource != null && resource.getResource() != null) {
                 var file = resource.getResource().getFile();
                 var contentType = Files.probeContentType(file.toPath());
@@ -82,6 +91,63 @@ public abstract class MappedFileController<
         }
     }
 
+    @Override
+    public ResponseEntity<PresignedTransferDto> getDownloadUrl(I id, Long version) {
+        String senderTenant = requestContextService().getCurrentContext().getSenderTenant();
+        log.debug("Presigning download for entityId: {}, version: {} for tenant {}", id, version, senderTenant);
+        try {
+            return crudService().getDownloadUrl(senderTenant, id, version)
+                    .map(ResponseFactory::responseOk)
+                    .orElseGet(ResponseFactory::responseNoContent);
+        } catch (IOException e) {
+            log.error("Failed to presign download for entityId: {}, version: {}", id, version, e);
+            return getBackExceptionResponse(e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<Resource> downloadFileDirect(I id, Long version) {
+        String senderTenant = requestContextService().getCurrentContext().getSenderTenant();
+        try {
+            var transfer = crudService().getDownloadUrl(senderTenant, id, version);
+            if (transfer.isPresent()) {
+                log.info("Redirecting download of entityId: {}, version: {} to the object storage", id, version);
+                return ResponseFactory.responseFound(URI.create(transfer.get().getUrl()));
+            }
+        } catch (IOException e) {
+            log.warn("Failed to presign download for entityId: {}, version: {}, serving it directly", id, version, e);
+        }
+        return downloadFile(id, version);
+    }
+
+    @Override
+    public ResponseEntity<PresignedTransferDto> getUploadUrl(I id, String originalFileName) {
+        String senderTenant = requestContextService().getCurrentContext().getSenderTenant();
+        log.debug("Presigning upload for entityId: {} for tenant {}", id, senderTenant);
+        try {
+            return crudService().prepareDirectUpload(senderTenant, id, originalFileName)
+                    .map(ResponseFactory::responseOk)
+                    .orElseGet(ResponseFactory::responseNoContent);
+        } catch (IOException e) {
+            log.error("Failed to presign upload for entityId: {}", id, e);
+            return getBackExceptionResponse(e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<F> completeUpload(I id, String originalFileName) {
+        String senderTenant = requestContextService().getCurrentContext().getSenderTenant();
+        log.debug("Completing direct upload for entityId: {} for tenant {}", id, senderTenant);
+        try {
+            T entity = crudService().completeDirectUpload(senderTenant, id, originalFileName);
+            log.info("Successfully completed direct upload for entityId: {} for tenant {}", id, senderTenant);
+            return ResponseFactory.responseOk(mapper().entityToDto(entity));
+        } catch (IOException e) {
+            log.error("Failed to complete direct upload for entityId: {}", id, e);
+            return getBackExceptionResponse(e);
+        }
+    }
+
     @Override
     public ResponseEntity<F> createWithFile(MultipartFile file, @Valid F dto) {
         String senderTenant = requestContextService().getCurrentContext().getSenderTenant();
@@ -6,6 +6,7 @@ import eu.isygoit.com.rest.controller.impl.CrudControllerOperations;
 import eu.isygoit.com.rest.service.ICrudServiceHooks;
 import eu.isygoit.com.rest.service.ICrudServiceOperations;
 import eu.isygoit.com.rest.service.ICrudServiceUtils;
+import eu.isygoit.com.rest.service.media.FileServingEngine;
 import eu.isygoit.com.rest.service.media.IImageServiceOperations;
 import eu.isygoit.dto.IDto;
 import eu.isygoit.dto.IIdAssignableDto;
@@ -59,9 +60,19 @@ public abstract class MappedImageController<
 
     @Override
     public ResponseEntity<Resource> downloadImage(I id) {
-        log.debug("Downloading image for entityId: {}", id);
+        return downloadImageVariant(id, null);
+    }
+
+    @Override
+    public ResponseEntity<Resource> downloadImageVariant(I id, String variant) {
+        log.debug("Downloading image for entityId: {}, variant: {}", id, variant);
         try {
-            var resource = crudService().downloadImage(id);
+            var resource = crudService().downloadImage(id, variant);
+            if (FileServingEngine.serveCurrentRequest(resource)) {
+                // Written with range and conditional request support
+                log.info("Successfully served image: {} for entityId: {}", resource.getOriginalFileName(), id);
+                return null;
+            }
             if (resource != null && resource.getResource() != null) {
                 var file = resource.getResource().getFile();
                 var contentType = Files.probeContentType(file.toPath());
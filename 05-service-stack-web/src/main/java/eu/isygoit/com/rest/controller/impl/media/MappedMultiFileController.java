@@ -6,6 +6,7 @@ import eu.isygoit.com.rest.controller.impl.CrudControllerOperations;
 import eu.isygoit.com.rest.service.ICrudServiceHooks;
 import eu.isygoit.com.rest.service.ICrudServiceOperations;
 import eu.isygoit.com.rest.service.ICrudServiceUtils;
+import eu.isygoit.com.rest.service.media.FileServingEngine;
 import eu.isygoit.com.rest.service.media.IMultiFileServiceOperations;
 import eu.isygoit.dto.IDto;
 import eu.isygoit.dto.IIdAssignableDto;
@@ -109,6 +110,12 @@ public abstract class MappedMultiFileController<
         log.debug("Downloading additional fileId: {}, parentId: {}, version: {}", fileId, parentId, version);
         try {
             var resource = crudService().downloadFile(parentId, fileId, version);
+            if (FileServingEngine.serveCurrentRequest(resource)) {
+                // Written with range and conditional request support
+                log.info("Successfully served file: {} for parentId: {}, fileId: {}, version: {}",
+                        resource.getOriginalFileName(), parentId, fileId, version);
+                return null;
+            }
 
             if (resource != null && resource.getResource() != null) {
                 var file = resource.getResource().getFile();
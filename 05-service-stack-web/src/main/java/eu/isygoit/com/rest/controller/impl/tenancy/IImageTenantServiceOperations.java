@@ -37,6 +37,19 @@ public interface IImageTenantServiceOperations<I extends Serializable, T extends
      */
     ResourceDto downloadImage(String tenant, I id) throws IOException;
 
+    /**
+     * Download image variant resource. Services without derivatives serve the original.
+     *
+     * @param tenant  the tenant
+     * @param id      the id
+     * @param variant the variant name, the original when empty
+     * @return the resource
+     * @throws IOException the io exception
+     */
+    default ResourceDto downloadImage(String tenant, I id, String variant) throws IOException {
+        return downloadImage(tenant, id);
+    }
+
     /**
      * Create with image t.
      *
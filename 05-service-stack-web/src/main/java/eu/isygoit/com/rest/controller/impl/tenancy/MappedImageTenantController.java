@@ -5,6 +5,7 @@ import eu.isygoit.com.rest.controller.ResponseFactory;
 import eu.isygoit.com.rest.controller.constants.CtrlConstants;
 import eu.isygoit.com.rest.controller.impl.CrudControllerUtils;
 import eu.isygoit.com.rest.service.ICrudServiceUtils;
+import eu.isygoit.com.rest.service.media.FileServingEngine;
 import eu.isygoit.com.rest.service.tenancy.ICrudTenantServiceOperations;
 import eu.isygoit.constants.RestApiConstants;
 import eu.isygoit.dto.IDto;
@@ -65,9 +66,20 @@ public abstract class MappedImageTenantController<I extends Serializable,
     @Override
     public ResponseEntity<Resource> downloadImage(
             @PathVariable(name = RestApiConstants.ID) I id) throws IOException {
+        return downloadImageVariant(id, null);
+    }
+
+    @Override
+    public ResponseEntity<Resource> downloadImageVariant(
+            @PathVariable(name = RestApiConstants.ID) I id,
+            @PathVariable(name = RestApiConstants.VARIANT) String variant) throws IOException {
         log.info("Download image request received");
         try {
-            ResourceDto resource = crudService().downloadImage(requestContextService().getCurrentContext().getSenderTenant(), id);
+            ResourceDto resource = crudService().downloadImage(requestContextService().getCurrentContext().getSenderTenant(), id, variant);
+            if (FileServingEngine.serveCurrentRequest(resource)) {
+                // Written with range and conditional request support
+                return null;
+            }
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_TYPE, Files.probeContentType(resource.getResource().getFile().toPath()))
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getOriginalFileName() + "\"")
@@ -5,6 +5,7 @@ import eu.isygoit.com.rest.controller.ResponseFactory;
 import eu.isygoit.com.rest.controller.constants.CtrlConstants;
 import eu.isygoit.com.rest.controller.impl.CrudControllerUtils;
 import eu.isygoit.com.rest.service.ICrudServiceUtils;
+import eu.isygoit.com.rest.service.media.FileServingEngine;
 import eu.isygoit.com.rest.service.tenancy.ICrudTenantServiceOperations;
 import eu.isygoit.com.rest.service.tenancy.IMultiFileTenantServiceOperations;
 import eu.isygoit.dto.IDto;
@@ -105,6 +106,10 @@ public abstract class MappedMultiFileTenatController<I extends Serializable,
                 ResourceDto resource = crudService().downloadFile(requestContextService().getCurrentContext().getSenderTenant(), parentId, fileId, version);
                 if (resource != null) {
                     log.info("File downloaded successfully {}", resource.getResource().getFilename());
+                    if (FileServingEngine.serveCurrentRequest(resource)) {
+                        // Written with range and conditional request support
+                        return null;
+                    }
                     return ResponseEntity.ok()
                             .header(HttpHeaders.CONTENT_TYPE, Files.probeContentType(resource.getResource().getFile().toPath()))
                             .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getOriginalFileName() + "\"")
@@ -0,0 +1,309 @@
+package eu.isygoit.com.rest.service.cassandra;
+
+import eu.isygoit.enums.IEnumCriteriaCombiner;
+import eu.isygoit.enums.IEnumOperator;
+import eu.isygoit.exception.WrongCriteriaFilterException;
+import eu.isygoit.filter.QueryCriteria;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.cassandra.core.mapping.CassandraMappingContext;
+import org.springframework.data.cassandra.core.mapping.CassandraPersistentEntity;
+import org.springframework.data.cassandra.core.mapping.CassandraPersistentProperty;
+import org.springframework.data.cassandra.core.mapping.Indexed;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.SASI;
+import org.springframework.data.cassandra.core.query.Criteria;
+import org.springframework.data.cassandra.core.query.CriteriaDefinition;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.mapping.PropertyHandler;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * The type Cassandra criteria helper, translating query criteria into a CQL query.
+ * <p>
+ * CQL only serves efficiently the queries restricting the whole partition key with equality, then the clustering
+ * columns in their declaration order, equality first and at most one range last; or an indexed column with equality.
+ * Any other query makes Cassandra read and discard rows across the cluster, it needs {@code ALLOW FILTERING} which is
+ * rejected unless the caller opts in. Criteria can only be combined with AND, and the operators without a CQL
+ * equivalent ({@code !=}, {@code LIKE}, {@code NOT LIKE}) are rejected.
+ */
+@Slf4j
+public final class CassandraCriteriaHelper {
+
+    private static final Map<Class<?>, Map<String, Column>> COLUMN_CACHE = new ConcurrentHashMap<>();
+
+    private CassandraCriteriaHelper() {
+    }
+
+    /**
+     * Build the CQL query of the criteria.
+     *
+     * @param criteria       the criteria, combined with AND
+     * @param entityClass    the entity class
+     * @param mappingContext the cassandra mapping context
+     * @param allowFiltering whether queries that need ALLOW FILTERING are accepted
+     * @return the query
+     * @throws WrongCriteriaFilterException if a criterion is invalid or the query needs a filtering not allowed
+     */
+    public static Query buildQuery(List<QueryCriteria> criteria, Class<?> entityClass,
+                                   CassandraMappingContext mappingContext, boolean allowFiltering) {
+        Map<String, Column> columns = getColumns(entityClass, mappingContext);
+        List<CriteriaDefinition> definitions = new ArrayList<>(criteria.size());
+        List<Restriction> restrictions = new ArrayList<>(criteria.size());
+
+        for (int i = 0; i < criteria.size(); i++) {
+            QueryCriteria criterion = criteria.get(i);
+            if (i > 0 && criterion.getCombiner() == IEnumCriteriaCombiner.Types.OR) {
+                throw new WrongCriteriaFilterException("CQL only combines criteria with AND, OR used for field: " + criterion.getName());
+            }
+            Column column = columns.get(criterion.getName());
+            if (column == null) {
+                throw new WrongCriteriaFilterException("Invalid field name: " + criterion.getName());
+            }
+            definitions.addAll(toDefinitions(criterion, column));
+            restrictions.add(new Restriction(column, criterion.getOperator()));
+        }
+
+        Query query = Query.query(definitions);
+        if (requiresFiltering(restrictions, columns.values())) {
+            if (!allowFiltering) {
+                throw new WrongCriteriaFilterException("Criteria on " + restrictions.stream()
+                        .map(restriction -> restriction.column().name()).distinct().collect(Collectors.joining(", "))
+                        + " need ALLOW FILTERING on " + entityClass.getSimpleName()
+                        + ": restrict the partition key, then the clustering columns in order");
+            }
+            log.debug("Query on {} runs with ALLOW FILTERING", entityClass.getSimpleName());
+            query = query.withAllowFiltering();
+        }
+        return query;
+    }
+
+    /**
+     * Gets the criteria columns of an entity: its persistent properties, those of its composite primary key included.
+     *
+     * @param entityClass    the entity class
+     * @param mappingContext the mapping context
+     * @return the columns by property name
+     */
+    static Map<String, Column> getColumns(Class<?> entityClass, CassandraMappingContext mappingContext) {
+        return COLUMN_CACHE.computeIfAbsent(entityClass, type -> {
+            Map<String, Column> columns = new HashMap<>();
+            CassandraPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(type);
+            entity.doWithProperties((PropertyHandler<CassandraPersistentProperty>) property -> {
+                if (property.isCompositePrimaryKey()) {
+                    mappingContext.getRequiredPersistentEntity(property)
+                            .doWithProperties((PropertyHandler<CassandraPersistentProperty>) keyProperty ->
+                                    columns.putIfAbsent(keyProperty.getName(),
+                                            column(property.getName() + "." + keyProperty.getName(), keyProperty, false)));
+                } else {
+                    columns.put(property.getName(), column(property.getName(), property, property.isIdProperty()));
+                }
+            });
+            return Map.copyOf(columns);
+        });
+    }
+
+    private static Column column(String path, CassandraPersistentProperty property, boolean simpleId) {
+        Kind kind = property.isPartitionKeyColumn() || simpleId ? Kind.PARTITION
+                : property.isClusterKeyColumn() ? Kind.CLUSTERING
+                : Kind.REGULAR;
+        boolean indexed = property.isAnnotationPresent(Indexed.class) || property.isAnnotationPresent(SASI.class);
+        // The key ordinal is declared by the annotation, getOrdinal is the position in a mapped tuple
+        PrimaryKeyColumn keyColumn = property.findAnnotation(PrimaryKeyColumn.class);
+        return new Column(path, kind, keyColumn != null ? keyColumn.ordinal() : 0, indexed, property.getActualType());
+    }
+
+    /**
+     * Whether the restrictions need ALLOW FILTERING.
+     *
+     * @param restrictions the restrictions
+     * @param columns      every column of the entity
+     * @return the boolean
+     */
+    static boolean requiresFiltering(List<Restriction> restrictions, Collection<Column> columns) {
+        Map<Column, List<IEnumOperator.Types>> operators = new HashMap<>();
+        restrictions.forEach(restriction ->
+                operators.computeIfAbsent(restriction.column(), column -> new ArrayList<>()).add(restriction.operator()));
+
+        List<Column> partitionKey = columns.stream().filter(column -> column.kind() == Kind.PARTITION).toList();
+        boolean partitionRestricted = !partitionKey.isEmpty()
+                && partitionKey.stream().allMatch(column -> isEquality(operators.get(column)));
+        if (!partitionRestricted && partitionKey.stream().anyMatch(operators::containsKey)) {
+            return true;
+        }
+
+        // Clustering columns: an equality prefix in declaration order, then at most one range
+        List<Column> clustering = columns.stream()
+                .filter(column -> column.kind() == Kind.CLUSTERING)
+                .sorted(Comparator.comparingInt(Column::ordinal))
+                .toList();
+        boolean prefix = true;
+        for (Column column : clustering) {
+            List<IEnumOperator.Types> ops = operators.get(column);
+            if (ops == null) {
+                prefix = false;
+            } else if (!partitionRestricted || !prefix) {
+                return true;
+            } else if (!isEquality(ops)) {
+                prefix = false;
+            }
+        }
+
+        // Regular columns: a single equality on an indexed column
+        List<Column> regular = operators.keySet().stream().filter(column -> column.kind() == Kind.REGULAR).toList();
+        if (regular.isEmpty()) {
+            return false;
+        }
+        return regular.size() > 1 || !regular.get(0).indexed()
+                || !operators.get(regular.get(0)).equals(List.of(IEnumOperator.Types.EQ));
+    }
+
+    private static boolean isEquality(List<IEnumOperator.Types> ops) {
+        return ops != null && ops.stream().allMatch(op -> op == IEnumOperator.Types.EQ || op == IEnumOperator.Types.IN);
+    }
+
+    private static List<CriteriaDefinition> toDefinitions(QueryCriteria criterion, Column column) {
+        String path = column.path();
+        return switch (criterion.getOperator()) {
+            case EQ -> List.of(Criteria.where(path).is(convert(criterion.getValue(), column)));
+            case GT -> List.of(Criteria.where(path).gt(convert(criterion.getValue(), column)));
+            case GE -> List.of(Criteria.where(path).gte(convert(criterion.getValue(), column)));
+            case LT -> List.of(Criteria.where(path).lt(convert(criterion.getValue(), column)));
+            case LE -> List.of(Criteria.where(path).lte(convert(criterion.getValue(), column)));
+            case IN -> List.of(Criteria.where(path).in(convertList(criterion.getValue(), column)));
+            case BW -> {
+                List<Object> bounds = convertList(criterion.getValue(), column);
+                if (bounds.size() != 2) {
+                    throw new WrongCriteriaFilterException("BETWEEN operator requires exactly two values for field: " + column.name());
+                }
+                yield List.of(Criteria.where(path).gte(bounds.get(0)), Criteria.where(path).lte(bounds.get(1)));
+            }
+            default -> throw new WrongCriteriaFilterException("Operator " + criterion.getOperator()
+                    + " is not supported by CQL for field: " + column.name());
+        };
+    }
+
+    private static List<Object> convertList(String value, Column column) {
+        if (value == null) {
+            throw new WrongCriteriaFilterException("Null value for field: " + column.name());
+        }
+        String content = value.trim();
+        if (content.startsWith("(") && content.endsWith(")")) {
+            content = content.substring(1, content.length() - 1);
+        }
+        List<Object> values = new ArrayList<>();
+        for (String part : content.split("\\s*,\\s*")) {
+            values.add(convert(part, column));
+        }
+        return values;
+    }
+
+    private static Object convert(String value, Column column) {
+        if (value == null) {
+            throw new WrongCriteriaFilterException("Null value for field: " + column.name());
+        }
+        String text = unquote(value.trim());
+        Class<?> type = column.type();
+        try {
+            if (type == String.class) return text;
+            if (type == Integer.class || type == int.class) return Integer.valueOf(text);
+            if (type == Long.class || type == long.class) return Long.valueOf(text);
+            if (type == Double.class || type == double.class) return Double.valueOf(text);
+            if (type == Float.class || type == float.class) return Float.valueOf(text);
+            if (type == Short.class || type == short.class) return Short.valueOf(text);
+            if (type == Boolean.class || type == boolean.class) return Boolean.valueOf(text);
+            if (type == BigDecimal.class) return new BigDecimal(text);
+            if (type == BigInteger.class) return new BigInteger(text);
+            if (type == UUID.class) return UUID.fromString(text);
+            if (type == LocalDate.class) return LocalDate.parse(text);
+            if (type == LocalDateTime.class) return LocalDateTime.parse(text);
+            if (type == Instant.class) return Instant.parse(text);
+            if (type == Date.class) return Date.from(Instant.parse(text));
+            if (type.isEnum()) return enumValue(type, text);
+            return text;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new WrongCriteriaFilterException("Invalid value '" + text + "' for field " + column.name()
+                    + " of type " + type.getSimpleName());
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumValue(Class<?> type, String text) {
+        return Enum.valueOf((Class<? extends Enum>) type, text);
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2) {
+            char first = value.charAt(0);
+            char last = value.charAt(value.length() - 1);
+            if ((first == '\'' && last == '\'') || (first == '"' && last == '"')) {
+                return value.substring(1, value.length() - 1);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Clear the column cache.
+     */
+    public static void clearCache() {
+        COLUMN_CACHE.clear();
+    }
+
+    /**
+     * The enum Kind of column.
+     */
+    enum Kind {
+        /**
+         * Partition key column.
+         */
+        PARTITION,
+        /**
+         * Clustering column.
+         */
+        CLUSTERING,
+        /**
+         * Regular column.
+         */
+        REGULAR
+    }
+
+    /**
+     * A criteria column.
+     *
+     * @param path    the property path, through the composite primary key when the column is part of it
+     * @param kind    the kind
+     * @param ordinal the position in the partition key or among the clustering columns
+     * @param indexed whether the column has a secondary index
+     * @param type    the property type
+     */
+    record Column(String path, Kind kind, int ordinal, boolean indexed, Class<?> type) {
+
+        /**
+         * Gets the property name.
+         *
+         * @return the string
+         */
+        String name() {
+            int dot = path.lastIndexOf('.');
+            return dot < 0 ? path : path.substring(dot + 1);
+        }
+    }
+
+    /**
+     * A restriction of a column by a criterion.
+     *
+     * @param column   the column
+     * @param operator the operator
+     */
+    record Restriction(Column column, IEnumOperator.Types operator) {
+    }
+}
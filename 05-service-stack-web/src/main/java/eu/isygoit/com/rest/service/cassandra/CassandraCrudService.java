@@ -1,11 +1,13 @@
 package eu.isygoit.com.rest.service.cassandra;
 
+import com.datastax.oss.driver.api.core.CqlSession;
 import eu.isygoit.com.rest.service.CrudServiceUtils;
 import eu.isygoit.com.rest.service.ICrudServiceHooks;
 import eu.isygoit.com.rest.service.ICrudServiceOperations;
 import eu.isygoit.com.rest.service.ICrudServiceUtils;
 import eu.isygoit.constants.LogConstants;
 import eu.isygoit.exception.BadArgumentException;
+import eu.isygoit.exception.EmptyCriteriaFilterException;
 import eu.isygoit.exception.ObjectNotFoundException;
 import eu.isygoit.exception.OperationNotAllowedException;
 import eu.isygoit.filter.QueryCriteria;
@@ -15,10 +17,17 @@ import eu.isygoit.model.jakarta.CancelableEntity;
 import eu.isygoit.repository.tenancy.JpaPagingAndSortingTenantAssignableRepository;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.cassandra.core.AsyncCassandraOperations;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.query.Query;
 import org.springframework.data.cassandra.repository.CassandraRepository;
 import org.springframework.data.domain.*;
+import org.springframework.data.mapping.callback.EntityCallbacks;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
@@ -26,6 +35,8 @@ import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * The type Cassandra crud api.
@@ -45,6 +56,35 @@ public abstract class CassandraCrudService<I extends Serializable,
     @Getter
     private final Class<T> persistentClass = (Class<T>) ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments()[1];
 
+    /**
+     * The constant DEFAULT_MAX_IN_FLIGHT_REQUESTS.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 64;
+
+    /**
+     * The constant DEFAULT_MAX_BATCH_SIZE.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 50;
+
+    @Autowired
+    private CassandraOperations cassandraOperations;
+
+    @Autowired
+    private CqlSession cqlSession;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired(required = false)
+    private AsyncCassandraOperations asyncCassandraOperations;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private volatile AsyncCassandraOperations asyncOperations;
+    private volatile CassandraReadOperations<T> readOperations;
+    private volatile CassandraWriteOperations<T> writeOperations;
+
     @Override
     @Transactional(readOnly = true)
     public Long count() {
@@ -69,57 +109,97 @@ public abstract class CassandraCrudService<I extends Serializable,
     @Override
     @Transactional
     public T create(T object) {
-        if (Objects.isNull(object)) {
-            throw new BadArgumentException(LogConstants.NULL_OBJECT_PROVIDED);
-        }
+        return create(object, CassandraWriteOptions.NONE);
+    }
 
-        if (object.getId() == null) {
-            object = this.beforeCreate(object);
-            assignCodeIfEmpty(object);
-            return this.afterCreate(repository().save(object));
-        } else {
-            throw new EntityExistsException();
-        }
+    /**
+     * Create an entity with write options.
+     *
+     * @param object  the entity
+     * @param options the write options: TTL and write timestamp
+     * @return the created entity
+     */
+    @Transactional
+    public T create(T object, CassandraWriteOptions options) {
+        T prepared = prepareCreate(object);
+        join(writeOperations().write(CassandraWriteOperations.Operation.INSERT, List.of(prepared), options,
+                maxBatchSize(), maxInFlightRequests()));
+        return this.afterCreate(prepared);
     }
 
     @Override
     public List<T> createBatch(List<T> objects) {
-        validateListNotEmpty(objects);
+        return createBatch(objects, CassandraWriteOptions.NONE);
+    }
 
-        List<T> createdObjects = new ArrayList<>();
-        objects.forEach(object -> {
-            createdObjects.add(this.create(object));
-        });
+    /**
+     * Create entities with write options, grouped by partition in unlogged batches and written concurrently.
+     *
+     * @param objects the entities
+     * @param options the write options: TTL and write timestamp
+     * @return the created entities
+     */
+    public List<T> createBatch(List<T> objects, CassandraWriteOptions options) {
+        return join(createBatchAsync(objects, options));
+    }
 
-        return createdObjects;
+    /**
+     * Create entities with write options, without waiting for the writes. The call blocks only while
+     * {@link #maxInFlightRequests()} requests are awaiting their response.
+     *
+     * @param objects the entities
+     * @param options the write options: TTL and write timestamp
+     * @return the future of the created entities
+     */
+    public CompletableFuture<List<T>> createBatchAsync(List<T> objects, CassandraWriteOptions options) {
+        validateListNotEmpty(objects);
+        List<T> prepared = objects.stream().map(this::prepareCreate).toList();
+        return writeOperations().write(CassandraWriteOperations.Operation.INSERT, prepared, options,
+                        maxBatchSize(), maxInFlightRequests())
+                .thenApply(done -> prepared.stream().map(this::afterCreate).toList());
     }
 
     @Override
     @Transactional
     public T update(T object) {
-        if (Objects.isNull(object)) {
-            throw new BadArgumentException(LogConstants.NULL_OBJECT_PROVIDED);
-        }
+        return update(object, CassandraWriteOptions.NONE);
+    }
 
-        if (object.getId() != null) {
-            object = this.beforeUpdate(object);
-            assignCodeIfEmpty(object);
-            return this.afterUpdate(repository().save(object));
-        } else {
-            throw new EntityNotFoundException();
-        }
+    /**
+     * Update an entity with write options.
+     *
+     * @param object  the entity
+     * @param options the write options: TTL and write timestamp
+     * @return the updated entity
+     */
+    @Transactional
+    public T update(T object, CassandraWriteOptions options) {
+        T prepared = prepareUpdate(object);
+        join(writeOperations().write(CassandraWriteOperations.Operation.UPDATE, List.of(prepared), options,
+                maxBatchSize(), maxInFlightRequests()));
+        return this.afterUpdate(prepared);
     }
 
     @Override
     @Transactional
     public List<T> updateBatch(List<T> objects) {
-        validateListNotEmpty(objects);
-        List<T> updatedObjects = new ArrayList<>();
-        objects.forEach(object -> {
-            updatedObjects.add(this.update(object));
-        });
+        return updateBatch(objects, CassandraWriteOptions.NONE);
+    }
 
-        return updatedObjects;
+    /**
+     * Update entities with write options, grouped by partition in unlogged batches and written concurrently.
+     *
+     * @param objects the entities
+     * @param options the write options: TTL and write timestamp
+     * @return the updated entities
+     */
+    @Transactional
+    public List<T> updateBatch(List<T> objects, CassandraWriteOptions options) {
+        validateListNotEmpty(objects);
+        List<T> prepared = objects.stream().map(this::prepareUpdate).toList();
+        join(writeOperations().write(CassandraWriteOperations.Operation.UPDATE, prepared, options,
+                maxBatchSize(), maxInFlightRequests()));
+        return prepared.stream().map(this::afterUpdate).toList();
     }
 
     @Override
@@ -131,7 +211,8 @@ public abstract class CassandraCrudService<I extends Serializable,
 
         validateListNotEmpty(objects);
         this.beforeDelete(objects);
-        repository().deleteAll(objects);
+        join(writeOperations().write(CassandraWriteOperations.Operation.DELETE, objects, CassandraWriteOptions.NONE,
+                maxBatchSize(), maxInFlightRequests()));
         this.afterDelete(objects);
     }
 
@@ -197,16 +278,38 @@ public abstract class CassandraCrudService<I extends Serializable,
             log.warn("Find all give vulnerability to SAS entity...");
         }
 
-        Slice<T> slice = repository().findAll(pageable);
-        if (slice.isEmpty()) {
+        Page<T> page = readOperations().page(Query.empty(), pageable);
+        if (page.isEmpty()) {
             return Page.empty(pageable);
         }
 
-        // Apply your post-processing (assuming afterFindAll takes List<T> and returns List<T>)
-        List<T> processedContent = this.afterFindAll(slice.getContent());
+        // Rebuild the Page with the processed content, the total is a lower bound as Cassandra does not count rows
+        return new PageImpl<>(this.afterFindAll(page.getContent()), pageable, page.getTotalElements());
+    }
 
-        // Rebuild the Page with the processed content (preserves all metadata)
-        return new PageImpl<>(processedContent, pageable, slice.getNumberOfElements());
+    /**
+     * Find a slice of entities, resuming from the cursor of the previous slice.
+     *
+     * @param size   the slice size
+     * @param cursor the cursor of the previous slice, null for the first one
+     * @return the slice, its next cursor is given by {@link CassandraCursor#of(Slice)}
+     */
+    @Transactional(readOnly = true)
+    public Slice<T> findSlice(int size, String cursor) {
+        return afterFindSlice(readOperations().slice(Query.empty(), size, cursor));
+    }
+
+    /**
+     * Find a slice of entities by criteria, resuming from the cursor of the previous slice.
+     *
+     * @param criteria the criteria
+     * @param size     the slice size
+     * @param cursor   the cursor of the previous slice, null for the first one
+     * @return the slice, its next cursor is given by {@link CassandraCursor#of(Slice)}
+     */
+    @Transactional(readOnly = true)
+    public Slice<T> findSliceByCriteriaFilter(List<QueryCriteria> criteria, int size, String cursor) {
+        return afterFindSlice(readOperations().slice(criteriaQuery(criteria), size, cursor));
     }
 
     @Override
@@ -279,18 +382,130 @@ public abstract class CassandraCrudService<I extends Serializable,
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<T> findAllByCriteriaFilter(List<QueryCriteria> criteria) {
-        return null;
+        log.info("Retrieving {} entities by criteria", this.getPersistentClass().getSimpleName());
+        log.debug("Criteria: {}", criteria);
+        List<T> result = readOperations().select(criteriaQuery(criteria));
+        log.debug("Retrieved {} filtered {} entities", result.size(), this.getPersistentClass().getSimpleName());
+        return result.isEmpty() ? result : this.afterFindAll(result);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<T> findAllByCriteriaFilter(List<QueryCriteria> criteria, PageRequest pageRequest) {
-        return null;
+        log.info("Retrieving paginated {} entities by criteria", this.getPersistentClass().getSimpleName());
+        log.debug("Criteria: {}, PageRequest: {}", criteria, pageRequest);
+        Page<T> page = readOperations().page(criteriaQuery(criteria), pageRequest);
+        return page.isEmpty() ? page : new PageImpl<>(this.afterFindAll(page.getContent()), pageRequest, page.getTotalElements());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<T> getByIdIn(List<I> ids) {
-        return null;
+        if (CollectionUtils.isEmpty(ids)) {
+            return Collections.emptyList();
+        }
+        return readOperations().selectByIds(ids, maxInFlightRequests());
+    }
+
+    /**
+     * Whether the criteria queries needing ALLOW FILTERING are accepted. Filtering scans and discards rows on every
+     * node, only enable it for small tables or partitions.
+     *
+     * @return the boolean
+     */
+    protected boolean allowFiltering() {
+        return false;
+    }
+
+    /**
+     * Gets the maximum number of requests in flight in {@link #getByIdIn(List)} and in the batched writes.
+     *
+     * @return the int
+     */
+    protected int maxInFlightRequests() {
+        return DEFAULT_MAX_IN_FLIGHT_REQUESTS;
+    }
+
+    /**
+     * Gets the maximum number of statements of an unlogged batch. Batches only group rows of the same partition.
+     *
+     * @return the int
+     */
+    protected int maxBatchSize() {
+        return DEFAULT_MAX_BATCH_SIZE;
+    }
+
+    private T prepareCreate(T object) {
+        if (Objects.isNull(object)) {
+            throw new BadArgumentException(LogConstants.NULL_OBJECT_PROVIDED);
+        }
+        if (object.getId() != null) {
+            throw new EntityExistsException();
+        }
+        T prepared = this.beforeCreate(object);
+        assignCodeIfEmpty(prepared);
+        return prepared;
+    }
+
+    private T prepareUpdate(T object) {
+        if (Objects.isNull(object)) {
+            throw new BadArgumentException(LogConstants.NULL_OBJECT_PROVIDED);
+        }
+        if (object.getId() == null) {
+            throw new EntityNotFoundException();
+        }
+        T prepared = this.beforeUpdate(object);
+        assignCodeIfEmpty(prepared);
+        return prepared;
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private Query criteriaQuery(List<QueryCriteria> criteria) {
+        if (CollectionUtils.isEmpty(criteria)) {
+            log.error("Null or empty criteria provided for findAllByCriteriaFilter");
+            throw new EmptyCriteriaFilterException("Criteria filter list is null or empty");
+        }
+        return readOperations().query(criteria, allowFiltering());
+    }
+
+    private Slice<T> afterFindSlice(Slice<T> slice) {
+        if (slice.isEmpty()) {
+            return slice;
+        }
+        return new SliceImpl<>(this.afterFindAll(slice.getContent()), slice.getPageable(), slice.hasNext());
+    }
+
+    private CassandraReadOperations<T> readOperations() {
+        if (readOperations == null) {
+            readOperations = new CassandraReadOperations<>(persistentClass, cassandraOperations, asyncOperations());
+        }
+        return readOperations;
+    }
+
+    private CassandraWriteOperations<T> writeOperations() {
+        if (writeOperations == null) {
+            writeOperations = new CassandraWriteOperations<>(persistentClass, asyncOperations(),
+                    EntityCallbacks.create(applicationContext), applicationContext,
+                    new CassandraWriteMetrics(persistentClass.getSimpleName(), meterRegistry));
+        }
+        return writeOperations;
+    }
+
+    private AsyncCassandraOperations asyncOperations() {
+        if (asyncOperations == null) {
+            asyncOperations = asyncCassandraOperations != null ? asyncCassandraOperations
+                    : CassandraWriteOperations.asyncTemplate(cqlSession, cassandraOperations.getConverter(), applicationContext);
+        }
+        return asyncOperations;
     }
 
     /**
@@ -1,27 +1,39 @@
 package eu.isygoit.com.rest.service.cassandra;
 
+import com.datastax.oss.driver.api.core.CqlSession;
 import eu.isygoit.com.rest.service.CrudServiceUtils;
 import eu.isygoit.com.rest.service.ICrudServiceUtils;
 import eu.isygoit.com.rest.service.tenancy.ICrudTenantServiceHooks;
 import eu.isygoit.com.rest.service.tenancy.ICrudTenantServiceOperations;
+import eu.isygoit.com.rest.service.tenancy.TenantHelper;
 import eu.isygoit.constants.LogConstants;
 import eu.isygoit.constants.TenantConstants;
+import eu.isygoit.enums.IEnumCriteriaCombiner;
+import eu.isygoit.enums.IEnumOperator;
 import eu.isygoit.exception.BadArgumentException;
+import eu.isygoit.exception.EmptyCriteriaFilterException;
 import eu.isygoit.exception.ObjectNotFoundException;
 import eu.isygoit.exception.OperationNotAllowedException;
+import eu.isygoit.exception.WrongCriteriaFilterException;
 import eu.isygoit.exception.OperationNotSupportedException;
 import eu.isygoit.filter.QueryCriteria;
 import eu.isygoit.model.IIdAssignable;
 import eu.isygoit.model.ITenantAssignable;
 import eu.isygoit.model.jakarta.CancelableEntity;
 import eu.isygoit.repository.tenancy.JpaPagingAndSortingTenantAssignableRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.cassandra.core.AsyncCassandraOperations;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.query.Query;
 import org.springframework.data.cassandra.repository.CassandraRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.*;
+import org.springframework.data.mapping.callback.EntityCallbacks;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
@@ -29,9 +41,16 @@ import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * The type Cassandra crud api.
+ * <p>
+ * Criteria queries of a tenant other than the super tenant are restricted by {@code tenant = ?} on the entity
+ * {@code tenant} column. They run without ALLOW FILTERING only when that column is the partition key, or the first
+ * partition key column restricted by the other criteria, or has a secondary index; otherwise override
+ * {@link #allowFiltering()} or they are rejected.
  *
  * @param <I> the type parameter
  * @param <T> the type parameter
@@ -44,10 +63,31 @@ public abstract class CassandraCrudTenantService<I extends Serializable,
         extends CrudServiceUtils<I, T, R>
         implements ICrudTenantServiceOperations<I, T>, ICrudTenantServiceHooks<I, T>, ICrudServiceUtils<I, T> {
 
+    private static final String TENANT_FIELD = "tenant";
+
     //Attention !!! should get the class type of th persist entity
     @Getter
     private final Class<T> persistentClass = (Class<T>) ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments()[1];
 
+    @Autowired
+    private CassandraOperations cassandraOperations;
+
+    @Autowired
+    private CqlSession cqlSession;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired(required = false)
+    private AsyncCassandraOperations asyncCassandraOperations;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private volatile AsyncCassandraOperations asyncOperations;
+    private volatile CassandraReadOperations<T> readOperations;
+    private volatile CassandraWriteOperations<T> writeOperations;
+
     @Override
     @Transactional(readOnly = true)
     public Long count(String tenant) {
@@ -75,14 +115,15 @@ public abstract class CassandraCrudTenantService<I extends Serializable,
 
         if (!TenantConstants.SUPER_TENANT_NAME.equals(tenant)) {
             objects.forEach(object -> {
-                if (!tenant.equals((object).getTenant())) {
+                if (!Objects.equals(tenant, object.getTenant())) {
                     throw new OperationNotAllowedException("Delete " + this.getPersistentClass().getSimpleName() + " with id: " + object.getId());
                 }
             });
         }
 
         this.beforeDelete(tenant, objects);
-        repository().deleteAll(objects);
+        join(writeOperations().write(CassandraWriteOperations.Operation.DELETE, objects, CassandraWriteOptions.NONE,
+                maxBatchSize(), maxInFlightRequests()));
         this.afterDelete(tenant, objects);
     }
 
@@ -97,7 +138,7 @@ public abstract class CassandraCrudTenantService<I extends Serializable,
         if (optional.isPresent()) {
             T object = optional.get();
             if (!TenantConstants.SUPER_TENANT_NAME.equals(tenant)) {
-                if (!tenant.equals(object.getTenant())) {
+                if (!Objects.equals(tenant, object.getTenant())) {
                     throw new OperationNotAllowedException("Delete " + this.getPersistentClass().getSimpleName() + " with id: " + id);
                 }
             }
@@ -116,13 +157,60 @@ public abstract class CassandraCrudTenantService<I extends Serializable,
     }
 
     @Override
+    @Transactional
     public T create(String tenant, T object) {
-        return null;
+        return create(tenant, object, CassandraWriteOptions.NONE);
+    }
+
+    /**
+     * Create an entity of a tenant with write options.
+     *
+     * @param tenant  the tenant
+     * @param object  the entity
+     * @param options the write options: TTL and write timestamp
+     * @return the created entity
+     */
+    @Transactional
+    public T create(String tenant, T object, CassandraWriteOptions options) {
+        T prepared = prepareCreate(tenant, object);
+        join(writeOperations().write(CassandraWriteOperations.Operation.INSERT, List.of(prepared), options,
+                maxBatchSize(), maxInFlightRequests()));
+        return this.afterCreate(tenant, prepared);
     }
 
     @Override
     public List<T> createBatch(String tenant, List<T> objects) {
-        return List.of();
+        return createBatch(tenant, objects, CassandraWriteOptions.NONE);
+    }
+
+    /**
+     * Create entities of a tenant with write options, grouped by partition in unlogged batches and written
+     * concurrently.
+     *
+     * @param tenant  the tenant
+     * @param objects the entities
+     * @param options the write options: TTL and write timestamp
+     * @return the created entities
+     */
+    public List<T> createBatch(String tenant, List<T> objects, CassandraWriteOptions options) {
+        return join(createBatchAsync(tenant, objects, options));
+    }
+
+    /**
+     * Create entities of a tenant with write options, without waiting for the writes. The call blocks only while
+     * {@link #maxInFlightRequests()} requests are awaiting their response.
+     *
+     * @param tenant  the tenant
+     * @param objects the entities
+     * @param options the write options: TTL and write timestamp
+     * @return the future of the created entities
+     */
+    public CompletableFuture<List<T>> createBatchAsync(String tenant, List<T> objects, CassandraWriteOptions options) {
+        validateListNotEmpty(objects);
+        List<T> prepared = objects.stream().map(object -> prepareCreate(tenant, object)).toList();
+        return writeOperations().write(CassandraWriteOperations.Operation.INSERT, prepared, options,
+                        maxBatchSize(), maxInFlightRequests())
+                .thenApply(done -> prepared.stream().map(object -> this.afterCreate(tenant, object)).toList());
     }
 
     @Override
@@ -167,13 +255,49 @@ public abstract class CassandraCrudTenantService<I extends Serializable,
     }
 
     @Override
+    @Transactional
     public T update(String tenant, T object) {
-        return null;
+        return update(tenant, object, CassandraWriteOptions.NONE);
+    }
+
+    /**
+     * Update an entity of a tenant with write options.
+     *
+     * @param tenant  the tenant
+     * @param object  the entity
+     * @param options the write options: TTL and write timestamp
+     * @return the updated entity
+     */
+    @Transactional
+    public T update(String tenant, T object, CassandraWriteOptions options) {
+        T prepared = prepareUpdate(tenant, object);
+        join(writeOperations().write(CassandraWriteOperations.Operation.UPDATE, List.of(prepared), options,
+                maxBatchSize(), maxInFlightRequests()));
+        return this.afterUpdate(tenant, prepared);
     }
 
     @Override
+    @Transactional
     public List<T> updateBatch(String tenant, List<T> objects) {
-        return List.of();
+        return updateBatch(tenant, objects, CassandraWriteOptions.NONE);
+    }
+
+    /**
+     * Update entities of a tenant with write options, grouped by partition in unlogged batches and written
+     * concurrently.
+     *
+     * @param tenant  the tenant
+     * @param objects the entities
+     * @param options the write options: TTL and write timestamp
+     * @return the updated entities
+     */
+    @Transactional
+    public List<T> updateBatch(String tenant, List<T> objects, CassandraWriteOptions options) {
+        validateListNotEmpty(objects);
+        List<T> prepared = objects.stream().map(object -> prepareUpdate(tenant, object)).toList();
+        join(writeOperations().write(CassandraWriteOperations.Operation.UPDATE, prepared, options,
+                maxBatchSize(), maxInFlightRequests()));
+        return prepared.stream().map(object -> this.afterUpdate(tenant, object)).toList();
     }
 
     @Override
@@ -245,18 +369,192 @@ public abstract class CassandraCrudTenantService<I extends Serializable,
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<T> findAllByCriteriaFilter(String tenant, List<QueryCriteria> criteria) {
-        return null;
+        log.info("Retrieving {} entities by criteria for tenant {}", this.getPersistentClass().getSimpleName(), tenant);
+        log.debug("Criteria: {}", criteria);
+        List<T> result = readOperations().select(criteriaQuery(tenant, criteria));
+        log.debug("Retrieved {} filtered {} entities", result.size(), this.getPersistentClass().getSimpleName());
+        return result.isEmpty() ? result : this.afterFindAll(tenant, result);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<T> findAllByCriteriaFilter(String tenant, List<QueryCriteria> criteria, PageRequest pageRequest) {
-        return null;
+        log.info("Retrieving paginated {} entities by criteria for tenant {}", this.getPersistentClass().getSimpleName(), tenant);
+        log.debug("Criteria: {}, PageRequest: {}", criteria, pageRequest);
+        Page<T> page = readOperations().page(criteriaQuery(tenant, criteria), pageRequest);
+        return page.isEmpty() ? page : new PageImpl<>(this.afterFindAll(tenant, page.getContent()), pageRequest, page.getTotalElements());
     }
 
+    /**
+     * Find a slice of entities of a tenant by criteria, resuming from the cursor of the previous slice.
+     *
+     * @param tenant   the tenant
+     * @param criteria the criteria
+     * @param size     the slice size
+     * @param cursor   the cursor of the previous slice, null for the first one
+     * @return the slice, its next cursor is given by {@link CassandraCursor#of(Slice)}
+     */
+    @Transactional(readOnly = true)
+    public Slice<T> findSliceByCriteriaFilter(String tenant, List<QueryCriteria> criteria, int size, String cursor) {
+        Slice<T> slice = readOperations().slice(criteriaQuery(tenant, criteria), size, cursor);
+        if (slice.isEmpty()) {
+            return slice;
+        }
+        return new SliceImpl<>(this.afterFindAll(tenant, slice.getContent()), slice.getPageable(), slice.hasNext());
+    }
+
+    /**
+     * Gets the entities of the ids, of every tenant. Use {@link #getByIdIn(String, List)} to read the entities of a
+     * tenant.
+     *
+     * @param ids the ids
+     * @return the entities
+     */
     @Override
+    @Transactional(readOnly = true)
     public List<T> getByIdIn(List<I> ids) {
-        return null;
+        if (CollectionUtils.isEmpty(ids)) {
+            return Collections.emptyList();
+        }
+        return readOperations().selectByIds(ids, maxInFlightRequests());
+    }
+
+    /**
+     * Gets the entities of the ids that belong to a tenant, of every tenant for the super tenant.
+     *
+     * @param tenant the tenant
+     * @param ids    the ids
+     * @return the entities
+     */
+    @Transactional(readOnly = true)
+    public List<T> getByIdIn(String tenant, List<I> ids) {
+        List<T> entities = getByIdIn(ids);
+        if (TenantConstants.SUPER_TENANT_NAME.equals(tenant)) {
+            return entities;
+        }
+        return entities.stream().filter(entity -> Objects.equals(tenant, entity.getTenant())).toList();
+    }
+
+    /**
+     * Whether the criteria queries needing ALLOW FILTERING are accepted. Filtering scans and discards rows on every
+     * node, only enable it for small tables or partitions.
+     *
+     * @return the boolean
+     */
+    protected boolean allowFiltering() {
+        return false;
+    }
+
+    /**
+     * Gets the maximum number of requests in flight in {@link #getByIdIn(List)} and in the batched writes.
+     *
+     * @return the int
+     */
+    protected int maxInFlightRequests() {
+        return CassandraCrudService.DEFAULT_MAX_IN_FLIGHT_REQUESTS;
+    }
+
+    /**
+     * Gets the maximum number of statements of an unlogged batch. Batches only group rows of the same partition.
+     *
+     * @return the int
+     */
+    protected int maxBatchSize() {
+        return CassandraCrudService.DEFAULT_MAX_BATCH_SIZE;
+    }
+
+    private T prepareCreate(String tenant, T object) {
+        if (Objects.isNull(object)) {
+            throw new BadArgumentException(LogConstants.NULL_OBJECT_PROVIDED);
+        }
+        if (object.getId() != null) {
+            throw new EntityExistsException();
+        }
+        TenantHelper.assignTenantIfApplicable(tenant, object);
+        T prepared = this.beforeCreate(tenant, object);
+        assignCodeIfEmpty(prepared);
+        return prepared;
+    }
+
+    private T prepareUpdate(String tenant, T object) {
+        if (Objects.isNull(object)) {
+            throw new BadArgumentException(LogConstants.NULL_OBJECT_PROVIDED);
+        }
+        if (object.getId() == null) {
+            throw new EntityNotFoundException();
+        }
+        if (!TenantConstants.SUPER_TENANT_NAME.equals(tenant) && !Objects.equals(tenant, object.getTenant())) {
+            throw new OperationNotAllowedException("Update " + this.getPersistentClass().getSimpleName() + " with id: " + object.getId());
+        }
+        T prepared = this.beforeUpdate(tenant, object);
+        assignCodeIfEmpty(prepared);
+        return prepared;
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private Query criteriaQuery(String tenant, List<QueryCriteria> criteria) {
+        if (CollectionUtils.isEmpty(criteria)) {
+            log.error("Null or empty criteria provided for findAllByCriteriaFilter");
+            throw new EmptyCriteriaFilterException("Criteria filter list is null or empty");
+        }
+        if (TenantConstants.SUPER_TENANT_NAME.equals(tenant)) {
+            return readOperations().query(criteria, allowFiltering());
+        }
+        if (!CassandraCriteriaHelper.getColumns(getPersistentClass(), cassandraOperations.getConverter().getMappingContext())
+                .containsKey(TENANT_FIELD)) {
+            throw new WrongCriteriaFilterException(getPersistentClass().getSimpleName()
+                    + " has no tenant column, its criteria cannot be restricted to tenant " + tenant);
+        }
+        // The tenant restriction comes first, it is usually the partition key of tenant tables
+        List<QueryCriteria> tenantCriteria = new ArrayList<>(criteria.size() + 1);
+        tenantCriteria.add(QueryCriteria.builder()
+                .name(TENANT_FIELD)
+                .operator(IEnumOperator.Types.EQ)
+                .value(tenant)
+                .build());
+        // The first criterion has no predecessor, its combiner is ignored until it follows the tenant restriction
+        QueryCriteria first = criteria.get(0);
+        tenantCriteria.add(QueryCriteria.builder()
+                .combiner(IEnumCriteriaCombiner.Types.AND)
+                .name(first.getName())
+                .operator(first.getOperator())
+                .value(first.getValue())
+                .build());
+        tenantCriteria.addAll(criteria.subList(1, criteria.size()));
+        return readOperations().query(tenantCriteria, allowFiltering());
+    }
+
+    private CassandraReadOperations<T> readOperations() {
+        if (readOperations == null) {
+            readOperations = new CassandraReadOperations<>(persistentClass, cassandraOperations, asyncOperations());
+        }
+        return readOperations;
+    }
+
+    private CassandraWriteOperations<T> writeOperations() {
+        if (writeOperations == null) {
+            writeOperations = new CassandraWriteOperations<>(persistentClass, asyncOperations(),
+                    EntityCallbacks.create(applicationContext), applicationContext,
+                    new CassandraWriteMetrics(persistentClass.getSimpleName(), meterRegistry));
+        }
+        return writeOperations;
+    }
+
+    private AsyncCassandraOperations asyncOperations() {
+        if (asyncOperations == null) {
+            asyncOperations = asyncCassandraOperations != null ? asyncCassandraOperations
+                    : CassandraWriteOperations.asyncTemplate(cqlSession, cassandraOperations.getConverter(), applicationContext);
+        }
+        return asyncOperations;
     }
 
     /**
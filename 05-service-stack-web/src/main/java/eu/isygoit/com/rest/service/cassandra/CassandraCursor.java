@@ -0,0 +1,74 @@
+package eu.isygoit.com.rest.service.cassandra;
+
+import eu.isygoit.exception.BadArgumentException;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * The type Cassandra cursor, an opaque string carrying the driver paging state of the next slice.
+ * <p>
+ * Unlike an offset, the paging state resumes the read where the previous slice stopped, so fetching slice N costs the
+ * same as fetching the first one. The cursor is only valid for the same query and page size.
+ */
+public final class CassandraCursor {
+
+    private CassandraCursor() {
+    }
+
+    /**
+     * Gets the cursor of the slice following the given one.
+     *
+     * @param slice the slice
+     * @return the cursor, null when the slice is the last one
+     */
+    public static String of(Slice<?> slice) {
+        if (!slice.hasNext() || !(slice.nextPageable() instanceof CassandraPageRequest next)
+                || next.getPagingState() == null) {
+            return null;
+        }
+        ByteBuffer pagingState = next.getPagingState().duplicate();
+        byte[] bytes = new byte[pagingState.remaining()];
+        pagingState.get(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Gets the page request resuming from a cursor.
+     *
+     * @param cursor the cursor, null or empty for the first slice
+     * @param size   the slice size
+     * @param sort   the sort
+     * @return the cassandra page request
+     * @throws BadArgumentException if the cursor is malformed
+     */
+    public static CassandraPageRequest pageRequest(String cursor, int size, Sort sort) {
+        if (size <= 0) {
+            throw new BadArgumentException("Slice size must be positive: " + size);
+        }
+        if (cursor == null || cursor.isBlank()) {
+            return CassandraPageRequest.first(size, sort);
+        }
+        try {
+            ByteBuffer pagingState = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+            return CassandraPageRequest.of(PageRequest.of(0, size, sort), pagingState);
+        } catch (IllegalArgumentException e) {
+            throw new BadArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Whether a pageable carries a paging state to resume from.
+     *
+     * @param pageable the pageable
+     * @return the boolean
+     */
+    static boolean hasPagingState(Pageable pageable) {
+        return pageable instanceof CassandraPageRequest request && request.getPagingState() != null;
+    }
+}
@@ -0,0 +1,143 @@
+package eu.isygoit.com.rest.service.cassandra;
+
+import eu.isygoit.exception.DatabaseAccessException;
+import eu.isygoit.filter.QueryCriteria;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.cassandra.core.AsyncCassandraOperations;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.domain.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * The type Cassandra read operations, shared by the cassandra crud services.
+ *
+ * @param <T> the entity type
+ */
+@Slf4j
+class CassandraReadOperations<T> {
+
+    private final Class<T> entityClass;
+    private final CassandraOperations operations;
+    private final AsyncCassandraOperations asyncOperations;
+
+    /**
+     * Instantiates a new Cassandra read operations.
+     *
+     * @param entityClass     the entity class
+     * @param operations      the cassandra operations
+     * @param asyncOperations the async cassandra operations
+     */
+    CassandraReadOperations(Class<T> entityClass, CassandraOperations operations, AsyncCassandraOperations asyncOperations) {
+        this.entityClass = entityClass;
+        this.operations = operations;
+        this.asyncOperations = asyncOperations;
+    }
+
+    /**
+     * Build the query of the criteria.
+     *
+     * @param criteria       the criteria
+     * @param allowFiltering whether ALLOW FILTERING is accepted
+     * @return the query
+     */
+    Query query(List<QueryCriteria> criteria, boolean allowFiltering) {
+        return CassandraCriteriaHelper.buildQuery(criteria, entityClass,
+                operations.getConverter().getMappingContext(), allowFiltering);
+    }
+
+    /**
+     * Select every row of the query.
+     *
+     * @param query the query
+     * @return the list
+     */
+    List<T> select(Query query) {
+        return operations.select(query, entityClass);
+    }
+
+    /**
+     * Select the slice of the query starting at a cursor.
+     *
+     * @param query  the query
+     * @param size   the slice size
+     * @param cursor the cursor, null for the first slice
+     * @return the slice
+     */
+    Slice<T> slice(Query query, int size, String cursor) {
+        return operations.slice(query.pageRequest(CassandraCursor.pageRequest(cursor, size, Sort.unsorted())), entityClass);
+    }
+
+    /**
+     * Select a page of the query. Cassandra has no offset: reaching page N follows the paging state of the N previous
+     * slices, prefer {@link #slice(Query, int, String)} for deep pages. The total is a lower bound, the rows read so far
+     * plus one when there is a next page.
+     *
+     * @param query    the query
+     * @param pageable the pageable
+     * @return the page
+     */
+    Page<T> page(Query query, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            List<T> content = select(query.sort(pageable.getSort()));
+            return new PageImpl<>(content, pageable, content.size());
+        }
+
+        Pageable request = CassandraCursor.hasPagingState(pageable)
+                ? pageable
+                : CassandraPageRequest.first(pageable.getPageSize(), pageable.getSort());
+        Slice<T> slice = operations.slice(query.pageRequest(request), entityClass);
+        for (int page = 0; page < pageable.getPageNumber() && !CassandraCursor.hasPagingState(pageable); page++) {
+            if (!slice.hasNext()) {
+                return new PageImpl<>(List.of(), pageable, (long) page * pageable.getPageSize() + slice.getNumberOfElements());
+            }
+            slice = operations.slice(query.pageRequest(slice.nextPageable()), entityClass);
+        }
+
+        long total = pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+
+    /**
+     * Select the entities of the ids, reading their partitions in parallel with a bounded number of requests in
+     * flight. The entities keep the order of the ids, missing ones are skipped.
+     *
+     * @param ids         the ids
+     * @param maxInFlight the maximum number of requests in flight
+     * @return the list
+     */
+    List<T> selectByIds(List<?> ids, int maxInFlight) {
+        Semaphore inFlight = new Semaphore(Math.max(1, maxInFlight));
+        List<CompletableFuture<T>> futures = new ArrayList<>(ids.size());
+        try {
+            for (Object id : ids) {
+                inFlight.acquire();
+                CompletableFuture<T> future;
+                try {
+                    future = asyncOperations.selectOneById(id, entityClass);
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    throw e;
+                }
+                futures.add(future.whenComplete((entity, error) -> inFlight.release()));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new DatabaseAccessException("Interrupted while reading " + entityClass.getSimpleName() + " by ids", e);
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+
+        log.debug("Read {} {} partitions with up to {} requests in flight", ids.size(), entityClass.getSimpleName(), maxInFlight);
+        return futures.stream().map(CompletableFuture::join).filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,107 @@
+package eu.isygoit.com.rest.service.cassandra;
+
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Cassandra write metrics, recording the driver requests issued by the write path of an entity:
+ * <ul>
+ *     <li>{@code cassandra.write.requests}: request latency, by operation, mode (single or batch) and outcome</li>
+ *     <li>{@code cassandra.write.batch.statements}: statements per unlogged batch</li>
+ *     <li>{@code cassandra.write.in.flight}: requests awaiting their response</li>
+ *     <li>{@code cassandra.write.warnings}: warnings returned by the coordinators, e.g. batch size thresholds</li>
+ * </ul>
+ * Without a meter registry only the in-flight count and the warning logs are kept.
+ */
+@Slf4j
+class CassandraWriteMetrics {
+
+    private final String entity;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final DistributionSummary batchStatements;
+
+    /**
+     * Instantiates a new Cassandra write metrics.
+     *
+     * @param entity        the entity name
+     * @param meterRegistry the meter registry, null when none
+     */
+    CassandraWriteMetrics(String entity, MeterRegistry meterRegistry) {
+        this.entity = entity;
+        this.meterRegistry = meterRegistry;
+        if (meterRegistry != null) {
+            meterRegistry.gauge("cassandra.write.in.flight", Tags.of("entity", entity), inFlight);
+            this.batchStatements = DistributionSummary.builder("cassandra.write.batch.statements")
+                    .tag("entity", entity)
+                    .register(meterRegistry);
+        } else {
+            this.batchStatements = null;
+        }
+    }
+
+    /**
+     * Record the start of a request.
+     *
+     * @param statements the number of statements of the request
+     * @return the start time in nanoseconds
+     */
+    long started(int statements) {
+        inFlight.incrementAndGet();
+        if (batchStatements != null && statements > 1) {
+            batchStatements.record(statements);
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Record the completion of a request.
+     *
+     * @param operation      the operation
+     * @param statements     the number of statements of the request
+     * @param start          the start time in nanoseconds
+     * @param executionInfos the execution infos of the request, null on failure
+     * @param error          the failure, null on success
+     */
+    void completed(CassandraWriteOperations.Operation operation, int statements, long start,
+                   List<ExecutionInfo> executionInfos, Throwable error) {
+        inFlight.decrementAndGet();
+        if (executionInfos != null) {
+            for (ExecutionInfo executionInfo : executionInfos) {
+                for (String warning : executionInfo.getWarnings()) {
+                    log.warn("Cassandra {} of {} {} rows warned: {}", operation, statements, entity, warning);
+                    if (meterRegistry != null) {
+                        meterRegistry.counter("cassandra.write.warnings", "entity", entity).increment();
+                    }
+                }
+            }
+        }
+        if (meterRegistry != null) {
+            Timer.builder("cassandra.write.requests")
+                    .tag("entity", entity)
+                    .tag("operation", operation.name().toLowerCase(Locale.ROOT))
+                    .tag("mode", statements > 1 ? "batch" : "single")
+                    .tag("outcome", error == null ? "success" : "error")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Gets the number of requests in flight.
+     *
+     * @return the int
+     */
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
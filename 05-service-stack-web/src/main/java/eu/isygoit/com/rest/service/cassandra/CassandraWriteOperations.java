@@ -0,0 +1,276 @@
+package eu.isygoit.com.rest.service.cassandra;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import eu.isygoit.exception.DatabaseAccessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.cassandra.core.AsyncCassandraOperations;
+import org.springframework.data.cassandra.core.AsyncCassandraTemplate;
+import org.springframework.data.cassandra.core.StatementFactory;
+import org.springframework.data.cassandra.core.WriteResult;
+import org.springframework.data.cassandra.core.convert.CassandraConverter;
+import org.springframework.data.cassandra.core.mapping.CassandraMappingContext;
+import org.springframework.data.cassandra.core.mapping.CassandraPersistentEntity;
+import org.springframework.data.cassandra.core.mapping.CassandraPersistentProperty;
+import org.springframework.data.cassandra.core.mapping.event.*;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mapping.callback.EntityCallback;
+import org.springframework.data.mapping.callback.EntityCallbacks;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * The type Cassandra write operations, the asynchronous write path shared by the cassandra crud services.
+ * <p>
+ * The rows of a write are grouped by partition key: the rows of a partition go in unlogged batches, applied by their
+ * replicas as a single mutation, while the partitions are written concurrently, with a bounded number of requests in
+ * flight. A batch never spans partitions, which would make its coordinator fan out to the replicas of each of them.
+ * <p>
+ * Single rows are written by the async template. Batches are built from the statements of the template, so they run
+ * the same entity callbacks, auditing included, and publish the same lifecycle events. The rows of versioned entities
+ * are never batched: each is written by the template with its optimistic locking condition, still concurrently.
+ *
+ * @param <T> the entity type
+ */
+@Slf4j
+class CassandraWriteOperations<T> {
+
+    private final Class<T> entityClass;
+    private final CassandraConverter converter;
+    private final CassandraMappingContext mappingContext;
+    private final CassandraPersistentEntity<?> persistentEntity;
+    private final CqlIdentifier tableName;
+    private final AsyncCassandraOperations asyncOperations;
+    private final StatementFactory statementFactory;
+    private final EntityCallbacks entityCallbacks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CassandraWriteMetrics metrics;
+    private final List<KeyPath> partitionKey;
+
+    /**
+     * Instantiates a new Cassandra write operations.
+     *
+     * @param entityClass     the entity class
+     * @param asyncOperations the async cassandra operations, with the entity callbacks of the application
+     * @param entityCallbacks the entity callbacks applied to batched rows, null for none
+     * @param eventPublisher  the publisher of the lifecycle events of batched rows, null for none
+     * @param metrics         the write metrics
+     */
+    CassandraWriteOperations(Class<T> entityClass, AsyncCassandraOperations asyncOperations,
+                             EntityCallbacks entityCallbacks, ApplicationEventPublisher eventPublisher,
+                             CassandraWriteMetrics metrics) {
+        this.entityClass = entityClass;
+        this.converter = asyncOperations.getConverter();
+        this.mappingContext = converter.getMappingContext();
+        this.asyncOperations = asyncOperations;
+        this.statementFactory = new StatementFactory(converter);
+        this.entityCallbacks = entityCallbacks;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.persistentEntity = mappingContext.getRequiredPersistentEntity(entityClass);
+        this.tableName = persistentEntity.getTableName();
+        this.partitionKey = partitionKeyPaths(persistentEntity);
+    }
+
+    /**
+     * Create an async template running the entity callbacks, auditing included, and publishing the lifecycle events
+     * of the application context, as the template declared by Spring Data does.
+     *
+     * @param session            the cql session
+     * @param converter          the cassandra converter
+     * @param applicationContext the application context
+     * @return the async cassandra template
+     */
+    static AsyncCassandraTemplate asyncTemplate(CqlSession session, CassandraConverter converter,
+                                                ApplicationContext applicationContext) {
+        AsyncCassandraTemplate template = new AsyncCassandraTemplate(session, converter);
+        template.setApplicationContext(applicationContext);
+        template.setApplicationEventPublisher(applicationContext);
+        template.setEntityCallbacks(EntityCallbacks.create(applicationContext));
+        return template;
+    }
+
+    /**
+     * Write entities, grouped by partition in unlogged batches of at most {@code maxBatchSize} statements, one row per
+     * request for versioned entities. Blocks while {@code maxInFlight} requests are awaiting their response, the
+     * returned future completes once every request completed.
+     *
+     * @param operation    the operation
+     * @param entities     the entities
+     * @param options      the write options
+     * @param maxBatchSize the maximum number of statements per batch
+     * @param maxInFlight  the maximum number of requests in flight
+     * @return the future
+     */
+    CompletableFuture<Void> write(Operation operation, List<T> entities, CassandraWriteOptions options,
+                                  int maxBatchSize, int maxInFlight) {
+        Map<List<Object>, List<T>> partitions = groupByPartition(entities);
+        // A batch statement carries no version condition: versioned rows go through the template one by one
+        int batchSize = persistentEntity.hasVersionProperty() ? 1 : Math.max(1, maxBatchSize);
+        Semaphore inFlight = new Semaphore(Math.max(1, maxInFlight));
+        List<CompletableFuture<?>> requests = new ArrayList<>();
+        try {
+            for (List<T> rows : partitions.values()) {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    List<T> chunk = rows.subList(from, Math.min(rows.size(), from + batchSize));
+                    inFlight.acquire();
+                    requests.add(execute(operation, chunk, options).whenComplete((result, error) -> inFlight.release()));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new DatabaseAccessException(
+                    "Interrupted while writing " + entityClass.getSimpleName() + " entities", e));
+        }
+
+        log.debug("{} {} {} rows of {} partitions in {} requests", operation, entities.size(),
+                entityClass.getSimpleName(), partitions.size(), requests.size());
+        return CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Group entities by partition key, keeping their order within a partition.
+     *
+     * @param entities the entities
+     * @return the entities by partition key
+     */
+    Map<List<Object>, List<T>> groupByPartition(List<T> entities) {
+        Map<List<Object>, List<T>> partitions = new LinkedHashMap<>();
+        for (T entity : entities) {
+            partitions.computeIfAbsent(partitionKeyOf(entity), key -> new ArrayList<>()).add(entity);
+        }
+        return partitions;
+    }
+
+    private CompletableFuture<List<ExecutionInfo>> execute(Operation operation, List<T> rows, CassandraWriteOptions options) {
+        long start = metrics.started(rows.size());
+        CompletableFuture<List<ExecutionInfo>> request;
+        try {
+            request = rows.size() == 1 ? single(operation, rows.get(0), options) : batch(operation, rows, options);
+        } catch (RuntimeException e) {
+            metrics.completed(operation, rows.size(), start, null, e);
+            return CompletableFuture.failedFuture(e);
+        }
+        return request.whenComplete((executionInfos, error) ->
+                metrics.completed(operation, rows.size(), start, executionInfos, error));
+    }
+
+    private CompletableFuture<List<ExecutionInfo>> single(Operation operation, T row, CassandraWriteOptions options) {
+        CompletableFuture<? extends WriteResult> request = switch (operation) {
+            case INSERT -> asyncOperations.insert(row, options.toInsertOptions());
+            case UPDATE -> asyncOperations.update(row, options.toUpdateOptions());
+            case DELETE -> asyncOperations.delete(row, options.toDeleteOptions());
+        };
+        return request.thenApply(WriteResult::getExecutionInfo);
+    }
+
+    private CompletableFuture<List<ExecutionInfo>> batch(Operation operation, List<T> rows, CassandraWriteOptions options) {
+        if (persistentEntity.hasVersionProperty()) {
+            throw new IllegalStateException("Versioned " + entityClass.getSimpleName()
+                    + " entities cannot be batched without losing their optimistic locking");
+        }
+        BatchStatementBuilder batch = BatchStatement.builder(DefaultBatchType.UNLOGGED);
+        List<Object> entities = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            Object entity = operation == Operation.DELETE ? row : callback(BeforeConvertCallback.class, row, tableName);
+            SimpleStatement statement = switch (operation) {
+                case INSERT -> statementFactory.insert(entity, options.toInsertOptions(), persistentEntity, tableName).build();
+                case UPDATE -> statementFactory.update(entity, options.toUpdateOptions(), persistentEntity, tableName).build();
+                case DELETE -> statementFactory.delete(entity, options.toDeleteOptions(), converter, tableName).build();
+            };
+            if (operation == Operation.DELETE) {
+                publish(new BeforeDeleteEvent<>(statement, entityClass, tableName));
+            } else {
+                publish(new BeforeSaveEvent<>(entity, tableName, statement));
+                entity = callback(BeforeSaveCallback.class, entity, tableName, statement);
+            }
+            entities.add(entity);
+            batch.addStatement(statement);
+        }
+        BatchStatement statement = batch.build();
+        return asyncOperations.getAsyncCqlOperations().queryForResultSet(statement).thenApply(resultSet -> {
+            if (operation == Operation.DELETE) {
+                publish(new AfterDeleteEvent<>(statement, entityClass, tableName));
+            } else {
+                entities.forEach(entity -> publish(new AfterSaveEvent<>(entity, tableName)));
+            }
+            return List.of(resultSet.getExecutionInfo());
+        });
+    }
+
+    private Object callback(Class<? extends EntityCallback> type, Object entity, Object... arguments) {
+        return entityCallbacks == null ? entity : entityCallbacks.callback(type, entity, arguments);
+    }
+
+    private void publish(CassandraMappingEvent<?> event) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    private List<Object> partitionKeyOf(T entity) {
+        List<Object> key = new ArrayList<>(partitionKey.size());
+        for (KeyPath path : partitionKey) {
+            Object value = persistentEntity.getPropertyAccessor(entity).getProperty(path.property());
+            if (path.keyProperty() != null && value != null) {
+                value = mappingContext.getRequiredPersistentEntity(path.property())
+                        .getPropertyAccessor(value).getProperty(path.keyProperty());
+            }
+            key.add(value);
+        }
+        return key;
+    }
+
+    private List<KeyPath> partitionKeyPaths(CassandraPersistentEntity<?> entity) {
+        List<KeyPath> paths = new ArrayList<>();
+        entity.doWithProperties((PropertyHandler<CassandraPersistentProperty>) property -> {
+            if (property.isCompositePrimaryKey()) {
+                mappingContext.getRequiredPersistentEntity(property)
+                        .doWithProperties((PropertyHandler<CassandraPersistentProperty>) keyProperty -> {
+                            if (keyProperty.isPartitionKeyColumn()) {
+                                paths.add(new KeyPath(property, keyProperty));
+                            }
+                        });
+            } else if (property.isPartitionKeyColumn() || property.isIdProperty()) {
+                paths.add(new KeyPath(property, null));
+            }
+        });
+        return List.copyOf(paths);
+    }
+
+    /**
+     * The enum Operation.
+     */
+    enum Operation {
+        /**
+         * Insert operation.
+         */
+        INSERT,
+        /**
+         * Update operation.
+         */
+        UPDATE,
+        /**
+         * Delete operation.
+         */
+        DELETE
+    }
+
+    /**
+     * A partition key column, held by the entity or by its composite primary key.
+     *
+     * @param property    the entity property
+     * @param keyProperty the property of the composite primary key, null when the column is held by the entity
+     */
+    private record KeyPath(CassandraPersistentProperty property, CassandraPersistentProperty keyProperty) {
+    }
+}
@@ -0,0 +1,75 @@
+package eu.isygoit.com.rest.service.cassandra;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.data.cassandra.core.DeleteOptions;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.UpdateOptions;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The type Cassandra write options, applied to every statement of a write.
+ * <p>
+ * The time to live expires the written cells ({@code USING TTL}), the timestamp sets their write time
+ * ({@code USING TIMESTAMP}): replaying a write with the same timestamp is idempotent, and a write with an older
+ * timestamp than the stored cells is ignored.
+ */
+@Getter
+@Builder
+public class CassandraWriteOptions {
+
+    /**
+     * The constant NONE, writing with the table default TTL and the coordinator time.
+     */
+    public static final CassandraWriteOptions NONE = CassandraWriteOptions.builder().build();
+
+    private final Duration ttl;
+    private final Instant timestamp;
+
+    /**
+     * Gets the options of an insert.
+     *
+     * @return the insert options
+     */
+    InsertOptions toInsertOptions() {
+        InsertOptions.InsertOptionsBuilder builder = InsertOptions.builder();
+        if (ttl != null) {
+            builder.ttl(ttl);
+        }
+        if (timestamp != null) {
+            builder.timestamp(timestamp);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the options of an update.
+     *
+     * @return the update options
+     */
+    UpdateOptions toUpdateOptions() {
+        UpdateOptions.UpdateOptionsBuilder builder = UpdateOptions.builder();
+        if (ttl != null) {
+            builder.ttl(ttl);
+        }
+        if (timestamp != null) {
+            builder.timestamp(timestamp);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the options of a delete. CQL deletes take no TTL, only the timestamp applies.
+     *
+     * @return the delete options
+     */
+    DeleteOptions toDeleteOptions() {
+        DeleteOptions.DeleteOptionsBuilder builder = DeleteOptions.builder();
+        if (timestamp != null) {
+            builder.timestamp(timestamp);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,38 @@
+package eu.isygoit.com.rest.service.media;
+
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * The type Chunked upload exception.
+ * <p>
+ * Thrown when a chunked upload fails after the DMS assigned it an upload id, so that the caller can resume it with
+ * {@link IStreamingLinkedFileApi#resumeChunked(String, org.springframework.web.multipart.MultipartFile, int)}.
+ */
+@Getter
+public class ChunkedUploadException extends IOException {
+
+    /**
+     * The upload id returned by the DMS when the upload started.
+     */
+    private final String uploadId;
+
+    /**
+     * The number of bytes from the start of the file confirmed as received by the DMS.
+     */
+    private final long confirmedOffset;
+
+    /**
+     * Instantiates a new Chunked upload exception.
+     *
+     * @param uploadId        the upload id
+     * @param confirmedOffset the confirmed offset
+     * @param cause           the cause
+     */
+    public ChunkedUploadException(String uploadId, long confirmedOffset, Throwable cause) {
+        super("Chunked upload " + uploadId + " failed after " + confirmedOffset + " confirmed bytes", cause);
+        this.uploadId = uploadId;
+        this.confirmedOffset = confirmedOffset;
+    }
+}
@@ -0,0 +1,305 @@
+package eu.isygoit.com.rest.service.media;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * The type Content addressed store.
+ * <p>
+ * Deduplicating storage for uploaded files. Each distinct content is kept once as a blob named by its SHA-256 under
+ * {@code <directory>/.blobs/ab/cd/<hash>}; the entity file ({@code <directory>/<code>.<ext>}) is a hard link to the
+ * blob (a copy when the file system has no hard links), so downloads and the existing path layout are unchanged.
+ * <p>
+ * Every blob has a {@code <hash>.refs} file listing the entity files that use it. A blob is removed when its last
+ * reference is released, and {@link #collectGarbage(Path)} reconciles blobs whose entity files were removed by other
+ * means; {@link ContentAddressedStoreGarbageCollector} runs it periodically when {@code gc-roots} is configured.
+ * Reference files are updated under an in-process lock and an exclusive file lock, so several instances can
+ * share the same volume.
+ */
+@Slf4j
+public final class ContentAddressedStore {
+
+    /**
+     * The constant ENABLED_PROPERTY, the configuration property enabling the store for the local uploads of the file
+     * services.
+     */
+    public static final String ENABLED_PROPERTY = "isygoit.file.content-addressed";
+
+    /**
+     * The constant BLOB_DIRECTORY.
+     */
+    public static final String BLOB_DIRECTORY = ".blobs";
+
+    private static final String TEMP_DIRECTORY = "tmp";
+    private static final String REFS_SUFFIX = ".refs";
+    private static final Duration TEMP_FILE_EXPIRY = Duration.ofHours(1);
+    private static final Object[] LOCKS = new Object[64];
+
+    static {
+        Arrays.setAll(LOCKS, i -> new Object());
+    }
+
+    private ContentAddressedStore() {
+    }
+
+    /**
+     * Is the directory holding content addressed blobs.
+     *
+     * @param directory the directory
+     * @return the boolean
+     */
+    public static boolean isManaged(Path directory) {
+        return Files.isDirectory(directory.resolve(BLOB_DIRECTORY));
+    }
+
+    /**
+     * Store the stream as blob and link the target to it. Identical content already stored in the directory is
+     * only hashed, the new bytes are discarded.
+     *
+     * @param input           the input
+     * @param target          the target
+     * @param replaceExisting release and replace an existing target
+     * @return the hex encoded SHA-256 of the content
+     * @throws IOException the io exception
+     */
+    public static String store(InputStream input, Path target, boolean replaceExisting) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Path tempDirectory = Files.createDirectories(directory.resolve(BLOB_DIRECTORY).resolve(TEMP_DIRECTORY));
+        Path temp = Files.createTempFile(tempDirectory, "upload-", ".part");
+        try {
+            MessageDigest digest = FileContentHash.newDigest();
+            try (DigestInputStream digestInput = new DigestInputStream(input, digest)) {
+                Files.copy(digestInput, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            if (Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+                if (!replaceExisting) {
+                    throw new FileAlreadyExistsException(target.toString());
+                }
+                release(target);
+            }
+
+            Path blob = blobPath(directory, hash);
+            String reference = target.getFileName().toString();
+            updateReferences(blob, references -> {
+                if (Files.exists(blob)) {
+                    log.debug("Content {} already stored, skipping {} bytes", hash, Files.size(temp));
+                } else {
+                    Files.createDirectories(blob.getParent());
+                    Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+                }
+                link(blob, target);
+                references.add(reference);
+            });
+            FileContentHash.record(target, hash);
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Remove the target and release its reference on the blob, deleting the blob when it was the last one.
+     * Files not stored through this class are only deleted.
+     *
+     * @param target the target
+     * @return true if the target existed
+     * @throws IOException the io exception
+     */
+    public static boolean release(Path target) throws IOException {
+        if (!Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+            return false;
+        }
+        Path directory = target.toAbsolutePath().getParent();
+        String hash = FileContentHash.get(target);
+        Path blob = blobPath(directory, hash);
+        if (!Files.exists(refsPath(blob))) {
+            Files.delete(target);
+            FileContentHash.delete(target);
+            return true;
+        }
+
+        String reference = target.getFileName().toString();
+        updateReferences(blob, references -> {
+            Files.deleteIfExists(target);
+            references.remove(reference);
+            if (references.isEmpty()) {
+                Files.deleteIfExists(blob);
+                log.debug("Last reference to {} released, blob deleted", hash);
+            }
+        });
+        FileContentHash.delete(target);
+        return true;
+    }
+
+    /**
+     * Count the references on a blob.
+     *
+     * @param directory the directory
+     * @param hash      the hash
+     * @return the number of entity files linked to the blob
+     * @throws IOException the io exception
+     */
+    public static int referenceCount(Path directory, String hash) throws IOException {
+        Path refs = refsPath(blobPath(directory, hash));
+        return Files.exists(refs) ? readReferences(Files.readAllBytes(refs)).size() : 0;
+    }
+
+    /**
+     * Drop references to entity files that were removed or rewritten outside this class, then delete the blobs
+     * left without references and abandoned temporary uploads.
+     *
+     * @param directory the directory
+     * @return the number of deleted blobs
+     * @throws IOException the io exception
+     */
+    public static int collectGarbage(Path directory) throws IOException {
+        Path root = directory.resolve(BLOB_DIRECTORY);
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+
+        List<Path> blobs;
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            blobs = files.filter(path -> root.relativize(path).getNameCount() == 3)
+                    .filter(path -> !path.startsWith(root.resolve(TEMP_DIRECTORY)))
+                    .filter(path -> !path.getFileName().toString().endsWith(REFS_SUFFIX))
+                    .toList();
+        }
+
+        int deleted = 0;
+        for (Path blob : blobs) {
+            String hash = blob.getFileName().toString();
+            boolean[] removed = {false};
+            updateReferences(blob, references -> {
+                references.removeIf(reference -> !isLinked(directory.resolve(reference), blob, hash));
+                if (references.isEmpty()) {
+                    removed[0] = Files.deleteIfExists(blob);
+                }
+            });
+            if (removed[0]) {
+                deleted++;
+            }
+        }
+
+        deleteExpiredTempFiles(root.resolve(TEMP_DIRECTORY));
+        log.info("Content store garbage collection of {}: {} of {} blobs deleted", directory, deleted, blobs.size());
+        return deleted;
+    }
+
+    /**
+     * Blob path of a hash, sharded on its first two bytes.
+     *
+     * @param directory the directory
+     * @param hash      the hash
+     * @return the path
+     */
+    static Path blobPath(Path directory, String hash) {
+        return directory.resolve(BLOB_DIRECTORY)
+                .resolve(hash.substring(0, 2))
+                .resolve(hash.substring(2, 4))
+                .resolve(hash);
+    }
+
+    private static Path refsPath(Path blob) {
+        return blob.resolveSibling(blob.getFileName() + REFS_SUFFIX);
+    }
+
+    private static void link(Path blob, Path target) throws IOException {
+        try {
+            Files.createLink(target, blob);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            log.debug("Hard link to {} not possible ({}), copying", blob, e.getMessage());
+            Files.copy(blob, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static boolean isLinked(Path target, Path blob, String hash) {
+        try {
+            if (!Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+                return false;
+            }
+            return Files.isSameFile(target, blob) || hash.equals(FileContentHash.get(target));
+        } catch (IOException e) {
+            log.warn("Unable to check {} against blob {}, keeping the reference", target, hash, e);
+            return true;
+        }
+    }
+
+    private static void deleteExpiredTempFiles(Path tempDirectory) throws IOException {
+        if (!Files.isDirectory(tempDirectory)) {
+            return;
+        }
+        Instant expiry = Instant.now().minus(TEMP_FILE_EXPIRY);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(tempDirectory)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(expiry)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Run the update on the reference set of the blob and persist it, deleting the reference file once empty.
+     */
+    private static void updateReferences(Path blob, ReferenceUpdate update) throws IOException {
+        Path refs = refsPath(blob);
+        synchronized (LOCKS[Math.floorMod(blob.getFileName().hashCode(), LOCKS.length)]) {
+            while (true) {
+                Files.createDirectories(blob.getParent());
+                try (FileChannel channel = FileChannel.open(refs, StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+                     FileLock ignored = channel.lock()) {
+                    // Another instance may have deleted the file while we waited for the lock
+                    if (!Files.exists(refs)) {
+                        continue;
+                    }
+                    ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+                    while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                        // read the whole file
+                    }
+                    Set<String> references = readReferences(buffer.array());
+                    update.apply(references);
+
+                    if (references.isEmpty()) {
+                        Files.delete(refs);
+                    } else {
+                        channel.truncate(0);
+                        channel.write(ByteBuffer.wrap(String.join("\n", references).getBytes(StandardCharsets.UTF_8)), 0);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    private static Set<String> readReferences(byte[] content) {
+        Set<String> references = new TreeSet<>();
+        for (String line : new String(content, StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                references.add(line.trim());
+            }
+        }
+        return references;
+    }
+
+    @FunctionalInterface
+    private interface ReferenceUpdate {
+        void apply(Set<String> references) throws IOException;
+    }
+}
@@ -0,0 +1,134 @@
+package eu.isygoit.com.rest.service.media;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Content addressed store garbage collector.
+ * <p>
+ * Runs {@link ContentAddressedStore#collectGarbage(Path)} at a fixed interval on every content addressed directory
+ * found under the configured roots, so that the blobs of entity files deleted without
+ * {@link ContentAddressedStore#release(Path)} are reclaimed. Enabled by setting {@value #ROOTS_PROPERTY} to the
+ * comma-separated upload root directories.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = ContentAddressedStoreGarbageCollector.ROOTS_PROPERTY)
+public class ContentAddressedStoreGarbageCollector {
+
+    /**
+     * The constant ROOTS_PROPERTY.
+     */
+    public static final String ROOTS_PROPERTY = "isygoit.file.content-addressed.gc-roots";
+
+    /**
+     * The constant INTERVAL_PROPERTY.
+     */
+    public static final String INTERVAL_PROPERTY = "isygoit.file.content-addressed.gc-interval-ms";
+
+    private final List<Path> roots;
+    private final long intervalMs;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Instantiates a new Content addressed store garbage collector.
+     *
+     * @param roots      the directories searched for content addressed directories
+     * @param intervalMs the interval between two collections, in milliseconds
+     */
+    public ContentAddressedStoreGarbageCollector(@Value("${" + ROOTS_PROPERTY + "}") String[] roots,
+                                                 @Value("${" + INTERVAL_PROPERTY + ":21600000}") long intervalMs) {
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("Content store garbage collection interval must be positive: " + intervalMs);
+        }
+        this.roots = Arrays.stream(roots).map(String::trim).filter(root -> !root.isEmpty()).map(Path::of).toList();
+        this.intervalMs = intervalMs;
+    }
+
+    /**
+     * Start the periodic collection.
+     */
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "content-store-gc");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::collect, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the periodic collection.
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Collect the garbage of every content addressed directory under the roots.
+     *
+     * @return the number of deleted blobs
+     */
+    public int collect() {
+        int deleted = 0;
+        for (Path directory : managedDirectories()) {
+            try {
+                deleted += ContentAddressedStore.collectGarbage(directory);
+            } catch (IOException | RuntimeException e) {
+                log.error("Content store garbage collection of {} failed", directory, e);
+            }
+        }
+        return deleted;
+    }
+
+    private List<Path> managedDirectories() {
+        List<Path> directories = new ArrayList<>();
+        for (Path root : roots) {
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            try {
+                Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                        if (dir.getFileName() != null && ContentAddressedStore.BLOB_DIRECTORY.equals(dir.getFileName().toString())) {
+                            directories.add(dir.getParent());
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        log.warn("Unable to visit {} for content store garbage collection", file, e);
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                log.error("Unable to search {} for content addressed directories", root, e);
+            }
+        }
+        return directories;
+    }
+}
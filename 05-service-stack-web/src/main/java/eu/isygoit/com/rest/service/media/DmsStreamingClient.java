@@ -0,0 +1,431 @@
+package eu.isygoit.com.rest.service.media;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.isygoit.com.rest.api.ILinkedFileApi;
+import eu.isygoit.constants.RestApiConstants;
+import eu.isygoit.dto.common.LinkedFileRequestDto;
+import eu.isygoit.dto.common.LinkedFileResponseDto;
+import eu.isygoit.dto.common.PresignedTransferDto;
+import eu.isygoit.dto.common.ResourceDto;
+import eu.isygoit.exception.RemoteCallFailedException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FilenameUtils;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * The type Dms streaming client.
+ * <p>
+ * Linked file api over the JDK http client whose transfers stream instead of buffering whole files:
+ * <ul>
+ *     <li>uploads are {@code multipart/form-data} bodies sent with chunked transfer encoding, read from the
+ *     {@link MultipartFile} input stream as they are written;</li>
+ *     <li>downloads return the response body stream, written straight to the caller by
+ *     {@link FileServingEngine};</li>
+ *     <li>large uploads can be split in chunks ({@value #CHUNK_CHECKSUM_HEADER} carries the SHA-256 of each chunk,
+ *     {@value #CONTENT_CHECKSUM_HEADER} the SHA-256 of the whole file on completion). Failed chunks are retried and
+ *     an interrupted upload is resumed from the chunks the DMS already has.</li>
+ *     <li>presigned urls let clients transfer files straight from and to the object storage behind the DMS.</li>
+ * </ul>
+ * Heap use per transfer is bounded by the copy buffers, one chunk at most. Register a subclass or an instance as the
+ * bean referenced by {@code @InjectDmsLinkedFileService}.
+ */
+@Slf4j
+public class DmsStreamingClient implements ILinkedFileApi<LinkedFileRequestDto>, IStreamingLinkedFileApi,
+        IDirectTransferLinkedFileApi {
+
+    /**
+     * The constant CHUNK_CHECKSUM_HEADER.
+     */
+    public static final String CHUNK_CHECKSUM_HEADER = "X-Chunk-Sha256";
+
+    /**
+     * The constant CONTENT_CHECKSUM_HEADER.
+     */
+    public static final String CONTENT_CHECKSUM_HEADER = "X-Content-Sha256";
+
+    /**
+     * The constant DEFAULT_CHUNKED_UPLOAD_THRESHOLD.
+     */
+    public static final long DEFAULT_CHUNKED_UPLOAD_THRESHOLD = 64L * 1024 * 1024;
+
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MS = 200;
+    private static final String CRLF = "\r\n";
+
+    private final URI baseUri;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * Instantiates a new Dms streaming client.
+     *
+     * @param baseUrl the linked file api base url (the path prefix of /upload, /download and /deleteFile)
+     */
+    public DmsStreamingClient(String baseUrl) {
+        this(baseUrl, Duration.ofMinutes(10));
+    }
+
+    /**
+     * Instantiates a new Dms streaming client.
+     *
+     * @param baseUrl the base url
+     * @param timeout the timeout of a single request
+     */
+    public DmsStreamingClient(String baseUrl, Duration timeout) {
+        this.baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        this.timeout = timeout;
+        // HTTP/1.1: bodies of unknown length go out with chunked transfer encoding
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public ResponseEntity<LinkedFileResponseDto> upload(LinkedFileRequestDto linkedFile) throws IOException {
+        MultipartFile file = linkedFile.getFile();
+        return ResponseEntity.ok(file != null && getChunkedUploadThreshold() >= 0 && file.getSize() > getChunkedUploadThreshold()
+                ? uploadChunked(linkedFile, file, getChunkSize())
+                : uploadStream(linkedFile, file));
+    }
+
+    @Override
+    public ResponseEntity<Resource> download(String code) throws IOException {
+        return ResponseEntity.ok(downloadStream(code).getResource());
+    }
+
+    @Override
+    public ResponseEntity<Boolean> deleteFile(String code) {
+        try {
+            HttpResponse<String> response = httpClient.send(request("deleteFile", Map.of(RestApiConstants.CODE, code))
+                    .DELETE()
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            return ResponseEntity.status(response.statusCode()).body(Boolean.parseBoolean(response.body().trim()));
+        } catch (IOException e) {
+            throw new RemoteCallFailedException("Delete of linked file " + code + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemoteCallFailedException("Delete of linked file " + code + " interrupted", e);
+        }
+    }
+
+    @Override
+    public long getChunkedUploadThreshold() {
+        return DEFAULT_CHUNKED_UPLOAD_THRESHOLD;
+    }
+
+    @Override
+    public LinkedFileResponseDto uploadStream(LinkedFileRequestDto request, MultipartFile file) throws IOException {
+        String boundary = "----isygoit-" + UUID.randomUUID();
+        StringBuilder fields = new StringBuilder();
+        appendField(fields, boundary, RestApiConstants.CODE, request.getCode());
+        appendField(fields, boundary, "originalFileName",
+                StringUtils.hasText(request.getOriginalFileName()) ? request.getOriginalFileName() : file.getOriginalFilename());
+        appendField(fields, boundary, "path", request.getPath());
+        Optional.ofNullable(request.getTags()).orElse(List.of())
+                .forEach(tag -> appendField(fields, boundary, "tags", tag));
+        Optional.ofNullable(request.getCategoryNames()).orElse(List.of())
+                .forEach(category -> appendField(fields, boundary, "categoryNames", category));
+        fields.append("--").append(boundary).append(CRLF)
+                .append("Content-Disposition: form-data; name=\"file\"; filename=\"")
+                .append(multipartFileName(file.getOriginalFilename())).append('"').append(CRLF)
+                .append("Content-Type: ").append(partContentType(file.getContentType()))
+                .append(CRLF).append(CRLF);
+
+        // The file part has no known length, so the body goes out with chunked transfer encoding
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.concat(
+                HttpRequest.BodyPublishers.ofString(fields.toString(), StandardCharsets.UTF_8),
+                HttpRequest.BodyPublishers.ofInputStream(() -> {
+                    try {
+                        return file.getInputStream();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }),
+                HttpRequest.BodyPublishers.ofString(CRLF + "--" + boundary + "--" + CRLF, StandardCharsets.UTF_8));
+
+        HttpResponse<InputStream> response = send(request("upload", Map.of())
+                .header(HttpHeaders.CONTENT_TYPE, "multipart/form-data; boundary=" + boundary)
+                .POST(body)
+                .build(), "upload of " + request.getCode());
+        log.info("File streamed to DMS: {} with code {}", file.getOriginalFilename(), request.getCode());
+        return readJson(response, LinkedFileResponseDto.class);
+    }
+
+    @Override
+    public LinkedFileResponseDto uploadChunked(LinkedFileRequestDto request, MultipartFile file, int chunkSize) throws IOException {
+        Map<String, Object> upload = metadata(request);
+        if (!StringUtils.hasText(request.getOriginalFileName())) {
+            upload.put("originalFileName", file.getOriginalFilename());
+        }
+        upload.put("contentType", file.getContentType());
+        upload.put("size", file.getSize());
+        upload.put("chunkSize", chunkSize);
+
+        HttpResponse<InputStream> response = send(request("upload/chunked", Map.of())
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(upload)))
+                .build(), "chunked upload start of " + request.getCode());
+        String uploadId = readJson(response, JsonNode.class).path("uploadId").asText();
+        log.debug("Chunked upload {} started for {}", uploadId, request.getCode());
+        return sendChunks(uploadId, file, chunkSize, Set.of());
+    }
+
+    @Override
+    public LinkedFileResponseDto resumeChunked(String uploadId, MultipartFile file, int chunkSize) throws IOException {
+        HttpResponse<InputStream> response = send(request("upload/chunked/" + encode(uploadId), Map.of())
+                .GET()
+                .build(), "chunked upload status of " + uploadId);
+        Set<Integer> received = new HashSet<>();
+        readJson(response, JsonNode.class).path("received").forEach(index -> received.add(index.asInt()));
+        log.info("Resuming chunked upload {}, {} chunks already received", uploadId, received.size());
+        return sendChunks(uploadId, file, chunkSize, received);
+    }
+
+    @Override
+    public ResourceDto downloadStream(String code) throws IOException {
+        HttpResponse<InputStream> response = send(request("download", Map.of(RestApiConstants.CODE, code))
+                .GET()
+                .build(), "download of " + code);
+
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        String fileName = Optional.ofNullable(headers.getFirst(HttpHeaders.CONTENT_DISPOSITION))
+                .map(value -> ContentDisposition.parse(value).getFilename())
+                .filter(StringUtils::hasText)
+                .orElse(code);
+        long length = headers.getContentLength();
+
+        return ResourceDto.builder()
+                .originalFileName(fileName)
+                .fileName(fileName)
+                .fileType(FilenameUtils.getExtension(fileName))
+                .resource(new InputStreamResource(response.body(), fileName))
+                .eTag(headers.getETag())
+                .lastModified(headers.getLastModified() > 0 ? headers.getLastModified() : null)
+                .contentLength(length >= 0 ? length : null)
+                .build();
+    }
+
+    @Override
+    public PresignedTransferDto presignDownload(String code, Long version, Duration ttl) throws IOException {
+        Map<String, String> query = new LinkedHashMap<>();
+        query.put(RestApiConstants.CODE, code);
+        if (version != null) {
+            query.put(RestApiConstants.VERSION, String.valueOf(version));
+        }
+        query.put("ttl", String.valueOf(ttl.toSeconds()));
+        HttpResponse<InputStream> response = send(request("presign/download", query)
+                .GET()
+                .build(), "download presign of " + code);
+        return readJson(response, PresignedTransferDto.class);
+    }
+
+    @Override
+    public PresignedTransferDto presignUpload(LinkedFileRequestDto request, Duration ttl) throws IOException {
+        HttpResponse<InputStream> response = send(request("presign/upload", Map.of("ttl", String.valueOf(ttl.toSeconds())))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(metadata(request))))
+                .build(), "upload presign of " + request.getCode());
+        return readJson(response, PresignedTransferDto.class);
+    }
+
+    @Override
+    public LinkedFileResponseDto completeUpload(LinkedFileRequestDto request) throws IOException {
+        HttpResponse<InputStream> response = send(request("presign/upload/complete", Map.of())
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(metadata(request))))
+                .build(), "upload completion of " + request.getCode());
+        log.info("Direct upload recorded with code {}", request.getCode());
+        return readJson(response, LinkedFileResponseDto.class);
+    }
+
+    /**
+     * Copy headers of the current request to DMS requests. Propagates the caller's Authorization by default.
+     *
+     * @param builder the builder
+     */
+    protected void customizeRequest(HttpRequest.Builder builder) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            String authorization = attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+            if (StringUtils.hasText(authorization)) {
+                builder.header(HttpHeaders.AUTHORIZATION, authorization);
+            }
+        }
+    }
+
+    private LinkedFileResponseDto sendChunks(String uploadId, MultipartFile file, int chunkSize, Set<Integer> received) throws IOException {
+        MessageDigest content = FileContentHash.newDigest();
+        byte[] buffer = new byte[chunkSize];
+        // Chunks go out in order, so every byte before the chunk being sent has been confirmed by the DMS
+        long confirmed = 0;
+        try {
+            try (InputStream input = file.getInputStream()) {
+                int index = 0;
+                int read;
+                while ((read = input.readNBytes(buffer, 0, chunkSize)) > 0) {
+                    content.update(buffer, 0, read);
+                    if (!received.contains(index)) {
+                        sendChunk(uploadId, index, buffer, read);
+                    }
+                    confirmed += read;
+                    index++;
+                }
+            }
+
+            HttpResponse<InputStream> response = send(request("upload/chunked/" + encode(uploadId) + "/complete", Map.of())
+                    .header(CONTENT_CHECKSUM_HEADER, HexFormat.of().formatHex(content.digest()))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build(), "chunked upload completion of " + uploadId);
+            log.info("Chunked upload {} of {} completed", uploadId, file.getOriginalFilename());
+            return readJson(response, LinkedFileResponseDto.class);
+        } catch (IOException | RemoteCallFailedException e) {
+            log.error("Chunked upload {} of {} failed after {} confirmed bytes", uploadId, file.getOriginalFilename(), confirmed);
+            throw new ChunkedUploadException(uploadId, confirmed, e);
+        }
+    }
+
+    private void sendChunk(String uploadId, int index, byte[] buffer, int length) throws IOException {
+        MessageDigest digest = FileContentHash.newDigest();
+        digest.update(buffer, 0, length);
+        HttpRequest chunk = request("upload/chunked/" + encode(uploadId) + "/" + index, Map.of())
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                .header(CHUNK_CHECKSUM_HEADER, HexFormat.of().formatHex(digest.digest()))
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(buffer, 0, length))
+                .build();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                send(chunk, "chunk " + index + " of upload " + uploadId).body().close();
+                return;
+            } catch (IOException | RemoteCallFailedException e) {
+                if (attempt >= MAX_CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Chunk {} of upload {} failed (attempt {}/{}): {}", index, uploadId, attempt, MAX_CHUNK_ATTEMPTS, e.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY_MS * (1L << (attempt - 1)));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Chunked upload " + uploadId + " interrupted", interrupted);
+                }
+            }
+        }
+    }
+
+    private HttpRequest.Builder request(String path, Map<String, String> query) {
+        StringBuilder uri = new StringBuilder(path);
+        String separator = "?";
+        for (Map.Entry<String, String> parameter : query.entrySet()) {
+            uri.append(separator).append(encode(parameter.getKey())).append('=').append(encode(parameter.getValue()));
+            separator = "&";
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(uri.toString())).timeout(timeout);
+        customizeRequest(builder);
+        return builder;
+    }
+
+    private HttpResponse<InputStream> send(HttpRequest request, String operation) throws IOException {
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(operation + " interrupted", e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            String error;
+            try (InputStream body = response.body()) {
+                error = new String(body.readNBytes(1024), StandardCharsets.UTF_8);
+            }
+            throw new RemoteCallFailedException("DMS " + operation + " failed with status " + response.statusCode() + ": " + error);
+        }
+        return response;
+    }
+
+    private <R> R readJson(HttpResponse<InputStream> response, Class<R> type) throws IOException {
+        try (InputStream body = response.body()) {
+            return objectMapper.readValue(body, type);
+        }
+    }
+
+    private static Map<String, Object> metadata(LinkedFileRequestDto request) {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put(RestApiConstants.CODE, request.getCode());
+        metadata.put("originalFileName", request.getOriginalFileName());
+        metadata.put("path", request.getPath());
+        metadata.put("tags", request.getTags());
+        metadata.put("categoryNames", request.getCategoryNames());
+        return metadata;
+    }
+
+    private static void appendField(StringBuilder body, String boundary, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        body.append("--").append(boundary).append(CRLF)
+                .append("Content-Disposition: form-data; name=\"").append(name).append('"').append(CRLF).append(CRLF)
+                .append(value).append(CRLF);
+    }
+
+    private static String multipartFileName(String value) {
+        // Encoded as browsers do: quotes and line breaks are percent-encoded, other control characters dropped
+        if (value == null) {
+            return "";
+        }
+        StringBuilder name = new StringBuilder(value.length());
+        value.codePoints().forEach(c -> {
+            switch (c) {
+                case '"' -> name.append("%22");
+                case '\r' -> name.append("%0D");
+                case '\n' -> name.append("%0A");
+                default -> {
+                    if (!Character.isISOControl(c)) {
+                        name.appendCodePoint(c);
+                    }
+                }
+            }
+        });
+        return name.toString();
+    }
+
+    private static String partContentType(String contentType) {
+        // The content type comes from the client, reject values that would break the part headers
+        if (!StringUtils.hasText(contentType) || contentType.chars().anyMatch(Character::isISOControl)) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+        return contentType;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
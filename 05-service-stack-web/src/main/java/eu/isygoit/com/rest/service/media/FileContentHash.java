@@ -0,0 +1,151 @@
+package eu.isygoit.com.rest.service.media;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * The type File content hash.
+ * <p>
+ * Keeps the SHA-256 of a stored file in a hidden sidecar file ({@code .<name>.sha256}) next to it. The hash is computed
+ * while the upload is written and serves as strong ETag on download; a missing or outdated sidecar (file written
+ * by other means) is recomputed on first use.
+ */
+@Slf4j
+public final class FileContentHash {
+
+    /**
+     * The constant ALGORITHM.
+     */
+    public static final String ALGORITHM = "SHA-256";
+
+    private static final String SIDECAR_SUFFIX = ".sha256";
+
+    private FileContentHash() {
+    }
+
+    /**
+     * Copy the stream to the target and store its hash.
+     *
+     * @param input   the input
+     * @param target  the target
+     * @param options the copy options
+     * @return the hex encoded hash
+     * @throws IOException the io exception
+     */
+    public static String copy(InputStream input, Path target, CopyOption... options) throws IOException {
+        MessageDigest digest = newDigest();
+        try (DigestInputStream digestInput = new DigestInputStream(input, digest)) {
+            Files.copy(digestInput, target, options);
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+        write(target, hash);
+        return hash;
+    }
+
+    /**
+     * Compute and store the hash of an existing file.
+     *
+     * @param file the file
+     * @return the hex encoded hash
+     * @throws IOException the io exception
+     */
+    public static String store(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream input = new DigestInputStream(Files.newInputStream(file), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+        write(file, hash);
+        return hash;
+    }
+
+    /**
+     * Gets the stored hash, computing it when missing or older than the file.
+     *
+     * @param file the file
+     * @return the hex encoded hash
+     * @throws IOException the io exception
+     */
+    public static String get(Path file) throws IOException {
+        Path sidecar = sidecar(file);
+        try {
+            if (Files.getLastModifiedTime(sidecar).compareTo(Files.getLastModifiedTime(file)) >= 0) {
+                String hash = Files.readString(sidecar, StandardCharsets.US_ASCII).trim();
+                if (!hash.isEmpty()) {
+                    return hash;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            log.debug("No content hash stored for {}", file);
+        }
+        return store(file);
+    }
+
+    /**
+     * Strong ETag of the file.
+     *
+     * @param file the file
+     * @return the quoted etag
+     * @throws IOException the io exception
+     */
+    public static String strongETag(Path file) throws IOException {
+        return "\"" + get(file) + "\"";
+    }
+
+    /**
+     * Delete the stored hash of a file.
+     *
+     * @param file the file
+     * @throws IOException the io exception
+     */
+    public static void delete(Path file) throws IOException {
+        Files.deleteIfExists(sidecar(file));
+    }
+
+    /**
+     * Sidecar path.
+     *
+     * @param file the file
+     * @return the path
+     */
+    static Path sidecar(Path file) {
+        return file.resolveSibling("." + file.getFileName() + SIDECAR_SUFFIX);
+    }
+
+    /**
+     * Record an already computed hash of the file.
+     *
+     * @param file the file
+     * @param hash the hex encoded hash
+     * @throws IOException the io exception
+     */
+    static void record(Path file, String hash) throws IOException {
+        write(file, hash);
+    }
+
+    private static void write(Path file, String hash) throws IOException {
+        Files.writeString(sidecar(file), hash, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * New digest of the content hash algorithm.
+     *
+     * @return the message digest
+     */
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        }
+    }
+}
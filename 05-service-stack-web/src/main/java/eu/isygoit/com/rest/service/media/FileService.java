@@ -3,8 +3,11 @@ package eu.isygoit.com.rest.service.media;
 import eu.isygoit.com.rest.service.ICodeAssignableService;
 import eu.isygoit.constants.TenantConstants;
 import eu.isygoit.dto.ITenantAssignableDto;
+import eu.isygoit.dto.common.PresignedTransferDto;
 import eu.isygoit.dto.common.ResourceDto;
+import eu.isygoit.exception.BadArgumentException;
 import eu.isygoit.exception.ObjectNotFoundException;
+import eu.isygoit.exception.OperationNotSupportedException;
 import eu.isygoit.exception.StorageException;
 import eu.isygoit.model.ICodeAssignable;
 import eu.isygoit.model.IFileEntity;
@@ -21,6 +24,7 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
 import java.nio.file.Path;
+import java.util.Optional;
 
 /**
  * The type File api.
@@ -181,6 +185,53 @@ public abstract class FileService<I extends Serializable, T extends IFileEntity
                 .orElseThrow(() -> new ObjectNotFoundException(this.getPersistentClass().getSimpleName() + " with id " + id));
     }
 
+    @Override
+    public Optional<PresignedTransferDto> getDownloadUrl(String senderTenant, I id, Long version) throws IOException {
+        T entity = findById(id)
+                .orElseThrow(() -> new ObjectNotFoundException(this.getPersistentClass().getSimpleName() + " with id " + id));
+        if (!StringUtils.hasText(entity.getFileName())) {
+            log.warn("getDownloadUrl ({}): No file attached to id {}", this.getPersistentClass().getSimpleName(), id);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(performPresignDownload(entity, version));
+    }
+
+    @Transactional
+    @Override
+    public Optional<PresignedTransferDto> prepareDirectUpload(String senderTenant, I id, String originalFileName) throws IOException {
+        if (!StringUtils.hasText(originalFileName)) {
+            throw new BadArgumentException("Original file name must not be empty");
+        }
+        T entity = findById(id)
+                .orElseThrow(() -> new ObjectNotFoundException(this.getPersistentClass().getSimpleName() + " with id " + id));
+
+        // The code is the object key the client uploads to, it must be stable until completion
+        if (!StringUtils.hasText(entity.getCode())) {
+            assignCodeIfEmpty(entity);
+            entity = update(entity);
+        }
+        return Optional.ofNullable(performPresignUpload(entity, originalFileName));
+    }
+
+    @Transactional
+    @Override
+    public T completeDirectUpload(String senderTenant, I id, String originalFileName) throws IOException {
+        if (!StringUtils.hasText(originalFileName)) {
+            throw new BadArgumentException("Original file name must not be empty");
+        }
+        T entity = findById(id)
+                .orElseThrow(() -> new ObjectNotFoundException(this.getPersistentClass().getSimpleName() + " with id " + id));
+        if (!StringUtils.hasText(entity.getCode())) {
+            throw new BadArgumentException("No direct upload prepared for " + this.getPersistentClass().getSimpleName() + " with id " + id);
+        }
+
+        if (performCompleteUpload(entity, originalFileName) == null) {
+            throw new OperationNotSupportedException("Direct upload is not available for " + this.getPersistentClass().getSimpleName());
+        }
+        setFileAttributes(resolveTenant(senderTenant, entity), entity, originalFileName);
+        return update(entity);
+    }
+
     private void assignOrPreserveCode(T entity, T existing) {
         if (!StringUtils.hasText(entity.getCode()) && !StringUtils.hasText(existing.getCode())) {
             entity.setCode(((ICodeAssignableService) this).getNextCode());
@@ -190,14 +241,18 @@ public abstract class FileService<I extends Serializable, T extends IFileEntity
     }
 
     private void setFileAttributes(String senderTenant, T entity, MultipartFile file) {
+        setFileAttributes(senderTenant, entity, file.getOriginalFilename());
+    }
+
+    private void setFileAttributes(String senderTenant, T entity, String originalFileName) {
         Path path = Path.of(getUploadDirectory())
                 .resolve(senderTenant)
                 .resolve(this.getPersistentClass().getSimpleName().toLowerCase());
 
         entity.setPath(path.toString());
-        entity.setFileName(entity.getCode() + "." + FilenameUtils.getExtension(file.getOriginalFilename()));
-        entity.setOriginalFileName(file.getOriginalFilename());
-        entity.setExtension(FilenameUtils.getExtension(file.getOriginalFilename()));
+        entity.setFileName(entity.getCode() + "." + FilenameUtils.getExtension(originalFileName));
+        entity.setOriginalFileName(originalFileName);
+        entity.setExtension(FilenameUtils.getExtension(originalFileName));
     }
 
     private String resolveTenant(String senderTenant, T entity) {
@@ -4,6 +4,7 @@ import eu.isygoit.com.rest.api.ILinkedFileApi;
 import eu.isygoit.constants.TenantConstants;
 import eu.isygoit.dto.common.LinkedFileRequestDto;
 import eu.isygoit.dto.common.LinkedFileResponseDto;
+import eu.isygoit.dto.common.PresignedTransferDto;
 import eu.isygoit.dto.common.ResourceDto;
 import eu.isygoit.exception.EntityNullException;
 import eu.isygoit.exception.LinkedFileServiceNullException;
@@ -14,10 +15,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 
 /**
  * The type File api dms static methods.
+ * <p>
+ * When the linked file service also implements {@link IStreamingLinkedFileApi}, files are streamed to and from the DMS
+ * (in resumable chunks above the service's threshold) instead of being buffered in memory. When it implements
+ * {@link IDirectTransferLinkedFileApi}, clients can also transfer files through presigned urls.
  */
 @Slf4j
 public final class FileServiceDmsStaticOperations {
@@ -59,6 +65,16 @@ public final class FileServiceDmsStaticOperations {
                 .file(file)
                 .build();
 
+        if (linkedFileService instanceof IStreamingLinkedFileApi streaming) {
+            long threshold = streaming.getChunkedUploadThreshold();
+            LinkedFileResponseDto uploaded = threshold >= 0 && file.getSize() > threshold
+                    ? streaming.uploadChunked(requestDto, file, streaming.getChunkSize())
+                    : streaming.uploadStream(requestDto, file);
+            log.info("File streamed successfully: {} with code {}", file.getOriginalFilename(),
+                    uploaded != null ? uploaded.getCode() : null);
+            return uploaded;
+        }
+
         // Call linked file api to upload
         ResponseEntity<LinkedFileResponseDto> response = linkedFileService.upload(requestDto);
 
@@ -97,6 +113,11 @@ public final class FileServiceDmsStaticOperations {
             throw new EntityNullException("Entity must not be null");
         }
 
+        if (linkedFileService instanceof IStreamingLinkedFileApi streaming) {
+            // The body stays on the wire until the caller writes it to its response
+            return streaming.downloadStream(entity.getCode());
+        }
+
         // Perform the download request
         ResponseEntity<ResourceDto> response = linkedFileService.download(entity.getCode());
 
@@ -141,4 +162,131 @@ public final class FileServiceDmsStaticOperations {
         log.warn("Failed to delete file with code {}", entity.getCode());
         return false;
     }
-}
\ No newline at end of file
+
+    /**
+     * Presign the download of the file of an entity.
+     *
+     * @param <T>               the type parameter
+     * @param entity            the entity
+     * @param linkedFileService the linked file api
+     * @param ttl               the validity of the url
+     * @return the presigned transfer, or null when the linked file api has no direct transfer
+     * @throws IOException the io exception
+     */
+    public static <T extends ICodeAssignable> PresignedTransferDto presignDownload(
+            T entity,
+            ILinkedFileApi linkedFileService,
+            Duration ttl) throws IOException {
+        return presignDownload(entity, null, linkedFileService, ttl);
+    }
+
+    /**
+     * Presign the download of a version of the file of an entity.
+     *
+     * @param <T>               the type parameter
+     * @param entity            the entity
+     * @param version           the version, null for the current one
+     * @param linkedFileService the linked file api
+     * @param ttl               the validity of the url
+     * @return the presigned transfer, or null when the linked file api has no direct transfer
+     * @throws IOException the io exception
+     */
+    public static <T extends ICodeAssignable> PresignedTransferDto presignDownload(
+            T entity,
+            Long version,
+            ILinkedFileApi linkedFileService,
+            Duration ttl) throws IOException {
+
+        if (linkedFileService == null) {
+            log.error("LinkedFileApi api is null in presign download");
+            throw new LinkedFileServiceNullException("LinkedFileApi api is null");
+        }
+        if (entity == null) {
+            log.error("Entity is null in presign download");
+            throw new EntityNullException("Entity must not be null");
+        }
+        if (!(linkedFileService instanceof IDirectTransferLinkedFileApi direct)) {
+            log.debug("LinkedFileApi {} has no direct transfer", linkedFileService.getClass().getSimpleName());
+            return null;
+        }
+
+        return direct.presignDownload(entity.getCode(), version, ttl);
+    }
+
+    /**
+     * Presign the upload of the file of an entity, stored under its code.
+     *
+     * @param <T>               the type parameter
+     * @param entity            the entity
+     * @param originalFileName  the original file name
+     * @param linkedFileService the linked file api
+     * @param ttl               the validity of the url
+     * @return the presigned transfer, or null when the linked file api has no direct transfer
+     * @throws IOException the io exception
+     */
+    public static <T extends IFileEntity & ICodeAssignable> PresignedTransferDto presignUpload(
+            T entity,
+            String originalFileName,
+            ILinkedFileApi linkedFileService,
+            Duration ttl) throws IOException {
+
+        if (linkedFileService == null) {
+            log.error("LinkedFileApi api is null in presign upload");
+            throw new LinkedFileServiceNullException("LinkedFileApi api is null");
+        }
+        if (entity == null) {
+            log.error("Entity is null in presign upload");
+            throw new EntityNullException("Entity must not be null");
+        }
+        if (!(linkedFileService instanceof IDirectTransferLinkedFileApi direct)) {
+            log.debug("LinkedFileApi {} has no direct transfer", linkedFileService.getClass().getSimpleName());
+            return null;
+        }
+
+        return direct.presignUpload(directRequest(entity, originalFileName), ttl);
+    }
+
+    /**
+     * Record the file uploaded through a presigned url for an entity.
+     *
+     * @param <T>               the type parameter
+     * @param entity            the entity
+     * @param originalFileName  the original file name
+     * @param linkedFileService the linked file api
+     * @return the linked file response dto, or null when the linked file api has no direct transfer
+     * @throws IOException the io exception
+     */
+    public static <T extends IFileEntity & ICodeAssignable> LinkedFileResponseDto completeUpload(
+            T entity,
+            String originalFileName,
+            ILinkedFileApi linkedFileService) throws IOException {
+
+        if (linkedFileService == null) {
+            log.error("LinkedFileApi api is null in complete upload");
+            throw new LinkedFileServiceNullException("LinkedFileApi api is null");
+        }
+        if (entity == null) {
+            log.error("Entity is null in complete upload");
+            throw new EntityNullException("Entity must not be null");
+        }
+        if (!(linkedFileService instanceof IDirectTransferLinkedFileApi direct)) {
+            log.debug("LinkedFileApi {} has no direct transfer", linkedFileService.getClass().getSimpleName());
+            return null;
+        }
+
+        LinkedFileResponseDto response = direct.completeUpload(directRequest(entity, originalFileName));
+        log.info("Direct upload completed: {} with code {}", originalFileName, entity.getCode());
+        return response;
+    }
+
+    private static <T extends IFileEntity & ICodeAssignable> LinkedFileRequestDto directRequest(T entity, String originalFileName) {
+        // Same path, tags and categories as a proxied upload
+        return LinkedFileRequestDto.builder()
+                .code(entity.getCode())
+                .originalFileName(originalFileName)
+                .path(entity.getClass().getSimpleName().toLowerCase())
+                .tags(entity.getTags())
+                .categoryNames(List.of(entity.getClass().getSimpleName()))
+                .build();
+    }
+}
@@ -10,14 +10,13 @@ import eu.isygoit.model.*;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.io.InputStream;
+import java.nio.file.CopyOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -42,6 +41,22 @@ public final class FileServiceLocalStaticOperations {
      * @throws IOException the io exception
      */
     public static <T extends IFileEntity & IIdAssignable & ICodeAssignable> String upload(MultipartFile file, T entity, boolean replaceExisting) throws IOException {
+        return upload(file, entity, replaceExisting, false);
+    }
+
+    /**
+     * Upload string.
+     *
+     * @param <T>              the type parameter
+     * @param file             the file
+     * @param entity           the entity
+     * @param replaceExisting  the replace existing
+     * @param contentAddressed store the content in the {@link ContentAddressedStore} of the directory
+     * @return the string
+     * @throws IOException the io exception
+     */
+    public static <T extends IFileEntity & IIdAssignable & ICodeAssignable> String upload(MultipartFile file, T entity, boolean replaceExisting,
+                                                                                         boolean contentAddressed) throws IOException {
         Path directory = Path.of(entity.getPath());
 
         // Ensure the directory exists (creates it and its parents if missing)
@@ -55,8 +70,22 @@ public final class FileServiceLocalStaticOperations {
             throw new FileAlreadyExistsException(targetPath.toString());
         }
 
-        // Copy the uploaded file to the target location
-        Files.copy(file.getInputStream(), targetPath, replaceExisting ? StandardCopyOption.REPLACE_EXISTING : null);
+        // Store the content once per directory and link the target to it
+        if (contentAddressed) {
+            try (InputStream input = file.getInputStream()) {
+                ContentAddressedStore.store(input, targetPath, replaceExisting);
+            }
+            return entity.getCode() + "." + FilenameUtils.getExtension(file.getOriginalFilename());
+        }
+
+        // Replacing a deduplicated file must release its blob reference
+        if (replaceExisting && ContentAddressedStore.isManaged(directory)) {
+            ContentAddressedStore.release(targetPath);
+        }
+
+        // Copy the uploaded file to the target location, storing its content hash for ETags
+        CopyOption[] options = replaceExisting ? new CopyOption[]{StandardCopyOption.REPLACE_EXISTING} : new CopyOption[0];
+        FileContentHash.copy(file.getInputStream(), targetPath, options);
 
         return entity.getCode() + "." + FilenameUtils.getExtension(file.getOriginalFilename());
     }
@@ -67,10 +96,10 @@ public final class FileServiceLocalStaticOperations {
      * @param <T>     the type parameter
      * @param entity  the entity
      * @param version the version
-     * @return the resource
-     * @throws MalformedURLException the malformed url exception
+     * @return the resource, with its ETag, modification time and length
+     * @throws IOException the io exception
      */
-    public static <T extends IFileEntity & IIdAssignable & ICodeAssignable> ResourceDto download(T entity, Long version) throws MalformedURLException {
+    public static <T extends IFileEntity & IIdAssignable & ICodeAssignable> ResourceDto download(T entity, Long version) throws IOException {
         String path = entity.getPath();
 
         // Ensure the path is not null or empty
@@ -79,19 +108,13 @@ public final class FileServiceLocalStaticOperations {
         }
 
         Path filePath = Path.of(path).resolve(entity.getFileName());
-        Resource resource = new UrlResource(filePath.toUri());
 
         // Check if the file exists, otherwise throw an exception
-        if (!resource.exists()) {
+        if (!Files.isRegularFile(filePath)) {
             throw new ResourceNotFoundException(buildErrorMessage(entity, version, "Resource not found"));
         }
 
-        return ResourceDto.builder()
-                .originalFileName(entity.getOriginalFileName())
-                .fileName(entity.getFileName())
-                .fileType(entity.getType())
-                .resource(resource)
-                .build();
+        return FileServingEngine.describe(filePath, entity.getOriginalFileName(), entity.getFileName(), entity.getType());
     }
 
     /**
@@ -111,7 +134,12 @@ public final class FileServiceLocalStaticOperations {
             throw new FileNotFoundException(filePath.toString());
         }
 
+        if (ContentAddressedStore.isManaged(filePath.getParent())) {
+            return ContentAddressedStore.release(filePath);
+        }
+
         FileUtils.delete(file);
+        FileContentHash.delete(filePath);
         return true;
     }
 
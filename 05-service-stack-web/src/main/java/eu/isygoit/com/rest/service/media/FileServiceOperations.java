@@ -4,6 +4,8 @@ import eu.isygoit.annotation.InjectDmsLinkedFileService;
 import eu.isygoit.app.ApplicationContextService;
 import eu.isygoit.com.rest.api.ILinkedFileApi;
 import eu.isygoit.com.rest.service.CodeAssignableService;
+import eu.isygoit.dto.common.LinkedFileResponseDto;
+import eu.isygoit.dto.common.PresignedTransferDto;
 import eu.isygoit.dto.common.ResourceDto;
 import eu.isygoit.exception.LinkedFileServiceNotDefinedException;
 import eu.isygoit.model.ICodeAssignable;
@@ -12,10 +14,12 @@ import eu.isygoit.model.IIdAssignable;
 import eu.isygoit.repository.JpaPagingAndSortingCodeAssignableRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.time.Duration;
 
 /**
  * The type File api sub methods.
@@ -33,6 +37,9 @@ public abstract class FileServiceOperations<I extends Serializable,
     @Autowired
     private ApplicationContextService applicationContextService;
 
+    @Value("${" + ContentAddressedStore.ENABLED_PROPERTY + ":false}")
+    private boolean contentAddressed;
+
     private ILinkedFileApi linkedFileApi;
 
     /**
@@ -45,7 +52,7 @@ public abstract class FileServiceOperations<I extends Serializable,
     final String performUploadFile(MultipartFile file, T entity) {
         return executeWithFallback(
                 dms -> FileServiceDmsStaticOperations.upload(file, entity, dms).getCode(),
-                () -> FileServiceLocalStaticOperations.upload(file, entity, true),
+                () -> FileServiceLocalStaticOperations.upload(file, entity, true, contentAddressed),
                 "upload"
         );
     }
@@ -103,6 +110,62 @@ public abstract class FileServiceOperations<I extends Serializable,
         );
     }
 
+    /**
+     * Presign the download of a version of the file of an entity.
+     *
+     * @param entity  the entity
+     * @param version the version, null for the current one
+     * @return the presigned transfer, or null when files are not stored behind a direct transfer capable DMS
+     * @throws IOException the io exception
+     */
+    final PresignedTransferDto performPresignDownload(T entity, Long version) throws IOException {
+        ILinkedFileApi linkedService = linkedFileService();
+        return linkedService != null
+                ? FileServiceDmsStaticOperations.presignDownload(entity, version, linkedService, getDirectTransferTtl())
+                : null;
+    }
+
+    /**
+     * Presign the upload of the file of an entity.
+     *
+     * @param entity           the entity
+     * @param originalFileName the original file name
+     * @return the presigned transfer, or null when files are not stored behind a direct transfer capable DMS
+     * @throws IOException the io exception
+     */
+    final PresignedTransferDto performPresignUpload(T entity, String originalFileName) throws IOException {
+        ILinkedFileApi linkedService = linkedFileService();
+        return linkedService != null
+                ? FileServiceDmsStaticOperations.presignUpload(entity, originalFileName, linkedService, getDirectTransferTtl())
+                : null;
+    }
+
+    /**
+     * Record the file of an entity uploaded through a presigned url.
+     *
+     * @param entity           the entity
+     * @param originalFileName the original file name
+     * @return the stored file code, or null when files are not stored behind a direct transfer capable DMS
+     * @throws IOException the io exception
+     */
+    final String performCompleteUpload(T entity, String originalFileName) throws IOException {
+        ILinkedFileApi linkedService = linkedFileService();
+        if (linkedService == null) {
+            return null;
+        }
+        LinkedFileResponseDto response = FileServiceDmsStaticOperations.completeUpload(entity, originalFileName, linkedService);
+        return response != null ? response.getCode() : null;
+    }
+
+    /**
+     * Gets the validity of presigned urls.
+     *
+     * @return the direct transfer ttl
+     */
+    protected Duration getDirectTransferTtl() {
+        return IDirectTransferLinkedFileApi.DEFAULT_TTL;
+    }
+
     /**
      * The interface File operation.
      *
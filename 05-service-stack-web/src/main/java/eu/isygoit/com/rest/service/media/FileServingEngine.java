@@ -0,0 +1,414 @@
+package eu.isygoit.com.rest.service.media;
+
+import eu.isygoit.dto.common.ResourceDto;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The type File serving engine.
+ * <p>
+ * Serves file-backed {@link ResourceDto}s straight to the servlet response: conditional requests
+ * ({@code If-None-Match}, {@code If-Modified-Since}) answer 304, {@code Range} requests answer 206 with a single part or
+ * a {@code multipart/byteranges} body (guarded by {@code If-Range}), and {@code Content-Length} is always known up
+ * front. File bytes are handed to the container's sendfile support when available (Tomcat NIO), otherwise they are
+ * transferred with {@link FileChannel#transferTo} to the response channel. Streamed resources (an
+ * {@link InputStreamResource} read from a remote DMS) are copied to the response as they arrive, without ranges.
+ */
+@Slf4j
+public final class FileServingEngine {
+
+    /**
+     * Requests with more ranges than this are answered with the whole file.
+     */
+    public static final int MAX_RANGES = 16;
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String BYTES_UNIT = "bytes";
+    private static final String CRLF = "\r\n";
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private FileServingEngine() {
+    }
+
+    /**
+     * Describe a local file: resolves its strong ETag from the stored content hash, its modification time and size.
+     *
+     * @param file             the file
+     * @param originalFileName the original file name
+     * @param fileName         the file name
+     * @param fileType         the file type
+     * @return the resource dto
+     * @throws IOException the io exception
+     */
+    public static ResourceDto describe(Path file, String originalFileName, String fileName, String fileType) throws IOException {
+        return ResourceDto.builder()
+                .originalFileName(originalFileName)
+                .fileName(fileName)
+                .fileType(fileType)
+                .resource(new FileSystemResource(file))
+                .eTag(FileContentHash.strongETag(file))
+                .lastModified(Files.getLastModifiedTime(file).toMillis())
+                .contentLength(Files.size(file))
+                .build();
+    }
+
+    /**
+     * Serve the resource on the current servlet request.
+     *
+     * @param resource the resource
+     * @return true when the response has been written, false when the caller must build it (no servlet request, or
+     * the resource is not a local file)
+     * @throws IOException the io exception
+     */
+    public static boolean serveCurrentRequest(ResourceDto resource) throws IOException {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes && servletAttributes.getResponse() != null) {
+            return serve(resource, servletAttributes.getRequest(), servletAttributes.getResponse());
+        }
+        return false;
+    }
+
+    /**
+     * Serve the resource.
+     *
+     * @param resource the resource
+     * @param request  the request
+     * @param response the response
+     * @return true when the response has been written, false when the resource is neither a local file nor a stream
+     * or the method is neither GET nor HEAD
+     * @throws IOException the io exception
+     */
+    public static boolean serve(ResourceDto resource, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (resource == null || resource.getResource() == null) {
+            return false;
+        }
+        boolean head = HttpMethod.HEAD.matches(request.getMethod());
+        if (!head && !HttpMethod.GET.matches(request.getMethod())) {
+            return false;
+        }
+        if (resource.getResource() instanceof InputStreamResource) {
+            return stream(resource, request, response, head);
+        }
+        if (!resource.getResource().isFile()) {
+            return false;
+        }
+
+        Path file = resource.getResource().getFile().toPath();
+        long length = resource.getContentLength() != null ? resource.getContentLength() : Files.size(file);
+        long lastModified = resource.getLastModified() != null
+                ? resource.getLastModified() : Files.getLastModifiedTime(file).toMillis();
+        String eTag = StringUtils.hasText(resource.getETag()) ? resource.getETag() : FileContentHash.strongETag(file);
+
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+
+        if (isNotModified(request, eTag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+
+        String contentType = contentType(file);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, attachmentDisposition(resource.getOriginalFileName()));
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        List<long[]> ranges = rangeHeader != null && isRangeApplicable(request, eTag, lastModified)
+                ? parseRanges(rangeHeader, length)
+                : null;
+
+        if (ranges != null && ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + length);
+            response.setContentLengthLong(0);
+            return true;
+        }
+
+        if (ranges == null || ranges.size() > MAX_RANGES || coveredLength(ranges) > length) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType);
+            response.setContentLengthLong(length);
+            if (!head) {
+                send(request, response, file, 0, length);
+            }
+        } else if (ranges.size() == 1) {
+            long[] range = ranges.get(0);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(range, length));
+            response.setContentLengthLong(range[1] - range[0] + 1);
+            if (!head) {
+                send(request, response, file, range[0], range[1] - range[0] + 1);
+            }
+        } else {
+            sendMultipart(response, file, ranges, length, contentType, head);
+        }
+        return true;
+    }
+
+    /**
+     * Parse a {@code Range} header.
+     *
+     * @param header the header
+     * @param length the file length
+     * @return the satisfiable ranges as inclusive {@code [first, last]} pairs, an empty list when none is satisfiable,
+     * or null when the header is malformed and must be ignored
+     */
+    static List<long[]> parseRanges(String header, long length) {
+        String value = header.trim();
+        if (!value.regionMatches(true, 0, BYTES_UNIT + "=", 0, BYTES_UNIT.length() + 1)) {
+            return null;
+        }
+        List<long[]> ranges = new ArrayList<>();
+        for (String spec : value.substring(BYTES_UNIT.length() + 1).split(",")) {
+            String part = spec.trim();
+            int dash = part.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            try {
+                String first = part.substring(0, dash).trim();
+                String last = part.substring(dash + 1).trim();
+                if (first.isEmpty()) {
+                    // Suffix range: the last N bytes
+                    long suffix = Long.parseLong(last);
+                    if (suffix > 0 && length > 0) {
+                        ranges.add(new long[]{Math.max(0, length - suffix), length - 1});
+                    }
+                } else {
+                    long start = Long.parseLong(first);
+                    long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+                    if (end < start) {
+                        return null;
+                    }
+                    if (start < length) {
+                        ranges.add(new long[]{start, Math.min(end, length - 1)});
+                    }
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Build the Content-Disposition header of an attachment. Control characters are dropped, the quoted filename
+     * keeps the ASCII characters and, for other names, the RFC 5987 {@code filename*} parameter carries the UTF-8 name.
+     *
+     * @param fileName the file name
+     * @return the header value
+     */
+    public static String attachmentDisposition(String fileName) {
+        String name = fileName == null ? "" : fileName.codePoints()
+                .filter(c -> !Character.isISOControl(c))
+                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                .toString();
+        StringBuilder header = new StringBuilder("attachment; filename=\"");
+        boolean ascii = true;
+        for (char c : name.toCharArray()) {
+            if (c >= 0x80) {
+                header.append('_');
+                ascii = false;
+            } else {
+                if (c == '"' || c == '\\') {
+                    header.append('\\');
+                }
+                header.append(c);
+            }
+        }
+        header.append('"');
+        if (!ascii) {
+            header.append("; filename*=UTF-8''");
+            for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+                char c = (char) (b & 0xFF);
+                if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || "!#$&+-.^_`|~".indexOf(c) >= 0) {
+                    header.append(c);
+                } else {
+                    header.append('%').append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                }
+            }
+        }
+        return header.toString();
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, String eTag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-None-Match takes precedence over If-Modified-Since and uses weak comparison
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if ("*".equals(tag) || stripWeak(tag).equals(stripWeak(eTag))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private static boolean isRangeApplicable(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            // Strong comparison: a weak validator never matches
+            return value.equals(eTag);
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && date / 1000 == lastModified / 1000;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static long coveredLength(List<long[]> ranges) {
+        long total = 0;
+        for (long[] range : ranges) {
+            total += range[1] - range[0] + 1;
+        }
+        return total;
+    }
+
+    private static String contentRange(long[] range, long length) {
+        return BYTES_UNIT + " " + range[0] + "-" + range[1] + "/" + length;
+    }
+
+    private static boolean stream(ResourceDto resource, HttpServletRequest request, HttpServletResponse response, boolean head) throws IOException {
+        try (InputStream input = resource.getResource().getInputStream()) {
+            String eTag = resource.getETag();
+            if (StringUtils.hasText(eTag)) {
+                response.setHeader(HttpHeaders.ETAG, eTag);
+            }
+            if (resource.getLastModified() != null) {
+                response.setDateHeader(HttpHeaders.LAST_MODIFIED, resource.getLastModified());
+            }
+            // Without a known modification time only If-None-Match can match
+            long lastModified = resource.getLastModified() != null ? resource.getLastModified() : Long.MAX_VALUE;
+            if (StringUtils.hasText(eTag) && isNotModified(request, eTag, lastModified)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return true;
+            }
+
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(MediaTypeFactory.getMediaType(resource.getOriginalFileName())
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, attachmentDisposition(resource.getOriginalFileName()));
+            if (resource.getContentLength() != null) {
+                response.setContentLengthLong(resource.getContentLength());
+            }
+            if (!head) {
+                long copied = input.transferTo(response.getOutputStream());
+                log.debug("Streamed {} bytes of {}", copied, resource.getOriginalFileName());
+            }
+        }
+        return true;
+    }
+
+    private static String contentType(Path file) throws IOException {
+        String contentType = Files.probeContentType(file);
+        return contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    private static void send(HttpServletRequest request, HttpServletResponse response, Path file, long position, long count) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // The container writes the file itself once the servlet returns
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, position);
+            request.setAttribute(SENDFILE_END, position + count);
+            return;
+        }
+        OutputStream output = response.getOutputStream();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            transfer(channel, position, count, Channels.newChannel(output));
+        }
+        output.flush();
+    }
+
+    private static void sendMultipart(HttpServletResponse response, Path file, List<long[]> ranges, long length,
+                                      String contentType, boolean head) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (long[] range : ranges) {
+            byte[] partHeader = (CRLF + "--" + boundary + CRLF
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + CRLF
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(range, length) + CRLF + CRLF)
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(partHeader);
+            contentLength += partHeader.length + range[1] - range[0] + 1;
+        }
+        byte[] closing = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+        contentLength += closing.length;
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (head) {
+            return;
+        }
+        OutputStream output = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(output);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (int i = 0; i < ranges.size(); i++) {
+                long[] range = ranges.get(i);
+                output.write(partHeaders.get(i));
+                transfer(channel, range[0], range[1] - range[0] + 1, target);
+            }
+        }
+        output.write(closing);
+        output.flush();
+    }
+
+    private static void transfer(FileChannel channel, long position, long count, WritableByteChannel target) throws IOException {
+        long remaining = count;
+        long offset = position;
+        while (remaining > 0) {
+            long transferred = channel.transferTo(offset, remaining, target);
+            if (transferred <= 0) {
+                throw new IOException("File truncated while serving at offset " + offset);
+            }
+            offset += transferred;
+            remaining -= transferred;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package eu.isygoit.com.rest.service.media;
+
+import eu.isygoit.dto.common.LinkedFileRequestDto;
+import eu.isygoit.dto.common.LinkedFileResponseDto;
+import eu.isygoit.dto.common.PresignedTransferDto;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * The interface Direct transfer linked file api.
+ * <p>
+ * Optional capability of a DMS linked file service: presigned urls that let clients download and upload files
+ * straight from and to the object storage, without the bytes going through the application. An upload made through
+ * a presigned url is only recorded once {@link #completeUpload(LinkedFileRequestDto)} is called.
+ */
+public interface IDirectTransferLinkedFileApi {
+
+    /**
+     * The constant DEFAULT_TTL.
+     */
+    Duration DEFAULT_TTL = Duration.ofMinutes(15);
+
+    /**
+     * Presign the download of the current version of a stored file.
+     *
+     * @param code the code
+     * @param ttl  the validity of the url
+     * @return the presigned GET transfer
+     * @throws IOException the io exception
+     */
+    default PresignedTransferDto presignDownload(String code, Duration ttl) throws IOException {
+        return presignDownload(code, null, ttl);
+    }
+
+    /**
+     * Presign the download of a version of a stored file.
+     *
+     * @param code    the code
+     * @param version the version, null for the current one
+     * @param ttl     the validity of the url
+     * @return the presigned GET transfer
+     * @throws IOException the io exception
+     */
+    PresignedTransferDto presignDownload(String code, Long version, Duration ttl) throws IOException;
+
+    /**
+     * Presign the upload of a file.
+     *
+     * @param request the request, without file
+     * @param ttl     the validity of the url
+     * @return the presigned PUT transfer
+     * @throws IOException the io exception
+     */
+    PresignedTransferDto presignUpload(LinkedFileRequestDto request, Duration ttl) throws IOException;
+
+    /**
+     * Record a file uploaded through a presigned url. Fails when nothing was uploaded under the request code.
+     *
+     * @param request the request given to {@link #presignUpload(LinkedFileRequestDto, Duration)}
+     * @return the linked file response dto
+     * @throws IOException the io exception
+     */
+    LinkedFileResponseDto completeUpload(LinkedFileRequestDto request) throws IOException;
+}
@@ -1,5 +1,6 @@
 package eu.isygoit.com.rest.service.media;
 
+import eu.isygoit.dto.common.PresignedTransferDto;
 import eu.isygoit.dto.common.ResourceDto;
 import eu.isygoit.model.IFileEntity;
 import eu.isygoit.model.IIdAssignable;
@@ -8,6 +9,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Optional;
 
 /**
  * The interface File api methods.
@@ -61,4 +63,40 @@ public interface IFileServiceOperations<I extends Serializable,
      * @throws IOException the io exception
      */
     ResourceDto downloadFile(String senderTenant, I id, Long version) throws IOException;
+
+    /**
+     * Gets a presigned url to download the file straight from the object storage.
+     *
+     * @param senderTenant the sender tenant
+     * @param id           the id
+     * @param version      the version
+     * @return the presigned GET transfer, empty when the file can only be downloaded through the application
+     * @throws IOException the io exception
+     */
+    Optional<PresignedTransferDto> getDownloadUrl(String senderTenant, I id, Long version) throws IOException;
+
+    /**
+     * Gets a presigned url to upload the file straight to the object storage. The upload is only attached to the
+     * entity once {@link #completeDirectUpload(String, Serializable, String)} is called.
+     *
+     * @param senderTenant     the sender tenant
+     * @param id               the id
+     * @param originalFileName the original file name
+     * @return the presigned PUT transfer, empty when the file can only be uploaded through the application
+     * @throws IOException the io exception
+     */
+    @Transactional
+    Optional<PresignedTransferDto> prepareDirectUpload(String senderTenant, I id, String originalFileName) throws IOException;
+
+    /**
+     * Attach a file uploaded through a presigned url to the entity.
+     *
+     * @param senderTenant     the sender tenant
+     * @param id               the id
+     * @param originalFileName the original file name
+     * @return the t
+     * @throws IOException the io exception
+     */
+    @Transactional
+    T completeDirectUpload(String senderTenant, I id, String originalFileName) throws IOException;
 }
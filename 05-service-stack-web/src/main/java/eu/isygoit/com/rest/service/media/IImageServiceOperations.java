@@ -35,6 +35,18 @@ public interface IImageServiceOperations<I extends Serializable, T extends IIdAs
      */
     ResourceDto downloadImage(I id) throws IOException;
 
+    /**
+     * Download image variant resource. Services without derivatives serve the original.
+     *
+     * @param id      the id
+     * @param variant the variant name, the original when empty
+     * @return the resource
+     * @throws IOException the io exception
+     */
+    default ResourceDto downloadImage(I id, String variant) throws IOException {
+        return downloadImage(id);
+    }
+
     /**
      * Create with image t.
      *
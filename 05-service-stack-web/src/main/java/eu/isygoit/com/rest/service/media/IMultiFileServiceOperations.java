@@ -1,5 +1,6 @@
 package eu.isygoit.com.rest.service.media;
 
+import eu.isygoit.dto.common.PresignedTransferDto;
 import eu.isygoit.dto.common.ResourceDto;
 import eu.isygoit.model.IIdAssignable;
 import eu.isygoit.model.IMultiFileEntity;
@@ -8,6 +9,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * The interface Multi file api methods.
@@ -57,4 +59,36 @@ public interface IMultiFileServiceOperations<I extends Serializable, T extends I
      * @throws IOException the io exception
      */
     boolean deleteAdditionalFile(I parentId, I fileId) throws IOException;
+
+    /**
+     * Gets a presigned url to download an additional file straight from the object storage.
+     *
+     * @param parentId the parent id
+     * @param fileId   the file id
+     * @return the presigned GET transfer, empty when the file can only be downloaded through the application
+     * @throws IOException the io exception
+     */
+    Optional<PresignedTransferDto> getAdditionalFileDownloadUrl(I parentId, I fileId) throws IOException;
+
+    /**
+     * Gets a presigned url to upload an additional file straight to the object storage. The returned code
+     * identifies the upload when completing it.
+     *
+     * @param parentId         the parent id
+     * @param originalFileName the original file name
+     * @return the presigned PUT transfer, empty when the file can only be uploaded through the application
+     * @throws IOException the io exception
+     */
+    Optional<PresignedTransferDto> prepareAdditionalFileUpload(I parentId, String originalFileName) throws IOException;
+
+    /**
+     * Attach an additional file uploaded through a presigned url to the parent entity.
+     *
+     * @param parentId         the parent id
+     * @param code             the code returned when the upload was prepared
+     * @param originalFileName the original file name
+     * @return the list
+     * @throws IOException the io exception
+     */
+    List completeAdditionalFileUpload(I parentId, String code, String originalFileName) throws IOException;
 }
@@ -0,0 +1,81 @@
+package eu.isygoit.com.rest.service.media;
+
+import eu.isygoit.dto.common.LinkedFileRequestDto;
+import eu.isygoit.dto.common.LinkedFileResponseDto;
+import eu.isygoit.dto.common.ResourceDto;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+/**
+ * The interface Streaming linked file api.
+ * <p>
+ * Optional capability of a DMS linked file service: transfers that never hold a whole file in memory. When the
+ * service injected with {@code @InjectDmsLinkedFileService} implements it, {@link FileServiceDmsStaticOperations}
+ * uses it instead of the in-memory multipart and byte bodies of the Feign api.
+ */
+public interface IStreamingLinkedFileApi {
+
+    /**
+     * Upload the file as a chunked multipart body read from its input stream.
+     *
+     * @param request the request, its file is ignored
+     * @param file    the file
+     * @return the linked file response dto
+     * @throws IOException the io exception
+     */
+    LinkedFileResponseDto uploadStream(LinkedFileRequestDto request, MultipartFile file) throws IOException;
+
+    /**
+     * Upload the file in chunks of {@code chunkSize} bytes, each with its own checksum. Failed chunks are retried,
+     * chunks already received by the DMS are skipped.
+     *
+     * @param request   the request, its file is ignored
+     * @param file      the file
+     * @param chunkSize the chunk size
+     * @return the linked file response dto
+     * @throws ChunkedUploadException if the upload fails once started, with the upload id and confirmed offset to
+     *                                resume it from
+     * @throws IOException            the io exception
+     */
+    LinkedFileResponseDto uploadChunked(LinkedFileRequestDto request, MultipartFile file, int chunkSize) throws IOException;
+
+    /**
+     * Resume an interrupted chunked upload.
+     *
+     * @param uploadId  the upload id returned by the DMS when the upload started
+     * @param file      the file
+     * @param chunkSize the chunk size of the upload
+     * @return the linked file response dto
+     * @throws ChunkedUploadException if the upload fails again, with the confirmed offset
+     * @throws IOException            the io exception
+     */
+    LinkedFileResponseDto resumeChunked(String uploadId, MultipartFile file, int chunkSize) throws IOException;
+
+    /**
+     * Download the file as a stream, read straight from the DMS response. The caller must consume or close it.
+     *
+     * @param code the code
+     * @return the resource dto
+     * @throws IOException the io exception
+     */
+    ResourceDto downloadStream(String code) throws IOException;
+
+    /**
+     * Gets the size above which uploads are sent in chunks.
+     *
+     * @return the chunked upload threshold, a negative value to never chunk
+     */
+    default long getChunkedUploadThreshold() {
+        return -1;
+    }
+
+    /**
+     * Gets chunk size.
+     *
+     * @return the chunk size
+     */
+    default int getChunkSize() {
+        return 8 * 1024 * 1024;
+    }
+}
@@ -0,0 +1,378 @@
+package eu.isygoit.com.rest.service.media;
+
+import eu.isygoit.exception.BadArgumentException;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * The type Image derivative engine.
+ * <p>
+ * Generates scaled variants of uploaded images with {@code javax.imageio}, in the background after upload or lazily
+ * on the first request of a missing variant. Concurrent requests for the same missing variant share one generation.
+ * <p>
+ * Derivatives are cached on disk under the cache directory, named after the content hash of the original, so a new
+ * upload never serves stale derivatives. The cache is bounded: when its size exceeds the cap, the least recently
+ * used derivatives are deleted. Recency survives restarts through the file modification time.
+ * <p>
+ * The pixel dimensions of an original are read from its header before decoding, originals larger than the pixel cap
+ * are rejected instead of being decoded in memory.
+ */
+@Slf4j
+public class ImageDerivativeEngine {
+
+    /**
+     * The constant DEFAULT_MAX_CACHE_BYTES.
+     */
+    public static final long DEFAULT_MAX_CACHE_BYTES = 512L * 1024 * 1024;
+
+    /**
+     * The constant DEFAULT_MAX_PIXELS.
+     */
+    public static final long DEFAULT_MAX_PIXELS = 50_000_000L;
+
+    private static final ExecutorService DEFAULT_EXECUTOR = newDefaultExecutor();
+
+    private final Path cacheDirectory;
+    private final long maxCacheBytes;
+    private final long maxPixels;
+    private final Executor executor;
+    private final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    // Access ordered: the first entry is the least recently used derivative
+    private final LinkedHashMap<Path, Long> index = new LinkedHashMap<>(256, 0.75f, true);
+    private long cacheBytes;
+    private boolean indexLoaded;
+
+    /**
+     * Instantiates a new Image derivative engine.
+     *
+     * @param cacheDirectory the cache directory
+     * @param maxCacheBytes  the max cache bytes
+     * @param maxPixels      the max pixels of the decoded originals
+     * @param executor       the executor for background generation
+     */
+    public ImageDerivativeEngine(Path cacheDirectory, long maxCacheBytes, long maxPixels, Executor executor) {
+        this.cacheDirectory = cacheDirectory;
+        this.maxCacheBytes = maxCacheBytes;
+        this.maxPixels = maxPixels;
+        this.executor = executor;
+    }
+
+    /**
+     * Instantiates a new Image derivative engine.
+     *
+     * @param cacheDirectory the cache directory
+     * @param maxCacheBytes  the max cache bytes
+     * @param executor       the executor for background generation
+     */
+    public ImageDerivativeEngine(Path cacheDirectory, long maxCacheBytes, Executor executor) {
+        this(cacheDirectory, maxCacheBytes, DEFAULT_MAX_PIXELS, executor);
+    }
+
+    /**
+     * Instantiates a new Image derivative engine on the shared background executor.
+     *
+     * @param cacheDirectory the cache directory
+     * @param maxCacheBytes  the max cache bytes
+     */
+    public ImageDerivativeEngine(Path cacheDirectory, long maxCacheBytes) {
+        this(cacheDirectory, maxCacheBytes, DEFAULT_MAX_PIXELS, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * Instantiates a new Image derivative engine on the shared background executor.
+     *
+     * @param cacheDirectory the cache directory
+     * @param maxCacheBytes  the max cache bytes
+     * @param maxPixels      the max pixels of the decoded originals
+     */
+    public ImageDerivativeEngine(Path cacheDirectory, long maxCacheBytes, long maxPixels) {
+        this(cacheDirectory, maxCacheBytes, maxPixels, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * Generate the variants of an original in the background. Failures are logged, missing variants are
+     * generated again on first request.
+     *
+     * @param original the original
+     * @param variants the variants
+     * @return the completable future, completed exceptionally when the executor rejects the generation
+     */
+    public CompletableFuture<Void> generateAsync(Path original, Collection<ImageVariant> variants) {
+        try {
+            return CompletableFuture.runAsync(() -> {
+                for (ImageVariant variant : variants) {
+                    try {
+                        get(original, variant);
+                    } catch (IOException | RuntimeException e) {
+                        log.warn("Unable to generate {} variant of {}: {}", variant.name(), original, e.getMessage());
+                    }
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            // Under backlog the variants are generated lazily on first request instead
+            log.debug("Background generation of {} rejected, variants will be generated on request", original);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Gets the variant of an original, generating it on a cache miss.
+     *
+     * @param original the original
+     * @param variant  the variant
+     * @return the derivative path, empty if the original is not a readable image
+     * @throws IOException          the io exception
+     * @throws BadArgumentException if the original exceeds the pixel cap
+     */
+    public Optional<Path> get(Path original, ImageVariant variant) throws IOException {
+        String hash = FileContentHash.get(original);
+        Path derivative = cacheDirectory.resolve(hash.substring(0, 2)).resolve(variant.fileName(hash));
+
+        if (Files.isRegularFile(derivative)) {
+            touch(derivative);
+            return Optional.of(derivative);
+        }
+
+        CompletableFuture<Path> generation = new CompletableFuture<>();
+        CompletableFuture<Path> running = inFlight.putIfAbsent(derivative, generation);
+        if (running != null) {
+            return Optional.ofNullable(await(running));
+        }
+
+        try {
+            Path generated = generate(original, variant, derivative);
+            generation.complete(generated);
+            return Optional.ofNullable(generated);
+        } catch (IOException | RuntimeException e) {
+            generation.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(derivative, generation);
+        }
+    }
+
+    /**
+     * Gets cache size.
+     *
+     * @return the total size of cached derivatives in bytes
+     */
+    public synchronized long getCacheSize() {
+        loadIndex();
+        return cacheBytes;
+    }
+
+    /**
+     * Scale an image to fit in the bounds, keeping its aspect ratio and never enlarging it. Large reductions are
+     * done in successive halvings, which keeps bilinear interpolation sharp at a fraction of the bicubic cost.
+     *
+     * @param source    the source
+     * @param maxWidth  the max width
+     * @param maxHeight the max height
+     * @param opaque    flatten transparency on white for formats without alpha
+     * @return the buffered image
+     */
+    public static BufferedImage resize(BufferedImage source, int maxWidth, int maxHeight, boolean opaque) {
+        double scale = Math.min(1d, Math.min((double) maxWidth / source.getWidth(), (double) maxHeight / source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                if (opaque) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, width, height);
+                }
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private Path generate(Path original, ImageVariant variant, Path derivative) throws IOException {
+        BufferedImage source = read(original);
+        if (source == null) {
+            log.warn("No image reader for {}, variant {} not generated", original, variant.name());
+            return null;
+        }
+
+        BufferedImage scaled = resize(source, variant.maxWidth(), variant.maxHeight(), variant.isOpaque());
+        Files.createDirectories(derivative.getParent());
+        Path temp = Files.createTempFile(derivative.getParent(), derivative.getFileName().toString(), ".part");
+        try {
+            write(scaled, variant, temp);
+            Files.move(temp, derivative, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        log.debug("Generated {} variant of {} ({}x{})", variant.name(), original, scaled.getWidth(), scaled.getHeight());
+        added(derivative, Files.size(derivative));
+        return derivative;
+    }
+
+    private BufferedImage read(Path original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                // Check the dimensions of the header before allocating the decoded raster
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new BadArgumentException("Image " + original.getFileName() + " has " + pixels
+                            + " pixels, more than the " + maxPixels + " allowed");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static void write(BufferedImage image, ImageVariant variant, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(variant.format());
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer for format " + variant.format());
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed() && variant.isOpaque()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(variant.quality());
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private synchronized void touch(Path derivative) {
+        loadIndex();
+        index.get(derivative);
+        try {
+            Files.setLastModifiedTime(derivative, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            log.debug("Unable to update access time of {}", derivative, e);
+        }
+    }
+
+    private synchronized void added(Path derivative, long size) {
+        loadIndex();
+        Long previous = index.put(derivative, size);
+        cacheBytes += size - (previous != null ? previous : 0);
+        evict(derivative);
+    }
+
+    private void evict(Path keep) {
+        Iterator<Map.Entry<Path, Long>> entries = index.entrySet().iterator();
+        while (cacheBytes > maxCacheBytes && entries.hasNext()) {
+            Map.Entry<Path, Long> eldest = entries.next();
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(eldest.getKey());
+                cacheBytes -= eldest.getValue();
+                entries.remove();
+                log.debug("Evicted derivative {}", eldest.getKey());
+            } catch (IOException e) {
+                log.warn("Unable to evict derivative {}", eldest.getKey(), e);
+            }
+        }
+    }
+
+    private void loadIndex() {
+        if (indexLoaded) {
+            return;
+        }
+        indexLoaded = true;
+        if (!Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+        record Entry(Path path, long size, long lastModified) {
+        }
+        try (Stream<Path> files = Files.walk(cacheDirectory, 2)) {
+            List<Entry> entries = files.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().endsWith(".part"))
+                    .map(path -> {
+                        try {
+                            return new Entry(path, Files.size(path), Files.getLastModifiedTime(path).toMillis());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .sorted(Comparator.comparingLong(Entry::lastModified))
+                    .toList();
+            entries.forEach(entry -> {
+                index.put(entry.path(), entry.size());
+                cacheBytes += entry.size();
+            });
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Unable to index derivative cache {}", cacheDirectory, e);
+        }
+        evict(null);
+    }
+
+    private static Path await(CompletableFuture<Path> generation) throws IOException {
+        try {
+            return generation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw e;
+        }
+    }
+
+    private static ExecutorService newDefaultExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(1_000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivatives-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Rejected generations complete their future exceptionally, see generateAsync
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -17,17 +17,27 @@ import eu.isygoit.repository.JpaPagingAndSortingCodeAssignableRepository;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The type Image api.
@@ -42,27 +52,97 @@ public abstract class ImageService<I extends Serializable, T extends IImageEntit
         extends CodeAssignableService<I, T, R>
         implements IImageServiceOperations<I, T> {
 
+    /**
+     * The constant DERIVATIVE_DIRECTORY.
+     */
+    public static final String DERIVATIVE_DIRECTORY = ".derivatives";
+
+    private static final Map<String, ImageVariant> DEFAULT_VARIANTS = Stream.of(
+                    ImageVariant.THUMBNAIL, ImageVariant.SMALL, ImageVariant.MEDIUM)
+            .collect(Collectors.toUnmodifiableMap(ImageVariant::name, Function.identity()));
+
     // Persistent class derived via reflection for exception messages etc.
     @Getter
     private final Class<T> persistentClass = (Class<T>) ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments()[1];
 
+    private volatile ImageDerivativeEngine derivativeEngine;
+
     private String saveImageFile(T entity, MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new BadArgumentException("Provided file is empty.");
+        }
+
         // Determine target directory based on entity tenant and class name
         Path target = Path.of(getUploadDirectory())
                 .resolve(entity instanceof ITenantAssignable tenantAssignable
                         ? tenantAssignable.getTenant() : TenantConstants.DEFAULT_TENANT_NAME)
                 .resolve(entity.getClass().getSimpleName().toLowerCase())
                 .resolve("image");
+        Files.createDirectories(target);
+        Path saved = target.resolve(file.getOriginalFilename() + "_" + entity.getCode()
+                + "." + FilenameUtils.getExtension(file.getOriginalFilename()));
+
+        // Stream the upload, hashing it for ETags and derivatives, and flush it to disk once when complete
+        MessageDigest digest = FileContentHash.newDigest();
+        try (InputStream input = new DigestInputStream(file.getInputStream(), digest);
+             FileChannel channel = FileChannel.open(saved, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            input.transferTo(Channels.newOutputStream(channel));
+            channel.force(true);
+        }
+        FileContentHash.record(saved, HexFormat.of().formatHex(digest.digest()));
+        log.info("File saved at: {}", saved);
+
+        // Warm the variants in the background, missing ones are generated on first request
+        derivativeEngine().generateAsync(saved, getImageVariants().values());
+        return saved.toString();
+    }
+
+    /**
+     * Gets the derivative engine, caching variants under the upload directory.
+     *
+     * @return the image derivative engine
+     */
+    protected ImageDerivativeEngine derivativeEngine() {
+        if (derivativeEngine == null) {
+            synchronized (this) {
+                if (derivativeEngine == null) {
+                    derivativeEngine = new ImageDerivativeEngine(
+                            Path.of(getUploadDirectory()).resolve(DERIVATIVE_DIRECTORY)
+                                    .resolve(getPersistentClass().getSimpleName().toLowerCase()),
+                            getDerivativeCacheMaxBytes(),
+                            getDerivativeMaxPixels());
+                }
+            }
+        }
+        return derivativeEngine;
+    }
+
+    /**
+     * Gets the image variants generated for uploads, by name. Override to change sizes or formats.
+     *
+     * @return the image variants
+     */
+    protected Map<String, ImageVariant> getImageVariants() {
+        return DEFAULT_VARIANTS;
+    }
 
-        // Save the file and return the path as string
-        return FileHelper.saveMultipartFile(target,
-                        file.getOriginalFilename() + "_" + entity.getCode(),
-                        file, FilenameUtils.getExtension(file.getOriginalFilename()),
-                        StandardOpenOption.CREATE,
-                        StandardOpenOption.WRITE,
-                        StandardOpenOption.TRUNCATE_EXISTING,
-                        StandardOpenOption.SYNC)
-                .toString();
+    /**
+     * Gets the size cap of the derivative cache.
+     *
+     * @return the max bytes
+     */
+    protected long getDerivativeCacheMaxBytes() {
+        return ImageDerivativeEngine.DEFAULT_MAX_CACHE_BYTES;
+    }
+
+    /**
+     * Gets the maximum pixel count of the originals decoded for derivatives, larger images are rejected.
+     *
+     * @return the max pixels
+     */
+    protected long getDerivativeMaxPixels() {
+        return ImageDerivativeEngine.DEFAULT_MAX_PIXELS;
     }
 
     @Override
@@ -94,19 +174,37 @@ public abstract class ImageService<I extends Serializable, T extends IImageEntit
             throw new EmptyPathException(this.getPersistentClass().getSimpleName() + " with id " + id);
         }
 
-        Resource resource = new UrlResource(Path.of(entity.getImagePath()).toUri());
+        Path imagePath = Path.of(entity.getImagePath());
 
         // Check resource existence
-        if (!resource.exists()) {
+        if (!Files.isRegularFile(imagePath)) {
             throw new ResourceNotFoundException("Resource not found for path " + entity.getImagePath());
         }
 
-        return ResourceDto.builder()
-                .originalFileName(resource.getFilename())
-                .fileName(resource.getFilename())
-                .fileType(FilenameUtils.getExtension(resource.getFilename()))
-                .resource(resource)
-                .build();
+        String fileName = imagePath.getFileName().toString();
+        return FileServingEngine.describe(imagePath, fileName, fileName, FilenameUtils.getExtension(fileName));
+    }
+
+    @Override
+    public ResourceDto downloadImage(I id, String variant) throws IOException {
+        if (!StringUtils.hasText(variant)) {
+            return downloadImage(id);
+        }
+        ImageVariant imageVariant = getImageVariants().get(variant);
+        if (imageVariant == null) {
+            throw new BadArgumentException("Unknown image variant " + variant);
+        }
+
+        ResourceDto original = downloadImage(id);
+        Path originalPath = original.getResource().getFile().toPath();
+        Optional<Path> derivative = derivativeEngine().get(originalPath, imageVariant);
+        if (derivative.isEmpty()) {
+            // Not decodable by image io, serve the original
+            return original;
+        }
+
+        String fileName = FilenameUtils.getBaseName(original.getFileName()) + "_" + variant + "." + imageVariant.format();
+        return FileServingEngine.describe(derivative.get(), fileName, fileName, imageVariant.format());
     }
 
     @Override
@@ -0,0 +1,83 @@
+package eu.isygoit.com.rest.service.media;
+
+/**
+ * The type Image variant.
+ * <p>
+ * A derivative of an uploaded image, scaled to fit in {@code maxWidth x maxHeight} (never enlarged) and encoded
+ * as {@code format}. The quality only applies to lossy formats.
+ *
+ * @param name      the name used in download requests
+ * @param maxWidth  the max width
+ * @param maxHeight the max height
+ * @param format    the image io format name (jpg, png...)
+ * @param quality   the compression quality between 0 and 1
+ */
+public record ImageVariant(String name, int maxWidth, int maxHeight, String format, float quality) {
+
+    /**
+     * The constant DEFAULT_QUALITY.
+     */
+    public static final float DEFAULT_QUALITY = 0.85f;
+
+    /**
+     * Thumbnail for avatars and lists.
+     */
+    public static final ImageVariant THUMBNAIL = of("thumbnail", 128, 128, "jpg");
+
+    /**
+     * Small image for grids and cards.
+     */
+    public static final ImageVariant SMALL = of("small", 320, 320, "jpg");
+
+    /**
+     * Medium image for detail views.
+     */
+    public static final ImageVariant MEDIUM = of("medium", 1024, 1024, "jpg");
+
+    /**
+     * Instantiates a new Image variant.
+     */
+    public ImageVariant {
+        if (name == null || name.isBlank() || !name.matches("[A-Za-z0-9_-]+")) {
+            throw new IllegalArgumentException("Invalid image variant name: " + name);
+        }
+        if (maxWidth <= 0 || maxHeight <= 0) {
+            throw new IllegalArgumentException("Image variant size must be positive: " + maxWidth + "x" + maxHeight);
+        }
+        if (quality <= 0 || quality > 1) {
+            throw new IllegalArgumentException("Image variant quality must be in ]0, 1]: " + quality);
+        }
+    }
+
+    /**
+     * Variant with the default quality.
+     *
+     * @param name      the name
+     * @param maxWidth  the max width
+     * @param maxHeight the max height
+     * @param format    the format
+     * @return the image variant
+     */
+    public static ImageVariant of(String name, int maxWidth, int maxHeight, String format) {
+        return new ImageVariant(name, maxWidth, maxHeight, format, DEFAULT_QUALITY);
+    }
+
+    /**
+     * Is the format without alpha channel.
+     *
+     * @return the boolean
+     */
+    public boolean isOpaque() {
+        return "jpg".equalsIgnoreCase(format) || "jpeg".equalsIgnoreCase(format) || "bmp".equalsIgnoreCase(format);
+    }
+
+    /**
+     * File name of the derivative, unique per content hash and variant settings.
+     *
+     * @param contentHash the content hash of the original
+     * @return the file name
+     */
+    String fileName(String contentHash) {
+        return contentHash + "-" + name + "-" + maxWidth + "x" + maxHeight + "-" + Math.round(quality * 100) + "." + format;
+    }
+}
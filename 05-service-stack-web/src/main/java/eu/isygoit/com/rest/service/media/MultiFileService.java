@@ -1,10 +1,14 @@
 package eu.isygoit.com.rest.service.media;
 
+import eu.isygoit.dto.common.PresignedTransferDto;
 import eu.isygoit.dto.common.ResourceDto;
+import eu.isygoit.exception.BadArgumentException;
 import eu.isygoit.exception.EmptyFileException;
 import eu.isygoit.exception.EmptyFileListException;
 import eu.isygoit.exception.FileNotFoundException;
 import eu.isygoit.exception.ObjectNotFoundException;
+import eu.isygoit.exception.OperationNotSupportedException;
+import eu.isygoit.exception.StoreFileException;
 import eu.isygoit.helper.CRC16Helper;
 import eu.isygoit.helper.CRC32Helper;
 import eu.isygoit.model.ICodeAssignable;
@@ -16,16 +20,19 @@ import eu.isygoit.repository.JpaPagingAndSortingRepository;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.Serializable;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Abstract service class for handling multiple file operations for entities.
@@ -54,6 +61,10 @@ public abstract class MultiFileService<
 
     /**
      * Uploads multiple additional files for the specified parent entity.
+     * <p>
+     * Runs in one transaction, joined when the caller already has one: all the linked-file rows are persisted together,
+     * and the stored contents are removed if the transaction rolls back. The transaction stays open while the files
+     * are stored.
      *
      * @param parentId the ID of the parent entity
      * @param files    the array of multipart files to upload
@@ -62,6 +73,7 @@ public abstract class MultiFileService<
      * @throws EmptyFileListException if the files array is null or empty
      */
     @Override
+    @Transactional
     public List<L> uploadAdditionalFiles(I parentId, MultipartFile[] files) throws IOException {
         if (files == null || files.length == 0) {
             log.error("Empty or null file list provided for parentId: {}", parentId);
@@ -70,11 +82,59 @@ public abstract class MultiFileService<
 
         var entity = getEntityOrThrow(parentId);
         log.debug("Uploading {} files for parentId: {}", files.length, parentId);
+        if (files.length == 1 || getUploadConcurrency() <= 1) {
+            for (var file : files) {
+                uploadAdditionalFile(parentId, file);
+            }
+            log.info("Successfully uploaded {} files for parentId: {}", files.length, parentId);
+            return entity.getAdditionalFiles();
+        }
+
+        // Prepare rows and run the hooks on the caller thread, store the contents in parallel
+        var prepared = new ArrayList<L>(files.length);
         for (var file : files) {
-            uploadAdditionalFile(parentId, file);
+            if (file == null || file.isEmpty()) {
+                log.error("Null or empty file provided for parentId: {}", parentId);
+                throw new EmptyFileException("Empty file for parent ID: " + parentId);
+            }
+            prepared.add(beforeUpload(newLinkedFile(file), file));
         }
-        log.info("Successfully uploaded {} files for parentId: {}", files.length, parentId);
-        return entity.getAdditionalFiles();
+
+        var stored = ParallelFileUploads.storeAll(prepared, files, getUploadConcurrency(), (linkedFile, file) -> {
+            computeChecksums(linkedFile, file);
+            var uploaded = performUploadFile(file, linkedFile);
+            if (uploaded.getFileName() == null) {
+                throw new StoreFileException("Failed to store file " + file.getOriginalFilename());
+            }
+            return uploaded;
+        }, this::performDeleteStoredFile);
+
+        // Persist all linked-file rows with a single parent update
+        return ParallelFileUploads.persistOrRollback(stored, this::performDeleteStoredFile, () -> {
+            // stored.get(i) is the linked file of files[i]
+            var linkedFiles = new ArrayList<L>(stored.size());
+            for (int i = 0; i < stored.size(); i++) {
+                if (stored.get(i) != null) {
+                    linkedFiles.add(afterUpload(stored.get(i), files[i]));
+                }
+            }
+            if (CollectionUtils.isEmpty(entity.getAdditionalFiles())) {
+                entity.setAdditionalFiles(new ArrayList<>());
+            }
+            entity.getAdditionalFiles().addAll(linkedFiles);
+            var updated = update(entity);
+            log.info("Successfully uploaded {} files in parallel for parentId: {}", files.length, parentId);
+            return updated.getAdditionalFiles();
+        });
+    }
+
+    /**
+     * Gets the number of files of a multi-file upload stored at the same time, 1 to store them one by one.
+     *
+     * @return the upload concurrency
+     */
+    protected int getUploadConcurrency() {
+        return ParallelFileUploads.DEFAULT_CONCURRENCY;
     }
 
     /**
@@ -118,24 +178,114 @@ public abstract class MultiFileService<
         }
     }
 
-    private L createLinkedFile(MultipartFile file) throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException, IOException {
-        var linkedFile = linkedFileClass.getDeclaredConstructor().newInstance();
+    /**
+     * Gets a presigned url to download an additional file straight from the object storage.
+     *
+     * @param parentId the ID of the parent entity
+     * @param fileId   the ID of the linked file
+     * @return the presigned transfer, empty when files are not stored behind a direct transfer capable DMS
+     * @throws IOException             if the DMS call fails
+     * @throws ObjectNotFoundException if the parent entity or linked file is not found
+     */
+    @Override
+    public Optional<PresignedTransferDto> getAdditionalFileDownloadUrl(I parentId, I fileId) throws IOException {
+        var linkedFile = findLinkedFile(getEntityOrThrow(parentId), fileId);
+        if (linkedFile == null) {
+            log.error("Linked file not found for fileId: {}, parentId: {}", fileId, parentId);
+            throw new ObjectNotFoundException(linkedFileClass.getSimpleName() + " with ID: " + fileId);
+        }
+        return Optional.ofNullable(performPresignDownload(linkedFile));
+    }
+
+    /**
+     * Gets a presigned url to upload an additional file straight to the object storage. Nothing is persisted until
+     * the upload is completed with the code of the returned transfer.
+     *
+     * @param parentId         the ID of the parent entity
+     * @param originalFileName the original file name
+     * @return the presigned transfer, empty when files are not stored behind a direct transfer capable DMS
+     * @throws IOException if the DMS call fails
+     */
+    @Override
+    public Optional<PresignedTransferDto> prepareAdditionalFileUpload(I parentId, String originalFileName) throws IOException {
+        if (!StringUtils.hasText(originalFileName)) {
+            throw new BadArgumentException("Original file name must not be empty");
+        }
+        getEntityOrThrow(parentId);
+        var linkedFile = newLinkedFile(null, originalFileName, null, null);
+        return Optional.ofNullable(performPresignUpload(linkedFile, originalFileName));
+    }
+
+    /**
+     * Attaches an additional file uploaded through a presigned url to the parent entity.
+     *
+     * @param parentId         the ID of the parent entity
+     * @param code             the code returned when the upload was prepared
+     * @param originalFileName the original file name
+     * @return the list of linked files associated with the parent entity
+     * @throws IOException if the DMS has no file uploaded under the code
+     */
+    @Override
+    @Transactional
+    public List<L> completeAdditionalFileUpload(I parentId, String code, String originalFileName) throws IOException {
+        if (!StringUtils.hasText(code) || !StringUtils.hasText(originalFileName)) {
+            throw new BadArgumentException("Code and original file name must not be empty");
+        }
+        var entity = getEntityOrThrow(parentId);
+        var linkedFile = newLinkedFile(code, originalFileName,
+                MediaTypeFactory.getMediaType(originalFileName).map(Object::toString).orElse(null), null);
+
+        var response = performCompleteUpload(linkedFile, originalFileName);
+        if (response == null) {
+            throw new OperationNotSupportedException("Direct upload is not available for " + linkedFileClass.getSimpleName());
+        }
+        linkedFile.setFileName(response.getCode());
+
+        if (CollectionUtils.isEmpty(entity.getAdditionalFiles())) {
+            entity.setAdditionalFiles(new ArrayList<>());
+        }
+        entity.getAdditionalFiles().add(linkedFile);
+        update(entity);
+        log.info("Direct upload attached for parentId: {}, code: {}", parentId, code);
+        return entity.getAdditionalFiles();
+    }
+
+    private L createLinkedFile(MultipartFile file) throws IOException {
+        var linkedFile = newLinkedFile(file);
+        computeChecksums(linkedFile, file);
+        return linkedFile;
+    }
+
+    private L newLinkedFile(MultipartFile file) throws IOException {
+        return newLinkedFile(null, file.getOriginalFilename(), file.getContentType(), file.getSize());
+    }
+
+    private L newLinkedFile(String code, String originalFilename, String contentType, Long size) throws IOException {
+        L linkedFile;
+        try {
+            linkedFile = linkedFileClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Unable to instantiate " + linkedFileClass.getSimpleName(), e);
+        }
+        linkedFile.setCode(code);
         assignCodeIfEmpty(linkedFile);
 
-        var originalFilename = file.getOriginalFilename();
         linkedFile.setOriginalFileName(originalFilename);
         linkedFile.setExtension(FilenameUtils.getExtension(originalFilename));
         linkedFile.setPath(Path.of(getUploadDirectory())
                 .resolve(this.getPersistentClass().getSimpleName().toLowerCase())
                 .resolve("additional")
                 .toString());
-        linkedFile.setMimetype(file.getContentType());
+        linkedFile.setMimetype(contentType);
+        linkedFile.setSize(size);
+        linkedFile.setVersion(1L);
+        return linkedFile;
+    }
+
+    private void computeChecksums(L linkedFile, MultipartFile file) throws IOException {
         var bytes = file.getBytes();
         linkedFile.setCrc16(CRC16Helper.calculate(bytes));
         linkedFile.setCrc32(CRC32Helper.calculate(bytes));
-        linkedFile.setSize(file.getSize());
-        linkedFile.setVersion(1L);
-        return linkedFile;
     }
 
     /**
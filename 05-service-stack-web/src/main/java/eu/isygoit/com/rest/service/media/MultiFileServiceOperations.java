@@ -5,6 +5,8 @@ import eu.isygoit.annotation.InjectLinkedFileRepository;
 import eu.isygoit.app.ApplicationContextService;
 import eu.isygoit.com.rest.api.ILinkedFileApi;
 import eu.isygoit.com.rest.service.CodeAssignableService;
+import eu.isygoit.dto.common.LinkedFileResponseDto;
+import eu.isygoit.dto.common.PresignedTransferDto;
 import eu.isygoit.dto.common.ResourceDto;
 import eu.isygoit.exception.BadArgumentException;
 import eu.isygoit.exception.JpaRepositoryNotDefinedException;
@@ -17,9 +19,12 @@ import eu.isygoit.repository.JpaPagingAndSortingCodeAssignableRepository;
 import eu.isygoit.repository.JpaPagingAndSortingRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.time.Duration;
 
 /**
  * Abstract service class providing methods for handling multiple file operations with performance optimizations.
@@ -44,6 +49,9 @@ public abstract class MultiFileServiceOperations<
     @Autowired
     private ApplicationContextService applicationContextService;
 
+    @Value("${" + ContentAddressedStore.ENABLED_PROPERTY + ":false}")
+    private boolean contentAddressed;
+
     private volatile RL linkFileRepository;
     private volatile ILinkedFileApi linkedFileApi;
 
@@ -122,7 +130,7 @@ public abstract class MultiFileServiceOperations<
             var service = getLinkedFileApi();
             String fileName = service != null
                     ? FileServiceDmsStaticOperations.upload(file, entity, service).getCode()
-                    : FileServiceLocalStaticOperations.upload(file, entity, true);
+                    : FileServiceLocalStaticOperations.upload(file, entity, true, contentAddressed);
             entity.setFileName(fileName);
             log.info("File uploaded successfully for entity: {}, fileName: {}", entity.getCode(), fileName);
             return entity;
@@ -177,6 +185,75 @@ public abstract class MultiFileServiceOperations<
         }, false, "delete file");
     }
 
+    /**
+     * Removes the stored content of a linked file without touching its row, used to undo a failed upload.
+     *
+     * @param entity the linked file entity
+     * @throws Exception if the content could not be removed
+     */
+    protected final void performDeleteStoredFile(L entity) throws Exception {
+        var service = getLinkedFileApi();
+        if (service != null) {
+            FileServiceDmsStaticOperations.delete(entity, service);
+        } else {
+            FileServiceLocalStaticOperations.delete(entity);
+        }
+        log.debug("Stored file removed for entity: {}", entity.getCode());
+    }
+
+    /**
+     * Presigns the download of a linked file.
+     *
+     * @param entity the linked file entity
+     * @return the presigned transfer, or null when files are not stored behind a direct transfer capable DMS
+     * @throws IOException if the DMS call fails
+     */
+    protected final PresignedTransferDto performPresignDownload(L entity) throws IOException {
+        var service = getLinkedFileApi();
+        return service != null
+                ? FileServiceDmsStaticOperations.presignDownload(entity, service, getDirectTransferTtl())
+                : null;
+    }
+
+    /**
+     * Presigns the upload of a linked file, stored under its code.
+     *
+     * @param entity           the linked file entity
+     * @param originalFileName the original file name
+     * @return the presigned transfer, or null when files are not stored behind a direct transfer capable DMS
+     * @throws IOException if the DMS call fails
+     */
+    protected final PresignedTransferDto performPresignUpload(L entity, String originalFileName) throws IOException {
+        var service = getLinkedFileApi();
+        return service != null
+                ? FileServiceDmsStaticOperations.presignUpload(entity, originalFileName, service, getDirectTransferTtl())
+                : null;
+    }
+
+    /**
+     * Records a linked file uploaded through a presigned url.
+     *
+     * @param entity           the linked file entity
+     * @param originalFileName the original file name
+     * @return the linked file response, or null when files are not stored behind a direct transfer capable DMS
+     * @throws IOException if the DMS call fails or nothing was uploaded
+     */
+    protected final LinkedFileResponseDto performCompleteUpload(L entity, String originalFileName) throws IOException {
+        var service = getLinkedFileApi();
+        return service != null
+                ? FileServiceDmsStaticOperations.completeUpload(entity, originalFileName, service)
+                : null;
+    }
+
+    /**
+     * Gets the validity of presigned urls.
+     *
+     * @return the direct transfer ttl
+     */
+    protected Duration getDirectTransferTtl() {
+        return IDirectTransferLinkedFileApi.DEFAULT_TTL;
+    }
+
     /**
      * Executes a supplier operation safely, handling exceptions and logging errors.
      *
@@ -0,0 +1,266 @@
+package eu.isygoit.com.rest.service.media;
+
+import eu.isygoit.audit.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Parallel file uploads.
+ * <p>
+ * Stores the files of a multi-file upload concurrently, on at most {@code concurrency} threads, so a batch takes
+ * about as long as its largest file. Either all files are stored or none: when a store fails the
+ * files already stored are removed, and once stored they are removed again if the transaction persisting their
+ * linked-file rows rolls back.
+ * <p>
+ * The stores run on a pool shared by all uploads. Each worker runs with the request attributes, tenant and security
+ * context of the calling thread, so the DMS clients forward the caller's Authorization header.
+ */
+@Slf4j
+public final class ParallelFileUploads {
+
+    /**
+     * The constant DEFAULT_CONCURRENCY.
+     */
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    private static final ExecutorService EXECUTOR = newExecutor();
+
+    private ParallelFileUploads() {
+    }
+
+    /**
+     * Store all files, the i-th file for the i-th linked file.
+     *
+     * @param <L>         the type parameter
+     * @param linkedFiles the linked files
+     * @param files       the files
+     * @param concurrency the max number of files stored at the same time
+     * @param store       the store operation, returning the stored linked file
+     * @param rollback    removes a stored file
+     * @return the stored linked files, the i-th for the i-th file, null where the store returned none
+     * @throws IOException the io exception of the first failed store
+     */
+    @SuppressWarnings("unchecked")
+    public static <L> List<L> storeAll(List<L> linkedFiles, MultipartFile[] files, int concurrency,
+                                       StoreOperation<L> store, RollbackOperation<L> rollback) throws IOException {
+        if (linkedFiles.size() != files.length) {
+            throw new IllegalArgumentException("Expected one linked file per file");
+        }
+
+        // At most concurrency workers, each storing the next file not yet taken
+        Object[] results = new Object[files.length];
+        Throwable[] failures = new Throwable[files.length];
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = withCallerContext(() -> {
+            for (int i = next.getAndIncrement(); i < files.length; i = next.getAndIncrement()) {
+                try {
+                    results[i] = store.store(linkedFiles.get(i), files[i]);
+                } catch (Throwable e) {
+                    failures[i] = e;
+                }
+            }
+        });
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, Math.min(concurrency, files.length)); i++) {
+            workers.add(EXECUTOR.submit(worker));
+        }
+
+        // Wait for every worker, so a rollback sees all stored files
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (Future<?> future : workers) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (ExecutionException e) {
+                    failure = addFailure(failure, e.getCause());
+                    break;
+                } catch (InterruptedException e) {
+                    // Stop taking new files, the running stores complete before the rollback
+                    interrupted = true;
+                    next.set(files.length);
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            failure = addFailure(failure, new InterruptedException("Interrupted while storing uploaded files"));
+        }
+
+        // Positional, so that callers can pair each stored linked file with its file
+        List<L> stored = new ArrayList<>(Collections.nCopies(files.length, null));
+        for (int i = 0; i < files.length; i++) {
+            if (failures[i] != null) {
+                failure = addFailure(failure, failures[i]);
+            } else {
+                stored.set(i, (L) results[i]);
+            }
+        }
+
+        if (failure != null) {
+            log.error("{} of {} files stored before failure, removing them",
+                    stored.stream().filter(Objects::nonNull).count(), files.length);
+            rollback(stored, rollback);
+            if (failure instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Failed to store uploaded files", failure);
+        }
+        return stored;
+    }
+
+    /**
+     * Persist the stored files. If the persistence fails, or the surrounding transaction rolls back later on,
+     * the stored files are removed.
+     *
+     * @param <L>      the type parameter
+     * @param <R>      the type parameter
+     * @param stored   the stored linked files, null entries are skipped
+     * @param rollback removes a stored file
+     * @param persist  the persist operation
+     * @return the persist result
+     * @throws IOException the io exception
+     */
+    public static <L, R> R persistOrRollback(List<L> stored, RollbackOperation<L> rollback,
+                                             PersistOperation<R> persist) throws IOException {
+        boolean transactional = TransactionSynchronizationManager.isSynchronizationActive();
+        if (transactional) {
+            List<L> toRemove = stored.stream().filter(Objects::nonNull).toList();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        log.warn("Transaction not committed, removing {} stored files", toRemove.size());
+                        rollback(toRemove, rollback);
+                    }
+                }
+            });
+        }
+
+        try {
+            return persist.persist();
+        } catch (IOException | RuntimeException e) {
+            if (!transactional) {
+                rollback(stored, rollback);
+            }
+            throw e;
+        }
+    }
+
+    private static Runnable withCallerContext(Runnable task) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        String tenant = TenantContext.getTenantId();
+        return () -> {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            SecurityContextHolder.setContext(securityContext);
+            TenantContext.setTenantId(tenant);
+            try {
+                task.run();
+            } finally {
+                TenantContext.clear();
+                SecurityContextHolder.clearContext();
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+    }
+
+    private static ExecutorService newExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        int threads = Math.max(DEFAULT_CONCURRENCY, 2 * Runtime.getRuntime().availableProcessors());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "multi-file-upload-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static <L> void rollback(List<L> stored, RollbackOperation<L> rollback) {
+        for (L linkedFile : stored) {
+            if (linkedFile == null) {
+                continue;
+            }
+            try {
+                rollback.remove(linkedFile);
+            } catch (Exception e) {
+                log.error("Failed to remove stored file {}", linkedFile, e);
+            }
+        }
+    }
+
+    private static Throwable addFailure(Throwable failure, Throwable cause) {
+        if (failure == null) {
+            return cause;
+        }
+        failure.addSuppressed(cause);
+        return failure;
+    }
+
+    /**
+     * The interface Store operation.
+     *
+     * @param <L> the type parameter
+     */
+    @FunctionalInterface
+    public interface StoreOperation<L> {
+        /**
+         * Store l.
+         *
+         * @param linkedFile the linked file
+         * @param file       the file
+         * @return the l
+         * @throws Exception the exception
+         */
+        L store(L linkedFile, MultipartFile file) throws Exception;
+    }
+
+    /**
+     * The interface Rollback operation.
+     *
+     * @param <L> the type parameter
+     */
+    @FunctionalInterface
+    public interface RollbackOperation<L> {
+        /**
+         * Remove.
+         *
+         * @param linkedFile the linked file
+         * @throws Exception the exception
+         */
+        void remove(L linkedFile) throws Exception;
+    }
+
+    /**
+     * The interface Persist operation.
+     *
+     * @param <R> the type parameter
+     */
+    @FunctionalInterface
+    public interface PersistOperation<R> {
+        /**
+         * Persist r.
+         *
+         * @return the r
+         * @throws IOException the io exception
+         */
+        R persist() throws IOException;
+    }
+}
@@ -3,6 +3,7 @@ package eu.isygoit.com.rest.service.tenancy;
 import eu.isygoit.annotation.InjectDmsLinkedFileService;
 import eu.isygoit.app.ApplicationContextService;
 import eu.isygoit.com.rest.api.ILinkedFileApi;
+import eu.isygoit.com.rest.service.media.ContentAddressedStore;
 import eu.isygoit.com.rest.service.media.FileServiceDmsStaticOperations;
 import eu.isygoit.com.rest.service.media.FileServiceLocalStaticOperations;
 import eu.isygoit.dto.common.ResourceDto;
@@ -14,6 +15,7 @@ import eu.isygoit.model.ITenantAssignable;
 import eu.isygoit.repository.tenancy.JpaPagingAndSortingTenantAndCodeAssignableRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -35,6 +37,9 @@ public abstract class FileTenantServiceOperations<I extends Serializable,
     @Autowired
     private ApplicationContextService applicationContextService;
 
+    @Value("${" + ContentAddressedStore.ENABLED_PROPERTY + ":false}")
+    private boolean contentAddressed;
+
     private ILinkedFileApi linkedFileApi;
 
     /**
@@ -47,7 +52,7 @@ public abstract class FileTenantServiceOperations<I extends Serializable,
     final String performUploadFile(MultipartFile file, T entity) {
         return executeWithFallback(
                 dms -> FileServiceDmsStaticOperations.upload(file, entity, dms).getCode(),
-                () -> FileServiceLocalStaticOperations.upload(file, entity, true),
+                () -> FileServiceLocalStaticOperations.upload(file, entity, true, contentAddressed),
                 "upload"
         );
     }
@@ -1,10 +1,12 @@
 package eu.isygoit.com.rest.service.tenancy;
 
+import eu.isygoit.com.rest.service.media.ParallelFileUploads;
 import eu.isygoit.dto.common.ResourceDto;
 import eu.isygoit.exception.EmptyFileException;
 import eu.isygoit.exception.EmptyFileListException;
 import eu.isygoit.exception.FileNotFoundException;
 import eu.isygoit.exception.ObjectNotFoundException;
+import eu.isygoit.exception.StoreFileException;
 import eu.isygoit.helper.CRC16Helper;
 import eu.isygoit.helper.CRC32Helper;
 import eu.isygoit.model.*;
@@ -13,12 +15,12 @@ import eu.isygoit.repository.tenancy.JpaPagingAndSortingTenantAssignableReposito
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.Serializable;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -51,6 +53,10 @@ public abstract class MultiFileTenantService<
 
     /**
      * Uploads multiple additional files for the specified tenant and parent entity.
+     * <p>
+     * Runs in one transaction, joined when the caller already has one: all the linked-file rows are persisted together,
+     * and the stored contents are removed if the transaction rolls back. The transaction stays open while the files
+     * are stored.
      *
      * @param tenant   the tenant identifier
      * @param parentId the ID of the parent entity
@@ -60,6 +66,7 @@ public abstract class MultiFileTenantService<
      * @throws EmptyFileListException if the files array is null or empty
      */
     @Override
+    @Transactional
     public List<L> uploadAdditionalFiles(String tenant, I parentId, MultipartFile[] files) throws IOException {
         if (files == null || files.length == 0) {
             log.error("Empty or null file list provided for tenant: {}, parentId: {}", tenant, parentId);
@@ -68,11 +75,59 @@ public abstract class MultiFileTenantService<
 
         var entity = getEntityOrThrow(tenant, parentId);
         log.debug("Uploading {} files for tenant: {}, parentId: {}", files.length, tenant, parentId);
+        if (files.length == 1 || getUploadConcurrency() <= 1) {
+            for (var file : files) {
+                uploadAdditionalFile(tenant, parentId, file);
+            }
+            log.info("Successfully uploaded {} files for tenant: {}, parentId: {}", files.length, tenant, parentId);
+            return entity.getAdditionalFiles();
+        }
+
+        // Prepare rows and run the hooks on the caller thread, store the contents in parallel
+        var prepared = new ArrayList<L>(files.length);
         for (var file : files) {
-            uploadAdditionalFile(tenant, parentId, file);
+            if (file == null || file.isEmpty()) {
+                log.error("Null or empty file provided for tenant: {}, parentId: {}", tenant, parentId);
+                throw new EmptyFileException("Empty file for tenant: " + tenant + ", parent ID: " + parentId);
+            }
+            prepared.add(beforeUpload(tenant, newLinkedFile(tenant, file), file));
         }
-        log.info("Successfully uploaded {} files for tenant: {}, parentId: {}", files.length, tenant, parentId);
-        return entity.getAdditionalFiles();
+
+        var stored = ParallelFileUploads.storeAll(prepared, files, getUploadConcurrency(), (linkedFile, file) -> {
+            computeChecksums(linkedFile, file);
+            var uploaded = performUploadFile(file, linkedFile);
+            if (uploaded.getFileName() == null) {
+                throw new StoreFileException("Failed to store file " + file.getOriginalFilename());
+            }
+            return uploaded;
+        }, this::performDeleteStoredFile);
+
+        // Persist all linked-file rows with a single parent update
+        return ParallelFileUploads.persistOrRollback(stored, this::performDeleteStoredFile, () -> {
+            // stored.get(i) is the linked file of files[i]
+            var linkedFiles = new ArrayList<L>(stored.size());
+            for (int i = 0; i < stored.size(); i++) {
+                if (stored.get(i) != null) {
+                    linkedFiles.add(afterUpload(tenant, stored.get(i), files[i]));
+                }
+            }
+            if (CollectionUtils.isEmpty(entity.getAdditionalFiles())) {
+                entity.setAdditionalFiles(new ArrayList<>());
+            }
+            entity.getAdditionalFiles().addAll(linkedFiles);
+            var updated = update(tenant, entity);
+            log.info("Successfully uploaded {} files in parallel for tenant: {}, parentId: {}", files.length, tenant, parentId);
+            return updated.getAdditionalFiles();
+        });
+    }
+
+    /**
+     * Gets the number of files of a multi-file upload stored at the same time, 1 to store them one by one.
+     *
+     * @return the upload concurrency
+     */
+    protected int getUploadConcurrency() {
+        return ParallelFileUploads.DEFAULT_CONCURRENCY;
     }
 
     /**
@@ -118,8 +173,19 @@ public abstract class MultiFileTenantService<
         }
     }
 
-    private L createLinkedFile(String tenant, MultipartFile file) throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException, IOException {
-        var linkedFile = linkedFileClass.getDeclaredConstructor().newInstance();
+    private L createLinkedFile(String tenant, MultipartFile file) throws IOException {
+        var linkedFile = newLinkedFile(tenant, file);
+        computeChecksums(linkedFile, file);
+        return linkedFile;
+    }
+
+    private L newLinkedFile(String tenant, MultipartFile file) throws IOException {
+        L linkedFile;
+        try {
+            linkedFile = linkedFileClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Unable to instantiate " + linkedFileClass.getSimpleName(), e);
+        }
         assignCodeIfEmpty(linkedFile);
         linkedFile.setTenant(tenant);
 
@@ -132,14 +198,17 @@ public abstract class MultiFileTenantService<
                 .resolve("additional")
                 .toString());
         linkedFile.setMimetype(file.getContentType());
-        var bytes = file.getBytes();
-        linkedFile.setCrc16(CRC16Helper.calculate(bytes));
-        linkedFile.setCrc32(CRC32Helper.calculate(bytes));
         linkedFile.setSize(file.getSize());
         linkedFile.setVersion(1L);
         return linkedFile;
     }
 
+    private void computeChecksums(L linkedFile, MultipartFile file) throws IOException {
+        var bytes = file.getBytes();
+        linkedFile.setCrc16(CRC16Helper.calculate(bytes));
+        linkedFile.setCrc32(CRC32Helper.calculate(bytes));
+    }
+
     /**
      * Downloads a file associated with the specified tenant, parent, and file IDs.
      *
@@ -4,6 +4,7 @@ import eu.isygoit.annotation.InjectDmsLinkedFileService;
 import eu.isygoit.annotation.InjectLinkedFileRepository;
 import eu.isygoit.app.ApplicationContextService;
 import eu.isygoit.com.rest.api.ILinkedFileApi;
+import eu.isygoit.com.rest.service.media.ContentAddressedStore;
 import eu.isygoit.com.rest.service.media.FileServiceDmsStaticOperations;
 import eu.isygoit.com.rest.service.media.FileServiceLocalStaticOperations;
 import eu.isygoit.dto.common.ResourceDto;
@@ -15,6 +16,7 @@ import eu.isygoit.repository.JpaPagingAndSortingRepository;
 import eu.isygoit.repository.tenancy.JpaPagingAndSortingTenantAndCodeAssignableRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.Serializable;
@@ -42,6 +44,9 @@ public abstract class MultiFileTenantServiceSubOperations<
     @Autowired
     private ApplicationContextService applicationContextService;
 
+    @Value("${" + ContentAddressedStore.ENABLED_PROPERTY + ":false}")
+    private boolean contentAddressed;
+
     private volatile RL linkFileRepository;
     private volatile ILinkedFileApi linkedFileApi;
 
@@ -120,7 +125,7 @@ public abstract class MultiFileTenantServiceSubOperations<
             var service = getLinkedFileApi();
             String fileName = service != null
                     ? FileServiceDmsStaticOperations.upload(file, entity, service).getCode()
-                    : FileServiceLocalStaticOperations.upload(file, entity, true);
+                    : FileServiceLocalStaticOperations.upload(file, entity, true, contentAddressed);
             entity.setFileName(fileName);
             log.info("File uploaded successfully for entity: {}, fileName: {}", entity.getCode(), fileName);
             return entity;
@@ -175,6 +180,22 @@ public abstract class MultiFileTenantServiceSubOperations<
         }, false, "delete file");
     }
 
+    /**
+     * Removes the stored content of a linked file without touching its row, used to undo a failed upload.
+     *
+     * @param entity the linked file entity
+     * @throws Exception if the content could not be removed
+     */
+    protected final void performDeleteStoredFile(L entity) throws Exception {
+        var service = getLinkedFileApi();
+        if (service != null) {
+            FileServiceDmsStaticOperations.delete(entity, service);
+        } else {
+            FileServiceLocalStaticOperations.delete(entity);
+        }
+        log.debug("Stored file removed for entity: {}", entity.getCode());
+    }
+
     /**
      * Executes a supplier operation safely, handling exceptions and logging errors.
      *
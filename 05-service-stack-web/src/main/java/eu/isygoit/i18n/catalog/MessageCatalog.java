@@ -0,0 +1,271 @@
+package eu.isygoit.i18n.catalog;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * The type Message catalog.
+ * <p>
+ * Resolves localized messages in two layers:
+ * <ul>
+ *     <li>an immutable snapshot per locale, filled by the bulk loader with every code of the locale in one call; codes
+ *     are matched ignoring case. A refresh builds the new snapshot in the background and swaps it in at once, readers
+ *     keep using the previous snapshot meanwhile.</li>
+ *     <li>a bounded cache of the codes resolved one by one, either because there is no bulk loader or because the code
+ *     is not part of the snapshot. A refresh reloads the cached codes in the background as well.</li>
+ * </ul>
+ * Parameterized messages are formatted with {@link MessageFormat} templates parsed once per text and locale.
+ */
+@Slf4j
+public class MessageCatalog {
+
+    /**
+     * The constant DEFAULT_MAXIMUM_SIZE.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final Function<String, Map<String, String>> bulkLoader;
+    private final Executor executor;
+    private final ConcurrentMap<String, Map<String, String>> snapshots = new ConcurrentHashMap<>();
+    private final LoadingCache<MessageKey, String> messages;
+    private final Cache<MessageKey, MessageFormat> templates;
+    private final AtomicReference<CompletableFuture<Void>> pendingRefresh = new AtomicReference<>();
+
+    /**
+     * Instantiates a new Message catalog.
+     *
+     * @param loader      loads one message by code and locale tag, returns null when the code is unknown
+     * @param bulkLoader  loads every message of a locale tag as a code to text map, null to resolve codes one by one
+     * @param maximumSize the maximum number of messages and templates kept outside the snapshots
+     * @param executor    the executor running the refreshes, the common pool by default
+     */
+    @Builder
+    private MessageCatalog(@NonNull BiFunction<String, String, String> loader,
+                           Function<String, Map<String, String>> bulkLoader,
+                           Long maximumSize,
+                           Executor executor) {
+        long size = Objects.requireNonNullElse(maximumSize, DEFAULT_MAXIMUM_SIZE);
+        if (size <= 0) {
+            throw new IllegalArgumentException("Message catalog maximum size must be positive: " + size);
+        }
+        this.bulkLoader = bulkLoader;
+        this.executor = Objects.requireNonNullElseGet(executor, ForkJoinPool::commonPool);
+        this.messages = Caffeine.newBuilder()
+                .maximumSize(size)
+                .executor(this.executor)
+                .build(key -> {
+                    String message = loader.apply(key.code(), key.locale());
+                    return StringUtils.hasText(message) ? message : null;
+                });
+        this.templates = Caffeine.newBuilder()
+                .maximumSize(size)
+                .build();
+    }
+
+    private static String normalize(String code) {
+        return code.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets message.
+     *
+     * @param code   the code
+     * @param locale the locale tag
+     * @return the message, null when the code is unknown
+     */
+    public String get(String code, String locale) {
+        String message = snapshot(locale).get(normalize(code));
+        if (message != null) {
+            return message;
+        }
+        return messages.get(new MessageKey(code, locale));
+    }
+
+    /**
+     * Gets message formatted with the arguments.
+     *
+     * @param code   the code
+     * @param locale the locale tag
+     * @param args   the arguments
+     * @return the formatted message, null when the code is unknown
+     */
+    public String getFormatted(String code, String locale, Object... args) {
+        return format(get(code, locale), locale, args);
+    }
+
+    /**
+     * Format a message text with the arguments, using the template compiled for this text and locale.
+     *
+     * @param text   the message text, a {@link MessageFormat} pattern
+     * @param locale the locale tag
+     * @param args   the arguments
+     * @return the formatted message, the text itself when there are no arguments or the pattern is invalid
+     */
+    public String format(String text, String locale, Object... args) {
+        if (text == null || args == null || args.length == 0) {
+            return text;
+        }
+        try {
+            MessageFormat template = templates.get(new MessageKey(text, locale),
+                    key -> new MessageFormat(key.code(), Locale.forLanguageTag(key.locale())));
+            // MessageFormat is not thread safe: format with a copy, cheaper than parsing the pattern again
+            return ((MessageFormat) template.clone()).format(args);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid message pattern [{}:{}]: {}", locale, text, e.getMessage());
+            return text;
+        }
+    }
+
+    /**
+     * Put a message, e.g. after it was saved in the database.
+     *
+     * @param code    the code
+     * @param locale  the locale tag
+     * @param message the message
+     */
+    public void put(String code, String locale, String message) {
+        messages.put(new MessageKey(code, locale), message);
+        snapshots.computeIfPresent(locale, (tag, snapshot) -> {
+            Map<String, String> copy = new HashMap<>(snapshot);
+            copy.put(normalize(code), message);
+            return Map.copyOf(copy);
+        });
+    }
+
+    /**
+     * Put the messages of a map keyed by {@code code|locale}, the key format of the former message map beans.
+     * Entries with another key format or without text are ignored.
+     *
+     * @param messages the messages
+     */
+    public void putAll(Map<String, String> messages) {
+        if (messages == null) {
+            return;
+        }
+        messages.forEach((key, message) -> {
+            String[] parts = key.split("\\|");
+            if (parts.length == 2 && StringUtils.hasText(message)) {
+                put(parts[0], parts[1], message);
+            }
+        });
+    }
+
+    /**
+     * Load the snapshot of the locales now, e.g. at startup for the supported languages.
+     *
+     * @param locales the locale tags
+     */
+    public void preload(List<String> locales) {
+        locales.forEach(this::snapshot);
+    }
+
+    /**
+     * Reload the snapshots and the cached messages in the background. Messages keep being served from the current
+     * snapshots until the new ones are swapped in; a refresh requested while another one runs joins it.
+     *
+     * @return the completable future completed once every snapshot and cached message is reloaded
+     */
+    public CompletableFuture<Void> refresh() {
+        CompletableFuture<Void> created = new CompletableFuture<>();
+        CompletableFuture<Void> running = pendingRefresh.compareAndExchange(null, created);
+        if (running != null) {
+            return running;
+        }
+
+        CompletableFuture<Void> reloadSnapshots = CompletableFuture.runAsync(() ->
+                List.copyOf(snapshots.keySet()).forEach(locale -> {
+                    Map<String, String> snapshot = loadSnapshot(locale);
+                    if (snapshot != null) {
+                        snapshots.replace(locale, snapshot);
+                    }
+                }), executor);
+        CompletableFuture<?> reloadMessages = messages.refreshAll(List.copyOf(messages.asMap().keySet()));
+
+        CompletableFuture.allOf(reloadSnapshots, reloadMessages).whenComplete((result, error) -> {
+            pendingRefresh.set(null);
+            if (error != null) {
+                log.error("Message catalog refresh failed", error);
+                created.completeExceptionally(error);
+            } else {
+                created.complete(null);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Clear every snapshot, message and template.
+     */
+    public void clear() {
+        snapshots.clear();
+        messages.invalidateAll();
+        templates.invalidateAll();
+    }
+
+    /**
+     * Gets the number of messages held in the snapshot of a locale.
+     *
+     * @param locale the locale tag
+     * @return the int
+     */
+    public int snapshotSize(String locale) {
+        Map<String, String> snapshot = snapshots.get(locale);
+        return snapshot == null ? 0 : snapshot.size();
+    }
+
+    private Map<String, String> snapshot(String locale) {
+        if (bulkLoader == null) {
+            return Map.of();
+        }
+        Map<String, String> snapshot = snapshots.get(locale);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        // A failed load leaves an empty snapshot, retried by the next refresh, the codes are then resolved one by one
+        snapshot = Objects.requireNonNullElse(loadSnapshot(locale), Map.of());
+        Map<String, String> previous = snapshots.putIfAbsent(locale, snapshot);
+        return previous != null ? previous : snapshot;
+    }
+
+    private Map<String, String> loadSnapshot(String locale) {
+        try {
+            Map<String, String> loaded = bulkLoader.apply(locale);
+            Map<String, String> snapshot = new HashMap<>(loaded == null ? 0 : loaded.size() * 2);
+            if (loaded != null) {
+                loaded.forEach((code, text) -> {
+                    if (code != null && StringUtils.hasText(text)) {
+                        snapshot.putIfAbsent(normalize(code), text);
+                    }
+                });
+            }
+            log.debug("Loaded {} messages for locale {}", snapshot.size(), locale);
+            return Map.copyOf(snapshot);
+        } catch (RuntimeException e) {
+            log.error("Failed to load the messages of locale {}", locale, e);
+            return null;
+        }
+    }
+
+    private record MessageKey(String code, String locale) {
+    }
+}
@@ -1,58 +1,92 @@
 package eu.isygoit.i18n.service;
 
+import eu.isygoit.i18n.catalog.MessageCatalog;
 import eu.isygoit.model.extendable.LocaleMessageModel;
 import eu.isygoit.repository.message.MessageModelRepository;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.util.StringUtils;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 /**
  * Service abstrait pour la gestion des messages étendus.
+ * <p>
+ * Les messages d'une locale sont préchargés en une seule requête et servis depuis un instantané immuable du catalogue,
+ * remplacé en arrière-plan lors d'un rafraîchissement.
  */
 public abstract class AbstractExtendedLocaleService implements ExtendedLocaleService {
 
-    private final Map<String, String> extendedMessageMap;
+    private final MessageCatalog catalog;
 
     /**
-     * Constructeur avec injection explicite du cache.
+     * Constructeur avec la taille par défaut du cache.
+     */
+    protected AbstractExtendedLocaleService() {
+        this(MessageCatalog.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Constructeur avec la taille maximale du cache des messages chargés un par un.
+     *
+     * @param maximumSize the maximum size
+     */
+    protected AbstractExtendedLocaleService(long maximumSize) {
+        this.catalog = MessageCatalog.builder()
+                .loader(this::loadMessage)
+                .bulkLoader(this::loadMessages)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Constructeur historique avec le cache des messages étendus, dont les entrées {@code code|locale} initialisent le
+     * catalogue.
      *
      * @param extendedMessageMap the extended message map
+     * @deprecated les messages sont servis par le catalogue ; utiliser {@link #AbstractExtendedLocaleService(long)}
      */
+    @Deprecated
     protected AbstractExtendedLocaleService(@Qualifier("extendedMessageMap") Map<String, String> extendedMessageMap) {
-        this.extendedMessageMap = extendedMessageMap;
+        this(MessageCatalog.DEFAULT_MAXIMUM_SIZE);
+        catalog.putAll(extendedMessageMap);
     }
 
     @Override
     public final String getMessage(String code, String locale) {
-        String cacheKey = code + "|" + locale;
-
-        return Optional.ofNullable(extendedMessageMap.get(cacheKey))
-                .filter(StringUtils::hasText)
-                .orElseGet(() -> {
-                    String message = loadMessage(code, locale);
-                    if (StringUtils.hasText(message)) {
-                        extendedMessageMap.put(cacheKey, message);
-                    }
-                    return message;
-                });
+        return catalog.get(code, locale);
+    }
+
+    /**
+     * Gets message formatted with the arguments.
+     *
+     * @param code   the code
+     * @param locale the locale
+     * @param args   the args
+     * @return the message
+     */
+    public final String getMessage(String code, String locale, Object... args) {
+        return catalog.getFormatted(code, locale, args);
     }
 
     @Override
     public final void clear() {
-        extendedMessageMap.clear();
+        catalog.clear();
     }
 
     @Override
     public final void refresh() {
-        extendedMessageMap.replaceAll((code, oldMessage) -> {
-            String[] parts = code.split("\\|");
-            if (parts.length == 2) {
-                return loadMessage(parts[0], parts[1]);
-            }
-            return oldMessage; // Conserve l'ancienne valeur en cas d'erreur
-        });
+        catalog.refresh();
+    }
+
+    /**
+     * Précharge les messages des locales, par exemple au démarrage pour les langues supportées.
+     *
+     * @param locales the locales
+     */
+    public void preload(List<String> locales) {
+        catalog.preload(locales);
     }
 
     @Override
@@ -65,11 +99,17 @@ public abstract class AbstractExtendedLocaleService implements ExtendedLocaleSer
     }
 
     @Override
-    public void setMessage(String code, String locale, String message) {
-        String cacheKey = code + "|" + locale;
+    public Map<String, String> loadMessages(String locale) {
+        List<LocaleMessageModel> messages = getMessageRepository().findByLocale(locale);
+        Map<String, String> result = new HashMap<>(messages.size() * 2);
+        messages.forEach(message -> result.putIfAbsent(message.getCode(), message.getText()));
+        return result;
+    }
 
+    @Override
+    public void setMessage(String code, String locale, String message) {
         // Mettez à jour le cache
-        extendedMessageMap.put(cacheKey, message);
+        catalog.put(code, locale, message);
 
         // Chercher le message dans la base de données
         Optional<LocaleMessageModel> optionalMessage = getMessageRepository()
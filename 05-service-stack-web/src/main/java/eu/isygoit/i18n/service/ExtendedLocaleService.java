@@ -1,5 +1,7 @@
 package eu.isygoit.i18n.service;
 
+import java.util.Map;
+
 /**
  * The interface Extended locale api.
  */
@@ -14,6 +16,14 @@ public interface ExtendedLocaleService {
      */
     String loadMessage(String code, String locale);
 
+    /**
+     * Load every message of a locale.
+     *
+     * @param locale the locale
+     * @return the map of messages by code
+     */
+    Map<String, String> loadMessages(String locale);
+
     /**
      * Gets message.
      *
@@ -38,7 +48,7 @@ public interface ExtendedLocaleService {
     void clear();
 
     /**
-     * Refresh.
+     * Refresh the cached messages in the background.
      */
     void refresh();
 
@@ -26,4 +26,14 @@ public interface LocaleService {
      * @return the message
      */
     String getMessage(String code, Locale loc);
+
+    /**
+     * Gets message formatted with the arguments.
+     *
+     * @param code the code
+     * @param loc  the loc
+     * @param args the args
+     * @return the message
+     */
+    String getMessage(String code, Locale loc, Object... args);
 }
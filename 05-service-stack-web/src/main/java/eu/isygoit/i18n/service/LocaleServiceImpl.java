@@ -1,9 +1,12 @@
 package eu.isygoit.i18n.service;
 
+import eu.isygoit.i18n.catalog.MessageCatalog;
 import eu.isygoit.i18n.helper.LocaleResolver;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.MessageSource;
 import org.springframework.lang.Nullable;
@@ -26,7 +29,7 @@ public class LocaleServiceImpl implements LocaleService {
 
     private final MessageSource messageSource;
     private final LocaleResolver localeResolver;
-    private final Map<String, String> messageMap;
+    private final MessageCatalog messageCatalog;
     private final ExtendedLocaleService extendedLocaleService;
 
     /**
@@ -34,18 +37,43 @@ public class LocaleServiceImpl implements LocaleService {
      *
      * @param messageSource         the message source
      * @param localeResolver        the locale resolver
-     * @param messageMap            the message map
      * @param extendedLocaleService the extended locale api
+     * @param cacheMaximumSize      the maximum number of cached messages
      */
+    @Autowired
     public LocaleServiceImpl(
             MessageSource messageSource,
             LocaleResolver localeResolver,
-            @Qualifier("messageMap") Map<String, String> messageMap,
-            @Nullable ExtendedLocaleService extendedLocaleService) {
+            @Nullable ExtendedLocaleService extendedLocaleService,
+            @Value("${app.i18n.cache.maximum-size:10000}") long cacheMaximumSize) {
         this.messageSource = messageSource;
         this.localeResolver = localeResolver;
-        this.messageMap = messageMap;
         this.extendedLocaleService = extendedLocaleService;
+        this.messageCatalog = MessageCatalog.builder()
+                .loader((code, localeTag) -> messageSource.getMessage(code, null, Locale.forLanguageTag(localeTag)))
+                .maximumSize(cacheMaximumSize)
+                .build();
+    }
+
+    /**
+     * Constructeur historique avec le cache des messages, dont les entrées {@code code|locale} initialisent le
+     * catalogue.
+     *
+     * @param messageSource         the message source
+     * @param localeResolver        the locale resolver
+     * @param messageMap            the message map
+     * @param extendedLocaleService the extended locale api
+     * @deprecated les messages sont servis par le catalogue ; utiliser
+     * {@link #LocaleServiceImpl(MessageSource, LocaleResolver, ExtendedLocaleService, long)}
+     */
+    @Deprecated
+    public LocaleServiceImpl(
+            MessageSource messageSource,
+            LocaleResolver localeResolver,
+            @Qualifier("messageMap") Map<String, String> messageMap,
+            @Nullable ExtendedLocaleService extendedLocaleService) {
+        this(messageSource, localeResolver, extendedLocaleService, MessageCatalog.DEFAULT_MAXIMUM_SIZE);
+        messageCatalog.putAll(messageMap);
     }
 
     @Override
@@ -57,16 +85,15 @@ public class LocaleServiceImpl implements LocaleService {
     @Override
     public String getMessage(String code, Locale locale) {
         String localeTag = locale.toLanguageTag();
-        String cacheKey = code + "|" + localeTag;
 
         try {
             // Vérification avec ExtendedLocaleService si activé
             if (Optional.ofNullable(extendedLocaleService).map(ExtendedLocaleService::enabled).orElse(false)) {
-                return getMessageFromExtendedService(code, locale, cacheKey);
+                return getMessageFromExtendedService(code, localeTag);
             }
 
             // Vérification dans le cache local
-            return getMessageFromCacheOrSource(code, locale, cacheKey);
+            return messageCatalog.get(code, localeTag);
         } catch (Throwable e) {
             log.error("Erreur lors de la récupération du message [{}:{}]", localeTag, code, e);
         }
@@ -75,32 +102,23 @@ public class LocaleServiceImpl implements LocaleService {
         return localeTag + ":" + code;
     }
 
+    @Override
+    public String getMessage(String code, Locale locale, Object... args) {
+        String message = getMessage(code, locale);
+        return messageCatalog.format(message, locale.toLanguageTag(), args);
+    }
+
     /**
      * Récupère le message en utilisant ExtendedLocaleService si disponible.
      */
-    private String getMessageFromExtendedService(String code, Locale locale, String cacheKey) {
-        String message = extendedLocaleService.getMessage(code, locale.toLanguageTag());
+    private String getMessageFromExtendedService(String code, String localeTag) {
+        String message = extendedLocaleService.getMessage(code, localeTag);
         if (!StringUtils.hasText(message)) {
-            message = getMessageFromCacheOrSource(code, locale, cacheKey);
+            message = messageCatalog.get(code, localeTag);
             if (StringUtils.hasText(message)) {
-                extendedLocaleService.setMessage(code, locale.toLanguageTag(), message);
+                extendedLocaleService.setMessage(code, localeTag, message);
             }
         }
         return message;
     }
-
-    /**
-     * Récupère le message depuis le cache ou la source de messages.
-     */
-    private String getMessageFromCacheOrSource(String code, Locale locale, String cacheKey) {
-        return Optional.ofNullable(messageMap.get(cacheKey))
-                .filter(StringUtils::hasText)
-                .orElseGet(() -> {
-                    String message = messageSource.getMessage(code, null, locale);
-                    if (StringUtils.hasText(message)) {
-                        messageMap.put(cacheKey, message);
-                    }
-                    return message;
-                });
-    }
 }
\ No newline at end of file
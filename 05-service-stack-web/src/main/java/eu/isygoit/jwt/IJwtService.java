@@ -66,6 +66,14 @@ public interface IJwtService {
 
     Claims extractAllClaims(String token);
 
+    /**
+     * Extract all claims, verifying the signature with the key registered in the key ring for the token's kid header.
+     *
+     * @param token the token
+     * @return the claims
+     */
+    Claims extractAllClaimsWithKeyRing(String token);
+
     // ─────────────────────────────────────────────────────────────────────────
     // Core API
     // ─────────────────────────────────────────────────────────────────────────
@@ -0,0 +1,154 @@
+package eu.isygoit.com.rest.service;
+
+import eu.isygoit.com.rest.service.media.ContentAddressedStore;
+import eu.isygoit.com.rest.service.media.ContentAddressedStoreGarbageCollector;
+import eu.isygoit.com.rest.service.media.FileContentHash;
+import eu.isygoit.com.rest.service.media.FileServiceLocalStaticOperations;
+import eu.isygoit.model.Resume;
+import eu.isygoit.model.ResumeLinkedFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ContentAddressedStore: deduplication, reference counting and garbage collection of blobs.
+ */
+class ContentAddressedStoreTest {
+
+    private static final String TEMPLATE = "Invoice template v1";
+
+    @TempDir
+    Path directory;
+
+    private String store(String fileName, String content) throws IOException {
+        return ContentAddressedStore.store(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                directory.resolve(fileName), true);
+    }
+
+    private long blobCount() throws IOException {
+        try (Stream<Path> files = Files.walk(directory.resolve(ContentAddressedStore.BLOB_DIRECTORY))) {
+            return files.filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().matches("[0-9a-f]{64}"))
+                    .count();
+        }
+    }
+
+    @Test
+    void store_shouldKeepIdenticalContentOnce() throws IOException {
+        String first = store("DOC-1.txt", TEMPLATE);
+        String second = store("DOC-2.txt", TEMPLATE);
+
+        assertEquals(first, second);
+        assertEquals(1, blobCount());
+        assertEquals(2, ContentAddressedStore.referenceCount(directory, first));
+        assertEquals(TEMPLATE, Files.readString(directory.resolve("DOC-1.txt")));
+        assertEquals(TEMPLATE, Files.readString(directory.resolve("DOC-2.txt")));
+        assertEquals(first, FileContentHash.get(directory.resolve("DOC-2.txt")));
+    }
+
+    @Test
+    void store_shouldBeIdempotentForSameTarget() throws IOException {
+        String hash = store("DOC-1.txt", TEMPLATE);
+        store("DOC-1.txt", TEMPLATE);
+
+        assertEquals(1, ContentAddressedStore.referenceCount(directory, hash));
+    }
+
+    @Test
+    void store_shouldRejectExistingTarget_whenNotReplacing() throws IOException {
+        store("DOC-1.txt", TEMPLATE);
+
+        assertThrows(java.nio.file.FileAlreadyExistsException.class, () -> ContentAddressedStore.store(
+                new ByteArrayInputStream(new byte[]{1}), directory.resolve("DOC-1.txt"), false));
+        assertEquals(TEMPLATE, Files.readString(directory.resolve("DOC-1.txt")));
+    }
+
+    @Test
+    void release_shouldDeleteBlobWithLastReference() throws IOException {
+        String hash = store("DOC-1.txt", TEMPLATE);
+        store("DOC-2.txt", TEMPLATE);
+
+        assertTrue(ContentAddressedStore.release(directory.resolve("DOC-1.txt")));
+        assertEquals(1, ContentAddressedStore.referenceCount(directory, hash));
+        assertEquals(TEMPLATE, Files.readString(directory.resolve("DOC-2.txt")));
+
+        assertTrue(ContentAddressedStore.release(directory.resolve("DOC-2.txt")));
+        assertEquals(0, ContentAddressedStore.referenceCount(directory, hash));
+        assertEquals(0, blobCount());
+        assertFalse(ContentAddressedStore.release(directory.resolve("DOC-2.txt")));
+    }
+
+    @Test
+    void store_shouldReleasePreviousContent_whenReplacing() throws IOException {
+        String v1 = store("DOC-1.txt", TEMPLATE);
+        String v2 = store("DOC-1.txt", "Invoice template v2");
+
+        assertNotEquals(v1, v2);
+        assertEquals(0, ContentAddressedStore.referenceCount(directory, v1));
+        assertEquals(1, blobCount());
+        assertEquals("Invoice template v2", Files.readString(directory.resolve("DOC-1.txt")));
+    }
+
+    @Test
+    void collectGarbage_shouldDeleteBlobsOfRemovedFiles() throws IOException {
+        String shared = store("DOC-1.txt", TEMPLATE);
+        store("DOC-2.txt", TEMPLATE);
+        String single = store("DOC-3.txt", "other content");
+
+        // Files removed without going through the store
+        Files.delete(directory.resolve("DOC-1.txt"));
+        Files.delete(directory.resolve("DOC-3.txt"));
+
+        assertEquals(1, ContentAddressedStore.collectGarbage(directory));
+        assertEquals(1, ContentAddressedStore.referenceCount(directory, shared));
+        assertEquals(0, ContentAddressedStore.referenceCount(directory, single));
+        assertEquals(1, blobCount());
+    }
+
+    @Test
+    void garbageCollector_shouldCollectEveryStoreUnderItsRoots() throws IOException {
+        Path tenantDirectory = Files.createDirectories(directory.resolve("tenant-a").resolve("invoices"));
+        String root = store("DOC-1.txt", TEMPLATE);
+        String nested = ContentAddressedStore.store(new ByteArrayInputStream("nested".getBytes(StandardCharsets.UTF_8)),
+                tenantDirectory.resolve("DOC-2.txt"), true);
+        Files.delete(directory.resolve("DOC-1.txt"));
+        Files.delete(tenantDirectory.resolve("DOC-2.txt"));
+
+        ContentAddressedStoreGarbageCollector collector =
+                new ContentAddressedStoreGarbageCollector(new String[]{directory.toString(), "missing-root"}, 60_000);
+
+        assertEquals(2, collector.collect());
+        assertEquals(0, ContentAddressedStore.referenceCount(directory, root));
+        assertEquals(0, ContentAddressedStore.referenceCount(tenantDirectory, nested));
+    }
+
+    @Test
+    void localOperations_shouldDeduplicateUploadsAndReleaseOnDelete() throws IOException {
+        String path = directory.toString();
+        byte[] content = TEMPLATE.getBytes(StandardCharsets.UTF_8);
+        Resume first = Resume.builder().path(path).code("RES-1").tenant("testTenant").build();
+        Resume second = Resume.builder().path(path).code("RES-2").tenant("testTenant").build();
+
+        FileServiceLocalStaticOperations.upload(new MockMultipartFile("file", "cv.pdf", "application/pdf", content), first, true, true);
+        FileServiceLocalStaticOperations.upload(new MockMultipartFile("file", "cv.pdf", "application/pdf", content), second, true, true);
+        assertEquals(1, blobCount());
+
+        ResumeLinkedFile linked = ResumeLinkedFile.builder().path(path).code("RES-1").fileName("RES-1.pdf").tenant("testTenant").build();
+        assertTrue(FileServiceLocalStaticOperations.delete(linked));
+        assertFalse(Files.exists(directory.resolve("RES-1.pdf")));
+        assertEquals(1, blobCount());
+
+        linked.setFileName("RES-2.pdf");
+        assertTrue(FileServiceLocalStaticOperations.delete(linked));
+        assertEquals(0, blobCount());
+    }
+}
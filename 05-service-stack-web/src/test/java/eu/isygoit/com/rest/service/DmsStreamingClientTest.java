@@ -0,0 +1,268 @@
+package eu.isygoit.com.rest.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import eu.isygoit.com.rest.service.media.ChunkedUploadException;
+import eu.isygoit.com.rest.service.media.DmsStreamingClient;
+import eu.isygoit.dto.common.LinkedFileRequestDto;
+import eu.isygoit.dto.common.LinkedFileResponseDto;
+import eu.isygoit.dto.common.PresignedTransferDto;
+import eu.isygoit.dto.common.ResourceDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DmsStreamingClient against a stub DMS: streamed multipart uploads and downloads, and chunked
+ * uploads with checksums, retries and resume, and presigned direct transfers.
+ */
+class DmsStreamingClientTest {
+
+    private static final String BASE_PATH = "/api/v1/private/linkedFile";
+    private static final String CONTENT = "0123456789";
+
+    private final Map<String, String> requestHeaders = new ConcurrentHashMap<>();
+    private final Map<Integer, byte[]> chunks = new ConcurrentHashMap<>();
+    private final List<Integer> chunkRequests = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private HttpServer server;
+    private DmsStreamingClient client;
+    private byte[] uploadBody;
+    private String contentChecksum;
+    private String presignQuery;
+    private String presignBody;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(BASE_PATH + "/upload", this::handle);
+        server.createContext(BASE_PATH + "/download", exchange -> {
+            exchange.getResponseHeaders().add("Content-Disposition", "attachment; filename=\"report.txt\"");
+            exchange.getResponseHeaders().add("ETag", "\"abc\"");
+            respond(exchange, 200, CONTENT);
+        });
+        server.createContext(BASE_PATH + "/presign", this::presign);
+        server.start();
+        client = new DmsStreamingClient("http://127.0.0.1:" + server.getAddress().getPort() + BASE_PATH);
+    }
+
+    @AfterEach
+    void cleanup() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath().substring(BASE_PATH.length());
+        byte[] body;
+        try (InputStream input = exchange.getRequestBody()) {
+            body = input.readAllBytes();
+        }
+        exchange.getRequestHeaders().forEach((name, values) -> requestHeaders.put(name.toLowerCase(), values.get(0)));
+
+        if (path.equals("/upload")) {
+            uploadBody = body;
+            respond(exchange, 200, "{\"code\":\"DOC-1\",\"originalFileName\":\"report.txt\"}");
+        } else if (path.equals("/upload/chunked")) {
+            respond(exchange, 200, "{\"uploadId\":\"U1\"}");
+        } else if (path.equals("/upload/chunked/U1")) {
+            respond(exchange, 200, "{\"received\":[0,2]}");
+        } else if (path.equals("/upload/chunked/U1/complete")) {
+            contentChecksum = exchange.getRequestHeaders().getFirst(DmsStreamingClient.CONTENT_CHECKSUM_HEADER);
+            respond(exchange, 200, "{\"code\":\"DOC-2\"}");
+        } else {
+            int index = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+            chunkRequests.add(index);
+            if (failuresLeft.getAndDecrement() > 0) {
+                respond(exchange, 500, "busy");
+                return;
+            }
+            if (!sha256(body).equals(exchange.getRequestHeaders().getFirst(DmsStreamingClient.CHUNK_CHECKSUM_HEADER))) {
+                respond(exchange, 400, "checksum mismatch");
+                return;
+            }
+            chunks.put(index, body);
+            respond(exchange, 200, "");
+        }
+    }
+
+    private void presign(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath().substring(BASE_PATH.length());
+        try (InputStream input = exchange.getRequestBody()) {
+            presignBody = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        presignQuery = exchange.getRequestURI().getQuery();
+
+        switch (path) {
+            case "/presign/download" -> respond(exchange, 200,
+                    "{\"code\":\"DOC-1\",\"method\":\"GET\",\"url\":\"https://bucket.example/DOC-1?sig=x\",\"expiresAt\":1000}");
+            case "/presign/upload" -> respond(exchange, 200,
+                    "{\"code\":\"DOC-1\",\"method\":\"PUT\",\"url\":\"https://bucket.example/DOC-1?sig=y\","
+                            + "\"headers\":{\"Content-Type\":\"text/plain\"}}");
+            case "/presign/upload/complete" -> respond(exchange, 200, "{\"code\":\"DOC-1\",\"originalFileName\":\"report.txt\"}");
+            default -> respond(exchange, 404, "");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            exchange.getResponseBody().write(bytes);
+        }
+        exchange.close();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MockMultipartFile file() {
+        return new MockMultipartFile("file", "report.txt", "text/plain", CONTENT.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static LinkedFileRequestDto request() {
+        return LinkedFileRequestDto.builder()
+                .code("DOC-1")
+                .path("resume")
+                .tags(List.of("cv"))
+                .build();
+    }
+
+    @Test
+    void uploadStream_shouldSendChunkedMultipartBody() throws IOException {
+        LinkedFileResponseDto response = client.uploadStream(request(), file());
+
+        assertEquals("DOC-1", response.getCode());
+        assertEquals("chunked", requestHeaders.get("transfer-encoding"));
+        assertTrue(requestHeaders.get("content-type").startsWith("multipart/form-data; boundary="));
+        String body = new String(uploadBody, StandardCharsets.UTF_8);
+        assertTrue(body.contains("name=\"code\"\r\n\r\nDOC-1\r\n"));
+        assertTrue(body.contains("name=\"tags\"\r\n\r\ncv\r\n"));
+        assertTrue(body.contains("filename=\"report.txt\"\r\nContent-Type: text/plain\r\n\r\n" + CONTENT + "\r\n"));
+    }
+
+    @Test
+    void uploadStream_shouldNotLetFileNameOrTypeInjectPartHeaders() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "a\"\r\nX-Injected: 1\r\n\u0000.txt",
+                "text/plain\r\nX-Injected: 2", CONTENT.getBytes(StandardCharsets.UTF_8));
+
+        client.uploadStream(request(), file);
+
+        String body = new String(uploadBody, StandardCharsets.UTF_8);
+        int filePart = body.indexOf("name=\"file\"");
+        String fileHeaders = body.substring(filePart, body.indexOf("\r\n\r\n", filePart));
+        assertFalse(fileHeaders.contains("\r\nX-Injected"), fileHeaders);
+        assertTrue(body.contains("filename=\"a%22%0D%0AX-Injected: 1%0D%0A.txt\"\r\nContent-Type: application/octet-stream\r\n\r\n"));
+    }
+
+    @Test
+    void downloadStream_shouldExposeResponseBodyAndHeaders() throws IOException {
+        ResourceDto resource = client.downloadStream("DOC-1");
+
+        assertEquals("report.txt", resource.getOriginalFileName());
+        assertEquals("\"abc\"", resource.getETag());
+        assertEquals(10L, resource.getContentLength());
+        try (InputStream input = resource.getResource().getInputStream()) {
+            assertEquals(CONTENT, new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void uploadChunked_shouldRetryFailedChunkAndSendChecksums() throws IOException {
+        failuresLeft.set(1);
+
+        LinkedFileResponseDto response = client.uploadChunked(request(), file(), 4);
+
+        assertEquals("DOC-2", response.getCode());
+        assertEquals(List.of(0, 0, 1, 2), chunkRequests);
+        assertEquals("0123", new String(chunks.get(0), StandardCharsets.UTF_8));
+        assertEquals("89", new String(chunks.get(2), StandardCharsets.UTF_8));
+        assertEquals(sha256(CONTENT.getBytes(StandardCharsets.UTF_8)), contentChecksum);
+    }
+
+    @Test
+    void uploadChunked_shouldReportUploadIdAndConfirmedOffset_whenAChunkKeepsFailing() {
+        failuresLeft.set(3);
+
+        ChunkedUploadException thrown = assertThrows(ChunkedUploadException.class,
+                () -> client.uploadChunked(request(), file(), 4));
+
+        assertEquals("U1", thrown.getUploadId());
+        assertEquals(0, thrown.getConfirmedOffset());
+    }
+
+    @Test
+    void resumeChunked_shouldReportConfirmedOffset_whenAChunkKeepsFailing() {
+        failuresLeft.set(3);
+
+        ChunkedUploadException thrown = assertThrows(ChunkedUploadException.class,
+                () -> client.resumeChunked("U1", file(), 4));
+
+        assertEquals("U1", thrown.getUploadId());
+        assertEquals(4, thrown.getConfirmedOffset());
+    }
+
+    @Test
+    void resumeChunked_shouldOnlySendMissingChunks() throws IOException {
+        LinkedFileResponseDto response = client.resumeChunked("U1", file(), 4);
+
+        assertEquals("DOC-2", response.getCode());
+        assertEquals(List.of(1), chunkRequests);
+        assertEquals("4567", new String(chunks.get(1), StandardCharsets.UTF_8));
+        assertEquals(sha256(CONTENT.getBytes(StandardCharsets.UTF_8)), contentChecksum);
+    }
+
+    @Test
+    void presignDownload_shouldReturnStorageUrl() throws IOException {
+        PresignedTransferDto transfer = client.presignDownload("DOC-1", Duration.ofMinutes(5));
+
+        assertEquals("GET", transfer.getMethod());
+        assertEquals("https://bucket.example/DOC-1?sig=x", transfer.getUrl());
+        assertEquals(1000L, transfer.getExpiresAt());
+        assertTrue(presignQuery.contains("code=DOC-1"));
+        assertTrue(presignQuery.contains("ttl=300"));
+    }
+
+    @Test
+    void presignDownload_shouldRequestTheVersion() throws IOException {
+        client.presignDownload("DOC-1", 3L, Duration.ofMinutes(5));
+        assertTrue(presignQuery.contains("version=3"), presignQuery);
+
+        client.presignDownload("DOC-1", Duration.ofMinutes(5));
+        assertFalse(presignQuery.contains("version="), "The current version by default");
+    }
+
+    @Test
+    void presignUpload_shouldSendMetadataAndCompleteUpload() throws IOException {
+        PresignedTransferDto transfer = client.presignUpload(request(), Duration.ofMinutes(15));
+
+        assertEquals("PUT", transfer.getMethod());
+        assertEquals("text/plain", transfer.getHeaders().get("Content-Type"));
+        assertEquals("ttl=900", presignQuery);
+        assertTrue(presignBody.contains("\"code\":\"DOC-1\""));
+        assertTrue(presignBody.contains("\"path\":\"resume\""));
+
+        LinkedFileResponseDto response = client.completeUpload(request());
+
+        assertEquals("DOC-1", response.getCode());
+        assertTrue(presignBody.contains("\"code\":\"DOC-1\""));
+    }
+}
@@ -0,0 +1,256 @@
+package eu.isygoit.com.rest.service;
+
+import eu.isygoit.com.rest.service.media.FileContentHash;
+import eu.isygoit.com.rest.service.media.FileServingEngine;
+import eu.isygoit.dto.common.ResourceDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FileServingEngine: full, ranged and conditional downloads of a local file.
+ */
+class FileServingEngineTest {
+
+    private static final String CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private ResourceDto resource;
+
+    @BeforeEach
+    void setup() throws IOException {
+        file = tempDir.resolve("data.txt");
+        FileContentHash.copy(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)), file);
+        resource = FileServingEngine.describe(file, "original.txt", "data.txt", "txt");
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(FileServingEngine.serve(resource, request, response));
+        return response;
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/download");
+    }
+
+    /**
+     * The ETag is the SHA-256 computed while the upload was written.
+     */
+    @Test
+    void describe_shouldUseStoredContentHashAsStrongETag() throws Exception {
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(CONTENT.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("\"" + expected + "\"", resource.getETag());
+        assertEquals(CONTENT.length(), resource.getContentLength());
+    }
+
+    @Test
+    void serve_shouldReturnWholeFileWithValidators() throws IOException {
+        MockHttpServletResponse response = serve(get());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals(CONTENT.length(), response.getContentLengthLong());
+        assertEquals(resource.getETag(), response.getHeader(HttpHeaders.ETAG));
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertNotNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void serve_shouldAnswerNotModified_whenETagMatches() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", " + resource.getETag());
+
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void serve_shouldAnswerNotModified_whenNotModifiedSince() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, resource.getLastModified() + 60_000);
+
+        assertEquals(304, serve(request).getStatus());
+    }
+
+    @Test
+    void serve_shouldIgnoreModifiedSince_whenETagDoesNotMatch() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"stale\"");
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, resource.getLastModified() + 60_000);
+
+        assertEquals(200, serve(request).getStatus());
+    }
+
+    @Test
+    void serve_shouldReturnSingleRange() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-15");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("abcdef", response.getContentAsString());
+        assertEquals("bytes 10-15/" + CONTENT.length(), response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(6, response.getContentLengthLong());
+    }
+
+    @Test
+    void serve_shouldReturnSuffixAndOpenEndedRanges() throws IOException {
+        MockHttpServletRequest suffix = get();
+        suffix.addHeader(HttpHeaders.RANGE, "bytes=-4");
+        assertEquals("wxyz", serve(suffix).getContentAsString());
+
+        MockHttpServletRequest openEnded = get();
+        openEnded.addHeader(HttpHeaders.RANGE, "bytes=30-");
+        MockHttpServletResponse response = serve(openEnded);
+        assertEquals("uvwxyz", response.getContentAsString());
+        assertEquals("bytes 30-35/36", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void serve_shouldReturnMultipartByteRanges() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-2, 33-35");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(206, response.getStatus());
+        String contentType = response.getContentType();
+        assertTrue(contentType.startsWith("multipart/byteranges; boundary="));
+        String boundary = contentType.substring(contentType.indexOf('=') + 1);
+        String body = response.getContentAsString();
+        assertEquals(body.length(), response.getContentLengthLong());
+        assertTrue(body.contains("Content-Range: bytes 0-2/36\r\n\r\n012\r\n--" + boundary));
+        assertTrue(body.contains("Content-Range: bytes 33-35/36\r\n\r\nxyz\r\n--" + boundary + "--\r\n"));
+    }
+
+    @Test
+    void serve_shouldAnswerRangeNotSatisfiable() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-200");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */36", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void serve_shouldReturnWholeFile_whenIfRangeDoesNotMatch() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-3");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"previous-version\"");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    void serve_shouldIgnoreMalformedRange() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=abc");
+
+        assertEquals(200, serve(request).getStatus());
+    }
+
+    @Test
+    void serve_shouldWriteHeadersOnly_forHead() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/download");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT.length(), response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void serve_shouldDelegateToContainerSendfile_whenSupported() throws IOException {
+        MockHttpServletRequest request = get();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(5L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(10L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    /**
+     * A file rewritten without going through the upload gets a fresh hash.
+     */
+    @Test
+    void contentHash_shouldBeRecomputed_whenFileChangedAfterUpload() throws IOException {
+        String before = FileContentHash.get(file);
+        Files.writeString(file, "changed");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+
+        assertNotEquals(before, FileContentHash.get(file));
+    }
+
+    @Test
+    void serve_shouldLeaveNonFileResourcesToCaller() throws IOException {
+        ResourceDto remote = ResourceDto.builder()
+                .resource(new ByteArrayResource(new byte[]{1, 2, 3}))
+                .build();
+
+        assertFalse(FileServingEngine.serve(remote, get(), new MockHttpServletResponse()));
+    }
+
+    @Test
+    void serve_shouldCopyStreamedResources() throws IOException {
+        ResourceDto remote = ResourceDto.builder()
+                .originalFileName("report.txt")
+                .resource(new InputStreamResource(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8))))
+                .eTag("\"remote\"")
+                .contentLength((long) CONTENT.length())
+                .build();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(FileServingEngine.serve(remote, get(), response));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals(CONTENT.length(), response.getContentLength());
+        assertEquals("\"remote\"", response.getHeader(HttpHeaders.ETAG));
+        assertTrue(response.getContentType().startsWith("text/plain"));
+    }
+
+    @Test
+    void attachmentDisposition_shouldDropControlCharactersAndEncodeUtf8Names() {
+        assertEquals("attachment; filename=\"report.txt\"", FileServingEngine.attachmentDisposition("report.txt"));
+        assertEquals("attachment; filename=\"a\\\"X-Injected: 1.txt\"",
+                FileServingEngine.attachmentDisposition("a\"\r\nX-Injected: 1.txt"));
+        assertEquals("attachment; filename=\"r_sum_.pdf\"; filename*=UTF-8''r%C3%A9sum%C3%A9.pdf",
+                FileServingEngine.attachmentDisposition("r\u00e9sum\u00e9.pdf"));
+    }
+}
@@ -0,0 +1,185 @@
+package eu.isygoit.com.rest.service;
+
+import eu.isygoit.com.rest.service.media.FileContentHash;
+import eu.isygoit.com.rest.service.media.ImageDerivativeEngine;
+import eu.isygoit.com.rest.service.media.ImageVariant;
+import eu.isygoit.exception.BadArgumentException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ImageDerivativeEngine: scaling, lazy generation and the size bounded derivative cache.
+ */
+class ImageDerivativeEngineTest {
+
+    @TempDir
+    Path directory;
+
+    private Path cache;
+    private Path original;
+
+    @BeforeEach
+    void setup() throws IOException {
+        cache = directory.resolve("cache");
+        original = writeImage("original.png", 1200, 800, 0xFF336699);
+    }
+
+    private Path writeImage(String name, int width, int height, int color) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < width; x += 10) {
+            image.setRGB(x, x * height / width, color);
+        }
+        Path path = directory.resolve(name);
+        ImageIO.write(image, "png", path.toFile());
+        FileContentHash.store(path);
+        return path;
+    }
+
+    private long cachedFiles() throws IOException {
+        if (!Files.exists(cache)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(cache)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    void resize_shouldKeepAspectRatioAndNeverEnlarge() {
+        BufferedImage source = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_RGB);
+
+        BufferedImage thumbnail = ImageDerivativeEngine.resize(source, 128, 128, true);
+        assertEquals(128, thumbnail.getWidth());
+        assertEquals(85, thumbnail.getHeight());
+
+        BufferedImage unchanged = ImageDerivativeEngine.resize(source, 4000, 4000, false);
+        assertEquals(1200, unchanged.getWidth());
+        assertEquals(800, unchanged.getHeight());
+    }
+
+    @Test
+    void get_shouldGenerateOnMissAndServeFromCache() throws IOException {
+        ImageDerivativeEngine engine = new ImageDerivativeEngine(cache, ImageDerivativeEngine.DEFAULT_MAX_CACHE_BYTES);
+
+        Path thumbnail = engine.get(original, ImageVariant.THUMBNAIL).orElseThrow();
+        BufferedImage image = ImageIO.read(thumbnail.toFile());
+        assertEquals(128, image.getWidth());
+        assertEquals(85, image.getHeight());
+        assertTrue(Files.size(thumbnail) < Files.size(original));
+
+        long modified = Files.getLastModifiedTime(thumbnail).toMillis();
+        assertEquals(thumbnail, engine.get(original, ImageVariant.THUMBNAIL).orElseThrow());
+        assertEquals(1, cachedFiles());
+        assertTrue(Files.getLastModifiedTime(thumbnail).toMillis() >= modified);
+    }
+
+    @Test
+    void get_shouldNotServeDerivativesOfPreviousContent() throws IOException {
+        ImageDerivativeEngine engine = new ImageDerivativeEngine(cache, ImageDerivativeEngine.DEFAULT_MAX_CACHE_BYTES);
+        Path before = engine.get(original, ImageVariant.SMALL).orElseThrow();
+
+        original = writeImage("original.png", 600, 900, 0xFF336699);
+        Path after = engine.get(original, ImageVariant.SMALL).orElseThrow();
+
+        assertNotEquals(before, after);
+        assertEquals(213, ImageIO.read(after.toFile()).getWidth());
+    }
+
+    @Test
+    void get_shouldReturnEmpty_whenOriginalIsNotAnImage() throws IOException {
+        Path text = directory.resolve("notes.png");
+        Files.writeString(text, "not an image");
+
+        ImageDerivativeEngine engine = new ImageDerivativeEngine(cache, ImageDerivativeEngine.DEFAULT_MAX_CACHE_BYTES);
+
+        assertEquals(Optional.empty(), engine.get(text, ImageVariant.THUMBNAIL));
+    }
+
+    @Test
+    void cache_shouldEvictLeastRecentlyUsedDerivatives() throws IOException {
+        Path other = writeImage("other.png", 1200, 800, 0xFF996633);
+        ImageDerivativeEngine sizing = new ImageDerivativeEngine(directory.resolve("sizing"), Long.MAX_VALUE);
+        long thumbnailSize = Math.max(Files.size(sizing.get(original, ImageVariant.THUMBNAIL).orElseThrow()),
+                Files.size(sizing.get(other, ImageVariant.THUMBNAIL).orElseThrow()));
+        long smallSize = Files.size(sizing.get(original, ImageVariant.SMALL).orElseThrow());
+
+        // Room for the small variant and a single thumbnail
+        long capacity = smallSize + thumbnailSize + thumbnailSize / 2;
+        ImageDerivativeEngine engine = new ImageDerivativeEngine(cache, capacity);
+        Path small = engine.get(original, ImageVariant.SMALL).orElseThrow();
+        Path first = engine.get(original, ImageVariant.THUMBNAIL).orElseThrow();
+        engine.get(original, ImageVariant.SMALL);
+        Path second = engine.get(other, ImageVariant.THUMBNAIL).orElseThrow();
+
+        assertFalse(Files.exists(first), "Least recently used thumbnail evicted");
+        assertTrue(Files.exists(small));
+        assertTrue(Files.exists(second));
+        assertTrue(engine.getCacheSize() <= capacity);
+    }
+
+    @Test
+    void get_shouldGenerateOnce_forConcurrentMisses() throws Exception {
+        ImageDerivativeEngine engine = new ImageDerivativeEngine(cache, ImageDerivativeEngine.DEFAULT_MAX_CACHE_BYTES);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Path>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return engine.get(original, ImageVariant.MEDIUM).orElseThrow();
+                }));
+            }
+            start.countDown();
+            for (Future<Path> result : results) {
+                assertEquals(results.get(0).get(), result.get());
+            }
+            assertEquals(1, cachedFiles());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void generateAsync_shouldWarmAllVariants() throws Exception {
+        ImageDerivativeEngine engine = new ImageDerivativeEngine(cache, ImageDerivativeEngine.DEFAULT_MAX_CACHE_BYTES);
+
+        engine.generateAsync(original, List.of(ImageVariant.THUMBNAIL, ImageVariant.SMALL)).get(30, TimeUnit.SECONDS);
+
+        assertEquals(2, cachedFiles());
+    }
+
+    @Test
+    void get_shouldRejectImagesOverThePixelCap() throws IOException {
+        ImageDerivativeEngine engine = new ImageDerivativeEngine(cache, ImageDerivativeEngine.DEFAULT_MAX_CACHE_BYTES, 1200 * 800 - 1);
+
+        assertThrows(BadArgumentException.class, () -> engine.get(original, ImageVariant.THUMBNAIL));
+        assertEquals(0, cachedFiles());
+    }
+
+    @Test
+    void generateAsync_shouldCompleteExceptionally_whenExecutorRejects() {
+        ImageDerivativeEngine engine = new ImageDerivativeEngine(cache, ImageDerivativeEngine.DEFAULT_MAX_CACHE_BYTES,
+                runnable -> {
+                    throw new RejectedExecutionException("saturated");
+                });
+
+        CompletableFuture<Void> generation = engine.generateAsync(original, List.of(ImageVariant.THUMBNAIL));
+
+        assertTrue(generation.isCompletedExceptionally());
+    }
+}
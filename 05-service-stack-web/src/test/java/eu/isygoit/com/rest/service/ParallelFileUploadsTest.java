@@ -0,0 +1,165 @@
+package eu.isygoit.com.rest.service;
+
+import eu.isygoit.audit.TenantContext;
+import eu.isygoit.com.rest.service.media.ParallelFileUploads;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ParallelFileUploads: bounded parallel stores and removal of stored files on failure.
+ */
+class ParallelFileUploadsTest {
+
+    private final Set<String> storage = ConcurrentHashMap.newKeySet();
+
+    @AfterEach
+    void cleanup() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        RequestContextHolder.resetRequestAttributes();
+        TenantContext.clear();
+    }
+
+    private static String authorization() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION)
+                : null;
+    }
+
+    private static MultipartFile[] files(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new MockMultipartFile("file", "file-" + i + ".txt", "text/plain", ("content " + i).getBytes()))
+                .toArray(MultipartFile[]::new);
+    }
+
+    private static List<String> codes(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "CODE-" + i).collect(ArrayList::new, List::add, List::addAll);
+    }
+
+    @Test
+    void storeAll_shouldStoreInParallelWithinBoundAndKeepOrder() throws IOException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<String> stored = ParallelFileUploads.storeAll(codes(20), files(20), 5, (code, file) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(100);
+            running.decrementAndGet();
+            storage.add(code);
+            return code + ":" + file.getOriginalFilename();
+        }, storage::remove);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("CODE-0:file-0.txt", stored.get(0));
+        assertEquals("CODE-19:file-19.txt", stored.get(19));
+        assertEquals(20, storage.size());
+        assertTrue(maxRunning.get() <= 5, "At most 5 concurrent stores, got " + maxRunning.get());
+        assertTrue(elapsedMs < 20 * 100, "Stores overlapped, took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void storeAll_shouldRunStoresWithTheCallerRequestAndTenant() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer caller-token");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        TenantContext.setTenantId("acme");
+        String caller = Thread.currentThread().getName();
+
+        List<String> seen = ParallelFileUploads.storeAll(codes(6), files(6), 3, (code, file) ->
+                Thread.currentThread().getName().equals(caller) ? "caller thread" : authorization() + "/" + TenantContext.getTenantId(),
+                storage::remove);
+
+        assertEquals(List.of("Bearer caller-token/acme"), seen.stream().distinct().toList());
+
+        // The workers do not keep the context of a previous upload
+        RequestContextHolder.resetRequestAttributes();
+        TenantContext.clear();
+        List<String> next = ParallelFileUploads.storeAll(codes(6), files(6), 3, (code, file) ->
+                String.valueOf(authorization()), storage::remove);
+        assertEquals(List.of("null"), next.stream().distinct().toList());
+    }
+
+    @Test
+    void storeAll_shouldKeepResultsAtTheIndexOfTheirFile() throws IOException {
+        List<String> stored = ParallelFileUploads.storeAll(codes(4), files(4), 2, (code, file) ->
+                code.equals("CODE-1") ? null : code + ":" + file.getOriginalFilename(), storage::remove);
+
+        assertEquals(Arrays.asList("CODE-0:file-0.txt", null, "CODE-2:file-2.txt", "CODE-3:file-3.txt"), stored);
+    }
+
+    @Test
+    void storeAll_shouldRemoveStoredFiles_whenOneFails() {
+        IOException thrown = assertThrows(IOException.class, () ->
+                ParallelFileUploads.storeAll(codes(10), files(10), 4, (code, file) -> {
+                    if (code.equals("CODE-7")) {
+                        throw new IOException("disk full");
+                    }
+                    storage.add(code);
+                    return code;
+                }, storage::remove));
+
+        assertEquals("disk full", thrown.getMessage());
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    void persistOrRollback_shouldRemoveStoredFiles_whenPersistFails() {
+        List<String> stored = List.of("CODE-0", "CODE-1");
+        storage.addAll(stored);
+
+        assertThrows(IllegalStateException.class, () ->
+                ParallelFileUploads.persistOrRollback(stored, storage::remove, () -> {
+                    throw new IllegalStateException("constraint violation");
+                }));
+
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    void persistOrRollback_shouldRemoveStoredFiles_whenTransactionRollsBack() throws IOException {
+        TransactionSynchronizationManager.initSynchronization();
+        List<String> stored = List.of("CODE-0", "CODE-1");
+        storage.addAll(stored);
+
+        assertEquals(2, ParallelFileUploads.persistOrRollback(stored, storage::remove, stored::size));
+        assertEquals(2, storage.size());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    void persistOrRollback_shouldKeepStoredFiles_whenTransactionCommits() throws IOException {
+        TransactionSynchronizationManager.initSynchronization();
+        List<String> stored = List.of("CODE-0");
+        storage.addAll(stored);
+
+        ParallelFileUploads.persistOrRollback(stored, storage::remove, stored::size);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(Set.of("CODE-0"), storage);
+    }
+}
@@ -0,0 +1,77 @@
+package eu.isygoit.com.rest.service.cassandra;
+
+import eu.isygoit.model.IIdAssignable;
+import eu.isygoit.model.ITenantAssignable;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.Indexed;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An audit table partitioned by tenant and clustered by date, shared by the cassandra service tests.
+ */
+@Table("audit_event")
+class AuditEvent implements IIdAssignable<UUID>, ITenantAssignable {
+
+    @PrimaryKeyColumn(type = PrimaryKeyType.PARTITIONED, ordinal = 0)
+    String tenant;
+
+    @CreatedDate
+    @PrimaryKeyColumn(type = PrimaryKeyType.CLUSTERED, ordinal = 1)
+    LocalDateTime createDate;
+
+    @PrimaryKeyColumn(type = PrimaryKeyType.CLUSTERED, ordinal = 2)
+    UUID eventId;
+
+    @Indexed
+    String action;
+
+    String detail;
+
+    Integer attempts;
+
+    @CreatedBy
+    String createdBy;
+
+    @LastModifiedDate
+    LocalDateTime updateDate;
+
+    @LastModifiedBy
+    String updatedBy;
+
+    AuditEvent() {
+    }
+
+    AuditEvent(String tenant, LocalDateTime createDate) {
+        this.tenant = tenant;
+        this.createDate = createDate;
+        this.eventId = UUID.randomUUID();
+    }
+
+    @Override
+    public UUID getId() {
+        return eventId;
+    }
+
+    @Override
+    public void setId(UUID id) {
+        this.eventId = id;
+    }
+
+    @Override
+    public String getTenant() {
+        return tenant;
+    }
+
+    @Override
+    public void setTenant(String tenant) {
+        this.tenant = tenant;
+    }
+}
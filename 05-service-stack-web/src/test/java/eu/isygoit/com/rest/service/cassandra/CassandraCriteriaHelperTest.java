@@ -0,0 +1,142 @@
+package eu.isygoit.com.rest.service.cassandra;
+
+import eu.isygoit.enums.IEnumCriteriaCombiner;
+import eu.isygoit.enums.IEnumOperator;
+import eu.isygoit.exception.BadArgumentException;
+import eu.isygoit.exception.WrongCriteriaFilterException;
+import eu.isygoit.filter.QueryCriteria;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.cassandra.core.mapping.CassandraMappingContext;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CassandraCriteriaHelper and CassandraCursor: key-aware criteria translation, ALLOW FILTERING
+ * detection and paging state cursors.
+ */
+class CassandraCriteriaHelperTest {
+
+    private final CassandraMappingContext mappingContext = new CassandraMappingContext();
+
+    private static QueryCriteria criteria(IEnumCriteriaCombiner.Types combiner, String name,
+                                          IEnumOperator.Types operator, String value) {
+        return QueryCriteria.builder().combiner(combiner).name(name).operator(operator).value(value).build();
+    }
+
+    private static QueryCriteria and(String name, IEnumOperator.Types operator, String value) {
+        return criteria(IEnumCriteriaCombiner.Types.AND, name, operator, value);
+    }
+
+    private Query query(boolean allowFiltering, QueryCriteria... criteria) {
+        return CassandraCriteriaHelper.buildQuery(List.of(criteria), AuditEvent.class, mappingContext, allowFiltering);
+    }
+
+    @Test
+    void buildQuery_shouldServePartitionAndClusteringRestrictions() {
+        Query query = query(false,
+                and("tenant", IEnumOperator.Types.EQ, "'acme'"),
+                and("createDate", IEnumOperator.Types.GE, "2025-01-01T00:00:00"));
+
+        assertFalse(query.isAllowFiltering());
+        assertEquals(2, query.getCriteriaDefinitions().spliterator().getExactSizeIfKnown());
+    }
+
+    @Test
+    void buildQuery_shouldRejectClusteringRestrictionWithoutPartitionKey() {
+        WrongCriteriaFilterException exception = assertThrows(WrongCriteriaFilterException.class,
+                () -> query(false, and("createDate", IEnumOperator.Types.GT, "2025-01-01T00:00:00")));
+        assertTrue(exception.getMessage().contains("ALLOW FILTERING"));
+    }
+
+    @Test
+    void buildQuery_shouldRejectClusteringColumnsOutOfOrder() {
+        assertThrows(WrongCriteriaFilterException.class, () -> query(false,
+                and("tenant", IEnumOperator.Types.EQ, "acme"),
+                and("eventId", IEnumOperator.Types.EQ, UUID.randomUUID().toString())));
+    }
+
+    @Test
+    void buildQuery_shouldRejectRegularColumnWithoutIndex() {
+        assertThrows(WrongCriteriaFilterException.class, () -> query(false,
+                and("tenant", IEnumOperator.Types.EQ, "acme"),
+                and("detail", IEnumOperator.Types.EQ, "login")));
+    }
+
+    @Test
+    void buildQuery_shouldServeIndexedColumnEquality() {
+        assertFalse(query(false, and("action", IEnumOperator.Types.EQ, "LOGIN")).isAllowFiltering());
+    }
+
+    @Test
+    void buildQuery_shouldAllowFilteringWhenOptedIn() {
+        Query query = query(true, and("attempts", IEnumOperator.Types.GT, "3"));
+
+        assertTrue(query.isAllowFiltering());
+    }
+
+    @Test
+    void buildQuery_shouldSplitBetweenIntoTwoBounds() {
+        Query query = query(false,
+                and("tenant", IEnumOperator.Types.EQ, "acme"),
+                and("createDate", IEnumOperator.Types.BW, "(2025-01-01T00:00:00, 2025-02-01T00:00:00)"));
+
+        assertEquals(3, query.getCriteriaDefinitions().spliterator().getExactSizeIfKnown());
+    }
+
+    @Test
+    void buildQuery_shouldServePartitionKeyInList() {
+        assertFalse(query(false, and("tenant", IEnumOperator.Types.IN, "('acme', 'globex')")).isAllowFiltering());
+    }
+
+    @Test
+    void buildQuery_shouldRejectOrCombiner() {
+        assertThrows(WrongCriteriaFilterException.class, () -> query(false,
+                and("tenant", IEnumOperator.Types.EQ, "acme"),
+                criteria(IEnumCriteriaCombiner.Types.OR, "action", IEnumOperator.Types.EQ, "LOGIN")));
+    }
+
+    @Test
+    void buildQuery_shouldRejectOperatorsWithoutCqlEquivalent() {
+        assertThrows(WrongCriteriaFilterException.class, () -> query(true, and("tenant", IEnumOperator.Types.NE, "acme")));
+        assertThrows(WrongCriteriaFilterException.class, () -> query(true, and("detail", IEnumOperator.Types.LI, "log%")));
+    }
+
+    @Test
+    void buildQuery_shouldRejectUnknownFieldsAndInvalidValues() {
+        assertThrows(WrongCriteriaFilterException.class, () -> query(true, and("unknown", IEnumOperator.Types.EQ, "x")));
+        assertThrows(WrongCriteriaFilterException.class, () -> query(true, and("attempts", IEnumOperator.Types.EQ, "many")));
+    }
+
+    @Test
+    void cursor_shouldRoundTripPagingState() {
+        ByteBuffer pagingState = ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5});
+        CassandraPageRequest current = CassandraPageRequest.of(PageRequest.of(0, 20), pagingState);
+
+        String cursor = CassandraCursor.of(new SliceImpl<>(List.of("row"), current, true));
+        CassandraPageRequest next = CassandraCursor.pageRequest(cursor, 20, Sort.unsorted());
+
+        assertNotNull(cursor);
+        assertEquals(pagingState, next.getPagingState());
+        assertEquals(20, next.getPageSize());
+    }
+
+    @Test
+    void cursor_shouldBeNullOnLastSlice() {
+        assertNull(CassandraCursor.of(new SliceImpl<>(List.of("row"), CassandraPageRequest.first(20), false)));
+        assertNull(CassandraCursor.pageRequest(null, 20, Sort.unsorted()).getPagingState());
+    }
+
+    @Test
+    void cursor_shouldRejectMalformedValue() {
+        assertThrows(BadArgumentException.class, () -> CassandraCursor.pageRequest("not a cursor!", 20, Sort.unsorted()));
+    }
+}
@@ -0,0 +1,155 @@
+package eu.isygoit.com.rest.service.cassandra;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.auditing.IsNewAwareAuditingHandler;
+import org.springframework.data.cassandra.core.AsyncCassandraTemplate;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.convert.MappingCassandraConverter;
+import org.springframework.data.cassandra.core.cql.AsyncCqlTemplate;
+import org.springframework.data.cassandra.core.mapping.CassandraMappingContext;
+import org.springframework.data.cassandra.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.cassandra.core.mapping.event.AuditingEntityCallback;
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.data.mapping.context.PersistentEntities;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the write path of CassandraCrudService with auditing enabled: single rows and unlogged batches run
+ * the auditing entity callback and publish the save events of the application context.
+ */
+class CassandraCrudServiceAuditingTest {
+
+    private final List<Object> savedEvents = new CopyOnWriteArrayList<>();
+
+    private GenericApplicationContext applicationContext;
+    private AuditEventService service;
+
+    private static AsyncResultSet resultSet() {
+        ExecutionInfo executionInfo = mock(ExecutionInfo.class);
+        when(executionInfo.getWarnings()).thenReturn(List.of());
+        AsyncResultSet resultSet = mock(AsyncResultSet.class);
+        when(resultSet.getExecutionInfo()).thenReturn(executionInfo);
+        when(resultSet.wasApplied()).thenReturn(true);
+        when(resultSet.currentPage()).thenReturn(List.of());
+        return resultSet;
+    }
+
+    private static AuditEvent event(String tenant) {
+        AuditEvent event = new AuditEvent();
+        event.tenant = tenant;
+        return event;
+    }
+
+    @BeforeEach
+    void setup() {
+        CassandraMappingContext mappingContext = new CassandraMappingContext();
+        MappingCassandraConverter converter = new MappingCassandraConverter(mappingContext);
+        IsNewAwareAuditingHandler auditingHandler = new IsNewAwareAuditingHandler(PersistentEntities.of(mappingContext));
+        auditingHandler.setAuditorAware(() -> Optional.of("auditor"));
+
+        applicationContext = new GenericApplicationContext();
+        applicationContext.registerBean(AuditingEntityCallback.class, () -> new AuditingEntityCallback(() -> auditingHandler));
+        applicationContext.addApplicationListener(event -> {
+            if (event instanceof AfterSaveEvent<?> afterSave) {
+                savedEvents.add(afterSave.getSource());
+            }
+        });
+        applicationContext.refresh();
+
+        AsyncCqlTemplate cqlOperations = mock(AsyncCqlTemplate.class);
+        when(cqlOperations.queryForResultSet(any(Statement.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(resultSet()));
+        AsyncCassandraTemplate template = new AsyncCassandraTemplate(cqlOperations, converter);
+        template.setUsePreparedStatements(false);
+        // As initialized by the container for a declared template bean
+        template.setApplicationContext(applicationContext);
+        template.setApplicationEventPublisher(applicationContext);
+
+        CassandraOperations cassandraOperations = mock(CassandraOperations.class);
+        when(cassandraOperations.getConverter()).thenReturn(converter);
+
+        service = new AuditEventService();
+        ReflectionTestUtils.setField(service, "cassandraOperations", cassandraOperations);
+        ReflectionTestUtils.setField(service, "applicationContext", applicationContext);
+        ReflectionTestUtils.setField(service, "asyncCassandraOperations", template);
+    }
+
+    @AfterEach
+    void cleanup() {
+        applicationContext.close();
+    }
+
+    @Test
+    void create_shouldPopulateAuditFields() {
+        AuditEvent created = service.create(event("acme"));
+
+        assertNotNull(created.createDate);
+        assertEquals("auditor", created.createdBy);
+        assertNotNull(created.updateDate);
+        assertEquals("auditor", created.updatedBy);
+        assertEquals(List.of(created), savedEvents);
+    }
+
+    @Test
+    void createBatchAsync_shouldPopulateAuditFieldsOfBatchedRows() {
+        List<AuditEvent> created = service.createBatchAsync(List.of(event("acme"), event("acme"), event("globex")),
+                CassandraWriteOptions.NONE).join();
+
+        created.forEach(event -> {
+            assertNotNull(event.createDate);
+            assertEquals("auditor", event.createdBy);
+            assertEquals("auditor", event.updatedBy);
+        });
+        assertEquals(3, savedEvents.size(), "Batched rows publish their save events");
+    }
+
+    @Test
+    void updateBatch_shouldPopulateModificationFields() {
+        AuditEvent first = new AuditEvent("acme", LocalDateTime.of(2025, 1, 1, 0, 0));
+        AuditEvent second = new AuditEvent("acme", LocalDateTime.of(2025, 1, 2, 0, 0));
+
+        service.updateBatch(List.of(first, second));
+        AuditEvent single = service.update(new AuditEvent("globex", LocalDateTime.of(2025, 1, 3, 0, 0)));
+
+        for (AuditEvent event : List.of(first, second, single)) {
+            assertNotNull(event.updateDate);
+            assertEquals("auditor", event.updatedBy);
+        }
+    }
+
+    /**
+     * The repository of the audit events.
+     */
+    interface AuditEventRepository extends CassandraRepository<AuditEvent, UUID> {
+    }
+
+    /**
+     * The crud service of the audit events, assigning the clustering id on create.
+     */
+    static class AuditEventService extends CassandraCrudService<UUID, AuditEvent, AuditEventRepository> {
+
+        @Override
+        public AuditEvent beforeCreate(AuditEvent object) {
+            object.setId(UUID.randomUUID());
+            return object;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package eu.isygoit.com.rest.service.cassandra;
+
+import eu.isygoit.constants.TenantConstants;
+import eu.isygoit.enums.IEnumOperator;
+import eu.isygoit.filter.QueryCriteria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.cassandra.core.AsyncCassandraOperations;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.convert.MappingCassandraConverter;
+import org.springframework.data.cassandra.core.mapping.CassandraMappingContext;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.cassandra.repository.CassandraRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the tenant scoping of the CassandraCrudTenantService reads.
+ */
+class CassandraCrudTenantServiceTest {
+
+    private final AuditEvent acme = new AuditEvent("acme", LocalDateTime.of(2025, 1, 1, 0, 0));
+    private final AuditEvent globex = new AuditEvent("globex", LocalDateTime.of(2025, 1, 2, 0, 0));
+
+    private CassandraOperations cassandraOperations;
+    private AuditEventTenantService service;
+
+    @BeforeEach
+    void setup() {
+        MappingCassandraConverter converter = new MappingCassandraConverter(new CassandraMappingContext());
+        cassandraOperations = mock(CassandraOperations.class);
+        when(cassandraOperations.getConverter()).thenReturn(converter);
+
+        AsyncCassandraOperations asyncOperations = mock(AsyncCassandraOperations.class);
+        when(asyncOperations.selectOneById(acme.getId(), AuditEvent.class)).thenReturn(CompletableFuture.completedFuture(acme));
+        when(asyncOperations.selectOneById(globex.getId(), AuditEvent.class)).thenReturn(CompletableFuture.completedFuture(globex));
+
+        service = new AuditEventTenantService();
+        ReflectionTestUtils.setField(service, "cassandraOperations", cassandraOperations);
+        ReflectionTestUtils.setField(service, "asyncCassandraOperations", asyncOperations);
+    }
+
+    @Test
+    void getByIdIn_shouldOnlyReturnEntitiesOfTheTenant() {
+        List<UUID> ids = List.of(acme.getId(), globex.getId());
+
+        assertEquals(List.of(acme), service.getByIdIn("acme", ids));
+        assertEquals(List.of(globex), service.getByIdIn("globex", ids));
+        assertTrue(service.getByIdIn("initech", ids).isEmpty());
+    }
+
+    @Test
+    void getByIdIn_shouldReturnEveryTenantForTheSuperTenant() {
+        List<UUID> ids = List.of(acme.getId(), globex.getId());
+
+        assertEquals(List.of(acme, globex), service.getByIdIn(TenantConstants.SUPER_TENANT_NAME, ids));
+        assertEquals(List.of(acme, globex), service.getByIdIn(ids));
+    }
+
+    @Test
+    void findAllByCriteriaFilter_shouldRestrictTheTenantPartition() {
+        when(cassandraOperations.select(any(Query.class), eq(AuditEvent.class))).thenReturn(List.of(acme));
+
+        service.findAllByCriteriaFilter("acme", List.of(QueryCriteria.builder()
+                .name("createDate").operator(IEnumOperator.Types.GE).value("2025-01-01T00:00:00").build()));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(cassandraOperations).select(query.capture(), eq(AuditEvent.class));
+        assertFalse(query.getValue().isAllowFiltering(), "The tenant partition key serves the clustering restriction");
+        assertTrue(query.getValue().toString().contains("tenant = 'acme'"), query.getValue().toString());
+    }
+
+    /**
+     * The repository of the audit events.
+     */
+    interface AuditEventRepository extends CassandraRepository<AuditEvent, UUID> {
+    }
+
+    /**
+     * The tenant crud service of the audit events.
+     */
+    static class AuditEventTenantService extends CassandraCrudTenantService<UUID, AuditEvent, AuditEventRepository> {
+    }
+}
@@ -0,0 +1,148 @@
+package eu.isygoit.com.rest.service.cassandra;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.cassandra.core.AsyncCassandraOperations;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CassandraReadOperations: parallel reads by ids with a bounded number of requests in flight and
+ * pages walked over the paging state of the previous slices.
+ */
+class CassandraReadOperationsTest {
+
+    private CassandraOperations operations;
+    private AsyncCassandraOperations asyncOperations;
+    private CassandraReadOperations<AuditEvent> readOperations;
+
+    private static List<AuditEvent> events(int count) {
+        List<AuditEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(new AuditEvent("acme", LocalDateTime.of(2025, 1, 1, 0, 0).plusDays(i)));
+        }
+        return events;
+    }
+
+    private static SliceImpl<AuditEvent> slice(List<AuditEvent> content, int page, boolean hasNext) {
+        ByteBuffer pagingState = ByteBuffer.wrap(new byte[]{(byte) page});
+        return new SliceImpl<>(content, CassandraPageRequest.of(PageRequest.of(page, content.size()), pagingState), hasNext);
+    }
+
+    @BeforeEach
+    void setup() {
+        operations = mock(CassandraOperations.class);
+        asyncOperations = mock(AsyncCassandraOperations.class);
+        readOperations = new CassandraReadOperations<>(AuditEvent.class, operations, asyncOperations);
+    }
+
+    @Test
+    void selectByIds_shouldKeepIdOrderAndSkipMissingRows() {
+        List<AuditEvent> events = events(4);
+        Map<UUID, CompletableFuture<AuditEvent>> responses = new ConcurrentHashMap<>();
+        // Responses complete out of order, the second row is missing
+        List<CompletableFuture<AuditEvent>> pending = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            CompletableFuture<AuditEvent> response = new CompletableFuture<>();
+            responses.put(events.get(i).getId(), response);
+            pending.add(response);
+        }
+        when(asyncOperations.selectOneById(any(), eq(AuditEvent.class)))
+                .thenAnswer(invocation -> responses.get((UUID) invocation.getArgument(0)));
+
+        CompletableFuture<List<AuditEvent>> result = CompletableFuture.supplyAsync(() ->
+                readOperations.selectByIds(events.stream().map(AuditEvent::getId).toList(), 4));
+        for (int i = events.size() - 1; i >= 0; i--) {
+            pending.get(i).complete(i == 1 ? null : events.get(i));
+        }
+
+        assertEquals(List.of(events.get(0), events.get(2), events.get(3)), result.join());
+    }
+
+    @Test
+    void selectByIds_shouldBoundRequestsInFlight() {
+        List<AuditEvent> events = events(20);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(asyncOperations.selectOneById(any(), eq(AuditEvent.class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            UUID id = invocation.getArgument(0);
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                return events.stream().filter(event -> event.getId().equals(id)).findFirst().orElse(null);
+            });
+        });
+
+        List<AuditEvent> result = readOperations.selectByIds(events.stream().map(AuditEvent::getId).toList(), 3);
+
+        assertEquals(events, result);
+        assertTrue(maxInFlight.get() <= 3, "At most 3 requests in flight, got " + maxInFlight.get());
+        verify(asyncOperations, times(20)).selectOneById(any(), eq(AuditEvent.class));
+    }
+
+    @Test
+    void page_shouldFollowPagingStateToTheRequestedPage() {
+        List<AuditEvent> events = events(6);
+        when(operations.slice(any(Query.class), eq(AuditEvent.class)))
+                .thenReturn(slice(events.subList(0, 2), 0, true))
+                .thenReturn(slice(events.subList(2, 4), 1, true))
+                .thenReturn(slice(events.subList(4, 6), 2, true));
+
+        Page<AuditEvent> page = readOperations.page(Query.empty(), PageRequest.of(2, 2));
+
+        assertEquals(events.subList(4, 6), page.getContent());
+        assertEquals(7, page.getTotalElements(), "The total is a lower bound: rows read so far plus one");
+        verify(operations, times(3)).slice(any(Query.class), eq(AuditEvent.class));
+    }
+
+    @Test
+    void page_shouldBeEmptyPastTheLastSlice() {
+        List<AuditEvent> events = events(3);
+        when(operations.slice(any(Query.class), eq(AuditEvent.class)))
+                .thenReturn(slice(events.subList(0, 2), 0, true))
+                .thenReturn(slice(events.subList(2, 3), 1, false));
+
+        Page<AuditEvent> page = readOperations.page(Query.empty(), PageRequest.of(3, 2));
+
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(3, page.getTotalElements());
+        verify(operations, times(2)).slice(any(Query.class), eq(AuditEvent.class));
+    }
+
+    @Test
+    void page_shouldSelectEverythingWhenUnpaged() {
+        List<AuditEvent> events = events(3);
+        when(operations.select(any(Query.class), eq(AuditEvent.class))).thenReturn(events);
+
+        Page<AuditEvent> page = readOperations.page(Query.empty(), Pageable.unpaged());
+
+        assertEquals(events, page.getContent());
+        assertEquals(3, page.getTotalElements());
+        verify(operations, never()).slice(any(Query.class), eq(AuditEvent.class));
+    }
+}
@@ -0,0 +1,222 @@
+package eu.isygoit.com.rest.service.cassandra;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.cassandra.core.AsyncCassandraTemplate;
+import org.springframework.data.cassandra.core.DeleteOptions;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.convert.MappingCassandraConverter;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.cassandra.core.cql.AsyncCqlTemplate;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.CassandraMappingContext;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+import org.springframework.data.cassandra.core.mapping.event.BeforeSaveCallback;
+import org.springframework.data.mapping.callback.EntityCallbacks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CassandraWriteOperations: partition grouping in unlogged batches, bounded requests in flight, write
+ * options and request metrics. Requests go through an async template whose cql operations are mocked.
+ */
+class CassandraWriteOperationsTest {
+
+    private final CassandraMappingContext mappingContext = new CassandraMappingContext();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // The rows of each request, in the order the requests were issued
+    private final List<List<AuditEvent>> batches = new CopyOnWriteArrayList<>();
+    private final List<AuditEvent> saved = new CopyOnWriteArrayList<>();
+    private final List<CompletableFuture<AsyncResultSet>> pending = new CopyOnWriteArrayList<>();
+
+    private AsyncCqlTemplate cqlOperations;
+    private CassandraWriteOperations<AuditEvent> writeOperations;
+    private boolean completeImmediately = true;
+
+    @BeforeEach
+    void setup() {
+        cqlOperations = mock(AsyncCqlTemplate.class);
+        when(cqlOperations.queryForResultSet(any(Statement.class))).thenAnswer(invocation -> {
+            Statement<?> statement = invocation.getArgument(0);
+            int rows = statement instanceof BatchStatement batch ? batch.size() : 1;
+            List<AuditEvent> request = new ArrayList<>(saved.subList(0, rows));
+            saved.subList(0, rows).clear();
+            batches.add(request);
+            return response();
+        });
+        EntityCallbacks entityCallbacks = EntityCallbacks.create((BeforeSaveCallback<AuditEvent>) (entity, table, statement) -> {
+            saved.add(entity);
+            return entity;
+        });
+        AsyncCassandraTemplate template = new AsyncCassandraTemplate(cqlOperations, new MappingCassandraConverter(mappingContext));
+        template.setUsePreparedStatements(false);
+        template.setEntityCallbacks(entityCallbacks);
+        writeOperations = new CassandraWriteOperations<>(AuditEvent.class, template, entityCallbacks, null,
+                new CassandraWriteMetrics("AuditEvent", meterRegistry));
+    }
+
+    private static AsyncResultSet resultSet() {
+        ExecutionInfo executionInfo = mock(ExecutionInfo.class);
+        when(executionInfo.getWarnings()).thenReturn(List.of());
+        AsyncResultSet resultSet = mock(AsyncResultSet.class);
+        when(resultSet.getExecutionInfo()).thenReturn(executionInfo);
+        when(resultSet.wasApplied()).thenReturn(true);
+        when(resultSet.currentPage()).thenReturn(List.of());
+        return resultSet;
+    }
+
+    private CompletableFuture<AsyncResultSet> response() {
+        CompletableFuture<AsyncResultSet> future = new CompletableFuture<>();
+        if (completeImmediately) {
+            future.complete(resultSet());
+        } else {
+            pending.add(future);
+        }
+        return future;
+    }
+
+    private static List<AuditEvent> events(String tenant, int count) {
+        List<AuditEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(new AuditEvent(tenant, LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i)));
+        }
+        return events;
+    }
+
+    @Test
+    void write_shouldGroupRowsOfAPartitionInUnloggedBatches() {
+        List<AuditEvent> events = new ArrayList<>(events("acme", 5));
+        events.addAll(events("globex", 2));
+        events.add(events("initech", 1).get(0));
+
+        writeOperations.write(CassandraWriteOperations.Operation.INSERT, events, CassandraWriteOptions.NONE, 2, 8).join();
+
+        assertEquals(List.of(2, 2, 1, 2, 1), batches.stream().map(List::size).toList());
+        batches.forEach(rows -> assertEquals(1, rows.stream().map(row -> row.tenant).distinct().count(),
+                "A batch never spans partitions"));
+        verify(cqlOperations, times(5)).queryForResultSet(any(Statement.class));
+    }
+
+    @Test
+    void write_shouldBoundRequestsInFlight() throws Exception {
+        completeImmediately = false;
+        List<AuditEvent> events = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            events.addAll(events("tenant-" + i, 1));
+        }
+
+        CompletableFuture<CompletableFuture<Void>> write = CompletableFuture.supplyAsync(() ->
+                writeOperations.write(CassandraWriteOperations.Operation.INSERT, events, CassandraWriteOptions.NONE, 10, 2));
+        awaitPending(2);
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertEquals(2, pending.size(), "No request is issued while 2 are in flight");
+
+        while (pending.size() < 6 || pending.stream().anyMatch(future -> !future.isDone())) {
+            pending.stream().filter(future -> !future.isDone()).findFirst()
+                    .ifPresent(future -> future.complete(resultSet()));
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        write.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+        assertEquals(6, batches.size());
+    }
+
+    @Test
+    void write_shouldRecordRequestMetrics() {
+        List<AuditEvent> events = new ArrayList<>(events("acme", 3));
+        events.addAll(events("globex", 1));
+
+        writeOperations.write(CassandraWriteOperations.Operation.INSERT, events, CassandraWriteOptions.NONE, 10, 8).join();
+
+        assertEquals(1, meterRegistry.get("cassandra.write.requests").tag("mode", "batch").timer().count());
+        assertEquals(1, meterRegistry.get("cassandra.write.requests").tag("mode", "single").timer().count());
+        assertEquals(3.0, meterRegistry.get("cassandra.write.batch.statements").summary().totalAmount());
+        assertEquals(0.0, meterRegistry.get("cassandra.write.in.flight").gauge().value());
+    }
+
+    @Test
+    void write_shouldNotBatchVersionedEntities() {
+        List<Statement<?>> statements = new CopyOnWriteArrayList<>();
+        when(cqlOperations.queryForResultSet(any(Statement.class))).thenAnswer(invocation -> {
+            statements.add(invocation.getArgument(0));
+            return response();
+        });
+        AsyncCassandraTemplate template = new AsyncCassandraTemplate(cqlOperations, new MappingCassandraConverter(mappingContext));
+        template.setUsePreparedStatements(false);
+        CassandraWriteOperations<VersionedEvent> versioned = new CassandraWriteOperations<>(VersionedEvent.class,
+                template, null, null, new CassandraWriteMetrics("VersionedEvent", meterRegistry));
+        List<VersionedEvent> events = List.of(new VersionedEvent("acme", 1), new VersionedEvent("acme", 2),
+                new VersionedEvent("acme", 3));
+
+        versioned.write(CassandraWriteOperations.Operation.UPDATE, events, CassandraWriteOptions.NONE, 10, 8).join();
+
+        assertEquals(3, statements.size(), "One request per versioned row");
+        statements.forEach(statement -> {
+            assertFalse(statement instanceof BatchStatement);
+            assertTrue(((SimpleStatement) statement).getQuery().endsWith("IF version=?"), "Updated under its version condition");
+        });
+    }
+
+    @Test
+    void writeOptions_shouldApplyTtlAndTimestamp() {
+        Instant timestamp = Instant.parse("2025-01-01T00:00:00Z");
+        CassandraWriteOptions options = CassandraWriteOptions.builder()
+                .ttl(Duration.ofDays(30))
+                .timestamp(timestamp)
+                .build();
+
+        InsertOptions insertOptions = options.toInsertOptions();
+
+        assertEquals(Duration.ofDays(30), insertOptions.getTtl());
+        assertEquals(Long.valueOf(ChronoUnit.MICROS.between(Instant.EPOCH, timestamp)), insertOptions.getTimestamp());
+        assertEquals(DeleteOptions.empty().getTtl(), options.toDeleteOptions().getTtl(), "CQL deletes take no TTL");
+        assertNull(CassandraWriteOptions.NONE.toUpdateOptions().getTimestamp());
+    }
+
+    /**
+     * A versioned row of a partition.
+     */
+    @Table("versioned_event")
+    static class VersionedEvent {
+
+        @PrimaryKeyColumn(type = PrimaryKeyType.PARTITIONED, ordinal = 0)
+        String tenant;
+
+        @PrimaryKeyColumn(type = PrimaryKeyType.CLUSTERED, ordinal = 1)
+        int sequence;
+
+        @Version
+        Long version = 1L;
+
+        VersionedEvent(String tenant, int sequence) {
+            this.tenant = tenant;
+            this.sequence = sequence;
+        }
+    }
+
+    private void awaitPending(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pending.size() < expected && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        assertEquals(expected, pending.size());
+    }
+}
@@ -0,0 +1,135 @@
+package eu.isygoit.i18n.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MessageCatalog: bulk preload per locale, on-demand codes, background refresh and templates.
+ */
+class MessageCatalogTest {
+
+    private final Map<String, Map<String, String>> database = new ConcurrentHashMap<>();
+    private final AtomicInteger bulkLoads = new AtomicInteger();
+    private final AtomicInteger singleLoads = new AtomicInteger();
+    private boolean bulkFailing;
+    private MessageCatalog catalog;
+
+    @BeforeEach
+    void setup() {
+        database.put("en", new ConcurrentHashMap<>(Map.of(
+                "object.not.found", "Object not found",
+                "size.limit", "File {0} exceeds {1,number,integer} bytes")));
+        database.put("fr", new ConcurrentHashMap<>(Map.of("object.not.found", "Objet introuvable")));
+        catalog = MessageCatalog.builder()
+                .loader((code, locale) -> {
+                    singleLoads.incrementAndGet();
+                    return database.getOrDefault(locale, Map.of()).get(code);
+                })
+                .bulkLoader(locale -> {
+                    bulkLoads.incrementAndGet();
+                    if (bulkFailing) {
+                        throw new IllegalStateException("Database unavailable");
+                    }
+                    return Map.copyOf(database.getOrDefault(locale, Map.of()));
+                })
+                .maximumSize(100L)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    @Test
+    void get_shouldServeLocaleFromOneBulkLoad() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Object not found", catalog.get("object.not.found", "en"));
+            assertEquals("Object not found", catalog.get("OBJECT.NOT.FOUND", "en"), "Codes are matched ignoring case");
+        }
+        assertEquals("Objet introuvable", catalog.get("object.not.found", "fr"));
+
+        assertEquals(2, bulkLoads.get(), "One bulk load per locale");
+        assertEquals(0, singleLoads.get());
+        assertEquals(2, catalog.snapshotSize("en"));
+    }
+
+    @Test
+    void get_shouldLoadCodesMissingFromSnapshotOnDemand() {
+        catalog.preload(List.of("en"));
+        database.get("en").put("added.later", "Added later");
+
+        assertEquals("Added later", catalog.get("added.later", "en"));
+        assertEquals("Added later", catalog.get("added.later", "en"));
+        assertNull(catalog.get("unknown.code", "en"));
+
+        assertEquals(1, bulkLoads.get());
+        assertEquals(2, singleLoads.get(), "Found codes are cached, unknown codes are not");
+    }
+
+    @Test
+    void refresh_shouldSwapSnapshotsAndReloadCachedCodes() {
+        catalog.preload(List.of("en"));
+        database.get("en").put("added.later", "Added later");
+        catalog.get("added.later", "en");
+        database.get("en").put("object.not.found", "Nothing found");
+        database.get("en").put("added.later", "Added later, updated");
+
+        catalog.refresh().join();
+
+        assertEquals("Nothing found", catalog.get("object.not.found", "en"));
+        assertEquals("Added later, updated", catalog.get("added.later", "en"));
+        assertEquals(3, catalog.snapshotSize("en"));
+        assertEquals(2, bulkLoads.get());
+    }
+
+    @Test
+    void refresh_shouldKeepCurrentSnapshotWhenReloadFails() {
+        catalog.preload(List.of("en"));
+        database.get("en").put("object.not.found", "Nothing found");
+        bulkFailing = true;
+
+        catalog.refresh().join();
+
+        assertEquals("Object not found", catalog.get("object.not.found", "en"));
+    }
+
+    @Test
+    void put_shouldUpdateSnapshot() {
+        catalog.preload(List.of("fr"));
+
+        catalog.put("object.not.found", "fr", "Aucun objet");
+
+        assertEquals("Aucun objet", catalog.get("object.not.found", "fr"));
+        assertEquals(0, singleLoads.get());
+    }
+
+    @Test
+    void getFormatted_shouldApplyTemplate() {
+        assertEquals("File a.pdf exceeds 512 bytes", catalog.getFormatted("size.limit", "en", "a.pdf", 512));
+        assertEquals("File b.pdf exceeds 10 bytes", catalog.getFormatted("size.limit", "en", "b.pdf", 10));
+        assertEquals("Object not found", catalog.getFormatted("object.not.found", "en"));
+        assertEquals("Broken {0", catalog.format("Broken {0", "en", "x"), "Invalid patterns are returned as is");
+        assertNull(catalog.getFormatted("unknown.code", "en", "x"));
+    }
+
+    @Test
+    void builder_shouldRejectInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> MessageCatalog.builder()
+                .loader((code, locale) -> null)
+                .maximumSize(0L)
+                .build());
+    }
+
+    @Test
+    void putAll_shouldSeedMessagesOfFormerMessageMap() {
+        catalog.putAll(Map.of("legacy.code|en", "Legacy message", "no-locale", "Ignored", "empty|en", ""));
+
+        assertEquals("Legacy message", catalog.get("legacy.code", "en"));
+        assertEquals(0, singleLoads.get(), "Seeded messages are not loaded again");
+        assertNull(catalog.get("no-locale", "en"));
+    }
+}
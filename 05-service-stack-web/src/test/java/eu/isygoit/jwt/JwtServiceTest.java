@@ -3,6 +3,7 @@ package eu.isygoit.jwt;
 import eu.isygoit.constants.JwtConstants;
 import eu.isygoit.dto.common.TokenResponseDto;
 import eu.isygoit.enums.IEnumWebToken;
+import eu.isygoit.exception.SignaturAlgorithmNotSupportedException;
 import eu.isygoit.exception.TokenInvalidException;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -474,4 +475,68 @@ class JwtServiceTest {
             assertThrows(IllegalArgumentException.class, () -> jwtService.extractIsAdmin("", TEST_KEY_BASE64));
         }
     }
-}
\ No newline at end of file
+
+    // ========================================================================
+    // Key ring (kid based rotation)
+    // ========================================================================
+
+    @Nested
+    class KeyRingTests {
+
+        @Test
+        void tokensSignedWithRotatedKeysRemainVerifiable() {
+            JwtKeyRing keyRing = new JwtKeyRing();
+            JwtService service = new JwtService(null, keyRing);
+
+            keyRing.setSigningKey("key-1", Jwts.SIG.HS256.key().build(), null);
+            String first = createKeyRingToken(service);
+
+            keyRing.setSigningKey("key-2", Jwts.SIG.HS256.key().build(), null);
+            String second = createKeyRingToken(service);
+
+            assertEquals(Optional.of("key-1"), service.extractHeader(first, "kid"));
+            assertEquals(Optional.of("key-2"), service.extractHeader(second, "kid"));
+            assertEquals(SUBJECT, service.extractAllClaimsWithKeyRing(first).getSubject());
+            assertEquals(SUBJECT, service.extractAllClaimsWithKeyRing(second).getSubject());
+
+            keyRing.removeVerificationKey("key-1");
+            assertThrows(TokenInvalidException.class, () -> service.extractAllClaimsWithKeyRing(first));
+        }
+
+        @Test
+        void signingKeyOfAnotherTypeThanTheAlgorithmIsRejected() {
+            JwtKeyRing keyRing = new JwtKeyRing();
+            JwtService service = new JwtService(null, keyRing);
+            keyRing.setSigningKey("key-1", Jwts.SIG.HS256.key().build(), null);
+
+            SignaturAlgorithmNotSupportedException thrown = assertThrows(SignaturAlgorithmNotSupportedException.class,
+                    () -> service.createToken(JwtTokenRequest.builder()
+                            .subject(SUBJECT)
+                            .issuer(ISSUER)
+                            .audience(AUDIENCE)
+                            .algorithm(Jwts.SIG.RS256)
+                            .lifeTimeInMs(60_000)
+                            .build()));
+            assertTrue(thrown.getMessage().contains("key-1"));
+            assertTrue(thrown.getMessage().contains("RS256"));
+        }
+
+        @Test
+        void keyMaterialIsParsedOnce() {
+            JwtKeyRing keyRing = new JwtKeyRing();
+
+            assertSame(keyRing.secretKey(TEST_KEY_BASE64), keyRing.secretKey(TEST_KEY_BASE64));
+            assertSame(keyRing.parser(keyRing.secretKey(TEST_KEY_BASE64)), keyRing.parser(keyRing.secretKey(TEST_KEY_BASE64)));
+        }
+
+        private String createKeyRingToken(JwtService service) {
+            return service.createToken(JwtTokenRequest.builder()
+                    .subject(SUBJECT)
+                    .issuer(ISSUER)
+                    .audience(AUDIENCE)
+                    .algorithm(Jwts.SIG.HS256)
+                    .lifeTimeInMs(60_000)
+                    .build()).getToken();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package eu.isygoit.jwt.benchmark;
+
+import eu.isygoit.config.JwtProperties;
+import eu.isygoit.jwt.JwtService;
+import eu.isygoit.jwt.JwtTokenRequest;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JMH benchmark for token issuance and verification throughput with HMAC, RSA and EC keys.
+ * <p>
+ * Keys are passed to {@link JwtService} the way callers do (Base64 / PEM strings), so the numbers include key
+ * resolution through the key ring. Run with {@code main} from the test classpath.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private static final String SUBJECT = "benchmark";
+    private static final String ISSUER = "isygoit";
+    private static final Set<String> AUDIENCE = Set.of("bench");
+
+    @Param({"HS256", "RS256", "ES256"})
+    private String algorithmName;
+
+    private JwtService jwtService;
+    private SecureDigestAlgorithm<?, ?> algorithm;
+    private String signingKey;
+    private String secretKey;
+    private String publicKeyPem;
+    private String token;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static String toPem(String type, byte[] encoded) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(encoded)
+                + "\n-----END " + type + "-----";
+    }
+
+    @Setup
+    public void setup() {
+        JwtProperties jwtProperties = mock(JwtProperties.class);
+        when(jwtProperties.getJwtAllAudiences()).thenReturn("*");
+        when(jwtProperties.getJwtPrefixAudiences()).thenReturn("KMS.");
+        jwtService = new JwtService(jwtProperties);
+        algorithm = Jwts.SIG.get().forKey(algorithmName);
+        switch (algorithmName) {
+            case "HS256" -> {
+                secretKey = Base64.getEncoder().encodeToString(Jwts.SIG.HS256.key().build().getEncoded());
+                signingKey = secretKey;
+            }
+            case "RS256" -> setupKeyPair(Jwts.SIG.RS256.keyPair().build());
+            case "ES256" -> setupKeyPair(Jwts.SIG.ES256.keyPair().build());
+            default -> throw new IllegalArgumentException(algorithmName);
+        }
+        token = issue();
+    }
+
+    private void setupKeyPair(KeyPair keyPair) {
+        signingKey = toPem("PRIVATE KEY", keyPair.getPrivate().getEncoded());
+        publicKeyPem = toPem("PUBLIC KEY", keyPair.getPublic().getEncoded());
+    }
+
+    @Benchmark
+    public String issue() {
+        return jwtService.createToken(JwtTokenRequest.builder()
+                .subject(SUBJECT)
+                .issuer(ISSUER)
+                .audience(AUDIENCE)
+                .algorithm(algorithm)
+                .key(signingKey)
+                .lifeTimeInMs(60_000)
+                .build()).getToken();
+    }
+
+    @Benchmark
+    public String verify() {
+        jwtService.validateToken(token, SUBJECT, ISSUER, AUDIENCE, secretKey, publicKeyPem);
+        return token;
+    }
+}
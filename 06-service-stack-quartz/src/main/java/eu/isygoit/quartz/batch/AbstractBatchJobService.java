@@ -0,0 +1,270 @@
+package eu.isygoit.quartz.batch;
+
+import eu.isygoit.quartz.service.AbstractJobService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The type Abstract batch job service.
+ * <p>
+ * A batch job processes a key range in chunks: each chunk is read by key, written and committed together with the
+ * checkpoint of its partition. When the job trigger fires, the key range is split into partitions and one one-shot
+ * trigger is scheduled per partition for the same job; with a clustered JDBC job store the partitions are picked up
+ * by whichever nodes have a free scheduler thread, so a run spreads over the cluster instead of one node.
+ * <p>
+ * A partition that fails is scheduled again after the retry delay and resumes after its last committed chunk. When
+ * the job detail requests recovery, a partition interrupted by a node crash is executed again by another node and
+ * resumes the same way. The job class must allow concurrent execution: overlapping runs are handled by the
+ * {@link OverlapPolicy} of the job.
+ *
+ * @param <T> the item type
+ */
+@Slf4j
+public abstract class AbstractBatchJobService<T> extends AbstractJobService {
+
+    /**
+     * The constant PARTITION_INDEX.
+     */
+    public static final String PARTITION_INDEX = "batchPartitionIndex";
+    /**
+     * The constant PARTITION_COUNT.
+     */
+    public static final String PARTITION_COUNT = "batchPartitionCount";
+    /**
+     * The constant PARTITION_FROM.
+     */
+    public static final String PARTITION_FROM = "batchPartitionFrom";
+    /**
+     * The constant PARTITION_TO.
+     */
+    public static final String PARTITION_TO = "batchPartitionTo";
+    /**
+     * The constant PARTITION_ATTEMPT.
+     */
+    public static final String PARTITION_ATTEMPT = "batchPartitionAttempt";
+
+    @Setter
+    @Autowired(required = false)
+    private CheckpointRepository checkpointRepository = new InMemoryCheckpointRepository();
+
+    @Setter
+    @Autowired(required = false)
+    private PlatformTransactionManager transactionManager;
+
+    private BatchJobMetrics metrics;
+
+    /**
+     * Gets the key range of a new run.
+     *
+     * @param context the context of the job firing
+     * @return the key range
+     */
+    public abstract KeyRange getKeyRange(JobExecutionContext context);
+
+    /**
+     * Gets reader.
+     *
+     * @return the reader
+     */
+    public abstract ChunkReader<T> getReader();
+
+    /**
+     * Gets writer.
+     *
+     * @return the writer
+     */
+    public abstract ChunkWriter<T> getWriter();
+
+    /**
+     * Gets options.
+     *
+     * @return the options
+     */
+    public BatchJobOptions getOptions() {
+        return BatchJobOptions.DEFAULT;
+    }
+
+    /**
+     * Sets meter registry.
+     *
+     * @param meterRegistry the meter registry
+     */
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.metrics = meterRegistry != null ? new BatchJobMetrics(meterRegistry) : null;
+    }
+
+    /**
+     * Gets the checkpoints of the current or last run.
+     *
+     * @param jobKey the job key
+     * @return the checkpoints
+     */
+    public List<BatchCheckpoint> getCheckpoints(JobKey jobKey) {
+        return checkpointRepository.findAll(jobKey.toString());
+    }
+
+    /**
+     * Process. Chunks are committed in their own transactions and failures are handled per partition, so the job is
+     * not wrapped in a transaction.
+     *
+     * @param context the context
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void process(JobExecutionContext context) {
+        this.performJob(context);
+    }
+
+    @Override
+    public void performJob(JobExecutionContext context) {
+        JobDataMap data = context.getMergedJobDataMap();
+        try {
+            if (data.containsKey(PARTITION_INDEX)) {
+                Partition partition = new Partition(data.getInt(PARTITION_INDEX), data.getInt(PARTITION_COUNT),
+                        data.getLong(PARTITION_FROM), data.getLong(PARTITION_TO));
+                executePartition(context, partition, data.getInt(PARTITION_ATTEMPT));
+            } else {
+                launch(context);
+            }
+        } catch (SchedulerException e) {
+            log.error("<ERROR>: Batch job {} could not be scheduled", context.getJobDetail().getKey(), e);
+        }
+    }
+
+    private void launch(JobExecutionContext context) throws SchedulerException {
+        Scheduler scheduler = context.getScheduler();
+        JobKey jobKey = context.getJobDetail().getKey();
+        BatchJobOptions options = getOptions();
+
+        if (isRunning(scheduler, jobKey)) {
+            if (options.getOverlapPolicy() == OverlapPolicy.DEFER) {
+                defer(scheduler, jobKey, options.getDeferDelay());
+            } else {
+                log.warn("Batch job {} is still running, firing skipped", jobKey);
+            }
+            return;
+        }
+
+        List<Partition> partitions = getKeyRange(context).split(options.getPartitions());
+        checkpointRepository.deleteAll(jobKey.toString());
+        Date now = new Date();
+        for (Partition partition : partitions) {
+            scheduler.scheduleJob(partitionTrigger(jobKey, partition, 0, now));
+        }
+        log.info("Batch job {} started with {} partition(s)", jobKey, partitions.size());
+    }
+
+    private void executePartition(JobExecutionContext context, Partition partition, int attempt) throws SchedulerException {
+        JobKey jobKey = context.getJobDetail().getKey();
+        String jobName = jobKey.toString();
+        BatchJobOptions options = getOptions();
+        int chunkSize = options.getChunkSize();
+        ChunkReader<T> reader = getReader();
+        ChunkWriter<T> writer = getWriter();
+        BatchJobMetrics meters = metrics;
+
+        BatchCheckpoint checkpoint = checkpointRepository.find(jobName, partition.index())
+                .orElseGet(() -> BatchCheckpoint.start(jobName, partition.index()));
+        if (checkpoint.completed()) {
+            return;
+        }
+        if (meters != null && context.getScheduledFireTime() != null) {
+            meters.lag(jobName, Duration.ofMillis(context.getFireTime().getTime() - context.getScheduledFireTime().getTime()));
+        }
+
+        long start = System.nanoTime();
+        long items = 0;
+        try {
+            while (!checkpoint.completed()) {
+                List<T> chunk = reader.read(partition, checkpoint.lastKey(), chunkSize);
+                BatchCheckpoint next = chunk.isEmpty()
+                        ? checkpoint.complete()
+                        : checkpoint.advance(reader.keyOf(chunk.get(chunk.size() - 1)), chunk.size(), chunk.size() < chunkSize);
+                commit(chunk, writer, next);
+                checkpoint = next;
+                items += chunk.size();
+                if (meters != null && !chunk.isEmpty()) {
+                    meters.items(jobName, chunk.size());
+                }
+            }
+            log.info("Batch job {} partition {}/{} completed: {} item(s)", jobKey, partition.index() + 1,
+                    partition.count(), checkpoint.itemCount());
+        } catch (RuntimeException e) {
+            if (attempt < options.getMaxRetries()) {
+                log.warn("Batch job {} partition {} failed after key {}, retry {}/{}: {}", jobKey, partition.index(),
+                        checkpoint.lastKey(), attempt + 1, options.getMaxRetries(), e.getMessage());
+                Date retryAt = new Date(System.currentTimeMillis() + options.getRetryDelay().toMillis());
+                context.getScheduler().scheduleJob(partitionTrigger(jobKey, partition, attempt + 1, retryAt));
+            } else {
+                log.error("<ERROR>: Batch job {} partition {} failed after key {}, retries exhausted", jobKey,
+                        partition.index(), checkpoint.lastKey(), e);
+            }
+        } finally {
+            if (meters != null) {
+                meters.partition(jobName, System.nanoTime() - start, items, checkpoint.completed());
+            }
+        }
+    }
+
+    private void commit(List<T> chunk, ChunkWriter<T> writer, BatchCheckpoint checkpoint) {
+        Runnable work = () -> {
+            if (!chunk.isEmpty()) {
+                writer.write(chunk);
+            }
+            checkpointRepository.save(checkpoint);
+        };
+        if (transactionManager != null) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+        } else {
+            work.run();
+        }
+    }
+
+    private boolean isRunning(Scheduler scheduler, JobKey jobKey) throws SchedulerException {
+        // One-shot partition triggers are removed once executed: any left means the previous run is not over
+        return scheduler.getTriggersOfJob(jobKey).stream()
+                .anyMatch(trigger -> trigger.getJobDataMap().containsKey(PARTITION_INDEX));
+    }
+
+    private void defer(Scheduler scheduler, JobKey jobKey, Duration delay) throws SchedulerException {
+        TriggerKey triggerKey = TriggerKey.triggerKey(jobKey.getName() + ".deferred", jobKey.getGroup());
+        if (scheduler.checkExists(triggerKey)) {
+            log.warn("Batch job {} is still running and already deferred, firing skipped", jobKey);
+            return;
+        }
+        scheduler.scheduleJob(TriggerBuilder.newTrigger()
+                .forJob(jobKey)
+                .withIdentity(triggerKey)
+                .startAt(new Date(System.currentTimeMillis() + delay.toMillis()))
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                .build());
+        log.info("Batch job {} is still running, firing deferred by {}", jobKey, delay);
+    }
+
+    private Trigger partitionTrigger(JobKey jobKey, Partition partition, int attempt, Date startAt) {
+        return TriggerBuilder.newTrigger()
+                .forJob(jobKey)
+                .withIdentity(jobKey.getName() + ".partition-" + partition.index() + "." + attempt, jobKey.getGroup())
+                .usingJobData(PARTITION_INDEX, partition.index())
+                .usingJobData(PARTITION_COUNT, partition.count())
+                .usingJobData(PARTITION_FROM, partition.from())
+                .usingJobData(PARTITION_TO, partition.to())
+                .usingJobData(PARTITION_ATTEMPT, attempt)
+                .startAt(startAt)
+                // A partition must run even late, the run is not complete without it
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                .build();
+    }
+}
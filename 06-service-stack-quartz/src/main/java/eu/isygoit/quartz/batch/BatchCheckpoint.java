@@ -0,0 +1,45 @@
+package eu.isygoit.quartz.batch;
+
+/**
+ * The type Batch checkpoint, the progress of one partition saved after every chunk.
+ *
+ * @param jobName   the job name
+ * @param partition the partition index
+ * @param lastKey   the key of the last item written, null before the first chunk
+ * @param itemCount the number of items written
+ * @param completed whether the partition is completed
+ */
+public record BatchCheckpoint(String jobName, int partition, Long lastKey, long itemCount, boolean completed) {
+
+    /**
+     * Start batch checkpoint.
+     *
+     * @param jobName   the job name
+     * @param partition the partition index
+     * @return the batch checkpoint
+     */
+    public static BatchCheckpoint start(String jobName, int partition) {
+        return new BatchCheckpoint(jobName, partition, null, 0, false);
+    }
+
+    /**
+     * Advance batch checkpoint.
+     *
+     * @param key       the key of the last item of the chunk
+     * @param items     the number of items of the chunk
+     * @param completed whether the chunk is the last one
+     * @return the batch checkpoint
+     */
+    public BatchCheckpoint advance(long key, int items, boolean completed) {
+        return new BatchCheckpoint(jobName, partition, key, itemCount + items, completed);
+    }
+
+    /**
+     * Complete batch checkpoint.
+     *
+     * @return the batch checkpoint
+     */
+    public BatchCheckpoint complete() {
+        return new BatchCheckpoint(jobName, partition, lastKey, itemCount, true);
+    }
+}
@@ -0,0 +1,112 @@
+package eu.isygoit.quartz.batch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Batch job metrics, the meters of the batch jobs tagged by job:
+ * <ul>
+ *     <li>{@value #DURATION}: partition execution time, tagged by outcome</li>
+ *     <li>{@value #ITEMS}: items written, its rate is the job throughput</li>
+ *     <li>{@value #THROUGHPUT}: items per second of the last completed partition</li>
+ *     <li>{@value #LAG}: delay between the scheduled and the actual start of a partition</li>
+ * </ul>
+ */
+class BatchJobMetrics {
+
+    /**
+     * The constant DURATION.
+     */
+    static final String DURATION = "quartz.batch.partition.duration";
+    /**
+     * The constant ITEMS.
+     */
+    static final String ITEMS = "quartz.batch.items";
+    /**
+     * The constant THROUGHPUT.
+     */
+    static final String THROUGHPUT = "quartz.batch.throughput";
+    /**
+     * The constant LAG.
+     */
+    static final String LAG = "quartz.batch.lag";
+
+    private final MeterRegistry meterRegistry;
+    // Items per second as double bits, one gauge per job
+    private final ConcurrentMap<String, AtomicLong> throughputs = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Batch job metrics.
+     *
+     * @param meterRegistry the meter registry
+     */
+    BatchJobMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Record the start delay of a partition.
+     *
+     * @param job the job
+     * @param lag the lag
+     */
+    void lag(String job, Duration lag) {
+        Timer.builder(LAG)
+                .description("Delay between the scheduled and the actual start of a batch partition")
+                .tag("job", job)
+                .register(meterRegistry)
+                .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    /**
+     * Record the items of a committed chunk.
+     *
+     * @param job   the job
+     * @param items the items
+     */
+    void items(String job, int items) {
+        Counter.builder(ITEMS)
+                .description("Items written by batch jobs")
+                .tag("job", job)
+                .register(meterRegistry)
+                .increment(items);
+    }
+
+    /**
+     * Record the end of a partition execution.
+     *
+     * @param job       the job
+     * @param duration  the duration in nanoseconds
+     * @param items     the items written by the execution
+     * @param completed whether the partition completed
+     */
+    void partition(String job, long duration, long items, boolean completed) {
+        Timer.builder(DURATION)
+                .description("Execution time of batch partitions")
+                .tag("job", job)
+                .tag("outcome", completed ? "success" : "error")
+                .register(meterRegistry)
+                .record(Duration.ofNanos(duration));
+        if (completed && duration > 0) {
+            throughput(job).set(Double.doubleToLongBits(items * 1e9 / duration));
+        }
+    }
+
+    private AtomicLong throughput(String job) {
+        return throughputs.computeIfAbsent(job, name -> {
+            AtomicLong holder = new AtomicLong(Double.doubleToLongBits(0));
+            Gauge.builder(THROUGHPUT, holder, bits -> Double.longBitsToDouble(bits.get()))
+                    .description("Items per second of the last completed batch partition")
+                    .tag("job", name)
+                    .register(meterRegistry);
+            return holder;
+        });
+    }
+}
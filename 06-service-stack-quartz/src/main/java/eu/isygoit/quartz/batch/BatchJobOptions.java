@@ -0,0 +1,50 @@
+package eu.isygoit.quartz.batch;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * The type Batch job options.
+ */
+@Getter
+@Builder
+public class BatchJobOptions {
+
+    /**
+     * The constant DEFAULT.
+     */
+    public static final BatchJobOptions DEFAULT = BatchJobOptions.builder().build();
+
+    /**
+     * The number of items read, written and committed together.
+     */
+    @Builder.Default
+    private final int chunkSize = 100;
+
+    /**
+     * The number of partitions the key range is split into, executed in parallel by the scheduler threads of the
+     * cluster nodes.
+     */
+    @Builder.Default
+    private final int partitions = 1;
+
+    @Builder.Default
+    private final OverlapPolicy overlapPolicy = OverlapPolicy.SKIP;
+
+    /**
+     * The delay of a firing postponed by {@link OverlapPolicy#DEFER}.
+     */
+    @Builder.Default
+    private final Duration deferDelay = Duration.ofMinutes(5);
+
+    /**
+     * The number of times a failed partition is scheduled again, resuming from its checkpoint.
+     */
+    @Builder.Default
+    private final int maxRetries = 3;
+
+    @Builder.Default
+    private final Duration retryDelay = Duration.ofMinutes(1);
+}
@@ -0,0 +1,41 @@
+package eu.isygoit.quartz.batch;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The interface Checkpoint repository.
+ */
+public interface CheckpointRepository {
+
+    /**
+     * Find the checkpoint of a partition.
+     *
+     * @param jobName   the job name
+     * @param partition the partition index
+     * @return the optional
+     */
+    Optional<BatchCheckpoint> find(String jobName, int partition);
+
+    /**
+     * Find the checkpoints of every partition of a job.
+     *
+     * @param jobName the job name
+     * @return the list
+     */
+    List<BatchCheckpoint> findAll(String jobName);
+
+    /**
+     * Save a checkpoint, replacing the previous one of the partition.
+     *
+     * @param checkpoint the checkpoint
+     */
+    void save(BatchCheckpoint checkpoint);
+
+    /**
+     * Delete the checkpoints of a job, done when a new run starts.
+     *
+     * @param jobName the job name
+     */
+    void deleteAll(String jobName);
+}
@@ -0,0 +1,31 @@
+package eu.isygoit.quartz.batch;
+
+import java.util.List;
+
+/**
+ * The interface Chunk reader.
+ *
+ * @param <T> the item type
+ */
+public interface ChunkReader<T> {
+
+    /**
+     * Read the next chunk of a partition: the items whose key is within the partition and greater than
+     * {@code afterKey}, ordered by key, at most {@code limit} of them. Reading by key rather than by offset lets a
+     * restarted partition resume exactly after its last committed chunk.
+     *
+     * @param partition the partition
+     * @param afterKey  the key of the last item already written, null to start at the beginning of the partition
+     * @param limit     the chunk size
+     * @return the items, empty when the partition is exhausted
+     */
+    List<T> read(Partition partition, Long afterKey, int limit);
+
+    /**
+     * Gets the key of an item.
+     *
+     * @param item the item
+     * @return the key
+     */
+    long keyOf(T item);
+}
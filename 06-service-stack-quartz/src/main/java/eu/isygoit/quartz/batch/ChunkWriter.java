@@ -0,0 +1,20 @@
+package eu.isygoit.quartz.batch;
+
+import java.util.List;
+
+/**
+ * The interface Chunk writer.
+ *
+ * @param <T> the item type
+ */
+@FunctionalInterface
+public interface ChunkWriter<T> {
+
+    /**
+     * Write a chunk. The chunk is written in the same transaction as its checkpoint when a transaction manager is
+     * available, otherwise the writer must be idempotent as a chunk may be written again after a crash.
+     *
+     * @param items the items
+     */
+    void write(List<T> items);
+}
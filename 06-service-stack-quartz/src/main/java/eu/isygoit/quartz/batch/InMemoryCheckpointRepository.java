@@ -0,0 +1,41 @@
+package eu.isygoit.quartz.batch;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The type In memory checkpoint repository, for a single node with a RAM job store: checkpoints survive a failed
+ * chunk but not a restart of the application.
+ */
+public class InMemoryCheckpointRepository implements CheckpointRepository {
+
+    private final ConcurrentMap<String, ConcurrentMap<Integer, BatchCheckpoint>> checkpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<BatchCheckpoint> find(String jobName, int partition) {
+        ConcurrentMap<Integer, BatchCheckpoint> partitions = checkpoints.get(jobName);
+        return partitions == null ? Optional.empty() : Optional.ofNullable(partitions.get(partition));
+    }
+
+    @Override
+    public List<BatchCheckpoint> findAll(String jobName) {
+        ConcurrentMap<Integer, BatchCheckpoint> partitions = checkpoints.get(jobName);
+        return partitions == null ? List.of() : partitions.values().stream()
+                .sorted(Comparator.comparingInt(BatchCheckpoint::partition))
+                .toList();
+    }
+
+    @Override
+    public void save(BatchCheckpoint checkpoint) {
+        checkpoints.computeIfAbsent(checkpoint.jobName(), name -> new ConcurrentHashMap<>())
+                .put(checkpoint.partition(), checkpoint);
+    }
+
+    @Override
+    public void deleteAll(String jobName) {
+        checkpoints.remove(jobName);
+    }
+}
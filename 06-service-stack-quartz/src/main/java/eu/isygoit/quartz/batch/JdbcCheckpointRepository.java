@@ -0,0 +1,145 @@
+package eu.isygoit.quartz.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * The type Jdbc checkpoint repository, sharing the checkpoints between the nodes of a clustered scheduler so that a
+ * partition recovered on another node resumes after its last committed chunk.
+ * <p>
+ * The table is created by {@link #initializeSchema()} when it does not exist, or beforehand next to the Quartz tables:
+ * <pre>
+ * CREATE TABLE QRTZ_BATCH_CHECKPOINT (
+ *     JOB_NAME        VARCHAR(200) NOT NULL,
+ *     PARTITION_INDEX INTEGER      NOT NULL,
+ *     LAST_KEY        BIGINT,
+ *     ITEM_COUNT      BIGINT       NOT NULL,
+ *     COMPLETED       BOOLEAN      NOT NULL,
+ *     UPDATED_AT      TIMESTAMP    NOT NULL,
+ *     PRIMARY KEY (JOB_NAME, PARTITION_INDEX)
+ * );
+ * </pre>
+ */
+@Slf4j
+public class JdbcCheckpointRepository implements CheckpointRepository {
+
+    /**
+     * The constant DEFAULT_TABLE.
+     */
+    public static final String DEFAULT_TABLE = "QRTZ_BATCH_CHECKPOINT";
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_.]*");
+
+    private static final RowMapper<BatchCheckpoint> ROW_MAPPER = (rs, rowNum) -> new BatchCheckpoint(
+            rs.getString("JOB_NAME"),
+            rs.getInt("PARTITION_INDEX"),
+            rs.getObject("LAST_KEY", Long.class),
+            rs.getLong("ITEM_COUNT"),
+            rs.getBoolean("COMPLETED"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final String probe;
+    private final String create;
+    private final String selectOne;
+    private final String selectAll;
+    private final String update;
+    private final String insert;
+    private final String delete;
+
+    /**
+     * Instantiates a new Jdbc checkpoint repository.
+     *
+     * @param dataSource the data source
+     * @param table      the table name
+     */
+    public JdbcCheckpointRepository(DataSource dataSource, String table) {
+        this(new JdbcTemplate(dataSource), table);
+    }
+
+    /**
+     * Instantiates a new Jdbc checkpoint repository.
+     *
+     * @param jdbcTemplate the jdbc template
+     * @param table        the table name
+     */
+    JdbcCheckpointRepository(JdbcTemplate jdbcTemplate, String table) {
+        if (table == null || !TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid checkpoint table name: " + table);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+        String columns = "JOB_NAME, PARTITION_INDEX, LAST_KEY, ITEM_COUNT, COMPLETED";
+        this.selectOne = "SELECT " + columns + " FROM " + table + " WHERE JOB_NAME = ? AND PARTITION_INDEX = ?";
+        this.selectAll = "SELECT " + columns + " FROM " + table + " WHERE JOB_NAME = ? ORDER BY PARTITION_INDEX";
+        this.update = "UPDATE " + table + " SET LAST_KEY = ?, ITEM_COUNT = ?, COMPLETED = ?, UPDATED_AT = ?"
+                + " WHERE JOB_NAME = ? AND PARTITION_INDEX = ?";
+        this.insert = "INSERT INTO " + table + " (" + columns + ", UPDATED_AT) VALUES (?, ?, ?, ?, ?, ?)";
+        this.delete = "DELETE FROM " + table + " WHERE JOB_NAME = ?";
+        this.probe = "SELECT " + columns + " FROM " + table + " WHERE 1 = 0";
+        this.create = "CREATE TABLE " + table + " ("
+                + "JOB_NAME VARCHAR(200) NOT NULL, "
+                + "PARTITION_INDEX INTEGER NOT NULL, "
+                + "LAST_KEY BIGINT, "
+                + "ITEM_COUNT BIGINT NOT NULL, "
+                + "COMPLETED BOOLEAN NOT NULL, "
+                + "UPDATED_AT TIMESTAMP NOT NULL, "
+                + "PRIMARY KEY (JOB_NAME, PARTITION_INDEX))";
+    }
+
+    /**
+     * Create the checkpoint table when it does not exist.
+     */
+    public void initializeSchema() {
+        try {
+            jdbcTemplate.queryForList(probe);
+        } catch (BadSqlGrammarException e) {
+            log.info("Creating batch checkpoint table {}", table);
+            jdbcTemplate.execute(create);
+        }
+    }
+
+    @Override
+    public Optional<BatchCheckpoint> find(String jobName, int partition) {
+        return jdbcTemplate.query(selectOne, ROW_MAPPER, jobName, partition).stream().findFirst();
+    }
+
+    @Override
+    public List<BatchCheckpoint> findAll(String jobName) {
+        return jdbcTemplate.query(selectAll, ROW_MAPPER, jobName);
+    }
+
+    @Override
+    public void save(BatchCheckpoint checkpoint) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        if (update(checkpoint, now) == 0) {
+            try {
+                jdbcTemplate.update(insert, checkpoint.jobName(), checkpoint.partition(), checkpoint.lastKey(),
+                        checkpoint.itemCount(), checkpoint.completed(), now);
+            } catch (DuplicateKeyException e) {
+                // Inserted since the update, e.g. by the same partition recovered on another node: update it instead.
+                // Within a transaction the databases aborting it on error fail here, and the partition is retried.
+                update(checkpoint, now);
+            }
+        }
+    }
+
+    private int update(BatchCheckpoint checkpoint, Timestamp now) {
+        return jdbcTemplate.update(update, checkpoint.lastKey(), checkpoint.itemCount(), checkpoint.completed(),
+                now, checkpoint.jobName(), checkpoint.partition());
+    }
+
+    @Override
+    public void deleteAll(String jobName) {
+        jdbcTemplate.update(delete, jobName);
+    }
+}
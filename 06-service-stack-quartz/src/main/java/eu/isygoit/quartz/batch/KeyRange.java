@@ -0,0 +1,71 @@
+package eu.isygoit.quartz.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The type Key range, the keys from {@code from} inclusive to {@code to} exclusive processed by a batch job.
+ *
+ * @param from the first key
+ * @param to   the key after the last one
+ */
+public record KeyRange(long from, long to) {
+
+    /**
+     * Instantiates a new Key range.
+     *
+     * @param from the first key
+     * @param to   the key after the last one
+     */
+    public KeyRange {
+        if (to < from) {
+            throw new IllegalArgumentException("Invalid key range [" + from + ", " + to + ")");
+        }
+    }
+
+    /**
+     * Closed key range.
+     *
+     * @param first the first key
+     * @param last  the last key, included
+     * @return the key range
+     */
+    public static KeyRange closed(long first, long last) {
+        return new KeyRange(first, last + 1);
+    }
+
+    /**
+     * Is empty boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isEmpty() {
+        return from == to;
+    }
+
+    /**
+     * Split the range into contiguous partitions of the same size, the first ones holding one more key when the
+     * range does not divide evenly. An empty range gives a single empty partition so that the run still completes.
+     *
+     * @param count the wanted number of partitions, capped by the number of keys
+     * @return the partitions
+     */
+    public List<Partition> split(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Partition count must be positive: " + count);
+        }
+        long size = to - from;
+        int partitions = (int) Math.max(1, Math.min(count, size));
+        long base = size / partitions;
+        long remainder = size % partitions;
+
+        List<Partition> result = new ArrayList<>(partitions);
+        long start = from;
+        for (int i = 0; i < partitions; i++) {
+            long end = start + base + (i < remainder ? 1 : 0);
+            result.add(new Partition(i, partitions, start, end));
+            start = end;
+        }
+        return result;
+    }
+}
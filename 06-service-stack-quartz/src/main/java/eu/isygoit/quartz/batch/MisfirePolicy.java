@@ -0,0 +1,47 @@
+package eu.isygoit.quartz.batch;
+
+import org.quartz.CronScheduleBuilder;
+import org.quartz.SimpleScheduleBuilder;
+
+/**
+ * The enum Misfire policy, what the scheduler does with a firing missed by more than the misfire threshold, e.g.
+ * while every node was down.
+ */
+public enum MisfirePolicy {
+
+    /**
+     * The missed firing runs once as soon as possible, then the schedule resumes.
+     */
+    FIRE_ONCE_NOW,
+
+    /**
+     * The missed firings are dropped, the job waits for its next scheduled time.
+     */
+    SKIP;
+
+    /**
+     * Apply the policy to a cron schedule.
+     *
+     * @param scheduleBuilder the schedule builder
+     * @return the cron schedule builder
+     */
+    public CronScheduleBuilder apply(CronScheduleBuilder scheduleBuilder) {
+        return switch (this) {
+            case FIRE_ONCE_NOW -> scheduleBuilder.withMisfireHandlingInstructionFireAndProceed();
+            case SKIP -> scheduleBuilder.withMisfireHandlingInstructionDoNothing();
+        };
+    }
+
+    /**
+     * Apply the policy to a simple schedule.
+     *
+     * @param scheduleBuilder the schedule builder
+     * @return the simple schedule builder
+     */
+    public SimpleScheduleBuilder apply(SimpleScheduleBuilder scheduleBuilder) {
+        return switch (this) {
+            case FIRE_ONCE_NOW -> scheduleBuilder.withMisfireHandlingInstructionNowWithExistingCount();
+            case SKIP -> scheduleBuilder.withMisfireHandlingInstructionNextWithRemainingCount();
+        };
+    }
+}
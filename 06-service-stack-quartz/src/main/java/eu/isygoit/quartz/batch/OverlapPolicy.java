@@ -0,0 +1,18 @@
+package eu.isygoit.quartz.batch;
+
+/**
+ * The enum Overlap policy, what a batch job does when it fires while partitions of its previous run are still
+ * scheduled or executing anywhere in the cluster.
+ */
+public enum OverlapPolicy {
+
+    /**
+     * The firing is dropped, the next one starts a new run.
+     */
+    SKIP,
+
+    /**
+     * The firing is postponed once by the defer delay of the job; further firings are dropped while it is pending.
+     */
+    DEFER
+}
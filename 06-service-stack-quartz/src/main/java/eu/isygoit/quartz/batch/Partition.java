@@ -0,0 +1,23 @@
+package eu.isygoit.quartz.batch;
+
+/**
+ * The type Partition, one slice of the key range of a batch job run, executed by a single trigger on any node of
+ * the cluster.
+ *
+ * @param index the partition index
+ * @param count the number of partitions of the run
+ * @param from  the first key, inclusive
+ * @param to    the last key, exclusive
+ */
+public record Partition(int index, int count, long from, long to) {
+
+    /**
+     * Contains boolean.
+     *
+     * @param key the key
+     * @return the boolean
+     */
+    public boolean contains(long key) {
+        return key >= from && key < to;
+    }
+}
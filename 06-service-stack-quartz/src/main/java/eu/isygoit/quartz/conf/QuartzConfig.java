@@ -1,8 +1,20 @@
 package eu.isygoit.quartz.conf;
 
+import eu.isygoit.quartz.batch.CheckpointRepository;
+import eu.isygoit.quartz.batch.InMemoryCheckpointRepository;
+import eu.isygoit.quartz.batch.JdbcCheckpointRepository;
+import eu.isygoit.quartz.executor.JobThrottle;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * The type Quartz config.
  */
@@ -19,4 +31,52 @@ public class QuartzConfig {
     public QuartzConfig(QuartzProperties quartzProperties) {
         this.quartzProperties = quartzProperties;
     }
+
+    /**
+     * Batch checkpoint repository. With a JDBC job store, or when {@code spring.quartz.batch.checkpoint-store=jdbc},
+     * the checkpoints are stored in the data source shared with the job store, in a table created when absent;
+     * otherwise they are kept in memory.
+     *
+     * @param dataSource   the data source
+     * @param jobStoreType the job store type
+     * @return the checkpoint repository
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public CheckpointRepository batchCheckpointRepository(ObjectProvider<DataSource> dataSource,
+                                                          @Value("${spring.quartz.job-store-type:memory}") String jobStoreType) {
+        QuartzProperties.Batch batch = quartzProperties.getBatch();
+        boolean jdbc = switch (batch.getCheckpointStore()) {
+            case JDBC -> true;
+            case MEMORY -> false;
+            case AUTO -> "jdbc".equalsIgnoreCase(jobStoreType);
+        };
+        if (!jdbc) {
+            return new InMemoryCheckpointRepository();
+        }
+        DataSource source = dataSource.getIfUnique();
+        if (source == null) {
+            throw new IllegalStateException("Batch checkpoints are stored in the database but no single DataSource is available");
+        }
+        JdbcCheckpointRepository repository = new JdbcCheckpointRepository(source, batch.getCheckpointTable());
+        if (batch.isInitializeSchema()) {
+            repository.initializeSchema();
+        }
+        return repository;
+    }
+
+    /**
+     * Job throttle applying the group limits, per JVM, to the jobs extending AbstractQuartzJob.
+     *
+     * @return the job throttle
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public JobThrottle jobThrottle() {
+        QuartzProperties.Throttle throttle = quartzProperties.getThrottle();
+        Map<String, JobThrottle.GroupLimit> limits = new HashMap<>();
+        throttle.getGroups().forEach((group, limit) ->
+                limits.put(group, new JobThrottle.GroupLimit(limit.getMaxConcurrent(), limit.getPermitsPerSecond())));
+        return new JobThrottle(throttle.getTenantKey(), limits, throttle.getRetryDelay(), throttle.getMaxRetryDelay());
+    }
 }
@@ -1,8 +1,15 @@
 package eu.isygoit.quartz.conf;
 
+import eu.isygoit.quartz.batch.JdbcCheckpointRepository;
+import eu.isygoit.quartz.executor.JobThrottle;
 import lombok.Getter;
+import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * The type Quartz properties.
  */
@@ -10,4 +17,99 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "spring.quartz")
 public class QuartzProperties {
 
+    private final Batch batch = new Batch();
+
+    private final Throttle throttle = new Throttle();
+
+    /**
+     * The type Batch properties.
+     */
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /**
+         * Where the batch checkpoints are stored; by default in the database only with a JDBC job store
+         * ({@code spring.quartz.job-store-type=jdbc}).
+         */
+        private CheckpointStore checkpointStore = CheckpointStore.AUTO;
+
+        /**
+         * The table of the batch checkpoints, used when they are stored in the database.
+         */
+        private String checkpointTable = JdbcCheckpointRepository.DEFAULT_TABLE;
+
+        /**
+         * Whether the checkpoint table is created at startup when it does not exist.
+         */
+        private boolean initializeSchema = true;
+    }
+
+    /**
+     * The enum Checkpoint store.
+     */
+    public enum CheckpointStore {
+        /**
+         * In the database with a JDBC job store, in memory otherwise.
+         */
+        AUTO,
+        /**
+         * In the database, which requires a single data source.
+         */
+        JDBC,
+        /**
+         * In memory, lost on restart and not shared between the nodes.
+         */
+        MEMORY
+    }
+
+    /**
+     * The type Throttle properties.
+     * <p>
+     * The limits are enforced per JVM and every denied firing stores a one-shot trigger, so throttling is meant for RAM
+     * or non-clustered job stores: with a clustered JDBC store, the deferred trigger may fire on another node.
+     */
+    @Getter
+    @Setter
+    public static class Throttle {
+
+        /**
+         * The job data key holding the tenant of a job, used to share the group slots fairly between tenants.
+         */
+        private String tenantKey = JobThrottle.DEFAULT_TENANT_KEY;
+
+        /**
+         * The delay before a job denied a slot of its group is fired again.
+         */
+        private Duration retryDelay = JobThrottle.DEFAULT_RETRY_DELAY;
+
+        /**
+         * The longest delay before a job denied repeatedly is fired again, the retry delay doubling at each denial.
+         * Defaults to the larger of the retry delay and {@link JobThrottle#DEFAULT_MAX_RETRY_DELAY}.
+         */
+        private Duration maxRetryDelay;
+
+        /**
+         * The limits by job group, e.g. {@code spring.quartz.throttle.groups.storage-cleanup.max-concurrent=2}.
+         */
+        private Map<String, Group> groups = new HashMap<>();
+    }
+
+    /**
+     * The type Group throttle properties.
+     */
+    @Getter
+    @Setter
+    public static class Group {
+
+        /**
+         * The maximum number of jobs of the group running at once.
+         */
+        private Integer maxConcurrent;
+
+        /**
+         * The maximum number of jobs of the group started per second.
+         */
+        private Double permitsPerSecond;
+    }
 }
@@ -0,0 +1,204 @@
+package eu.isygoit.quartz.executor;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.SchedulerConfigException;
+import org.quartz.spi.ThreadPool;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The type Elastic thread pool, a Quartz thread pool starting one thread per job execution instead of a small fixed
+ * set of workers, so that long I/O-bound jobs do not delay unrelated triggers.
+ * <p>
+ * With the {@link ThreadMode#VIRTUAL} mode, the default, jobs run on virtual threads when the runtime provides them
+ * (Java 21 and later) and on new platform threads otherwise. The number of jobs running at once is capped by
+ * {@code maxThreads}: the scheduler waits for a free slot before acquiring more triggers, as with the fixed pool.
+ * <p>
+ * Enabled through the Quartz properties:
+ * <pre>
+ * spring.quartz.properties.org.quartz.threadPool.class=eu.isygoit.quartz.executor.ElasticThreadPool
+ * spring.quartz.properties.org.quartz.threadPool.maxThreads=2000
+ * spring.quartz.properties.org.quartz.threadPool.threadMode=VIRTUAL
+ * </pre>
+ */
+@Slf4j
+public class ElasticThreadPool implements ThreadPool {
+
+    /**
+     * The constant DEFAULT_MAX_THREADS.
+     */
+    public static final int DEFAULT_MAX_THREADS = 1000;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotReleased = lock.newCondition();
+    private final AtomicLong threadNumber = new AtomicLong();
+
+    @Getter
+    @Setter
+    private int maxThreads = DEFAULT_MAX_THREADS;
+
+    // No getter: the Quartz properties are applied as java beans, the setter takes the mode name
+    private ThreadMode threadMode = ThreadMode.VIRTUAL;
+
+    @Setter
+    private String instanceId;
+
+    @Setter
+    private String instanceName = "quartz";
+
+    private ThreadFactory threadFactory;
+    private int running;
+    private boolean shutdown;
+
+    /**
+     * Sets thread mode, from the Quartz properties.
+     *
+     * @param threadMode the thread mode name
+     */
+    public void setThreadMode(String threadMode) {
+        this.threadMode = ThreadMode.valueOf(threadMode.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Sets thread count. Accepted for compatibility with the fixed pool settings applied by default by Spring, the
+     * limit of this pool is {@code maxThreads}.
+     *
+     * @param threadCount the thread count
+     */
+    public void setThreadCount(int threadCount) {
+        log.debug("Quartz threadCount {} ignored by the elastic thread pool, maxThreads is {}", threadCount, maxThreads);
+    }
+
+    @Override
+    public void initialize() throws SchedulerConfigException {
+        if (maxThreads <= 0) {
+            throw new SchedulerConfigException("Elastic thread pool maxThreads must be positive: " + maxThreads);
+        }
+        ThreadFactory virtual = threadMode == ThreadMode.VIRTUAL ? VirtualThreads.factory(instanceName + "-job-") : null;
+        if (virtual != null) {
+            threadFactory = virtual;
+        } else {
+            if (threadMode == ThreadMode.VIRTUAL) {
+                log.warn("Virtual threads are not available on this runtime, Quartz jobs run on platform threads");
+            }
+            threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, instanceName + "-job-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        log.info("Quartz elastic thread pool initialized: mode {}, {} virtual threads, up to {} jobs at once",
+                threadMode, virtual != null ? "with" : "without", maxThreads);
+    }
+
+    @Override
+    public boolean runInThread(Runnable runnable) {
+        if (runnable == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            while (running >= maxThreads && !shutdown) {
+                slotReleased.awaitUninterruptibly();
+            }
+            if (shutdown) {
+                return false;
+            }
+            running++;
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            threadFactory.newThread(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    release();
+                }
+            }).start();
+            return true;
+        } catch (RuntimeException | Error e) {
+            release();
+            throw e;
+        }
+    }
+
+    @Override
+    public int blockForAvailableThreads() {
+        lock.lock();
+        try {
+            while (running >= maxThreads && !shutdown) {
+                slotReleased.awaitUninterruptibly();
+            }
+            return shutdown ? 0 : maxThreads - running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void shutdown(boolean waitForJobsToComplete) {
+        lock.lock();
+        try {
+            shutdown = true;
+            slotReleased.signalAll();
+            if (waitForJobsToComplete) {
+                while (running > 0) {
+                    slotReleased.awaitUninterruptibly();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getPoolSize() {
+        return maxThreads;
+    }
+
+    /**
+     * Gets the number of jobs running.
+     *
+     * @return the int
+     */
+    public int getRunning() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            running--;
+            slotReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The enum Thread mode.
+     */
+    public enum ThreadMode {
+        /**
+         * A new platform thread per job.
+         */
+        PLATFORM,
+        /**
+         * A virtual thread per job when available, a new platform thread otherwise.
+         */
+        VIRTUAL
+    }
+}
@@ -0,0 +1,308 @@
+package eu.isygoit.quartz.executor;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The type Job throttle, limiting the jobs of a Quartz group that run at once and the rate at which they start.
+ * <p>
+ * The throttle never blocks the calling worker thread: a job without a free slot gets a denied {@link Permit} with the
+ * delay after which to fire it again. Tenants with denied jobs take turns: a freed slot is kept for the tenant that has
+ * been waiting the longest, so a tenant with a large backlog gets one slot out of every N rounds and cannot starve the
+ * others. A job denied again and again is asked to come back later each time, doubling the retry delay up to
+ * {@code maxRetryDelay}; a tenant that does not come back within {@code 2 × retryDelay} of the delay it was given loses
+ * its turn. Groups without a limit are not throttled.
+ * <p>
+ * The limits and the turns are held per JVM, so the throttle is meant for RAM or non-clustered job stores. With a
+ * clustered job store, every node enforces the limits for the jobs it executes, a group may run up to
+ * {@code maxConcurrent} jobs on each node, and a deferred job may fire on a node that does not know its turn.
+ */
+@Slf4j
+public class JobThrottle {
+
+    /**
+     * The constant DEFAULT_TENANT_KEY.
+     */
+    public static final String DEFAULT_TENANT_KEY = "tenant";
+
+    /**
+     * The constant DEFAULT_RETRY_DELAY.
+     */
+    public static final Duration DEFAULT_RETRY_DELAY = Duration.ofSeconds(1);
+
+    /**
+     * The constant DEFAULT_MAX_RETRY_DELAY.
+     */
+    public static final Duration DEFAULT_MAX_RETRY_DELAY = Duration.ofSeconds(30);
+
+    private static final Permit UNTHROTTLED = new Permit(null, true, Duration.ZERO);
+
+    @Getter
+    private final String tenantKey;
+    private final Map<String, GroupThrottle> groups;
+
+    /**
+     * Instantiates a new Job throttle.
+     *
+     * @param tenantKey the job data key holding the tenant of a job
+     * @param limits    the limits by job group
+     */
+    public JobThrottle(String tenantKey, Map<String, GroupLimit> limits) {
+        this(tenantKey, limits, DEFAULT_RETRY_DELAY);
+    }
+
+    /**
+     * Instantiates a new Job throttle.
+     *
+     * @param tenantKey  the job data key holding the tenant of a job
+     * @param limits     the limits by job group
+     * @param retryDelay the delay before a job denied a slot of its group fires again
+     */
+    public JobThrottle(String tenantKey, Map<String, GroupLimit> limits, Duration retryDelay) {
+        this(tenantKey, limits, retryDelay, null);
+    }
+
+    /**
+     * Instantiates a new Job throttle.
+     *
+     * @param tenantKey     the job data key holding the tenant of a job
+     * @param limits        the limits by job group
+     * @param retryDelay    the delay before a job denied a slot of its group fires again
+     * @param maxRetryDelay the longest delay given to a job denied repeatedly, null for the larger of the retry delay
+     *                      and {@link #DEFAULT_MAX_RETRY_DELAY}
+     */
+    public JobThrottle(String tenantKey, Map<String, GroupLimit> limits, Duration retryDelay, Duration maxRetryDelay) {
+        this.tenantKey = Objects.requireNonNullElse(tenantKey, DEFAULT_TENANT_KEY);
+        Duration delay = Objects.requireNonNullElse(retryDelay, DEFAULT_RETRY_DELAY);
+        if (delay.isNegative() || delay.isZero()) {
+            throw new IllegalArgumentException("Throttle retry delay must be positive: " + delay);
+        }
+        Duration maxDelay = maxRetryDelay != null
+                ? maxRetryDelay
+                : (delay.compareTo(DEFAULT_MAX_RETRY_DELAY) > 0 ? delay : DEFAULT_MAX_RETRY_DELAY);
+        if (maxDelay.compareTo(delay) < 0) {
+            throw new IllegalArgumentException("Throttle max retry delay must not be below the retry delay: " + maxDelay);
+        }
+        Map<String, GroupThrottle> throttles = new HashMap<>();
+        limits.forEach((group, limit) -> throttles.put(group, new GroupThrottle(group, limit, delay, maxDelay)));
+        this.groups = Map.copyOf(throttles);
+    }
+
+    /**
+     * Try to take a slot of the group of a job, without waiting.
+     *
+     * @param group  the job group
+     * @param tenant the tenant of the job, null when none
+     * @return the permit, to be closed once the job body has run when granted
+     */
+    public Permit tryAcquire(String group, String tenant) {
+        return tryAcquire(group, tenant, 0);
+    }
+
+    /**
+     * Try to take a slot of the group of a job, without waiting.
+     *
+     * @param group     the job group
+     * @param tenant    the tenant of the job, null when none
+     * @param deferrals the number of times this firing of the job was already denied a slot
+     * @return the permit, to be closed once the job body has run when granted
+     */
+    public Permit tryAcquire(String group, String tenant, int deferrals) {
+        GroupThrottle throttle = group != null ? groups.get(group) : null;
+        if (throttle == null) {
+            return UNTHROTTLED;
+        }
+        return throttle.tryAcquire(tenant != null ? tenant : "", Math.max(0, deferrals), System.nanoTime());
+    }
+
+    /**
+     * Gets the number of tenants of a group waiting for their turn.
+     *
+     * @param group the group
+     * @return the int
+     */
+    public int getWaitingTenants(String group) {
+        GroupThrottle throttle = groups.get(group);
+        return throttle == null ? 0 : throttle.waitingTenants(System.nanoTime());
+    }
+
+    /**
+     * Gets the number of running jobs of a group.
+     *
+     * @param group the group
+     * @return the int
+     */
+    public int getRunning(String group) {
+        GroupThrottle throttle = groups.get(group);
+        return throttle == null ? 0 : throttle.running();
+    }
+
+    /**
+     * The type Group limit.
+     *
+     * @param maxConcurrent    the maximum number of jobs of the group running at once, null for no limit
+     * @param permitsPerSecond the maximum number of jobs of the group started per second, null for no limit
+     */
+    public record GroupLimit(Integer maxConcurrent, Double permitsPerSecond) {
+
+        /**
+         * Instantiates a new Group limit.
+         *
+         * @param maxConcurrent    the max concurrent
+         * @param permitsPerSecond the permits per second
+         */
+        public GroupLimit {
+            if (maxConcurrent != null && maxConcurrent <= 0) {
+                throw new IllegalArgumentException("Group max concurrent jobs must be positive: " + maxConcurrent);
+            }
+            if (permitsPerSecond != null && permitsPerSecond <= 0) {
+                throw new IllegalArgumentException("Group permits per second must be positive: " + permitsPerSecond);
+            }
+        }
+    }
+
+    /**
+     * The type Permit, a slot of a group granted to a job or the delay after which to ask again.
+     */
+    public static final class Permit implements AutoCloseable {
+
+        private final GroupThrottle throttle;
+        @Getter
+        private final boolean granted;
+        @Getter
+        private final Duration retryDelay;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(GroupThrottle throttle, boolean granted, Duration retryDelay) {
+            this.throttle = throttle;
+            this.granted = granted;
+            this.retryDelay = retryDelay;
+        }
+
+        /**
+         * Release the slot, once the job body has run.
+         */
+        @Override
+        public void close() {
+            if (granted && throttle != null && released.compareAndSet(false, true)) {
+                throttle.release();
+            }
+        }
+    }
+
+    private static final class GroupThrottle {
+
+        private final String group;
+        private final int maxConcurrent;
+        private final long intervalNanos;
+        private final Duration retryDelay;
+        private final Duration maxRetryDelay;
+        private final long turnTimeoutNanos;
+        private final ReentrantLock lock = new ReentrantLock();
+        // Tenants with denied jobs in the order of their turn, with the time their last denied job is due back
+        private final LinkedHashMap<String, Long> waiting = new LinkedHashMap<>();
+        private int running;
+        private long nextStart;
+
+        private GroupThrottle(String group, GroupLimit limit, Duration retryDelay, Duration maxRetryDelay) {
+            this.group = group;
+            this.maxConcurrent = limit.maxConcurrent() != null ? limit.maxConcurrent() : Integer.MAX_VALUE;
+            this.intervalNanos = limit.permitsPerSecond() != null
+                    ? (long) (TimeUnit.SECONDS.toNanos(1) / limit.permitsPerSecond())
+                    : 0;
+            this.retryDelay = retryDelay;
+            this.maxRetryDelay = maxRetryDelay;
+            this.turnTimeoutNanos = retryDelay.toNanos() * 2;
+            this.nextStart = System.nanoTime();
+        }
+
+        private Permit tryAcquire(String tenant, int deferrals, long now) {
+            lock.lock();
+            try {
+                expireTurns(now);
+                // The free slots are kept for the first tenants in turn
+                int free = maxConcurrent - running;
+                if (free <= 0 || turn(tenant) >= free) {
+                    return deny(tenant, now, backOff(deferrals));
+                }
+                if (now < nextStart) {
+                    Duration delay = Duration.ofMillis(Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextStart - now)));
+                    log.debug("Job of group {} delayed {} by its rate limit", group, delay);
+                    return deny(tenant, now, delay);
+                }
+                if (intervalNanos > 0) {
+                    nextStart = Math.max(nextStart, now) + intervalNanos;
+                }
+                running++;
+                waiting.remove(tenant);
+                return new Permit(this, true, Duration.ZERO);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int turn(String tenant) {
+            int index = 0;
+            for (String key : waiting.keySet()) {
+                if (key.equals(tenant)) {
+                    return index;
+                }
+                index++;
+            }
+            return index;
+        }
+
+        private Duration backOff(int deferrals) {
+            // Doubles the delay for each deferral, without overflowing past the maximum
+            Duration delay = retryDelay;
+            for (int i = 0; i < deferrals && delay.compareTo(maxRetryDelay) < 0; i++) {
+                delay = delay.multipliedBy(2);
+            }
+            return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+        }
+
+        private Permit deny(String tenant, long now, Duration delay) {
+            // A tenant keeps its place in turn while it keeps coming back when asked to
+            waiting.merge(tenant, now + delay.toNanos(), Math::max);
+            return new Permit(this, false, delay);
+        }
+
+        private void expireTurns(long now) {
+            waiting.values().removeIf(dueBack -> now - dueBack > turnTimeoutNanos);
+        }
+
+        private void release() {
+            lock.lock();
+            try {
+                running--;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int waitingTenants(long now) {
+            lock.lock();
+            try {
+                expireTurns(now);
+                return waiting.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int running() {
+            lock.lock();
+            try {
+                return running;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package eu.isygoit.quartz.executor;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The type Virtual threads. The module is compiled for Java 17, virtual threads are looked up at runtime.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Virtual thread factory.
+     *
+     * @param prefix the thread name prefix
+     * @return the thread factory, null when the runtime has no virtual threads
+     */
+    static ThreadFactory factory(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -1,18 +1,78 @@
 package eu.isygoit.quartz.service;
 
-import org.quartz.JobExecutionContext;
-import org.quartz.JobExecutionException;
+import eu.isygoit.quartz.executor.JobThrottle;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.*;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.quartz.QuartzJobBean;
 
+import java.time.Duration;
+import java.util.Date;
+
 /**
  * The type Abstract quartz job.
+ * <p>
+ * When a {@link JobThrottle} bean is available, the job body runs within the concurrency and rate limits of its
+ * group. A job denied a slot does not hold its worker thread: it returns at once and is fired again, with the data of
+ * its trigger, by a one-shot trigger after the delay of the throttle, which also keeps its turn among the tenants.
+ * The one-shot trigger counts the deferrals of the firing under {@value #THROTTLE_DEFERRALS_KEY}, so that the delay
+ * grows while the group stays busy instead of storing a new trigger every retry delay. Each deferral is a trigger
+ * written to the job store: throttling is meant for RAM or non-clustered job stores, see {@link JobThrottle}.
  */
+@Slf4j
 public abstract class AbstractQuartzJob extends QuartzJobBean implements QuartzJob {
 
+    /**
+     * The constant THROTTLE_DEFERRALS_KEY.
+     */
+    public static final String THROTTLE_DEFERRALS_KEY = "throttle.deferrals";
+
+    @Setter
+    @Autowired(required = false)
+    private JobThrottle jobThrottle;
+
     @Override
     protected void executeInternal(JobExecutionContext jobExecutionContext) throws JobExecutionException {
-        if (this.getJobService() != null) {
-            this.getJobService().process(jobExecutionContext);
+        JobService jobService = this.getJobService();
+        if (jobService == null) {
+            return;
+        }
+        if (jobThrottle == null) {
+            jobService.process(jobExecutionContext);
+            return;
+        }
+        JobKey jobKey = jobExecutionContext.getJobDetail().getKey();
+        JobDataMap triggerData = jobExecutionContext.getTrigger().getJobDataMap();
+        int deferrals = triggerData.containsKey(THROTTLE_DEFERRALS_KEY)
+                ? triggerData.getIntValue(THROTTLE_DEFERRALS_KEY)
+                : 0;
+        JobThrottle.Permit permit = jobThrottle.tryAcquire(jobKey.getGroup(),
+                jobExecutionContext.getMergedJobDataMap().getString(jobThrottle.getTenantKey()), deferrals);
+        if (!permit.isGranted()) {
+            defer(jobExecutionContext, permit.getRetryDelay(), deferrals + 1);
+            return;
+        }
+        try (permit) {
+            jobService.process(jobExecutionContext);
+        }
+    }
+
+    private void defer(JobExecutionContext jobExecutionContext, Duration delay, int deferrals)
+            throws JobExecutionException {
+        Trigger trigger = jobExecutionContext.getTrigger();
+        try {
+            jobExecutionContext.getScheduler().scheduleJob(TriggerBuilder.newTrigger()
+                    .forJob(jobExecutionContext.getJobDetail().getKey())
+                    .usingJobData(trigger.getJobDataMap())
+                    .usingJobData(THROTTLE_DEFERRALS_KEY, deferrals)
+                    .withPriority(trigger.getPriority())
+                    .startAt(new Date(System.currentTimeMillis() + delay.toMillis()))
+                    .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                    .build());
+        } catch (SchedulerException e) {
+            throw new JobExecutionException("Job throttled and could not be deferred", e, false);
         }
+        log.debug("Job {} throttled {} times, fired again in {}", jobExecutionContext.getJobDetail().getKey(), deferrals, delay);
     }
 }
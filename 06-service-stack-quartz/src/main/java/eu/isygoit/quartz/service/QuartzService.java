@@ -1,5 +1,6 @@
 package eu.isygoit.quartz.service;
 
+import eu.isygoit.quartz.batch.MisfirePolicy;
 import eu.isygoit.quartz.types.SingleJobData;
 import org.quartz.*;
 
@@ -34,6 +35,21 @@ public interface QuartzService {
      */
     CronScheduleBuilder createCronScheduleBuilder(JobDetail jobDetail, String identity, String group, String cron);
 
+    /**
+     * Create cron schedule builder cron schedule builder.
+     *
+     * @param jobDetail     the job detail
+     * @param identity      the identity
+     * @param group         the group
+     * @param cron          the cron
+     * @param misfirePolicy the misfire policy
+     * @return the cron schedule builder
+     */
+    default CronScheduleBuilder createCronScheduleBuilder(JobDetail jobDetail, String identity, String group, String cron,
+                                                          MisfirePolicy misfirePolicy) {
+        return misfirePolicy.apply(createCronScheduleBuilder(jobDetail, identity, group, cron));
+    }
+
     /**
      * Create job detail job detail.
      *
@@ -0,0 +1,172 @@
+package eu.isygoit.quartz.batch;
+
+import eu.isygoit.quartz.service.AbstractQuartzJob;
+import eu.isygoit.quartz.service.JobService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.*;
+import org.quartz.impl.StdSchedulerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AbstractBatchJobService: partitioned chunk execution on a RAM job store, checkpoint based retry and
+ * key range splitting.
+ */
+class AbstractBatchJobServiceTest {
+
+    private static final JobKey JOB_KEY = JobKey.jobKey("nightly", "batch");
+
+    private static volatile JobService service;
+
+    private Scheduler scheduler;
+    private SimpleMeterRegistry meterRegistry;
+    private ListBatchService batchService;
+
+    @BeforeEach
+    void setup() throws SchedulerException {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "batch-test-" + UUID.randomUUID());
+        properties.setProperty("org.quartz.threadPool.threadCount", "4");
+        properties.setProperty("org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore");
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+        scheduler.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        batchService = new ListBatchService();
+        batchService.setMeterRegistry(meterRegistry);
+        service = batchService;
+        scheduler.addJob(JobBuilder.newJob(TestBatchJob.class).withIdentity(JOB_KEY).storeDurably().build(), false);
+    }
+
+    @AfterEach
+    void tearDown() throws SchedulerException {
+        scheduler.shutdown(true);
+    }
+
+    @Test
+    void run_shouldWriteEveryKeyOnceAcrossPartitions() throws Exception {
+        scheduler.triggerJob(JOB_KEY);
+
+        awaitCompletion();
+
+        assertEquals(1000, batchService.written.size());
+        assertEquals(0, batchService.duplicates.get());
+        List<BatchCheckpoint> checkpoints = batchService.getCheckpoints(JOB_KEY);
+        assertEquals(4, checkpoints.size());
+        assertEquals(1000, checkpoints.stream().mapToLong(BatchCheckpoint::itemCount).sum());
+        assertEquals(1000, meterRegistry.get(BatchJobMetrics.ITEMS).counter().count());
+        assertEquals(4, meterRegistry.get(BatchJobMetrics.DURATION).tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void run_shouldResumeFailedPartitionFromCheckpoint() throws Exception {
+        batchService.failingKey = 420L;
+        batchService.failures.set(2);
+
+        scheduler.triggerJob(JOB_KEY);
+
+        awaitCompletion();
+
+        assertEquals(1000, batchService.written.size());
+        assertEquals(0, batchService.duplicates.get(), "Committed chunks are not written again");
+        assertEquals(2, meterRegistry.get(BatchJobMetrics.DURATION).tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    void split_shouldCoverRangeWithContiguousPartitions() {
+        List<Partition> partitions = KeyRange.closed(1, 10).split(3);
+
+        assertEquals(List.of(new Partition(0, 3, 1, 5), new Partition(1, 3, 5, 8), new Partition(2, 3, 8, 11)),
+                partitions);
+        assertEquals(2, new KeyRange(0, 2).split(8).size(), "No more partitions than keys");
+        assertEquals(1, new KeyRange(5, 5).split(4).size(), "An empty range still gives one partition");
+        assertThrows(IllegalArgumentException.class, () -> new KeyRange(5, 4));
+    }
+
+    private void awaitCompletion() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+        while (System.nanoTime() < deadline) {
+            List<BatchCheckpoint> checkpoints = batchService.getCheckpoints(JOB_KEY);
+            if (checkpoints.size() == 4 && checkpoints.stream().allMatch(BatchCheckpoint::completed)) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("Batch job did not complete: " + batchService.getCheckpoints(JOB_KEY));
+    }
+
+    /**
+     * The job class, as declared by applications, delegating to the service under test.
+     */
+    public static class TestBatchJob extends AbstractQuartzJob {
+
+        @Override
+        public JobService getJobService() {
+            return service;
+        }
+    }
+
+    private static class ListBatchService extends AbstractBatchJobService<Long> {
+
+        private final Set<Long> written = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger duplicates = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile Long failingKey;
+
+        @Override
+        public KeyRange getKeyRange(JobExecutionContext context) {
+            return KeyRange.closed(1, 1000);
+        }
+
+        @Override
+        public ChunkReader<Long> getReader() {
+            return new ChunkReader<>() {
+                @Override
+                public List<Long> read(Partition partition, Long afterKey, int limit) {
+                    long from = afterKey == null ? partition.from() : afterKey + 1;
+                    return LongStream.range(from, partition.to()).limit(limit).boxed().toList();
+                }
+
+                @Override
+                public long keyOf(Long item) {
+                    return item;
+                }
+            };
+        }
+
+        @Override
+        public ChunkWriter<Long> getWriter() {
+            return items -> {
+                if (failingKey != null && items.contains(failingKey) && failures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("Write failed");
+                }
+                items.forEach(key -> {
+                    if (!written.add(key)) {
+                        duplicates.incrementAndGet();
+                    }
+                });
+            };
+        }
+
+        @Override
+        public BatchJobOptions getOptions() {
+            return BatchJobOptions.builder()
+                    .chunkSize(50)
+                    .partitions(4)
+                    .retryDelay(Duration.ZERO)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package eu.isygoit.quartz.batch;
+
+import eu.isygoit.quartz.conf.QuartzConfig;
+import eu.isygoit.quartz.conf.QuartzProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JdbcCheckpointRepository: concurrent first saves, table creation, and the choice of the checkpoint
+ * store by the Quartz configuration.
+ */
+class JdbcCheckpointRepositoryTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final JdbcCheckpointRepository repository = new JdbcCheckpointRepository(jdbcTemplate, "QRTZ_BATCH_CHECKPOINT");
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<DataSource> dataSource(DataSource dataSource) {
+        ObjectProvider<DataSource> provider = mock(ObjectProvider.class);
+        when(provider.getIfUnique()).thenReturn(dataSource);
+        return provider;
+    }
+
+    @Test
+    void save_shouldUpdateWhenTheRowWasInsertedConcurrently() {
+        BatchCheckpoint checkpoint = new BatchCheckpoint("batch.nightly", 2, 100L, 50, false);
+        when(jdbcTemplate.update(startsWith("UPDATE"), any(Object[].class))).thenReturn(0, 1);
+        when(jdbcTemplate.update(startsWith("INSERT"), any(Object[].class))).thenThrow(new DuplicateKeyException("PK"));
+
+        repository.save(checkpoint);
+
+        verify(jdbcTemplate, times(2)).update(startsWith("UPDATE"), any(Object[].class));
+        verify(jdbcTemplate).update(startsWith("INSERT"), any(Object[].class));
+    }
+
+    @Test
+    void initializeSchema_shouldCreateTheMissingTable() {
+        when(jdbcTemplate.queryForList(anyString()))
+                .thenThrow(new BadSqlGrammarException("probe", "SELECT", new SQLException("Table not found")));
+
+        repository.initializeSchema();
+
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE QRTZ_BATCH_CHECKPOINT"));
+    }
+
+    @Test
+    void initializeSchema_shouldKeepAnExistingTable() {
+        repository.initializeSchema();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void batchCheckpointRepository_shouldFollowTheJobStoreType() {
+        QuartzProperties properties = new QuartzProperties();
+        properties.getBatch().setInitializeSchema(false);
+        QuartzConfig config = new QuartzConfig(properties);
+        ObjectProvider<DataSource> dataSource = dataSource(mock(DataSource.class));
+
+        assertInstanceOf(InMemoryCheckpointRepository.class, config.batchCheckpointRepository(dataSource, "memory"));
+        assertInstanceOf(JdbcCheckpointRepository.class, config.batchCheckpointRepository(dataSource, "jdbc"));
+
+        properties.getBatch().setCheckpointStore(QuartzProperties.CheckpointStore.MEMORY);
+        assertInstanceOf(InMemoryCheckpointRepository.class, config.batchCheckpointRepository(dataSource, "jdbc"));
+
+        properties.getBatch().setCheckpointStore(QuartzProperties.CheckpointStore.JDBC);
+        assertThrows(IllegalStateException.class, () -> config.batchCheckpointRepository(dataSource(null), "memory"));
+    }
+}
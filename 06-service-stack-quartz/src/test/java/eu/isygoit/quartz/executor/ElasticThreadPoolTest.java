@@ -0,0 +1,107 @@
+package eu.isygoit.quartz.executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.quartz.*;
+import org.quartz.impl.StdSchedulerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Trigger latency of 500 concurrent I/O-bound jobs on a RAM job store, with the elastic thread pool and with the
+ * default fixed pool of 10 threads. Timing based: the bounds only separate the two pools, whose latencies differ by
+ * seconds, so that a loaded build machine does not fail them. Excluded from the default build, run with -Pperformance.
+ */
+@Tag("performance")
+class ElasticThreadPoolTest {
+
+    private static final int JOBS = 500;
+    private static final long IO_MILLIS = 100;
+
+    private static final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+    private static volatile CountDownLatch done;
+
+    private Scheduler scheduler;
+
+    @AfterEach
+    void tearDown() throws SchedulerException {
+        if (scheduler != null) {
+            scheduler.shutdown(true);
+        }
+        latencies.clear();
+    }
+
+    @Test
+    void elasticPool_shouldStartConcurrentJobsOnTime() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.threadPool.class", ElasticThreadPool.class.getName());
+        properties.setProperty("org.quartz.threadPool.maxThreads", "1000");
+        properties.setProperty("org.quartz.threadPool.threadMode", "VIRTUAL");
+
+        List<Long> sorted = runJobs(properties);
+
+        long p99 = sorted.get(JOBS * 99 / 100 - 1);
+        // The fixed pool starts the last jobs about 5 s late
+        assertTrue(p99 < 2000, "p99 trigger latency should stay under 2 s, was " + p99 + " ms");
+    }
+
+    @Test
+    void fixedPool_shouldDelayJobsBehindBusyWorkers() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.threadPool.class", "org.quartz.simpl.SimpleThreadPool");
+        properties.setProperty("org.quartz.threadPool.threadCount", "10");
+
+        List<Long> sorted = runJobs(properties);
+
+        long max = sorted.get(JOBS - 1);
+        // 500 jobs of 100 ms on 10 threads: the last ones start about 5 s late
+        assertTrue(max > 2000, "The fixed pool should queue jobs behind busy workers, max latency was " + max + " ms");
+    }
+
+    private List<Long> runJobs(Properties properties) throws Exception {
+        properties.setProperty("org.quartz.scheduler.instanceName", "latency-test-" + UUID.randomUUID());
+        properties.setProperty("org.quartz.scheduler.batchTriggerAcquisitionMaxCount", "100");
+        properties.setProperty("org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore");
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+        done = new CountDownLatch(JOBS);
+
+        Date startAt = new Date(System.currentTimeMillis() + 1000);
+        Map<JobDetail, Set<? extends Trigger>> jobs = new HashMap<>();
+        for (int i = 0; i < JOBS; i++) {
+            JobDetail job = JobBuilder.newJob(IoBoundJob.class).withIdentity("io-" + i, "io").build();
+            jobs.put(job, Set.of(TriggerBuilder.newTrigger().withIdentity("io-" + i, "io").startAt(startAt).build()));
+        }
+        scheduler.scheduleJobs(jobs, false);
+        scheduler.start();
+
+        assertTrue(done.await(30, TimeUnit.SECONDS), "Every job should complete");
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        assertEquals(JOBS, sorted.size());
+        return sorted;
+    }
+
+    /**
+     * A job waiting on I/O, recording how late it started.
+     */
+    public static class IoBoundJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+            latencies.add(System.currentTimeMillis() - context.getScheduledFireTime().getTime());
+            try {
+                Thread.sleep(IO_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package eu.isygoit.quartz.executor;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JobThrottle: group concurrency limits, rate limits and tenant turns, without blocking the caller.
+ */
+class JobThrottleTest {
+
+    private static final String CLEANUP = "storage-cleanup";
+
+    @Test
+    void tryAcquire_shouldLimitConcurrentJobsOfGroup() {
+        JobThrottle throttle = new JobThrottle(null, Map.of(CLEANUP, new JobThrottle.GroupLimit(3, null)));
+
+        List<JobThrottle.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            permits.add(throttle.tryAcquire(CLEANUP, "tenant-" + i));
+        }
+        JobThrottle.Permit denied = throttle.tryAcquire(CLEANUP, "tenant-3");
+
+        assertTrue(permits.stream().allMatch(JobThrottle.Permit::isGranted));
+        assertFalse(denied.isGranted());
+        assertEquals(JobThrottle.DEFAULT_RETRY_DELAY, denied.getRetryDelay());
+        assertEquals(3, throttle.getRunning(CLEANUP));
+
+        permits.get(0).close();
+        permits.get(0).close();
+        assertEquals(2, throttle.getRunning(CLEANUP), "A permit is released once");
+        denied.close();
+        assertEquals(2, throttle.getRunning(CLEANUP), "A denied permit holds no slot");
+        assertTrue(throttle.tryAcquire(CLEANUP, "tenant-3").isGranted());
+    }
+
+    @Test
+    void tryAcquire_shouldNotThrottleGroupsWithoutLimit() {
+        JobThrottle throttle = new JobThrottle(null, Map.of(CLEANUP, new JobThrottle.GroupLimit(1, null)));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(throttle.tryAcquire("reports", null).isGranted());
+            assertTrue(throttle.tryAcquire(null, null).isGranted());
+        }
+        assertEquals(0, throttle.getRunning("reports"));
+    }
+
+    @Test
+    void tryAcquire_shouldShareSlotsBetweenTenants() {
+        JobThrottle throttle = new JobThrottle(null, Map.of(CLEANUP, new JobThrottle.GroupLimit(1, null)));
+        JobThrottle.Permit running = throttle.tryAcquire(CLEANUP, "tenant-a");
+        // A large backlog of one tenant, then a few jobs of another one, all denied while the slot is taken
+        List<String> pending = new ArrayList<>(Collections.nCopies(10, "tenant-a"));
+        pending.addAll(Collections.nCopies(2, "tenant-b"));
+        pending.forEach(tenant -> assertFalse(throttle.tryAcquire(CLEANUP, tenant).isGranted()));
+        assertEquals(2, throttle.getWaitingTenants(CLEANUP));
+        running.close();
+
+        // Every deferred job fires again in arrival order; the one granted the slot runs until the end of the round
+        List<String> order = new ArrayList<>();
+        while (!pending.isEmpty()) {
+            JobThrottle.Permit granted = null;
+            for (int i = 0; i < pending.size(); i++) {
+                JobThrottle.Permit permit = throttle.tryAcquire(CLEANUP, pending.get(i));
+                if (permit.isGranted()) {
+                    granted = permit;
+                    order.add(pending.remove(i--));
+                }
+            }
+            assertNotNull(granted);
+            granted.close();
+        }
+
+        assertEquals(List.of("tenant-a", "tenant-b", "tenant-a", "tenant-b", "tenant-a"), order.subList(0, 5),
+                "Slots are handed to the tenants in turn");
+        assertEquals(0, throttle.getWaitingTenants(CLEANUP));
+    }
+
+    @Test
+    void tryAcquire_shouldDropTheTurnOfTenantsThatDoNotComeBack() throws InterruptedException {
+        JobThrottle throttle = new JobThrottle(null, Map.of(CLEANUP, new JobThrottle.GroupLimit(1, null)),
+                Duration.ofMillis(10));
+        JobThrottle.Permit running = throttle.tryAcquire(CLEANUP, "tenant-a");
+        assertFalse(throttle.tryAcquire(CLEANUP, "tenant-b").isGranted());
+        running.close();
+
+        assertFalse(throttle.tryAcquire(CLEANUP, "tenant-c").isGranted(), "The slot is kept for tenant-b");
+        Thread.sleep(50);
+
+        assertTrue(throttle.tryAcquire(CLEANUP, "tenant-c").isGranted());
+    }
+
+    @Test
+    void tryAcquire_shouldBackOffJobsDeniedRepeatedly() {
+        JobThrottle throttle = new JobThrottle(null, Map.of(CLEANUP, new JobThrottle.GroupLimit(1, null)),
+                Duration.ofSeconds(1), Duration.ofSeconds(5));
+        JobThrottle.Permit running = throttle.tryAcquire(CLEANUP, "tenant-a");
+
+        assertEquals(Duration.ofSeconds(1), throttle.tryAcquire(CLEANUP, "tenant-b", 0).getRetryDelay());
+        assertEquals(Duration.ofSeconds(2), throttle.tryAcquire(CLEANUP, "tenant-b", 1).getRetryDelay());
+        assertEquals(Duration.ofSeconds(4), throttle.tryAcquire(CLEANUP, "tenant-b", 2).getRetryDelay());
+        assertEquals(Duration.ofSeconds(5), throttle.tryAcquire(CLEANUP, "tenant-b", 3).getRetryDelay());
+        assertEquals(Duration.ofSeconds(5), throttle.tryAcquire(CLEANUP, "tenant-b", Integer.MAX_VALUE).getRetryDelay());
+        running.close();
+
+        assertFalse(throttle.tryAcquire(CLEANUP, "tenant-c").isGranted(),
+                "The slot is kept for tenant-b until it is due back");
+        assertTrue(throttle.tryAcquire(CLEANUP, "tenant-b", 4).isGranted());
+    }
+
+    @Test
+    void tryAcquire_shouldSpaceJobStartsByRate() {
+        JobThrottle throttle = new JobThrottle(null, Map.of(CLEANUP, new JobThrottle.GroupLimit(null, 20.0)));
+
+        assertTrue(throttle.tryAcquire(CLEANUP, null).isGranted());
+        JobThrottle.Permit denied = throttle.tryAcquire(CLEANUP, null);
+
+        assertFalse(denied.isGranted());
+        long delay = denied.getRetryDelay().toMillis();
+        assertTrue(delay >= 1 && delay <= 50, "The next start at 20 per second is at most 50 ms away, was " + delay);
+    }
+
+    @Test
+    void groupLimit_shouldRejectInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> new JobThrottle.GroupLimit(0, null));
+        assertThrows(IllegalArgumentException.class, () -> new JobThrottle.GroupLimit(null, -1.0));
+        assertThrows(IllegalArgumentException.class, () -> new JobThrottle(null, Map.of(), Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> new JobThrottle(null, Map.of(), Duration.ofSeconds(2), Duration.ofSeconds(1)));
+    }
+}
@@ -2,31 +2,83 @@ package eu.isygoit.factory;
 
 import eu.isygoit.enums.IEnumStorage;
 import eu.isygoit.service.IObjectStorageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 /**
  * The type Storage factory service.
+ * <p>
+ * Resolves the {@link IObjectStorageService} of each storage type once, at startup, into an immutable registry: the
+ * storage request path is a single map lookup. When a {@link MeterRegistry} is available, the services are wrapped to
+ * record a {@value #TIMER_NAME} timer per engine and operation.
  */
 @Slf4j
 @Service
 @Transactional
 public class StorageFactoryService {
 
+    /**
+     * The constant TIMER_NAME.
+     */
+    public static final String TIMER_NAME = "storage.operation";
+
     private static final String SERVICE_NAME_SUFFIX = "StorageService";
     private final BeanFactory beanFactory;
+    private final MeterRegistry meterRegistry;
+    private volatile Map<IEnumStorage.Types, IObjectStorageService> registry = Collections.emptyMap();
 
     /**
-     * Instantiates a new Storage factory service.
+     * Instantiates a new Storage factory service, without metrics.
      *
      * @param beanFactory the bean factory
      */
-    @Autowired
     public StorageFactoryService(BeanFactory beanFactory) {
+        this(beanFactory, null);
+    }
+
+    /**
+     * Instantiates a new Storage factory service.
+     *
+     * @param beanFactory   the bean factory
+     * @param meterRegistry the meter registry, or null
+     */
+    @Autowired
+    public StorageFactoryService(BeanFactory beanFactory, @Nullable MeterRegistry meterRegistry) {
         this.beanFactory = beanFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Build the registry from the storage service beans defined for each storage type.
+     */
+    @PostConstruct
+    public synchronized void refresh() {
+        Map<IEnumStorage.Types, IObjectStorageService> services = new EnumMap<>(IEnumStorage.Types.class);
+        for (IEnumStorage.Types type : IEnumStorage.Types.values()) {
+            String beanName = getServiceBeanName(type.meaning());
+            if (beanFactory.containsBean(beanName)) {
+                services.put(type, instrument(type, beanFactory.getBean(beanName, IObjectStorageService.class)));
+            }
+        }
+        registry = Collections.unmodifiableMap(services);
+        log.info("Storage services registered: {}", services.keySet());
     }
 
     /**
@@ -36,11 +88,88 @@ public class StorageFactoryService {
      * @return the service
      */
     public IObjectStorageService getService(IEnumStorage.Types type) {
-        return beanFactory.getBean(getServiceBeanName(type.meaning()), IObjectStorageService.class);
+        IObjectStorageService service = registry.get(type);
+        return service != null ? service : register(type);
+    }
+
+    /**
+     * Resolve a type missing from the registry (defined after startup, or the registry was never built) and publish
+     * a new registry including it. Throws when no bean is defined for the type.
+     */
+    private synchronized IObjectStorageService register(IEnumStorage.Types type) {
+        IObjectStorageService service = registry.get(type);
+        if (service == null) {
+            service = instrument(type, beanFactory.getBean(getServiceBeanName(type.meaning()), IObjectStorageService.class));
+            Map<IEnumStorage.Types, IObjectStorageService> services = new EnumMap<>(IEnumStorage.Types.class);
+            services.putAll(registry);
+            services.put(type, service);
+            registry = Collections.unmodifiableMap(services);
+        }
+        return service;
+    }
+
+    private IObjectStorageService instrument(IEnumStorage.Types type, IObjectStorageService service) {
+        if (meterRegistry == null || service == null) {
+            return service;
+        }
+        return (IObjectStorageService) Proxy.newProxyInstance(IObjectStorageService.class.getClassLoader(),
+                new Class<?>[]{IObjectStorageService.class}, new TimedInvocationHandler(type.meaning(), service, meterRegistry));
     }
 
     private String getServiceBeanName(String type) {
         return type + SERVICE_NAME_SUFFIX;
     }
 
+    /**
+     * Records the duration of every storage operation, tagged with the engine, the operation and its outcome.
+     */
+    private static final class TimedInvocationHandler implements InvocationHandler {
+
+        private final String engine;
+        private final IObjectStorageService target;
+        private final MeterRegistry meterRegistry;
+        private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+        private TimedInvocationHandler(String engine, IObjectStorageService target, MeterRegistry meterRegistry) {
+            this.engine = engine;
+            this.target = target;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "Timed[" + target + "]";
+                    default -> method.invoke(target, args);
+                };
+            }
+
+            Timer[] outcomes = timers.computeIfAbsent(method, this::timers);
+            long start = System.nanoTime();
+            try {
+                Object result = method.invoke(target, args);
+                outcomes[0].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (InvocationTargetException e) {
+                outcomes[1].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e.getCause();
+            }
+        }
+
+        private Timer[] timers(Method method) {
+            return new Timer[]{timer(method, "success"), timer(method, "error")};
+        }
+
+        private Timer timer(Method method, String outcome) {
+            return Timer.builder(TIMER_NAME)
+                    .description("Duration of object storage operations")
+                    .tag("engine", engine)
+                    .tag("operation", method.getName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
 }
@@ -0,0 +1,377 @@
+package eu.isygoit.factory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The type Tenant client cache.
+ * <p>
+ * Per-tenant storage clients, built once and reused by every operation. Building a client does not connect, so a new
+ * client is probed by the health check, and a cached client is checked again at most once per interval. Checks run
+ * in the background, never on the request thread nor under the tenant lock: the request gets the cached client. A new
+ * client failing its probe is dropped at once; a client that passed a check is dropped after a number of consecutive
+ * failed checks, retried after the initial backoff, so a single network hiccup does not drop it. A later access
+ * rebuilds a dropped client. A failed build or probe starts an exponential backoff: in between, callers get the last
+ * failure without touching the backend. Clients are kept in the map given at construction, so its other holders see
+ * the same clients.
+ * <p>
+ * Replaced and dropped clients are closed after a grace period, not at once: other request threads may still be in
+ * the middle of a call on them, and closing a client shuts down its connection pool.
+ *
+ * @param <C> the client type
+ */
+@Slf4j
+public final class TenantClientCache<C> {
+
+    /**
+     * The constant DEFAULT_HEALTH_CHECK_INTERVAL.
+     */
+    public static final Duration DEFAULT_HEALTH_CHECK_INTERVAL = Duration.ofMinutes(1);
+
+    /**
+     * The constant DEFAULT_INITIAL_BACKOFF.
+     */
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
+
+    /**
+     * The constant DEFAULT_MAX_BACKOFF.
+     */
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMinutes(1);
+
+    /**
+     * The constant DEFAULT_FAILURE_THRESHOLD.
+     */
+    public static final int DEFAULT_FAILURE_THRESHOLD = 3;
+
+    /**
+     * The constant DEFAULT_CLOSE_GRACE_PERIOD.
+     */
+    public static final Duration DEFAULT_CLOSE_GRACE_PERIOD = Duration.ofMinutes(5);
+
+    private static final Executor HEALTH_CHECK_EXECUTOR = newHealthCheckExecutor();
+    private static final ScheduledExecutorService CLOSE_EXECUTOR = newCloseExecutor();
+
+    private final String engine;
+    private final Map<String, C> clients;
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+    private final Predicate<C> healthCheck;
+    private final long healthCheckIntervalNanos;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final int failureThreshold;
+    private final Duration closeGracePeriod;
+    private final LongSupplier ticker;
+    private final Executor executor;
+    private final ScheduledExecutorService closeExecutor;
+
+    /**
+     * Instantiates a new Tenant client cache with the default interval and backoff.
+     *
+     * @param engine      the engine name, for logs
+     * @param clients     the client map
+     * @param healthCheck the health check, or null to never check
+     */
+    public TenantClientCache(String engine, Map<String, C> clients, Predicate<C> healthCheck) {
+        this(engine, clients, healthCheck, DEFAULT_HEALTH_CHECK_INTERVAL, DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF);
+    }
+
+    /**
+     * Instantiates a new Tenant client cache.
+     *
+     * @param engine              the engine name, for logs
+     * @param clients             the client map
+     * @param healthCheck         the health check, or null to never check
+     * @param healthCheckInterval the min time between two checks of a client
+     * @param initialBackoff      the wait after a first failed build
+     * @param maxBackoff          the max wait between two builds
+     */
+    public TenantClientCache(String engine, Map<String, C> clients, Predicate<C> healthCheck,
+                             Duration healthCheckInterval, Duration initialBackoff, Duration maxBackoff) {
+        this(engine, clients, healthCheck, healthCheckInterval, initialBackoff, maxBackoff, DEFAULT_FAILURE_THRESHOLD,
+                DEFAULT_CLOSE_GRACE_PERIOD);
+    }
+
+    /**
+     * Instantiates a new Tenant client cache.
+     *
+     * @param engine              the engine name, for logs
+     * @param clients             the client map
+     * @param healthCheck         the health check, or null to never check
+     * @param healthCheckInterval the min time between two checks of a client
+     * @param initialBackoff      the wait after a first failed build, and between the checks of a failing client
+     * @param maxBackoff          the max wait between two builds
+     * @param failureThreshold    the consecutive failed checks after which a client that passed a check is dropped
+     * @param closeGracePeriod    the wait before closing a replaced or dropped client
+     */
+    public TenantClientCache(String engine, Map<String, C> clients, Predicate<C> healthCheck,
+                             Duration healthCheckInterval, Duration initialBackoff, Duration maxBackoff,
+                             int failureThreshold, Duration closeGracePeriod) {
+        this(engine, clients, healthCheck, healthCheckInterval, initialBackoff, maxBackoff, failureThreshold,
+                closeGracePeriod, System::nanoTime, HEALTH_CHECK_EXECUTOR, CLOSE_EXECUTOR);
+    }
+
+    /**
+     * Instantiates a new Tenant client cache.
+     *
+     * @param engine              the engine
+     * @param clients             the clients
+     * @param healthCheck         the health check
+     * @param healthCheckInterval the health check interval
+     * @param initialBackoff      the initial backoff
+     * @param maxBackoff          the max backoff
+     * @param failureThreshold    the failure threshold
+     * @param closeGracePeriod    the close grace period
+     * @param ticker              the nano time source
+     * @param executor            the executor of the health checks
+     * @param closeExecutor       the executor of the deferred closes
+     */
+    TenantClientCache(String engine, Map<String, C> clients, Predicate<C> healthCheck,
+                      Duration healthCheckInterval, Duration initialBackoff, Duration maxBackoff, int failureThreshold,
+                      Duration closeGracePeriod, LongSupplier ticker, Executor executor,
+                      ScheduledExecutorService closeExecutor) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("Health check failure threshold must be positive: " + failureThreshold);
+        }
+        this.engine = engine;
+        this.clients = clients != null ? clients : new ConcurrentHashMap<>();
+        this.healthCheck = healthCheck;
+        this.healthCheckIntervalNanos = healthCheckInterval.toNanos();
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.failureThreshold = failureThreshold;
+        this.closeGracePeriod = closeGracePeriod;
+        this.ticker = ticker;
+        this.executor = executor;
+        this.closeExecutor = closeExecutor;
+    }
+
+    /**
+     * Gets the client of a tenant, building it when absent.
+     *
+     * @param tenant  the tenant
+     * @param factory builds a client, throwing when the backend is misconfigured
+     * @return the client
+     */
+    public C get(String tenant, Supplier<C> factory) {
+        State state = states.computeIfAbsent(tenant, key -> new State());
+        C client = clients.get(tenant);
+        if (client != null) {
+            if (isCheckDue(state)) {
+                check(tenant, state, client);
+            }
+            return client;
+        }
+
+        synchronized (state) {
+            client = clients.get(tenant);
+            if (client != null) {
+                return client;
+            }
+            long now = ticker.getAsLong();
+            if (state.lastFailure != null && now - state.retryAt < 0) {
+                log.debug("{} client of tenant {} in backoff, failing fast", engine, tenant);
+                throw state.lastFailure;
+            }
+            try {
+                client = factory.get();
+            } catch (RuntimeException e) {
+                failed(tenant, state, e, now);
+                throw e;
+            }
+            clients.put(tenant, client);
+        }
+        // The builders do not connect: probe the new client, a failure starts the backoff
+        check(tenant, state, client);
+        return client;
+    }
+
+    /**
+     * Replace the client of a tenant, e.g. after its configuration changed. The previous client is closed after the
+     * grace period.
+     *
+     * @param tenant the tenant
+     * @param client the client
+     */
+    public void put(String tenant, C client) {
+        State state = states.computeIfAbsent(tenant, key -> new State());
+        C previous;
+        synchronized (state) {
+            previous = clients.put(tenant, client);
+            state.failures = 0;
+            state.checkFailures = 0;
+            state.verified = false;
+            state.lastFailure = null;
+            state.nextCheckAt = ticker.getAsLong() + healthCheckIntervalNanos;
+        }
+        if (previous != client) {
+            closeLater(previous);
+        }
+    }
+
+    /**
+     * Drop the client of a tenant and its backoff, so the next access builds a new one. The client is closed after the
+     * grace period.
+     *
+     * @param tenant the tenant
+     */
+    public void refresh(String tenant) {
+        State state = states.remove(tenant);
+        C previous;
+        if (state != null) {
+            synchronized (state) {
+                previous = clients.remove(tenant);
+            }
+        } else {
+            previous = clients.remove(tenant);
+        }
+        closeLater(previous);
+        log.info("{} client of tenant {} refreshed", engine, tenant);
+    }
+
+    /**
+     * Drop every client and backoff.
+     */
+    public void refreshAll() {
+        states.keySet().forEach(this::refresh);
+        clients.keySet().forEach(this::refresh);
+    }
+
+    /**
+     * Gets the number of cached clients.
+     *
+     * @return the size
+     */
+    public int size() {
+        return clients.size();
+    }
+
+    private boolean isCheckDue(State state) {
+        return healthCheck != null && ticker.getAsLong() - state.nextCheckAt >= 0;
+    }
+
+    private void check(String tenant, State state, C client) {
+        if (healthCheck == null || !state.checking.compareAndSet(false, true)) {
+            return;
+        }
+        state.nextCheckAt = ticker.getAsLong() + healthCheckIntervalNanos;
+        try {
+            executor.execute(() -> {
+                try {
+                    boolean healthy = isHealthy(client);
+                    boolean dropped = false;
+                    synchronized (state) {
+                        if (clients.get(tenant) != client) {
+                            return;
+                        }
+                        long now = ticker.getAsLong();
+                        if (healthy) {
+                            state.failures = 0;
+                            state.checkFailures = 0;
+                            state.verified = true;
+                            state.lastFailure = null;
+                        } else if (state.verified && ++state.checkFailures < failureThreshold) {
+                            // Check again soon rather than dropping a client other requests may be using
+                            state.nextCheckAt = now + initialBackoffNanos;
+                            log.warn("{} client of tenant {} failed its health check ({} of {})",
+                                    engine, tenant, state.checkFailures, failureThreshold);
+                        } else if (clients.remove(tenant, client)) {
+                            state.checkFailures = 0;
+                            state.verified = false;
+                            failed(tenant, state, new IllegalStateException(engine + " client of tenant " + tenant
+                                    + " failed its health check"), now);
+                            dropped = true;
+                        }
+                    }
+                    if (dropped) {
+                        closeLater(client);
+                    }
+                } finally {
+                    state.checking.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            state.checking.set(false);
+            log.debug("{} health check of tenant {} rejected, retried on next access", engine, tenant);
+        }
+    }
+
+    private void failed(String tenant, State state, RuntimeException failure, long now) {
+        state.failures++;
+        long backoff = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(state.failures - 1, 20));
+        state.retryAt = now + backoff;
+        state.lastFailure = failure;
+        log.error("{} client of tenant {} unavailable ({} consecutive failures), next attempt in {} ms: {}",
+                engine, tenant, state.failures, backoff / 1_000_000, failure.getMessage());
+    }
+
+    private boolean isHealthy(C client) {
+        try {
+            return healthCheck.test(client);
+        } catch (RuntimeException e) {
+            log.debug("{} health check failed", engine, e);
+            return false;
+        }
+    }
+
+    private void closeLater(C client) {
+        if (!(client instanceof AutoCloseable)) {
+            return;
+        }
+        try {
+            closeExecutor.schedule(() -> close(client), closeGracePeriod.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            log.warn("Deferred close of {} client rejected, closing now", engine);
+            close(client);
+        }
+    }
+
+    private void close(C client) {
+        if (client instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close {} client", engine, e);
+            }
+        }
+    }
+
+    private static Executor newHealthCheckExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(4, 4, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(1_000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "storage-health-check-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ScheduledExecutorService newCloseExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "storage-client-close");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    private final class State {
+        private final AtomicBoolean checking = new AtomicBoolean();
+        private volatile long nextCheckAt = ticker.getAsLong() + healthCheckIntervalNanos;
+        private long retryAt;
+        private int failures;
+        private int checkFailures;
+        private boolean verified;
+        private RuntimeException lastFailure;
+    }
+}
@@ -2,17 +2,32 @@ package eu.isygoit.lfs.api;
 
 import eu.isygoit.enums.IEnumLogicalOperator;
 import eu.isygoit.lfs.config.LFSConfig;
+import eu.isygoit.s3.object.BulkOptions;
+import eu.isygoit.s3.object.BulkResult;
+import eu.isygoit.s3.object.BulkUpload;
 import eu.isygoit.s3.object.FileStorage;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * The interface Lake fs api service.
  */
 public interface ILakeFSApiService {
 
+    /**
+     * Default page size of object listings.
+     */
+    int DEFAULT_PAGE_SIZE = 1000;
+
+    /**
+     * Maximum page size accepted by LakeFS.
+     */
+    int MAX_PAGE_SIZE = 1000;
+
     /**
      * Sets lake fs.
      *
@@ -147,6 +162,68 @@ public interface ILakeFSApiService {
      */
     List<FileStorage> getObjects(LFSConfig config, String repositoryName, String reference, String prefix);
 
+    /**
+     * Stream objects, lazily fetching the listing page by page.
+     * <p>
+     * The returned stream holds at most one page (plus a prefetched one) in memory and must be closed, typically
+     * with try-with-resources, when it is not fully consumed.
+     *
+     * @param config         the config
+     * @param repositoryName the repository name
+     * @param reference      the reference
+     * @param prefix         the prefix
+     * @param pageSize       the page size, between 1 and {@link #MAX_PAGE_SIZE}
+     * @param prefetch       whether to request the next page in the background
+     * @return the stream of objects
+     */
+    Stream<FileStorage> streamObjects(LFSConfig config, String repositoryName, String reference, String prefix,
+                                      int pageSize, boolean prefetch);
+
+    /**
+     * Stream objects with the default page size and prefetch enabled.
+     *
+     * @param config         the config
+     * @param repositoryName the repository name
+     * @param reference      the reference
+     * @param prefix         the prefix
+     * @return the stream of objects
+     */
+    default Stream<FileStorage> streamObjects(LFSConfig config, String repositoryName, String reference, String prefix) {
+        return streamObjects(config, repositoryName, reference, prefix, DEFAULT_PAGE_SIZE, true);
+    }
+
+    /**
+     * Stream the objects matching the metadata. Filtering is applied page by page, so limiting the stream stops the
+     * listing as soon as enough matches have been found.
+     *
+     * @param config         the config
+     * @param repositoryName the repository name
+     * @param reference      the reference
+     * @param metadata       the metadata
+     * @param condition      the condition
+     * @return the stream of matching objects
+     */
+    Stream<FileStorage> streamObjectByMetadata(LFSConfig config, String repositoryName, String reference,
+                                               Map<String, String> metadata, IEnumLogicalOperator.Types condition);
+
+    /**
+     * Gets at most {@code limit} objects by metadata, stopping the listing once found.
+     *
+     * @param config         the config
+     * @param repositoryName the repository name
+     * @param reference      the reference
+     * @param metadata       the metadata
+     * @param condition      the condition
+     * @param limit          the maximum number of results
+     * @return the object by metadata
+     */
+    default List<FileStorage> getObjectByMetadata(LFSConfig config, String repositoryName, String reference,
+                                                  Map<String, String> metadata, IEnumLogicalOperator.Types condition, int limit) {
+        try (Stream<FileStorage> stream = streamObjectByMetadata(config, repositoryName, reference, metadata, condition)) {
+            return stream.limit(limit).toList();
+        }
+    }
+
     /**
      * Update metadata.
      *
@@ -168,6 +245,59 @@ public interface ILakeFSApiService {
      */
     void deleteObjects(LFSConfig config, String repositoryName, String branchName, List<String> objectNames);
 
+    /**
+     * Upload files concurrently to a branch. Each file is stored under the path and object name of its metadata.
+     *
+     * @param config         the config
+     * @param repositoryName the repository name
+     * @param branchName     the branch name
+     * @param uploads        the files and their metadata
+     * @param options        the concurrency and rate limit
+     * @return the result of every upload, keyed by full object path
+     */
+    BulkResult uploadAll(LFSConfig config, String repositoryName, String branchName, List<BulkUpload> uploads,
+                         BulkOptions options);
+
+    /**
+     * Delete objects with batched delete requests, batches sent concurrently.
+     *
+     * @param config         the config
+     * @param repositoryName the repository name
+     * @param branchName     the branch name
+     * @param objectNames    the object names
+     * @param options        the batch size, concurrency and rate limit
+     * @return the result of every deletion
+     */
+    BulkResult deleteAll(LFSConfig config, String repositoryName, String branchName, List<String> objectNames,
+                         BulkOptions options);
+
+    /**
+     * Copy objects server-side, under the same paths, from a reference to a branch of the same repository.
+     *
+     * @param config         the config
+     * @param repositoryName the repository name
+     * @param sourceRef      the source reference (branch, tag or commit)
+     * @param branchName     the target branch name
+     * @param objectNames    the object names
+     * @param options        the concurrency and rate limit
+     * @return the result of every copy
+     */
+    BulkResult copyAll(LFSConfig config, String repositoryName, String sourceRef, String branchName,
+                       List<String> objectNames, BulkOptions options);
+
+    /**
+     * Update the user metadata of objects concurrently.
+     *
+     * @param config         the config
+     * @param repositoryName the repository name
+     * @param branchName     the branch name
+     * @param metadata       the metadata to set, by object name
+     * @param options        the concurrency and rate limit
+     * @return the result of every update
+     */
+    BulkResult updateMetadataAll(LFSConfig config, String repositoryName, String branchName,
+                                 Map<String, Map<String, String>> metadata, BulkOptions options);
+
     /**
      * Commit string.
      *
@@ -220,6 +350,57 @@ public interface ILakeFSApiService {
      */
     List<Map<String, Object>> getCommitHistory(LFSConfig config, String repositoryName, String branchName, int limit);
 
+    /**
+     * Repository exists, without blocking the caller.
+     *
+     * @param config         the config
+     * @param repositoryName the repository name
+     * @return the future result
+     */
+    CompletableFuture<Boolean> repositoryExistsAsync(LFSConfig config, String repositoryName);
+
+    /**
+     * Branch exists, without blocking the caller.
+     *
+     * @param config         the config
+     * @param repositoryName the repository name
+     * @param branchName     the branch name
+     * @return the future result
+     */
+    CompletableFuture<Boolean> branchExistsAsync(LFSConfig config, String repositoryName, String branchName);
+
+    /**
+     * Gets branches, without blocking the caller.
+     *
+     * @param config         the config
+     * @param repositoryName the repository name
+     * @return the future branches
+     */
+    CompletableFuture<List<String>> getBranchesAsync(LFSConfig config, String repositoryName);
+
+    /**
+     * Gets commit history, without blocking the caller.
+     *
+     * @param config         the config
+     * @param repositoryName the repository name
+     * @param branchName     the branch name
+     * @param limit          the limit
+     * @return the future commit history
+     */
+    CompletableFuture<List<Map<String, Object>>> getCommitHistoryAsync(LFSConfig config, String repositoryName,
+                                                                       String branchName, int limit);
+
+    /**
+     * Gets object, without blocking the caller.
+     *
+     * @param config         the config
+     * @param repositoryName the repository name
+     * @param reference      the reference
+     * @param objectName     the object name
+     * @return the future object content
+     */
+    CompletableFuture<byte[]> getObjectAsync(LFSConfig config, String repositoryName, String reference, String objectName);
+
     /**
      * Gets diff.
      *
@@ -1,30 +1,47 @@
 package eu.isygoit.lfs.api.impl;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.isygoit.enums.IEnumLogicalOperator;
 import eu.isygoit.exception.LakeFSException;
 import eu.isygoit.lfs.api.ILakeFSApiService;
 import eu.isygoit.lfs.config.LFSConfig;
+import eu.isygoit.lfs.object.ObjectStats;
+import eu.isygoit.lfs.object.ObjectStatsList;
 import eu.isygoit.s3.api.IMinIOApiService;
+import eu.isygoit.s3.object.BulkItemResult;
+import eu.isygoit.s3.object.BulkOptions;
+import eu.isygoit.s3.object.BulkResult;
+import eu.isygoit.s3.object.BulkUpload;
 import eu.isygoit.s3.object.FileStorage;
+import eu.isygoit.service.BulkExecutor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.*;
-import org.springframework.http.client.ClientHttpRequestInterceptor;
-import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.net.URI;
 import java.net.URLEncoder;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.time.Instant;
-import java.time.ZoneId;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The type Lake fs api service.
@@ -40,9 +57,15 @@ public class LakeFSApiService implements ILakeFSApiService {
     private static final int CONNECTION_TIMEOUT_MS = 5000;
     private static final int READ_TIMEOUT_MS = 10000;
     private static final int DEFAULT_PAGINATION_LIMIT = 100;
+    private static final Duration DEFAULT_REF_CACHE_TTL = Duration.ofSeconds(5);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
 
     private final Map<String, RestTemplate> lakeFSClientMap;
+    private final Map<String, LakeFSHttpClient> httpClientMap = new ConcurrentHashMap<>();
     private final IMinIOApiService minIOApiService;
+    private final LakeFSRefCache refCache;
 
     /**
      * Instantiates a new Lake fs api service.
@@ -51,8 +74,20 @@ public class LakeFSApiService implements ILakeFSApiService {
      * @param minIOApiService the min io api service
      */
     public LakeFSApiService(Map<String, RestTemplate> lakeFSClientMap, IMinIOApiService minIOApiService) {
+        this(lakeFSClientMap, minIOApiService, DEFAULT_REF_CACHE_TTL);
+    }
+
+    /**
+     * Instantiates a new Lake fs api service.
+     *
+     * @param lakeFSClientMap the lake fs client map
+     * @param minIOApiService the min io api service
+     * @param refCacheTtl     the time to live of cached repository, branch and commit metadata, zero to disable
+     */
+    public LakeFSApiService(Map<String, RestTemplate> lakeFSClientMap, IMinIOApiService minIOApiService, Duration refCacheTtl) {
         this.lakeFSClientMap = lakeFSClientMap;
         this.minIOApiService = minIOApiService;
+        this.refCache = new LakeFSRefCache(refCacheTtl);
     }
 
     private static void validateStorageNamespace(String storageNamespace) {
@@ -79,26 +114,26 @@ public class LakeFSApiService implements ILakeFSApiService {
         return url;
     }
 
+    private URI buildLakeFSUri(LFSConfig config, String[] pathSegments, Map<String, ?> queryParams) {
+        // Query values are encoded once here: object paths and offsets contain slashes
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(buildLakeFSUrl(config, pathSegments, null));
+        if (queryParams != null) {
+            queryParams.forEach(builder::queryParam);
+        }
+        return builder.encode().build().toUri();
+    }
+
     private RestTemplate configureRestTemplate(LFSConfig config) {
-        RestTemplate restTemplate = new RestTemplate();
-        // Configure timeouts
-        restTemplate.setRequestFactory(new org.springframework.http.client.SimpleClientHttpRequestFactory() {{
-            setConnectTimeout(CONNECTION_TIMEOUT_MS);
-            setReadTimeout(READ_TIMEOUT_MS);
-        }});
-        // Remove custom text/plain converter to avoid JSON parsing for byte[] responses
-        restTemplate.getMessageConverters().removeIf(converter ->
-                converter instanceof MappingJackson2HttpMessageConverter);
-        // Add default MappingJackson2HttpMessageConverter for JSON responses
-        restTemplate.getMessageConverters().add(new MappingJackson2HttpMessageConverter());
-        // Configure basic authentication
-        restTemplate.getInterceptors().add((ClientHttpRequestInterceptor) (request, body, execution) -> {
-            String auth = config.getUserName() + ":" + config.getPassword();
-            byte[] encodedAuth = Base64.getEncoder().encode(auth.getBytes(StandardCharsets.UTF_8));
-            request.getHeaders().add("Authorization", "Basic " + new String(encodedAuth));
-            return execution.execute(request, body);
-        });
-        return restTemplate;
+        return getHttpClient(config).createRestTemplate();
+    }
+
+    private LakeFSHttpClient getHttpClient(LFSConfig config) {
+        return httpClientMap.computeIfAbsent(config.getTenant(), tenant -> createHttpClient(config));
+    }
+
+    private LakeFSHttpClient createHttpClient(LFSConfig config) {
+        // Pooled keep-alive client shared by the blocking and the async API of a tenant
+        return new LakeFSHttpClient(config, Duration.ofMillis(CONNECTION_TIMEOUT_MS), Duration.ofMillis(READ_TIMEOUT_MS));
     }
 
     public void setupLakeFS(LFSConfig config, String username, String accessKey, String secretKey) {
@@ -155,7 +190,12 @@ public class LakeFSApiService implements ILakeFSApiService {
     public void updateConnection(LFSConfig config) {
         validateConfig(config);
         try {
+            LakeFSHttpClient replaced = httpClientMap.put(config.getTenant(), createHttpClient(config));
             lakeFSClientMap.put(config.getTenant(), configureRestTemplate(config));
+            if (replaced != null) {
+                replaced.close();
+            }
+            refCache.invalidateTenant(config.getTenant());
             log.info("Updated LakeFS connection for tenant: {}", config.getTenant());
         } catch (Exception e) {
             log.error("Failed to update LakeFS connection for tenant: {}", config.getTenant(), e);
@@ -166,7 +206,13 @@ public class LakeFSApiService implements ILakeFSApiService {
     @Override
     public boolean repositoryExists(LFSConfig config, String repositoryName) {
         validateRepositoryName(repositoryName);
-        return executeWithRetry(() -> {
+        validateConfig(config);
+        LakeFSRefCache.Key key = LakeFSRefCache.Key.repositoryExists(config.getTenant(), repositoryName);
+        Boolean cached = refCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        boolean exists = executeWithRetry(() -> {
             try {
                 RestTemplate client = getConnection(config);
                 String url = buildLakeFSUrl(config, new String[]{"repositories", repositoryName}, null);
@@ -179,12 +225,17 @@ public class LakeFSApiService implements ILakeFSApiService {
                 throw new LakeFSException("Error checking repository existence: " + repositoryName, e);
             }
         });
+        refCache.put(key, exists);
+        return exists;
     }
 
     @Override
     public void createRepository(LFSConfig config, String repositoryName, String storageNamespace, String defaultBranch) {
         validateRepositoryName(repositoryName);
         validateStorageNamespace(storageNamespace);
+        validateConfig(config);
+        // The existence check below must see the live state
+        refCache.invalidateRepository(config.getTenant(), repositoryName);
         executeWithRetry(() -> {
             try {
                 if (config.getS3Config() != null) {
@@ -215,6 +266,7 @@ public class LakeFSApiService implements ILakeFSApiService {
             }
             return null;
         });
+        refCache.invalidateRepository(config.getTenant(), repositoryName);
     }
 
     @Override
@@ -245,6 +297,115 @@ public class LakeFSApiService implements ILakeFSApiService {
         });
     }
 
+    @Override
+    public BulkResult uploadAll(LFSConfig config, String repositoryName, String branchName, List<BulkUpload> uploads,
+                                BulkOptions options) {
+        validateRepositoryName(repositoryName);
+        validateBranchName(branchName);
+        if (uploads == null || uploads.stream().anyMatch(upload -> upload.getMetaData() == null)) {
+            throw new IllegalArgumentException("Uploads and their metadata cannot be null");
+        }
+        BulkResult result = BulkExecutor.forEach(uploads, upload -> fullPath(upload.getMetaData().getPath(), upload.getMetaData().getObjectName()),
+                options, upload -> uploadFile(config, repositoryName, branchName, upload.getMetaData().getPath(),
+                        upload.getMetaData().getObjectName(), upload.getFile()));
+        log.info("Bulk upload to branch: {} in repository: {}: {}", branchName, repositoryName, result);
+        return result;
+    }
+
+    /**
+     * Delete objects with delete requests of up to {@link BulkOptions#getBatchSize()} paths. The paths LakeFS reports
+     * as errors are failed, the others succeed.
+     */
+    @Override
+    public BulkResult deleteAll(LFSConfig config, String repositoryName, String branchName, List<String> objectNames,
+                                BulkOptions options) {
+        validateRepositoryName(repositoryName);
+        validateBranchName(branchName);
+        if (objectNames == null) {
+            throw new IllegalArgumentException("Object names cannot be null");
+        }
+        BulkResult result = BulkExecutor.forEachBatch(objectNames, name -> name, options, batch -> executeWithRetry(() -> {
+            try {
+                RestTemplate client = getConnection(config);
+                URI uri = buildLakeFSUri(config, new String[]{"repositories", repositoryName, "branches", branchName, "objects", "delete"}, null);
+
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                ResponseEntity<Map> response = client.postForEntity(uri, new HttpEntity<>(Map.of("paths", batch), headers), Map.class);
+
+                Map<String, String> errors = new HashMap<>();
+                if (response.getBody() != null && response.getBody().get("errors") instanceof List<?> list) {
+                    for (Object item : list) {
+                        if (item instanceof Map<?, ?> error && error.get("path") != null) {
+                            errors.put(String.valueOf(error.get("path")), String.valueOf(error.get("message")));
+                        }
+                    }
+                }
+                List<BulkItemResult> results = new ArrayList<>(batch.size());
+                for (String objectName : batch) {
+                    results.add(errors.containsKey(objectName)
+                            ? BulkItemResult.failed(objectName, errors.get(objectName))
+                            : BulkItemResult.succeeded(objectName));
+                }
+                return results;
+            } catch (HttpClientErrorException e) {
+                throw new LakeFSException("Error deleting objects from repository: " + repositoryName + ", branch: " + branchName + ", HTTP status: " + e.getStatusCode(), e);
+            } catch (RestClientException e) {
+                throw new LakeFSException("Error deleting objects from repository: " + repositoryName + ", branch: " + branchName, e);
+            }
+        }));
+        log.info("Bulk delete from branch: {} in repository: {}: {}", branchName, repositoryName, result);
+        return result;
+    }
+
+    @Override
+    public BulkResult copyAll(LFSConfig config, String repositoryName, String sourceRef, String branchName,
+                              List<String> objectNames, BulkOptions options) {
+        validateRepositoryName(repositoryName);
+        validateBranchName(branchName);
+        if (!StringUtils.hasText(sourceRef)) {
+            throw new IllegalArgumentException("Source reference cannot be empty");
+        }
+        if (objectNames == null) {
+            throw new IllegalArgumentException("Object names cannot be null");
+        }
+        BulkResult result = BulkExecutor.forEach(objectNames, name -> name, options, name -> executeWithRetry(() -> {
+            try {
+                RestTemplate client = getConnection(config);
+                URI uri = buildLakeFSUri(config, new String[]{"repositories", repositoryName, "branches", branchName, "objects", "copy"},
+                        Map.of("dest_path", name));
+
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                return client.postForEntity(uri, new HttpEntity<>(Map.of("src_path", name, "src_ref", sourceRef), headers), Map.class);
+            } catch (HttpClientErrorException e) {
+                throw new LakeFSException("Error copying object: " + name + ", HTTP status: " + e.getStatusCode(), e);
+            } catch (RestClientException e) {
+                throw new LakeFSException("Error copying object: " + name, e);
+            }
+        }));
+        log.info("Bulk copy from {} to branch: {} in repository: {}: {}", sourceRef, branchName, repositoryName, result);
+        return result;
+    }
+
+    @Override
+    public BulkResult updateMetadataAll(LFSConfig config, String repositoryName, String branchName,
+                                        Map<String, Map<String, String>> metadata, BulkOptions options) {
+        validateRepositoryName(repositoryName);
+        validateBranchName(branchName);
+        if (metadata == null) {
+            throw new IllegalArgumentException("Metadata cannot be null");
+        }
+        BulkResult result = BulkExecutor.forEach(new ArrayList<>(metadata.entrySet()), Map.Entry::getKey, options,
+                entry -> updateMetadata(config, repositoryName, branchName, entry.getKey(), entry.getValue()));
+        log.info("Bulk metadata update in branch: {} in repository: {}: {}", branchName, repositoryName, result);
+        return result;
+    }
+
+    private static String fullPath(String path, String objectName) {
+        return StringUtils.hasText(path) ? path + "/" + objectName : objectName;
+    }
+
     @Override
     public String commit(LFSConfig config, String repositoryName, String branchName, String message, Map<String, String> metadata) {
         validateRepositoryName(repositoryName);
@@ -252,7 +413,8 @@ public class LakeFSApiService implements ILakeFSApiService {
         if (!StringUtils.hasText(message)) {
             throw new IllegalArgumentException("Commit message cannot be empty");
         }
-        return executeWithRetry(() -> {
+        validateConfig(config);
+        String committed = executeWithRetry(() -> {
             try {
                 RestTemplate client = getConnection(config);
                 String url = buildLakeFSUrl(config, new String[]{"repositories", repositoryName, "branches", branchName, "commits"}, null);
@@ -280,6 +442,8 @@ public class LakeFSApiService implements ILakeFSApiService {
                 throw new LakeFSException("Error committing to branch: " + branchName + ", HTTP status: " + e.getStatusCode(), e);
             }
         });
+        refCache.invalidateCommits(config.getTenant(), repositoryName, branchName);
+        return committed;
     }
 
     @Override
@@ -290,7 +454,8 @@ public class LakeFSApiService implements ILakeFSApiService {
         if (!StringUtils.hasText(message)) {
             throw new IllegalArgumentException("Merge message cannot be empty");
         }
-        return executeWithRetry(() -> {
+        validateConfig(config);
+        String merged = executeWithRetry(() -> {
             try {
                 RestTemplate client = getConnection(config);
                 String url = buildLakeFSUrl(config, new String[]{"repositories", repositoryName, "refs", sourceBranchName, "merge", destinationBranchName}, null);
@@ -315,12 +480,20 @@ public class LakeFSApiService implements ILakeFSApiService {
                 throw new LakeFSException("Error merging branch: " + sourceBranchName + " into: " + destinationBranchName + ", HTTP status: " + e.getStatusCode(), e);
             }
         });
+        refCache.invalidateCommits(config.getTenant(), repositoryName, destinationBranchName);
+        return merged;
     }
 
     @Override
     public List<String> getBranches(LFSConfig config, String repositoryName) {
         validateRepositoryName(repositoryName);
-        return executeWithRetry(() -> {
+        validateConfig(config);
+        LakeFSRefCache.Key key = LakeFSRefCache.Key.branches(config.getTenant(), repositoryName);
+        List<String> cached = refCache.get(key);
+        if (cached != null) {
+            return new ArrayList<>(cached);
+        }
+        List<String> branches = executeWithRetry(() -> {
             try {
                 RestTemplate client = getConnection(config);
                 String url = buildLakeFSUrl(config, new String[]{"repositories", repositoryName, "branches"}, null);
@@ -328,17 +501,13 @@ public class LakeFSApiService implements ILakeFSApiService {
                 ResponseEntity<Map> response = client.getForEntity(url, Map.class);
                 Map<String, Object> responseBody = Optional.ofNullable(response.getBody())
                         .orElseThrow(() -> new LakeFSException("Empty response body for branches"));
-                List<Map<String, Object>> results = (List<Map<String, Object>>) responseBody.get("results");
-                return Optional.ofNullable(results)
-                        .orElse(Collections.emptyList())
-                        .stream()
-                        .map(branch -> (String) branch.get("id"))
-                        .filter(StringUtils::hasText)
-                        .collect(Collectors.toList());
+                return resultIds(responseBody);
             } catch (HttpClientErrorException e) {
                 throw new LakeFSException("Error listing branches in repository: " + repositoryName + ", HTTP status: " + e.getStatusCode(), e);
             }
         });
+        refCache.put(key, List.copyOf(branches));
+        return branches;
     }
 
     @Override
@@ -371,7 +540,13 @@ public class LakeFSApiService implements ILakeFSApiService {
     public List<Map<String, Object>> getCommitHistory(LFSConfig config, String repositoryName, String branchName, int limit) {
         validateRepositoryName(repositoryName);
         validateBranchName(branchName);
-        return executeWithRetry(() -> {
+        validateConfig(config);
+        LakeFSRefCache.Key key = LakeFSRefCache.Key.commits(config.getTenant(), repositoryName, branchName, limit);
+        List<Map<String, Object>> cached = refCache.get(key);
+        if (cached != null) {
+            return new ArrayList<>(cached);
+        }
+        List<Map<String, Object>> commits = executeWithRetry(() -> {
             try {
                 RestTemplate client = getConnection(config);
                 Map<String, String> queryParams = limit > 0 ? Map.of("amount", String.valueOf(limit)) : null;
@@ -380,12 +555,13 @@ public class LakeFSApiService implements ILakeFSApiService {
                 ResponseEntity<Map> response = client.getForEntity(url, Map.class);
                 Map<String, Object> responseBody = Optional.ofNullable(response.getBody())
                         .orElseThrow(() -> new LakeFSException("Empty response body for commit history"));
-                List<Map<String, Object>> results = (List<Map<String, Object>>) responseBody.get("results");
-                return Optional.ofNullable(results).orElse(Collections.emptyList());
+                return results(responseBody);
             } catch (HttpClientErrorException e) {
                 throw new LakeFSException("Error retrieving commit history for branch: " + branchName + ", HTTP status: " + e.getStatusCode(), e);
             }
         });
+        refCache.put(key, List.copyOf(commits));
+        return commits;
     }
 
     @Override
@@ -444,6 +620,7 @@ public class LakeFSApiService implements ILakeFSApiService {
             }
             return null;
         });
+        refCache.invalidateCommits(config.getTenant(), repositoryName, branchName);
     }
 
     @Override
@@ -462,6 +639,7 @@ public class LakeFSApiService implements ILakeFSApiService {
             }
             return null;
         });
+        refCache.invalidateBranch(config.getTenant(), repositoryName, branchName);
     }
 
     @Override
@@ -479,6 +657,157 @@ public class LakeFSApiService implements ILakeFSApiService {
             }
             return null;
         });
+        refCache.invalidateRepository(config.getTenant(), repositoryName);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> repositoryExistsAsync(LFSConfig config, String repositoryName) {
+        validateRepositoryName(repositoryName);
+        validateConfig(config);
+        return existsAsync(config, LakeFSRefCache.Key.repositoryExists(config.getTenant(), repositoryName),
+                new String[]{"repositories", repositoryName}, "repository: " + repositoryName);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> branchExistsAsync(LFSConfig config, String repositoryName, String branchName) {
+        validateRepositoryName(repositoryName);
+        validateBranchName(branchName);
+        validateConfig(config);
+        return existsAsync(config, LakeFSRefCache.Key.branchExists(config.getTenant(), repositoryName, branchName),
+                new String[]{"repositories", repositoryName, "branches", branchName}, "branch: " + branchName);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getBranchesAsync(LFSConfig config, String repositoryName) {
+        validateRepositoryName(repositoryName);
+        validateConfig(config);
+        LakeFSRefCache.Key key = LakeFSRefCache.Key.branches(config.getTenant(), repositoryName);
+        List<String> cached = refCache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(new ArrayList<>(cached));
+        }
+        URI uri = buildLakeFSUri(config, new String[]{"repositories", repositoryName, "branches"}, null);
+        return executeWithRetryAsync(() -> sendAsync(config, uri, "listing branches in repository: " + repositoryName)
+                .thenApply(response -> resultIds(readJson(response))))
+                .thenApply(branches -> {
+                    refCache.put(key, List.copyOf(branches));
+                    return branches;
+                });
+    }
+
+    @Override
+    public CompletableFuture<List<Map<String, Object>>> getCommitHistoryAsync(LFSConfig config, String repositoryName,
+                                                                              String branchName, int limit) {
+        validateRepositoryName(repositoryName);
+        validateBranchName(branchName);
+        validateConfig(config);
+        LakeFSRefCache.Key key = LakeFSRefCache.Key.commits(config.getTenant(), repositoryName, branchName, limit);
+        List<Map<String, Object>> cached = refCache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(new ArrayList<>(cached));
+        }
+        URI uri = buildLakeFSUri(config, new String[]{"repositories", repositoryName, "refs", branchName, "commits"},
+                limit > 0 ? Map.of("amount", limit) : null);
+        return executeWithRetryAsync(() -> sendAsync(config, uri, "retrieving commit history for branch: " + branchName)
+                .thenApply(response -> results(readJson(response))))
+                .thenApply(commits -> {
+                    refCache.put(key, List.copyOf(commits));
+                    return commits;
+                });
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getObjectAsync(LFSConfig config, String repositoryName, String reference, String objectName) {
+        validateObjectParams(repositoryName, reference, objectName);
+        validateConfig(config);
+        URI uri = buildLakeFSUri(config, new String[]{"repositories", repositoryName, "refs", reference, "objects"},
+                Map.of("path", objectName));
+        return executeWithRetryAsync(() -> sendAsync(config, uri, "retrieving object: " + objectName)
+                .thenApply(HttpResponse::body));
+    }
+
+    private CompletableFuture<Boolean> existsAsync(LFSConfig config, LakeFSRefCache.Key key, String[] pathSegments, String description) {
+        Boolean cached = refCache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        URI uri = buildLakeFSUri(config, pathSegments, null);
+        return executeWithRetryAsync(() -> getHttpClient(config)
+                .sendAsync(LakeFSHttpClient.request(uri).GET(), HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> {
+                    if (response.statusCode() == HttpStatus.NOT_FOUND.value()) {
+                        return false;
+                    }
+                    if (response.statusCode() >= 400) {
+                        throw new LakeFSException("Error checking existence of " + description + ", HTTP status: " + response.statusCode());
+                    }
+                    return true;
+                }))
+                .thenApply(exists -> {
+                    refCache.put(key, exists);
+                    return exists;
+                });
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> sendAsync(LFSConfig config, URI uri, String description) {
+        return getHttpClient(config)
+                .sendAsync(LakeFSHttpClient.request(uri).GET(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() >= 400) {
+                        throw new LakeFSException("Error " + description + ", HTTP status: " + response.statusCode());
+                    }
+                    return response;
+                });
+    }
+
+    private static Map<String, Object> readJson(HttpResponse<byte[]> response) {
+        try {
+            return OBJECT_MAPPER.readValue(response.body(), JSON_OBJECT);
+        } catch (IOException e) {
+            throw new LakeFSException("Invalid JSON response from: " + response.uri(), e);
+        }
+    }
+
+    private static List<Map<String, Object>> results(Map<String, Object> responseBody) {
+        List<Map<String, Object>> results = (List<Map<String, Object>>) responseBody.get("results");
+        return Optional.ofNullable(results).orElse(Collections.emptyList());
+    }
+
+    private static List<String> resultIds(Map<String, Object> responseBody) {
+        return results(responseBody).stream()
+                .map(result -> (String) result.get("id"))
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toList());
+    }
+
+    private <T> CompletableFuture<T> executeWithRetryAsync(Supplier<CompletableFuture<T>> operation) {
+        return executeWithRetryAsync(operation, 1);
+    }
+
+    private <T> CompletableFuture<T> executeWithRetryAsync(Supplier<CompletableFuture<T>> operation, int attempt) {
+        CompletableFuture<T> future;
+        try {
+            future = operation.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.handle((value, error) -> {
+            if (error == null) {
+                return CompletableFuture.completedFuture(value);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            // Transport failures are retried like LakeFS errors, anything else is a caller error
+            if (cause instanceof IOException) {
+                cause = new LakeFSException("LakeFS request failed", cause);
+            }
+            if (!(cause instanceof LakeFSException) || attempt >= MAX_RETRIES) {
+                return CompletableFuture.<T>failedFuture(cause);
+            }
+            log.warn("Retrying async operation, attempt {}/{}", attempt + 1, MAX_RETRIES);
+            long delay = (long) RETRY_DELAY_MS * (1 << attempt); // Exponential backoff
+            return CompletableFuture.supplyAsync(() -> attempt + 1, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                    .thenCompose(next -> executeWithRetryAsync(operation, next));
+        }).thenCompose(Function.identity());
     }
 
     private <T> T executeWithRetry(Supplier<T> operation) {
@@ -547,7 +876,13 @@ public class LakeFSApiService implements ILakeFSApiService {
     public boolean branchExists(LFSConfig config, String repositoryName, String branchName) {
         validateRepositoryName(repositoryName);
         validateBranchName(branchName);
-        return executeWithRetry(() -> {
+        validateConfig(config);
+        LakeFSRefCache.Key key = LakeFSRefCache.Key.branchExists(config.getTenant(), repositoryName, branchName);
+        Boolean cached = refCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        boolean exists = executeWithRetry(() -> {
             try {
                 RestTemplate client = getConnection(config);
                 String url = buildLakeFSUrl(config, new String[]{"repositories", repositoryName, "branches", branchName}, null);
@@ -560,6 +895,8 @@ public class LakeFSApiService implements ILakeFSApiService {
                 throw new LakeFSException("Error checking branch existence: " + branchName, e);
             }
         });
+        refCache.put(key, exists);
+        return exists;
     }
 
     @Override
@@ -567,6 +904,9 @@ public class LakeFSApiService implements ILakeFSApiService {
         validateRepositoryName(repositoryName);
         validateBranchName(branchName);
         validateBranchName(sourceBranch);
+        validateConfig(config);
+        // The existence check below must see the live state
+        refCache.invalidateBranch(config.getTenant(), repositoryName, branchName);
         executeWithRetry(() -> {
             try {
                 if (!branchExists(config, repositoryName, branchName)) {
@@ -599,6 +939,7 @@ public class LakeFSApiService implements ILakeFSApiService {
             }
             return null;
         });
+        refCache.invalidateBranch(config.getTenant(), repositoryName, branchName);
     }
 
     @Override
@@ -711,6 +1052,20 @@ public class LakeFSApiService implements ILakeFSApiService {
     @Override
     public List<FileStorage> getObjectByMetadata(LFSConfig config, String repositoryName, String reference,
                                                  Map<String, String> metadata, IEnumLogicalOperator.Types condition) {
+        try (Stream<FileStorage> stream = streamObjectByMetadata(config, repositoryName, reference, metadata, condition)) {
+            List<FileStorage> filteredObjects = stream.collect(Collectors.toList());
+            log.info("Found {} objects matching metadata criteria (condition: {}) in repository: {}, branch: {}",
+                    filteredObjects.size(), condition, repositoryName, reference);
+            return filteredObjects;
+        } catch (LakeFSException e) {
+            log.error("Error retrieving objects by metadata in repository: {}, branch: {}", repositoryName, reference, e);
+            throw new LakeFSException("Error retrieving objects by metadata in repository: " + repositoryName + ", branch: " + reference, e);
+        }
+    }
+
+    @Override
+    public Stream<FileStorage> streamObjectByMetadata(LFSConfig config, String repositoryName, String reference,
+                                                      Map<String, String> metadata, IEnumLogicalOperator.Types condition) {
         validateRepositoryName(repositoryName);
         validateBranchName(reference);
         if (metadata == null || metadata.isEmpty()) {
@@ -719,103 +1074,74 @@ public class LakeFSApiService implements ILakeFSApiService {
         if (condition == null) {
             throw new IllegalArgumentException("Logical operator condition cannot be null");
         }
-
-        return executeWithRetry(() -> {
-            try {
-                // Get all objects from the repository/branch
-                List<FileStorage> allObjects = getObjects(config, repositoryName, reference, "");
-
-                if (allObjects.isEmpty()) {
-                    log.debug("No objects found in repository: {}, branch: {}", repositoryName, reference);
-                    return Collections.emptyList();
-                }
-
-                // Filter objects based on metadata and condition
-                List<FileStorage> filteredObjects = allObjects.stream()
-                        .filter(obj -> obj.metadata != null && !obj.metadata.isEmpty())
-                        .filter(obj -> {
-                            boolean matches = false;
-
-                            if (condition == IEnumLogicalOperator.Types.AND) {
-                                // For AND: all provided metadata entries must match
-                                matches = metadata.entrySet().stream()
-                                        .allMatch(entry -> {
-                                            String objectValue = obj.metadata.get(entry.getKey());
-                                            return objectValue != null && objectValue.equals(entry.getValue());
-                                        });
-                            } else if (condition == IEnumLogicalOperator.Types.OR) {
-                                // For OR: at least one provided metadata entry must match
-                                matches = metadata.entrySet().stream()
-                                        .anyMatch(entry -> {
-                                            String objectValue = obj.metadata.get(entry.getKey());
-                                            return objectValue != null && objectValue.equals(entry.getValue());
-                                        });
-                            }
-
-                            return matches;
-                        })
-                        .collect(Collectors.toList());
-
-                log.info("Found {} objects matching metadata criteria (condition: {}) in repository: {}, branch: {}",
-                        filteredObjects.size(), condition, repositoryName, reference);
-
-                return filteredObjects;
-
-            } catch (Exception e) {
-                log.error("Error retrieving objects by metadata in repository: {}, branch: {}", repositoryName, reference, e);
-                throw new LakeFSException("Error retrieving objects by metadata in repository: " + repositoryName + ", branch: " + reference, e);
-            }
-        });
+        return streamObjects(config, repositoryName, reference, "", DEFAULT_PAGE_SIZE, true)
+                .filter(obj -> matchesMetadata(obj.metadata, metadata, condition));
     }
 
     @Override
     public List<FileStorage> getObjects(LFSConfig config, String repositoryName, String reference, String prefix) {
+        try (Stream<FileStorage> stream = streamObjects(config, repositoryName, reference, prefix, DEFAULT_PAGE_SIZE, true)) {
+            List<FileStorage> fileStorageList = stream.collect(Collectors.toList());
+            log.info("Retrieved {} objects from repository: {}, branch: {}", fileStorageList.size(), repositoryName, reference);
+            return fileStorageList;
+        }
+    }
+
+    @Override
+    public Stream<FileStorage> streamObjects(LFSConfig config, String repositoryName, String reference, String prefix,
+                                             int pageSize, boolean prefetch) {
         validateRepositoryName(repositoryName);
         validateBranchName(reference);
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
         // Convert null prefix to empty string
         final String effectivePrefix = prefix != null ? prefix : "";
+        ObjectStatsIterator iterator = new ObjectStatsIterator(
+                after -> listObjectsPage(config, repositoryName, reference, effectivePrefix, after, pageSize), prefetch);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close)
+                .map(ObjectStats::toFileStorage);
+    }
+
+    private ObjectStatsList listObjectsPage(LFSConfig config, String repositoryName, String reference, String prefix,
+                                            String after, int pageSize) {
         return executeWithRetry(() -> {
             try {
                 RestTemplate client = getConnection(config);
-                Map<String, String> queryParams = Map.of(
-                        "prefix", effectivePrefix
-                );
-
-                String url = buildLakeFSUrl(config,
-                        new String[]{"repositories", repositoryName, "refs", reference, "objects", "ls"},
-                        queryParams);
-
-                log.debug("Listing objects from URL: {}", url);
+                Map<String, Object> queryParams = new LinkedHashMap<>();
+                queryParams.put("prefix", prefix);
+                queryParams.put("amount", pageSize);
+                if (StringUtils.hasText(after)) {
+                    queryParams.put("after", after);
+                }
+                URI uri = buildLakeFSUri(config,
+                        new String[]{"repositories", repositoryName, "refs", reference, "objects", "ls"}, queryParams);
 
-                ResponseEntity<Map> response = client.getForEntity(url, Map.class);
-                Map<String, Object> responseBody = Optional.ofNullable(response.getBody())
+                log.debug("Listing objects from URL: {}", uri);
+                return Optional.ofNullable(client.getForObject(uri, ObjectStatsList.class))
                         .orElseThrow(() -> new LakeFSException("Empty response body for object listing"));
-
-                log.debug("Objects response: {}", responseBody);
-
-                List<Map<String, Object>> results = (List<Map<String, Object>>) responseBody.get("results");
-                List<FileStorage> fileStorageList = new ArrayList<>();
-                for (Map<String, Object> item : Optional.ofNullable(results).orElse(Collections.emptyList())) {
-                    FileStorage fileObject = new FileStorage();
-                    fileObject.objectName = (String) item.get("path");
-                    fileObject.size = item.get("size_bytes") != null ? ((Number) item.get("size_bytes")).longValue() : 0L;
-                    fileObject.etag = (String) item.get("checksum");
-                    fileObject.lastModified = item.get("mtime") != null ?
-                            Instant.ofEpochSecond((Integer) item.get("mtime")).atZone(ZoneId.systemDefault()) : null;
-                    fileObject.metadata = (Map<String, String>) item.get("metadata");
-                    fileObject.pathType = (String) item.get("path_type");
-                    fileStorageList.add(fileObject);
-                }
-                log.info("Retrieved {} objects from repository: {}, branch: {}", fileStorageList.size(), repositoryName, reference);
-                return fileStorageList;
             } catch (HttpClientErrorException e) {
                 log.error("Objects listing error - Status: {}, Body: {}", e.getStatusCode(), e.getResponseBodyAsString());
                 throw new LakeFSException("Error listing objects in repository: " + repositoryName +
                         ", HTTP status: " + e.getStatusCode(), e);
+            } catch (RestClientException e) {
+                throw new LakeFSException("Error listing objects in repository: " + repositoryName, e);
             }
         });
     }
 
+    private static boolean matchesMetadata(Map<String, String> objectMetadata, Map<String, String> metadata,
+                                           IEnumLogicalOperator.Types condition) {
+        if (objectMetadata == null || objectMetadata.isEmpty()) {
+            return false;
+        }
+        // AND: all provided metadata entries must match, OR: at least one must match
+        return condition == IEnumLogicalOperator.Types.AND
+                ? metadata.entrySet().stream().allMatch(entry -> entry.getValue().equals(objectMetadata.get(entry.getKey())))
+                : metadata.entrySet().stream().anyMatch(entry -> entry.getValue().equals(objectMetadata.get(entry.getKey())));
+    }
+
     @Override
     public void updateMetadata(LFSConfig config, String repositoryName, String branchName, String objectName, Map<String, String> metadata) {
         validateObjectParams(repositoryName, branchName, objectName);
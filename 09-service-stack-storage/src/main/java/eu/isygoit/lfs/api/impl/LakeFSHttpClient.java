@@ -0,0 +1,252 @@
+package eu.isygoit.lfs.api.impl;
+
+import eu.isygoit.exception.LakeFSException;
+import eu.isygoit.lfs.config.LFSConfig;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The type Lake fs http client.
+ * <p>
+ * One instance per tenant. Wraps a JDK {@link HttpClient}, which keeps connections alive and reuses them across
+ * requests, and bounds the number of requests in flight to {@link LFSConfig#getMaxConnections()} so that a tenant
+ * never holds more connections than configured. Blocking calls go through the {@link RestTemplate} built by
+ * {@link #createRestTemplate()}; non-blocking calls go through {@link #sendAsync(HttpRequest.Builder, HttpResponse.BodyHandler)}
+ * and wait for a free slot without holding a thread. A blocking call keeps its slot until its response is closed, once
+ * the body has been read.
+ */
+final class LakeFSHttpClient {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final long PERMIT_TIMEOUT_MS = 30_000;
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final String authorization;
+    private final Duration readTimeout;
+    private final int maxConnections;
+    private final Semaphore permits;
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+
+    /**
+     * Instantiates a new Lake fs http client.
+     *
+     * @param config         the config
+     * @param connectTimeout the connect timeout
+     * @param readTimeout    the read timeout
+     */
+    LakeFSHttpClient(LFSConfig config, Duration connectTimeout, Duration readTimeout) {
+        this.maxConnections = Math.max(1, config.getMaxConnections());
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "lakefs-http-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+        String credentials = config.getUserName() + ":" + config.getPassword();
+        this.authorization = "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+        this.readTimeout = readTimeout;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * Create a rest template sharing this client's connections and limits.
+     *
+     * @return the rest template
+     */
+    RestTemplate createRestTemplate() {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        // Remove custom text/plain converter to avoid JSON parsing for byte[] responses
+        restTemplate.getMessageConverters().removeIf(converter ->
+                converter instanceof MappingJackson2HttpMessageConverter);
+        // Add default MappingJackson2HttpMessageConverter for JSON responses
+        restTemplate.getMessageConverters().add(new MappingJackson2HttpMessageConverter());
+        restTemplate.getInterceptors().add((ClientHttpRequestInterceptor) (request, body, execution) -> {
+            request.getHeaders().add("Authorization", authorization);
+            acquire();
+            try {
+                // The connection is in use until the body is read: the slot is released when the response is closed
+                return new PermitResponse(execution.execute(request, body));
+            } catch (IOException | RuntimeException e) {
+                release();
+                throw e;
+            }
+        });
+        return restTemplate;
+    }
+
+    /**
+     * Close the client once the requests in flight have completed, stopping the threads of its executor.
+     */
+    void close() {
+        closed = true;
+        shutdownIfIdle();
+    }
+
+    /**
+     * Send a request asynchronously once a connection slot is free.
+     *
+     * @param <T>         the body type
+     * @param request     the request, without authorization
+     * @param bodyHandler the body handler
+     * @return the response future
+     */
+    <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest.Builder request, HttpResponse.BodyHandler<T> bodyHandler) {
+        HttpRequest httpRequest = request
+                .header("Authorization", authorization)
+                .timeout(readTimeout)
+                .build();
+        return submit(() -> httpClient.sendAsync(httpRequest, bodyHandler));
+    }
+
+    /**
+     * Build a request for the uri.
+     *
+     * @param uri the uri
+     * @return the request builder
+     */
+    static HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri).header("Accept", "application/json");
+    }
+
+    /**
+     * Gets the number of free connection slots.
+     *
+     * @return the available permits
+     */
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        waiting.add(() -> {
+            CompletableFuture<T> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                release();
+                result.completeExceptionally(e);
+                return;
+            }
+            future.whenComplete((value, error) -> {
+                release();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        drain();
+        return result;
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(PERMIT_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new LakeFSException("Timed out waiting for a LakeFS connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LakeFSException("Interrupted while waiting for a LakeFS connection", e);
+        }
+    }
+
+    private void release() {
+        permits.release();
+        drain();
+        shutdownIfIdle();
+    }
+
+    private void shutdownIfIdle() {
+        if (closed && waiting.isEmpty() && permits.availablePermits() == maxConnections) {
+            executor.shutdown();
+        }
+    }
+
+    private void drain() {
+        // Hand free slots to queued async calls; a slot taken here is released when the call completes
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                permits.release();
+                return;
+            }
+            next.run();
+        }
+    }
+
+    private final class PermitResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitResponse(ClientHttpResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package eu.isygoit.lfs.api.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * The type Lake fs ref cache.
+ * <p>
+ * Short-lived cache of repository, branch and commit metadata, keyed by tenant. Entries expire after the configured
+ * TTL and are dropped explicitly by the write operations that change them (branch creation and deletion, commits,
+ * merges, reverts, repository creation and deletion). A zero TTL disables caching.
+ */
+final class LakeFSRefCache {
+
+    private static final long MAXIMUM_SIZE = 10_000;
+
+    private final Cache<Key, Object> cache;
+
+    /**
+     * Instantiates a new Lake fs ref cache.
+     *
+     * @param ttl the time to live of an entry
+     */
+    LakeFSRefCache(Duration ttl) {
+        this.cache = ttl == null || ttl.isZero() || ttl.isNegative()
+                ? null
+                : Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(MAXIMUM_SIZE).build();
+    }
+
+    /**
+     * Gets a cached value.
+     *
+     * @param <T> the value type
+     * @param key the key
+     * @return the value, or null when absent
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(Key key) {
+        return cache != null ? (T) cache.getIfPresent(key) : null;
+    }
+
+    /**
+     * Put a value.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    void put(Key key, Object value) {
+        if (cache != null && value != null) {
+            cache.put(key, value);
+        }
+    }
+
+    /**
+     * Invalidate everything cached for a repository.
+     *
+     * @param tenant     the tenant
+     * @param repository the repository
+     */
+    void invalidateRepository(String tenant, String repository) {
+        invalidate(key -> key.tenant().equals(tenant) && key.repository().equals(repository));
+    }
+
+    /**
+     * Invalidate the branch existence and branch list of a repository.
+     *
+     * @param tenant     the tenant
+     * @param repository the repository
+     * @param branch     the branch
+     */
+    void invalidateBranch(String tenant, String repository, String branch) {
+        invalidate(key -> key.tenant().equals(tenant) && key.repository().equals(repository)
+                && (key.kind() == Kind.BRANCHES || Objects.equals(key.ref(), branch)));
+    }
+
+    /**
+     * Invalidate the commit history of a branch.
+     *
+     * @param tenant     the tenant
+     * @param repository the repository
+     * @param branch     the branch
+     */
+    void invalidateCommits(String tenant, String repository, String branch) {
+        invalidate(key -> key.kind() == Kind.COMMITS && key.tenant().equals(tenant)
+                && key.repository().equals(repository) && Objects.equals(key.ref(), branch));
+    }
+
+    /**
+     * Invalidate everything cached for a tenant.
+     *
+     * @param tenant the tenant
+     */
+    void invalidateTenant(String tenant) {
+        invalidate(key -> key.tenant().equals(tenant));
+    }
+
+    private void invalidate(Predicate<Key> predicate) {
+        if (cache != null) {
+            cache.asMap().keySet().removeIf(predicate);
+        }
+    }
+
+    /**
+     * The enum Kind.
+     */
+    enum Kind {
+        /**
+         * Repository exists kind.
+         */
+        REPOSITORY_EXISTS,
+        /**
+         * Branch exists kind.
+         */
+        BRANCH_EXISTS,
+        /**
+         * Branches kind.
+         */
+        BRANCHES,
+        /**
+         * Commits kind.
+         */
+        COMMITS
+    }
+
+    /**
+     * The type Key.
+     *
+     * @param tenant     the tenant
+     * @param kind       the kind
+     * @param repository the repository
+     * @param ref        the branch or reference, null for repository-level entries
+     * @param limit      the result limit, 0 when not applicable
+     */
+    record Key(String tenant, Kind kind, String repository, String ref, int limit) {
+
+        /**
+         * Repository exists key.
+         *
+         * @param tenant     the tenant
+         * @param repository the repository
+         * @return the key
+         */
+        static Key repositoryExists(String tenant, String repository) {
+            return new Key(tenant, Kind.REPOSITORY_EXISTS, repository, null, 0);
+        }
+
+        /**
+         * Branch exists key.
+         *
+         * @param tenant     the tenant
+         * @param repository the repository
+         * @param branch     the branch
+         * @return the key
+         */
+        static Key branchExists(String tenant, String repository, String branch) {
+            return new Key(tenant, Kind.BRANCH_EXISTS, repository, branch, 0);
+        }
+
+        /**
+         * Branches key.
+         *
+         * @param tenant     the tenant
+         * @param repository the repository
+         * @return the key
+         */
+        static Key branches(String tenant, String repository) {
+            return new Key(tenant, Kind.BRANCHES, repository, null, 0);
+        }
+
+        /**
+         * Commits key.
+         *
+         * @param tenant     the tenant
+         * @param repository the repository
+         * @param branch     the branch
+         * @param limit      the limit
+         * @return the key
+         */
+        static Key commits(String tenant, String repository, String branch, int limit) {
+            return new Key(tenant, Kind.COMMITS, repository, branch, limit);
+        }
+    }
+}
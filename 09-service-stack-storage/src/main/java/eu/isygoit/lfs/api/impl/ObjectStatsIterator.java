@@ -0,0 +1,107 @@
+package eu.isygoit.lfs.api.impl;
+
+import eu.isygoit.exception.LakeFSException;
+import eu.isygoit.lfs.object.ObjectStats;
+import eu.isygoit.lfs.object.ObjectStatsList;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The type Object stats iterator.
+ * <p>
+ * Lazily walks a LakeFS listing page by page, following {@code pagination.next_offset}. Only the current page is held
+ * in memory; with prefetch enabled the next page is requested in the background as soon as the current one arrives,
+ * so that consumers do not wait on the network at page boundaries. Closing the iterator drops any pending prefetch.
+ */
+final class ObjectStatsIterator implements Iterator<ObjectStats>, AutoCloseable {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "lakefs-prefetch-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Function<String, ObjectStatsList> pageFetcher;
+    private final boolean prefetch;
+
+    private List<ObjectStats> page = Collections.emptyList();
+    private int position;
+    private String nextOffset;
+    private boolean lastPage;
+    private CompletableFuture<ObjectStatsList> pending;
+    private boolean closed;
+
+    /**
+     * Instantiates a new Object stats iterator.
+     *
+     * @param pageFetcher fetches the page following the given offset ({@code null} for the first page)
+     * @param prefetch    whether to request the next page in the background
+     */
+    ObjectStatsIterator(Function<String, ObjectStatsList> pageFetcher, boolean prefetch) {
+        this.pageFetcher = pageFetcher;
+        this.prefetch = prefetch;
+        accept(pageFetcher.apply(null));
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (position >= page.size()) {
+            if (lastPage || closed) {
+                return false;
+            }
+            accept(nextPage());
+        }
+        return true;
+    }
+
+    @Override
+    public ObjectStats next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.get(position++);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+
+    private void accept(ObjectStatsList response) {
+        page = response.results() != null ? response.results() : Collections.emptyList();
+        position = 0;
+        lastPage = !response.hasMore();
+        nextOffset = lastPage ? null : response.pagination().nextOffset();
+        if (prefetch && !lastPage) {
+            String offset = nextOffset;
+            pending = CompletableFuture.supplyAsync(() -> pageFetcher.apply(offset), PREFETCH_EXECUTOR);
+        }
+    }
+
+    private ObjectStatsList nextPage() {
+        if (pending == null) {
+            return pageFetcher.apply(nextOffset);
+        }
+        CompletableFuture<ObjectStatsList> future = pending;
+        pending = null;
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            if (e.getCause() instanceof LakeFSException lakeFSException) {
+                throw lakeFSException;
+            }
+            throw new LakeFSException("Error fetching next page after: " + nextOffset, e.getCause() != null ? e.getCause() : e);
+        }
+    }
+}
@@ -26,6 +26,8 @@ public class LFSConfig {
     private String url;
     @Builder.Default
     private String apiPrefix = "/api/v1";
+    @Builder.Default
+    private int maxConnections = 16;
 
     private S3Config s3Config;
 }
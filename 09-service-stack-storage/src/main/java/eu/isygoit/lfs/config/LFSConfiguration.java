@@ -5,8 +5,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -22,6 +22,6 @@ public class LFSConfiguration {
      */
     @Bean
     public Map<String, RestTemplate> lakeFSClientMap() {
-        return new HashMap<>();
+        return new ConcurrentHashMap<>();
     }
 }
@@ -0,0 +1,49 @@
+package eu.isygoit.lfs.object;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import eu.isygoit.s3.object.FileStorage;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Map;
+
+/**
+ * The type Object stats, as returned by the LakeFS {@code objects/ls} and {@code objects/stat} endpoints.
+ *
+ * @param path            the path
+ * @param pathType        the path type ({@code object} or {@code common_prefix})
+ * @param physicalAddress the physical address
+ * @param checksum        the checksum
+ * @param mtime           the modification time, in epoch seconds
+ * @param sizeBytes       the size in bytes
+ * @param contentType     the content type
+ * @param metadata        the user metadata
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ObjectStats(
+        @JsonProperty("path") String path,
+        @JsonProperty("path_type") String pathType,
+        @JsonProperty("physical_address") String physicalAddress,
+        @JsonProperty("checksum") String checksum,
+        @JsonProperty("mtime") Long mtime,
+        @JsonProperty("size_bytes") Long sizeBytes,
+        @JsonProperty("content_type") String contentType,
+        @JsonProperty("metadata") Map<String, String> metadata) {
+
+    /**
+     * To file storage.
+     *
+     * @return the file storage
+     */
+    public FileStorage toFileStorage() {
+        FileStorage fileObject = new FileStorage();
+        fileObject.objectName = path;
+        fileObject.size = sizeBytes != null ? sizeBytes : 0L;
+        fileObject.etag = checksum;
+        fileObject.lastModified = mtime != null ? Instant.ofEpochSecond(mtime).atZone(ZoneId.systemDefault()) : null;
+        fileObject.metadata = metadata;
+        fileObject.pathType = pathType;
+        return fileObject;
+    }
+}
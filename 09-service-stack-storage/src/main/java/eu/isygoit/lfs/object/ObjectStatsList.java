@@ -0,0 +1,27 @@
+package eu.isygoit.lfs.object;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * The type Object stats list, one page of a LakeFS {@code objects/ls} response.
+ *
+ * @param pagination the pagination
+ * @param results    the results
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ObjectStatsList(
+        @JsonProperty("pagination") Pagination pagination,
+        @JsonProperty("results") List<ObjectStats> results) {
+
+    /**
+     * Has more boolean.
+     *
+     * @return true when a next page must be requested
+     */
+    public boolean hasMore() {
+        return pagination != null && pagination.hasMore() && pagination.nextOffset() != null;
+    }
+}
@@ -0,0 +1,20 @@
+package eu.isygoit.lfs.object;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The type Pagination of a LakeFS list response.
+ *
+ * @param hasMore    whether more results are available
+ * @param nextOffset the value to pass as {@code after} to fetch the next page
+ * @param results    the number of results in this page
+ * @param maxPerPage the maximum page size accepted by the server
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Pagination(
+        @JsonProperty("has_more") boolean hasMore,
+        @JsonProperty("next_offset") String nextOffset,
+        @JsonProperty("results") int results,
+        @JsonProperty("max_per_page") int maxPerPage) {
+}
@@ -0,0 +1,94 @@
+package eu.isygoit.migration;
+
+import eu.isygoit.s3.config.S3Config;
+import eu.isygoit.s3.object.BulkOptions;
+import eu.isygoit.s3.object.BulkResult;
+import eu.isygoit.s3.object.FileStorage;
+import eu.isygoit.service.BulkExecutor;
+import eu.isygoit.service.IObjectStorageService;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.InputStream;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The type Bucket migration.
+ * <p>
+ * Copies the current version of every object of a bucket to a bucket of another storage engine (or another tenant of
+ * the same engine), streaming each object from the source to the target with bounded concurrency. Copied objects are
+ * recorded in the checkpoint as they complete: running the same migration again only copies what is missing, so an
+ * interrupted or partly failed migration is resumed by running it again. Object tags are not migrated.
+ * <p>
+ * Any {@link IObjectStorageService} engine can be source or target: objects are read through
+ * {@link IObjectStorageService#downloadStream} and written through {@link IObjectStorageService#uploadStream}. Engines
+ * that do not override them buffer each object in heap on read and spool it to a temporary file for their multipart
+ * file upload on write.
+ * <pre>{@code
+ * try (FileMigrationCheckpoint checkpoint = new FileMigrationCheckpoint(Path.of("migration/documents.chk"))) {
+ *     BulkResult result = BucketMigration.builder()
+ *             .source(minioService).sourceConfig(minioConfig).sourceBucket("documents")
+ *             .target(cephService).targetConfig(cephConfig).targetBucket("documents")
+ *             .checkpoint(checkpoint)
+ *             .build()
+ *             .run();
+ * }
+ * }</pre>
+ */
+@Slf4j
+@Builder
+public class BucketMigration {
+
+    @NonNull
+    private final IObjectStorageService source;
+    @NonNull
+    private final S3Config sourceConfig;
+    @NonNull
+    private final String sourceBucket;
+    @NonNull
+    private final IObjectStorageService target;
+    @NonNull
+    private final S3Config targetConfig;
+    @NonNull
+    private final String targetBucket;
+    @NonNull
+    private final IMigrationCheckpoint checkpoint;
+    @Builder.Default
+    private final BulkOptions options = BulkOptions.defaults();
+
+    /**
+     * Copy the objects not recorded in the checkpoint yet.
+     *
+     * @return the result of every object copied by this run; objects copied by a previous run are not included
+     */
+    public BulkResult run() {
+        List<FileStorage> objects = source.getObjects(sourceConfig, sourceBucket);
+        Set<String> pending = new LinkedHashSet<>();
+        int skipped = 0;
+        for (FileStorage object : objects) {
+            if (object.isCurrentVersion() || object.getVersionID() == null) {
+                if (checkpoint.isDone(object.getObjectName())) {
+                    skipped++;
+                } else {
+                    pending.add(object.getObjectName());
+                }
+            }
+        }
+        log.info("Migrating {} objects from bucket {} to bucket {} ({} already migrated)",
+                pending.size(), sourceBucket, targetBucket, skipped);
+
+        BulkResult result = BulkExecutor.forEach(List.copyOf(pending), name -> name, options, this::copy);
+        log.info("Migration from bucket {} to bucket {}: {}", sourceBucket, targetBucket, result);
+        return result;
+    }
+
+    private void copy(String objectName) throws Exception {
+        try (InputStream input = source.downloadStream(sourceConfig, sourceBucket, objectName, null)) {
+            target.uploadStream(targetConfig, targetBucket, null, objectName, null, null, input);
+        }
+        checkpoint.markDone(objectName);
+    }
+}
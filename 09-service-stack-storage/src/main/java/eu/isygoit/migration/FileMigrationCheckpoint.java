@@ -0,0 +1,83 @@
+package eu.isygoit.migration;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type File migration checkpoint.
+ * <p>
+ * Appends one line per copied object to a file, flushed at once, and reloads the file when opened again. Object names
+ * are URL-encoded so that any key fits on one line.
+ */
+public class FileMigrationCheckpoint implements IMigrationCheckpoint, Closeable {
+
+    private final Set<String> done = ConcurrentHashMap.newKeySet();
+    private final BufferedWriter writer;
+
+    /**
+     * Instantiates a new File migration checkpoint, loading the objects recorded by a previous run.
+     *
+     * @param file the checkpoint file, created when missing
+     * @throws IOException the io exception
+     */
+    public FileMigrationCheckpoint(Path file) throws IOException {
+        if (Files.exists(file)) {
+            try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+                lines.filter(line -> !line.isEmpty())
+                        .map(line -> URLDecoder.decode(line, StandardCharsets.UTF_8))
+                        .forEach(done::add);
+            }
+        } else if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public boolean isDone(String objectName) {
+        return done.contains(objectName);
+    }
+
+    @Override
+    public void markDone(String objectName) {
+        synchronized (writer) {
+            if (done.contains(objectName)) {
+                return;
+            }
+            try {
+                writer.write(URLEncoder.encode(objectName, StandardCharsets.UTF_8));
+                writer.newLine();
+                writer.flush();
+                done.add(objectName);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to record checkpoint of: " + objectName, e);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of recorded objects.
+     *
+     * @return the int
+     */
+    public int size() {
+        return done.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writer) {
+            writer.close();
+        }
+    }
+}
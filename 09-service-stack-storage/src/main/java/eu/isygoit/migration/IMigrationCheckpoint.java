@@ -0,0 +1,25 @@
+package eu.isygoit.migration;
+
+/**
+ * The interface Migration checkpoint.
+ * <p>
+ * Records the objects a {@link BucketMigration} already copied, so an interrupted migration resumes where it stopped.
+ * Implementations are called concurrently.
+ */
+public interface IMigrationCheckpoint {
+
+    /**
+     * Is done boolean.
+     *
+     * @param objectName the object name
+     * @return true when the object was already copied
+     */
+    boolean isDone(String objectName);
+
+    /**
+     * Mark done.
+     *
+     * @param objectName the object name
+     */
+    void markDone(String objectName);
+}
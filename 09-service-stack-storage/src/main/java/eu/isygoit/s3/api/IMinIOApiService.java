@@ -2,20 +2,30 @@ package eu.isygoit.s3.api;
 
 import eu.isygoit.enums.IEnumLogicalOperator;
 import eu.isygoit.s3.config.S3Config;
+import eu.isygoit.s3.index.ITagIndexRebuilder;
+import eu.isygoit.s3.object.BulkOptions;
+import eu.isygoit.s3.object.BulkResult;
+import eu.isygoit.s3.object.BulkUpload;
+import eu.isygoit.s3.object.ByteRange;
 import eu.isygoit.s3.object.FileStorage;
 import eu.isygoit.s3.object.MetaData;
+import eu.isygoit.s3.object.MultipartUploadOptions;
 import io.minio.MinioClient;
 import io.minio.messages.Bucket;
 import io.minio.messages.DeleteObject;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
 /**
  * The interface Min io api service.
  */
-public interface IMinIOApiService {
+public interface IMinIOApiService extends ITagIndexRebuilder {
     /**
      * Gets connection.
      *
@@ -31,6 +41,13 @@ public interface IMinIOApiService {
      */
     void updateConnection(S3Config config);
 
+    /**
+     * Refresh connection: drop the cached client of the tenant, the next operation reconnects.
+     *
+     * @param tenant the tenant
+     */
+    void refreshConnection(String tenant);
+
     /**
      * Bucket exists boolean.
      *
@@ -79,6 +96,66 @@ public interface IMinIOApiService {
      */
     byte[] getObject(S3Config config, String bucketName, String objectName, String versionID);
 
+    /**
+     * Gets object stream.
+     * <p>
+     * The returned stream reads directly from the connection and must be closed by the caller; nothing is
+     * buffered in heap beyond the transport buffers.
+     *
+     * @param config     the config
+     * @param bucketName the bucket name
+     * @param objectName the object name
+     * @param versionID  the version id
+     * @return the object stream
+     */
+    InputStream getObjectStream(S3Config config, String bucketName, String objectName, String versionID);
+
+    /**
+     * Gets object range, using an HTTP range read.
+     *
+     * @param config     the config
+     * @param bucketName the bucket name
+     * @param objectName the object name
+     * @param versionID  the version id
+     * @param range      the byte range
+     * @return the stream of the requested bytes
+     */
+    InputStream getObjectRange(S3Config config, String bucketName, String objectName, String versionID, ByteRange range);
+
+    /**
+     * Gets object channel.
+     *
+     * @param config     the config
+     * @param bucketName the bucket name
+     * @param objectName the object name
+     * @param versionID  the version id
+     * @return the readable byte channel
+     */
+    default ReadableByteChannel getObjectChannel(S3Config config, String bucketName, String objectName, String versionID) {
+        return Channels.newChannel(getObjectStream(config, bucketName, objectName, versionID));
+    }
+
+    /**
+     * Upload a stream of unknown length, one part at a time.
+     *
+     * @param config   the config
+     * @param metaData the metaData
+     * @param input    the input stream, not closed by this method
+     * @return the metadata of the stored object
+     */
+    MetaData uploadStream(S3Config config, MetaData metaData, InputStream input);
+
+    /**
+     * Upload a stream of unknown length as a parallel multipart upload.
+     *
+     * @param config   the config
+     * @param metaData the metaData
+     * @param input    the input stream, not closed by this method
+     * @param options  the part size and concurrency
+     * @return the metadata of the stored object
+     */
+    MetaData uploadMultipart(S3Config config, MetaData metaData, InputStream input, MultipartUploadOptions options);
+
     /**
      * Gets presigned object url.
      *
@@ -89,6 +166,28 @@ public interface IMinIOApiService {
      */
     String getPresignedObjectUrl(S3Config config, String bucketName, String objectName);
 
+    /**
+     * Gets presigned object url, valid for the given duration.
+     *
+     * @param config     the config
+     * @param bucketName the bucket name
+     * @param objectName the object name
+     * @param expiry     the validity of the url
+     * @return the presigned GET url
+     */
+    String getPresignedObjectUrl(S3Config config, String bucketName, String objectName, Duration expiry);
+
+    /**
+     * Gets presigned upload url, to PUT the object straight to the bucket.
+     *
+     * @param config     the config
+     * @param bucketName the bucket name
+     * @param objectName the object name
+     * @param expiry     the validity of the url
+     * @return the presigned PUT url
+     */
+    String getPresignedUploadUrl(S3Config config, String bucketName, String objectName, Duration expiry);
+
     /**
      * Delete object.
      *
@@ -138,6 +237,50 @@ public interface IMinIOApiService {
      */
     void deleteObjects(S3Config config, String bucketName, List<DeleteObject> objects);
 
+    /**
+     * Upload files concurrently.
+     *
+     * @param config  the config
+     * @param uploads the files and the metadata they are stored under
+     * @param options the concurrency and rate limit
+     * @return the result of every upload, keyed by full object name
+     */
+    BulkResult uploadAll(S3Config config, List<BulkUpload> uploads, BulkOptions options);
+
+    /**
+     * Delete objects with multi-object delete requests, batches sent concurrently.
+     *
+     * @param config      the config
+     * @param bucketName  the bucket name
+     * @param objectNames the object names
+     * @param options     the batch size, concurrency and rate limit
+     * @return the result of every deletion
+     */
+    BulkResult deleteAll(S3Config config, String bucketName, List<String> objectNames, BulkOptions options);
+
+    /**
+     * Copy objects server-side, under the same names, to another bucket of the same storage.
+     *
+     * @param config       the config
+     * @param sourceBucket the source bucket
+     * @param targetBucket the target bucket
+     * @param objectNames  the object names
+     * @param options      the concurrency and rate limit
+     * @return the result of every copy
+     */
+    BulkResult copyAll(S3Config config, String sourceBucket, String targetBucket, List<String> objectNames, BulkOptions options);
+
+    /**
+     * Replace the tags of objects concurrently.
+     *
+     * @param config     the config
+     * @param bucketName the bucket name
+     * @param tags       the new tags, by object name
+     * @param options    the concurrency and rate limit
+     * @return the result of every update
+     */
+    BulkResult updateTagsAll(S3Config config, String bucketName, Map<String, Map<String, String>> tags, BulkOptions options);
+
     /**
      * Delete bucket.
      *
@@ -0,0 +1,81 @@
+package eu.isygoit.s3.api.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Bounded parallel.
+ * <p>
+ * Runs one remote call per item with at most {@code parallelism} calls in flight and returns the results in item
+ * order. Used for per-object calls (tag fetches) that the storage APIs do not offer in bulk.
+ */
+final class BoundedParallel {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private BoundedParallel() {
+    }
+
+    /**
+     * Map each item with the call.
+     *
+     * @param <T>         the item type
+     * @param <R>         the result type
+     * @param items       the items
+     * @param parallelism the maximum number of concurrent calls
+     * @param call        the call
+     * @return the results, in item order
+     * @throws Exception the first failure
+     */
+    static <T, R> List<R> map(List<T> items, int parallelism, Call<T, R> call) throws Exception {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int threads = Math.max(1, Math.min(parallelism, items.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "s3-parallel-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<R>> futures = new ArrayList<>(items.size());
+            for (T item : items) {
+                futures.add(executor.submit(() -> call.apply(item)));
+            }
+            List<R> results = new ArrayList<>(items.size());
+            for (Future<R> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The interface Call.
+     *
+     * @param <T> the item type
+     * @param <R> the result type
+     */
+    @FunctionalInterface
+    interface Call<T, R> {
+        /**
+         * Apply r.
+         *
+         * @param item the item
+         * @return the r
+         * @throws Exception the exception
+         */
+        R apply(T item) throws Exception;
+    }
+}
@@ -2,25 +2,42 @@ package eu.isygoit.s3.api.impl;
 
 import eu.isygoit.enums.IEnumLogicalOperator;
 import eu.isygoit.exception.MinIoS3BucketException;
+import eu.isygoit.factory.TenantClientCache;
 import eu.isygoit.s3.api.IMinIOApiService;
 import eu.isygoit.s3.config.S3Config;
+import eu.isygoit.s3.index.IObjectTagIndex;
+import eu.isygoit.s3.index.TaggedObject;
+import eu.isygoit.s3.object.BulkItemResult;
+import eu.isygoit.s3.object.BulkOptions;
+import eu.isygoit.s3.object.BulkResult;
+import eu.isygoit.s3.object.BulkUpload;
+import eu.isygoit.s3.object.ByteRange;
 import eu.isygoit.s3.object.FileStorage;
 import eu.isygoit.s3.object.MetaData;
+import eu.isygoit.s3.object.MultipartUploadOptions;
+import eu.isygoit.service.BulkExecutor;
 import io.minio.*;
+import io.minio.errors.ErrorResponseException;
 import io.minio.http.Method;
 import io.minio.messages.*;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 /**
  * The type Min io api service.
@@ -31,22 +48,40 @@ public class MinIOApiService implements IMinIOApiService {
     private static final int MAX_RETRIES = 3;
     private static final int RETRY_DELAY_MS = 1000;
     private static final int DEFAULT_PRESIGNED_URL_EXPIRY_HOURS = 2;
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final String MULTIPART_PREFIX = ".multipart/";
 
-    private final Map<String, MinioClient> minIoMap;
+    private static final int TAG_FETCH_PARALLELISM = 16;
+    // DeleteObject does not expose its key
+    private static final Field DELETE_OBJECT_NAME = ReflectionUtils.findField(DeleteObject.class, "name", String.class);
+
+    private final TenantClientCache<MinioClient> clients;
+    private final IObjectTagIndex tagIndex;
 
     /**
-     * Instantiates a new Min io api service.
+     * Instantiates a new Min io api service, without tag index.
      *
      * @param minIoMap the min io map
      */
     public MinIOApiService(Map<String, MinioClient> minIoMap) {
-        this.minIoMap = minIoMap;
+        this(minIoMap, null);
+    }
+
+    /**
+     * Instantiates a new Min io api service.
+     *
+     * @param minIoMap the min io map
+     * @param tagIndex the tag index, or null to query tags from the server
+     */
+    public MinIOApiService(Map<String, MinioClient> minIoMap, IObjectTagIndex tagIndex) {
+        this.clients = new TenantClientCache<>("MinIO", minIoMap, MinIOApiService::isReachable);
+        this.tagIndex = tagIndex;
     }
 
     @Override
     public MinioClient getConnection(S3Config config) {
         validateConfig(config);
-        return minIoMap.computeIfAbsent(config.getTenant(), k -> {
+        return clients.get(config.getTenant(), () -> {
             try {
                 return MinioClient.builder()
                         .endpoint(config.getUrl())
@@ -67,7 +102,7 @@ public class MinIOApiService implements IMinIOApiService {
                     .endpoint(config.getUrl())
                     .credentials(config.getUserName(), config.getPassword())
                     .build();
-            minIoMap.put(config.getTenant(), client);
+            clients.put(config.getTenant(), client);
             log.info("Updated MinIO connection for tenant: {}", config.getTenant());
         } catch (Exception e) {
             log.error("Failed to update MinIO connection for tenant: {}", config.getTenant(), e);
@@ -75,6 +110,11 @@ public class MinIOApiService implements IMinIOApiService {
         }
     }
 
+    @Override
+    public void refreshConnection(String tenant) {
+        clients.refresh(tenant);
+    }
+
     @Override
     public boolean bucketExists(S3Config config, String bucketName) {
         validateBucketName(bucketName);
@@ -133,7 +173,7 @@ public class MinIOApiService implements IMinIOApiService {
             try {
                 makeBucket(config, metaData.getBucketName());
                 MinioClient client = getConnection(config);
-                String fullPath = metaData.getPath() != null && !metaData.getPath().isEmpty() ? metaData.getPath() + "/" + metaData.getObjectName() : metaData.getObjectName();
+                String fullPath = buildFullPath(metaData);
                 client.putObject(PutObjectArgs.builder()
                         .bucket(metaData.getBucketName())
                         .object(fullPath)
@@ -143,26 +183,89 @@ public class MinIOApiService implements IMinIOApiService {
                         .build());
                 log.info("Uploaded file: {} to bucket: {}", fullPath, metaData.getBucketName());
                 // Get all real meta-data upload
-                StatObjectResponse stat = client.statObject(StatObjectArgs.builder().bucket(metaData.getBucketName()).object(fullPath).build());
-                Tags tags = client.getObjectTags(GetObjectTagsArgs.builder().bucket(metaData.getBucketName()).object(fullPath).build());
-                return MetaData.builder()
-                        .objectName(metaData.getObjectName())
-                        .bucketName(metaData.getBucketName())
-                        .path(metaData.getPath())
-                        .size(stat.size())
-                        .contentType(stat.contentType())
-                        .etag(stat.etag())
-                        .versionID(stat.versionId())
-                        .lastModified(stat.lastModified() != null ? stat.lastModified().toString() : null)
-                        .tagsMap(tags.get())
-                        .tags(tags.get().values().stream().distinct().toList())
-                        .build();
+                return completeUpload(config, client, metaData, fullPath);
             } catch (Exception e) {
                 throw new MinIoS3BucketException("Error uploading file: " + metaData.getObjectName(), e);
             }
         });
     }
 
+    /**
+     * Upload a stream of unknown length; the MinIO SDK cuts it into fixed size parts sent one after the other,
+     * so the object is never fully loaded in memory.
+     */
+    @Override
+    public MetaData uploadStream(S3Config config, MetaData metaData, InputStream input) {
+        return uploadMultipart(config, metaData, input, MultipartUploadOptions.sequential());
+    }
+
+    /**
+     * Parallel multipart upload.
+     * <p>
+     * The MinIO client does not expose the low level multipart API, so parts are uploaded in parallel as temporary
+     * objects, assembled server side by {@code composeObject} (UploadPartCopy), then removed. With a concurrency of 1
+     * the stream is handed to {@code putObject} directly.
+     */
+    @Override
+    public MetaData uploadMultipart(S3Config config, MetaData metaData, InputStream input, MultipartUploadOptions options) {
+        validateStreamUploadParams(metaData, input);
+        MultipartUploadOptions uploadOptions = options != null ? options : MultipartUploadOptions.defaults();
+        uploadOptions.validate();
+
+        makeBucket(config, metaData.getBucketName());
+        MinioClient client = getConnection(config);
+        String bucketName = metaData.getBucketName();
+        String fullPath = buildFullPath(metaData);
+        String contentType = metaData.getContentType() != null ? metaData.getContentType() : DEFAULT_CONTENT_TYPE;
+        Map<String, String> tags = metaData.getTagsMap() != null ? metaData.getTagsMap() : Collections.emptyMap();
+        try {
+            if (uploadOptions.getConcurrency() == 1) {
+                client.putObject(PutObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(fullPath)
+                        .tags(tags)
+                        .contentType(contentType)
+                        .stream(input, -1, uploadOptions.getPartSize())
+                        .build());
+                log.info("Uploaded stream: {} to bucket: {}", fullPath, bucketName);
+                return completeUpload(config, client, metaData, fullPath);
+            }
+
+            byte[] firstPart = ParallelPartUploader.readPart(input, uploadOptions.getPartSize());
+            if (firstPart.length < uploadOptions.getPartSize()) {
+                putBytes(client, bucketName, fullPath, contentType, tags, firstPart);
+                return completeUpload(config, client, metaData, fullPath);
+            }
+
+            String partPrefix = MULTIPART_PREFIX + UUID.randomUUID() + "/";
+            List<String> partObjects = Collections.synchronizedList(new ArrayList<>());
+            try {
+                List<ComposeSource> sources = ParallelPartUploader.uploadParts(firstPart, input, uploadOptions,
+                        (partNumber, data) -> {
+                            String partObject = partPrefix + String.format("%05d", partNumber);
+                            partObjects.add(partObject);
+                            putBytes(client, bucketName, partObject, DEFAULT_CONTENT_TYPE, Collections.emptyMap(), data);
+                            return ComposeSource.builder().bucket(bucketName).object(partObject).build();
+                        });
+                client.composeObject(ComposeObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(fullPath)
+                        .sources(sources)
+                        .tags(tags)
+                        .headers(Map.of("Content-Type", contentType))
+                        .build());
+                log.info("Uploaded {} parts of: {} to bucket: {}", sources.size(), fullPath, bucketName);
+            } finally {
+                removePartObjects(client, bucketName, partObjects);
+            }
+            return completeUpload(config, client, metaData, fullPath);
+        } catch (MinIoS3BucketException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MinIoS3BucketException("Error uploading stream: " + metaData.getObjectName(), e);
+        }
+    }
+
     @Override
     public byte[] getObject(S3Config config, String bucketName, String objectName, String versionID) {
         validateObjectParams(bucketName, objectName);
@@ -184,20 +287,63 @@ public class MinIOApiService implements IMinIOApiService {
         });
     }
 
+    @Override
+    public InputStream getObjectStream(S3Config config, String bucketName, String objectName, String versionID) {
+        validateObjectParams(bucketName, objectName);
+        return executeWithRetry(() -> {
+            try {
+                MinioClient client = getConnection(config);
+                return client.getObject(buildGetObjectArgs(bucketName, objectName, versionID, null));
+            } catch (Exception e) {
+                throw new MinIoS3BucketException("Error opening stream for object: " + objectName, e);
+            }
+        });
+    }
+
+    @Override
+    public InputStream getObjectRange(S3Config config, String bucketName, String objectName, String versionID, ByteRange range) {
+        validateObjectParams(bucketName, objectName);
+        if (range == null) {
+            throw new IllegalArgumentException("Range cannot be null");
+        }
+        return executeWithRetry(() -> {
+            try {
+                MinioClient client = getConnection(config);
+                return client.getObject(buildGetObjectArgs(bucketName, objectName, versionID, range));
+            } catch (Exception e) {
+                throw new MinIoS3BucketException("Error reading range " + range + " of object: " + objectName, e);
+            }
+        });
+    }
+
     @Override
     public String getPresignedObjectUrl(S3Config config, String bucketName, String objectName) {
+        return getPresignedObjectUrl(config, bucketName, objectName, Duration.ofHours(DEFAULT_PRESIGNED_URL_EXPIRY_HOURS));
+    }
+
+    @Override
+    public String getPresignedObjectUrl(S3Config config, String bucketName, String objectName, Duration expiry) {
+        return presign(config, bucketName, objectName, Method.GET, expiry);
+    }
+
+    @Override
+    public String getPresignedUploadUrl(S3Config config, String bucketName, String objectName, Duration expiry) {
+        return presign(config, bucketName, objectName, Method.PUT, expiry);
+    }
+
+    private String presign(S3Config config, String bucketName, String objectName, Method method, Duration expiry) {
         validateObjectParams(bucketName, objectName);
         return executeWithRetry(() -> {
             try {
                 MinioClient client = getConnection(config);
                 return client.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
-                        .method(Method.GET)
+                        .method(method)
                         .bucket(bucketName)
                         .object(objectName)
-                        .expiry(DEFAULT_PRESIGNED_URL_EXPIRY_HOURS, TimeUnit.HOURS)
+                        .expiry((int) expiry.toSeconds(), TimeUnit.SECONDS)
                         .build());
             } catch (Exception e) {
-                throw new MinIoS3BucketException("Error generating presigned URL for: " + objectName, e);
+                throw new MinIoS3BucketException("Error generating presigned " + method + " URL for: " + objectName, e);
             }
         });
     }
@@ -212,6 +358,9 @@ public class MinIOApiService implements IMinIOApiService {
                         .bucket(bucketName)
                         .object(objectName)
                         .build());
+                if (tagIndex != null) {
+                    tagIndex.remove(config.getTenant(), bucketName, objectName);
+                }
                 log.info("Deleted object: {} from bucket: {}", objectName, bucketName);
             } catch (Exception e) {
                 throw new MinIoS3BucketException("Error deleting object: " + objectName, e);
@@ -220,6 +369,15 @@ public class MinIOApiService implements IMinIOApiService {
         });
     }
 
+    /**
+     * Get objects by tags.
+     * <p>
+     * With a tag index, the query is answered locally (the bucket is rebuilt first if it was never indexed), and one
+     * entry is returned per object. A non authoritative index (see {@link IObjectTagIndex#isAuthoritative()}) may
+     * return partial results, missing objects written through other instances since the last rebuild; only an empty
+     * result is checked against the server. Without index, the tags of every listed object version are fetched from
+     * the server with bounded parallelism.
+     */
     @Override
     public List<FileStorage> getObjectByTags(S3Config config, String bucketName,
                                              Map<String, String> tags, IEnumLogicalOperator.Types condition) {
@@ -227,27 +385,23 @@ public class MinIOApiService implements IMinIOApiService {
         if (tags == null || tags.isEmpty()) {
             throw new IllegalArgumentException("Tags cannot be null or empty");
         }
+        if (tagIndex != null) {
+            if (!tagIndex.isIndexed(config.getTenant(), bucketName)) {
+                rebuildTagIndex(config, bucketName);
+            }
+            List<FileStorage> indexed = tagIndex.find(config.getTenant(), bucketName, tags, condition);
+            // A non authoritative index may miss objects written through other instances: check an empty result
+            if (!indexed.isEmpty() || tagIndex.isAuthoritative()) {
+                return indexed;
+            }
+        }
         return executeWithRetry(() -> {
             try {
                 List<FileStorage> listFileStorage = new ArrayList<>();
-                List<FileStorage> allObjects = getObjects(config, bucketName);
-                MinioClient client = getConnection(config);
-
-                for (FileStorage object : allObjects) {
-                    Tags tagsList = client.getObjectTags(GetObjectTagsArgs.builder()
-                            .bucket(bucketName)
-                            .object(object.objectName)
-                            .build());
-
-                    boolean accepted = condition == IEnumLogicalOperator.Types.AND
-                            ? tagsList.get().entrySet().containsAll(tags.entrySet())
-                            : !Collections.disjoint(tagsList.get().values(), tags.values());
-
-                    if (accepted) {
-                        object.tags = tagsList.get().values().stream()
-                                .filter(tags.values()::contains)
-                                .distinct()
-                                .collect(Collectors.toList());
+                for (TaggedObject tagged : fetchTags(config, bucketName, getObjects(config, bucketName))) {
+                    if (IObjectTagIndex.matches(tagged.getTags(), tags, condition)) {
+                        FileStorage object = tagged.getObject();
+                        object.tags = IObjectTagIndex.matchedValues(tagged.getTags(), tags);
                         listFileStorage.add(object);
                     }
                 }
@@ -258,6 +412,40 @@ public class MinIOApiService implements IMinIOApiService {
         });
     }
 
+    @Override
+    public void rebuildTagIndex(S3Config config, String bucketName) {
+        validateBucketName(bucketName);
+        if (tagIndex == null) {
+            throw new IllegalStateException("No tag index configured");
+        }
+        long token = tagIndex.beginRebuild(config.getTenant(), bucketName);
+        boolean completed = false;
+        try {
+            List<TaggedObject> snapshot = executeWithRetry(() -> {
+                try {
+                    // One entry per object: the latest version carries the tags returned by getObjectTags.
+                    // Temporary parts of in-progress parallel uploads are not indexed.
+                    Map<String, FileStorage> latest = new LinkedHashMap<>();
+                    for (FileStorage object : getObjects(config, bucketName)) {
+                        if (object.objectName.startsWith(MULTIPART_PREFIX)) {
+                            continue;
+                        }
+                        latest.merge(object.objectName, object, (current, other) -> current.currentVersion ? current : other);
+                    }
+                    return fetchTags(config, bucketName, new ArrayList<>(latest.values()));
+                } catch (Exception e) {
+                    throw new MinIoS3BucketException("Error rebuilding tag index of bucket: " + bucketName, e);
+                }
+            });
+            tagIndex.completeRebuild(config.getTenant(), bucketName, token, snapshot);
+            completed = true;
+        } finally {
+            if (!completed) {
+                tagIndex.abortRebuild(config.getTenant(), bucketName, token);
+            }
+        }
+    }
+
     @Override
     public List<FileStorage> getObjects(S3Config config, String bucketName) {
         validateBucketName(bucketName);
@@ -302,6 +490,9 @@ public class MinIOApiService implements IMinIOApiService {
                         .object(objectName)
                         .tags(tags)
                         .build());
+                if (tagIndex != null) {
+                    tagIndex.updateTags(config.getTenant(), bucketName, objectName, tags);
+                }
                 log.info("Updated tags for object: {} in bucket: {}", objectName, bucketName);
             } catch (Exception e) {
                 throw new MinIoS3BucketException("Error updating tags for object: " + objectName, e);
@@ -325,6 +516,9 @@ public class MinIOApiService implements IMinIOApiService {
                 for (Result<DeleteError> result : results) {
                     errors.add(result.get());
                 }
+                if (tagIndex != null) {
+                    removeFromTagIndex(config, bucketName, objects, errors);
+                }
                 if (!errors.isEmpty()) {
                     log.error("Errors occurred while deleting objects: {}", errors);
                     throw new MinIoS3BucketException("Failed to delete some objects");
@@ -337,6 +531,114 @@ public class MinIOApiService implements IMinIOApiService {
         });
     }
 
+    private void removeFromTagIndex(S3Config config, String bucketName, List<DeleteObject> objects, List<DeleteError> errors) {
+        if (DELETE_OBJECT_NAME == null) {
+            // The key cannot be read: let the next query rebuild the bucket
+            tagIndex.dropBucket(config.getTenant(), bucketName);
+            return;
+        }
+        ReflectionUtils.makeAccessible(DELETE_OBJECT_NAME);
+        List<String> failed = errors.stream().map(DeleteError::objectName).toList();
+        for (DeleteObject object : objects) {
+            String objectName = (String) ReflectionUtils.getField(DELETE_OBJECT_NAME, object);
+            if (objectName != null && !failed.contains(objectName)) {
+                tagIndex.remove(config.getTenant(), bucketName, objectName);
+            }
+        }
+    }
+
+    @Override
+    public BulkResult uploadAll(S3Config config, List<BulkUpload> uploads, BulkOptions options) {
+        if (uploads == null || uploads.stream().anyMatch(upload -> upload.getMetaData() == null)) {
+            throw new IllegalArgumentException("Uploads and their metadata cannot be null");
+        }
+        BulkResult result = BulkExecutor.forEach(uploads, upload -> buildFullPath(upload.getMetaData()), options,
+                upload -> uploadFile(config, upload.getMetaData(), upload.getFile()));
+        log.info("Bulk upload: {}", result);
+        return result;
+    }
+
+    /**
+     * Delete objects with multi-object delete requests of up to {@link BulkOptions#getBatchSize()} keys. The objects
+     * the server reports as errors are failed, the others succeed.
+     */
+    @Override
+    public BulkResult deleteAll(S3Config config, String bucketName, List<String> objectNames, BulkOptions options) {
+        validateBucketName(bucketName);
+        if (objectNames == null) {
+            throw new IllegalArgumentException("Object names cannot be null");
+        }
+        BulkResult result = BulkExecutor.forEachBatch(objectNames, name -> name, options, batch -> executeWithRetry(() -> {
+            try {
+                MinioClient client = getConnection(config);
+                Map<String, String> errors = new HashMap<>();
+                for (Result<DeleteError> deleteResult : client.removeObjects(RemoveObjectsArgs.builder()
+                        .bucket(bucketName)
+                        .objects(batch.stream().map(DeleteObject::new).toList())
+                        .build())) {
+                    DeleteError error = deleteResult.get();
+                    errors.put(error.objectName(), error.code() + ": " + error.message());
+                }
+                List<BulkItemResult> results = new ArrayList<>(batch.size());
+                for (String objectName : batch) {
+                    if (errors.containsKey(objectName)) {
+                        results.add(BulkItemResult.failed(objectName, errors.get(objectName)));
+                    } else {
+                        results.add(BulkItemResult.succeeded(objectName));
+                        if (tagIndex != null) {
+                            tagIndex.remove(config.getTenant(), bucketName, objectName);
+                        }
+                    }
+                }
+                return results;
+            } catch (Exception e) {
+                throw new MinIoS3BucketException("Error deleting objects from bucket: " + bucketName, e);
+            }
+        }));
+        log.info("Bulk delete from bucket {}: {}", bucketName, result);
+        return result;
+    }
+
+    @Override
+    public BulkResult copyAll(S3Config config, String sourceBucket, String targetBucket, List<String> objectNames,
+                              BulkOptions options) {
+        validateBucketName(sourceBucket);
+        validateBucketName(targetBucket);
+        if (objectNames == null) {
+            throw new IllegalArgumentException("Object names cannot be null");
+        }
+        BulkResult result = BulkExecutor.forEach(objectNames, name -> name, options, name -> executeWithRetry(() -> {
+            try {
+                return getConnection(config).copyObject(CopyObjectArgs.builder()
+                        .bucket(targetBucket)
+                        .object(name)
+                        .source(CopySource.builder().bucket(sourceBucket).object(name).build())
+                        .build());
+            } catch (Exception e) {
+                throw new MinIoS3BucketException("Error copying object: " + name, e);
+            }
+        }));
+        if (tagIndex != null && !result.getSucceeded().isEmpty()) {
+            // Copies keep their tags: let the next query rebuild the target bucket
+            tagIndex.dropBucket(config.getTenant(), targetBucket);
+        }
+        log.info("Bulk copy from bucket {} to bucket {}: {}", sourceBucket, targetBucket, result);
+        return result;
+    }
+
+    @Override
+    public BulkResult updateTagsAll(S3Config config, String bucketName, Map<String, Map<String, String>> tags,
+                                    BulkOptions options) {
+        validateBucketName(bucketName);
+        if (tags == null) {
+            throw new IllegalArgumentException("Tags cannot be null");
+        }
+        BulkResult result = BulkExecutor.forEach(new ArrayList<>(tags.entrySet()), Map.Entry::getKey, options,
+                entry -> updateTags(config, bucketName, entry.getKey(), entry.getValue()));
+        log.info("Bulk tag update in bucket {}: {}", bucketName, result);
+        return result;
+    }
+
     @Override
     public void deleteBucket(S3Config config, String bucketName) {
         validateBucketName(bucketName);
@@ -345,6 +647,9 @@ public class MinIOApiService implements IMinIOApiService {
                 if (bucketExists(config, bucketName)) {
                     MinioClient client = getConnection(config);
                     client.removeBucket(RemoveBucketArgs.builder().bucket(bucketName).build());
+                    if (tagIndex != null) {
+                        tagIndex.dropBucket(config.getTenant(), bucketName);
+                    }
                     log.info("Deleted bucket: {}", bucketName);
                 }
             } catch (Exception e) {
@@ -422,6 +727,121 @@ public class MinIOApiService implements IMinIOApiService {
         throw new MinIoS3BucketException("Operation failed after maximum retries");
     }
 
+    private GetObjectArgs buildGetObjectArgs(String bucketName, String objectName, String versionID, ByteRange range) {
+        GetObjectArgs.Builder args = GetObjectArgs.builder()
+                .bucket(bucketName)
+                .object(objectName);
+        if (StringUtils.hasText(versionID)) {
+            args.versionId(versionID);
+        }
+        if (range != null) {
+            args.offset(range.getOffset());
+            if (!range.isOpenEnded()) {
+                args.length(range.getLength());
+            }
+        }
+        return args.build();
+    }
+
+    private void putBytes(MinioClient client, String bucketName, String objectName, String contentType,
+                          Map<String, String> tags, byte[] data) {
+        executeWithRetry(() -> {
+            try (InputStream stream = new ByteArrayInputStream(data)) {
+                return client.putObject(PutObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .tags(tags)
+                        .contentType(contentType)
+                        .stream(stream, data.length, -1)
+                        .build());
+            } catch (Exception e) {
+                throw new MinIoS3BucketException("Error uploading object: " + objectName, e);
+            }
+        });
+    }
+
+    private void removePartObjects(MinioClient client, String bucketName, List<String> partObjects) {
+        if (partObjects.isEmpty()) {
+            return;
+        }
+        try {
+            List<DeleteObject> objects = partObjects.stream().map(DeleteObject::new).toList();
+            for (Result<DeleteError> result : client.removeObjects(
+                    RemoveObjectsArgs.builder().bucket(bucketName).objects(objects).build())) {
+                DeleteError error = result.get();
+                log.warn("Failed to remove temporary part: {} ({})", error.objectName(), error.message());
+            }
+        } catch (Exception e) {
+            log.error("Failed to remove temporary parts from bucket: {}", bucketName, e);
+        }
+    }
+
+    private List<TaggedObject> fetchTags(S3Config config, String bucketName, List<FileStorage> objects) throws Exception {
+        MinioClient client = getConnection(config);
+        return BoundedParallel.map(objects, TAG_FETCH_PARALLELISM, object -> {
+            Tags tags = client.getObjectTags(GetObjectTagsArgs.builder()
+                    .bucket(bucketName)
+                    .object(object.objectName)
+                    .build());
+            return new TaggedObject(object, tags.get());
+        });
+    }
+
+    private MetaData completeUpload(S3Config config, MinioClient client, MetaData metaData, String fullPath) throws Exception {
+        StatObjectResponse stat = client.statObject(StatObjectArgs.builder().bucket(metaData.getBucketName()).object(fullPath).build());
+        Tags tags = client.getObjectTags(GetObjectTagsArgs.builder().bucket(metaData.getBucketName()).object(fullPath).build());
+        if (tagIndex != null) {
+            tagIndex.put(config.getTenant(), metaData.getBucketName(), FileStorage.builder()
+                    .objectName(fullPath)
+                    .size(stat.size())
+                    .etag(stat.etag())
+                    .lastModified(stat.lastModified())
+                    .versionID(stat.versionId())
+                    .currentVersion(true)
+                    .build(), tags.get());
+        }
+        return MetaData.builder()
+                .objectName(metaData.getObjectName())
+                .bucketName(metaData.getBucketName())
+                .path(metaData.getPath())
+                .size(stat.size())
+                .contentType(stat.contentType())
+                .etag(stat.etag())
+                .versionID(stat.versionId())
+                .lastModified(stat.lastModified() != null ? stat.lastModified().toString() : null)
+                .tagsMap(tags.get())
+                .tags(tags.get().values().stream().distinct().toList())
+                .build();
+    }
+
+    private static String buildFullPath(MetaData metaData) {
+        return metaData.getPath() != null && !metaData.getPath().isEmpty()
+                ? metaData.getPath() + "/" + metaData.getObjectName()
+                : metaData.getObjectName();
+    }
+
+    private void validateStreamUploadParams(MetaData metaData, InputStream input) {
+        if (metaData == null) {
+            throw new IllegalArgumentException("Metadata cannot be null");
+        }
+        validateObjectParams(metaData.getBucketName(), metaData.getObjectName());
+        if (input == null) {
+            throw new IllegalArgumentException("Input stream cannot be null");
+        }
+    }
+
+    private static boolean isReachable(MinioClient client) {
+        try {
+            client.listBuckets();
+            return true;
+        } catch (ErrorResponseException e) {
+            // The server answered: bucket-scoped credentials are denied listBuckets but the endpoint is reachable
+            return e.response() == null || e.response().code() < 500;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     private void validateConfig(S3Config config) {
         if (config == null || !StringUtils.hasText(config.getTenant()) ||
                 !StringUtils.hasText(config.getUrl()) ||
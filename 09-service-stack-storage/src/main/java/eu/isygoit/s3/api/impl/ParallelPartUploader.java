@@ -0,0 +1,126 @@
+package eu.isygoit.s3.api.impl;
+
+import eu.isygoit.s3.object.MultipartUploadOptions;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The type Parallel part uploader.
+ * <p>
+ * Cuts a stream of unknown length into fixed size parts and hands them to a part upload function with at most
+ * {@code concurrency} parts in flight. Parts are read sequentially from the stream (streams are not seekable), only
+ * the uploads run in parallel. A failing part stops the reading of further parts and is rethrown to the caller,
+ * who is responsible for aborting the upload.
+ */
+@Slf4j
+final class ParallelPartUploader {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private ParallelPartUploader() {
+    }
+
+    /**
+     * Read a part from the stream.
+     *
+     * @param input    the input
+     * @param partSize the part size
+     * @return the part bytes, shorter than {@code partSize} only for the last part
+     * @throws IOException the io exception
+     */
+    static byte[] readPart(InputStream input, long partSize) throws IOException {
+        return input.readNBytes((int) partSize);
+    }
+
+    /**
+     * Upload all parts of the stream.
+     *
+     * @param <P>        the completed part type
+     * @param firstPart  the first part, already read by the caller to decide between single and multipart upload
+     * @param input      the remaining stream
+     * @param options    the options
+     * @param partUpload the part upload function
+     * @return the completed parts, ordered by part number
+     * @throws Exception the first failure of a part upload, or the read failure
+     */
+    static <P> List<P> uploadParts(byte[] firstPart, InputStream input, MultipartUploadOptions options,
+                                   PartUpload<P> partUpload) throws Exception {
+        int concurrency = options.getConcurrency();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "s3-part-upload-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Future<P>> futures = new ArrayList<>();
+        try {
+            byte[] part = firstPart;
+            int partNumber = 1;
+            while (part.length > 0 && failure.get() == null) {
+                if (partNumber > MultipartUploadOptions.MAX_PARTS) {
+                    throw new IllegalStateException("Stream exceeds " + MultipartUploadOptions.MAX_PARTS
+                            + " parts of " + options.getPartSize() + " bytes");
+                }
+                inFlight.acquire();
+                final byte[] data = part;
+                final int number = partNumber++;
+                futures.add(executor.submit(() -> {
+                    try {
+                        return partUpload.upload(number, data);
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+                if (data.length < options.getPartSize()) {
+                    break;
+                }
+                part = readPart(input, options.getPartSize());
+            }
+
+            List<P> completed = new ArrayList<>(futures.size());
+            for (Future<P> future : futures) {
+                try {
+                    completed.add(future.get());
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+            log.debug("Uploaded {} parts with concurrency {}", completed.size(), concurrency);
+            return completed;
+        } catch (Exception e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The interface Part upload.
+     *
+     * @param <P> the completed part type
+     */
+    @FunctionalInterface
+    interface PartUpload<P> {
+        /**
+         * Upload one part.
+         *
+         * @param partNumber the part number, starting at 1
+         * @param data       the part bytes
+         * @return the completed part
+         * @throws Exception the exception
+         */
+        P upload(int partNumber, byte[] data) throws Exception;
+    }
+}
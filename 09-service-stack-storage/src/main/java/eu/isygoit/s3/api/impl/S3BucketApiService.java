@@ -2,10 +2,20 @@ package eu.isygoit.s3.api.impl;
 
 import eu.isygoit.enums.IEnumLogicalOperator;
 import eu.isygoit.exception.S3BuketException;
+import eu.isygoit.factory.TenantClientCache;
 import eu.isygoit.s3.api.IAWSS3ApiService;
 import eu.isygoit.s3.config.S3Config;
+import eu.isygoit.s3.index.IObjectTagIndex;
+import eu.isygoit.s3.index.TaggedObject;
+import eu.isygoit.s3.object.BulkItemResult;
+import eu.isygoit.s3.object.BulkOptions;
+import eu.isygoit.s3.object.BulkResult;
+import eu.isygoit.s3.object.BulkUpload;
+import eu.isygoit.s3.object.ByteRange;
 import eu.isygoit.s3.object.FileStorage;
 import eu.isygoit.s3.object.MetaData;
+import eu.isygoit.s3.object.MultipartUploadOptions;
+import eu.isygoit.service.BulkExecutor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.springframework.util.StringUtils;
@@ -21,9 +31,14 @@ import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.ZoneId;
 import java.util.ArrayList;
@@ -41,22 +56,37 @@ public class S3BucketApiService implements IAWSS3ApiService {
     private static final int MAX_RETRIES = 3;
     private static final int RETRY_DELAY_MS = 1000;
     private static final int DEFAULT_PRESIGNED_URL_EXPIRY_HOURS = 2;
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
 
-    private final Map<String, S3Client> s3ClientMap;
+    private static final int TAG_FETCH_PARALLELISM = 16;
+
+    private final TenantClientCache<S3Client> clients;
+    private final IObjectTagIndex tagIndex;
 
     /**
-     * Instantiates a new S 3 bucket api service.
+     * Instantiates a new S 3 bucket api service, without tag index.
      *
      * @param s3ClientMap the s 3 client map
      */
     public S3BucketApiService(Map<String, S3Client> s3ClientMap) {
-        this.s3ClientMap = s3ClientMap;
+        this(s3ClientMap, null);
+    }
+
+    /**
+     * Instantiates a new S 3 bucket api service.
+     *
+     * @param s3ClientMap the s 3 client map
+     * @param tagIndex    the tag index, or null to query tags from the server
+     */
+    public S3BucketApiService(Map<String, S3Client> s3ClientMap, IObjectTagIndex tagIndex) {
+        this.clients = new TenantClientCache<>("S3", s3ClientMap, S3BucketApiService::isReachable);
+        this.tagIndex = tagIndex;
     }
 
     @Override
     public S3Client getConnection(S3Config config) {
         validateConfig(config);
-        return s3ClientMap.computeIfAbsent(config.getTenant(), k -> {
+        return clients.get(config.getTenant(), () -> {
             try {
                 return S3Client.builder()
                         .endpointOverride(URI.create(config.getUrl()))
@@ -91,7 +121,7 @@ public class S3BucketApiService implements IAWSS3ApiService {
                     .httpClient(ApacheHttpClient.builder().build())
                     .forcePathStyle(true)
                     .build();
-            s3ClientMap.put(config.getTenant(), client);
+            clients.put(config.getTenant(), client);
             log.info("Updated S3 connection for tenant: {}", config.getTenant());
         } catch (Exception e) {
             log.error("Failed to update S3 connection for tenant: {}", config.getTenant(), e);
@@ -99,6 +129,11 @@ public class S3BucketApiService implements IAWSS3ApiService {
         }
     }
 
+    @Override
+    public void refreshConnection(String tenant) {
+        clients.refresh(tenant);
+    }
+
     @Override
     public boolean bucketExists(S3Config config, String bucketName) {
         validateBucketName(bucketName);
@@ -174,33 +209,59 @@ public class S3BucketApiService implements IAWSS3ApiService {
 
     @Override
     public String getPresignedObjectUrl(S3Config config, String bucketName, String objectName) {
+        return getPresignedObjectUrl(config, bucketName, objectName, Duration.ofHours(DEFAULT_PRESIGNED_URL_EXPIRY_HOURS));
+    }
+
+    @Override
+    public String getPresignedObjectUrl(S3Config config, String bucketName, String objectName, Duration expiry) {
         validateObjectParams(bucketName, objectName);
         return executeWithRetry(() -> {
-            try {
-                S3Presigner presigner = S3Presigner.builder()
-                        .endpointOverride(URI.create(config.getUrl()))
-                        .credentialsProvider(StaticCredentialsProvider.create(
-                                AwsBasicCredentials.create(config.getUserName(), config.getPassword())))
-                        .region(Region.of(config.getRegion() != null ? config.getRegion() : "us-east-1"))
-                        .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
-                        .build();
+            try (S3Presigner presigner = buildPresigner(config)) {
                 GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                        .signatureDuration(Duration.ofHours(DEFAULT_PRESIGNED_URL_EXPIRY_HOURS))
+                        .signatureDuration(expiry)
                         .getObjectRequest(GetObjectRequest.builder()
                                 .bucket(bucketName)
                                 .key(objectName)
                                 .build())
                         .build();
                 PresignedGetObjectRequest presignedRequest = presigner.presignGetObject(presignRequest);
-                String url = presignedRequest.url().toString();
-                presigner.close();
-                return url;
+                return presignedRequest.url().toString();
             } catch (Exception e) {
                 throw new S3BuketException("Error generating presigned URL for: " + objectName, e);
             }
         });
     }
 
+    @Override
+    public String getPresignedUploadUrl(S3Config config, String bucketName, String objectName, Duration expiry) {
+        validateObjectParams(bucketName, objectName);
+        return executeWithRetry(() -> {
+            try (S3Presigner presigner = buildPresigner(config)) {
+                PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                        .signatureDuration(expiry)
+                        .putObjectRequest(PutObjectRequest.builder()
+                                .bucket(bucketName)
+                                .key(objectName)
+                                .build())
+                        .build();
+                PresignedPutObjectRequest presignedRequest = presigner.presignPutObject(presignRequest);
+                return presignedRequest.url().toString();
+            } catch (Exception e) {
+                throw new S3BuketException("Error generating presigned upload URL for: " + objectName, e);
+            }
+        });
+    }
+
+    private S3Presigner buildPresigner(S3Config config) {
+        return S3Presigner.builder()
+                .endpointOverride(URI.create(config.getUrl()))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(config.getUserName(), config.getPassword())))
+                .region(Region.of(config.getRegion() != null ? config.getRegion() : "us-east-1"))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+    }
+
     @Override
     public void deleteObject(S3Config config, String bucketName, String objectName) {
         validateObjectParams(bucketName, objectName);
@@ -211,6 +272,9 @@ public class S3BucketApiService implements IAWSS3ApiService {
                         .bucket(bucketName)
                         .key(objectName)
                         .build());
+                if (tagIndex != null) {
+                    tagIndex.remove(config.getTenant(), bucketName, objectName);
+                }
                 log.info("Deleted object: {} from bucket: {}", objectName, bucketName);
             } catch (Exception e) {
                 throw new S3BuketException("Error deleting object: " + objectName, e);
@@ -219,6 +283,14 @@ public class S3BucketApiService implements IAWSS3ApiService {
         });
     }
 
+    /**
+     * Get objects by tags.
+     * <p>
+     * With a tag index, the query is answered locally (the bucket is rebuilt first if it was never indexed). A non
+     * authoritative index (see {@link IObjectTagIndex#isAuthoritative()}) may return partial results, missing objects
+     * written through other instances since the last rebuild; only an empty result is checked against the server.
+     * Without index, the tags of every listed object are fetched from the server with bounded parallelism.
+     */
     @Override
     public List<FileStorage> getObjectByTags(S3Config config, String bucketName,
                                              Map<String, String> tags, IEnumLogicalOperator.Types condition) {
@@ -226,29 +298,23 @@ public class S3BucketApiService implements IAWSS3ApiService {
         if (tags == null || tags.isEmpty()) {
             throw new IllegalArgumentException("Tags cannot be null or empty");
         }
+        if (tagIndex != null) {
+            if (!tagIndex.isIndexed(config.getTenant(), bucketName)) {
+                rebuildTagIndex(config, bucketName);
+            }
+            List<FileStorage> indexed = tagIndex.find(config.getTenant(), bucketName, tags, condition);
+            // A non authoritative index may miss objects written through other instances: check an empty result
+            if (!indexed.isEmpty() || tagIndex.isAuthoritative()) {
+                return indexed;
+            }
+        }
         return executeWithRetry(() -> {
             try {
                 List<FileStorage> listFileStorage = new ArrayList<>();
-                List<FileStorage> allObjects = getObjects(config, bucketName);
-                S3Client client = getConnection(config);
-
-                for (FileStorage object : allObjects) {
-                    GetObjectTaggingResponse tagsResponse = client.getObjectTagging(GetObjectTaggingRequest.builder()
-                            .bucket(bucketName)
-                            .key(object.objectName)
-                            .build());
-                    Map<String, String> objectTags = tagsResponse.tagSet().stream()
-                            .collect(Collectors.toMap(Tag::key, Tag::value));
-
-                    boolean accepted = condition == IEnumLogicalOperator.Types.AND
-                            ? objectTags.entrySet().containsAll(tags.entrySet())
-                            : !Collections.disjoint(objectTags.values(), tags.values());
-
-                    if (accepted) {
-                        object.tags = objectTags.values().stream()
-                                .filter(tags.values()::contains)
-                                .distinct()
-                                .collect(Collectors.toList());
+                for (TaggedObject tagged : fetchTags(config, bucketName, getObjects(config, bucketName))) {
+                    if (IObjectTagIndex.matches(tagged.getTags(), tags, condition)) {
+                        FileStorage object = tagged.getObject();
+                        object.tags = IObjectTagIndex.matchedValues(tagged.getTags(), tags);
                         listFileStorage.add(object);
                     }
                 }
@@ -259,17 +325,41 @@ public class S3BucketApiService implements IAWSS3ApiService {
         });
     }
 
+    @Override
+    public void rebuildTagIndex(S3Config config, String bucketName) {
+        validateBucketName(bucketName);
+        if (tagIndex == null) {
+            throw new IllegalStateException("No tag index configured");
+        }
+        long token = tagIndex.beginRebuild(config.getTenant(), bucketName);
+        boolean completed = false;
+        try {
+            List<TaggedObject> snapshot = executeWithRetry(() -> {
+                try {
+                    return fetchTags(config, bucketName, getObjects(config, bucketName));
+                } catch (Exception e) {
+                    throw new S3BuketException("Error rebuilding tag index of bucket: " + bucketName, e);
+                }
+            });
+            tagIndex.completeRebuild(config.getTenant(), bucketName, token, snapshot);
+            completed = true;
+        } finally {
+            if (!completed) {
+                tagIndex.abortRebuild(config.getTenant(), bucketName, token);
+            }
+        }
+    }
+
     @Override
     public List<FileStorage> getObjects(S3Config config, String bucketName) {
         validateBucketName(bucketName);
         return executeWithRetry(() -> {
             try {
                 S3Client client = getConnection(config);
-                ListObjectsV2Response response = client.listObjectsV2(ListObjectsV2Request.builder()
-                        .bucket(bucketName)
-                        .build());
                 List<FileStorage> listFileStorage = new ArrayList<>();
-                for (S3Object object : response.contents()) {
+                for (S3Object object : client.listObjectsV2Paginator(ListObjectsV2Request.builder()
+                        .bucket(bucketName)
+                        .build()).contents()) {
                     FileStorage fileObject = new FileStorage();
                     fileObject.objectName = object.key();
                     fileObject.size = object.size();
@@ -304,6 +394,9 @@ public class S3BucketApiService implements IAWSS3ApiService {
                         .key(objectName)
                         .tagging(Tagging.builder().tagSet(s3Tags).build())
                         .build());
+                if (tagIndex != null) {
+                    tagIndex.updateTags(config.getTenant(), bucketName, objectName, tags);
+                }
                 log.info("Updated tags for object: {} in bucket: {}", objectName, bucketName);
             } catch (Exception e) {
                 throw new S3BuketException("Error updating tags for object: " + objectName, e);
@@ -328,6 +421,9 @@ public class S3BucketApiService implements IAWSS3ApiService {
                         .bucket(bucketName)
                         .delete(Delete.builder().objects(objectIdentifiers).build())
                         .build());
+                if (tagIndex != null) {
+                    objects.forEach(req -> tagIndex.remove(config.getTenant(), bucketName, req.key()));
+                }
                 if (!response.errors().isEmpty()) {
                     log.error("Errors occurred while deleting objects: {}", response.errors());
                     throw new S3BuketException("Failed to delete some objects");
@@ -340,6 +436,100 @@ public class S3BucketApiService implements IAWSS3ApiService {
         });
     }
 
+    @Override
+    public BulkResult uploadAll(S3Config config, List<BulkUpload> uploads, BulkOptions options) {
+        if (uploads == null || uploads.stream().anyMatch(upload -> upload.getMetaData() == null)) {
+            throw new IllegalArgumentException("Uploads and their metadata cannot be null");
+        }
+        BulkResult result = BulkExecutor.forEach(uploads, upload -> buildFullPath(upload.getMetaData()), options,
+                upload -> uploadFile(config, upload.getMetaData(), upload.getFile()));
+        log.info("Bulk upload: {}", result);
+        return result;
+    }
+
+    /**
+     * Delete objects with multi-object delete requests of up to {@link BulkOptions#getBatchSize()} keys. The objects
+     * the server reports as errors are failed, the others succeed.
+     */
+    @Override
+    public BulkResult deleteAll(S3Config config, String bucketName, List<String> objectNames, BulkOptions options) {
+        validateBucketName(bucketName);
+        if (objectNames == null) {
+            throw new IllegalArgumentException("Object names cannot be null");
+        }
+        BulkResult result = BulkExecutor.forEachBatch(objectNames, name -> name, options, batch -> executeWithRetry(() -> {
+            try {
+                S3Client client = getConnection(config);
+                DeleteObjectsResponse response = client.deleteObjects(DeleteObjectsRequest.builder()
+                        .bucket(bucketName)
+                        .delete(Delete.builder()
+                                .objects(batch.stream().map(name -> ObjectIdentifier.builder().key(name).build()).toList())
+                                .quiet(true)
+                                .build())
+                        .build());
+                Map<String, String> errors = response.errors().stream()
+                        .collect(Collectors.toMap(S3Error::key, error -> error.code() + ": " + error.message(), (a, b) -> a));
+                List<BulkItemResult> results = new ArrayList<>(batch.size());
+                for (String objectName : batch) {
+                    if (errors.containsKey(objectName)) {
+                        results.add(BulkItemResult.failed(objectName, errors.get(objectName)));
+                    } else {
+                        results.add(BulkItemResult.succeeded(objectName));
+                        if (tagIndex != null) {
+                            tagIndex.remove(config.getTenant(), bucketName, objectName);
+                        }
+                    }
+                }
+                return results;
+            } catch (Exception e) {
+                throw new S3BuketException("Error deleting objects from bucket: " + bucketName, e);
+            }
+        }));
+        log.info("Bulk delete from bucket {}: {}", bucketName, result);
+        return result;
+    }
+
+    @Override
+    public BulkResult copyAll(S3Config config, String sourceBucket, String targetBucket, List<String> objectNames,
+                              BulkOptions options) {
+        validateBucketName(sourceBucket);
+        validateBucketName(targetBucket);
+        if (objectNames == null) {
+            throw new IllegalArgumentException("Object names cannot be null");
+        }
+        BulkResult result = BulkExecutor.forEach(objectNames, name -> name, options, name -> executeWithRetry(() -> {
+            try {
+                return getConnection(config).copyObject(CopyObjectRequest.builder()
+                        .sourceBucket(sourceBucket)
+                        .sourceKey(name)
+                        .destinationBucket(targetBucket)
+                        .destinationKey(name)
+                        .build());
+            } catch (Exception e) {
+                throw new S3BuketException("Error copying object: " + name, e);
+            }
+        }));
+        if (tagIndex != null && !result.getSucceeded().isEmpty()) {
+            // Copies keep their tags: let the next query rebuild the target bucket
+            tagIndex.dropBucket(config.getTenant(), targetBucket);
+        }
+        log.info("Bulk copy from bucket {} to bucket {}: {}", sourceBucket, targetBucket, result);
+        return result;
+    }
+
+    @Override
+    public BulkResult updateTagsAll(S3Config config, String bucketName, Map<String, Map<String, String>> tags,
+                                    BulkOptions options) {
+        validateBucketName(bucketName);
+        if (tags == null) {
+            throw new IllegalArgumentException("Tags cannot be null");
+        }
+        BulkResult result = BulkExecutor.forEach(new ArrayList<>(tags.entrySet()), Map.Entry::getKey, options,
+                entry -> updateTags(config, bucketName, entry.getKey(), entry.getValue()));
+        log.info("Bulk tag update in bucket {}: {}", bucketName, result);
+        return result;
+    }
+
     @Override
     public void deleteBucket(S3Config config, String bucketName) {
         validateBucketName(bucketName);
@@ -348,6 +538,9 @@ public class S3BucketApiService implements IAWSS3ApiService {
                 if (bucketExists(config, bucketName)) {
                     S3Client client = getConnection(config);
                     client.deleteBucket(DeleteBucketRequest.builder().bucket(bucketName).build());
+                    if (tagIndex != null) {
+                        tagIndex.dropBucket(config.getTenant(), bucketName);
+                    }
                     log.info("Deleted bucket: {}", bucketName);
                 }
             } catch (Exception e) {
@@ -387,9 +580,7 @@ public class S3BucketApiService implements IAWSS3ApiService {
             try {
                 makeBucket(config, metaData.getBucketName());
                 S3Client client = getConnection(config);
-                String fullPath = metaData.getPath() != null && !metaData.getPath().isEmpty()
-                        ? metaData.getPath() + "/" + metaData.getObjectName()
-                        : metaData.getObjectName();
+                String fullPath = buildFullPath(metaData);
 
                 List<Tag> s3Tags = metaData.getTagsMap() != null ? metaData.getTagsMap().entrySet().stream()
                         .map(entry -> Tag.builder().key(entry.getKey()).value(entry.getValue()).build())
@@ -405,29 +596,124 @@ public class S3BucketApiService implements IAWSS3ApiService {
                 log.info("Uploaded file: {} to bucket: {}", fullPath, metaData.getBucketName());
 
                 // Get object metadata to return complete information
-                HeadObjectResponse headResponse = client.headObject(HeadObjectRequest.builder()
-                        .bucket(metaData.getBucketName())
-                        .key(fullPath)
-                        .build());
-
-                return MetaData.builder()
-                        .objectName(metaData.getObjectName())
-                        .bucketName(metaData.getBucketName())
-                        .path(metaData.getPath())
-                        .size(headResponse.contentLength())
-                        .contentType(headResponse.contentType())
-                        .etag(headResponse.eTag())
-                        .versionID(headResponse.versionId())
-                        .lastModified(headResponse.lastModified() != null ? headResponse.lastModified().toString() : null)
-                        .tagsMap(metaData.getTagsMap())
-                        .tags(metaData.getTagsMap() != null ? new ArrayList<>(metaData.getTagsMap().values().stream().distinct().toList()) : Collections.emptyList())
-                        .build();
+                return completeUpload(config, client, metaData, fullPath);
             } catch (Exception e) {
                 throw new S3BuketException("Error uploading file: " + metaData.getObjectName(), e);
             }
         });
     }
 
+    @Override
+    public InputStream getObjectStream(S3Config config, String bucketName, String objectName, String versionID) {
+        validateObjectParams(bucketName, objectName);
+        return executeWithRetry(() -> {
+            try {
+                S3Client client = getConnection(config);
+                return client.getObject(buildGetObjectRequest(bucketName, objectName, versionID, null));
+            } catch (Exception e) {
+                throw new S3BuketException("Error opening stream for object: " + objectName, e);
+            }
+        });
+    }
+
+    @Override
+    public InputStream getObjectRange(S3Config config, String bucketName, String objectName, String versionID, ByteRange range) {
+        validateObjectParams(bucketName, objectName);
+        if (range == null) {
+            throw new IllegalArgumentException("Range cannot be null");
+        }
+        return executeWithRetry(() -> {
+            try {
+                S3Client client = getConnection(config);
+                return client.getObject(buildGetObjectRequest(bucketName, objectName, versionID, range));
+            } catch (Exception e) {
+                throw new S3BuketException("Error reading range " + range + " of object: " + objectName, e);
+            }
+        });
+    }
+
+    @Override
+    public MetaData uploadStream(S3Config config, MetaData metaData, InputStream input) {
+        return uploadMultipart(config, metaData, input, MultipartUploadOptions.sequential());
+    }
+
+    /**
+     * Upload a stream of unknown length.
+     * <p>
+     * Streams shorter than one part are sent with a single PutObject. Longer streams use the S3 multipart API;
+     * parts are buffered one by one and retried individually, and the upload is aborted on failure so that no
+     * orphan parts are left on the server.
+     */
+    @Override
+    public MetaData uploadMultipart(S3Config config, MetaData metaData, InputStream input, MultipartUploadOptions options) {
+        validateStreamUploadParams(metaData, input);
+        MultipartUploadOptions uploadOptions = options != null ? options : MultipartUploadOptions.defaults();
+        uploadOptions.validate();
+
+        makeBucket(config, metaData.getBucketName());
+        S3Client client = getConnection(config);
+        String bucketName = metaData.getBucketName();
+        String fullPath = buildFullPath(metaData);
+        String contentType = metaData.getContentType() != null ? metaData.getContentType() : DEFAULT_CONTENT_TYPE;
+        String tagging = toTaggingHeader(metaData.getTagsMap());
+        try {
+            byte[] firstPart = ParallelPartUploader.readPart(input, uploadOptions.getPartSize());
+            if (firstPart.length < uploadOptions.getPartSize()) {
+                executeWithRetry(() -> {
+                    try {
+                        return client.putObject(PutObjectRequest.builder()
+                                .bucket(bucketName)
+                                .key(fullPath)
+                                .contentType(contentType)
+                                .tagging(tagging)
+                                .build(), RequestBody.fromBytes(firstPart));
+                    } catch (Exception e) {
+                        throw new S3BuketException("Error uploading object: " + fullPath, e);
+                    }
+                });
+            } else {
+                String uploadId = client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(fullPath)
+                        .contentType(contentType)
+                        .tagging(tagging)
+                        .build()).uploadId();
+                try {
+                    List<CompletedPart> parts = ParallelPartUploader.uploadParts(firstPart, input, uploadOptions,
+                            (partNumber, data) -> executeWithRetry(() -> {
+                                try {
+                                    UploadPartResponse response = client.uploadPart(UploadPartRequest.builder()
+                                            .bucket(bucketName)
+                                            .key(fullPath)
+                                            .uploadId(uploadId)
+                                            .partNumber(partNumber)
+                                            .contentLength((long) data.length)
+                                            .build(), RequestBody.fromBytes(data));
+                                    return CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build();
+                                } catch (Exception e) {
+                                    throw new S3BuketException("Error uploading part " + partNumber + " of: " + fullPath, e);
+                                }
+                            }));
+                    client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                            .bucket(bucketName)
+                            .key(fullPath)
+                            .uploadId(uploadId)
+                            .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                            .build());
+                    log.info("Uploaded {} parts of: {} to bucket: {}", parts.size(), fullPath, bucketName);
+                } catch (Exception e) {
+                    abortMultipartUpload(client, bucketName, fullPath, uploadId);
+                    throw e;
+                }
+            }
+            return completeUpload(config, client, metaData, fullPath);
+        } catch (S3BuketException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new S3BuketException("Error uploading stream: " + metaData.getObjectName(), e);
+        }
+    }
+
     /**
      * Get metadata for an object in S3.
      *
@@ -505,6 +791,109 @@ public class S3BucketApiService implements IAWSS3ApiService {
         throw new S3BuketException("Operation failed after maximum retries");
     }
 
+    private GetObjectRequest buildGetObjectRequest(String bucketName, String objectName, String versionID, ByteRange range) {
+        GetObjectRequest.Builder requestBuilder = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(objectName);
+        if (StringUtils.hasText(versionID)) {
+            requestBuilder.versionId(versionID);
+        }
+        if (range != null) {
+            requestBuilder.range(range.toHttpHeader());
+        }
+        return requestBuilder.build();
+    }
+
+    private List<TaggedObject> fetchTags(S3Config config, String bucketName, List<FileStorage> objects) throws Exception {
+        S3Client client = getConnection(config);
+        return BoundedParallel.map(objects, TAG_FETCH_PARALLELISM, object -> {
+            GetObjectTaggingResponse tagsResponse = client.getObjectTagging(GetObjectTaggingRequest.builder()
+                    .bucket(bucketName)
+                    .key(object.objectName)
+                    .build());
+            return new TaggedObject(object, tagsResponse.tagSet().stream()
+                    .collect(Collectors.toMap(Tag::key, Tag::value)));
+        });
+    }
+
+    private MetaData completeUpload(S3Config config, S3Client client, MetaData metaData, String fullPath) {
+        HeadObjectResponse headResponse = client.headObject(HeadObjectRequest.builder()
+                .bucket(metaData.getBucketName())
+                .key(fullPath)
+                .build());
+        if (tagIndex != null) {
+            tagIndex.put(config.getTenant(), metaData.getBucketName(), FileStorage.builder()
+                    .objectName(fullPath)
+                    .size(headResponse.contentLength())
+                    .etag(headResponse.eTag())
+                    .lastModified(headResponse.lastModified() != null ? headResponse.lastModified().atZone(ZoneId.systemDefault()) : null)
+                    .currentVersion(true)
+                    .build(), metaData.getTagsMap());
+        }
+
+        return MetaData.builder()
+                .objectName(metaData.getObjectName())
+                .bucketName(metaData.getBucketName())
+                .path(metaData.getPath())
+                .size(headResponse.contentLength())
+                .contentType(headResponse.contentType())
+                .etag(headResponse.eTag())
+                .versionID(headResponse.versionId())
+                .lastModified(headResponse.lastModified() != null ? headResponse.lastModified().toString() : null)
+                .tagsMap(metaData.getTagsMap())
+                .tags(metaData.getTagsMap() != null ? new ArrayList<>(metaData.getTagsMap().values().stream().distinct().toList()) : Collections.emptyList())
+                .build();
+    }
+
+    private void abortMultipartUpload(S3Client client, String bucketName, String key, String uploadId) {
+        try {
+            client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            log.warn("Aborted multipart upload {} of: {}", uploadId, key);
+        } catch (Exception e) {
+            log.error("Failed to abort multipart upload {} of: {}", uploadId, key, e);
+        }
+    }
+
+    private static String buildFullPath(MetaData metaData) {
+        return metaData.getPath() != null && !metaData.getPath().isEmpty()
+                ? metaData.getPath() + "/" + metaData.getObjectName()
+                : metaData.getObjectName();
+    }
+
+    private static String toTaggingHeader(Map<String, String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return null;
+        }
+        return tags.entrySet().stream()
+                .map(entry -> URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8)
+                        + "=" + URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+
+    private void validateStreamUploadParams(MetaData metaData, InputStream input) {
+        if (metaData == null) {
+            throw new IllegalArgumentException("Metadata cannot be null");
+        }
+        validateObjectParams(metaData.getBucketName(), metaData.getObjectName());
+        if (input == null) {
+            throw new IllegalArgumentException("Input stream cannot be null");
+        }
+    }
+
+    private static boolean isReachable(S3Client client) {
+        try {
+            client.listBuckets();
+            return true;
+        } catch (S3Exception e) {
+            // The server answered: bucket-scoped credentials are denied listBuckets but the endpoint is reachable
+            return e.statusCode() < 500;
+        }
+    }
+
     private void validateConfig(S3Config config) {
         if (config == null || !StringUtils.hasText(config.getTenant()) ||
                 !StringUtils.hasText(config.getUrl()) ||
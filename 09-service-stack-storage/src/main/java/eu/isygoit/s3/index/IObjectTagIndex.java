@@ -0,0 +1,149 @@
+package eu.isygoit.s3.index;
+
+import eu.isygoit.enums.IEnumLogicalOperator;
+import eu.isygoit.s3.object.FileStorage;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The interface Object tag index.
+ * <p>
+ * Local index of object tags per tenant and bucket, used by {@code getObjectByTags} instead of fetching the tags of
+ * every object from the storage server. The storage services keep it current on upload, tag update and delete; a
+ * bucket is only answered from the index once it has been fully rebuilt from a listing
+ * (see {@link TagIndexReconciliationJob}).
+ * <p>
+ * An index that does not see every write to a bucket, such as a local index in a multi-instance deployment, is not
+ * authoritative: its results may be partial, missing the objects written through other instances since the last
+ * rebuild of the bucket, and the storage services only fall back to a listing when it finds nothing.
+ */
+public interface IObjectTagIndex {
+
+    /**
+     * Tag matching rule shared by the index and the remote scan: {@code AND} requires every requested tag entry,
+     * {@code OR} requires at least one requested tag value.
+     *
+     * @param objectTags the object tags
+     * @param tags       the requested tags
+     * @param condition  the condition
+     * @return the boolean
+     */
+    static boolean matches(Map<String, String> objectTags, Map<String, String> tags, IEnumLogicalOperator.Types condition) {
+        return condition == IEnumLogicalOperator.Types.AND
+                ? objectTags.entrySet().containsAll(tags.entrySet())
+                : !Collections.disjoint(objectTags.values(), tags.values());
+    }
+
+    /**
+     * The object tag values that were requested, as reported in {@link FileStorage#tags}.
+     *
+     * @param objectTags the object tags
+     * @param tags       the requested tags
+     * @return the matched values
+     */
+    static List<String> matchedValues(Map<String, String> objectTags, Map<String, String> tags) {
+        Collection<String> requested = tags.values();
+        return objectTags.values().stream()
+                .filter(requested::contains)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Is indexed boolean.
+     *
+     * @param tenant     the tenant
+     * @param bucketName the bucket name
+     * @return true when the bucket has been fully rebuilt and can be queried
+     */
+    boolean isIndexed(String tenant, String bucketName);
+
+    /**
+     * Whether the index sees every write made through the storage services, so that an empty result is final.
+     *
+     * @return true when an empty result does not need to be checked against the storage server
+     */
+    default boolean isAuthoritative() {
+        return true;
+    }
+
+    /**
+     * Put an object, replacing any previous entry with the same name.
+     *
+     * @param tenant     the tenant
+     * @param bucketName the bucket name
+     * @param object     the object
+     * @param tags       the tags
+     */
+    void put(String tenant, String bucketName, FileStorage object, Map<String, String> tags);
+
+    /**
+     * Update the tags of an indexed object.
+     *
+     * @param tenant     the tenant
+     * @param bucketName the bucket name
+     * @param objectName the object name
+     * @param tags       the tags
+     */
+    void updateTags(String tenant, String bucketName, String objectName, Map<String, String> tags);
+
+    /**
+     * Remove an object.
+     *
+     * @param tenant     the tenant
+     * @param bucketName the bucket name
+     * @param objectName the object name
+     */
+    void remove(String tenant, String bucketName, String objectName);
+
+    /**
+     * Drop a bucket; it will have to be rebuilt before being queried again.
+     *
+     * @param tenant     the tenant
+     * @param bucketName the bucket name
+     */
+    void dropBucket(String tenant, String bucketName);
+
+    /**
+     * Begin a rebuild. Changes applied after this call win over the snapshot passed to
+     * {@link #completeRebuild(String, String, long, List)}.
+     *
+     * @param tenant     the tenant
+     * @param bucketName the bucket name
+     * @return the rebuild token
+     */
+    long beginRebuild(String tenant, String bucketName);
+
+    /**
+     * Complete a rebuild with a full snapshot of the bucket and mark it as indexed.
+     *
+     * @param tenant       the tenant
+     * @param bucketName   the bucket name
+     * @param rebuildToken the token returned by {@link #beginRebuild(String, String)}
+     * @param objects      the objects of the bucket with their tags
+     */
+    void completeRebuild(String tenant, String bucketName, long rebuildToken, List<TaggedObject> objects);
+
+    /**
+     * Abort a rebuild whose listing failed, leaving the bucket as it was.
+     *
+     * @param tenant       the tenant
+     * @param bucketName   the bucket name
+     * @param rebuildToken the token returned by {@link #beginRebuild(String, String)}
+     */
+    void abortRebuild(String tenant, String bucketName, long rebuildToken);
+
+    /**
+     * Find the objects matching the tags.
+     *
+     * @param tenant     the tenant
+     * @param bucketName the bucket name
+     * @param tags       the tags
+     * @param condition  the condition
+     * @return the matching objects, as new {@link FileStorage} instances
+     */
+    List<FileStorage> find(String tenant, String bucketName, Map<String, String> tags, IEnumLogicalOperator.Types condition);
+}
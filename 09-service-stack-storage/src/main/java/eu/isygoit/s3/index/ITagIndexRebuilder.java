@@ -0,0 +1,20 @@
+package eu.isygoit.s3.index;
+
+import eu.isygoit.s3.config.S3Config;
+
+/**
+ * The interface Tag index rebuilder.
+ * <p>
+ * Implemented by storage services able to rebuild their {@link IObjectTagIndex} from a bucket listing.
+ */
+@FunctionalInterface
+public interface ITagIndexRebuilder {
+
+    /**
+     * Rebuild the tag index of a bucket.
+     *
+     * @param config     the config
+     * @param bucketName the bucket name
+     */
+    void rebuildTagIndex(S3Config config, String bucketName);
+}
@@ -0,0 +1,338 @@
+package eu.isygoit.s3.index;
+
+import eu.isygoit.enums.IEnumLogicalOperator;
+import eu.isygoit.s3.object.FileStorage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The type In memory object tag index.
+ * <p>
+ * Embedded index keeping, per tenant and bucket, the object entries and two inverted indexes: tag entry to objects
+ * (for {@code AND} queries) and tag value to objects (for {@code OR} queries). Queries touch only the posting lists
+ * of the requested tags.
+ * <p>
+ * Writes are stamped with a sequence number so that a rebuild started at token {@code t} does not override changes
+ * applied after {@code t} while the bucket was being listed.
+ * <p>
+ * The index lives in the memory of one JVM and only sees the writes made through the storage services of that JVM.
+ * The default instance is meant for single-instance deployments. In a multi-instance deployment, create it with a
+ * maximum age: a bucket is then rebuilt from its listing once its last rebuild is older than that age, and the index
+ * is not authoritative. Its results may then miss the objects written through other instances during the last
+ * {@code maxAge}; the storage services only check an empty result against the storage server.
+ */
+@Slf4j
+public class InMemoryObjectTagIndex implements IObjectTagIndex {
+
+    private final Map<String, BucketIndex> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Duration maxAge;
+
+    /**
+     * Instantiates a new In memory object tag index for a single-instance deployment: buckets stay indexed until
+     * dropped.
+     */
+    public InMemoryObjectTagIndex() {
+        this.maxAge = null;
+    }
+
+    /**
+     * Instantiates a new In memory object tag index for a multi-instance deployment.
+     *
+     * @param maxAge the age after which a rebuilt bucket must be rebuilt again, bounding how long writes made through
+     *               other instances stay invisible
+     */
+    public InMemoryObjectTagIndex(Duration maxAge) {
+        this.maxAge = Objects.requireNonNull(maxAge, "maxAge must not be null");
+    }
+
+    private static String bucketKey(String tenant, String bucketName) {
+        return tenant + '\u0000' + bucketName;
+    }
+
+    private static String entryKey(String key, String value) {
+        return key + '\u0000' + value;
+    }
+
+    private static FileStorage copyOf(FileStorage object) {
+        return FileStorage.builder()
+                .objectName(object.objectName)
+                .size(object.size)
+                .etag(object.etag)
+                .lastModified(object.lastModified)
+                .versionID(object.versionID)
+                .currentVersion(object.currentVersion)
+                .metadata(object.metadata)
+                .pathType(object.pathType)
+                .build();
+    }
+
+    private BucketIndex bucket(String tenant, String bucketName) {
+        return buckets.computeIfAbsent(bucketKey(tenant, bucketName), k -> new BucketIndex());
+    }
+
+    @Override
+    public boolean isIndexed(String tenant, String bucketName) {
+        BucketIndex index = buckets.get(bucketKey(tenant, bucketName));
+        return index != null && index.complete
+                && (maxAge == null || System.nanoTime() - index.completedAt < maxAge.toNanos());
+    }
+
+    @Override
+    public boolean isAuthoritative() {
+        return maxAge == null;
+    }
+
+    @Override
+    public void put(String tenant, String bucketName, FileStorage object, Map<String, String> tags) {
+        bucket(tenant, bucketName).put(copyOf(object), tags, sequence.incrementAndGet());
+    }
+
+    @Override
+    public void updateTags(String tenant, String bucketName, String objectName, Map<String, String> tags) {
+        bucket(tenant, bucketName).updateTags(objectName, tags, sequence.incrementAndGet());
+    }
+
+    @Override
+    public void remove(String tenant, String bucketName, String objectName) {
+        BucketIndex index = buckets.get(bucketKey(tenant, bucketName));
+        if (index != null) {
+            index.remove(objectName, sequence.incrementAndGet());
+        }
+    }
+
+    @Override
+    public void dropBucket(String tenant, String bucketName) {
+        buckets.remove(bucketKey(tenant, bucketName));
+    }
+
+    @Override
+    public long beginRebuild(String tenant, String bucketName) {
+        long token = sequence.incrementAndGet();
+        bucket(tenant, bucketName).beginRebuild(token);
+        return token;
+    }
+
+    @Override
+    public void completeRebuild(String tenant, String bucketName, long rebuildToken, List<TaggedObject> objects) {
+        bucket(tenant, bucketName).completeRebuild(rebuildToken, objects);
+        log.info("Tag index rebuilt for tenant: {}, bucket: {} ({} objects)", tenant, bucketName, objects.size());
+    }
+
+    @Override
+    public void abortRebuild(String tenant, String bucketName, long rebuildToken) {
+        BucketIndex index = buckets.get(bucketKey(tenant, bucketName));
+        if (index != null) {
+            index.abortRebuild(rebuildToken);
+        }
+    }
+
+    @Override
+    public List<FileStorage> find(String tenant, String bucketName, Map<String, String> tags, IEnumLogicalOperator.Types condition) {
+        BucketIndex index = buckets.get(bucketKey(tenant, bucketName));
+        if (index == null || tags == null || tags.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return index.find(tags, condition);
+    }
+
+    private static final class Entry {
+        private final FileStorage object;
+        private final Map<String, String> tags;
+        private final long updatedAt;
+
+        private Entry(FileStorage object, Map<String, String> tags, long updatedAt) {
+            this.object = object;
+            this.tags = tags != null ? Map.copyOf(tags) : Map.of();
+            this.updatedAt = updatedAt;
+        }
+    }
+
+    private static final class BucketIndex {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Entry> objects = new HashMap<>();
+        private final Map<String, Set<String>> byEntry = new HashMap<>();
+        private final Map<String, Set<String>> byValue = new HashMap<>();
+        // Removals seen while rebuilds are running, so that their snapshots do not resurrect them
+        private final Map<String, Long> removedAt = new HashMap<>();
+        private final NavigableSet<Long> rebuildTokens = new TreeSet<>();
+        private volatile boolean complete;
+        private volatile long completedAt;
+
+        private void put(FileStorage object, Map<String, String> tags, long stamp) {
+            lock.writeLock().lock();
+            try {
+                unlink(objects.get(object.objectName));
+                link(new Entry(object, tags, stamp));
+                removedAt.remove(object.objectName);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void updateTags(String objectName, Map<String, String> tags, long stamp) {
+            lock.writeLock().lock();
+            try {
+                Entry previous = objects.get(objectName);
+                FileStorage object = previous != null ? previous.object : FileStorage.builder().objectName(objectName).currentVersion(true).build();
+                unlink(previous);
+                link(new Entry(object, tags, stamp));
+                removedAt.remove(objectName);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void remove(String objectName, long stamp) {
+            lock.writeLock().lock();
+            try {
+                unlink(objects.get(objectName));
+                if (!rebuildTokens.isEmpty()) {
+                    removedAt.put(objectName, stamp);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void beginRebuild(long token) {
+            lock.writeLock().lock();
+            try {
+                rebuildTokens.add(token);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void completeRebuild(long token, List<TaggedObject> snapshot) {
+            lock.writeLock().lock();
+            try {
+                List<Entry> newer = objects.values().stream().filter(entry -> entry.updatedAt > token).toList();
+                Map<String, Long> removedLater = new HashMap<>(removedAt);
+                removedLater.values().removeIf(stamp -> stamp <= token);
+
+                objects.clear();
+                byEntry.clear();
+                byValue.clear();
+                for (TaggedObject tagged : snapshot) {
+                    String name = tagged.getObject().objectName;
+                    if (!removedLater.containsKey(name)) {
+                        link(new Entry(copyOf(tagged.getObject()), tagged.getTags(), token));
+                    }
+                }
+                for (Entry entry : newer) {
+                    unlink(objects.get(entry.object.objectName));
+                    link(entry);
+                }
+                endRebuild(token);
+                complete = true;
+                completedAt = System.nanoTime();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void abortRebuild(long token) {
+            lock.writeLock().lock();
+            try {
+                endRebuild(token);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void endRebuild(long token) {
+            // Removals older than every running rebuild can no longer be resurrected by a snapshot
+            rebuildTokens.remove(token);
+            if (rebuildTokens.isEmpty()) {
+                removedAt.clear();
+            } else {
+                long oldest = rebuildTokens.first();
+                removedAt.values().removeIf(stamp -> stamp <= oldest);
+            }
+        }
+
+        private List<FileStorage> find(Map<String, String> tags, IEnumLogicalOperator.Types condition) {
+            lock.readLock().lock();
+            try {
+                Set<String> candidates = condition == IEnumLogicalOperator.Types.AND
+                        ? intersectEntries(tags)
+                        : unionValues(tags);
+                List<FileStorage> result = new ArrayList<>(candidates.size());
+                for (String name : candidates) {
+                    Entry entry = objects.get(name);
+                    if (entry != null && IObjectTagIndex.matches(entry.tags, tags, condition)) {
+                        FileStorage object = copyOf(entry.object);
+                        object.tags = IObjectTagIndex.matchedValues(entry.tags, tags);
+                        result.add(object);
+                    }
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Set<String> intersectEntries(Map<String, String> tags) {
+            List<Set<String>> postings = new ArrayList<>(tags.size());
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                Set<String> posting = byEntry.get(entryKey(tag.getKey(), tag.getValue()));
+                if (posting == null) {
+                    return Set.of();
+                }
+                postings.add(posting);
+            }
+            postings.sort(Comparator.comparingInt(Set::size));
+            Set<String> result = new LinkedHashSet<>(postings.get(0));
+            for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+                result.retainAll(postings.get(i));
+            }
+            return result;
+        }
+
+        private Set<String> unionValues(Map<String, String> tags) {
+            Set<String> result = new LinkedHashSet<>();
+            for (String value : new HashSet<>(tags.values())) {
+                result.addAll(byValue.getOrDefault(value, Set.of()));
+            }
+            return result;
+        }
+
+        private void link(Entry entry) {
+            String name = entry.object.objectName;
+            objects.put(name, entry);
+            entry.tags.forEach((key, value) -> {
+                byEntry.computeIfAbsent(entryKey(key, value), k -> new HashSet<>()).add(name);
+                byValue.computeIfAbsent(value, k -> new HashSet<>()).add(name);
+            });
+        }
+
+        private void unlink(Entry entry) {
+            if (entry == null) {
+                return;
+            }
+            String name = entry.object.objectName;
+            objects.remove(name);
+            entry.tags.forEach((key, value) -> {
+                removePosting(byEntry, entryKey(key, value), name);
+                removePosting(byValue, value, name);
+            });
+        }
+
+        private static void removePosting(Map<String, Set<String>> postings, String key, String name) {
+            Set<String> posting = postings.get(key);
+            if (posting != null) {
+                posting.remove(name);
+                if (posting.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+}
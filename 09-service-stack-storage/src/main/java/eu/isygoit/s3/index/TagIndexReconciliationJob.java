@@ -0,0 +1,94 @@
+package eu.isygoit.s3.index;
+
+import eu.isygoit.s3.config.S3Config;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The type Tag index reconciliation job.
+ * <p>
+ * Rebuilds the tag index of the registered buckets from their listings, correcting any drift caused by writes made
+ * outside of the storage services (other clients, lifecycle rules, replication). It is a plain {@link Runnable} so that
+ * the host application can schedule it with Quartz, {@code @Scheduled} or an executor.
+ */
+@Slf4j
+public class TagIndexReconciliationJob implements Runnable {
+
+    private final ITagIndexRebuilder rebuilder;
+    private final List<Target> targets = new CopyOnWriteArrayList<>();
+    private final Map<String, Long> lastSuccess = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Tag index reconciliation job.
+     *
+     * @param rebuilder the storage service owning the index
+     */
+    public TagIndexReconciliationJob(ITagIndexRebuilder rebuilder) {
+        this.rebuilder = rebuilder;
+    }
+
+    /**
+     * Register a bucket to reconcile.
+     *
+     * @param config     the config
+     * @param bucketName the bucket name
+     */
+    public void register(S3Config config, String bucketName) {
+        targets.removeIf(target -> target.matches(config.getTenant(), bucketName));
+        targets.add(new Target(config, bucketName));
+    }
+
+    /**
+     * Unregister a bucket.
+     *
+     * @param tenant     the tenant
+     * @param bucketName the bucket name
+     */
+    public void unregister(String tenant, String bucketName) {
+        targets.removeIf(target -> target.matches(tenant, bucketName));
+        lastSuccess.remove(tenant + "/" + bucketName);
+    }
+
+    /**
+     * Gets the time of the last successful reconciliation.
+     *
+     * @param tenant     the tenant
+     * @param bucketName the bucket name
+     * @return the epoch millis, or null if the bucket was never reconciled
+     */
+    public Long getLastSuccess(String tenant, String bucketName) {
+        return lastSuccess.get(tenant + "/" + bucketName);
+    }
+
+    @Override
+    public void run() {
+        for (Target target : targets) {
+            String key = target.config.getTenant() + "/" + target.bucketName;
+            try {
+                rebuilder.rebuildTagIndex(target.config, target.bucketName);
+                lastSuccess.put(key, System.currentTimeMillis());
+            } catch (Exception e) {
+                // One failing bucket must not prevent the others from being reconciled
+                log.error("Tag index reconciliation failed for: {}", key, e);
+            }
+        }
+    }
+
+    private static final class Target {
+        private final S3Config config;
+        private final String bucketName;
+
+        private Target(S3Config config, String bucketName) {
+            this.config = config;
+            this.bucketName = bucketName;
+        }
+
+        private boolean matches(String tenant, String bucketName) {
+            return this.config.getTenant().equals(tenant) && this.bucketName.equals(bucketName);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package eu.isygoit.s3.index;
+
+import eu.isygoit.s3.object.FileStorage;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * The type Tagged object.
+ * <p>
+ * An object listing entry together with its tags, as stored in an {@link IObjectTagIndex}.
+ */
+@Getter
+@AllArgsConstructor
+public class TaggedObject {
+
+    private final FileStorage object;
+    private final Map<String, String> tags;
+}
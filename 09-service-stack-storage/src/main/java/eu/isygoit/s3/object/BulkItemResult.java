@@ -0,0 +1,56 @@
+package eu.isygoit.s3.object;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The type Bulk item result.
+ * <p>
+ * Outcome of one item of a bulk operation, identified by its object name.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BulkItemResult {
+
+    private final String objectName;
+    private final boolean succeeded;
+    private final String error;
+
+    /**
+     * Succeeded bulk item result.
+     *
+     * @param objectName the object name
+     * @return the bulk item result
+     */
+    public static BulkItemResult succeeded(String objectName) {
+        return new BulkItemResult(objectName, true, null);
+    }
+
+    /**
+     * Failed bulk item result.
+     *
+     * @param objectName the object name
+     * @param error      the error
+     * @return the bulk item result
+     */
+    public static BulkItemResult failed(String objectName, String error) {
+        return new BulkItemResult(objectName, false, error);
+    }
+
+    /**
+     * Failed bulk item result.
+     *
+     * @param objectName the object name
+     * @param cause      the cause
+     * @return the bulk item result
+     */
+    public static BulkItemResult failed(String objectName, Throwable cause) {
+        return failed(objectName, cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+    }
+
+    @Override
+    public String toString() {
+        return objectName + (succeeded ? ": ok" : ": " + error);
+    }
+}
@@ -0,0 +1,61 @@
+package eu.isygoit.s3.object;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The type Bulk options.
+ * <p>
+ * Controls how many remote calls of a bulk operation are in flight at once and how many are started per second.
+ * Operations the storage offers in batches (multi-object delete) send up to {@code batchSize} items per call.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class BulkOptions {
+
+    /**
+     * S3 maximum number of keys of a multi-object delete request.
+     */
+    public static final int MAX_BATCH_SIZE = 1000;
+    /**
+     * The constant DEFAULT_CONCURRENCY.
+     */
+    public static final int DEFAULT_CONCURRENCY = 8;
+    /**
+     * No rate limit.
+     */
+    public static final double UNLIMITED = 0;
+
+    @Builder.Default
+    private final int concurrency = DEFAULT_CONCURRENCY;
+
+    @Builder.Default
+    private final double callsPerSecond = UNLIMITED;
+
+    @Builder.Default
+    private final int batchSize = MAX_BATCH_SIZE;
+
+    /**
+     * Default options.
+     *
+     * @return the bulk options
+     */
+    public static BulkOptions defaults() {
+        return BulkOptions.builder().build();
+    }
+
+    /**
+     * Validate the options.
+     */
+    public void validate() {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        }
+        if (callsPerSecond < 0) {
+            throw new IllegalArgumentException("Calls per second must be positive, or 0 for no limit");
+        }
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package eu.isygoit.s3.object;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The type Bulk result.
+ * <p>
+ * Per-item outcomes of a bulk operation, in item order. A bulk operation does not stop on the first failure: the
+ * caller decides what to retry from {@link #getFailed()}.
+ */
+@Getter
+public class BulkResult {
+
+    private final List<BulkItemResult> items;
+
+    /**
+     * Instantiates a new Bulk result.
+     *
+     * @param items the items
+     */
+    public BulkResult(List<BulkItemResult> items) {
+        this.items = Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Empty bulk result.
+     *
+     * @return the bulk result
+     */
+    public static BulkResult empty() {
+        return new BulkResult(List.of());
+    }
+
+    /**
+     * Gets succeeded.
+     *
+     * @return the succeeded
+     */
+    public List<BulkItemResult> getSucceeded() {
+        return items.stream().filter(BulkItemResult::isSucceeded).toList();
+    }
+
+    /**
+     * Gets failed.
+     *
+     * @return the failed
+     */
+    public List<BulkItemResult> getFailed() {
+        return items.stream().filter(item -> !item.isSucceeded()).toList();
+    }
+
+    /**
+     * Is all succeeded boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isAllSucceeded() {
+        return items.stream().allMatch(BulkItemResult::isSucceeded);
+    }
+
+    /**
+     * Size int.
+     *
+     * @return the int
+     */
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public String toString() {
+        long failed = items.stream().filter(item -> !item.isSucceeded()).count();
+        return "BulkResult[" + (items.size() - failed) + " succeeded, " + failed + " failed]";
+    }
+}
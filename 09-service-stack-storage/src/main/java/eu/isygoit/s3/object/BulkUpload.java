@@ -0,0 +1,18 @@
+package eu.isygoit.s3.object;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * The type Bulk upload.
+ * <p>
+ * One file of a bulk upload with the metadata it is stored under (bucket, path, object name, content type, tags).
+ */
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class BulkUpload {
+
+    private final MetaData metaData;
+    private final MultipartFile file;
+}
@@ -0,0 +1,80 @@
+package eu.isygoit.s3.object;
+
+import lombok.Getter;
+
+/**
+ * The type Byte range.
+ * <p>
+ * Describes an HTTP range read ({@code Range: bytes=offset-end}) on a stored object. A negative length means
+ * "from offset to the end of the object".
+ */
+@Getter
+public final class ByteRange {
+
+    private final long offset;
+    private final long length;
+
+    private ByteRange(long offset, long length) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Range offset cannot be negative");
+        }
+        if (length == 0) {
+            throw new IllegalArgumentException("Range length cannot be zero");
+        }
+        this.offset = offset;
+        this.length = length < 0 ? -1 : length;
+    }
+
+    /**
+     * Range of {@code length} bytes starting at {@code offset}.
+     *
+     * @param offset the offset
+     * @param length the length
+     * @return the byte range
+     */
+    public static ByteRange of(long offset, long length) {
+        return new ByteRange(offset, length);
+    }
+
+    /**
+     * Range starting at {@code offset} up to the end of the object.
+     *
+     * @param offset the offset
+     * @return the byte range
+     */
+    public static ByteRange from(long offset) {
+        return new ByteRange(offset, -1);
+    }
+
+    /**
+     * Is open ended boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isOpenEnded() {
+        return length < 0;
+    }
+
+    /**
+     * Gets the inclusive last byte position, or -1 when open ended.
+     *
+     * @return the end
+     */
+    public long getEnd() {
+        return isOpenEnded() ? -1 : offset + length - 1;
+    }
+
+    /**
+     * To http header string.
+     *
+     * @return the value of the HTTP {@code Range} header
+     */
+    public String toHttpHeader() {
+        return "bytes=" + offset + "-" + (isOpenEnded() ? "" : String.valueOf(getEnd()));
+    }
+
+    @Override
+    public String toString() {
+        return toHttpHeader();
+    }
+}
@@ -0,0 +1,75 @@
+package eu.isygoit.s3.object;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The type Multipart upload options.
+ * <p>
+ * Controls how a stream of unknown length is cut into parts and how many parts are in flight at once.
+ * Memory held by an upload is bounded by {@code partSize * (concurrency + 1)}.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class MultipartUploadOptions {
+
+    /**
+     * S3 minimum size of every part except the last one.
+     */
+    public static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    /**
+     * S3 maximum size of a single part.
+     */
+    public static final long MAX_PART_SIZE = 5L * 1024 * 1024 * 1024;
+    /**
+     * S3 maximum number of parts per upload.
+     */
+    public static final int MAX_PARTS = 10_000;
+    /**
+     * The constant DEFAULT_PART_SIZE.
+     */
+    public static final long DEFAULT_PART_SIZE = 16L * 1024 * 1024;
+    /**
+     * The constant DEFAULT_CONCURRENCY.
+     */
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    @Builder.Default
+    private final long partSize = DEFAULT_PART_SIZE;
+
+    @Builder.Default
+    private final int concurrency = DEFAULT_CONCURRENCY;
+
+    /**
+     * Default options.
+     *
+     * @return the multipart upload options
+     */
+    public static MultipartUploadOptions defaults() {
+        return MultipartUploadOptions.builder().build();
+    }
+
+    /**
+     * Sequential options: one part in flight, default part size.
+     *
+     * @return the multipart upload options
+     */
+    public static MultipartUploadOptions sequential() {
+        return MultipartUploadOptions.builder().concurrency(1).build();
+    }
+
+    /**
+     * Validate the options against the S3 multipart limits.
+     */
+    public void validate() {
+        if (partSize < MIN_PART_SIZE || partSize > MAX_PART_SIZE) {
+            throw new IllegalArgumentException("Part size must be between " + MIN_PART_SIZE + " and " + MAX_PART_SIZE + " bytes");
+        }
+        if (partSize > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Part size exceeds the maximum in-memory buffer size");
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        }
+    }
+}
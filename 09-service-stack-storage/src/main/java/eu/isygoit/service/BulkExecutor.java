@@ -0,0 +1,166 @@
+package eu.isygoit.service;
+
+import eu.isygoit.s3.object.BulkItemResult;
+import eu.isygoit.s3.object.BulkOptions;
+import eu.isygoit.s3.object.BulkResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The type Bulk executor.
+ * <p>
+ * Runs the remote calls of a bulk operation with at most {@link BulkOptions#getConcurrency()} calls in flight, started
+ * no faster than {@link BulkOptions#getCallsPerSecond()}. Unlike the bounded parallel runs of the engines, a failed
+ * call does not stop the operation: every item gets its own {@link BulkItemResult}, in item order. Shared by the
+ * engines and the engine-neutral defaults of {@link IObjectStorageService}.
+ */
+public final class BulkExecutor {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private BulkExecutor() {
+    }
+
+    /**
+     * Run one call per item.
+     *
+     * @param <T>     the item type
+     * @param items   the items
+     * @param name    the object name of an item, used in the results
+     * @param options the options
+     * @param call    the call
+     * @return the bulk result
+     */
+    public static <T> BulkResult forEach(List<T> items, Function<T, String> name, BulkOptions options, Call<T> call) {
+        return forEachBatch(items, name, options.toBuilder().batchSize(1).build(), batch -> {
+            call.apply(batch.get(0));
+            return List.of(BulkItemResult.succeeded(name.apply(batch.get(0))));
+        });
+    }
+
+    /**
+     * Run one call per batch of {@link BulkOptions#getBatchSize()} items. A failed call fails every item of its batch.
+     *
+     * @param <T>     the item type
+     * @param items   the items
+     * @param name    the object name of an item, used in the results
+     * @param options the options
+     * @param call    the call, returning the result of every item of the batch
+     * @return the bulk result
+     */
+    public static <T> BulkResult forEachBatch(List<T> items, Function<T, String> name, BulkOptions options, BatchCall<T> call) {
+        options.validate();
+        if (items == null || items.isEmpty()) {
+            return BulkResult.empty();
+        }
+
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += options.getBatchSize()) {
+            batches.add(items.subList(from, Math.min(from + options.getBatchSize(), items.size())));
+        }
+
+        RateLimiter rateLimiter = new RateLimiter(options.getCallsPerSecond());
+        int threads = Math.min(options.getConcurrency(), batches.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "storage-bulk-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<List<BulkItemResult>>> futures = new ArrayList<>(batches.size());
+            for (List<T> batch : batches) {
+                futures.add(executor.submit(() -> {
+                    rateLimiter.acquire();
+                    return call.apply(batch);
+                }));
+            }
+
+            List<BulkItemResult> results = new ArrayList<>(items.size());
+            for (int i = 0; i < batches.size(); i++) {
+                try {
+                    results.addAll(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    batches.get(i).forEach(item -> results.add(BulkItemResult.failed(name.apply(item), e.getCause())));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    for (int j = i; j < batches.size(); j++) {
+                        batches.get(j).forEach(item -> results.add(BulkItemResult.failed(name.apply(item), "Interrupted")));
+                    }
+                    break;
+                }
+            }
+            return new BulkResult(results);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The interface Call.
+     *
+     * @param <T> the item type
+     */
+    @FunctionalInterface
+    public interface Call<T> {
+        /**
+         * Apply.
+         *
+         * @param item the item
+         * @throws Exception the exception
+         */
+        void apply(T item) throws Exception;
+    }
+
+    /**
+     * The interface Batch call.
+     *
+     * @param <T> the item type
+     */
+    @FunctionalInterface
+    public interface BatchCall<T> {
+        /**
+         * Apply list.
+         *
+         * @param batch the batch
+         * @return the result of every item of the batch
+         * @throws Exception the exception
+         */
+        List<BulkItemResult> apply(List<T> batch) throws Exception;
+    }
+
+    /**
+     * Spaces call starts evenly, without bursts: each call reserves the next free slot and waits for it.
+     */
+    private static final class RateLimiter {
+
+        private final long intervalNanos;
+        private long nextFree = System.nanoTime();
+
+        private RateLimiter(double callsPerSecond) {
+            this.intervalNanos = callsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / callsPerSecond) : 0;
+        }
+
+        private void acquire() throws InterruptedException {
+            if (intervalNanos == 0) {
+                return;
+            }
+            long slot;
+            synchronized (this) {
+                slot = Math.max(nextFree, System.nanoTime());
+                nextFree = slot + intervalNanos;
+            }
+            long wait = slot - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+    }
+}
@@ -2,11 +2,25 @@ package eu.isygoit.service;
 
 import eu.isygoit.enums.IEnumLogicalOperator;
 import eu.isygoit.s3.config.S3Config;
+import eu.isygoit.s3.object.BulkOptions;
+import eu.isygoit.s3.object.BulkResult;
+import eu.isygoit.s3.object.ByteRange;
 import eu.isygoit.s3.object.FileStorage;
+import eu.isygoit.s3.object.MultipartUploadOptions;
 import io.minio.messages.Bucket;
 import io.minio.messages.DeleteObject;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -37,6 +51,105 @@ public interface IObjectStorageService {
      */
     byte[] download(S3Config config, String bucketName, String fileName, String versionID);
 
+    /**
+     * Download as a stream.
+     * <p>
+     * The default wraps {@link #download(S3Config, String, String, String)} and therefore still buffers the object in
+     * heap; engines backed by MinIO or an S3 compatible storage should override it with the streaming
+     * {@code getObjectStream} of {@link eu.isygoit.s3.api.IMinIOApiService} or
+     * {@link eu.isygoit.s3.api.IAWSS3ApiService}.
+     *
+     * @param config     the config
+     * @param bucketName the bucket name
+     * @param fileName   the file name
+     * @param versionID  the version id
+     * @return the input stream, to be closed by the caller
+     */
+    default InputStream downloadStream(S3Config config, String bucketName, String fileName, String versionID) {
+        return new ByteArrayInputStream(download(config, bucketName, fileName, versionID));
+    }
+
+    /**
+     * Download as a channel.
+     *
+     * @param config     the config
+     * @param bucketName the bucket name
+     * @param fileName   the file name
+     * @param versionID  the version id
+     * @return the readable byte channel, to be closed by the caller
+     */
+    default ReadableByteChannel downloadChannel(S3Config config, String bucketName, String fileName, String versionID) {
+        return Channels.newChannel(downloadStream(config, bucketName, fileName, versionID));
+    }
+
+    /**
+     * Download a byte range.
+     * <p>
+     * The default skips to the offset of {@link #downloadStream(S3Config, String, String, String)}; engines should
+     * override it with a ranged request.
+     *
+     * @param config     the config
+     * @param bucketName the bucket name
+     * @param fileName   the file name
+     * @param versionID  the version id
+     * @param range      the byte range
+     * @return the input stream of the requested bytes, to be closed by the caller
+     */
+    default InputStream downloadRange(S3Config config, String bucketName, String fileName, String versionID, ByteRange range) {
+        InputStream input = downloadStream(config, bucketName, fileName, versionID);
+        try {
+            input.skipNBytes(range.getOffset());
+        } catch (EOFException e) {
+            return new BoundedInputStream(input, 0);
+        } catch (IOException e) {
+            IOUtils.closeQuietly(input);
+            throw new UncheckedIOException("Failed to download range of: " + fileName, e);
+        }
+        return range.isOpenEnded() ? input : new BoundedInputStream(input, range.getEnd() + 1 - range.getOffset());
+    }
+
+    /**
+     * Upload a stream of unknown length.
+     * <p>
+     * The default spools the stream to a temporary file and runs
+     * {@link #upload(S3Config, String, String, Map, MultipartFile)} with the object name as original file name; engines
+     * should override it to stream to the storage.
+     *
+     * @param config      the config
+     * @param bucketName  the bucket name
+     * @param path        the path
+     * @param objectName  the object name
+     * @param contentType the content type
+     * @param tags        the tags
+     * @param input       the input stream, not closed by this method
+     */
+    default void uploadStream(S3Config config, String bucketName, String path, String objectName, String contentType,
+                              Map<String, String> tags, InputStream input) {
+        try (SpooledMultipartFile file = SpooledMultipartFile.spool(objectName, contentType, input)) {
+            upload(config, bucketName, path, tags, file);
+        }
+    }
+
+    /**
+     * Upload a stream of unknown length as a parallel multipart upload.
+     * <p>
+     * The default ignores the options and runs
+     * {@link #uploadStream(S3Config, String, String, String, String, Map, InputStream)}.
+     *
+     * @param config      the config
+     * @param bucketName  the bucket name
+     * @param path        the path
+     * @param objectName  the object name
+     * @param contentType the content type
+     * @param tags        the tags
+     * @param input       the input stream, not closed by this method
+     * @param options     the part size and concurrency
+     */
+    default void uploadMultipart(S3Config config, String bucketName, String path, String objectName, String contentType,
+                                 Map<String, String> tags, InputStream input, MultipartUploadOptions options) {
+        uploadStream(config, bucketName, path, objectName, contentType, tags, input);
+    }
+
     /**
      * Delete file.
      *
@@ -46,6 +159,81 @@ public interface IObjectStorageService {
      */
     void deleteFile(S3Config config, String bucketName, String fileName);
 
+    /**
+     * Upload files concurrently.
+     * <p>
+     * The default runs {@link #upload(S3Config, String, String, Map, MultipartFile)} per file.
+     *
+     * @param config     the config
+     * @param bucketName the bucket name
+     * @param path       the path
+     * @param tags       the tags of every file
+     * @param files      the files
+     * @param options    the concurrency and rate limit
+     * @return the result of every upload, keyed by original file name
+     */
+    default BulkResult uploadAll(S3Config config, String bucketName, String path, Map<String, String> tags,
+                                 List<MultipartFile> files, BulkOptions options) {
+        return BulkExecutor.forEach(files, MultipartFile::getOriginalFilename, options,
+                file -> upload(config, bucketName, path, tags, file));
+    }
+
+    /**
+     * Delete files concurrently.
+     * <p>
+     * The default runs {@link #deleteFile(S3Config, String, String)} per file; engines with multi-object delete
+     * should override it to delete in batches.
+     *
+     * @param config     the config
+     * @param bucketName the bucket name
+     * @param fileNames  the file names
+     * @param options    the batch size, concurrency and rate limit
+     * @return the result of every deletion
+     */
+    default BulkResult deleteAll(S3Config config, String bucketName, List<String> fileNames, BulkOptions options) {
+        return BulkExecutor.forEach(fileNames, name -> name, options, name -> deleteFile(config, bucketName, name));
+    }
+
+    /**
+     * Copy files, under the same names, to another bucket of the same storage.
+     * <p>
+     * The default streams every file through {@link #downloadStream(S3Config, String, String, String)} and
+     * {@link #uploadStream(S3Config, String, String, String, String, Map, InputStream)}, without tags; engines should
+     * override it with a server-side copy.
+     *
+     * @param config       the config
+     * @param sourceBucket the source bucket
+     * @param targetBucket the target bucket
+     * @param fileNames    the file names
+     * @param options      the concurrency and rate limit
+     * @return the result of every copy
+     */
+    default BulkResult copyAll(S3Config config, String sourceBucket, String targetBucket, List<String> fileNames,
+                               BulkOptions options) {
+        return BulkExecutor.forEach(fileNames, name -> name, options, name -> {
+            try (InputStream input = downloadStream(config, sourceBucket, name, null)) {
+                uploadStream(config, targetBucket, null, name, null, null, input);
+            }
+        });
+    }
+
+    /**
+     * Replace the tags of files concurrently.
+     * <p>
+     * The default runs {@link #updateTags(S3Config, String, String, Map)} per file.
+     *
+     * @param config     the config
+     * @param bucketName the bucket name
+     * @param tags       the new tags, by object name
+     * @param options    the concurrency and rate limit
+     * @return the result of every update
+     */
+    default BulkResult updateTagsAll(S3Config config, String bucketName, Map<String, Map<String, String>> tags,
+                                     BulkOptions options) {
+        return BulkExecutor.forEach(new ArrayList<>(tags.entrySet()), Map.Entry::getKey, options,
+                entry -> updateTags(config, bucketName, entry.getKey(), entry.getValue()));
+    }
+
     /**
      * Gets object by tags.
      *
@@ -0,0 +1,115 @@
+package eu.isygoit.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * The type Spooled multipart file.
+ * <p>
+ * A stream of unknown length copied to a temporary file, so that it can be handed to
+ * {@link IObjectStorageService#upload(eu.isygoit.s3.config.S3Config, String, String, java.util.Map, MultipartFile)}
+ * without holding the content in heap. The temporary file is deleted on {@link #close()}.
+ */
+final class SpooledMultipartFile implements MultipartFile, AutoCloseable {
+
+    private final String objectName;
+    private final String contentType;
+    private final Path file;
+
+    private SpooledMultipartFile(String objectName, String contentType, Path file) {
+        this.objectName = objectName;
+        this.contentType = contentType;
+        this.file = file;
+    }
+
+    /**
+     * Spool the input to a temporary file.
+     *
+     * @param objectName  the object name, returned as original file name
+     * @param contentType the content type
+     * @param input       the input stream, not closed by this method
+     * @return the spooled multipart file
+     */
+    static SpooledMultipartFile spool(String objectName, String contentType, InputStream input) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("storage-upload-", ".tmp");
+            Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+            return new SpooledMultipartFile(objectName, contentType, file);
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("Failed to spool upload of: " + objectName, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return objectName;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return objectName;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    @Override
+    public long getSize() {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(file);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(file);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        transferTo(dest.toPath());
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        Files.copy(file, dest, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public void close() {
+        deleteQuietly(file);
+    }
+}
@@ -2,6 +2,7 @@ package eu.isygoit.factory;
 
 import eu.isygoit.enums.IEnumStorage;
 import eu.isygoit.service.IObjectStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -9,8 +10,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.BeanFactory;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,4 +57,46 @@ class StorageFactoryServiceTest {
         assertEquals(lakefsService, result);
         verify(beanFactory, times(1)).getBean(beanName, IObjectStorageService.class);
     }
+
+    @Test
+    void testGetService_ResolvesBeanOnce() {
+        String beanName = "MinIOStorageService";
+        when(beanFactory.getBean(beanName, IObjectStorageService.class)).thenReturn(minioService);
+
+        storageFactoryService.getService(IEnumStorage.Types.MINIO_STORAGE);
+        IObjectStorageService result = storageFactoryService.getService(IEnumStorage.Types.MINIO_STORAGE);
+
+        assertEquals(minioService, result);
+        verify(beanFactory, times(1)).getBean(beanName, IObjectStorageService.class);
+    }
+
+    @Test
+    void testRefresh_RegistersDefinedServicesEagerly() {
+        when(beanFactory.containsBean(anyString())).thenAnswer(invocation -> "LakeFSStorageService".equals(invocation.getArgument(0)));
+        when(beanFactory.getBean("LakeFSStorageService", IObjectStorageService.class)).thenReturn(lakefsService);
+
+        storageFactoryService.refresh();
+        clearInvocations(beanFactory);
+
+        assertEquals(lakefsService, storageFactoryService.getService(IEnumStorage.Types.LAKEFS_STORAGE));
+        verifyNoInteractions(beanFactory);
+    }
+
+    @Test
+    void testGetService_RecordsTimerPerEngineAndOperation() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StorageFactoryService timedFactory = new StorageFactoryService(beanFactory, meterRegistry);
+        when(beanFactory.getBean("MinIOStorageService", IObjectStorageService.class)).thenReturn(minioService);
+        when(minioService.getObjects(null, "missing")).thenThrow(new IllegalStateException("unreachable"));
+
+        IObjectStorageService service = timedFactory.getService(IEnumStorage.Types.MINIO_STORAGE);
+        service.deleteFile(null, "bucket", "file");
+        assertThrows(IllegalStateException.class, () -> service.getObjects(null, "missing"));
+
+        verify(minioService).deleteFile(null, "bucket", "file");
+        assertEquals(1, meterRegistry.get(StorageFactoryService.TIMER_NAME)
+                .tags("engine", "MinIO", "operation", "deleteFile", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get(StorageFactoryService.TIMER_NAME)
+                .tags("engine", "MinIO", "operation", "getObjects", "outcome", "error").timer().count());
+    }
 }
@@ -0,0 +1,235 @@
+package eu.isygoit.factory;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TenantClientCache: client reuse, background health checks, reconnect backoff, refresh and closing
+ * of replaced clients.
+ */
+class TenantClientCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger builds = new AtomicInteger();
+    private final AtomicBoolean healthy = new AtomicBoolean(true);
+    private final Map<String, Client> clients = new ConcurrentHashMap<>();
+    private final List<Runnable> pendingChecks = new ArrayList<>();
+    private final List<Runnable> pendingCloses = new ArrayList<>();
+    private final TenantClientCache<Client> cache = new TenantClientCache<>("test", clients, client -> healthy.get(),
+            Duration.ofSeconds(60), Duration.ofSeconds(1), Duration.ofSeconds(4), 3, Duration.ofMinutes(5), now::get,
+            pendingChecks::add, closeExecutor());
+
+    private ScheduledExecutorService closeExecutor() {
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        when(executor.schedule(any(Runnable.class), anyLong(), any())).thenAnswer(invocation -> {
+            assertEquals(Duration.ofMinutes(5).toNanos(), (long) invocation.getArgument(1));
+            pendingCloses.add(invocation.getArgument(0));
+            return null;
+        });
+        return executor;
+    }
+
+    private Client build() {
+        return new Client("client-" + builds.incrementAndGet());
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    private void runChecks() {
+        List<Runnable> checks = new ArrayList<>(pendingChecks);
+        pendingChecks.clear();
+        checks.forEach(Runnable::run);
+    }
+
+    private void runCloses() {
+        List<Runnable> closes = new ArrayList<>(pendingCloses);
+        pendingCloses.clear();
+        closes.forEach(Runnable::run);
+    }
+
+    private Client get(String tenant) {
+        return cache.get(tenant, this::build);
+    }
+
+    @Test
+    void get_shouldBuildOnceAndReuse() {
+        assertEquals("client-1", get("tenant").name);
+        runChecks();
+        assertEquals("client-1", get("tenant").name);
+        assertEquals("client-1", clients.get("tenant").name);
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void get_shouldKeepClient_whenHealthRecoversBeforeThreshold() {
+        Client first = get("tenant");
+        runChecks();
+        healthy.set(false);
+        advance(Duration.ofSeconds(60));
+        get("tenant");
+        runChecks();
+
+        healthy.set(true);
+        advance(Duration.ofSeconds(1));
+        get("tenant");
+        runChecks();
+        healthy.set(false);
+        advance(Duration.ofSeconds(1));
+        assertSame(first, get("tenant"));
+        assertTrue(pendingChecks.isEmpty(), "Back to the regular interval after a passed check");
+
+        advance(Duration.ofSeconds(60));
+        get("tenant");
+        runChecks();
+        assertSame(first, get("tenant"), "The failure count restarted");
+        assertTrue(pendingCloses.isEmpty());
+    }
+
+    @Test
+    void get_shouldCheckInBackgroundAndReconnect_whenHealthCheckFails() {
+        Client first = get("tenant");
+        runChecks();
+        healthy.set(false);
+
+        advance(Duration.ofSeconds(30));
+        assertSame(first, get("tenant"));
+        assertTrue(pendingChecks.isEmpty(), "Not checked before the interval");
+
+        advance(Duration.ofSeconds(31));
+        assertSame(first, get("tenant"), "The request does not wait for the check");
+        assertSame(first, get("tenant"));
+        assertEquals(1, pendingChecks.size(), "A single check in flight");
+
+        // A client that passed a check is kept until it fails three checks in a row, rechecked after the backoff
+        runChecks();
+        for (int failures = 1; failures < 3; failures++) {
+            assertSame(first, get("tenant"), "Kept after " + failures + " failed checks");
+            assertTrue(pendingChecks.isEmpty(), "Not rechecked before the backoff");
+            advance(Duration.ofSeconds(1));
+            assertSame(first, get("tenant"));
+            runChecks();
+        }
+        assertFalse(first.closed.get(), "Not closed while other requests may still use it");
+        assertThrows(IllegalStateException.class, () -> get("tenant"), "Rebuilt after the backoff");
+        runCloses();
+        assertTrue(first.closed.get());
+
+        healthy.set(true);
+        advance(Duration.ofSeconds(1));
+        assertEquals("client-2", get("tenant").name);
+    }
+
+    @Test
+    void get_shouldBackOff_whenNewClientFailsItsProbe() {
+        healthy.set(false);
+        Client first = get("tenant");
+        runChecks();
+
+        assertThrows(IllegalStateException.class, () -> get("tenant"), "A new client failing its probe is dropped");
+        assertEquals(1, builds.get());
+        runCloses();
+        assertTrue(first.closed.get());
+
+        advance(Duration.ofSeconds(1));
+        Client second = get("tenant");
+        runChecks();
+        advance(Duration.ofSeconds(1));
+        assertThrows(IllegalStateException.class, () -> get("tenant"), "Backoff doubled to 2s");
+        advance(Duration.ofSeconds(1));
+        assertNotSame(second, get("tenant"));
+        assertEquals(3, builds.get());
+    }
+
+    @Test
+    void get_shouldFailFastDuringBackoff() {
+        AtomicInteger attempts = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException("unreachable");
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> cache.get("tenant", () -> {
+            attempts.incrementAndGet();
+            throw failure;
+        })));
+        assertThrows(IllegalStateException.class, () -> get("tenant"));
+        assertEquals(1, attempts.get());
+        assertEquals(0, builds.get());
+
+        advance(Duration.ofSeconds(1));
+        assertEquals("client-1", get("tenant").name);
+    }
+
+    @Test
+    void get_shouldDoubleBackoffUpToMax() {
+        for (int i = 0; i < 5; i++) {
+            assertThrows(IllegalStateException.class, () -> cache.get("tenant", () -> {
+                throw new IllegalStateException("unreachable");
+            }));
+            advance(Duration.ofSeconds(8));
+        }
+
+        assertThrows(IllegalStateException.class, () -> cache.get("tenant", () -> {
+            throw new IllegalStateException("unreachable");
+        }));
+        advance(Duration.ofSeconds(3));
+        assertThrows(IllegalStateException.class, () -> get("tenant"), "Still in the 4s max backoff");
+        advance(Duration.ofSeconds(1));
+        assertEquals("client-1", get("tenant").name);
+    }
+
+    @Test
+    void refresh_shouldDropAndCloseClients() {
+        Client tenant = get("tenant");
+        Client other = get("other");
+
+        cache.refresh("tenant");
+        assertEquals("client-3", get("tenant").name);
+        assertSame(other, get("other"));
+
+        Client configured = new Client("configured");
+        cache.put("other", configured);
+        assertSame(configured, get("other"));
+        assertFalse(tenant.closed.get() || other.closed.get(), "Closed after the grace period only");
+        runCloses();
+        assertTrue(tenant.closed.get());
+        assertTrue(other.closed.get(), "The replaced client is closed");
+
+        cache.refreshAll();
+        assertEquals(0, cache.size());
+        runCloses();
+        assertTrue(configured.closed.get());
+    }
+
+    /**
+     * A closeable test client.
+     */
+    private static final class Client implements AutoCloseable {
+
+        private final String name;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Client(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+    }
+}
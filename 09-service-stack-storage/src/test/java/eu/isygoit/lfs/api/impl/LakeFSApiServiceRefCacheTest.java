@@ -0,0 +1,141 @@
+package eu.isygoit.lfs.api.impl;
+
+import eu.isygoit.lfs.config.LFSConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ref metadata cache, async API and connection limits of {@link LakeFSApiService} against the local LakeFS stub.
+ */
+class LakeFSApiServiceRefCacheTest {
+
+    private static final String REPOSITORY = "repo";
+
+    private LakeFSStubServer server;
+    private LFSConfig config;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new LakeFSStubServer(0);
+        config = LFSConfig.builder()
+                .tenant("cache-tenant")
+                .url(server.url())
+                .userName("user")
+                .password("pass")
+                .maxConnections(2)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private LakeFSApiService service(Duration ttl) {
+        return new LakeFSApiService(new HashMap<>(), null, ttl);
+    }
+
+    @Test
+    void existenceChecksAreServedFromCache() {
+        LakeFSApiService service = service(Duration.ofMinutes(1));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(service.repositoryExists(config, REPOSITORY));
+            assertTrue(service.branchExists(config, REPOSITORY, "main"));
+        }
+        assertTrue(service.repositoryExistsAsync(config, REPOSITORY).join());
+        assertTrue(service.branchExistsAsync(config, REPOSITORY, "main").join());
+
+        assertEquals(1, server.requests("GET /repositories/repo"));
+        assertEquals(1, server.requests("GET /repositories/repo/branches/main"));
+    }
+
+    @Test
+    void branchWritesInvalidateCachedBranches() {
+        LakeFSApiService service = service(Duration.ofMinutes(1));
+
+        assertFalse(service.branchExists(config, REPOSITORY, "feature"));
+        assertEquals(List.of("main"), service.getBranches(config, REPOSITORY));
+
+        service.createBranch(config, REPOSITORY, "feature", "main");
+        assertTrue(service.branchExists(config, REPOSITORY, "feature"));
+        assertEquals(List.of("feature", "main"), service.getBranchesAsync(config, REPOSITORY).join());
+
+        service.deleteBranch(config, REPOSITORY, "feature");
+        assertFalse(service.branchExistsAsync(config, REPOSITORY, "feature").join());
+        assertEquals(List.of("main"), service.getBranches(config, REPOSITORY));
+        assertEquals(3, server.requests("GET /repositories/repo/branches"));
+    }
+
+    @Test
+    void commitInvalidatesCachedHistory() {
+        LakeFSApiService service = service(Duration.ofMinutes(1));
+
+        assertTrue(service.getCommitHistory(config, REPOSITORY, "main", 10).isEmpty());
+        assertTrue(service.getCommitHistoryAsync(config, REPOSITORY, "main", 10).join().isEmpty());
+        assertEquals(1, server.requests("GET /repositories/repo/refs/main/commits"));
+
+        String commitId = service.commit(config, REPOSITORY, "main", "first", null);
+
+        List<Map<String, Object>> history = service.getCommitHistoryAsync(config, REPOSITORY, "main", 10).join();
+        assertEquals(1, history.size());
+        assertEquals(commitId, history.get(0).get("id"));
+        assertEquals(2, server.requests("GET /repositories/repo/refs/main/commits"));
+    }
+
+    @Test
+    void zeroTtlDisablesCache() {
+        LakeFSApiService service = service(Duration.ZERO);
+
+        service.repositoryExists(config, REPOSITORY);
+        service.repositoryExists(config, REPOSITORY);
+        service.repositoryExistsAsync(config, REPOSITORY).join();
+
+        assertEquals(3, server.requests("GET /repositories/repo"));
+    }
+
+    @Test
+    void asyncRequestsRespectTenantConnectionLimit() {
+        LakeFSApiService service = service(Duration.ofMinutes(1));
+        server.setObjectDelayMs(50);
+
+        List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(service.getObjectAsync(config, REPOSITORY, "main", "dir/file " + i + ".txt"));
+        }
+        // Blocking reads share the same limit
+        assertEquals("content of other.txt",
+                new String(service.getObject(config, REPOSITORY, "main", "other.txt"), StandardCharsets.UTF_8));
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals("content of dir/file " + i + ".txt", new String(futures.get(i).join(), StandardCharsets.UTF_8));
+        }
+        assertTrue(server.maxInFlight() <= 2, "At most 2 concurrent requests, got " + server.maxInFlight());
+    }
+
+    @Test
+    void blockingRequestsHoldTheirSlotUntilTheResponseIsClosed() {
+        LakeFSHttpClient client = new LakeFSHttpClient(config, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        RestTemplate restTemplate = client.createRestTemplate();
+
+        Integer freeWhileReading = restTemplate.execute(server.url() + "/api/v1/repositories/repo", HttpMethod.GET, null,
+                response -> client.availablePermits());
+
+        assertEquals(1, freeWhileReading, "The slot is held while the body is read");
+        assertEquals(2, client.availablePermits(), "The slot is released once the response is closed");
+        client.close();
+    }
+}
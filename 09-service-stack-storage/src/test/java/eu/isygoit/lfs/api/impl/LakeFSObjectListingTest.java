@@ -0,0 +1,127 @@
+package eu.isygoit.lfs.api.impl;
+
+import eu.isygoit.enums.IEnumLogicalOperator;
+import eu.isygoit.lfs.config.LFSConfig;
+import eu.isygoit.s3.object.FileStorage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Paginated listing of {@link LakeFSApiService} against a local LakeFS stub holding 100k objects.
+ */
+class LakeFSObjectListingTest {
+
+    private static final int OBJECTS = 100_000;
+    private static final String REPOSITORY = "repo";
+    private static final String BRANCH = "main";
+
+    private static LakeFSStubServer server;
+
+    private LakeFSApiService lakeFSApiService;
+    private LFSConfig config;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = new LakeFSStubServer(OBJECTS);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Map<String, RestTemplate> clients = new HashMap<>();
+        lakeFSApiService = new LakeFSApiService(clients, null);
+        config = LFSConfig.builder()
+                .tenant("listing-tenant")
+                .url(server.url())
+                .userName("user")
+                .password("pass")
+                .build();
+    }
+
+    @Test
+    void streamWalksEveryPageInOrder() {
+        int before = server.listRequests();
+        try (Stream<FileStorage> stream = lakeFSApiService.streamObjects(config, REPOSITORY, BRANCH, "")) {
+            Iterator<FileStorage> iterator = stream.iterator();
+            String previous = "";
+            int count = 0;
+            while (iterator.hasNext()) {
+                FileStorage object = iterator.next();
+                assertTrue(object.objectName.compareTo(previous) > 0, "Listing must be strictly ordered");
+                previous = object.objectName;
+                count++;
+            }
+            assertEquals(OBJECTS, count);
+        }
+        assertEquals(OBJECTS / 1000, server.listRequests() - before);
+    }
+
+    @Test
+    void getObjectsIsNotTruncated() {
+        List<FileStorage> objects = lakeFSApiService.getObjects(config, REPOSITORY, BRANCH, null);
+
+        assertEquals(OBJECTS, objects.size());
+        FileStorage first = objects.get(0);
+        assertEquals("data/part-000250.parquet", first.objectName);
+        assertEquals(250L, first.size);
+        assertEquals("c250", first.etag);
+        assertEquals("50", first.metadata.get("shard"));
+        assertNotNull(first.lastModified);
+    }
+
+    @Test
+    void prefixAndPageSizeWithoutPrefetch() {
+        int before = server.listRequests();
+        try (Stream<FileStorage> stream = lakeFSApiService.streamObjects(config, REPOSITORY, BRANCH, "logs/", 100, false)) {
+            assertEquals(LakeFSStubServer.LOG_OBJECTS, stream.count());
+        }
+        assertEquals(3, server.listRequests() - before);
+    }
+
+    @Test
+    void metadataLimitStopsListingEarly() {
+        int before = server.listRequests();
+        List<FileStorage> result = lakeFSApiService.getObjectByMetadata(config, REPOSITORY, BRANCH,
+                Map.of("shard", "50"), IEnumLogicalOperator.Types.AND, 3);
+
+        assertEquals(List.of("data/part-000250.parquet", "data/part-000350.parquet", "data/part-000450.parquet"),
+                result.stream().map(o -> o.objectName).toList());
+        // First page plus at most the prefetched one, out of 100
+        assertTrue(server.listRequests() - before <= 2);
+    }
+
+    @Test
+    void metadataFilterScansWholeListing() {
+        List<FileStorage> and = lakeFSApiService.getObjectByMetadata(config, REPOSITORY, BRANCH,
+                Map.of("shard", "7", "owner", "bob"), IEnumLogicalOperator.Types.AND);
+        List<FileStorage> or = lakeFSApiService.getObjectByMetadata(config, REPOSITORY, BRANCH,
+                Map.of("shard", "7", "owner", "alice"), IEnumLogicalOperator.Types.OR);
+
+        // shard 7 holds 1000 objects, object 7 belongs to alice
+        assertEquals(999, and.size());
+        assertEquals(1000 + 9, or.size());
+    }
+
+    @Test
+    void invalidPageSizeIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> lakeFSApiService.streamObjects(config, REPOSITORY, BRANCH, "", 0, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> lakeFSApiService.streamObjects(config, REPOSITORY, BRANCH, "", 5000, true));
+    }
+}
@@ -0,0 +1,228 @@
+package eu.isygoit.lfs.api.impl;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local LakeFS HTTP stub serving the paginated {@code objects/ls} endpoint over a generated, sorted object set, plus
+ * the repository, branch, commit and object endpoints of a single repository {@code repo}.
+ * <p>
+ * Object {@code i} carries the metadata {@code shard = i % 100} and {@code owner = alice} for the first ten objects,
+ * {@code bob} otherwise; the first {@link #LOG_OBJECTS} objects live under {@code logs/}, the others under
+ * {@code data/}.
+ */
+class LakeFSStubServer implements AutoCloseable {
+
+    static final int LOG_OBJECTS = 250;
+
+    private final HttpServer server;
+    private final String[] paths;
+    private final int[] ids;
+    private final AtomicInteger listRequests = new AtomicInteger();
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private final Set<String> branches = ConcurrentHashMap.newKeySet();
+    private final List<String> commits = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long objectDelayMs;
+
+    LakeFSStubServer(int objectCount) throws IOException {
+        TreeMap<String, Integer> sorted = new TreeMap<>();
+        for (int i = 0; i < objectCount; i++) {
+            sorted.put(i < LOG_OBJECTS ? String.format("logs/entry-%06d.log", i) : String.format("data/part-%06d.parquet", i), i);
+        }
+        paths = sorted.keySet().toArray(String[]::new);
+        ids = sorted.values().stream().mapToInt(Integer::intValue).toArray();
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(16));
+        branches.add("main");
+        server.start();
+    }
+
+    static String owner(int id) {
+        return id < 10 ? "alice" : "bob";
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    int listRequests() {
+        return listRequests.get();
+    }
+
+    /**
+     * Number of requests received for a method and a path below {@code /api/v1}, e.g. {@code GET /repositories/repo}.
+     */
+    int requests(String methodAndPath) {
+        AtomicInteger count = requests.get(methodAndPath);
+        return count != null ? count.get() : 0;
+    }
+
+    int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    void setObjectDelayMs(long objectDelayMs) {
+        this.objectDelayMs = objectDelayMs;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath().replaceFirst("^/api/v1", "");
+            requests.computeIfAbsent(exchange.getRequestMethod() + " " + path, k -> new AtomicInteger()).incrementAndGet();
+            if (!path.endsWith("/objects/ls")) {
+                handleRefs(exchange, path);
+                return;
+            }
+            listRequests.incrementAndGet();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String prefix = query.getOrDefault("prefix", "");
+            String after = query.getOrDefault("after", "");
+            int amount = Integer.parseInt(query.getOrDefault("amount", "100"));
+
+            int from = lowerBound(prefix);
+            if (!after.isEmpty()) {
+                from = Math.max(from, upperBound(after));
+            }
+            StringBuilder json = new StringBuilder(amount * 200).append("{\"results\":[");
+            int count = 0;
+            int index = from;
+            for (; index < paths.length && count < amount && paths[index].startsWith(prefix); index++, count++) {
+                if (count > 0) {
+                    json.append(',');
+                }
+                int id = ids[index];
+                json.append("{\"path\":\"").append(paths[index])
+                        .append("\",\"path_type\":\"object\",\"physical_address\":\"local://data/").append(id)
+                        .append("\",\"checksum\":\"c").append(id)
+                        .append("\",\"mtime\":").append(1_700_000_000L + id)
+                        .append(",\"size_bytes\":").append(id)
+                        .append(",\"metadata\":{\"shard\":\"").append(id % 100)
+                        .append("\",\"owner\":\"").append(owner(id)).append("\"}}");
+            }
+            boolean hasMore = index < paths.length && paths[index].startsWith(prefix);
+            json.append("],\"pagination\":{\"has_more\":").append(hasMore)
+                    .append(",\"next_offset\":\"").append(count > 0 ? paths[index - 1] : after)
+                    .append("\",\"results\":").append(count)
+                    .append(",\"max_per_page\":1000}}");
+
+            byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private void handleRefs(HttpExchange exchange, String path) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] segments = path.substring(1).split("/");
+        if (segments.length < 2 || !"repositories".equals(segments[0]) || !"repo".equals(segments[1])) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        if (segments.length == 2) {
+            send(exchange, 200, "{\"id\":\"repo\"}");
+        } else if (segments.length == 3 && "branches".equals(segments[2])) {
+            if ("POST".equals(method)) {
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                branches.add(body.replaceAll("(?s).*\"name\"\\s*:\\s*\"([^\"]+)\".*", "$1"));
+                send(exchange, 201, "{}");
+            } else {
+                StringJoiner results = new StringJoiner(",", "{\"results\":[", "]}");
+                new TreeSet<>(branches).forEach(branch -> results.add("{\"id\":\"" + branch + "\"}"));
+                send(exchange, 200, results.toString());
+            }
+        } else if (segments.length == 4 && "branches".equals(segments[2])) {
+            if ("DELETE".equals(method)) {
+                branches.remove(segments[3]);
+                exchange.sendResponseHeaders(204, -1);
+            } else if (branches.contains(segments[3])) {
+                send(exchange, 200, "{\"id\":\"" + segments[3] + "\"}");
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+            }
+        } else if (segments.length == 5 && "branches".equals(segments[2]) && "commits".equals(segments[4])) {
+            String id = "commit-" + (commits.size() + 1);
+            commits.add(0, id);
+            send(exchange, 201, "{\"id\":\"" + id + "\"}");
+        } else if (segments.length == 5 && "refs".equals(segments[2]) && "commits".equals(segments[4])) {
+            StringJoiner results = new StringJoiner(",", "{\"results\":[", "]}");
+            commits.forEach(commit -> results.add("{\"id\":\"" + commit + "\"}"));
+            send(exchange, 200, results.toString());
+        } else if (segments.length == 5 && "refs".equals(segments[2]) && "objects".equals(segments[4])) {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(objectDelayMs);
+                String objectPath = parseQuery(exchange.getRequestURI().getRawQuery()).get("path");
+                byte[] body = ("content of " + objectPath).getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.sendResponseHeaders(500, -1);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private int lowerBound(String key) {
+        int index = Arrays.binarySearch(paths, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private int upperBound(String key) {
+        int index = Arrays.binarySearch(paths, key);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+}
@@ -0,0 +1,227 @@
+package eu.isygoit.migration;
+
+import eu.isygoit.enums.IEnumLogicalOperator;
+import eu.isygoit.enums.IEnumStorage;
+import eu.isygoit.s3.config.S3Config;
+import eu.isygoit.s3.object.BulkItemResult;
+import eu.isygoit.s3.object.BulkOptions;
+import eu.isygoit.s3.object.BulkResult;
+import eu.isygoit.s3.object.ByteRange;
+import eu.isygoit.s3.object.FileStorage;
+import eu.isygoit.service.IObjectStorageService;
+import io.minio.messages.Bucket;
+import io.minio.messages.DeleteObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BucketMigration between two in-memory storage engines: parallel copy, per-object failures, resume
+ * from a file checkpoint and the streaming defaults of the storage engines.
+ */
+class BucketMigrationTest {
+
+    private static final String BUCKET = "documents";
+
+    private final InMemoryStorage source = new InMemoryStorage();
+    private final InMemoryStorage target = new InMemoryStorage();
+    private final S3Config sourceConfig = S3Config.builder().tenant("tenant").type(IEnumStorage.Types.MINIO_STORAGE).build();
+    private final S3Config targetConfig = S3Config.builder().tenant("tenant").type(IEnumStorage.Types.CEPH_STORAGE).build();
+
+    @TempDir
+    Path tempDir;
+
+    private BulkResult migrate(IMigrationCheckpoint checkpoint) {
+        return BucketMigration.builder()
+                .source(source).sourceConfig(sourceConfig).sourceBucket(BUCKET)
+                .target(target).targetConfig(targetConfig).targetBucket(BUCKET)
+                .checkpoint(checkpoint)
+                .options(BulkOptions.builder().concurrency(4).build())
+                .build()
+                .run();
+    }
+
+    @Test
+    void run_shouldResumeFromCheckpoint() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            source.put("file-" + i, "content " + i);
+        }
+        target.failing.add("file-3");
+        Path file = tempDir.resolve("migration").resolve("documents.chk");
+
+        try (FileMigrationCheckpoint checkpoint = new FileMigrationCheckpoint(file)) {
+            BulkResult result = migrate(checkpoint);
+
+            assertEquals(10, result.size());
+            assertEquals(List.of("file-3"), result.getFailed().stream().map(BulkItemResult::getObjectName).toList());
+            assertEquals(9, checkpoint.size());
+        }
+        assertEquals(9, Files.readAllLines(file).size());
+
+        target.failing.clear();
+        try (FileMigrationCheckpoint checkpoint = new FileMigrationCheckpoint(file)) {
+            BulkResult result = migrate(checkpoint);
+
+            assertEquals(List.of("file-3"), result.getSucceeded().stream().map(BulkItemResult::getObjectName).toList());
+            assertTrue(result.isAllSucceeded());
+        }
+        assertEquals(10, target.objects.size());
+        assertEquals("content 3", new String(target.objects.get("file-3"), StandardCharsets.UTF_8));
+        assertEquals(11, target.uploads.size(), "9 objects on the first run, file-3 failed then copied on the second");
+    }
+
+    @Test
+    void run_shouldCopyCurrentVersionsOnce() throws IOException {
+        source.put("report.pdf", "v2");
+        source.listing.add(FileStorage.builder().objectName("report.pdf").versionID("v1").currentVersion(false).build());
+        source.put("reports/2024 q1.pdf", "q1");
+
+        try (FileMigrationCheckpoint checkpoint = new FileMigrationCheckpoint(tempDir.resolve("versions.chk"))) {
+            BulkResult result = migrate(checkpoint);
+
+            assertEquals(2, result.size());
+            assertTrue(checkpoint.isDone("reports/2024 q1.pdf"));
+        }
+        assertEquals(List.of("report.pdf", "reports/2024 q1.pdf"), target.uploads.stream().sorted().toList());
+        try (FileMigrationCheckpoint checkpoint = new FileMigrationCheckpoint(tempDir.resolve("versions.chk"))) {
+            assertTrue(checkpoint.isDone("reports/2024 q1.pdf"), "Names are reloaded decoded");
+        }
+    }
+
+    @Test
+    void run_shouldUploadThroughMultipartFileWhenTargetDoesNotStream() throws IOException {
+        source.put("report.pdf", "report");
+        source.put("reports/2024 q1.pdf", "q1");
+        target.streaming = false;
+
+        try (FileMigrationCheckpoint checkpoint = new FileMigrationCheckpoint(tempDir.resolve("spooled.chk"))) {
+            assertTrue(migrate(checkpoint).isAllSucceeded());
+        }
+        assertEquals(List.of("report.pdf", "reports/2024 q1.pdf"), target.multipartUploads.stream().sorted().toList());
+        assertEquals("q1", new String(target.objects.get("reports/2024 q1.pdf"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void downloadRange_shouldStreamTheRequestedBytes() throws IOException {
+        source.put("report.pdf", "0123456789");
+
+        try (InputStream range = source.downloadRange(sourceConfig, BUCKET, "report.pdf", null, ByteRange.of(2, 3))) {
+            assertEquals("234", new String(range.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        try (InputStream range = source.downloadRange(sourceConfig, BUCKET, "report.pdf", null, ByteRange.from(8))) {
+            assertEquals("89", new String(range.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        try (InputStream range = source.downloadRange(sourceConfig, BUCKET, "report.pdf", null, ByteRange.from(20))) {
+            assertEquals(0, range.readAllBytes().length);
+        }
+        assertEquals("0123456789", new String(source.download(sourceConfig, BUCKET, "report.pdf", null), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Storage engine keeping objects in memory; uploads of the {@code failing} objects throw. Without
+     * {@code streaming}, uploads go through the default spooled upload of a multipart file.
+     */
+    private static final class InMemoryStorage implements IObjectStorageService {
+
+        private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        private final List<FileStorage> listing = new ArrayList<>();
+        private final List<String> uploads = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> multipartUploads = Collections.synchronizedList(new ArrayList<>());
+        private final Set<String> failing = ConcurrentHashMap.newKeySet();
+        private boolean streaming = true;
+
+        private void put(String objectName, String content) {
+            objects.put(objectName, content.getBytes(StandardCharsets.UTF_8));
+            listing.add(FileStorage.builder().objectName(objectName).versionID("v2").currentVersion(true).build());
+        }
+
+        @Override
+        public void uploadStream(S3Config config, String bucketName, String path, String objectName, String contentType,
+                                 Map<String, String> tags, InputStream input) {
+            if (!streaming) {
+                IObjectStorageService.super.uploadStream(config, bucketName, path, objectName, contentType, tags, input);
+                return;
+            }
+            uploads.add(objectName);
+            if (failing.contains(objectName)) {
+                throw new IllegalStateException("Target unavailable");
+            }
+            try {
+                objects.put(objectName, input.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public byte[] download(S3Config config, String bucketName, String fileName, String versionID) {
+            return objects.get(fileName);
+        }
+
+        @Override
+        public List<FileStorage> getObjects(S3Config config, String bucketName) {
+            return List.copyOf(listing);
+        }
+
+        @Override
+        public void upload(S3Config config, String bucketName, String path, Map<String, String> tags, MultipartFile file) {
+            multipartUploads.add(file.getOriginalFilename());
+            try {
+                objects.put(file.getOriginalFilename(), file.getBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void deleteFile(S3Config config, String bucketName, String fileName) {
+            objects.remove(fileName);
+        }
+
+        @Override
+        public List<FileStorage> getObjectByTags(S3Config config, String bucketName, Map<String, String> tags,
+                                                 IEnumLogicalOperator.Types condition) {
+            return List.of();
+        }
+
+        @Override
+        public void updateTags(S3Config config, String bucketName, String objectName, Map<String, String> tags) {
+        }
+
+        @Override
+        public void deleteObjects(S3Config config, String bucketName, List<DeleteObject> objects) {
+        }
+
+        @Override
+        public void saveBuckets(S3Config config, String bucketName) {
+        }
+
+        @Override
+        public void setVersioningBucket(S3Config config, String bucketName, boolean status) {
+        }
+
+        @Override
+        public void deleteBucket(S3Config config, String bucketName) {
+        }
+
+        @Override
+        public List<Bucket> getBuckets(S3Config config) {
+            return List.of();
+        }
+    }
+}
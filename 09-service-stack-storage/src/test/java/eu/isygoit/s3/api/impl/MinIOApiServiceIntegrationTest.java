@@ -2,7 +2,9 @@ package eu.isygoit.s3.api.impl;
 
 import eu.isygoit.enums.IEnumStorage;
 import eu.isygoit.s3.config.S3Config;
+import eu.isygoit.s3.object.ByteRange;
 import eu.isygoit.s3.object.MetaData;
+import eu.isygoit.s3.object.MultipartUploadOptions;
 import io.minio.MinioClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,9 +13,19 @@ import org.testcontainers.containers.MinIOContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -92,4 +104,71 @@ class MinIOApiServiceIntegrationTest {
 
         minIOApiService.deleteBucket(s3Config, bucketName);
     }
+
+    @Test
+    void testPresignedUploadAndDownload() throws Exception {
+        String bucketName = "presign-test-bucket";
+        String objectName = "direct.txt";
+        byte[] content = "Uploaded without the application".getBytes(StandardCharsets.UTF_8);
+        minIOApiService.makeBucket(s3Config, bucketName);
+
+        String uploadUrl = minIOApiService.getPresignedUploadUrl(s3Config, bucketName, objectName, Duration.ofMinutes(5));
+        HttpClient httpClient = HttpClient.newHttpClient();
+        HttpResponse<Void> upload = httpClient.send(HttpRequest.newBuilder(URI.create(uploadUrl))
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(content))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        assertEquals(200, upload.statusCode());
+        assertArrayEquals(content, minIOApiService.getObject(s3Config, bucketName, objectName, null));
+
+        String downloadUrl = minIOApiService.getPresignedObjectUrl(s3Config, bucketName, objectName, Duration.ofMinutes(5));
+        HttpResponse<byte[]> download = httpClient.send(HttpRequest.newBuilder(URI.create(downloadUrl)).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, download.statusCode());
+        assertArrayEquals(content, download.body());
+
+        minIOApiService.deleteObject(s3Config, bucketName, objectName);
+        minIOApiService.deleteBucket(s3Config, bucketName);
+    }
+
+    @Test
+    void testStreamingRangeAndMultipart() throws Exception {
+        String bucketName = "stream-test-bucket";
+        byte[] content = new byte[(int) (MultipartUploadOptions.MIN_PART_SIZE * 2 + 100)];
+        new Random(7).nextBytes(content);
+
+        MetaData metaData = MetaData.builder()
+                .objectName("large.bin")
+                .bucketName(bucketName)
+                .contentType("application/octet-stream")
+                .tagsMap(Map.of("kind", "multipart"))
+                .build();
+        MultipartUploadOptions options = MultipartUploadOptions.builder()
+                .partSize(MultipartUploadOptions.MIN_PART_SIZE)
+                .concurrency(3)
+                .build();
+
+        // Parallel upload of a stream of unknown length
+        MetaData stored = minIOApiService.uploadMultipart(s3Config, metaData, new ByteArrayInputStream(content), options);
+        assertEquals(content.length, stored.getSize());
+        assertEquals("multipart", stored.getTagsMap().get("kind"));
+        // Temporary parts are removed once composed
+        assertEquals(1, minIOApiService.getObjects(s3Config, bucketName).size());
+
+        // Sequential streaming upload
+        minIOApiService.uploadStream(s3Config, MetaData.builder().objectName("seq.bin").bucketName(bucketName).build(),
+                new ByteArrayInputStream(content));
+
+        try (InputStream stream = minIOApiService.getObjectStream(s3Config, bucketName, "seq.bin", null)) {
+            assertArrayEquals(content, stream.readAllBytes());
+        }
+        try (InputStream stream = minIOApiService.getObjectRange(s3Config, bucketName, "large.bin", null,
+                ByteRange.of(MultipartUploadOptions.MIN_PART_SIZE - 10, 20))) {
+            int from = (int) MultipartUploadOptions.MIN_PART_SIZE - 10;
+            assertArrayEquals(Arrays.copyOfRange(content, from, from + 20), stream.readAllBytes());
+        }
+
+        minIOApiService.deleteObject(s3Config, bucketName, "large.bin");
+        minIOApiService.deleteObject(s3Config, bucketName, "seq.bin");
+        minIOApiService.deleteBucket(s3Config, bucketName);
+    }
 }
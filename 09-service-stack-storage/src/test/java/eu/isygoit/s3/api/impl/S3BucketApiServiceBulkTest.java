@@ -0,0 +1,127 @@
+package eu.isygoit.s3.api.impl;
+
+import eu.isygoit.enums.IEnumLogicalOperator;
+import eu.isygoit.enums.IEnumStorage;
+import eu.isygoit.s3.config.S3Config;
+import eu.isygoit.s3.index.InMemoryObjectTagIndex;
+import eu.isygoit.s3.object.BulkItemResult;
+import eu.isygoit.s3.object.BulkOptions;
+import eu.isygoit.s3.object.BulkResult;
+import eu.isygoit.s3.object.BulkUpload;
+import eu.isygoit.s3.object.MetaData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk upload, server-side copy, tag update and multi-object delete against the in-process S3 stub.
+ */
+class S3BucketApiServiceBulkTest {
+
+    private static final String BUCKET = "bulk-bucket";
+    private static final String ARCHIVE = "bulk-archive";
+    private static final int OBJECTS = 12;
+
+    private S3StubServer server;
+    private S3Config s3Config;
+    private S3BucketApiService service;
+
+    private static List<String> names() {
+        return IntStream.range(0, OBJECTS).mapToObj(i -> "docs/doc-" + i + ".txt").toList();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new S3StubServer();
+        s3Config = S3Config.builder()
+                .tenant("bulk-tenant")
+                .type(IEnumStorage.Types.CEPH_STORAGE)
+                .userName("access")
+                .password("secret")
+                .url(server.url())
+                .region("us-east-1")
+                .build();
+        service = new S3BucketApiService(new HashMap<>(), new InMemoryObjectTagIndex());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private BulkResult seed() {
+        List<BulkUpload> uploads = IntStream.range(0, OBJECTS)
+                .mapToObj(i -> BulkUpload.of(MetaData.builder()
+                                .bucketName(BUCKET)
+                                .path("docs")
+                                .objectName("doc-" + i + ".txt")
+                                .contentType("text/plain")
+                                .tagsMap(Map.of("kind", "doc"))
+                                .build(),
+                        new MockMultipartFile("file", "doc-" + i + ".txt", "text/plain",
+                                ("content " + i).getBytes(StandardCharsets.UTF_8))))
+                .toList();
+        return service.uploadAll(s3Config, uploads, BulkOptions.builder().concurrency(4).build());
+    }
+
+    @Test
+    void uploadAll_shouldStoreEveryFile() {
+        BulkResult result = seed();
+
+        assertTrue(result.isAllSucceeded(), result.toString());
+        assertEquals(names(), result.getItems().stream().map(BulkItemResult::getObjectName).toList());
+        assertEquals("content 7", new String(server.content(BUCKET, "docs/doc-7.txt"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void copyAll_shouldCopyServerSide() {
+        seed();
+        service.makeBucket(s3Config, ARCHIVE);
+
+        BulkResult result = service.copyAll(s3Config, BUCKET, ARCHIVE, List.of("docs/doc-1.txt", "docs/missing.txt"),
+                BulkOptions.defaults());
+
+        assertTrue(result.getItems().get(0).isSucceeded());
+        assertFalse(result.getItems().get(1).isSucceeded());
+        assertEquals("content 1", new String(server.content(ARCHIVE, "docs/doc-1.txt"), StandardCharsets.UTF_8));
+        assertEquals(1, service.getObjectByTags(s3Config, ARCHIVE, Map.of("kind", "doc"), IEnumLogicalOperator.Types.AND).size(),
+                "Copies keep their tags and the index is rebuilt");
+    }
+
+    @Test
+    void updateTagsAll_shouldTagEveryObject() {
+        seed();
+        Map<String, Map<String, String>> tags = new LinkedHashMap<>();
+        names().forEach(name -> tags.put(name, Map.of("kind", "archived")));
+
+        BulkResult result = service.updateTagsAll(s3Config, BUCKET, tags, BulkOptions.builder().concurrency(4).build());
+
+        assertTrue(result.isAllSucceeded());
+        assertEquals(OBJECTS, service.getObjectByTags(s3Config, BUCKET, Map.of("kind", "archived"), IEnumLogicalOperator.Types.AND).size());
+    }
+
+    @Test
+    void deleteAll_shouldBatchAndReportPerObjectErrors() {
+        seed();
+        server.protect("docs/doc-5.txt");
+
+        BulkResult result = service.deleteAll(s3Config, BUCKET, names(), BulkOptions.builder().batchSize(5).build());
+
+        assertEquals(3, server.multiDeleteRequests(), "12 keys in batches of 5");
+        assertEquals(List.of("docs/doc-5.txt"), result.getFailed().stream().map(BulkItemResult::getObjectName).toList());
+        assertTrue(result.getFailed().get(0).getError().startsWith("AccessDenied"));
+        assertNull(server.content(BUCKET, "docs/doc-4.txt"));
+        assertNotNull(server.content(BUCKET, "docs/doc-5.txt"));
+        assertEquals(List.of("docs/doc-5.txt"), service.getObjects(s3Config, BUCKET).stream().map(o -> o.objectName).toList());
+    }
+}
@@ -0,0 +1,166 @@
+package eu.isygoit.s3.api.impl;
+
+import eu.isygoit.enums.IEnumStorage;
+import eu.isygoit.exception.S3BuketException;
+import eu.isygoit.s3.config.S3Config;
+import eu.isygoit.s3.object.ByteRange;
+import eu.isygoit.s3.object.MetaData;
+import eu.isygoit.s3.object.MultipartUploadOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streaming, range and multipart I/O of the S3 family (generic S3, Ceph, Garage, OxiCloud) against an in-process
+ * S3-compatible stub.
+ */
+class S3BucketApiServiceStreamingTest {
+
+    private static final String BUCKET = "stream-bucket";
+    private static final long PART_SIZE = MultipartUploadOptions.MIN_PART_SIZE;
+
+    private S3StubServer server;
+    private S3Config s3Config;
+
+    static Stream<Arguments> services() {
+        return Stream.of(
+                Arguments.of("S3", (Function<Map<String, S3Client>, S3BucketApiService>) S3BucketApiService::new),
+                Arguments.of("Ceph", (Function<Map<String, S3Client>, S3BucketApiService>) map -> new CephApiService(map) {
+                }),
+                Arguments.of("Garage", (Function<Map<String, S3Client>, S3BucketApiService>) map -> new GarageApiService(map) {
+                }),
+                Arguments.of("OxiCloud", (Function<Map<String, S3Client>, S3BucketApiService>) map -> new OxiCloudApiService(map) {
+                }));
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
+    private static MetaData metaData(String objectName) {
+        return MetaData.builder()
+                .bucketName(BUCKET)
+                .objectName(objectName)
+                .contentType("application/octet-stream")
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new S3StubServer();
+        s3Config = S3Config.builder()
+                .tenant("stub-tenant")
+                .type(IEnumStorage.Types.CEPH_STORAGE)
+                .userName("access")
+                .password("secret")
+                .url(server.url())
+                .region("us-east-1")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("services")
+    void streamUploadAndDownload(String name, Function<Map<String, S3Client>, S3BucketApiService> factory) throws Exception {
+        S3BucketApiService service = factory.apply(new HashMap<>());
+        byte[] content = randomBytes(64 * 1024);
+
+        MetaData stored = service.uploadStream(s3Config, metaData("small.bin"), new ByteArrayInputStream(content));
+        assertEquals(content.length, stored.getSize());
+        assertEquals(0, server.receivedParts(), "Stream shorter than a part must not use multipart");
+
+        try (InputStream stream = service.getObjectStream(s3Config, BUCKET, "small.bin", null)) {
+            assertArrayEquals(content, stream.readAllBytes());
+        }
+
+        try (ReadableByteChannel channel = service.getObjectChannel(s3Config, BUCKET, "small.bin", null)) {
+            ByteBuffer buffer = ByteBuffer.allocate(content.length);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // drain
+            }
+            assertArrayEquals(content, buffer.array());
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("services")
+    void rangeRead(String name, Function<Map<String, S3Client>, S3BucketApiService> factory) throws Exception {
+        S3BucketApiService service = factory.apply(new HashMap<>());
+        byte[] content = randomBytes(10_000);
+        service.uploadStream(s3Config, metaData("range.bin"), new ByteArrayInputStream(content));
+
+        try (InputStream stream = service.getObjectRange(s3Config, BUCKET, "range.bin", null, ByteRange.of(100, 250))) {
+            assertArrayEquals(Arrays.copyOfRange(content, 100, 350), stream.readAllBytes());
+        }
+        try (InputStream stream = service.getObjectRange(s3Config, BUCKET, "range.bin", null, ByteRange.from(9_990))) {
+            assertArrayEquals(Arrays.copyOfRange(content, 9_990, 10_000), stream.readAllBytes());
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("services")
+    void parallelMultipartUploadOfUnknownLength(String name, Function<Map<String, S3Client>, S3BucketApiService> factory) {
+        S3BucketApiService service = factory.apply(new HashMap<>());
+        byte[] content = randomBytes((int) (PART_SIZE * 3 + 1234));
+        MultipartUploadOptions options = MultipartUploadOptions.builder().partSize(PART_SIZE).concurrency(2).build();
+
+        MetaData stored = service.uploadMultipart(s3Config, metaData("large.bin"), new ByteArrayInputStream(content), options);
+
+        assertEquals(content.length, stored.getSize());
+        assertEquals(4, server.receivedParts());
+        assertTrue(server.maxPartsInFlight() <= 2, "Concurrency must be bounded by the options");
+        assertArrayEquals(content, server.content(BUCKET, "large.bin"));
+        assertEquals(0, server.pendingUploads());
+    }
+
+    @Test
+    void failedPartAbortsMultipartUpload() {
+        S3BucketApiService service = new S3BucketApiService(new HashMap<>());
+        server.failPart(2);
+        byte[] content = randomBytes((int) (PART_SIZE * 2 + 10));
+        MultipartUploadOptions options = MultipartUploadOptions.builder().partSize(PART_SIZE).concurrency(2).build();
+
+        assertThrows(S3BuketException.class, () ->
+                service.uploadMultipart(s3Config, metaData("broken.bin"), new ByteArrayInputStream(content), options));
+
+        assertEquals(1, server.abortedUploads());
+        assertEquals(0, server.pendingUploads());
+        assertNull(server.content(BUCKET, "broken.bin"));
+    }
+
+    @Test
+    void invalidOptionsAreRejected() {
+        S3BucketApiService service = new S3BucketApiService(new HashMap<>());
+        MultipartUploadOptions tooSmall = MultipartUploadOptions.builder().partSize(1024).build();
+        MultipartUploadOptions noWorkers = MultipartUploadOptions.builder().concurrency(0).build();
+
+        assertThrows(IllegalArgumentException.class, () ->
+                service.uploadMultipart(s3Config, metaData("x.bin"), new ByteArrayInputStream(new byte[1]), tooSmall));
+        assertThrows(IllegalArgumentException.class, () ->
+                service.uploadMultipart(s3Config, metaData("x.bin"), new ByteArrayInputStream(new byte[1]), noWorkers));
+        assertThrows(IllegalArgumentException.class, () -> ByteRange.of(-1, 10));
+    }
+}
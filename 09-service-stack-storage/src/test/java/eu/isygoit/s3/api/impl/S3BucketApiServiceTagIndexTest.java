@@ -0,0 +1,150 @@
+package eu.isygoit.s3.api.impl;
+
+import eu.isygoit.enums.IEnumLogicalOperator;
+import eu.isygoit.enums.IEnumStorage;
+import eu.isygoit.s3.config.S3Config;
+import eu.isygoit.s3.index.InMemoryObjectTagIndex;
+import eu.isygoit.s3.index.TagIndexReconciliationJob;
+import eu.isygoit.s3.object.FileStorage;
+import eu.isygoit.s3.object.MetaData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tag queries with and without tag index against the in-process S3 stub.
+ */
+class S3BucketApiServiceTagIndexTest {
+
+    private static final String BUCKET = "tag-bucket";
+    private static final int OBJECTS = 20;
+
+    private S3StubServer server;
+    private S3Config s3Config;
+
+    private static List<String> names(List<FileStorage> objects) {
+        return objects.stream().map(o -> o.objectName).sorted().toList();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new S3StubServer();
+        s3Config = S3Config.builder()
+                .tenant("tag-tenant")
+                .type(IEnumStorage.Types.CEPH_STORAGE)
+                .userName("access")
+                .password("secret")
+                .url(server.url())
+                .region("us-east-1")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private void seed(S3BucketApiService service) {
+        for (int i = 0; i < OBJECTS; i++) {
+            service.uploadStream(s3Config, MetaData.builder()
+                    .bucketName(BUCKET)
+                    .objectName("doc-" + i + ".txt")
+                    .tagsMap(Map.of("parity", i % 2 == 0 ? "even" : "odd", "decade", String.valueOf(i / 10)))
+                    .build(), new ByteArrayInputStream(("content " + i).getBytes()));
+        }
+    }
+
+    @Test
+    void fallbackFetchesTagsOfEveryObject() {
+        S3BucketApiService service = new S3BucketApiService(new HashMap<>());
+        seed(service);
+
+        List<FileStorage> result = service.getObjectByTags(s3Config, BUCKET,
+                Map.of("parity", "even", "decade", "1"), IEnumLogicalOperator.Types.AND);
+
+        assertEquals(List.of("doc-10.txt", "doc-12.txt", "doc-14.txt", "doc-16.txt", "doc-18.txt"), names(result));
+        assertEquals(OBJECTS, server.tagRequests());
+    }
+
+    @Test
+    void indexAnswersQueriesWithoutRemoteTagCalls() {
+        InMemoryObjectTagIndex index = new InMemoryObjectTagIndex();
+        S3BucketApiService service = new S3BucketApiService(new HashMap<>(), index);
+        seed(service);
+
+        // First query rebuilds the bucket from its listing
+        List<FileStorage> odd = service.getObjectByTags(s3Config, BUCKET, Map.of("parity", "odd"), IEnumLogicalOperator.Types.AND);
+        assertEquals(OBJECTS / 2, odd.size());
+        int afterRebuild = server.tagRequests();
+        assertEquals(OBJECTS, afterRebuild);
+
+        // Subsequent queries and writes are served by the index
+        service.updateTags(s3Config, BUCKET, "doc-1.txt", Map.of("parity", "even"));
+        service.deleteObject(s3Config, BUCKET, "doc-3.txt");
+        List<FileStorage> result = service.getObjectByTags(s3Config, BUCKET,
+                Map.of("parity", "odd", "decade", "0"), IEnumLogicalOperator.Types.AND);
+
+        assertEquals(List.of("doc-5.txt", "doc-7.txt", "doc-9.txt"), names(result));
+        assertEquals(afterRebuild, server.tagRequests());
+    }
+
+    @Test
+    void boundedIndexFallsBackToListingForWritesOfOtherInstances() {
+        S3BucketApiService instanceA = new S3BucketApiService(new HashMap<>(), new InMemoryObjectTagIndex(Duration.ofMinutes(5)));
+        S3BucketApiService instanceB = new S3BucketApiService(new HashMap<>(), new InMemoryObjectTagIndex(Duration.ofMinutes(5)));
+        seed(instanceA);
+        assertEquals(OBJECTS / 2, instanceA.getObjectByTags(s3Config, BUCKET, Map.of("parity", "odd"),
+                IEnumLogicalOperator.Types.AND).size());
+
+        // Written through another instance, unknown to the index of the first one
+        instanceB.uploadStream(s3Config, MetaData.builder()
+                .bucketName(BUCKET)
+                .objectName("other.txt")
+                .tagsMap(Map.of("origin", "instance-b"))
+                .build(), new ByteArrayInputStream("other".getBytes()));
+
+        assertEquals(List.of("other.txt"), names(instanceA.getObjectByTags(s3Config, BUCKET,
+                Map.of("origin", "instance-b"), IEnumLogicalOperator.Types.AND)));
+    }
+
+    @Test
+    void failedRebuildIsAborted() {
+        InMemoryObjectTagIndex index = spy(new InMemoryObjectTagIndex());
+        S3BucketApiService service = spy(new S3BucketApiService(new HashMap<>(), index));
+        doThrow(new IllegalStateException("Listing failed")).when(service).getObjects(s3Config, BUCKET);
+
+        assertThrows(RuntimeException.class, () -> service.rebuildTagIndex(s3Config, BUCKET));
+
+        verify(index).abortRebuild(eq(s3Config.getTenant()), eq(BUCKET), anyLong());
+        verify(index, never()).completeRebuild(anyString(), anyString(), anyLong(), anyList());
+        assertFalse(index.isIndexed(s3Config.getTenant(), BUCKET));
+    }
+
+    @Test
+    void reconciliationJobRebuildsRegisteredBuckets() {
+        InMemoryObjectTagIndex index = new InMemoryObjectTagIndex();
+        S3BucketApiService service = new S3BucketApiService(new HashMap<>(), index);
+        seed(service);
+        assertFalse(index.isIndexed(s3Config.getTenant(), BUCKET));
+
+        TagIndexReconciliationJob job = new TagIndexReconciliationJob(service);
+        job.register(s3Config, BUCKET);
+        job.register(s3Config, "missing-bucket");
+        job.run();
+
+        assertTrue(index.isIndexed(s3Config.getTenant(), BUCKET));
+        assertNotNull(job.getLastSuccess(s3Config.getTenant(), BUCKET));
+        assertEquals(OBJECTS, index.find(s3Config.getTenant(), BUCKET, Map.of("a", "even", "b", "odd"),
+                IEnumLogicalOperator.Types.OR).size());
+    }
+}
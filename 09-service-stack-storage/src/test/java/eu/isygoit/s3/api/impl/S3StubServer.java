@@ -0,0 +1,425 @@
+package eu.isygoit.s3.api.impl;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal in-process S3-compatible server (path-style) covering the calls used by the streaming API:
+ * buckets, object listing, put/get/head/delete/copy object, multi-object delete, range reads, tagging and the
+ * multipart upload lifecycle.
+ */
+class S3StubServer implements AutoCloseable {
+
+    private static final Pattern PART_NUMBER = Pattern.compile("<PartNumber>(\\d+)</PartNumber>");
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+    private static final Pattern KEY = Pattern.compile("<Key>(.*?)</Key>");
+    private static final Pattern TAG = Pattern.compile("<Tag>\\s*<Key>(.*?)</Key>\\s*<Value>(.*?)</Value>\\s*</Tag>");
+
+    private final HttpServer server;
+    private final Set<String> buckets = ConcurrentHashMap.newKeySet();
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final Map<String, PendingUpload> uploads = new ConcurrentHashMap<>();
+    private final AtomicInteger partsInFlight = new AtomicInteger();
+    private final AtomicInteger maxPartsInFlight = new AtomicInteger();
+    private final AtomicInteger receivedParts = new AtomicInteger();
+    private final AtomicInteger abortedUploads = new AtomicInteger();
+    private final AtomicInteger tagRequests = new AtomicInteger();
+    private final AtomicInteger multiDeleteRequests = new AtomicInteger();
+    private final Set<String> protectedKeys = ConcurrentHashMap.newKeySet();
+    private volatile int failingPartNumber = -1;
+
+    S3StubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    byte[] content(String bucket, String key) {
+        StoredObject object = objects.get(bucket + "/" + key);
+        return object != null ? object.data : null;
+    }
+
+    void failPart(int partNumber) {
+        this.failingPartNumber = partNumber;
+    }
+
+    int maxPartsInFlight() {
+        return maxPartsInFlight.get();
+    }
+
+    int receivedParts() {
+        return receivedParts.get();
+    }
+
+    int abortedUploads() {
+        return abortedUploads.get();
+    }
+
+    int tagRequests() {
+        return tagRequests.get();
+    }
+
+    int multiDeleteRequests() {
+        return multiDeleteRequests.get();
+    }
+
+    /**
+     * Multi-object delete requests report an AccessDenied error for this key instead of deleting it.
+     */
+    void protect(String key) {
+        protectedKeys.add(key);
+    }
+
+    int pendingUploads() {
+        return uploads.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getRawPath().substring(1);
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            int slash = path.indexOf('/');
+            String bucket = URLDecoder.decode(slash < 0 ? path : path.substring(0, slash), StandardCharsets.UTF_8);
+            String key = slash < 0 ? "" : URLDecoder.decode(path.substring(slash + 1), StandardCharsets.UTF_8);
+            String method = exchange.getRequestMethod();
+
+            if (key.isEmpty() && query.containsKey("delete")) {
+                handleMultiDelete(exchange, bucket);
+            } else if (key.isEmpty()) {
+                handleBucket(exchange, method, bucket);
+            } else if (query.containsKey("tagging")) {
+                handleTagging(exchange, method, bucket + "/" + key);
+            } else if (query.containsKey("uploads")) {
+                String uploadId = UUID.randomUUID().toString();
+                uploads.put(uploadId, new PendingUpload(exchange.getRequestHeaders().getFirst("Content-Type"),
+                        parseQuery(exchange.getRequestHeaders().getFirst("x-amz-tagging"))));
+                send(exchange, 200, "<InitiateMultipartUploadResult><Bucket>" + bucket + "</Bucket><Key>" + key
+                        + "</Key><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+            } else if (query.containsKey("uploadId")) {
+                handleMultipart(exchange, method, bucket, key, query);
+            } else {
+                handleObject(exchange, method, bucket, key);
+            }
+        } catch (Exception e) {
+            exchange.sendResponseHeaders(500, -1);
+        }
+    }
+
+    private void handleTagging(HttpExchange exchange, String method, String id) throws IOException {
+        StoredObject object = objects.get(id);
+        if (object == null) {
+            send(exchange, 404, "<Error><Code>NoSuchKey</Code></Error>");
+            return;
+        }
+        if ("PUT".equals(method)) {
+            Map<String, String> tags = new LinkedHashMap<>();
+            Matcher matcher = TAG.matcher(new String(readBody(exchange), StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                tags.put(matcher.group(1), matcher.group(2));
+            }
+            object.tags = tags;
+            send(exchange, 200, "");
+            return;
+        }
+        tagRequests.incrementAndGet();
+        StringBuilder xml = new StringBuilder("<Tagging><TagSet>");
+        object.tags.forEach((key, value) -> xml.append("<Tag><Key>").append(key).append("</Key><Value>")
+                .append(value).append("</Value></Tag>"));
+        send(exchange, 200, xml.append("</TagSet></Tagging>").toString());
+    }
+
+    private void handleMultiDelete(HttpExchange exchange, String bucket) throws IOException {
+        multiDeleteRequests.incrementAndGet();
+        String body = new String(readBody(exchange), StandardCharsets.UTF_8);
+        boolean quiet = body.contains("<Quiet>true</Quiet>");
+        StringBuilder xml = new StringBuilder("<DeleteResult>");
+        Matcher matcher = KEY.matcher(body);
+        while (matcher.find()) {
+            String key = matcher.group(1);
+            if (protectedKeys.contains(key)) {
+                xml.append("<Error><Key>").append(key).append("</Key><Code>AccessDenied</Code><Message>Access Denied</Message></Error>");
+            } else {
+                objects.remove(bucket + "/" + key);
+                if (!quiet) {
+                    xml.append("<Deleted><Key>").append(key).append("</Key></Deleted>");
+                }
+            }
+        }
+        send(exchange, 200, xml.append("</DeleteResult>").toString());
+    }
+
+    private void handleBucket(HttpExchange exchange, String method, String bucket) throws IOException {
+        switch (method) {
+            case "HEAD" -> exchange.sendResponseHeaders(buckets.contains(bucket) ? 200 : 404, -1);
+            case "GET" -> {
+                StringBuilder xml = new StringBuilder("<ListBucketResult><Name>").append(bucket)
+                        .append("</Name><IsTruncated>false</IsTruncated>");
+                new TreeMap<>(objects).forEach((id, object) -> {
+                    if (id.startsWith(bucket + "/")) {
+                        xml.append("<Contents><Key>").append(id.substring(bucket.length() + 1))
+                                .append("</Key><Size>").append(object.data.length)
+                                .append("</Size><ETag>").append(object.etag)
+                                .append("</ETag><LastModified>").append(DateTimeFormatter.ISO_INSTANT.format(object.lastModified))
+                                .append("</LastModified></Contents>");
+                    }
+                });
+                send(exchange, 200, xml.append("</ListBucketResult>").toString());
+            }
+            case "PUT" -> {
+                readBody(exchange);
+                buckets.add(bucket);
+                send(exchange, 200, "");
+            }
+            default -> exchange.sendResponseHeaders(405, -1);
+        }
+    }
+
+    private void handleMultipart(HttpExchange exchange, String method, String bucket, String key,
+                                 Map<String, String> query) throws Exception {
+        PendingUpload upload = uploads.get(query.get("uploadId"));
+        if (upload == null) {
+            send(exchange, 404, "<Error><Code>NoSuchUpload</Code></Error>");
+            return;
+        }
+        switch (method) {
+            case "PUT" -> {
+                int partNumber = Integer.parseInt(query.get("partNumber"));
+                int inFlight = partsInFlight.incrementAndGet();
+                maxPartsInFlight.accumulateAndGet(inFlight, Math::max);
+                try {
+                    byte[] data = readBody(exchange);
+                    if (partNumber == failingPartNumber) {
+                        send(exchange, 500, "<Error><Code>InternalError</Code></Error>");
+                        return;
+                    }
+                    // Leave other parts a chance to overlap
+                    Thread.sleep(20);
+                    upload.parts.put(partNumber, data);
+                    receivedParts.incrementAndGet();
+                    exchange.getResponseHeaders().set("ETag", etag(data));
+                    send(exchange, 200, "");
+                } finally {
+                    partsInFlight.decrementAndGet();
+                }
+            }
+            case "POST" -> {
+                String body = new String(readBody(exchange), StandardCharsets.UTF_8);
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                Matcher matcher = PART_NUMBER.matcher(body);
+                while (matcher.find()) {
+                    content.write(upload.parts.get(Integer.parseInt(matcher.group(1))));
+                }
+                uploads.remove(query.get("uploadId"));
+                StoredObject object = new StoredObject(content.toByteArray(), upload.contentType);
+                object.tags = upload.tags;
+                objects.put(bucket + "/" + key, object);
+                send(exchange, 200, "<CompleteMultipartUploadResult><Bucket>" + bucket + "</Bucket><Key>" + key
+                        + "</Key><ETag>" + object.etag + "</ETag></CompleteMultipartUploadResult>");
+            }
+            case "DELETE" -> {
+                uploads.remove(query.get("uploadId"));
+                abortedUploads.incrementAndGet();
+                exchange.sendResponseHeaders(204, -1);
+            }
+            default -> exchange.sendResponseHeaders(405, -1);
+        }
+    }
+
+    private void handleObject(HttpExchange exchange, String method, String bucket, String key) throws Exception {
+        String id = bucket + "/" + key;
+        switch (method) {
+            case "PUT" -> {
+                String copySource = exchange.getRequestHeaders().getFirst("x-amz-copy-source");
+                if (copySource != null) {
+                    readBody(exchange);
+                    StoredObject source = objects.get(URLDecoder.decode(copySource.startsWith("/") ? copySource.substring(1) : copySource,
+                            StandardCharsets.UTF_8));
+                    if (source == null) {
+                        send(exchange, 404, "<Error><Code>NoSuchKey</Code></Error>");
+                        return;
+                    }
+                    StoredObject copy = new StoredObject(source.data, source.contentType);
+                    copy.tags = source.tags;
+                    objects.put(id, copy);
+                    send(exchange, 200, "<CopyObjectResult><ETag>" + copy.etag + "</ETag><LastModified>"
+                            + DateTimeFormatter.ISO_INSTANT.format(copy.lastModified) + "</LastModified></CopyObjectResult>");
+                    return;
+                }
+                StoredObject object = new StoredObject(readBody(exchange), exchange.getRequestHeaders().getFirst("Content-Type"));
+                object.tags = parseQuery(exchange.getRequestHeaders().getFirst("x-amz-tagging"));
+                objects.put(id, object);
+                exchange.getResponseHeaders().set("ETag", object.etag);
+                send(exchange, 200, "");
+            }
+            case "HEAD" -> {
+                StoredObject object = objects.get(id);
+                if (object == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
+                objectHeaders(exchange, object);
+                exchange.getResponseHeaders().set("Content-Length", String.valueOf(object.data.length));
+                exchange.sendResponseHeaders(200, -1);
+            }
+            case "GET" -> {
+                StoredObject object = objects.get(id);
+                if (object == null) {
+                    send(exchange, 404, "<Error><Code>NoSuchKey</Code></Error>");
+                    return;
+                }
+                objectHeaders(exchange, object);
+                String range = exchange.getRequestHeaders().getFirst("Range");
+                Matcher matcher = range != null ? RANGE.matcher(range) : null;
+                if (matcher != null && matcher.matches()) {
+                    int from = Integer.parseInt(matcher.group(1));
+                    int to = matcher.group(2).isEmpty() ? object.data.length - 1
+                            : Math.min(Integer.parseInt(matcher.group(2)), object.data.length - 1);
+                    exchange.getResponseHeaders().set("Content-Range", "bytes " + from + "-" + to + "/" + object.data.length);
+                    send(exchange, 206, Arrays.copyOfRange(object.data, from, to + 1));
+                } else {
+                    send(exchange, 200, object.data);
+                }
+            }
+            case "DELETE" -> {
+                objects.remove(id);
+                exchange.sendResponseHeaders(204, -1);
+            }
+            default -> exchange.sendResponseHeaders(405, -1);
+        }
+    }
+
+    private static void objectHeaders(HttpExchange exchange, StoredObject object) {
+        exchange.getResponseHeaders().set("ETag", object.etag);
+        exchange.getResponseHeaders().set("Content-Type", object.contentType != null ? object.contentType : "application/octet-stream");
+        exchange.getResponseHeaders().set("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(object.lastModified));
+        exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        send(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Reads the request body, decoding the {@code aws-chunked} content encoding used by the AWS SDK for streaming
+     * signatures and trailing checksums.
+     */
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        byte[] raw;
+        try (InputStream in = exchange.getRequestBody()) {
+            raw = in.readAllBytes();
+        }
+        String encoding = Optional.ofNullable(exchange.getRequestHeaders().getFirst("Content-Encoding")).orElse("");
+        String sha = Optional.ofNullable(exchange.getRequestHeaders().getFirst("x-amz-content-sha256")).orElse("");
+        if (!encoding.contains("aws-chunked") && !sha.startsWith("STREAMING-")) {
+            return raw;
+        }
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream(raw.length);
+        int pos = 0;
+        while (pos < raw.length) {
+            int lineEnd = indexOfCrlf(raw, pos);
+            String header = new String(raw, pos, lineEnd - pos, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(header.split(";")[0].trim(), 16);
+            pos = lineEnd + 2;
+            if (size == 0) {
+                break;
+            }
+            decoded.write(raw, pos, size);
+            pos += size + 2;
+        }
+        return decoded.toByteArray();
+    }
+
+    private static int indexOfCrlf(byte[] data, int from) {
+        for (int i = from; i < data.length - 1; i++) {
+            if (data[i] == '\r' && data[i + 1] == '\n') {
+                return i;
+            }
+        }
+        return data.length;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.put(name, value);
+        }
+        return query;
+    }
+
+    private static String etag(byte[] data) {
+        try {
+            return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(data)) + "\"";
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class StoredObject {
+        private final byte[] data;
+        private final String contentType;
+        private final String etag;
+        private final ZonedDateTime lastModified = ZonedDateTime.now(ZoneOffset.UTC);
+        private volatile Map<String, String> tags = Map.of();
+
+        private StoredObject(byte[] data, String contentType) {
+            this.data = data;
+            this.contentType = contentType;
+            this.etag = etag(data);
+        }
+    }
+
+    private static final class PendingUpload {
+        private final String contentType;
+        private final Map<String, String> tags;
+        private final Map<Integer, byte[]> parts = new ConcurrentSkipListMap<>();
+
+        private PendingUpload(String contentType, Map<String, String> tags) {
+            this.contentType = contentType;
+            this.tags = tags;
+        }
+    }
+}
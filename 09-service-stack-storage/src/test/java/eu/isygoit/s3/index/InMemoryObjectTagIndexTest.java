@@ -0,0 +1,144 @@
+package eu.isygoit.s3.index;
+
+import eu.isygoit.enums.IEnumLogicalOperator;
+import eu.isygoit.s3.object.FileStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryObjectTagIndexTest {
+
+    private static final String TENANT = "tenant";
+    private static final String BUCKET = "bucket";
+
+    private InMemoryObjectTagIndex index;
+
+    private static FileStorage object(String name) {
+        return FileStorage.builder().objectName(name).size(1).currentVersion(true).build();
+    }
+
+    private static List<String> names(List<FileStorage> objects) {
+        return objects.stream().map(o -> o.objectName).sorted().toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryObjectTagIndex();
+        long token = index.beginRebuild(TENANT, BUCKET);
+        index.completeRebuild(TENANT, BUCKET, token, List.of(
+                new TaggedObject(object("a.pdf"), Map.of("type", "invoice", "year", "2024")),
+                new TaggedObject(object("b.pdf"), Map.of("type", "invoice", "year", "2023")),
+                new TaggedObject(object("c.png"), Map.of("type", "image"))));
+    }
+
+    @Test
+    void andQueryRequiresEveryEntry() {
+        List<FileStorage> result = index.find(TENANT, BUCKET, Map.of("type", "invoice", "year", "2024"),
+                IEnumLogicalOperator.Types.AND);
+
+        assertEquals(List.of("a.pdf"), names(result));
+        assertTrue(result.get(0).tags.containsAll(List.of("invoice", "2024")));
+    }
+
+    @Test
+    void orQueryMatchesAnyValue() {
+        List<FileStorage> result = index.find(TENANT, BUCKET, Map.of("year", "2023", "kind", "image"),
+                IEnumLogicalOperator.Types.OR);
+
+        assertEquals(List.of("b.pdf", "c.png"), names(result));
+    }
+
+    @Test
+    void overlappingRebuildsDoNotResurrectRemovals() {
+        long first = index.beginRebuild(TENANT, BUCKET);
+        long second = index.beginRebuild(TENANT, BUCKET);
+        index.remove(TENANT, BUCKET, "a.pdf");
+        // The first rebuild completes, the second one still runs on a listing taken before the removal
+        index.completeRebuild(TENANT, BUCKET, first, List.of(
+                new TaggedObject(object("b.pdf"), Map.of("type", "invoice"))));
+        index.completeRebuild(TENANT, BUCKET, second, List.of(
+                new TaggedObject(object("a.pdf"), Map.of("type", "invoice")),
+                new TaggedObject(object("b.pdf"), Map.of("type", "invoice"))));
+
+        assertEquals(List.of("b.pdf"),
+                names(index.find(TENANT, BUCKET, Map.of("type", "invoice"), IEnumLogicalOperator.Types.AND)));
+    }
+
+    @Test
+    void abortedRebuildLeavesBucketAsItWas() {
+        long aborted = index.beginRebuild(TENANT, BUCKET);
+        long running = index.beginRebuild(TENANT, BUCKET);
+        index.abortRebuild(TENANT, BUCKET, aborted);
+        assertEquals(List.of("a.pdf", "b.pdf"),
+                names(index.find(TENANT, BUCKET, Map.of("type", "invoice"), IEnumLogicalOperator.Types.AND)));
+
+        // The running rebuild still does not resurrect a removal made while it lists the bucket
+        index.remove(TENANT, BUCKET, "a.pdf");
+        index.completeRebuild(TENANT, BUCKET, running, List.of(
+                new TaggedObject(object("a.pdf"), Map.of("type", "invoice")),
+                new TaggedObject(object("b.pdf"), Map.of("type", "invoice"))));
+
+        assertEquals(List.of("b.pdf"),
+                names(index.find(TENANT, BUCKET, Map.of("type", "invoice"), IEnumLogicalOperator.Types.AND)));
+    }
+
+    @Test
+    void boundedIndexExpiresAndIsNotAuthoritative() {
+        assertTrue(index.isAuthoritative());
+
+        InMemoryObjectTagIndex bounded = new InMemoryObjectTagIndex(Duration.ZERO);
+        long token = bounded.beginRebuild(TENANT, BUCKET);
+        bounded.completeRebuild(TENANT, BUCKET, token, List.of());
+
+        assertFalse(bounded.isIndexed(TENANT, BUCKET));
+        assertFalse(bounded.isAuthoritative());
+    }
+
+    @Test
+    void writesKeepIndexCurrent() {
+        index.put(TENANT, BUCKET, object("d.pdf"), Map.of("type", "invoice", "year", "2024"));
+        index.updateTags(TENANT, BUCKET, "a.pdf", Map.of("type", "archived"));
+        index.remove(TENANT, BUCKET, "b.pdf");
+
+        assertEquals(List.of("d.pdf"), names(index.find(TENANT, BUCKET, Map.of("type", "invoice"), IEnumLogicalOperator.Types.AND)));
+        assertEquals(List.of("a.pdf"), names(index.find(TENANT, BUCKET, Map.of("type", "archived"), IEnumLogicalOperator.Types.AND)));
+    }
+
+    @Test
+    void rebuildDoesNotOverrideConcurrentWrites() {
+        long token = index.beginRebuild(TENANT, BUCKET);
+        // Applied while the bucket is being listed
+        index.put(TENANT, BUCKET, object("new.pdf"), Map.of("type", "invoice"));
+        index.remove(TENANT, BUCKET, "a.pdf");
+        // Stale snapshot: still contains a.pdf, does not know new.pdf yet
+        index.completeRebuild(TENANT, BUCKET, token, List.of(
+                new TaggedObject(object("a.pdf"), Map.of("type", "invoice")),
+                new TaggedObject(object("b.pdf"), Map.of("type", "invoice"))));
+
+        assertEquals(List.of("b.pdf", "new.pdf"),
+                names(index.find(TENANT, BUCKET, Map.of("type", "invoice"), IEnumLogicalOperator.Types.AND)));
+    }
+
+    @Test
+    void bucketsAreIsolatedAndDroppable() {
+        assertTrue(index.isIndexed(TENANT, BUCKET));
+        assertFalse(index.isIndexed("other", BUCKET));
+        assertTrue(index.find("other", BUCKET, Map.of("type", "invoice"), IEnumLogicalOperator.Types.AND).isEmpty());
+
+        index.dropBucket(TENANT, BUCKET);
+        assertFalse(index.isIndexed(TENANT, BUCKET));
+    }
+
+    @Test
+    void resultsAreCopies() {
+        FileStorage first = index.find(TENANT, BUCKET, Map.of("type", "image"), IEnumLogicalOperator.Types.AND).get(0);
+        first.objectName = "mutated";
+
+        assertEquals(List.of("c.png"), names(index.find(TENANT, BUCKET, Map.of("type", "image"), IEnumLogicalOperator.Types.AND)));
+    }
+}
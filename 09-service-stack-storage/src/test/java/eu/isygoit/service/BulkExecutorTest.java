@@ -0,0 +1,100 @@
+package eu.isygoit.service;
+
+import eu.isygoit.s3.object.BulkItemResult;
+import eu.isygoit.s3.object.BulkOptions;
+import eu.isygoit.s3.object.BulkResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BulkExecutor: per-item results, bounded concurrency, rate limit and batching.
+ */
+class BulkExecutorTest {
+
+    private static List<String> names(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "object-" + i).toList();
+    }
+
+    @Test
+    void forEach_shouldReportEveryItemInOrder() {
+        BulkResult result = BulkExecutor.forEach(names(20), name -> name, BulkOptions.builder().concurrency(4).build(), name -> {
+            if (name.endsWith("7")) {
+                throw new IllegalStateException("boom " + name);
+            }
+        });
+
+        assertEquals(20, result.size());
+        assertEquals(names(20), result.getItems().stream().map(BulkItemResult::getObjectName).toList());
+        assertEquals(List.of("object-7", "object-17"), result.getFailed().stream().map(BulkItemResult::getObjectName).toList());
+        assertEquals("boom object-7", result.getFailed().get(0).getError());
+        assertEquals(18, result.getSucceeded().size());
+        assertFalse(result.isAllSucceeded());
+    }
+
+    @Test
+    void forEach_shouldBoundConcurrency() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        BulkResult result = BulkExecutor.forEach(names(24), name -> name, BulkOptions.builder().concurrency(3).build(), name -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            inFlight.decrementAndGet();
+        });
+
+        assertTrue(result.isAllSucceeded());
+        assertTrue(maxInFlight.get() <= 3, "At most 3 calls in flight, got " + maxInFlight.get());
+        assertTrue(maxInFlight.get() > 1, "Calls should overlap");
+    }
+
+    @Test
+    void forEach_shouldRateLimitCallStarts() {
+        List<Long> starts = Collections.synchronizedList(new ArrayList<>());
+
+        BulkExecutor.forEach(names(5), name -> name, BulkOptions.builder().concurrency(5).callsPerSecond(20).build(),
+                name -> starts.add(System.nanoTime()));
+
+        long spreadMillis = (Collections.max(starts) - Collections.min(starts)) / 1_000_000;
+        assertTrue(spreadMillis >= 180, "5 calls at 20/s span at least 200ms, got " + spreadMillis);
+    }
+
+    @Test
+    void forEachBatch_shouldSplitBatchesAndFailWholeBatch() {
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        BulkResult result = BulkExecutor.forEachBatch(names(25), name -> name, BulkOptions.builder().batchSize(10).build(), batch -> {
+            batchSizes.add(batch.size());
+            if (batch.contains("object-12")) {
+                throw new IllegalStateException("batch failed");
+            }
+            return batch.stream()
+                    .map(name -> name.equals("object-3") ? BulkItemResult.failed(name, "AccessDenied") : BulkItemResult.succeeded(name))
+                    .toList();
+        });
+
+        assertEquals(List.of(5, 10, 10), batchSizes.stream().sorted().toList());
+        assertEquals(25, result.size());
+        assertEquals(11, result.getFailed().size());
+        assertEquals("AccessDenied", result.getItems().get(3).getError());
+        assertEquals("batch failed", result.getItems().get(15).getError());
+        assertTrue(result.getItems().get(20).isSucceeded());
+    }
+
+    @Test
+    void forEach_shouldHandleEmptyItemsAndRejectInvalidOptions() {
+        assertEquals(0, BulkExecutor.forEach(List.<String>of(), name -> name, BulkOptions.defaults(), name -> {
+        }).size());
+        assertThrows(IllegalArgumentException.class, () -> BulkExecutor.forEach(names(1), name -> name,
+                BulkOptions.builder().concurrency(0).build(), name -> {
+                }));
+        assertThrows(IllegalArgumentException.class, () -> BulkExecutor.forEachBatch(names(1), name -> name,
+                BulkOptions.builder().batchSize(BulkOptions.MAX_BATCH_SIZE + 1).build(), batch -> List.of()));
+    }
+}
@@ -9,6 +9,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,6 +24,7 @@ import java.util.List;
  *   <li>{@code GET  /api/v1/forms/{viewName}/metadata}  — retrieve view metadata</li>
  *   <li>{@code GET  /api/v1/forms}                       — list all registered view names</li>
  *   <li>{@code POST /api/v1/forms/{viewName}/submit}     — submit and validate form data</li>
+ *   <li>{@code POST /api/v1/forms/{viewName}/submit/batch} — submit and validate many entries at once</li>
  * </ul>
  *
  * @see eu.isygoit.form.controller.AbstractFormMetaDataController
@@ -33,19 +35,23 @@ public interface IFormMetaDataApi {
     /**
      * Returns the full metadata descriptor for a registered form view.
      *
-     * @param viewName the logical view name declared in {@code @FormView#name()}
-     * @param version  optional version string; defaults to "1.0" when omitted
-     * @param mode     optional rendering mode: {@code create} (default) or {@code edit}
-     * @param entityId optional entity ID used in {@code edit} mode to pre-fill defaults
-     * @return {@link ViewMetaData} describing fields, validations, options, and UI config
+     * @param viewName    the logical view name declared in {@code @FormView#name()}
+     * @param version     optional version string; defaults to "1.0" when omitted
+     * @param mode        optional rendering mode: {@code create} (default) or {@code edit}
+     * @param entityId    optional entity ID used in {@code edit} mode to pre-fill defaults
+     * @param ifNoneMatch optional entity tags of the client's cached copy
+     * @return {@link ViewMetaData} describing fields, validations, options, and UI config,
+     * or 304 Not Modified when the client's copy is current
      */
     @Operation(
             summary = "Get form metadata",
             description = "Returns the complete metadata descriptor for a registered view, " +
-                    "including all field types, validation rules, options, and conditional logic.",
+                    "including all field types, validation rules, options, and conditional logic. " +
+                    "Responses carry a strong ETag; send it back in If-None-Match to get 304 while it is current.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Metadata resolved successfully",
                             content = @Content(schema = @Schema(implementation = ViewMetaData.class))),
+                    @ApiResponse(responseCode = "304", description = "Not modified - the cached copy is current"),
                     @ApiResponse(responseCode = "400", description = "Invalid view name or version"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
                     @ApiResponse(responseCode = "403", description = "Forbidden - Insufficient permissions"),
@@ -65,7 +71,10 @@ public interface IFormMetaDataApi {
             @RequestParam(required = false, defaultValue = "create") String mode,
 
             @Parameter(description = "Entity ID for pre-filling fields in edit mode")
-            @RequestParam(required = false) String entityId
+            @RequestParam(required = false) String entityId,
+
+            @Parameter(description = "Entity tags of the cached copy")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     );
 
     /**
@@ -117,6 +126,36 @@ public interface IFormMetaDataApi {
             @RequestBody FormSubmitRequest request
     );
 
+    /**
+     * Validates and processes a batch of submissions of the same view, e.g. a bulk import.
+     * <p>
+     * Every entry is validated against the view's compiled validation plan; entries failing
+     * validation do not prevent the others from being processed.
+     *
+     * @param viewName the view being submitted
+     * @param requests the submission payloads; their view name is replaced by {@code viewName}
+     * @return one {@link FormSubmitResponse} per entry, in the same order
+     */
+    @Operation(
+            summary = "Submit form batch",
+            description = "Validates and processes many submissions of the same view in one call. " +
+                    "Returns one result per entry, in request order, with field-level error details for failed entries.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed — see success flag of each entry"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden - Insufficient permissions"),
+                    @ApiResponse(responseCode = "404", description = "View not registered"),
+                    @ApiResponse(responseCode = "500", description = "Server error during submission")
+            }
+    )
+    @PostMapping(value = "/{viewName}/submit/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<List<FormSubmitResponse>> submitAll(
+            @Parameter(description = "Logical view name", required = true)
+            @PathVariable String viewName,
+
+            @RequestBody List<FormSubmitRequest> requests
+    );
+
     /**
      * Evicts cached metadata for the given view (admin / dev operation).
      *
@@ -1,12 +1,15 @@
 package eu.isygoit.form.controller;
 
 import eu.isygoit.form.api.IFormMetaDataApi;
+import eu.isygoit.form.core.MetaDataETag;
 import eu.isygoit.form.domain.ViewMetaData;
 import eu.isygoit.form.dto.FormSubmitRequest;
 import eu.isygoit.form.dto.FormSubmitResponse;
 import eu.isygoit.form.exception.MetaDataGenerationException;
 import eu.isygoit.form.service.IFormMetaDataService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StopWatch;
 
@@ -96,6 +99,19 @@ public abstract class AbstractFormMetaDataController implements IFormMetaDataApi
         return meta;
     }
 
+    /**
+     * Cache directives of metadata responses.
+     * <p>
+     * The default lets private caches keep the metadata but revalidate it on every use, which
+     * costs a 304 round trip while the view is unchanged. Override to allow a freshness period,
+     * e.g. {@code CacheControl.maxAge(Duration.ofMinutes(5)).cachePrivate()}.
+     *
+     * @return the {@code Cache-Control} directives
+     */
+    protected CacheControl metaDataCacheControl() {
+        return CacheControl.noCache().cachePrivate();
+    }
+
     /**
      * Called before the submission payload is forwarded to the service.
      * Override to enrich the request (e.g. inject the current tenant into {@code fields}).
@@ -132,12 +148,17 @@ public abstract class AbstractFormMetaDataController implements IFormMetaDataApi
      * Resolves metadata from the service, calling {@link #beforeGetMetaData} and
      * {@link #afterGetMetaData} hooks around the resolution. Performance is measured
      * and logged at DEBUG level.
+     * <p>
+     * The response carries a strong ETag computed from the content of the metadata returned by
+     * {@link #afterGetMetaData} and the {@link #metaDataCacheControl()} directives; a request whose
+     * {@code If-None-Match} matches the tag gets 304 Not Modified without a body.
      */
     @Override
     public final ResponseEntity<ViewMetaData> getMetaData(String viewName,
                                                           String version,
                                                           String mode,
-                                                          String entityId) {
+                                                          String entityId,
+                                                          String ifNoneMatch) {
         return executeWithTiming("getMetaData[" + viewName + "]", () -> {
             beforeGetMetaData(viewName, version, mode);
 
@@ -146,7 +167,18 @@ public abstract class AbstractFormMetaDataController implements IFormMetaDataApi
                     : formMetaDataService().getMetaData(viewName, version);
 
             ViewMetaData processed = afterGetMetaData(viewName, meta);
-            return ResponseEntity.ok(processed);
+            String etag = MetaDataETag.of(processed);
+            if (MetaDataETag.matches(ifNoneMatch, etag)) {
+                log.debug("[FormCtrl] getMetaData — view='{}' not modified", viewName);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(metaDataCacheControl())
+                        .build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(metaDataCacheControl())
+                    .body(processed);
         });
     }
 
@@ -184,6 +216,26 @@ public abstract class AbstractFormMetaDataController implements IFormMetaDataApi
         });
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each entry goes through {@link #beforeSubmit} and {@link #afterSubmit} like a single
+     * submission, with the path variable {@code viewName} as its view name.
+     */
+    @Override
+    public final ResponseEntity<List<FormSubmitResponse>> submitAll(String viewName, List<FormSubmitRequest> requests) {
+        return executeWithTiming("submitAll[" + viewName + "]", () -> {
+            List<FormSubmitRequest> enriched = requests.stream()
+                    .map(request -> beforeSubmit(viewName, new FormSubmitRequest(viewName, request.fields())))
+                    .toList();
+
+            List<FormSubmitResponse> responses = formMetaDataService().submitAll(enriched).stream()
+                    .map(raw -> afterSubmit(viewName, raw))
+                    .toList();
+            return ResponseEntity.ok(responses);
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -12,15 +12,19 @@ import java.util.*;
 public class AnnotationProcessor {
 
     public FieldMetaData processField(Field field, int depth) {
+        return processField(new ReflectionFieldSource(field), depth);
+    }
+
+    public FieldMetaData processField(FieldSource field, int depth) {
         if (depth > 5) return null;
 
         FormField formField = field.getAnnotation(FormField.class);
         if (formField == null) return null;
 
-        String key = formField.key().isBlank() ? field.getName() : formField.key();
-        String label = formField.label().isBlank() ? capitalize(field.getName()) : formField.label();
+        String key = formField.key().isBlank() ? field.name() : formField.key();
+        String label = formField.label().isBlank() ? capitalize(field.name()) : formField.label();
 
-        FieldType type = determineFieldType(formField.type(), field.getType());
+        FieldType type = determineFieldType(formField.type(), field.typeName());
 
         Map<String, Object> validation = buildValidationMap(field, formField);
         Map<String, Object> ui = buildUiMap(formField);
@@ -43,8 +47,8 @@ public class AnnotationProcessor {
         );
 
         // Nested Object
-        List<FieldMetaData> children = (type == FieldType.OBJECT && !isPrimitiveOrWrapper(field.getType()))
-                ? scanNestedObject(field.getType(), depth + 1)
+        List<FieldMetaData> children = (type == FieldType.OBJECT && !field.isPrimitiveOrWrapper())
+                ? scanNestedObject(field, depth + 1)
                 : List.of();
 
         // List Config
@@ -66,7 +70,7 @@ public class AnnotationProcessor {
         );
     }
 
-    private OptionsConfig buildOptionsConfig(FormField ff, Field field) {
+    private OptionsConfig buildOptionsConfig(FormField ff, FieldSource field) {
         if (ff.type() != FieldType.SELECT && ff.type() != FieldType.MULTISELECT &&
                 ff.type() != FieldType.AUTOCOMPLETE && ff.type() != FieldType.RADIO) {
             return null;
@@ -133,7 +137,7 @@ public class AnnotationProcessor {
         return map;
     }
 
-    private ListConfig buildListConfig(Field field, FieldType type) {
+    private ListConfig buildListConfig(FieldSource field, FieldType type) {
         FormList formList = field.getAnnotation(FormList.class);
         if (formList == null || (type != FieldType.LIST && type != FieldType.SET && type != FieldType.TABLE)) {
             return null;
@@ -152,39 +156,29 @@ public class AnnotationProcessor {
         );
     }
 
-    private List<FieldMetaData> scanNestedObject(Class<?> nestedClass, int depth) {
+    private List<FieldMetaData> scanNestedObject(FieldSource nestedField, int depth) {
         List<FieldMetaData> children = new ArrayList<>();
-        for (Field field : nestedClass.getDeclaredFields()) {
-            if (field.isSynthetic() || java.lang.reflect.Modifier.isStatic(field.getModifiers())) continue;
+        for (FieldSource field : nestedField.nestedFields()) {
             FieldMetaData child = processField(field, depth);
             if (child != null) children.add(child);
         }
         return children;
     }
 
-    private boolean isPrimitiveOrWrapper(Class<?> clazz) {
-        return clazz.isPrimitive() ||
-                clazz == String.class ||
-                Number.class.isAssignableFrom(clazz) ||
-                Boolean.class == clazz ||
-                Character.class == clazz ||
-                java.time.temporal.Temporal.class.isAssignableFrom(clazz);
-    }
-
-    private FieldType determineFieldType(FieldType declared, Class<?> javaType) {
+    private FieldType determineFieldType(FieldType declared, String javaType) {
         if (declared != FieldType.AUTO) return declared;
-        if (String.class.equals(javaType)) return FieldType.TEXT;
-        if (Integer.class.equals(javaType) || int.class.equals(javaType)) return FieldType.INTEGER;
-        if (Double.class.equals(javaType) || double.class.equals(javaType)) return FieldType.DECIMAL;
-        if (Boolean.class.equals(javaType) || boolean.class.equals(javaType)) return FieldType.CHECKBOX;
-        if (java.time.LocalDate.class.equals(javaType) || java.time.LocalDateTime.class.equals(javaType))
-            return FieldType.DATE;
-        if ("org.springframework.web.multipart.MultipartFile".equals(javaType.getName()) ||
-                java.io.File.class.equals(javaType)) return FieldType.FILE;
-        return FieldType.TEXT;
+        return switch (javaType) {
+            case "java.lang.String" -> FieldType.TEXT;
+            case "java.lang.Integer", "int" -> FieldType.INTEGER;
+            case "java.lang.Double", "double" -> FieldType.DECIMAL;
+            case "java.lang.Boolean", "boolean" -> FieldType.CHECKBOX;
+            case "java.time.LocalDate", "java.time.LocalDateTime" -> FieldType.DATE;
+            case "org.springframework.web.multipart.MultipartFile", "java.io.File" -> FieldType.FILE;
+            default -> FieldType.TEXT;
+        };
     }
 
-    private Map<String, Object> buildValidationMap(Field field, FormField ff) {
+    private Map<String, Object> buildValidationMap(FieldSource field, FormField ff) {
         Map<String, Object> map = new LinkedHashMap<>();
         if (ff.required()) map.put("required", true);
         if (ff.minLength() > 0) map.put("minLength", ff.minLength());
@@ -193,11 +187,11 @@ public class AnnotationProcessor {
         if (ff.maxValue() != Double.MAX_VALUE) map.put("maxValue", ff.maxValue());
         if (!ff.pattern().isBlank()) map.put("pattern", ff.pattern());
 
-        if (field.isAnnotationPresent(NotNull.class) || field.isAnnotationPresent(NotBlank.class)) {
+        if (field.getAnnotation(NotNull.class) != null || field.getAnnotation(NotBlank.class) != null) {
             map.put("required", true);
         }
-        if (field.isAnnotationPresent(Size.class)) {
-            Size size = field.getAnnotation(Size.class);
+        Size size = field.getAnnotation(Size.class);
+        if (size != null) {
             if (size.min() > 0) map.put("minLength", size.min());
             if (size.max() < Integer.MAX_VALUE) map.put("maxLength", size.max());
         }
@@ -0,0 +1,44 @@
+package eu.isygoit.form.core;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+/**
+ * A field of a view class as seen by {@link AnnotationProcessor}.
+ * <p>
+ * Abstracts over runtime reflection ({@link java.lang.reflect.Field}) and compile-time
+ * source elements ({@link javax.lang.model.element.VariableElement}) so that both produce
+ * the same {@link eu.isygoit.form.domain.FieldMetaData}.
+ */
+public interface FieldSource {
+
+    /**
+     * The field name.
+     */
+    String name();
+
+    /**
+     * The annotation of the given type on the field, or {@code null} if absent.
+     */
+    <A extends Annotation> A getAnnotation(Class<A> annotationType);
+
+    /**
+     * The annotations of the given type on the field, repeatable annotations included.
+     */
+    <A extends Annotation> A[] getAnnotationsByType(Class<A> annotationType);
+
+    /**
+     * The qualified name of the erased field type, or the keyword of a primitive type (e.g. {@code int}).
+     */
+    String typeName();
+
+    /**
+     * Whether the field type is a primitive, a wrapper, a {@link String}, a {@link Number} or a temporal type.
+     */
+    boolean isPrimitiveOrWrapper();
+
+    /**
+     * The instance fields declared by the field type, in declaration order.
+     */
+    List<FieldSource> nestedFields();
+}
@@ -4,21 +4,25 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import eu.isygoit.form.domain.ViewMetaData;
 
-import java.time.Duration;
-
 /**
  * High-performance cache for ViewMetaData using Caffeine.
  * Supports viewName + version + locale as composite key for future i18n support.
+ * The compiled {@link ValidationPlan} of each view is cached alongside its metadata, under the same key.
+ * <p>
+ * Entries do not expire: metadata only changes with the view classes, use {@link #invalidate(String)}
+ * for hot-reload scenarios. Loading is atomic per key, concurrent callers wait for the same load.
  */
 public class MetaDataCache {
 
     private final Cache<String, ViewMetaData> cache;
+    private final Cache<String, ValidationPlan> plans;
 
     public MetaDataCache() {
         this.cache = Caffeine.newBuilder()
-                .expireAfterAccess(Duration.ofMinutes(30))
                 .recordStats()
                 .build();
+        this.plans = Caffeine.newBuilder()
+                .build();
     }
 
     /**
@@ -42,13 +46,23 @@ public class MetaDataCache {
         cache.put(cacheKey, metadata);
     }
 
+    /**
+     * Retrieves the validation plan of a view from cache or compiles and caches it.
+     */
+    public ValidationPlan getOrComputePlan(String viewName, String version, java.util.function.Supplier<ValidationPlan> compiler) {
+        String cacheKey = buildCacheKey(viewName, version);
+        return plans.get(cacheKey, k -> compiler.get());
+    }
+
     public void invalidate(String viewName) {
         // Invalidate all versions for a view
         cache.asMap().keySet().removeIf(key -> key.startsWith(viewName + ":"));
+        plans.asMap().keySet().removeIf(key -> key.startsWith(viewName + ":"));
     }
 
     public void clear() {
         cache.invalidateAll();
+        plans.invalidateAll();
     }
 
     private String buildCacheKey(String viewName, String version) {
@@ -0,0 +1,71 @@
+package eu.isygoit.form.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.isygoit.form.domain.ViewMetaData;
+import eu.isygoit.form.exception.MetaDataGenerationException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Strong HTTP entity tags of ViewMetaData.
+ * <p>
+ * The tag is the SHA-256 of the canonical JSON of the metadata, so every instance serving the same
+ * view definition returns the same tag. Tags are memoized per metadata instance.
+ */
+public final class MetaDataETag {
+
+    private static final Cache<ViewMetaData, String> TAGS = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(1_000)
+            .build();
+
+    private MetaDataETag() {
+    }
+
+    /**
+     * Strong entity tag of the metadata, quoted as in the {@code ETag} header.
+     */
+    public static String of(ViewMetaData metaData) {
+        return TAGS.get(metaData, MetaDataETag::compute);
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header matches the entity tag.
+     * Uses the weak comparison required for {@code If-None-Match} by RFC 9110.
+     *
+     * @param ifNoneMatch the header value, may be {@code null}
+     * @param etag        the current entity tag
+     * @return {@code true} if the client copy is up to date
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static String compute(ViewMetaData metaData) {
+        try {
+            byte[] json = PrecompiledMetaData.MAPPER.writeValueAsBytes(metaData);
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(hash) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new MetaDataGenerationException("Cannot compute the entity tag of view " + metaData.name(), e);
+        }
+    }
+}
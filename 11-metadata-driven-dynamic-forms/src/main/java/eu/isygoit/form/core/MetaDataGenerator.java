@@ -13,6 +13,10 @@ import java.util.concurrent.ConcurrentHashMap;
  * Provides clean API for generating ViewMetaData from annotated classes.
  * <p>
  * This is the primary class that users of the library will interact with.
+ * <p>
+ * Metadata generated at compile time ({@link PrecompiledMetaData}) is used when present; classes are
+ * scanned by reflection otherwise. Either way a view is loaded once: concurrent first requests wait
+ * for the same load.
  */
 public class MetaDataGenerator {
 
@@ -53,25 +57,14 @@ public class MetaDataGenerator {
     public ViewMetaData generate(String viewName, String version) {
         Objects.requireNonNull(viewName, "viewName cannot be null");
 
-        // Try cache first
-        ViewMetaData cached = cache.get(viewName, version);
-        if (cached != null) {
-            return cached;
-        }
-
-        // Get registered class
-        Class<?> viewClass = viewClassRegistry.get(viewName);
-        if (viewClass == null) {
-            throw new MetaDataGenerationException("No view registered with name: " + viewName);
-        }
-
-        // Generate using scanner (reflection happens here)
-        ViewMetaData metadata = scanner.scan(viewClass);
-
-        // Cache the result
-        cache.put(viewName, version, metadata);
-
-        return metadata;
+        // Single-flight: the loader runs once per key, concurrent callers wait for its result
+        return cache.getOrCompute(viewName, version, () -> {
+            Class<?> viewClass = viewClassRegistry.get(viewName);
+            if (viewClass == null) {
+                throw new MetaDataGenerationException("No view registered with name: " + viewName);
+            }
+            return load(viewClass);
+        });
     }
 
     /**
@@ -88,7 +81,35 @@ public class MetaDataGenerator {
         String viewName = formView.name();
         String version = formView.version();
 
-        return cache.getOrCompute(viewName, version, () -> scanner.scan(viewClass));
+        return cache.getOrCompute(viewName, version, () -> load(viewClass));
+    }
+
+    private ViewMetaData load(Class<?> viewClass) {
+        // Generated at compile time when available, reflection happens here otherwise
+        return PrecompiledMetaData.load(viewClass).orElseGet(() -> scanner.scan(viewClass));
+    }
+
+    /**
+     * Validation plan of a registered view, compiled once from its metadata and cached with it.
+     */
+    public ValidationPlan validationPlan(String viewName) {
+        return validationPlan(viewName, "1.0");
+    }
+
+    /**
+     * Validation plan of a registered view with explicit version.
+     */
+    public ValidationPlan validationPlan(String viewName, String version) {
+        Objects.requireNonNull(viewName, "viewName cannot be null");
+        return cache.getOrComputePlan(viewName, version, () -> ValidationPlan.compile(generate(viewName, version)));
+    }
+
+    /**
+     * Validation plan compiled from the given metadata, cached under its view name and version.
+     */
+    public ValidationPlan validationPlan(ViewMetaData meta) {
+        Objects.requireNonNull(meta, "meta cannot be null");
+        return cache.getOrComputePlan(meta.name(), meta.version(), () -> ValidationPlan.compile(meta));
     }
 
     /**
@@ -33,14 +33,24 @@ public class MetaDataScanner {
         if (formView == null) {
             throw new MetaDataGenerationException("Class " + viewClass.getName() + " is not annotated with @FormView");
         }
+        return scan(formView, collectFields(viewClass));
+    }
 
+    /**
+     * Generates ViewMetaData from a @FormView annotation and the fields of the view class.
+     * Shared by runtime scanning and compile-time generation.
+     *
+     * @param formView the view annotation
+     * @param sources  the fields of the class followed by those of its superclasses
+     * @return ViewMetaData containing all processed fields
+     */
+    public ViewMetaData scan(FormView formView, List<FieldSource> sources) {
         String name = formView.name();
         String title = formView.title().isBlank() ? name : formView.title();
         String description = formView.description();
         String version = formView.version();
 
-        // Collect all fields including inherited ones
-        List<FieldMetaData> fields = scanFields(viewClass);
+        List<FieldMetaData> fields = scanFields(sources);
 
         // Basic UI config (extensible later)
         Map<String, Object> uiConfig = Map.of(
@@ -57,29 +67,28 @@ public class MetaDataScanner {
     }
 
     /**
-     * Recursively scans fields from the class and all superclasses.
+     * Recursively collects fields from the class and all superclasses.
      */
-    private List<FieldMetaData> scanFields(Class<?> clazz) {
+    private List<FieldSource> collectFields(Class<?> clazz) {
         if (clazz == null || clazz == Object.class) {
             return List.of();
         }
 
+        List<FieldSource> fields = new ArrayList<>(ReflectionFieldSource.declaredFields(clazz));
+        fields.addAll(collectFields(clazz.getSuperclass()));
+        return fields;
+    }
+
+    private List<FieldMetaData> scanFields(List<FieldSource> sources) {
         List<FieldMetaData> fields = new ArrayList<>();
 
-        // Process declared fields
-        for (java.lang.reflect.Field field : clazz.getDeclaredFields()) {
-            if (field.isSynthetic() || java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-                continue;
-            }
-            FieldMetaData fieldMetaData = annotationProcessor.processField(field, 0);
+        for (FieldSource source : sources) {
+            FieldMetaData fieldMetaData = annotationProcessor.processField(source, 0);
             if (fieldMetaData != null) {
                 fields.add(fieldMetaData);
             }
         }
 
-        // Recurse to superclass
-        fields.addAll(scanFields(clazz.getSuperclass()));
-
         // Sort by order defined in @FormField
         fields.sort(Comparator.comparingInt(f -> {
             // In real implementation, order would come from annotation - placeholder for now
@@ -88,4 +97,4 @@ public class MetaDataScanner {
 
         return fields;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package eu.isygoit.form.core;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import eu.isygoit.form.annotation.FormView;
+import eu.isygoit.form.domain.ViewMetaData;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/**
+ * ViewMetaData generated at compile time by {@link eu.isygoit.form.processor.FormViewMetaDataProcessor}.
+ * <p>
+ * Each {@link FormView} class gets a JSON resource {@code META-INF/forms/<class name>.json} next to its
+ * bytecode. {@link MetaDataGenerator} loads it instead of scanning the class by reflection, and falls back to
+ * scanning when the resource is missing or unreadable (e.g. classes compiled without the processor).
+ */
+@Slf4j
+public final class PrecompiledMetaData {
+
+    /**
+     * The constant RESOURCE_DIRECTORY.
+     */
+    public static final String RESOURCE_DIRECTORY = "META-INF/forms/";
+
+    /**
+     * Canonical JSON mapper: map entries are sorted so that the same metadata always gives the same bytes.
+     */
+    static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private PrecompiledMetaData() {
+    }
+
+    /**
+     * Resource name of the precompiled metadata of a view class.
+     *
+     * @param className the binary name of the view class
+     * @return the resource name
+     */
+    public static String resourceName(String className) {
+        return RESOURCE_DIRECTORY + className + ".json";
+    }
+
+    /**
+     * Writes metadata as canonical JSON.
+     */
+    public static void write(ViewMetaData metaData, OutputStream output) throws IOException {
+        MAPPER.writeValue(output, metaData);
+    }
+
+    /**
+     * Loads the precompiled metadata of a view class, if any.
+     *
+     * @param viewClass the view class
+     * @return the metadata, empty if the class was not processed at compile time
+     */
+    public static Optional<ViewMetaData> load(Class<?> viewClass) {
+        ClassLoader classLoader = viewClass.getClassLoader() != null
+                ? viewClass.getClassLoader()
+                : ClassLoader.getSystemClassLoader();
+        try (InputStream input = classLoader.getResourceAsStream(resourceName(viewClass.getName()))) {
+            if (input == null) {
+                return Optional.empty();
+            }
+            ViewMetaData metaData = MAPPER.readValue(input, ViewMetaData.class);
+            log.debug("Loaded precompiled metadata of view '{}' from {}", metaData.name(), viewClass.getName());
+            return Optional.of(metaData);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unreadable precompiled metadata for {}, scanning the class instead: {}", viewClass.getName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
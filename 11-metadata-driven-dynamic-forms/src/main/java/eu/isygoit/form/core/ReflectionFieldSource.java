@@ -0,0 +1,59 @@
+package eu.isygoit.form.core;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link FieldSource} backed by runtime reflection.
+ */
+record ReflectionFieldSource(Field field) implements FieldSource {
+
+    /**
+     * The instance fields declared by a class, synthetic fields excluded.
+     */
+    static List<FieldSource> declaredFields(Class<?> clazz) {
+        return Arrays.stream(clazz.getDeclaredFields())
+                .filter(f -> !f.isSynthetic() && !Modifier.isStatic(f.getModifiers()))
+                .<FieldSource>map(ReflectionFieldSource::new)
+                .toList();
+    }
+
+    @Override
+    public String name() {
+        return field.getName();
+    }
+
+    @Override
+    public <A extends Annotation> A getAnnotation(Class<A> annotationType) {
+        return field.getAnnotation(annotationType);
+    }
+
+    @Override
+    public <A extends Annotation> A[] getAnnotationsByType(Class<A> annotationType) {
+        return field.getAnnotationsByType(annotationType);
+    }
+
+    @Override
+    public String typeName() {
+        return field.getType().getName();
+    }
+
+    @Override
+    public boolean isPrimitiveOrWrapper() {
+        Class<?> clazz = field.getType();
+        return clazz.isPrimitive() ||
+                clazz == String.class ||
+                Number.class.isAssignableFrom(clazz) ||
+                Boolean.class == clazz ||
+                Character.class == clazz ||
+                java.time.temporal.Temporal.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public List<FieldSource> nestedFields() {
+        return declaredFields(field.getType());
+    }
+}
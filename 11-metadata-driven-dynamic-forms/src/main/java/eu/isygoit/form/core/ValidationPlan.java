@@ -0,0 +1,196 @@
+package eu.isygoit.form.core;
+
+import eu.isygoit.form.domain.FieldMetaData;
+import eu.isygoit.form.domain.ViewMetaData;
+import eu.isygoit.form.exception.MetaDataGenerationException;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Validation rules of a view, compiled once from its {@link ViewMetaData} and reused for every submission.
+ * <p>
+ * Regex patterns are compiled, length and value bounds are read into typed fields, and nested {@code OBJECT}
+ * fields are flattened into a single list in declaration order where each rule points to the rule of its
+ * enclosing object. A plan is immutable and can be shared between threads.
+ */
+public final class ValidationPlan {
+
+    private final String viewName;
+    private final FieldRule[] rules;
+
+    private ValidationPlan(String viewName, List<FieldRule> rules) {
+        this.viewName = viewName;
+        this.rules = rules.toArray(FieldRule[]::new);
+    }
+
+    /**
+     * Compiles the validation plan of a view.
+     *
+     * @param meta the view metadata
+     * @return the validation plan
+     * @throws MetaDataGenerationException if a field declares an invalid pattern
+     */
+    public static ValidationPlan compile(ViewMetaData meta) {
+        Objects.requireNonNull(meta, "meta must not be null");
+        return of(meta.name(), meta.fields());
+    }
+
+    /**
+     * Compiles the validation plan of a list of fields.
+     *
+     * @param viewName the view the fields belong to, used in error messages
+     * @param fields   the root fields
+     * @return the validation plan
+     * @throws MetaDataGenerationException if a field declares an invalid pattern
+     */
+    public static ValidationPlan of(String viewName, List<FieldMetaData> fields) {
+        List<FieldRule> rules = new ArrayList<>();
+        flatten(viewName, fields, -1, rules);
+        return new ValidationPlan(viewName, rules);
+    }
+
+    private static void flatten(String viewName, List<FieldMetaData> fields, int parent, List<FieldRule> rules) {
+        for (FieldMetaData field : fields) {
+            int index = rules.size();
+            rules.add(FieldRule.of(viewName, field, parent));
+            if (field.children() != null && !field.children().isEmpty()) {
+                flatten(viewName, field.children(), index, rules);
+            }
+        }
+    }
+
+    private static boolean isBlankValue(Object value) {
+        if (value == null) return true;
+        if (value instanceof String s) return s.isBlank();
+        if (value instanceof Collection<?> c) return c.isEmpty();
+        return false;
+    }
+
+    public String viewName() {
+        return viewName;
+    }
+
+    /**
+     * Returns the number of fields checked by this plan, nested fields included.
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * Validates submitted values.
+     *
+     * @param fields the submitted key-value pairs, nested objects as maps
+     * @return map of fieldKey → list of error messages; empty if all fields pass
+     */
+    public Map<String, List<String>> validate(Map<String, Object> fields) {
+        Map<String, List<String>> errors = new LinkedHashMap<>();
+        validate(fields, errors);
+        return errors;
+    }
+
+    /**
+     * Validates submitted values, adding the errors to the given accumulator.
+     * Nested fields are checked only when the value of their enclosing object is a map.
+     *
+     * @param fields the submitted key-value pairs, nested objects as maps
+     * @param errors accumulator for field-level error messages
+     */
+    public void validate(Map<String, Object> fields, Map<String, List<String>> errors) {
+        Map<?, ?> root = fields != null ? fields : Map.of();
+        // Value of each rule whose children must be checked, null when they must be skipped
+        Map<?, ?>[] containers = new Map<?, ?>[rules.length];
+
+        for (int i = 0; i < rules.length; i++) {
+            FieldRule rule = rules[i];
+            Map<?, ?> container = rule.parent() < 0 ? root : containers[rule.parent()];
+            if (container == null) {
+                continue;
+            }
+            Object value = container.get(rule.key());
+
+            List<String> fieldErrors = rule.check(value);
+            if (!fieldErrors.isEmpty()) {
+                errors.put(rule.key(), fieldErrors);
+            }
+            if (rule.hasChildren() && value instanceof Map<?, ?> nested) {
+                containers[i] = nested;
+            }
+        }
+    }
+
+    /**
+     * One compiled field check.
+     */
+    private record FieldRule(String key,
+                             int parent,
+                             boolean required,
+                             String requiredMessage,
+                             Integer minLength,
+                             Integer maxLength,
+                             Pattern pattern,
+                             Double minValue,
+                             Double maxValue,
+                             boolean hasChildren) {
+
+        private static FieldRule of(String viewName, FieldMetaData field, int parent) {
+            Map<String, Object> validation = field.validation() != null ? field.validation() : Map.of();
+            String key = field.key();
+
+            Object customMessage = validation.get("requiredMessage");
+            String requiredMessage = customMessage != null ? customMessage.toString() : key + " is required";
+
+            Pattern pattern = null;
+            if (validation.get("pattern") instanceof String regex && !regex.isBlank()) {
+                try {
+                    pattern = Pattern.compile(regex);
+                } catch (PatternSyntaxException e) {
+                    throw new MetaDataGenerationException(
+                            "Invalid pattern for field '" + key + "' of view '" + viewName + "': " + e.getDescription(), e);
+                }
+            }
+
+            return new FieldRule(key, parent, field.required(), requiredMessage,
+                    field.minLength(), field.maxLength(), pattern, field.minValue(), field.maxValue(),
+                    field.children() != null && !field.children().isEmpty());
+        }
+
+        private List<String> check(Object value) {
+            List<String> fieldErrors = null;
+
+            if (required && isBlankValue(value)) {
+                fieldErrors = add(fieldErrors, requiredMessage);
+            }
+
+            if (value instanceof String strValue) {
+                if (minLength != null && strValue.length() < minLength) {
+                    fieldErrors = add(fieldErrors, key + " must be at least " + minLength + " characters");
+                }
+                if (maxLength != null && strValue.length() > maxLength) {
+                    fieldErrors = add(fieldErrors, key + " must be at most " + maxLength + " characters");
+                }
+                if (pattern != null && !pattern.matcher(strValue).matches()) {
+                    fieldErrors = add(fieldErrors, key + " does not match the required format");
+                }
+            } else if (value instanceof Number numValue) {
+                double dval = numValue.doubleValue();
+                if (minValue != null && dval < minValue) {
+                    fieldErrors = add(fieldErrors, key + " must be ≥ " + minValue);
+                }
+                if (maxValue != null && dval > maxValue) {
+                    fieldErrors = add(fieldErrors, key + " must be ≤ " + maxValue);
+                }
+            }
+
+            return fieldErrors != null ? fieldErrors : List.of();
+        }
+
+        private static List<String> add(List<String> fieldErrors, String message) {
+            List<String> list = fieldErrors != null ? fieldErrors : new ArrayList<>(2);
+            list.add(message);
+            return list;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package eu.isygoit.form.processor;
+
+import eu.isygoit.form.core.FieldSource;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link FieldSource} backed by a source element, read during annotation processing.
+ */
+record ElementFieldSource(VariableElement field, ProcessingEnvironment env) implements FieldSource {
+
+    private static final Set<String> SIMPLE_TYPES = Set.of(
+            "java.lang.String", "java.lang.Boolean", "java.lang.Character");
+
+    /**
+     * The instance fields declared by a type, in declaration order.
+     */
+    static List<FieldSource> declaredFields(TypeElement type, ProcessingEnvironment env) {
+        return ElementFilter.fieldsIn(type.getEnclosedElements()).stream()
+                .filter(f -> !f.getModifiers().contains(Modifier.STATIC))
+                .<FieldSource>map(f -> new ElementFieldSource(f, env))
+                .toList();
+    }
+
+    @Override
+    public String name() {
+        return field.getSimpleName().toString();
+    }
+
+    @Override
+    public <A extends Annotation> A getAnnotation(Class<A> annotationType) {
+        return field.getAnnotation(annotationType);
+    }
+
+    @Override
+    public <A extends Annotation> A[] getAnnotationsByType(Class<A> annotationType) {
+        return field.getAnnotationsByType(annotationType);
+    }
+
+    @Override
+    public String typeName() {
+        TypeMirror type = env.getTypeUtils().erasure(field.asType());
+        if (type instanceof DeclaredType declared && declared.asElement() instanceof TypeElement element) {
+            // Binary name, as returned by Class.getName()
+            return env.getElementUtils().getBinaryName(element).toString();
+        }
+        return type.toString();
+    }
+
+    @Override
+    public boolean isPrimitiveOrWrapper() {
+        TypeMirror type = field.asType();
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        Types types = env.getTypeUtils();
+        TypeMirror erased = types.erasure(type);
+        return SIMPLE_TYPES.contains(typeName())
+                || isSubtypeOf(types, erased, "java.lang.Number")
+                || isSubtypeOf(types, erased, "java.time.temporal.Temporal");
+    }
+
+    @Override
+    public List<FieldSource> nestedFields() {
+        if (field.asType() instanceof DeclaredType declared && declared.asElement() instanceof TypeElement element) {
+            return declaredFields(element, env);
+        }
+        return List.of();
+    }
+
+    private boolean isSubtypeOf(Types types, TypeMirror type, String superType) {
+        TypeElement element = env.getElementUtils().getTypeElement(superType);
+        return element != null && types.isAssignable(type, types.erasure(element.asType()));
+    }
+}
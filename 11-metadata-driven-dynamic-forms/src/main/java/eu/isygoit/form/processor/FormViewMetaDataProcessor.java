@@ -0,0 +1,91 @@
+package eu.isygoit.form.processor;
+
+import eu.isygoit.form.annotation.FormView;
+import eu.isygoit.form.core.AnnotationProcessor;
+import eu.isygoit.form.core.FieldSource;
+import eu.isygoit.form.core.MetaDataScanner;
+import eu.isygoit.form.core.PrecompiledMetaData;
+import eu.isygoit.form.domain.ViewMetaData;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Annotation processor generating the {@link ViewMetaData} of every {@link FormView} class at compile time.
+ * <p>
+ * The metadata is built by the same {@link AnnotationProcessor} as at runtime, reading the source elements
+ * instead of reflection, and written as {@code META-INF/forms/<class name>.json} to the class output, where
+ * {@link PrecompiledMetaData} finds it. Registered through {@code META-INF/services}, it runs for any module
+ * compiling {@code @FormView} classes with this library on the classpath. A view that cannot be generated only
+ * produces a warning: it is scanned at runtime instead.
+ */
+@SupportedAnnotationTypes("eu.isygoit.form.annotation.FormView")
+public class FormViewMetaDataProcessor extends AbstractProcessor {
+
+    private final MetaDataScanner scanner = new MetaDataScanner(new AnnotationProcessor());
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(FormView.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            TypeElement viewType = (TypeElement) element;
+            try {
+                generate(viewType);
+            } catch (IOException | RuntimeException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Form metadata not generated, the view will be scanned at runtime: " + e.getMessage(), viewType);
+            }
+        }
+        // Do not claim @FormView, other processors may handle it too
+        return false;
+    }
+
+    private void generate(TypeElement viewType) throws IOException {
+        ViewMetaData metaData = scanner.scan(viewType.getAnnotation(FormView.class), collectFields(viewType));
+
+        String className = processingEnv.getElementUtils().getBinaryName(viewType).toString();
+        FileObject resource = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", PrecompiledMetaData.resourceName(className), viewType);
+        try (OutputStream output = resource.openOutputStream()) {
+            PrecompiledMetaData.write(metaData, output);
+        }
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                "Generated form metadata of view '" + metaData.name() + "' (" + metaData.fields().size() + " fields)");
+    }
+
+    /**
+     * Fields of the class followed by those of its superclasses, as collected at runtime.
+     */
+    private List<FieldSource> collectFields(TypeElement type) {
+        List<FieldSource> fields = new ArrayList<>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            fields.addAll(ElementFieldSource.declaredFields(current, processingEnv));
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass instanceof DeclaredType declared ? (TypeElement) declared.asElement() : null;
+        }
+        return fields;
+    }
+}
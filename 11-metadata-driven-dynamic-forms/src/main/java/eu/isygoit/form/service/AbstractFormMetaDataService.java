@@ -2,6 +2,7 @@ package eu.isygoit.form.service;
 
 import eu.isygoit.form.annotation.FormView;
 import eu.isygoit.form.core.MetaDataGenerator;
+import eu.isygoit.form.core.ValidationPlan;
 import eu.isygoit.form.domain.FieldMetaData;
 import eu.isygoit.form.domain.ViewMetaData;
 import eu.isygoit.form.dto.FormSubmitRequest;
@@ -25,6 +26,11 @@ import java.util.*;
  * this class auto-registers all views returned by {@link #configuredViewClasses()}
  * and all views found via {@link #basePackagesToScan()}.
  *
+ * <h3>Validation plans</h3>
+ * Each registered view is compiled into a {@link ValidationPlan} at registration time: patterns are
+ * compiled once and nested fields flattened, so submissions — single or batched with
+ * {@link #submitAll(List)} — only evaluate the precompiled checks.
+ *
  * <h3>Submission hooks</h3>
  * Override {@link #beforeSubmit(FormSubmitRequest)} and {@link #afterSubmit(FormSubmitRequest, FormSubmitResponse)}
  * to add custom pre-/post-processing logic around form submissions without rewriting validation.
@@ -155,6 +161,8 @@ public abstract class AbstractFormMetaDataService implements IFormMetaDataServic
             return;
         }
         generator.registerView(viewClass);
+        // Compile the validation plan up front so that invalid rules fail at registration
+        generator.validationPlan(generator.generate(annotation.name()));
         registeredViewNames.add(annotation.name());
         log.debug("[FormMetaData] Registered view '{}' from {}", annotation.name(), viewClass.getSimpleName());
     }
@@ -218,9 +226,39 @@ public abstract class AbstractFormMetaDataService implements IFormMetaDataServic
         validateViewName(request.viewName());
 
         log.info("[FormMetaData] Processing submission for view '{}'", request.viewName());
-        beforeSubmit(request);
+        FormSubmitResponse response = process(request, getMetaData(request.viewName()));
+        log.info("[FormMetaData] Submission for view '{}' completed, success={}", request.viewName(), response.success());
+        return response;
+    }
 
-        ViewMetaData meta = getMetaData(request.viewName());
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each submission goes through the same flow as {@link #submit(FormSubmitRequest)}; the metadata
+     * of each view is resolved once for the whole batch and every submission is checked against the
+     * cached validation plan of its view.
+     */
+    @Override
+    public final List<FormSubmitResponse> submitAll(List<FormSubmitRequest> requests) {
+        Objects.requireNonNull(requests, "requests must not be null");
+        log.info("[FormMetaData] Processing batch of {} submission(s)", requests.size());
+
+        Map<String, ViewMetaData> metaByView = new HashMap<>();
+        List<FormSubmitResponse> responses = new ArrayList<>(requests.size());
+        for (FormSubmitRequest request : requests) {
+            Objects.requireNonNull(request, "FormSubmitRequest must not be null");
+            validateViewName(request.viewName());
+            ViewMetaData meta = metaByView.computeIfAbsent(request.viewName(), generator::generate);
+            responses.add(process(request, meta));
+        }
+
+        long failed = responses.stream().filter(response -> !response.success()).count();
+        log.info("[FormMetaData] Batch of {} submission(s) completed, {} failed", responses.size(), failed);
+        return responses;
+    }
+
+    private FormSubmitResponse process(FormSubmitRequest request, ViewMetaData meta) {
+        beforeSubmit(request);
 
         Map<String, List<String>> errors = validateFields(request, meta);
         if (!errors.isEmpty()) {
@@ -233,7 +271,6 @@ public abstract class AbstractFormMetaDataService implements IFormMetaDataServic
 
         FormSubmitResponse response = doSubmit(request, meta);
         afterSubmit(request, response);
-        log.info("[FormMetaData] Submission for view '{}' completed, success={}", request.viewName(), response.success());
         return response;
     }
 
@@ -265,6 +302,8 @@ public abstract class AbstractFormMetaDataService implements IFormMetaDataServic
      *   <li>{@code minValue} / {@code maxValue} — numeric range constraints</li>
      *   <li>{@code pattern} — regex constraint</li>
      * </ul>
+     * The rules are evaluated through the {@link ValidationPlan} compiled from {@code meta}, cached
+     * under its view name and version.
      * Override this method to add custom validation logic or integrate with
      * Jakarta Bean Validation (Hibernate Validator).
      *
@@ -273,80 +312,28 @@ public abstract class AbstractFormMetaDataService implements IFormMetaDataServic
      * @return map of fieldKey → list of error messages; empty if all fields pass
      */
     protected Map<String, List<String>> validateFields(FormSubmitRequest request, ViewMetaData meta) {
-        Map<String, List<String>> errors = new LinkedHashMap<>();
-        Map<String, Object> fields = request.fields() != null ? request.fields() : Map.of();
-
-        for (FieldMetaData field : meta.fields()) {
-            validateSingleField(field, fields, errors);
-        }
-        return errors;
+        return generator.validationPlan(meta).validate(request.fields());
     }
 
     /**
      * Validates a single {@link FieldMetaData} entry against the submitted values map.
      * Recursively validates nested {@code OBJECT} fields.
+     * <p>
+     * The field rules are compiled on every call: submissions use the cached plan of
+     * their view instead, see {@link #validateFields(FormSubmitRequest, ViewMetaData)}.
      *
      * @param field  the field descriptor from the view metadata
      * @param fields the submitted key-value pairs
      * @param errors accumulator for field-level error messages
+     * @deprecated No longer invoked: {@link #validateFields(FormSubmitRequest, ViewMetaData)} evaluates every
+     * field through the cached {@link ValidationPlan} of the view, so overriding this method has no effect.
+     * Override {@link #validateFields(FormSubmitRequest, ViewMetaData)} to add custom field validation.
      */
+    @Deprecated(forRemoval = true)
     protected void validateSingleField(FieldMetaData field,
                                        Map<String, Object> fields,
                                        Map<String, List<String>> errors) {
-        String key = field.key();
-        Object value = fields.get(key);
-        List<String> fieldErrors = new ArrayList<>();
-
-        // Required check
-        if (field.required() && isBlankValue(value)) {
-            String msg = !field.validation().containsKey("requiredMessage")
-                    ? key + " is required"
-                    : field.validation().get("requiredMessage").toString();
-            fieldErrors.add(msg);
-        }
-
-        if (value instanceof String strValue) {
-            // minLength
-            Integer minLen = field.minLength();
-            if (minLen != null && strValue.length() < minLen) {
-                fieldErrors.add(key + " must be at least " + minLen + " characters");
-            }
-            // maxLength
-            Integer maxLen = field.maxLength();
-            if (maxLen != null && strValue.length() > maxLen) {
-                fieldErrors.add(key + " must be at most " + maxLen + " characters");
-            }
-            // pattern
-            String pattern = (String) field.validation().get("pattern");
-            if (pattern != null && !pattern.isBlank() && !strValue.matches(pattern)) {
-                fieldErrors.add(key + " does not match the required format");
-            }
-        }
-
-        if (value instanceof Number numValue) {
-            double dval = numValue.doubleValue();
-            Double min = field.minValue();
-            Double max = field.maxValue();
-            if (min != null && dval < min) {
-                fieldErrors.add(key + " must be ≥ " + min);
-            }
-            if (max != null && dval > max) {
-                fieldErrors.add(key + " must be ≤ " + max);
-            }
-        }
-
-        if (!fieldErrors.isEmpty()) {
-            errors.put(key, fieldErrors);
-        }
-
-        // Recurse into nested OBJECT children
-        if (!field.children().isEmpty() && value instanceof Map<?, ?> nested) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> nestedFields = (Map<String, Object>) nested;
-            for (FieldMetaData child : field.children()) {
-                validateSingleField(child, nestedFields, errors);
-            }
-        }
+        ValidationPlan.of(null, List.of(field)).validate(fields, errors);
     }
 
     // ─────────────────────────────────────────────────────────────────────────
@@ -358,11 +345,4 @@ public abstract class AbstractFormMetaDataService implements IFormMetaDataServic
             throw new MetaDataGenerationException("viewName must not be null or blank");
         }
     }
-
-    private boolean isBlankValue(Object value) {
-        if (value == null) return true;
-        if (value instanceof String s) return s.isBlank();
-        if (value instanceof Collection<?> c) return c.isEmpty();
-        return false;
-    }
 }
\ No newline at end of file
@@ -77,6 +77,15 @@ public interface IFormMetaDataService {
      */
     FormSubmitResponse submit(FormSubmitRequest request);
 
+    /**
+     * Validates and processes a batch of form submissions, e.g. a bulk import.
+     * Submissions of the same view are validated against one compiled validation plan.
+     *
+     * @param requests the submission payloads, possibly targeting different views
+     * @return one {@link FormSubmitResponse} per request, in the same order
+     */
+    List<FormSubmitResponse> submitAll(List<FormSubmitRequest> requests);
+
     /**
      * Evicts the cached metadata for the given view, forcing re-generation on next access.
      *
@@ -0,0 +1,90 @@
+package eu.isygoit.form;
+
+import eu.isygoit.form.core.AnnotationProcessor;
+import eu.isygoit.form.core.MetaDataETag;
+import eu.isygoit.form.core.MetaDataGenerator;
+import eu.isygoit.form.core.MetaDataScanner;
+import eu.isygoit.form.core.PrecompiledMetaData;
+import eu.isygoit.form.domain.ViewMetaData;
+import eu.isygoit.form.view.ComprehensiveForm;
+import eu.isygoit.form.view.EmployeeCreateForm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Precompiled metadata and ETag Tests")
+class PrecompiledMetaDataTest {
+
+    private final MetaDataScanner scanner = new MetaDataScanner(new AnnotationProcessor());
+
+    @Test
+    @DisplayName("Should load the metadata generated at compile time, identical to a runtime scan")
+    void shouldLoadPrecompiledMetaData() {
+        for (Class<?> viewClass : List.of(EmployeeCreateForm.class, ComprehensiveForm.class)) {
+            assertThat(PrecompiledMetaData.load(viewClass))
+                    .as("metadata generated by the processor for %s", viewClass.getSimpleName())
+                    .hasValueSatisfying(loaded -> assertThat(MetaDataETag.of(loaded))
+                            .isEqualTo(MetaDataETag.of(scanner.scan(viewClass))));
+        }
+        assertThat(PrecompiledMetaData.load(String.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should load a view once under concurrent first requests")
+    void shouldLoadOnceConcurrently() throws Exception {
+        MetaDataGenerator generator = new MetaDataGenerator();
+        generator.registerView(EmployeeCreateForm.class);
+
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<ViewMetaData>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return generator.generate("employeeCreateForm");
+                }));
+            }
+            start.countDown();
+
+            ViewMetaData first = results.get(0).get();
+            for (Future<ViewMetaData> result : results) {
+                assertThat(result.get()).isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(generator.getCacheStats().loadCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should derive a stable strong ETag from the content")
+    void shouldComputeStrongETag() {
+        String etag = MetaDataETag.of(scanner.scan(EmployeeCreateForm.class));
+
+        assertThat(etag).matches("\"[0-9a-f]{64}\"");
+        assertThat(MetaDataETag.of(scanner.scan(EmployeeCreateForm.class))).isEqualTo(etag);
+        assertThat(MetaDataETag.of(scanner.scan(ComprehensiveForm.class))).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Should match If-None-Match lists, weak tags and wildcard")
+    void shouldMatchIfNoneMatch() {
+        String etag = "\"abc\"";
+
+        assertThat(MetaDataETag.matches(etag, etag)).isTrue();
+        assertThat(MetaDataETag.matches("\"xyz\", W/\"abc\"", etag)).isTrue();
+        assertThat(MetaDataETag.matches("*", etag)).isTrue();
+        assertThat(MetaDataETag.matches("\"xyz\"", etag)).isFalse();
+        assertThat(MetaDataETag.matches(null, etag)).isFalse();
+    }
+}
@@ -0,0 +1,148 @@
+package eu.isygoit.form;
+
+import eu.isygoit.form.core.ValidationPlan;
+import eu.isygoit.form.domain.FieldMetaData;
+import eu.isygoit.form.domain.FieldType;
+import eu.isygoit.form.domain.ViewMetaData;
+import eu.isygoit.form.dto.FormSubmitRequest;
+import eu.isygoit.form.dto.FormSubmitResponse;
+import eu.isygoit.form.exception.MetaDataGenerationException;
+import eu.isygoit.form.service.AbstractFormMetaDataService;
+import eu.isygoit.form.view.EmployeeCreateForm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ValidationPlan Tests")
+class ValidationPlanTest {
+
+    private static FieldMetaData field(String key, FieldType type, boolean required,
+                                       Map<String, Object> validation, List<FieldMetaData> children) {
+        return new FieldMetaData(key, key, type, required, null, validation, Map.of(), children,
+                null, null, null, null);
+    }
+
+    private static ViewMetaData contactView() {
+        FieldMetaData zip = field("zip", FieldType.TEXT, true, Map.of("pattern", "\\d{4}"), List.of());
+        FieldMetaData city = field("city", FieldType.TEXT, true, Map.of("requiredMessage", "City please"), List.of());
+        FieldMetaData address = field("address", FieldType.OBJECT, false, Map.of(), List.of(city, zip));
+        FieldMetaData name = field("name", FieldType.TEXT, true, Map.of("minLength", 3, "maxLength", 10), List.of());
+        FieldMetaData age = field("age", FieldType.INTEGER, false, Map.of("minValue", 18.0, "maxValue", 99.0), List.of());
+        return new ViewMetaData("contact", null, null, null, List.of(name, age, address), null, null);
+    }
+
+    @Test
+    @DisplayName("Should flatten nested fields into the plan")
+    void shouldFlattenNestedFields() {
+        ValidationPlan plan = ValidationPlan.compile(contactView());
+
+        assertThat(plan.viewName()).isEqualTo("contact");
+        assertThat(plan.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should report every rule violation with the legacy messages")
+    void shouldReportViolations() {
+        ValidationPlan plan = ValidationPlan.compile(contactView());
+
+        Map<String, List<String>> errors = plan.validate(Map.of(
+                "name", "Al",
+                "age", 12,
+                "address", Map.of("zip", "12a4")));
+
+        assertThat(errors).containsOnlyKeys("name", "age", "city", "zip");
+        assertThat(errors.get("name")).containsExactly("name must be at least 3 characters");
+        assertThat(errors.get("age")).containsExactly("age must be ≥ 18.0");
+        assertThat(errors.get("city")).containsExactly("City please");
+        assertThat(errors.get("zip")).containsExactly("zip does not match the required format");
+    }
+
+    @Test
+    @DisplayName("Should skip nested fields when the object is not submitted")
+    void shouldSkipNestedFieldsWithoutObject() {
+        ValidationPlan plan = ValidationPlan.compile(contactView());
+
+        assertThat(plan.validate(Map.of("name", "Alice", "age", 30))).isEmpty();
+        assertThat(plan.validate(null)).containsOnlyKeys("name");
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid pattern when compiling")
+    void shouldRejectInvalidPattern() {
+        FieldMetaData broken = field("code", FieldType.TEXT, false, Map.of("pattern", "[a-"), List.of());
+        ViewMetaData view = new ViewMetaData("broken", null, null, null, List.of(broken), null, null);
+
+        assertThatThrownBy(() -> ValidationPlan.compile(view))
+                .isInstanceOf(MetaDataGenerationException.class)
+                .hasMessageContaining("code")
+                .hasMessageContaining("broken");
+    }
+
+    @Test
+    @DisplayName("Should validate a batch of submissions in order")
+    void shouldSubmitBatch() {
+        List<String> submitted = new ArrayList<>();
+        AbstractFormMetaDataService service = new AbstractFormMetaDataService() {
+            @Override
+            protected List<Class<?>> configuredViewClasses() {
+                return List.of(EmployeeCreateForm.class);
+            }
+
+            @Override
+            protected FormSubmitResponse doSubmit(FormSubmitRequest request, ViewMetaData meta) {
+                submitted.add((String) request.fields().get("employeeId"));
+                return FormSubmitResponse.ok("Saved");
+            }
+        };
+        service.afterPropertiesSet();
+
+        Map<String, Object> address = Map.of("street", "Main", "city", "Tunis", "postalCode", "1000", "country", "TN");
+        List<FormSubmitResponse> responses = service.submitAll(List.of(
+                new FormSubmitRequest("employeeCreateForm",
+                        Map.of("employeeId", "E1", "fullName", "Alice", "email", "a@x.tn", "address", address)),
+                new FormSubmitRequest("employeeCreateForm",
+                        Map.of("employeeId", "E2", "fullName", "Bob", "email", "b@x.tn", "address", Map.of("street", "Main"))),
+                new FormSubmitRequest("employeeCreateForm",
+                        Map.of("employeeId", "E3", "fullName", "Carol", "email", "c@x.tn"))));
+
+        assertThat(responses).extracting(FormSubmitResponse::success).containsExactly(true, false, true);
+        assertThat(responses.get(1).fieldErrors()).containsOnlyKeys("city", "postalCode", "country");
+        assertThat(submitted).containsExactly("E1", "E3");
+    }
+
+    @Test
+    @DisplayName("Should validate against the plan of the submitted metadata version")
+    void shouldValidateAgainstMetaVersion() {
+        class ContactService extends AbstractFormMetaDataService {
+            @Override
+            protected List<Class<?>> configuredViewClasses() {
+                return List.of();
+            }
+
+            @Override
+            protected FormSubmitResponse doSubmit(FormSubmitRequest request, ViewMetaData meta) {
+                return FormSubmitResponse.ok("Saved");
+            }
+
+            Map<String, List<String>> validate(FormSubmitRequest request, ViewMetaData meta) {
+                return validateFields(request, meta);
+            }
+        }
+        ContactService service = new ContactService();
+        service.afterPropertiesSet();
+        ViewMetaData v1 = contactView();
+        FieldMetaData email = field("email", FieldType.EMAIL, true, Map.of(), List.of());
+        ViewMetaData v2 = new ViewMetaData("contact", null, null, "2.0", List.of(email), null, null);
+        FormSubmitRequest request = new FormSubmitRequest("contact", Map.of("name", "Alice"));
+
+        assertThat(service.validate(request, v1)).isEmpty();
+        assertThat(service.validate(request, v2)).containsOnlyKeys("email");
+        assertThat(service.validate(request, v1)).isEmpty();
+    }
+}